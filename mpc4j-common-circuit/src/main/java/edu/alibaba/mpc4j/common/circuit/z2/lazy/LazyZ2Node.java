@@ -0,0 +1,144 @@
+package edu.alibaba.mpc4j.common.circuit.z2.lazy;
+
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+
+/**
+ * node in the deferred Z2 circuit DAG. A node is either evaluated (holding the vector of the underlying party), or a
+ * pending gate whose inputs are other nodes. The AND depth of a pending gate is the max AND depth of its inputs, plus 1
+ * for an AND gate. Evaluated nodes have AND depth 0.
+ *
+ * @author Weiran Liu
+ * @date 2023/12/02
+ */
+class LazyZ2Node {
+    /**
+     * gate type.
+     */
+    enum GateType {
+        /**
+         * AND gate
+         */
+        AND,
+        /**
+         * XOR gate
+         */
+        XOR,
+        /**
+         * NOT gate
+         */
+        NOT,
+    }
+
+    /**
+     * gate type, null for evaluated nodes
+     */
+    private GateType gateType;
+    /**
+     * the first input
+     */
+    private LazyZ2Node x;
+    /**
+     * the second input, null for NOT gates
+     */
+    private LazyZ2Node y;
+    /**
+     * bit num
+     */
+    private final int num;
+    /**
+     * plain state
+     */
+    private final boolean plain;
+    /**
+     * AND depth
+     */
+    private final int depth;
+    /**
+     * the evaluated vector
+     */
+    private MpcZ2Vector value;
+
+    /**
+     * Creates an evaluated node.
+     *
+     * @param value the vector of the underlying party.
+     */
+    LazyZ2Node(MpcZ2Vector value) {
+        assert !(value instanceof LazyZ2Vector);
+        num = value.getNum();
+        plain = value.isPlain();
+        depth = 0;
+        this.value = value;
+    }
+
+    /**
+     * Creates a pending gate.
+     *
+     * @param gateType gate type.
+     * @param x        the first input.
+     * @param y        the second input, null for NOT gates.
+     */
+    LazyZ2Node(GateType gateType, LazyZ2Node x, LazyZ2Node y) {
+        this.gateType = gateType;
+        this.x = x;
+        this.y = y;
+        num = x.getNum();
+        if (y == null) {
+            assert gateType.equals(GateType.NOT);
+            plain = x.isPlain();
+            depth = x.getDepth();
+        } else {
+            assert num == y.getNum() : "x.num (" + num + ") must be equal to y.num (" + y.getNum() + ")";
+            plain = x.isPlain() && y.isPlain();
+            int inputDepth = Math.max(x.getDepth(), y.getDepth());
+            depth = gateType.equals(GateType.AND) ? inputDepth + 1 : inputDepth;
+        }
+    }
+
+    GateType getGateType() {
+        return gateType;
+    }
+
+    LazyZ2Node getX() {
+        return x;
+    }
+
+    LazyZ2Node getY() {
+        return y;
+    }
+
+    int getNum() {
+        return value == null ? num : value.getNum();
+    }
+
+    boolean isPlain() {
+        return plain;
+    }
+
+    int getDepth() {
+        return value == null ? depth : 0;
+    }
+
+    boolean isEvaluated() {
+        return value != null;
+    }
+
+    MpcZ2Vector getValue() {
+        assert value != null : "node is not evaluated";
+        return value;
+    }
+
+    /**
+     * Sets the evaluated vector, and releases the inputs.
+     *
+     * @param value the evaluated vector.
+     */
+    void setValue(MpcZ2Vector value) {
+        assert this.value == null : "node is already evaluated";
+        assert value.getNum() == num : "value.num (" + value.getNum() + ") must be equal to num (" + num + ")";
+        this.value = value;
+        gateType = null;
+        x = null;
+        y = null;
+    }
+}
@@ -0,0 +1,120 @@
+package edu.alibaba.mpc4j.common.circuit.z2.lazy;
+
+import edu.alibaba.mpc4j.common.circuit.MpcVector;
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+
+import java.util.Arrays;
+
+/**
+ * lazy Z2 vector. The vector refers to a node in the deferred circuit DAG of the lazy Z2 circuit party. Bit num and
+ * plain state are known without evaluation, all other operations flush the pending gates first.
+ *
+ * @author Weiran Liu
+ * @date 2023/12/02
+ */
+public class LazyZ2Vector implements MpcZ2Vector {
+    /**
+     * the lazy party
+     */
+    private final LazyZ2cParty party;
+    /**
+     * the node
+     */
+    private LazyZ2Node node;
+
+    LazyZ2Vector(LazyZ2cParty party, LazyZ2Node node) {
+        this.party = party;
+        this.node = node;
+    }
+
+    LazyZ2Node getNode() {
+        return node;
+    }
+
+    void setNode(LazyZ2Node node) {
+        this.node = node;
+    }
+
+    /**
+     * Gets the evaluated vector of the underlying party. Pending gates are flushed if necessary.
+     *
+     * @return the evaluated vector.
+     */
+    public MpcZ2Vector getValue() {
+        if (!node.isEvaluated()) {
+            party.flush();
+        }
+        return node.getValue();
+    }
+
+    @Override
+    public BitVector getBitVector() {
+        return getValue().getBitVector();
+    }
+
+    @Override
+    public int byteNum() {
+        return getValue().byteNum();
+    }
+
+    @Override
+    public void reverseBits() {
+        getValue().reverseBits();
+    }
+
+    @Override
+    public MpcZ2Vector[] splitWithPadding(int[] bitLens) {
+        return Arrays.stream(getValue().splitWithPadding(bitLens)).map(party::wrap).toArray(MpcZ2Vector[]::new);
+    }
+
+    @Override
+    public MpcZ2Vector extendBitsWithSkip(int destBitLen, int skipLen) {
+        return party.wrap(getValue().extendBitsWithSkip(destBitLen, skipLen));
+    }
+
+    @Override
+    public MpcZ2Vector[] getBitsWithSkip(int totalBitNum, int skipLen) {
+        return Arrays.stream(getValue().getBitsWithSkip(totalBitNum, skipLen)).map(party::wrap).toArray(MpcZ2Vector[]::new);
+    }
+
+    @Override
+    public MpcZ2Vector getPointsWithFixedSpace(int startPos, int num, int skipLen) {
+        return party.wrap(getValue().getPointsWithFixedSpace(startPos, num, skipLen));
+    }
+
+    @Override
+    public void setPointsWithFixedSpace(MpcZ2Vector source, int startPos, int num, int skipLen) {
+        getValue().setPointsWithFixedSpace(party.unwrap(source), startPos, num, skipLen);
+    }
+
+    @Override
+    public boolean isPlain() {
+        return node.isPlain();
+    }
+
+    @Override
+    public LazyZ2Vector copy() {
+        return party.wrap((MpcZ2Vector) getValue().copy());
+    }
+
+    @Override
+    public int getNum() {
+        return node.getNum();
+    }
+
+    @Override
+    public LazyZ2Vector split(int splitNum) {
+        return party.wrap((MpcZ2Vector) getValue().split(splitNum));
+    }
+
+    @Override
+    public void reduce(int reduceNum) {
+        getValue().reduce(reduceNum);
+    }
+
+    @Override
+    public void merge(MpcVector other) {
+        getValue().merge(party.unwrap((MpcZ2Vector) other));
+    }
+}
@@ -0,0 +1,364 @@
+package edu.alibaba.mpc4j.common.circuit.z2.lazy;
+
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2cParty;
+import edu.alibaba.mpc4j.common.circuit.z2.lazy.LazyZ2Node.GateType;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * lazy Z2 circuit party. Each AND of the underlying party (e.g., Beaver91) opens (e, f) in its own round, while
+ * circuits like adders and sorting networks issue many independent ANDs at the same circuit depth. The lazy party
+ * records AND, XOR and NOT gates into a DAG instead of evaluating them. When a vector is materialized (bit vector
+ * access, reveal, split / merge, etc.), all pending gates are flushed layer by layer: the ready AND gates with the
+ * same AND depth are evaluated by one vector AND of the underlying party (which merges the inputs and splits the
+ * outputs), and the local gates are evaluated as soon as their inputs are ready. Therefore, the number of rounds is
+ * the AND depth of the pending circuit, instead of the number of AND calls.
+ * <p>
+ * Existing circuits run unmodified on the lazy party. Vectors that are not created by the lazy party (e.g., a plain
+ * vector created by the caller) are accepted as evaluated inputs.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/12/02
+ */
+public class LazyZ2cParty implements MpcZ2cParty {
+    /**
+     * the underlying party
+     */
+    private final MpcZ2cParty party;
+    /**
+     * pending gates, in the order of creation
+     */
+    private List<LazyZ2Node> pendingNodes;
+    /**
+     * num of flushed AND layers
+     */
+    private long andLayerNum;
+    /**
+     * num of recorded AND gates
+     */
+    private long andGateNum;
+
+    public LazyZ2cParty(MpcZ2cParty party) {
+        assert !(party instanceof LazyZ2cParty);
+        this.party = party;
+        pendingNodes = new ArrayList<>();
+        andLayerNum = 0L;
+        andGateNum = 0L;
+    }
+
+    /**
+     * Gets the underlying party.
+     *
+     * @return the underlying party.
+     */
+    public MpcZ2cParty getParty() {
+        return party;
+    }
+
+    /**
+     * Gets the num of flushed AND layers, i.e., the num of vector ANDs invoked on the underlying party.
+     *
+     * @return the num of flushed AND layers.
+     */
+    public long getAndLayerNum() {
+        return andLayerNum;
+    }
+
+    /**
+     * Gets the num of recorded AND gates.
+     *
+     * @return the num of recorded AND gates.
+     */
+    public long getAndGateNum() {
+        return andGateNum;
+    }
+
+    /**
+     * Gets the num of pending gates.
+     *
+     * @return the num of pending gates.
+     */
+    public synchronized int getPendingNum() {
+        return pendingNodes.size();
+    }
+
+    LazyZ2Vector wrap(MpcZ2Vector vector) {
+        return vector == null ? null : new LazyZ2Vector(this, new LazyZ2Node(vector));
+    }
+
+    private LazyZ2Vector[] wrap(MpcZ2Vector[] vectors) {
+        return vectors == null ? null : Arrays.stream(vectors).map(this::wrap).toArray(LazyZ2Vector[]::new);
+    }
+
+    MpcZ2Vector unwrap(MpcZ2Vector vector) {
+        return vector instanceof LazyZ2Vector ? ((LazyZ2Vector) vector).getValue() : vector;
+    }
+
+    private MpcZ2Vector[] unwrap(MpcZ2Vector[] vectors) {
+        return Arrays.stream(vectors).map(this::unwrap).toArray(MpcZ2Vector[]::new);
+    }
+
+    private LazyZ2Node getNode(MpcZ2Vector vector) {
+        if (vector instanceof LazyZ2Vector) {
+            LazyZ2Vector lazyVector = (LazyZ2Vector) vector;
+            assert lazyVector.getNode() != null;
+            return lazyVector.getNode();
+        } else {
+            return new LazyZ2Node(vector);
+        }
+    }
+
+    private synchronized LazyZ2Node record(GateType gateType, MpcZ2Vector xi, MpcZ2Vector yi) {
+        LazyZ2Node node = new LazyZ2Node(gateType, getNode(xi), yi == null ? null : getNode(yi));
+        pendingNodes.add(node);
+        if (gateType.equals(GateType.AND)) {
+            andGateNum++;
+        }
+        return node;
+    }
+
+    /**
+     * Flushes all pending gates.
+     *
+     * @throws IllegalStateException if the underlying party aborts.
+     */
+    public synchronized void flush() {
+        if (pendingNodes.isEmpty()) {
+            return;
+        }
+        // clear pending nodes first so that a failed flush does not leave half-evaluated layers
+        List<LazyZ2Node> nodes = pendingNodes;
+        pendingNodes = new ArrayList<>();
+        int maxDepth = nodes.stream().mapToInt(LazyZ2Node::getDepth).max().orElse(0);
+        List<List<LazyZ2Node>> andLayers = new ArrayList<>(maxDepth + 1);
+        List<List<LazyZ2Node>> localLayers = new ArrayList<>(maxDepth + 1);
+        for (int depth = 0; depth <= maxDepth; depth++) {
+            andLayers.add(new ArrayList<>());
+            localLayers.add(new ArrayList<>());
+        }
+        for (LazyZ2Node node : nodes) {
+            if (node.getGateType().equals(GateType.AND)) {
+                andLayers.get(node.getDepth()).add(node);
+            } else {
+                localLayers.get(node.getDepth()).add(node);
+            }
+        }
+        try {
+            for (int depth = 0; depth <= maxDepth; depth++) {
+                // inputs of AND gates in this layer have smaller depth, so they are all evaluated
+                evaluateAndLayer(andLayers.get(depth));
+                // local gates in this layer only depend on evaluated AND gates and earlier local gates
+                for (LazyZ2Node node : localLayers.get(depth)) {
+                    evaluateLocal(node);
+                }
+            }
+        } catch (MpcAbortException e) {
+            throw new IllegalStateException("Failed to flush pending gates", e);
+        }
+    }
+
+    private void evaluateAndLayer(List<LazyZ2Node> andNodes) throws MpcAbortException {
+        if (andNodes.isEmpty()) {
+            return;
+        }
+        // vector AND requires inputs with the same plain state, so we group gates by plain states of (x, y)
+        for (boolean xPlain : new boolean[]{false, true}) {
+            for (boolean yPlain : new boolean[]{false, true}) {
+                LazyZ2Node[] groupNodes = andNodes.stream()
+                    .filter(node -> node.getX().isPlain() == xPlain && node.getY().isPlain() == yPlain)
+                    .toArray(LazyZ2Node[]::new);
+                if (groupNodes.length == 0) {
+                    continue;
+                }
+                MpcZ2Vector[] xiArray = Arrays.stream(groupNodes)
+                    .map(node -> node.getX().getValue())
+                    .toArray(MpcZ2Vector[]::new);
+                MpcZ2Vector[] yiArray = Arrays.stream(groupNodes)
+                    .map(node -> node.getY().getValue())
+                    .toArray(MpcZ2Vector[]::new);
+                MpcZ2Vector[] ziArray = party.and(xiArray, yiArray);
+                IntStream.range(0, groupNodes.length).forEach(i -> groupNodes[i].setValue(ziArray[i]));
+                andLayerNum++;
+            }
+        }
+    }
+
+    private void evaluateLocal(LazyZ2Node node) throws MpcAbortException {
+        switch (node.getGateType()) {
+            case XOR:
+                node.setValue(party.xor(node.getX().getValue(), node.getY().getValue()));
+                break;
+            case NOT:
+                node.setValue(party.not(node.getX().getValue()));
+                break;
+            default:
+                throw new IllegalStateException("Invalid " + GateType.class.getSimpleName() + ": " + node.getGateType());
+        }
+    }
+
+    @Override
+    public boolean getParallel() {
+        return party.getParallel();
+    }
+
+    @Override
+    public LazyZ2Vector create(BitVector bitVector) {
+        return wrap(party.create(bitVector));
+    }
+
+    @Override
+    public LazyZ2Vector create(BitVector bitVector, boolean isPlain) {
+        return wrap(party.create(bitVector, isPlain));
+    }
+
+    @Override
+    public LazyZ2Vector createOnes(int bitNum) {
+        return wrap(party.createOnes(bitNum));
+    }
+
+    @Override
+    public LazyZ2Vector createZeros(int bitNum) {
+        return wrap(party.createZeros(bitNum));
+    }
+
+    @Override
+    public LazyZ2Vector createZeros(int bitNum, boolean isPlain) {
+        return wrap(party.createZeros(bitNum, isPlain));
+    }
+
+    @Override
+    public LazyZ2Vector createEmpty(boolean plain) {
+        return wrap(party.createEmpty(plain));
+    }
+
+    @Override
+    public void init(int updateBitNum) throws MpcAbortException {
+        party.init(updateBitNum);
+    }
+
+    @Override
+    public LazyZ2Vector shareOwn(BitVector xi) {
+        return wrap(party.shareOwn(xi));
+    }
+
+    @Override
+    public LazyZ2Vector[] shareOwn(BitVector[] xiArray) {
+        return wrap(party.shareOwn(xiArray));
+    }
+
+    @Override
+    public LazyZ2Vector shareOther(int bitNum) throws MpcAbortException {
+        return wrap(party.shareOther(bitNum));
+    }
+
+    @Override
+    public LazyZ2Vector[] shareOther(int[] bitNums) throws MpcAbortException {
+        return wrap(party.shareOther(bitNums));
+    }
+
+    @Override
+    public BitVector revealOwn(MpcZ2Vector xi) throws MpcAbortException {
+        return party.revealOwn(unwrap(xi));
+    }
+
+    @Override
+    public BitVector[] revealOwn(MpcZ2Vector[] xiArray) throws MpcAbortException {
+        return party.revealOwn(unwrap(xiArray));
+    }
+
+    @Override
+    public void revealOther(MpcZ2Vector xi) {
+        party.revealOther(unwrap(xi));
+    }
+
+    @Override
+    public void revealOther(MpcZ2Vector[] xiArray) {
+        party.revealOther(unwrap(xiArray));
+    }
+
+    @Override
+    public LazyZ2Vector and(MpcZ2Vector xi, MpcZ2Vector yi) {
+        return new LazyZ2Vector(this, record(GateType.AND, xi, yi));
+    }
+
+    @Override
+    public LazyZ2Vector[] and(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) {
+        assert xiArray.length == yiArray.length
+            : String.format("xiArray.length (%s) must be equal to yiArray.length (%s)", xiArray.length, yiArray.length);
+        return IntStream.range(0, xiArray.length)
+            .mapToObj(i -> and(xiArray[i], yiArray[i]))
+            .toArray(LazyZ2Vector[]::new);
+    }
+
+    @Override
+    public LazyZ2Vector xor(MpcZ2Vector xi, MpcZ2Vector yi) {
+        return new LazyZ2Vector(this, record(GateType.XOR, xi, yi));
+    }
+
+    @Override
+    public void xori(MpcZ2Vector xi, MpcZ2Vector yi) throws MpcAbortException {
+        if (xi instanceof LazyZ2Vector) {
+            // the vector refers to the new gate, while gates depending on the old node are unchanged
+            LazyZ2Vector lazyXi = (LazyZ2Vector) xi;
+            lazyXi.setNode(record(GateType.XOR, lazyXi, yi));
+        } else {
+            party.xori(xi, unwrap(yi));
+        }
+    }
+
+    @Override
+    public LazyZ2Vector[] xor(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) {
+        assert xiArray.length == yiArray.length
+            : String.format("xiArray.length (%s) must be equal to yiArray.length (%s)", xiArray.length, yiArray.length);
+        return IntStream.range(0, xiArray.length)
+            .mapToObj(i -> xor(xiArray[i], yiArray[i]))
+            .toArray(LazyZ2Vector[]::new);
+    }
+
+    @Override
+    public LazyZ2Vector or(MpcZ2Vector xi, MpcZ2Vector yi) {
+        // x | y = x ^ y ^ (x & y)
+        return xor(xor(xi, yi), and(xi, yi));
+    }
+
+    @Override
+    public LazyZ2Vector[] or(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) {
+        assert xiArray.length == yiArray.length
+            : String.format("xiArray.length (%s) must be equal to yiArray.length (%s)", xiArray.length, yiArray.length);
+        return IntStream.range(0, xiArray.length)
+            .mapToObj(i -> or(xiArray[i], yiArray[i]))
+            .toArray(LazyZ2Vector[]::new);
+    }
+
+    @Override
+    public LazyZ2Vector not(MpcZ2Vector xi) {
+        return new LazyZ2Vector(this, record(GateType.NOT, xi, null));
+    }
+
+    @Override
+    public void noti(MpcZ2Vector xi) throws MpcAbortException {
+        if (xi instanceof LazyZ2Vector) {
+            LazyZ2Vector lazyXi = (LazyZ2Vector) xi;
+            lazyXi.setNode(record(GateType.NOT, lazyXi, null));
+        } else {
+            party.noti(xi);
+        }
+    }
+
+    @Override
+    public LazyZ2Vector[] not(MpcZ2Vector[] xiArray) {
+        return Arrays.stream(xiArray).map(this::not).toArray(LazyZ2Vector[]::new);
+    }
+
+    @Override
+    public LazyZ2Vector[] setPublicValues(BitVector[] data) {
+        return wrap(party.setPublicValues(data));
+    }
+}
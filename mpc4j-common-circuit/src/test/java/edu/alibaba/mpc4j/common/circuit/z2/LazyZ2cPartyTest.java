@@ -0,0 +1,197 @@
+package edu.alibaba.mpc4j.common.circuit.z2;
+
+import edu.alibaba.mpc4j.common.circuit.operator.Z2IntegerOperator;
+import edu.alibaba.mpc4j.common.circuit.z2.lazy.LazyZ2cParty;
+import edu.alibaba.mpc4j.common.circuit.z2.sorter.SorterFactory;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import edu.alibaba.mpc4j.crypto.matrix.database.Zl64Database;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * lazy Z2 circuit party test. Circuits run on the lazy party should output the same results as on the eager party,
+ * with no more AND rounds.
+ *
+ * @author Weiran Liu
+ * @date 2023/12/02
+ */
+public class LazyZ2cPartyTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyZ2cPartyTest.class);
+    /**
+     * the random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    /**
+     * default num
+     */
+    private static final int DEFAULT_NUM = 1024;
+    /**
+     * default l
+     */
+    private static final int DEFAULT_L = IntUtils.MAX_L;
+    /**
+     * num of elements to be sorted
+     */
+    private static final int SORTED_NUM = 16;
+
+    /**
+     * plain Z2 circuit party that counts AND rounds.
+     */
+    private static class RoundCountPlainZ2cParty extends PlainZ2cParty {
+        /**
+         * num of AND rounds
+         */
+        private int andRoundNum;
+        /**
+         * whether we are in a vector AND
+         */
+        private boolean inVectorAnd;
+
+        @Override
+        public PlainZ2Vector and(MpcZ2Vector xi, MpcZ2Vector yi) {
+            if (!inVectorAnd) {
+                andRoundNum++;
+            }
+            return super.and(xi, yi);
+        }
+
+        @Override
+        public PlainZ2Vector[] and(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) {
+            andRoundNum++;
+            inVectorAnd = true;
+            PlainZ2Vector[] ziArray = super.and(xiArray, yiArray);
+            inVectorAnd = false;
+            return ziArray;
+        }
+    }
+
+    @Test
+    public void testGates() throws MpcAbortException {
+        BitVector x = BitVectorFactory.createRandom(DEFAULT_NUM, SECURE_RANDOM);
+        BitVector y = BitVectorFactory.createRandom(DEFAULT_NUM, SECURE_RANDOM);
+        LazyZ2cParty party = new LazyZ2cParty(new PlainZ2cParty());
+        MpcZ2Vector xi = party.create(x);
+        MpcZ2Vector yi = party.create(y);
+        // two independent ANDs, and one AND depending on both
+        MpcZ2Vector and = party.and(xi, yi);
+        MpcZ2Vector or = party.or(xi, yi);
+        MpcZ2Vector z = party.and(party.not(and), or);
+        // in-place operations only affect the vector itself
+        MpcZ2Vector w = party.xor(xi, yi);
+        party.xori(xi, yi);
+        party.noti(yi);
+        Assert.assertEquals(9, party.getPendingNum());
+        Assert.assertEquals(0, party.getAndLayerNum());
+        Assert.assertEquals(x.and(y).not().and(x.or(y)), z.getBitVector());
+        Assert.assertEquals(0, party.getPendingNum());
+        Assert.assertEquals(2, party.getAndLayerNum());
+        Assert.assertEquals(3, party.getAndGateNum());
+        Assert.assertEquals(x.xor(y), w.getBitVector());
+        Assert.assertEquals(x.xor(y), xi.getBitVector());
+        Assert.assertEquals(y.not(), yi.getBitVector());
+    }
+
+    @Test
+    public void testIntegerCircuit() throws MpcAbortException {
+        long[] longXs = IntStream.range(0, DEFAULT_NUM)
+            .mapToLong(i -> LongUtils.randomNonNegative(1L << (DEFAULT_L - 1), SECURE_RANDOM))
+            .toArray();
+        long[] longYs = IntStream.range(0, DEFAULT_NUM)
+            .mapToLong(i -> LongUtils.randomNonNegative(1L << (DEFAULT_L - 1), SECURE_RANDOM))
+            .toArray();
+        for (Z2IntegerOperator operator : new Z2IntegerOperator[]{
+            Z2IntegerOperator.SUB, Z2IntegerOperator.INCREASE_ONE, Z2IntegerOperator.ADD,
+            Z2IntegerOperator.MUL, Z2IntegerOperator.LEQ, Z2IntegerOperator.EQ,
+        }) {
+            RoundCountPlainZ2cParty eagerParty = new RoundCountPlainZ2cParty();
+            runIntegerCircuit(eagerParty, operator, longXs, longYs);
+            RoundCountPlainZ2cParty underlyingParty = new RoundCountPlainZ2cParty();
+            LazyZ2cParty lazyParty = new LazyZ2cParty(underlyingParty);
+            long[] longZs = runIntegerCircuit(lazyParty, operator, longXs, longYs);
+            Z2CircuitTestUtils.assertOutput(operator, DEFAULT_L, longXs, longYs, longZs);
+            LOGGER.info("{}: eager AND rounds = {}, lazy AND rounds = {}",
+                operator.name(), eagerParty.andRoundNum, underlyingParty.andRoundNum);
+            Assert.assertEquals(lazyParty.getAndLayerNum(), underlyingParty.andRoundNum);
+            Assert.assertTrue(underlyingParty.andRoundNum <= eagerParty.andRoundNum);
+        }
+    }
+
+    private long[] runIntegerCircuit(MpcZ2cParty party, Z2IntegerOperator operator, long[] longXs, long[] longYs)
+        throws MpcAbortException {
+        MpcZ2Vector[] xiArray = createInputs(party, longXs);
+        MpcZ2Vector[] yiArray = createInputs(party, longYs);
+        Z2IntegerCircuit circuit = new Z2IntegerCircuit(party);
+        MpcZ2Vector[] ziArray;
+        switch (operator) {
+            case SUB:
+                ziArray = circuit.sub(xiArray, yiArray);
+                break;
+            case INCREASE_ONE:
+                ziArray = circuit.increaseOne(xiArray);
+                break;
+            case ADD:
+                ziArray = circuit.add(xiArray, yiArray);
+                break;
+            case MUL:
+                ziArray = circuit.mul(xiArray, yiArray);
+                break;
+            case LEQ:
+                ziArray = new MpcZ2Vector[]{circuit.leq(xiArray, yiArray)};
+                break;
+            case EQ:
+                ziArray = new MpcZ2Vector[]{circuit.eq(xiArray, yiArray)};
+                break;
+            default:
+                throw new IllegalStateException("Invalid " + operator.name() + ": " + operator.name());
+        }
+        BitVector[] z = Arrays.stream(ziArray).map(MpcZ2Vector::getBitVector).toArray(BitVector[]::new);
+        return Zl64Database.create(EnvType.STANDARD_JDK, false, z).getData();
+    }
+
+    @Test
+    public void testBitonicSorter() throws MpcAbortException {
+        long[][] longXs = IntStream.range(0, SORTED_NUM).mapToObj(index -> IntStream.range(0, DEFAULT_NUM)
+            .mapToLong(i -> LongUtils.randomNonNegative(1L << (DEFAULT_L - 1), SECURE_RANDOM))
+            .toArray()).toArray(long[][]::new);
+        Z2CircuitConfig config = new Z2CircuitConfig.Builder()
+            .setSorterType(SorterFactory.SorterTypes.BITONIC)
+            .build();
+        RoundCountPlainZ2cParty eagerParty = new RoundCountPlainZ2cParty();
+        runSorter(eagerParty, config, longXs);
+        RoundCountPlainZ2cParty underlyingParty = new RoundCountPlainZ2cParty();
+        long[][] longZs = runSorter(new LazyZ2cParty(underlyingParty), config, longXs);
+        Z2CircuitTestUtils.assertSortOutput(DEFAULT_L, longXs, longZs);
+        LOGGER.info("{}: eager AND rounds = {}, lazy AND rounds = {}",
+            Z2IntegerOperator.SORT.name(), eagerParty.andRoundNum, underlyingParty.andRoundNum);
+        // compare-exchanges at the same depth of the sorting network are merged
+        Assert.assertTrue(underlyingParty.andRoundNum < eagerParty.andRoundNum);
+    }
+
+    private long[][] runSorter(MpcZ2cParty party, Z2CircuitConfig config, long[][] longXs) throws MpcAbortException {
+        MpcZ2Vector[][] xiArrays = Arrays.stream(longXs)
+            .map(longX -> createInputs(party, longX))
+            .toArray(MpcZ2Vector[][]::new);
+        Z2IntegerCircuit circuit = new Z2IntegerCircuit(party, config);
+        circuit.sort(xiArrays);
+        return Arrays.stream(xiArrays)
+            .map(xiArray -> Arrays.stream(xiArray).map(MpcZ2Vector::getBitVector).toArray(BitVector[]::new))
+            .map(z -> Zl64Database.create(EnvType.STANDARD_JDK, false, z).getData())
+            .toArray(long[][]::new);
+    }
+
+    private MpcZ2Vector[] createInputs(MpcZ2cParty party, long[] longXs) {
+        BitVector[] bitVectors = Zl64Database.create(DEFAULT_L, longXs).bitPartition(EnvType.STANDARD_JDK, false);
+        return Arrays.stream(bitVectors).map(party::create).toArray(MpcZ2Vector[]::new);
+    }
+}
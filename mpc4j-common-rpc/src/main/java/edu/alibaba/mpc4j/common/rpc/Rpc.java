@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.common.rpc;
 
+import edu.alibaba.mpc4j.common.rpc.metrics.RpcMetrics;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 
@@ -62,6 +63,25 @@ public interface Rpc {
      */
     DataPacket receiveAny();
 
+    /**
+     * Receives the data packet with the given header, waiting at most the given time.
+     *
+     * @param header        the header.
+     * @param timeoutMillis the maximal waiting time in milliseconds.
+     * @return the received data packet.
+     * @throws MpcAbortException if the data packet does not arrive within the given time.
+     */
+    DataPacket receive(DataPacketHeader header, long timeoutMillis) throws MpcAbortException;
+
+    /**
+     * Receives any data packet, waiting at most the given time.
+     *
+     * @param timeoutMillis the maximal waiting time in milliseconds.
+     * @return one received data packet.
+     * @throws MpcAbortException if no data packet arrives within the given time.
+     */
+    DataPacket receiveAny(long timeoutMillis) throws MpcAbortException;
+
     /**
      * 返回已发送的数据负载字节长度。
      *
@@ -83,6 +103,13 @@ public interface Rpc {
      */
     long getSendDataPacketNum();
 
+    /**
+     * Gets the RPC metrics, which records sent / received bytes, the number of data packets, and the time blocked in
+     * receiving, keyed by (encodeTaskId, ptoId, stepId). The metrics are reset when calling {@link #reset()}.
+     * @return the RPC metrics.
+     */
+    RpcMetrics getMetrics();
+
     /**
      * 与其他参与方网络同步。
      */
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.rpc;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyParty;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpc;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyWireType;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 
@@ -21,7 +22,12 @@ public class RpcPropertiesUtils {
     }
 
     /**
-     * reads and sets Netty RPC.
+     * key of the Netty wire format type, the default value is PROTOBUF.
+     */
+    private static final String NETTY_WIRE_TYPE = "netty_wire_type";
+
+    /**
+     * reads and sets Netty RPC. The wire format type can be set by "netty_wire_type" (PROTOBUF or RAW).
      *
      * @param properties properties.
      * @param partyPrefix the prefixes of the parties.
@@ -47,6 +53,9 @@ public class RpcPropertiesUtils {
         NettyParty ownParty = Preconditions.checkNotNull(
             nettyPartyMap.get(ownName), "own_name must be in %s: %s", Arrays.toString(partyPrefix), ownName
         );
-        return new NettyRpc(ownParty, nettyPartySet);
+        NettyWireType wireType = NettyWireType.valueOf(
+            PropertiesUtils.readString(properties, NETTY_WIRE_TYPE, NettyWireType.PROTOBUF.name())
+        );
+        return new NettyRpc(ownParty, nettyPartySet, wireType);
     }
 }
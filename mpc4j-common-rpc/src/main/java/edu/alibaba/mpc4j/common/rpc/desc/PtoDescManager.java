@@ -1,7 +1,7 @@
 package edu.alibaba.mpc4j.common.rpc.desc;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 协议管理器，防止协议的ID发生冲突。
@@ -13,11 +13,11 @@ public class PtoDescManager {
     /**
      * 协议ID映射
      */
-    private static final Map<Integer, PtoDesc> PTO_DESC_MAP = new HashMap<>();
+    private static final Map<Integer, PtoDesc> PTO_DESC_MAP = new ConcurrentHashMap<>();
     /**
      * 协议姓名映射
      */
-    private static final Map<String, PtoDesc> PTO_NAME_MAP = new HashMap<>();
+    private static final Map<String, PtoDesc> PTO_NAME_MAP = new ConcurrentHashMap<>();
 
     /**
      * 私有构造函数。
@@ -39,4 +39,14 @@ public class PtoDescManager {
         : "Existing PtoDesc contains new PtoName, please change to another PtoName: " + ptoDesc.getPtoName();
         PTO_NAME_MAP.put(ptoDesc.getPtoName(), ptoDesc);
     }
+
+    /**
+     * Gets the protocol description of the protocol ID.
+     *
+     * @param ptoId protocol ID.
+     * @return the protocol description, or null if the protocol is not registered.
+     */
+    public static PtoDesc getPtoDesc(int ptoId) {
+        return PTO_DESC_MAP.get(ptoId);
+    }
 }
@@ -0,0 +1,834 @@
+package edu.alibaba.mpc4j.common.rpc.impl.file;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.impl.file.FilePtoDesc.StepEnum;
+import edu.alibaba.mpc4j.common.rpc.metrics.RpcMetrics;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBuffer;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Binary file RPC. Each data packet is encoded as a binary record:
+ * <li>record length (int): the byte length of the remaining record.</li>
+ * <li>header (32 bytes): encodeTaskId, ptoId, stepId, extraInfo, senderId, receiverId.</li>
+ * <li>payload num (int): the number of payload byte arrays.</li>
+ * <li>payload lengths (int * payload num): the byte length of each payload byte array.</li>
+ * <li>payloads: the concatenated payload byte arrays.</li>
+ * Records are written with gathering {@link FileChannel} writes and read through {@link MappedByteBuffer}. Depending on
+ * {@link FileWireType}, each record is written into its own file (under a temporary name, then atomically renamed), or
+ * appended into one segment file per (sender, receiver). In the segment file, the record body is written before the
+ * record length, so that a non-zero record length means the record is complete.
+ * <p>
+ * A watching thread detects arrivals through {@link WatchService} and puts received data packets into a
+ * {@link DataPacketBuffer}. Since some file systems (e.g., network volumes) do not deliver watch events, the watching
+ * thread also rescans the directory with adaptive backoff when no event arrives.
+ * </p>
+ * If the watching thread fails (e.g., an I/O error or a malformed record), the failure is recorded and rethrown by the
+ * receiving methods instead of leaving them waiting forever. Mapped buffers are unmapped right after the record is
+ * decoded, so that files can be deleted (or truncated) immediately on all platforms.
+ * <p>
+ * Incoming segment files are deleted when disconnecting. Stale files left by crashed sessions should be removed
+ * before connecting.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/11/21
+ */
+public class BinaryFileRpc implements Rpc {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryFileRpc.class);
+    /**
+     * each file contains 7 fields: taskId, ptoId, stepId, extraInfo, senderId, receiverId, suffix.
+     */
+    private static final int FILE_NAME_SPLIT_NUM = 7;
+    /**
+     * 文件名分隔符
+     */
+    private static final String FILE_NAME_SEPARATOR = "_";
+    /**
+     * suffix of a complete data packet file
+     */
+    private static final String FILE_BINARY_SUFFIX = "BINARY";
+    /**
+     * suffix of a data packet file that is being written
+     */
+    private static final String FILE_WRITING_SUFFIX = "WRITING";
+    /**
+     * prefix of a segment file
+     */
+    private static final String SEGMENT_FILE_PREFIX = "SEGMENT";
+    /**
+     * record length field byte length
+     */
+    private static final int RECORD_LENGTH_FIELD_BYTE_LENGTH = Integer.BYTES;
+    /**
+     * header byte length
+     */
+    private static final int HEADER_BYTE_LENGTH = Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    /**
+     * minimal waiting time for rescanning the directory
+     */
+    private static final long MIN_SCAN_WAIT_MILLI_SECOND = 1;
+    /**
+     * maximal waiting time for rescanning the directory
+     */
+    private static final long MAX_SCAN_WAIT_MILLI_SECOND = 64;
+    /**
+     * waiting time in each round of receiving, after which the failure of the watching thread is checked
+     */
+    private static final long RECEIVE_CHECK_MILLI_SECOND = 100;
+    /**
+     * unmapper for mapped buffers, null if unmapping is not supported by the JVM
+     */
+    private static final Unmapper UNMAPPER = Unmapper.create();
+    /**
+     * 参与方ID映射
+     */
+    private final HashMap<Integer, FileParty> partyIdHashMap;
+    /**
+     * 自己的参与方信息
+     */
+    private final FileParty ownParty;
+    /**
+     * Own party's ID
+     */
+    private final int ownPartyId;
+    /**
+     * wire format type
+     */
+    private final FileWireType wireType;
+    /**
+     * data packet buffer
+     */
+    private final DataPacketBuffer dataPacketBuffer;
+    /**
+     * receiver ID -> outgoing segment file channel
+     */
+    private final Map<Integer, FileChannel> segmentChannelMap;
+    /**
+     * sender ID -> read position of the incoming segment file
+     */
+    private final Map<Integer, Long> segmentCursorMap;
+    /**
+     * watching thread
+     */
+    private Thread watchThread;
+    /**
+     * watch service
+     */
+    private WatchService watchService;
+    /**
+     * whether the watching thread is running
+     */
+    private volatile boolean watching;
+    /**
+     * failure of the watching thread, rethrown when receiving
+     */
+    private volatile Throwable watchFailure;
+    /**
+     * 数据包数量
+     */
+    private long dataPacketNum;
+    /**
+     * 负载字节长度
+     */
+    private long payloadByteLength;
+    /**
+     * 发送字节长度
+     */
+    private long sendByteLength;
+    /**
+     * RPC metrics
+     */
+    private final RpcMetrics metrics;
+
+    /**
+     * Creates a binary file RPC.
+     *
+     * @param ownParty own party.
+     * @param partySet all parties.
+     * @param wireType wire format type, must be BINARY or BINARY_SEGMENT.
+     */
+    public BinaryFileRpc(FileParty ownParty, Set<FileParty> partySet, FileWireType wireType) {
+        // 所有参与方的数量必须大于1
+        Preconditions.checkArgument(partySet.size() > 1, "Party set size must be greater than 1");
+        // 参与方自身必须在所有参与方之中
+        Preconditions.checkArgument(partySet.contains(ownParty), "Party set must contain own party");
+        Preconditions.checkArgument(
+            wireType.equals(FileWireType.BINARY) || wireType.equals(FileWireType.BINARY_SEGMENT),
+            "%s must be %s or %s: %s",
+            FileWireType.class.getSimpleName(), FileWireType.BINARY, FileWireType.BINARY_SEGMENT, wireType
+        );
+        this.ownParty = ownParty;
+        ownPartyId = ownParty.getPartyId();
+        this.wireType = wireType;
+        // 按照参与方索引值，将参与方信息插入到ID映射中
+        partyIdHashMap = new HashMap<>();
+        partySet.forEach(partySpec -> partyIdHashMap.put(partySpec.getPartyId(), partySpec));
+        dataPacketBuffer = new DataPacketBuffer(FilePtoDesc.getInstance().getPtoId());
+        segmentChannelMap = new ConcurrentHashMap<>();
+        segmentCursorMap = new HashMap<>();
+        dataPacketNum = 0;
+        payloadByteLength = 0;
+        sendByteLength = 0;
+        metrics = new RpcMetrics();
+    }
+
+    @Override
+    public Party ownParty() {
+        return ownParty;
+    }
+
+    @Override
+    public Set<Party> getPartySet() {
+        return partyIdHashMap.keySet().stream().map(partyIdHashMap::get).collect(Collectors.toSet());
+    }
+
+    @Override
+    public Party getParty(int partyId) {
+        assert (partyIdHashMap.containsKey(partyId));
+        return partyIdHashMap.get(partyId);
+    }
+
+    /**
+     * Gets the wire format type.
+     *
+     * @return the wire format type.
+     */
+    public FileWireType getWireType() {
+        return wireType;
+    }
+
+    @Override
+    public void connect() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Paths.get(ownParty.getPartyFilePath()).register(
+                watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY
+            );
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Cannot watch file path: " + ownParty.getPartyFilePath());
+        }
+        watching = true;
+        watchFailure = null;
+        watchThread = new Thread(this::watch, ownParty.getPartyName() + "-" + BinaryFileRpc.class.getSimpleName());
+        watchThread.setDaemon(true);
+        watchThread.start();
+        partyIdHashMap.keySet().stream().sorted().forEach(otherPartyId -> {
+            if (otherPartyId != ownPartyId) {
+                if (wireType.equals(FileWireType.BINARY_SEGMENT)) {
+                    getSegmentChannel(otherPartyId);
+                }
+                LOGGER.debug(
+                    "{} successfully make connection with {}",
+                    partyIdHashMap.get(ownPartyId), partyIdHashMap.get(otherPartyId)
+                );
+            }
+        });
+        LOGGER.info("{} connected", ownParty);
+    }
+
+    @Override
+    public void send(DataPacket dataPacket) {
+        DataPacketHeader header = dataPacket.getHeader();
+        Preconditions.checkArgument(
+            ownPartyId == header.getSenderId(), "Sender ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getReceiverId()),
+            "Party set does not contain Receiver ID = %s", header.getReceiverId()
+        );
+        String receiverFilePath = partyIdHashMap.get(header.getReceiverId()).getPartyFilePath();
+        ByteBuffer[] record = encodeRecord(dataPacket);
+        long recordByteLength = Arrays.stream(record).mapToLong(ByteBuffer::remaining).sum();
+        try {
+            switch (wireType) {
+                case BINARY:
+                    writePacketFile(receiverFilePath, header, record);
+                    break;
+                case BINARY_SEGMENT:
+                    appendSegment(header.getReceiverId(), record);
+                    break;
+                default:
+                    throw new IllegalStateException("Invalid " + FileWireType.class.getSimpleName() + ": " + wireType);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Unknown IOException for receiver file path: " + receiverFilePath);
+        }
+        payloadByteLength += dataPacket.getPayload().stream().mapToInt(data -> data.length).sum();
+        sendByteLength += recordByteLength;
+        dataPacketNum++;
+        metrics.recordSend(dataPacket, recordByteLength);
+    }
+
+    private void writePacketFile(String receiverFilePath, DataPacketHeader header, ByteBuffer[] record)
+        throws IOException {
+        Path writingPath = Paths.get(receiverFilePath, getFileName(header, FILE_WRITING_SUFFIX));
+        Path binaryPath = Paths.get(receiverFilePath, getFileName(header, FILE_BINARY_SUFFIX));
+        // 在写入之前必然没有数据包文件
+        if (Files.exists(binaryPath)) {
+            throw new IllegalStateException("File " + binaryPath.getFileName() + " already exists.");
+        }
+        try (FileChannel fileChannel = FileChannel.open(writingPath,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(fileChannel, record);
+        }
+        // the receiver only reads complete files, renaming is atomic
+        Files.move(writingPath, binaryPath, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void appendSegment(int receiverId, ByteBuffer[] record) throws IOException {
+        FileChannel fileChannel = getSegmentChannel(receiverId);
+        synchronized (fileChannel) {
+            long position = fileChannel.size();
+            // write the record body first, then the record length to commit the record
+            ByteBuffer recordLength = record[0];
+            fileChannel.position(position + RECORD_LENGTH_FIELD_BYTE_LENGTH);
+            writeFully(fileChannel, Arrays.copyOfRange(record, 1, record.length));
+            while (recordLength.hasRemaining()) {
+                fileChannel.write(recordLength, position + RECORD_LENGTH_FIELD_BYTE_LENGTH - recordLength.remaining());
+            }
+        }
+    }
+
+    private FileChannel getSegmentChannel(int receiverId) {
+        return segmentChannelMap.computeIfAbsent(receiverId, id -> {
+            Path segmentPath = Paths.get(partyIdHashMap.get(id).getPartyFilePath(), getSegmentFileName(ownPartyId, id));
+            try {
+                // remove the stale segment file so that the receiver sees a new file
+                Files.deleteIfExists(segmentPath);
+                return FileChannel.open(segmentPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                e.printStackTrace();
+                throw new IllegalStateException("Cannot create segment file: " + segmentPath);
+            }
+        });
+    }
+
+    private static void writeFully(FileChannel fileChannel, ByteBuffer[] byteBuffers) throws IOException {
+        long remaining = Arrays.stream(byteBuffers).mapToLong(ByteBuffer::remaining).sum();
+        while (remaining > 0) {
+            remaining -= fileChannel.write(byteBuffers);
+        }
+    }
+
+    /**
+     * Encodes the data packet into a record. The first buffer is the record length, the second buffer contains the
+     * header and the payload lengths, and the remaining buffers wrap the payloads without copying.
+     *
+     * @param dataPacket the data packet.
+     * @return the record.
+     */
+    private static ByteBuffer[] encodeRecord(DataPacket dataPacket) {
+        DataPacketHeader header = dataPacket.getHeader();
+        List<byte[]> payload = dataPacket.getPayload();
+        int prefixByteLength = HEADER_BYTE_LENGTH + Integer.BYTES + Integer.BYTES * payload.size();
+        long recordByteLength = prefixByteLength + payload.stream().mapToLong(data -> data.length).sum();
+        MathPreconditions.checkLessOrEqual("record byte length", recordByteLength, Integer.MAX_VALUE);
+        ByteBuffer[] record = new ByteBuffer[2 + payload.size()];
+        record[0] = ByteBuffer.allocate(RECORD_LENGTH_FIELD_BYTE_LENGTH).putInt((int) recordByteLength);
+        record[0].flip();
+        ByteBuffer prefix = ByteBuffer.allocate(prefixByteLength)
+            .putLong(header.getEncodeTaskId())
+            .putInt(header.getPtoId())
+            .putInt(header.getStepId())
+            .putLong(header.getExtraInfo())
+            .putInt(header.getSenderId())
+            .putInt(header.getReceiverId())
+            .putInt(payload.size());
+        payload.forEach(data -> prefix.putInt(data.length));
+        prefix.flip();
+        record[1] = prefix;
+        int index = 2;
+        for (byte[] data : payload) {
+            record[index] = ByteBuffer.wrap(data);
+            index++;
+        }
+        return record;
+    }
+
+    /**
+     * Decodes a record body (without the record length) from the current position of the buffer.
+     *
+     * @param byteBuffer the buffer.
+     * @return the data packet.
+     */
+    private static DataPacket decodeRecord(ByteBuffer byteBuffer) {
+        long taskId = byteBuffer.getLong();
+        int ptoId = byteBuffer.getInt();
+        int stepId = byteBuffer.getInt();
+        long extraInfo = byteBuffer.getLong();
+        int senderId = byteBuffer.getInt();
+        int receiverId = byteBuffer.getInt();
+        DataPacketHeader header = new DataPacketHeader(taskId, ptoId, stepId, extraInfo, senderId, receiverId);
+        int payloadNum = byteBuffer.getInt();
+        int[] payloadByteLengths = new int[payloadNum];
+        for (int index = 0; index < payloadNum; index++) {
+            payloadByteLengths[index] = byteBuffer.getInt();
+        }
+        List<byte[]> payload = new ArrayList<>(payloadNum);
+        for (int index = 0; index < payloadNum; index++) {
+            byte[] data = new byte[payloadByteLengths[index]];
+            byteBuffer.get(data);
+            payload.add(data);
+        }
+        return DataPacket.fromByteArrayList(header, payload);
+    }
+
+    private void watch() {
+        long waitMillis = MIN_SCAN_WAIT_MILLI_SECOND;
+        try {
+            while (watching) {
+                if (scan()) {
+                    waitMillis = MIN_SCAN_WAIT_MILLI_SECOND;
+                    continue;
+                }
+                WatchKey watchKey = watchService.poll(waitMillis, TimeUnit.MILLISECONDS);
+                if (watchKey != null) {
+                    watchKey.pollEvents();
+                    watchKey.reset();
+                    waitMillis = MIN_SCAN_WAIT_MILLI_SECOND;
+                } else {
+                    // no event, the file system may not support watching, back off
+                    waitMillis = Math.min(waitMillis * 2, MAX_SCAN_WAIT_MILLI_SECOND);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stop watching
+        } catch (IOException | RuntimeException e) {
+            // record the failure so that receiving methods rethrow it instead of waiting forever
+            LOGGER.error("{} stops watching {}", ownParty, ownParty.getPartyFilePath(), e);
+            watchFailure = e;
+        }
+    }
+
+    /**
+     * Unmaps the mapped buffer. The buffer must not be accessed afterwards.
+     *
+     * @param mappedByteBuffer the mapped buffer.
+     */
+    private static void unmap(MappedByteBuffer mappedByteBuffer) {
+        if (UNMAPPER != null) {
+            UNMAPPER.unmap(mappedByteBuffer);
+        }
+    }
+
+    /**
+     * Scans the directory and puts all arrived data packets into the buffer.
+     *
+     * @return whether any data packet arrives.
+     * @throws IOException if an I/O error occurs.
+     */
+    private boolean scan() throws IOException {
+        switch (wireType) {
+            case BINARY:
+                return scanPacketFiles();
+            case BINARY_SEGMENT:
+                return scanSegmentFiles();
+            default:
+                throw new IllegalStateException("Invalid " + FileWireType.class.getSimpleName() + ": " + wireType);
+        }
+    }
+
+    private boolean scanPacketFiles() throws IOException {
+        File ownFilePath = new File(ownParty.getPartyFilePath());
+        File[] files = ownFilePath.listFiles((dir, fileName) -> {
+            String[] splitFileName = fileName.split(FILE_NAME_SEPARATOR);
+            return splitFileName.length == FILE_NAME_SPLIT_NUM
+                && splitFileName[FILE_NAME_SPLIT_NUM - 1].equals(FILE_BINARY_SUFFIX)
+                && Integer.parseInt(splitFileName[5]) == ownPartyId;
+        });
+        Objects.requireNonNull(files, ownFilePath + " is not a dictionary");
+        for (File file : files) {
+            DataPacket dataPacket;
+            try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+                try {
+                    mappedByteBuffer.position(RECORD_LENGTH_FIELD_BYTE_LENGTH);
+                    dataPacket = decodeRecord(mappedByteBuffer);
+                } finally {
+                    unmap(mappedByteBuffer);
+                }
+            }
+            Files.delete(file.toPath());
+            dataPacketBuffer.put(dataPacket);
+        }
+        return files.length > 0;
+    }
+
+    private boolean scanSegmentFiles() throws IOException {
+        boolean arrived = false;
+        for (int senderId : partyIdHashMap.keySet()) {
+            if (senderId == ownPartyId) {
+                continue;
+            }
+            Path segmentPath = Paths.get(ownParty.getPartyFilePath(), getSegmentFileName(senderId, ownPartyId));
+            if (!Files.exists(segmentPath)) {
+                continue;
+            }
+            try (FileChannel fileChannel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+                long size = fileChannel.size();
+                long cursor = segmentCursorMap.getOrDefault(senderId, 0L);
+                if (size < cursor) {
+                    // the segment file is recreated
+                    cursor = 0L;
+                }
+                while (size - cursor > RECORD_LENGTH_FIELD_BYTE_LENGTH) {
+                    ByteBuffer recordLengthBuffer = ByteBuffer.allocate(RECORD_LENGTH_FIELD_BYTE_LENGTH);
+                    while (recordLengthBuffer.hasRemaining()) {
+                        fileChannel.read(recordLengthBuffer, cursor + recordLengthBuffer.position());
+                    }
+                    recordLengthBuffer.flip();
+                    int recordByteLength = recordLengthBuffer.getInt();
+                    if (recordByteLength == 0 || size - cursor - RECORD_LENGTH_FIELD_BYTE_LENGTH < recordByteLength) {
+                        // the record is not committed yet
+                        break;
+                    }
+                    MappedByteBuffer mappedByteBuffer = fileChannel.map(
+                        FileChannel.MapMode.READ_ONLY, cursor + RECORD_LENGTH_FIELD_BYTE_LENGTH, recordByteLength
+                    );
+                    DataPacket dataPacket;
+                    try {
+                        dataPacket = decodeRecord(mappedByteBuffer);
+                    } finally {
+                        unmap(mappedByteBuffer);
+                    }
+                    dataPacketBuffer.put(dataPacket);
+                    cursor += RECORD_LENGTH_FIELD_BYTE_LENGTH + recordByteLength;
+                    arrived = true;
+                }
+                segmentCursorMap.put(senderId, cursor);
+            } catch (NoSuchFileException e) {
+                // the segment file is deleted and will be recreated
+            }
+        }
+        return arrived;
+    }
+
+    @Override
+    public DataPacket receive(DataPacketHeader header) {
+        Preconditions.checkArgument(
+            ownPartyId == header.getReceiverId(), "Receiver ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getSenderId()),
+            "Party set does not contain Sender ID = %s", header.getSenderId()
+        );
+        try {
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(take(waitMillis -> dataPacketBuffer.take(header, waitMillis)), startNanoTime);
+        } catch (InterruptedException e) {
+            // 线程中断，恢复中断状态，直接返回空
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public DataPacket receiveAny() {
+        try {
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(take(waitMillis -> dataPacketBuffer.take(ownPartyId, waitMillis)), startNanoTime);
+        } catch (InterruptedException e) {
+            // 线程中断，恢复中断状态，直接返回空
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public DataPacket receive(DataPacketHeader header, long timeoutMillis) throws MpcAbortException {
+        Preconditions.checkArgument(
+            ownPartyId == header.getReceiverId(), "Receiver ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getSenderId()),
+            "Party set does not contain Sender ID = %s", header.getSenderId()
+        );
+        MathPreconditions.checkPositive("timeoutMillis", timeoutMillis);
+        try {
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(
+                take(waitMillis -> dataPacketBuffer.take(header, waitMillis), timeoutMillis), startNanoTime
+            );
+        } catch (InterruptedException e) {
+            // restore the interrupted status, and abort instead of returning null as a received data packet
+            Thread.currentThread().interrupt();
+            throw new MpcAbortException("Interrupted while waiting for data packet", e);
+        }
+    }
+
+    @Override
+    public DataPacket receiveAny(long timeoutMillis) throws MpcAbortException {
+        MathPreconditions.checkPositive("timeoutMillis", timeoutMillis);
+        try {
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(
+                take(waitMillis -> dataPacketBuffer.take(ownPartyId, waitMillis), timeoutMillis), startNanoTime
+            );
+        } catch (InterruptedException e) {
+            // restore the interrupted status, and abort instead of returning null as a received data packet
+            Thread.currentThread().interrupt();
+            throw new MpcAbortException("Interrupted while waiting for data packet", e);
+        }
+    }
+
+    /**
+     * Takes a data packet without timeout. The failure of the watching thread is checked periodically.
+     *
+     * @param timedTake taking with timeout.
+     * @return a data packet.
+     * @throws InterruptedException interrupted exception.
+     */
+    private DataPacket take(TimedTake timedTake) throws InterruptedException {
+        while (true) {
+            try {
+                return timedTake.take(RECEIVE_CHECK_MILLI_SECOND);
+            } catch (MpcAbortException e) {
+                // no data packet arrives in this round
+                checkWatchFailure();
+            }
+        }
+    }
+
+    /**
+     * Takes a data packet, waiting at most the given time. The failure of the watching thread is checked periodically.
+     *
+     * @param timedTake     taking with timeout.
+     * @param timeoutMillis the maximal waiting time in milliseconds.
+     * @return a data packet.
+     * @throws InterruptedException interrupted exception.
+     * @throws MpcAbortException    if no data packet arrives within the given time.
+     */
+    private DataPacket take(TimedTake timedTake, long timeoutMillis) throws InterruptedException, MpcAbortException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            long remainingMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            long waitMillis = Math.min(remainingMillis, RECEIVE_CHECK_MILLI_SECOND);
+            try {
+                return timedTake.take(waitMillis);
+            } catch (MpcAbortException e) {
+                checkWatchFailure();
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new MpcAbortException("Timeout (" + timeoutMillis + " ms) waiting for data packet", e);
+                }
+            }
+        }
+    }
+
+    private void checkWatchFailure() {
+        Throwable failure = watchFailure;
+        if (failure != null) {
+            throw new IllegalStateException(
+                ownParty + " stops watching " + ownParty.getPartyFilePath() + ", cannot receive data packets", failure
+            );
+        }
+    }
+
+    /**
+     * Taking a data packet with timeout.
+     */
+    @FunctionalInterface
+    private interface TimedTake {
+        /**
+         * Takes a data packet, waiting at most the given time.
+         *
+         * @param timeoutMillis the maximal waiting time in milliseconds.
+         * @return a data packet.
+         * @throws InterruptedException interrupted exception.
+         * @throws MpcAbortException    if no data packet arrives within the given time.
+         */
+        DataPacket take(long timeoutMillis) throws InterruptedException, MpcAbortException;
+    }
+
+    /**
+     * Unmapper of mapped buffers. Java 9+ unmaps through sun.misc.Unsafe.invokeCleaner, while Java 8 unmaps through
+     * the cleaner of the direct buffer.
+     */
+    private static class Unmapper {
+        /**
+         * Unsafe instance, null in Java 8
+         */
+        private final Object unsafe;
+        /**
+         * Unsafe.invokeCleaner(ByteBuffer), null in Java 8
+         */
+        private final Method invokeCleaner;
+
+        private Unmapper(Object unsafe, Method invokeCleaner) {
+            this.unsafe = unsafe;
+            this.invokeCleaner = invokeCleaner;
+        }
+
+        /**
+         * Creates an unmapper.
+         *
+         * @return an unmapper, or null if unmapping is not supported by the JVM.
+         */
+        static Unmapper create() {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                try {
+                    Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                    Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                    theUnsafe.setAccessible(true);
+                    return new Unmapper(theUnsafe.get(null), invokeCleaner);
+                } catch (NoSuchMethodException e) {
+                    // Java 8, use the cleaner of the direct buffer
+                    return new Unmapper(null, null);
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.warn("Unmapping is not supported, mapped buffers are released by GC", e);
+                return null;
+            }
+        }
+
+        void unmap(MappedByteBuffer mappedByteBuffer) {
+            try {
+                if (invokeCleaner != null) {
+                    invokeCleaner.invoke(unsafe, mappedByteBuffer);
+                } else {
+                    Method cleanerMethod = mappedByteBuffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    Object cleaner = cleanerMethod.invoke(mappedByteBuffer);
+                    if (cleaner != null) {
+                        cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    }
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // fall back to releasing the mapped buffer by GC
+                LOGGER.debug("Cannot unmap the mapped buffer", e);
+            }
+        }
+    }
+
+    @Override
+    public long getPayloadByteLength() {
+        return payloadByteLength;
+    }
+
+    @Override
+    public long getSendByteLength() {
+        return sendByteLength;
+    }
+
+    @Override
+    public long getSendDataPacketNum() {
+        return dataPacketNum;
+    }
+
+    @Override
+    public RpcMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void reset() {
+        payloadByteLength = 0;
+        sendByteLength = 0;
+        dataPacketNum = 0;
+        metrics.reset();
+    }
+
+    @Override
+    public void synchronize() {
+        // 对参与方进行排序，所有在自己之前的自己作为client、所有在自己之后的自己作为server
+        partyIdHashMap.keySet().stream().sorted().forEach(otherPartyId -> {
+            if (otherPartyId < ownPartyId) {
+                // 如果对方排序比自己小，则自己是client，需要给对方发送同步信息
+                DataPacketHeader clientSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - ownPartyId, FilePtoDesc.getInstance().getPtoId(), StepEnum.CLIENT_SYNCHRONIZE.ordinal(),
+                    ownPartyId, otherPartyId
+                );
+                send(DataPacket.fromByteArrayList(clientSynchronizeHeader, new LinkedList<>()));
+                // 获得对方的回复
+                DataPacketHeader serverSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - otherPartyId, FilePtoDesc.getInstance().getPtoId(), StepEnum.SERVER_SYNCHRONIZE.ordinal(),
+                    otherPartyId, ownPartyId
+                );
+                receive(serverSynchronizeHeader);
+            } else if (otherPartyId > ownPartyId) {
+                // 如果对方排序比自己大，则自己是server
+                DataPacketHeader clientSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - otherPartyId, FilePtoDesc.getInstance().getPtoId(), StepEnum.CLIENT_SYNCHRONIZE.ordinal(),
+                    otherPartyId, ownPartyId
+                );
+                receive(clientSynchronizeHeader);
+                DataPacketHeader serverSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - ownPartyId, FilePtoDesc.getInstance().getPtoId(), StepEnum.SERVER_SYNCHRONIZE.ordinal(),
+                    ownPartyId, otherPartyId
+                );
+                send(DataPacket.fromByteArrayList(serverSynchronizeHeader, new LinkedList<>()));
+            }
+        });
+        LOGGER.info("{} synchronized", ownParty);
+    }
+
+    private String getFileName(DataPacketHeader header, String suffix) {
+        // testId_PtoId_StepId_extraInfo_senderId_receiverId_SUFFIX
+        return header.getEncodeTaskId()
+            + FILE_NAME_SEPARATOR + header.getPtoId()
+            + FILE_NAME_SEPARATOR + header.getStepId()
+            + FILE_NAME_SEPARATOR + header.getExtraInfo()
+            + FILE_NAME_SEPARATOR + header.getSenderId()
+            + FILE_NAME_SEPARATOR + header.getReceiverId()
+            + FILE_NAME_SEPARATOR + suffix;
+    }
+
+    private String getSegmentFileName(int senderId, int receiverId) {
+        // SEGMENT_senderId_receiverId
+        return SEGMENT_FILE_PREFIX + FILE_NAME_SEPARATOR + senderId + FILE_NAME_SEPARATOR + receiverId;
+    }
+
+    @Override
+    public void disconnect() {
+        watching = false;
+        // close every outgoing segment file channel, even if closing another one fails
+        for (FileChannel fileChannel : segmentChannelMap.values()) {
+            try {
+                fileChannel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        segmentChannelMap.clear();
+        try {
+            watchService.close();
+            watchThread.join();
+            if (wireType.equals(FileWireType.BINARY_SEGMENT)) {
+                // all data packets have been received, delete incoming segment files
+                for (int senderId : partyIdHashMap.keySet()) {
+                    if (senderId != ownPartyId) {
+                        Files.deleteIfExists(
+                            Paths.get(ownParty.getPartyFilePath(), getSegmentFileName(senderId, ownPartyId))
+                        );
+                    }
+                }
+                segmentCursorMap.clear();
+            }
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+        }
+        LOGGER.info("{} disconnected", ownParty);
+    }
+}
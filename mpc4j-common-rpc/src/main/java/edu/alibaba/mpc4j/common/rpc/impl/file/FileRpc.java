@@ -1,17 +1,21 @@
 package edu.alibaba.mpc4j.common.rpc.impl.file;
 
 import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.impl.file.FilePtoDesc.StepEnum;
+import edu.alibaba.mpc4j.common.rpc.metrics.RpcMetrics;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -70,6 +74,10 @@ public class FileRpc implements Rpc {
      * 发送字节长度
      */
     private long sendByteLength;
+    /**
+     * RPC metrics
+     */
+    private final RpcMetrics metrics;
 
     /**
      * 构建文件RPC。
@@ -90,6 +98,7 @@ public class FileRpc implements Rpc {
         dataPacketNum = 0;
         payloadByteLength = 0;
         sendByteLength = 0;
+        metrics = new RpcMetrics();
     }
 
     @Override
@@ -152,14 +161,17 @@ public class FileRpc implements Rpc {
             // 写入数据包并统计发送数据量
             FileWriter payloadFileWriter = new FileWriter(payloadFile);
             PrintWriter payloadPrintWriter = new PrintWriter(payloadFileWriter, true);
+            long packetSendByteLength = 0;
             for (byte[] byteArray : payload) {
                 payloadByteLength += byteArray.length;
                 String payloadString = Base64.getEncoder().encodeToString(byteArray);
-                sendByteLength = payloadString.getBytes(StandardCharsets.UTF_8).length;
+                packetSendByteLength += payloadString.getBytes(StandardCharsets.UTF_8).length;
                 payloadPrintWriter.println(payloadString);
             }
             payloadPrintWriter.close();
+            sendByteLength += packetSendByteLength;
             dataPacketNum++;
+            metrics.recordSend(dataPacket, packetSendByteLength);
             FileWriter statusFileWriter = new FileWriter(statusFile);
             PrintWriter statusPrintWriter = new PrintWriter(statusFileWriter, true);
             statusPrintWriter.println(FILE_STATUS_SUFFIX);
@@ -172,6 +184,22 @@ public class FileRpc implements Rpc {
 
     @Override
     public DataPacket receive(DataPacketHeader header) {
+        return receive(header, 0L, false);
+    }
+
+    @Override
+    public DataPacket receive(DataPacketHeader header, long timeoutMillis) throws MpcAbortException {
+        MathPreconditions.checkPositive("timeoutMillis", timeoutMillis);
+        DataPacket dataPacket = receive(header, timeoutMillis, true);
+        if (dataPacket == null) {
+            throw new MpcAbortException(String.format(
+                "Timeout (%s ms) waiting for data packet: %s", timeoutMillis, getPayloadFileName(header)
+            ));
+        }
+        return dataPacket;
+    }
+
+    private DataPacket receive(DataPacketHeader header, long timeoutMillis, boolean timed) {
         Preconditions.checkArgument(
             ownPartyId == header.getReceiverId(), "Receiver ID must be %s", ownPartyId
         );
@@ -180,6 +208,8 @@ public class FileRpc implements Rpc {
             "Party set does not contain Sender ID = %s", header.getSenderId()
         );
         String ownFilePath = ownParty.getPartyFilePath();
+        long startNanoTime = System.nanoTime();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
         // 收取数据
         try {
             String payloadFileName = getPayloadFileName(header);
@@ -187,6 +217,9 @@ public class FileRpc implements Rpc {
             File statusFile = new File(ownFilePath + File.separator + statusFileName);
             File payloadFile = new File(ownFilePath + File.separator + payloadFileName);
             while (!statusFile.exists() || !payloadFile.exists()) {
+                if (timed && System.nanoTime() - deadline >= 0) {
+                    return null;
+                }
                 //noinspection BusyWait
                 Thread.sleep(DEFAULT_READ_WAIT_MILLI_SECOND);
             }
@@ -217,7 +250,7 @@ public class FileRpc implements Rpc {
             if (!deleted) {
                 throw new IllegalStateException("Cannot delete file: " + payloadFile.getName());
             }
-            return DataPacket.fromByteArrayList(header, byteArrayData);
+            return metrics.recordReceive(DataPacket.fromByteArrayList(header, byteArrayData), startNanoTime);
         } catch (IOException | InterruptedException e) {
             e.printStackTrace();
             throw new IllegalStateException("Unknown IOException for receiver file path: " + ownFilePath);
@@ -239,6 +272,28 @@ public class FileRpc implements Rpc {
         return receive(receivedDataPacketHeaders[0]);
     }
 
+    @Override
+    public DataPacket receiveAny(long timeoutMillis) throws MpcAbortException {
+        MathPreconditions.checkPositive("timeoutMillis", timeoutMillis);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        DataPacketHeader[] receivedDataPacketHeaders;
+        while ((receivedDataPacketHeaders = getReceivedDataPacketHeaders()).length == 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                throw new MpcAbortException(String.format(
+                    "Timeout (%s ms) waiting for any data packet (receiverId = %s)", timeoutMillis, ownPartyId
+                ));
+            }
+            try {
+                //noinspection BusyWait
+                Thread.sleep(DEFAULT_READ_WAIT_MILLI_SECOND);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+                throw new IllegalStateException("Unknown IOException for receiver");
+            }
+        }
+        return receive(receivedDataPacketHeaders[0]);
+    }
+
     @Override
     public long getPayloadByteLength() {
         return payloadByteLength;
@@ -254,11 +309,17 @@ public class FileRpc implements Rpc {
         return dataPacketNum;
     }
 
+    @Override
+    public RpcMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public void reset() {
         payloadByteLength = 0;
         sendByteLength = 0;
         dataPacketNum = 0;
+        metrics.reset();
     }
 
     @Override
@@ -341,6 +402,8 @@ public class FileRpc implements Rpc {
                 return new DataPacketHeader(taskId, ptoId, stepId, extraInfo, senderId, ownPartyId);
             })
             .filter(header -> header.getReceiverId() == ownPartyId)
+            // synchronization data packets can only be received with exact headers
+            .filter(header -> header.getPtoId() != FilePtoDesc.getInstance().getPtoId())
             .toArray(DataPacketHeader[]::new);
     }
 
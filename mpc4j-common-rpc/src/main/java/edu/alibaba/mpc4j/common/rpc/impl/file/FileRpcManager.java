@@ -33,7 +33,7 @@ public class FileRpcManager implements RpcManager {
     /**
      * 所有参与方RPC
      */
-    private final Map<Integer, FileRpc> fileRpcMap;
+    private final Map<Integer, Rpc> fileRpcMap;
 
     /**
      * 初始化文件通信管理器。
@@ -41,6 +41,16 @@ public class FileRpcManager implements RpcManager {
      * @param partyNum 参与方数量。
      */
     public FileRpcManager(int partyNum) {
+        this(partyNum, FileWireType.BASE64);
+    }
+
+    /**
+     * 初始化文件通信管理器。
+     *
+     * @param partyNum 参与方数量。
+     * @param wireType wire format type.
+     */
+    public FileRpcManager(int partyNum, FileWireType wireType) {
         Preconditions.checkArgument(partyNum > 1, "Number of parties must be greater than 1");
         this.partyNum = partyNum;
         // 初始化所有参与方
@@ -52,7 +62,9 @@ public class FileRpcManager implements RpcManager {
         // 初始化所有参与方的内存通信
         fileRpcMap = new HashMap<>(partyNum);
         for (FileParty fileParty : filePartySet) {
-            FileRpc fileRpc = new FileRpc(fileParty, filePartySet);
+            Rpc fileRpc = wireType.equals(FileWireType.BASE64)
+                ? new FileRpc(fileParty, filePartySet)
+                : new BinaryFileRpc(fileParty, filePartySet, wireType);
             fileRpcMap.put(fileRpc.ownParty().getPartyId(), fileRpc);
             LOGGER.debug("Add file party: {}", fileParty);
         }
@@ -0,0 +1,23 @@
+package edu.alibaba.mpc4j.common.rpc.impl.file;
+
+/**
+ * File wire format type. All parties must use the same wire format.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/21
+ */
+public enum FileWireType {
+    /**
+     * Base64 text lines, one payload file and one status file per data packet.
+     */
+    BASE64,
+    /**
+     * length-prefixed binary, one file per data packet. The file is written under a temporary name and atomically
+     * renamed when complete, so that no status file is needed.
+     */
+    BINARY,
+    /**
+     * length-prefixed binary, one append-only segment file per (sender, receiver).
+     */
+    BINARY_SEGMENT,
+}
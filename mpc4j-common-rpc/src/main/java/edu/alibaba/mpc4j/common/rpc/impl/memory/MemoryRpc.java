@@ -1,11 +1,14 @@
 package edu.alibaba.mpc4j.common.rpc.impl.memory;
 
 import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.metrics.RpcMetrics;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBuffer;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +54,10 @@ public class MemoryRpc implements Rpc {
      * 发送字节长度
      */
     private long sendByteLength;
+    /**
+     * RPC metrics
+     */
+    private final RpcMetrics metrics;
 
     /**
      * 构建内存RPC。
@@ -74,6 +81,7 @@ public class MemoryRpc implements Rpc {
         dataPacketNum = 0;
         payloadByteLength = 0;
         sendByteLength = 0;
+        metrics = new RpcMetrics();
     }
 
     @Override
@@ -118,8 +126,10 @@ public class MemoryRpc implements Rpc {
         List<byte[]> payload = dataPacket.getPayload();
         // 先统计数据包大小，再发送数据包，否则可能会出现统计的时候数据包被其他线程修改，抛出并发异常
         dataPacketNum++;
-        payloadByteLength += payload.stream().mapToInt(data -> data.length).sum();
-        sendByteLength += payload.stream().mapToInt(data -> data.length).sum();
+        long packetByteLength = payload.stream().mapToInt(data -> data.length).sum();
+        payloadByteLength += packetByteLength;
+        sendByteLength += packetByteLength;
+        metrics.recordSend(dataPacket, packetByteLength);
         // 往dataPacketBuffer中放置数据包
         dataPacketBuffer.put(dataPacket);
     }
@@ -134,8 +144,11 @@ public class MemoryRpc implements Rpc {
             "Party set does not contain Sender ID = %s", header.getSenderId()
         );
         try {
-            return dataPacketBuffer.take(header);
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(dataPacketBuffer.take(header), startNanoTime);
         } catch (InterruptedException e) {
+            // 线程中断，恢复中断状态，直接返回空
+            Thread.currentThread().interrupt();
             return null;
         }
     }
@@ -143,12 +156,48 @@ public class MemoryRpc implements Rpc {
     @Override
     public DataPacket receiveAny() {
         try {
-            return dataPacketBuffer.take(ownPartyId);
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(dataPacketBuffer.take(ownPartyId), startNanoTime);
         } catch (InterruptedException e) {
+            // 线程中断，恢复中断状态，直接返回空
+            Thread.currentThread().interrupt();
             return null;
         }
     }
 
+    @Override
+    public DataPacket receive(DataPacketHeader header, long timeoutMillis) throws MpcAbortException {
+        Preconditions.checkArgument(
+            ownPartyId == header.getReceiverId(), "Receiver ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getSenderId()),
+            "Party set does not contain Sender ID = %s", header.getSenderId()
+        );
+        MathPreconditions.checkPositive("timeoutMillis", timeoutMillis);
+        try {
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(dataPacketBuffer.take(header, timeoutMillis), startNanoTime);
+        } catch (InterruptedException e) {
+            // restore the interrupted status, and abort instead of returning null as a received data packet
+            Thread.currentThread().interrupt();
+            throw new MpcAbortException("Interrupted while waiting for data packet", e);
+        }
+    }
+
+    @Override
+    public DataPacket receiveAny(long timeoutMillis) throws MpcAbortException {
+        MathPreconditions.checkPositive("timeoutMillis", timeoutMillis);
+        try {
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(dataPacketBuffer.take(ownPartyId, timeoutMillis), startNanoTime);
+        } catch (InterruptedException e) {
+            // restore the interrupted status, and abort instead of returning null as a received data packet
+            Thread.currentThread().interrupt();
+            throw new MpcAbortException("Interrupted while waiting for data packet", e);
+        }
+    }
+
     @Override
     public long getPayloadByteLength() {
         return payloadByteLength;
@@ -164,11 +213,17 @@ public class MemoryRpc implements Rpc {
         return dataPacketNum;
     }
 
+    @Override
+    public RpcMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public void reset() {
         payloadByteLength = 0;
         sendByteLength = 0;
         dataPacketNum = 0;
+        metrics.reset();
     }
 
     @Override
@@ -44,7 +44,7 @@ public class MemoryRpcManager implements RpcManager {
         MathPreconditions.checkGreater("partyNum", partyNum, 1);
         this.partyNum = partyNum;
         // 构建一个统一的数据包缓存区
-        DataPacketBuffer dataPacketBuffer = new DataPacketBuffer();
+        DataPacketBuffer dataPacketBuffer = new DataPacketBuffer(MemoryPtoDesc.getInstance().getPtoId());
         // 初始化所有参与方
         memoryPartySet = new HashSet<>(partyNum);
         IntStream.range(0, partyNum).forEach(partyId -> {
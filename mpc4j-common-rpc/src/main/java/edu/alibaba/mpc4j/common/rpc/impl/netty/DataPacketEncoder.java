@@ -0,0 +1,104 @@
+package edu.alibaba.mpc4j.common.rpc.impl.netty;
+
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+import java.util.List;
+
+/**
+ * Raw data packet encoder. The frame is organized as follows:
+ * <li>frame length (int): the byte length of the remaining frame.</li>
+ * <li>header (32 bytes): encodeTaskId, ptoId, stepId, extraInfo, senderId, receiverId.</li>
+ * <li>payload num (int): the number of payload byte arrays.</li>
+ * <li>payload lengths (int * payload num): the byte length of each payload byte array.</li>
+ * <li>payloads: the concatenated payload byte arrays.</li>
+ * The frame length, the header and the payload lengths are written into one pooled buffer. Payloads with byte length
+ * at least {@link #WRAP_THRESHOLD} are wrapped into a composite buffer without copying, while shorter payloads are
+ * copied into pooled buffers to avoid creating one buffer component per small payload. Since wrapped payloads share
+ * memory with the caller's byte arrays, {@link DataSendManager#sendData(NettyParty, DataPacket)} blocks until the write
+ * completes, so that callers can safely modify or reuse the payload after send() returns.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/20
+ */
+@ChannelHandler.Sharable
+public class DataPacketEncoder extends MessageToMessageEncoder<DataPacket> {
+    /**
+     * frame length field byte length
+     */
+    static final int FRAME_LENGTH_FIELD_BYTE_LENGTH = Integer.BYTES;
+    /**
+     * header byte length
+     */
+    static final int HEADER_BYTE_LENGTH = Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    /**
+     * payloads with byte length at least this threshold are wrapped without copying
+     */
+    private static final int WRAP_THRESHOLD = 1 << 10;
+
+    /**
+     * Computes the frame byte length (including the frame length field) of the data packet.
+     *
+     * @param dataPacket the data packet.
+     * @return the frame byte length.
+     */
+    static long getFrameByteLength(DataPacket dataPacket) {
+        List<byte[]> payload = dataPacket.getPayload();
+        long payloadByteLength = payload.stream().mapToLong(data -> data.length).sum();
+        return FRAME_LENGTH_FIELD_BYTE_LENGTH + HEADER_BYTE_LENGTH
+            + Integer.BYTES + (long) Integer.BYTES * payload.size() + payloadByteLength;
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, DataPacket dataPacket, List<Object> out) {
+        DataPacketHeader header = dataPacket.getHeader();
+        List<byte[]> payload = dataPacket.getPayload();
+        long frameByteLength = getFrameByteLength(dataPacket) - FRAME_LENGTH_FIELD_BYTE_LENGTH;
+        if (frameByteLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                "Frame byte length must be at most " + Integer.MAX_VALUE + ": " + frameByteLength
+            );
+        }
+        int prefixByteLength = FRAME_LENGTH_FIELD_BYTE_LENGTH + HEADER_BYTE_LENGTH + Integer.BYTES + Integer.BYTES * payload.size();
+        ByteBuf prefix = ctx.alloc().buffer(prefixByteLength);
+        prefix.writeInt((int) frameByteLength);
+        prefix.writeLong(header.getEncodeTaskId());
+        prefix.writeInt(header.getPtoId());
+        prefix.writeInt(header.getStepId());
+        prefix.writeLong(header.getExtraInfo());
+        prefix.writeInt(header.getSenderId());
+        prefix.writeInt(header.getReceiverId());
+        prefix.writeInt(payload.size());
+        for (byte[] data : payload) {
+            prefix.writeInt(data.length);
+        }
+        CompositeByteBuf frame = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+        ByteBuf current = prefix;
+        for (byte[] data : payload) {
+            if (data.length < WRAP_THRESHOLD) {
+                // copy short payloads into the current pooled buffer
+                if (current == null) {
+                    current = ctx.alloc().buffer();
+                }
+                current.writeBytes(data);
+            } else {
+                // flush the current pooled buffer, then wrap the payload without copying
+                if (current != null) {
+                    frame.addComponent(true, current);
+                    current = null;
+                }
+                frame.addComponent(true, Unpooled.wrappedBuffer(data));
+            }
+        }
+        if (current != null) {
+            frame.addComponent(true, current);
+        }
+        out.add(frame);
+    }
+}
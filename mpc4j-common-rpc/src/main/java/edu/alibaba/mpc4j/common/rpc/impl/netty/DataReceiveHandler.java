@@ -5,10 +5,12 @@ import edu.alibaba.mpc4j.common.rpc.impl.netty.protobuf.NettyRpcProtobuf;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBuffer;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,8 +33,44 @@ public class DataReceiveHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof ByteBuf) {
+            readRaw((ByteBuf) msg);
+        } else {
+            readProtobuf((NettyRpcProtobuf.DataPacketProto) msg);
+        }
+    }
+
+    private void readRaw(ByteBuf frame) {
+        try {
+            // 恢复数据包head，帧长度字段已被LengthFieldBasedFrameDecoder移除
+            long taskId = frame.readLong();
+            int ptoId = frame.readInt();
+            int stepId = frame.readInt();
+            long extraInfo = frame.readLong();
+            int senderId = frame.readInt();
+            int receiverId = frame.readInt();
+            DataPacketHeader header = new DataPacketHeader(taskId, ptoId, stepId, extraInfo, senderId, receiverId);
+            // 恢复数据包payload，先读取所有长度，再直接从帧中切分出各个字节数组
+            int payloadNum = frame.readInt();
+            int[] payloadByteLengths = new int[payloadNum];
+            for (int index = 0; index < payloadNum; index++) {
+                payloadByteLengths[index] = frame.readInt();
+            }
+            List<byte[]> payload = new ArrayList<>(payloadNum);
+            for (int index = 0; index < payloadNum; index++) {
+                byte[] data = new byte[payloadByteLengths[index]];
+                frame.readBytes(data);
+                payload.add(data);
+            }
+            // 放入数据缓存区
+            dataPacketBuffer.put(DataPacket.fromByteArrayList(header, payload));
+        } finally {
+            frame.release();
+        }
+    }
+
+    private void readProtobuf(NettyRpcProtobuf.DataPacketProto dataPacketProto) {
         // 读取channel中发过来的数据，并给予protobuf规则进行解析
-        NettyRpcProtobuf.DataPacketProto dataPacketProto = (NettyRpcProtobuf.DataPacketProto)msg;
         // 恢复数据包head
         NettyRpcProtobuf.DataPacketProto.HeaderProto headerProto = dataPacketProto.getHeaderProto();
         long taskId = headerProto.getTaskId();
@@ -10,6 +10,7 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.protobuf.ProtobufDecoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
 
@@ -35,6 +36,10 @@ public class DataReceiveThread extends Thread {
      * 数据缓冲区
      */
     private final DataPacketBuffer dataPacketBuffer;
+    /**
+     * wire format type
+     */
+    private final NettyWireType wireType;
     /**
      * BossGroup用来处理nio的Accept
      */
@@ -53,9 +58,13 @@ public class DataReceiveThread extends Thread {
      *
      * @param ownParty 参与方自身信息
      * @param cyclicBarrier 用于线程同步的cyclicBarrier
+     * @param dataPacketBuffer 数据缓冲区
+     * @param wireType 传输格式类型
      */
-    public DataReceiveThread(NettyParty ownParty, CyclicBarrier cyclicBarrier, DataPacketBuffer dataPacketBuffer) {
+    public DataReceiveThread(NettyParty ownParty, CyclicBarrier cyclicBarrier, DataPacketBuffer dataPacketBuffer,
+                             NettyWireType wireType) {
         this.ownParty = ownParty;
+        this.wireType = wireType;
         this.dataPacketBuffer = dataPacketBuffer;
         this.cyclicBarrier = cyclicBarrier;
         bossGroup = null;
@@ -81,11 +90,24 @@ public class DataReceiveThread extends Thread {
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     public void initChannel(SocketChannel ch) {
-                        // 由于使用protobuf作为协议解析，需要先添加以下两个Decoder()
-                        ch.pipeline().addLast(new ProtobufVarint32FrameDecoder());
-                        ch.pipeline().addLast(
-                            new ProtobufDecoder(NettyRpcProtobuf.DataPacketProto.getDefaultInstance())
-                        );
+                        switch (wireType) {
+                            case PROTOBUF:
+                                // 由于使用protobuf作为协议解析，需要先添加以下两个Decoder()
+                                ch.pipeline().addLast(new ProtobufVarint32FrameDecoder());
+                                ch.pipeline().addLast(
+                                    new ProtobufDecoder(NettyRpcProtobuf.DataPacketProto.getDefaultInstance())
+                                );
+                                break;
+                            case RAW:
+                                // 按照帧长度字段切分帧，并移除帧长度字段
+                                ch.pipeline().addLast(new LengthFieldBasedFrameDecoder(
+                                    Integer.MAX_VALUE, 0, DataPacketEncoder.FRAME_LENGTH_FIELD_BYTE_LENGTH,
+                                    0, DataPacketEncoder.FRAME_LENGTH_FIELD_BYTE_LENGTH
+                                ));
+                                break;
+                            default:
+                                throw new IllegalStateException("Invalid " + NettyWireType.class.getSimpleName() + ": " + wireType);
+                        }
                         // 自定义的协议解析handler
                         ch.pipeline().addLast(dataReceiveHandler);
                     }
@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.common.rpc.impl.netty;
 
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.protobuf.NettyRpcProtobuf;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -12,8 +13,12 @@ import io.netty.handler.codec.protobuf.ProtobufEncoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 数据发送方管理器，只负责发送数据，使用channelPool来维持一个连接池
@@ -22,14 +27,35 @@ import java.net.InetSocketAddress;
  * @date 2020/10/12
  */
 public class DataSendManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSendManager.class);
+    /**
+     * maximal number of retries when a channel cannot be acquired, e.g., the receiver has not started yet
+     */
+    private static final int MAX_ACQUIRE_RETRY = 100;
+    /**
+     * waiting time before retrying to acquire a channel
+     */
+    private static final int ACQUIRE_RETRY_WAIT_MILLI_SECOND = 100;
     /**
      * ClientHandler
      */
     private final DataSendHandler dataSendHandler;
+    /**
+     * raw data packet encoder
+     */
+    private final DataPacketEncoder dataPacketEncoder;
+    /**
+     * wire format type
+     */
+    private final NettyWireType wireType;
     /**
      * 引导
      */
     private final Bootstrap senderBootstrap;
+    /**
+     * 事件循环组
+     */
+    private final NioEventLoopGroup eventLoopGroup;
     /**
      * 用于管理不同连接池的map，其中每个key对应一个远程地址
      */
@@ -37,12 +63,17 @@ public class DataSendManager {
 
     /**
      * 构建client。
+     *
+     * @param wireType 传输格式类型。
      */
-    public DataSendManager() {
+    public DataSendManager(NettyWireType wireType) {
+        this.wireType = wireType;
         dataSendHandler = new DataSendHandler();
+        dataPacketEncoder = new DataPacketEncoder();
         senderBootstrap = new Bootstrap();
         // 非阻塞模式
-        senderBootstrap.group(new NioEventLoopGroup()).channel(NioSocketChannel.class);
+        eventLoopGroup = new NioEventLoopGroup();
+        senderBootstrap.group(eventLoopGroup).channel(NioSocketChannel.class);
         // 设置channelPool
         poolMap = new AbstractChannelPoolMap<InetSocketAddress, FixedChannelPool>() {
             @Override
@@ -58,8 +89,17 @@ public class DataSendManager {
                     public void channelCreated(Channel channel) {
                         // 创建连接时添加clientHandler，只有当channel不足时会创建，但不会超过限制的最大channel数
                         SocketChannel ch = (SocketChannel)channel;
-                        ch.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
-                        ch.pipeline().addLast(new ProtobufEncoder());
+                        switch (wireType) {
+                            case PROTOBUF:
+                                ch.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
+                                ch.pipeline().addLast(new ProtobufEncoder());
+                                break;
+                            case RAW:
+                                ch.pipeline().addLast(dataPacketEncoder);
+                                break;
+                            default:
+                                throw new IllegalStateException("Invalid " + NettyWireType.class.getSimpleName() + ": " + wireType);
+                        }
                         ch.pipeline().addLast(dataSendHandler);
                     }
 
@@ -81,8 +121,27 @@ public class DataSendManager {
      * @param dataPacketProto 用protobuf封装的数据包。
      */
     public void sendData(NettyParty receiver, NettyRpcProtobuf.DataPacketProto dataPacketProto) {
+        Preconditions.checkArgument(wireType.equals(NettyWireType.PROTOBUF));
+        writeAndFlush(receiver, Preconditions.checkNotNull(dataPacketProto), 0, new CompletableFuture<>());
+    }
+
+    /**
+     * 发送数据。DataPacketEncoder直接封装不小于阈值的payload而不拷贝，因此此方法阻塞至写入完成（或失败）后才返回，
+     * 返回后调用方可以继续修改或复用payload。
+     *
+     * @param receiver   接收方。
+     * @param dataPacket 数据包。
+     */
+    public void sendData(NettyParty receiver, DataPacket dataPacket) {
+        Preconditions.checkArgument(wireType.equals(NettyWireType.RAW));
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        writeAndFlush(receiver, Preconditions.checkNotNull(dataPacket), 0, written);
+        // 写入结束时future总会被完成，写入失败的情况已在writeAndFlush中记录
+        written.join();
+    }
+
+    private void writeAndFlush(NettyParty receiver, Object message, int retry, CompletableFuture<Void> written) {
         // 首先获取receiver主机对应的channelPool
-        Preconditions.checkNotNull(dataPacketProto);
         // poolMap.get永远会返回一个pool。如果key对应的pool还不存在，那会新建一个pool并返回
         SimpleChannelPool simpleChannelPool = this.poolMap.get(
             new InetSocketAddress(receiver.getHost(), receiver.getPort())
@@ -92,8 +151,21 @@ public class DataSendManager {
         f.addListener((FutureListener<Channel>)futureChannel -> {
             if (futureChannel.isSuccess()) {
                 Channel ch = futureChannel.getNow();
-                ch.writeAndFlush(dataPacketProto);
+                ch.writeAndFlush(message).addListener(writeFuture -> {
+                    if (!writeFuture.isSuccess()) {
+                        LOGGER.error("Cannot write data packet to {}", receiver, writeFuture.cause());
+                    }
+                    written.complete(null);
+                });
                 simpleChannelPool.release(ch);
+            } else if (retry < MAX_ACQUIRE_RETRY) {
+                // 获取channel失败（如接收方尚未启动），等待一段时间后重试，否则数据包会丢失
+                eventLoopGroup.schedule(
+                    () -> writeAndFlush(receiver, message, retry + 1, written), ACQUIRE_RETRY_WAIT_MILLI_SECOND, TimeUnit.MILLISECONDS
+                );
+            } else {
+                LOGGER.error("Cannot acquire channel to {}, drop the data packet", receiver, futureChannel.cause());
+                written.complete(null);
             }
         });
     }
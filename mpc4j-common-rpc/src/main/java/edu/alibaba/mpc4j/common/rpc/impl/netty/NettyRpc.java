@@ -2,12 +2,15 @@ package edu.alibaba.mpc4j.common.rpc.impl.netty;
 
 import com.google.common.base.Preconditions;
 import com.google.protobuf.ByteString;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.protobuf.NettyRpcProtobuf;
+import edu.alibaba.mpc4j.common.rpc.metrics.RpcMetrics;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBuffer;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +42,10 @@ public class NettyRpc implements Rpc {
      * Own party's ID
      */
     private final int ownPartyId;
+    /**
+     * 传输格式类型
+     */
+    private final NettyWireType wireType;
     /**
      * 数据接收缓存区
      */
@@ -67,29 +74,47 @@ public class NettyRpc implements Rpc {
      * 发送字节长度
      */
     private long sendByteLength;
+    /**
+     * RPC metrics
+     */
+    private final RpcMetrics metrics;
 
     /**
-     * 构建NettyRPC。
+     * 构建NettyRPC，使用protobuf传输格式。
      *
      * @param ownParty 参与方信息。
+     * @param partySet 所有参与方信息。
      */
     public NettyRpc(NettyParty ownParty, Set<NettyParty> partySet) {
+        this(ownParty, partySet, NettyWireType.PROTOBUF);
+    }
+
+    /**
+     * 构建NettyRPC。
+     *
+     * @param ownParty 参与方信息。
+     * @param partySet 所有参与方信息。
+     * @param wireType 传输格式类型，所有参与方必须使用相同的传输格式。
+     */
+    public NettyRpc(NettyParty ownParty, Set<NettyParty> partySet, NettyWireType wireType) {
         // 所有参与方的数量必须大于1
         Preconditions.checkArgument(partySet.size() > 1, "Party set size must be greater than 1");
         // 参与方自身必须在所有参与方之中
         Preconditions.checkArgument(partySet.contains(ownParty), "Party set must contain own party");
         this.ownParty = ownParty;
         ownPartyId = ownParty.getPartyId();
+        this.wireType = Preconditions.checkNotNull(wireType);
         // 按照参与方索引值，将参与方信息插入到ID映射中
         partyIdHashMap = new HashMap<>();
         partySet.forEach(party -> partyIdHashMap.put(party.getPartyId(), party));
         dataPacketNum = 0;
         payloadByteLength = 0;
         sendByteLength = 0;
+        metrics = new RpcMetrics();
         dataReceiveThread = null;
         // 用于父线程和server子线程的同步，parties设置成2
         cyclicBarrier = new CyclicBarrier(2);
-        dataPacketBuffer = new DataPacketBuffer();
+        dataPacketBuffer = new DataPacketBuffer(NettyPtoDesc.getInstance().getPtoId());
     }
 
     @Override
@@ -111,10 +136,10 @@ public class NettyRpc implements Rpc {
     @Override
     public void connect() {
         // 先开启数据接收服务
-        dataReceiveThread = new DataReceiveThread(ownParty, cyclicBarrier, dataPacketBuffer);
+        dataReceiveThread = new DataReceiveThread(ownParty, cyclicBarrier, dataPacketBuffer, wireType);
         dataReceiveThread.start();
         // 再开启数据发送服务
-        dataSendManager = new DataSendManager();
+        dataSendManager = new DataSendManager(wireType);
         partyIdHashMap.keySet().stream().sorted().forEach(otherPartyId -> {
             if (otherPartyId < ownPartyId) {
                 // 如果对方排序比自己小，则自己是client，先给对方发送连接信息
@@ -173,6 +198,27 @@ public class NettyRpc implements Rpc {
             partyIdHashMap.containsKey(header.getReceiverId()),
             "Party set does not contain Receiver ID = %s", header.getReceiverId()
         );
+        NettyParty receiver = partyIdHashMap.get(header.getReceiverId());
+        payloadByteLength += dataPacket.getPayload().stream().mapToInt(data -> data.length).sum();
+        dataPacketNum++;
+        switch (wireType) {
+            case PROTOBUF:
+                sendProtobuf(receiver, dataPacket);
+                break;
+            case RAW:
+                // 直接发送数据包，由DataPacketEncoder写入header并封装payload，不产生额外拷贝；写入完成后才返回，调用方随后可复用payload
+                long frameByteLength = DataPacketEncoder.getFrameByteLength(dataPacket);
+                sendByteLength += frameByteLength;
+                metrics.recordSend(dataPacket, frameByteLength);
+                dataSendManager.sendData(receiver, dataPacket);
+                break;
+            default:
+                throw new IllegalStateException("Invalid " + NettyWireType.class.getSimpleName() + ": " + wireType);
+        }
+    }
+
+    private void sendProtobuf(NettyParty receiver, DataPacket dataPacket) {
+        DataPacketHeader header = dataPacket.getHeader();
         // 打包数据包head
         NettyRpcProtobuf.DataPacketProto.HeaderProto headerProto = NettyRpcProtobuf.DataPacketProto.HeaderProto
             .newBuilder()
@@ -197,10 +243,10 @@ public class NettyRpc implements Rpc {
             .setHeaderProto(headerProto)
             .setPayloadProto(payloadProto)
             .build();
-        payloadByteLength += dataPacket.getPayload().stream().mapToInt(data -> data.length).sum();
-        sendByteLength += dataPacketProto.getSerializedSize();
-        dataPacketNum++;
-        dataSendManager.sendData(partyIdHashMap.get(header.getReceiverId()), dataPacketProto);
+        int serializedSize = dataPacketProto.getSerializedSize();
+        sendByteLength += serializedSize;
+        metrics.recordSend(dataPacket, serializedSize);
+        dataSendManager.sendData(receiver, dataPacketProto);
     }
 
     @Override
@@ -214,9 +260,11 @@ public class NettyRpc implements Rpc {
         );
         try {
             // 尝试从缓存区中读取数据
-            return dataPacketBuffer.take(header);
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(dataPacketBuffer.take(header), startNanoTime);
         } catch (InterruptedException e) {
-            // 线程中断，不需要等待，直接返回空
+            // 线程中断，恢复中断状态，直接返回空
+            Thread.currentThread().interrupt();
             return null;
         }
     }
@@ -225,12 +273,57 @@ public class NettyRpc implements Rpc {
     public DataPacket receiveAny() {
         try {
             // 尝试从缓存区中读取数据
-            return dataPacketBuffer.take(ownPartyId);
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(dataPacketBuffer.take(ownPartyId), startNanoTime);
         } catch (InterruptedException e) {
+            // 线程中断，恢复中断状态，直接返回空
+            Thread.currentThread().interrupt();
             return null;
         }
     }
 
+    @Override
+    public DataPacket receive(DataPacketHeader header, long timeoutMillis) throws MpcAbortException {
+        Preconditions.checkArgument(
+            ownPartyId == header.getReceiverId(), "Receiver ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getSenderId()),
+            "Party set does not contain Sender ID = %s", header.getSenderId()
+        );
+        MathPreconditions.checkPositive("timeoutMillis", timeoutMillis);
+        try {
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(dataPacketBuffer.take(header, timeoutMillis), startNanoTime);
+        } catch (InterruptedException e) {
+            // restore the interrupted status, and abort instead of returning null as a received data packet
+            Thread.currentThread().interrupt();
+            throw new MpcAbortException("Interrupted while waiting for data packet", e);
+        }
+    }
+
+    @Override
+    public DataPacket receiveAny(long timeoutMillis) throws MpcAbortException {
+        MathPreconditions.checkPositive("timeoutMillis", timeoutMillis);
+        try {
+            long startNanoTime = System.nanoTime();
+            return metrics.recordReceive(dataPacketBuffer.take(ownPartyId, timeoutMillis), startNanoTime);
+        } catch (InterruptedException e) {
+            // restore the interrupted status, and abort instead of returning null as a received data packet
+            Thread.currentThread().interrupt();
+            throw new MpcAbortException("Interrupted while waiting for data packet", e);
+        }
+    }
+
+    /**
+     * Gets the wire format type.
+     *
+     * @return the wire format type.
+     */
+    public NettyWireType getWireType() {
+        return wireType;
+    }
+
     @Override
     public long getPayloadByteLength() {
         return payloadByteLength;
@@ -246,11 +339,17 @@ public class NettyRpc implements Rpc {
         return dataPacketNum;
     }
 
+    @Override
+    public RpcMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public void reset() {
         payloadByteLength = 0;
         sendByteLength = 0;
         dataPacketNum = 0;
+        metrics.reset();
     }
 
     @Override
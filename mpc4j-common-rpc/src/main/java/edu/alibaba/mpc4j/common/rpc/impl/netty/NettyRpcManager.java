@@ -45,6 +45,17 @@ public class NettyRpcManager implements RpcManager {
      * @param startPort 起始端口。
      */
     public NettyRpcManager(int partyNum, int startPort) {
+        this(partyNum, startPort, NettyWireType.PROTOBUF);
+    }
+
+    /**
+     * 初始化Netty通信管理器。
+     *
+     * @param partyNum  参与方数量。
+     * @param startPort 起始端口。
+     * @param wireType  传输格式类型。
+     */
+    public NettyRpcManager(int partyNum, int startPort, NettyWireType wireType) {
         Preconditions.checkArgument(partyNum > 1, "Number of parties must be greater than 1");
         this.partyNum = partyNum;
         nettyPartySet = new HashSet<>(partyNum);
@@ -58,7 +69,7 @@ public class NettyRpcManager implements RpcManager {
         });
         // 将所有的NettyRpc对象放到一个集合里
         for (NettyParty nettyParty : nettyPartySet) {
-            NettyRpc nettyRpc = new NettyRpc(nettyParty, nettyPartySet);
+            NettyRpc nettyRpc = new NettyRpc(nettyParty, nettyPartySet, wireType);
             nettyRpcMap.put(nettyRpc.ownParty().getPartyId(), nettyRpc);
             LOGGER.debug("Add Netty party: {}", nettyParty);
         }
@@ -0,0 +1,19 @@
+package edu.alibaba.mpc4j.common.rpc.impl.netty;
+
+/**
+ * Netty wire format type. Both parties must use the same wire format.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/20
+ */
+public enum NettyWireType {
+    /**
+     * protobuf wire format. Payloads are copied into ByteString and framed with varint lengths.
+     */
+    PROTOBUF,
+    /**
+     * raw wire format. The header fields and the payload lengths are written into a pooled buffer, and payloads are
+     * wrapped without copying.
+     */
+    RAW,
+}
@@ -0,0 +1,106 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.metrics.RpcMetricsExporterFactory.RpcMetricsExporterType;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMX RPC metrics exporter. It registers a live {@link RpcMetricsMBean} for each party, named
+ * {@code edu.alibaba.mpc4j:type=RpcMetrics,party=<party name>}. Exporting the same party again replaces the MBean.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public class JmxRpcMetricsExporter implements RpcMetricsExporter {
+    /**
+     * MBean domain
+     */
+    private static final String DOMAIN = "edu.alibaba.mpc4j";
+
+    @Override
+    public RpcMetricsExporterType getType() {
+        return RpcMetricsExporterType.JMX;
+    }
+
+    @Override
+    public void export(Party ownParty, RpcMetrics metrics) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = getObjectName(ownParty);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(
+                new StandardMBean(new RpcMetricsBean(ownParty, metrics), RpcMetricsMBean.class), objectName
+            );
+        } catch (JMException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Cannot register RPC metrics MBean for " + ownParty);
+        }
+    }
+
+    /**
+     * Gets the MBean object name of the party.
+     *
+     * @param ownParty the party.
+     * @return the MBean object name.
+     * @throws MalformedObjectNameException if the party name cannot be used in the object name.
+     */
+    public static ObjectName getObjectName(Party ownParty) throws MalformedObjectNameException {
+        return new ObjectName(DOMAIN + ":type=RpcMetrics,party=" + ObjectName.quote(ownParty.getPartyName()));
+    }
+
+    private static class RpcMetricsBean implements RpcMetricsMBean {
+        /**
+         * party
+         */
+        private final Party ownParty;
+        /**
+         * RPC metrics
+         */
+        private final RpcMetrics metrics;
+
+        private RpcMetricsBean(Party ownParty, RpcMetrics metrics) {
+            this.ownParty = ownParty;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public long getSendDataPacketNum() {
+            return metrics.getTotalMetrics().getSendDataPacketNum();
+        }
+
+        @Override
+        public long getSendPayloadByteLength() {
+            return metrics.getTotalMetrics().getSendPayloadByteLength();
+        }
+
+        @Override
+        public long getSendByteLength() {
+            return metrics.getTotalMetrics().getSendByteLength();
+        }
+
+        @Override
+        public long getReceiveDataPacketNum() {
+            return metrics.getTotalMetrics().getReceiveDataPacketNum();
+        }
+
+        @Override
+        public long getReceivePayloadByteLength() {
+            return metrics.getTotalMetrics().getReceivePayloadByteLength();
+        }
+
+        @Override
+        public long getReceiveBlockedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(metrics.getTotalMetrics().getReceiveBlockedNanos().getTotal());
+        }
+
+        @Override
+        public String getMetricsJson() {
+            return JsonRpcMetricsExporter.toJson(ownParty, metrics);
+        }
+    }
+}
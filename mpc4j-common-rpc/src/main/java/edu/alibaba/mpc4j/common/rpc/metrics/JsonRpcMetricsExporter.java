@@ -0,0 +1,153 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.metrics.RpcMetricsExporterFactory.RpcMetricsExporterType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * JSON RPC metrics exporter. It writes the metrics of each party into {@code rpc_metrics_<party name>.json} under the
+ * given directory. Each entry of {@code steps} contains metrics of one (encodeTaskId, ptoId, stepId); each entry of
+ * {@code ptos} contains metrics aggregated by the protocol. Blocked times are in nanoseconds.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public class JsonRpcMetricsExporter implements RpcMetricsExporter {
+    /**
+     * file name prefix
+     */
+    private static final String FILE_NAME_PREFIX = "rpc_metrics_";
+    /**
+     * file name suffix
+     */
+    private static final String FILE_NAME_SUFFIX = ".json";
+    /**
+     * reported percentiles
+     */
+    private static final double[] PERCENTILES = new double[]{50, 90, 99, 99.9};
+    /**
+     * directory
+     */
+    private final String directory;
+
+    /**
+     * Creates a JSON exporter that writes into the working directory.
+     */
+    public JsonRpcMetricsExporter() {
+        this("." + File.separator);
+    }
+
+    /**
+     * Creates a JSON exporter that writes into the given directory.
+     *
+     * @param directory the directory.
+     */
+    public JsonRpcMetricsExporter(String directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public RpcMetricsExporterType getType() {
+        return RpcMetricsExporterType.JSON;
+    }
+
+    @Override
+    public void export(Party ownParty, RpcMetrics metrics) {
+        Path path = Paths.get(directory, FILE_NAME_PREFIX + ownParty.getPartyName() + FILE_NAME_SUFFIX);
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(toJson(ownParty, metrics));
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Cannot write RPC metrics into " + path);
+        }
+    }
+
+    /**
+     * Encodes the RPC metrics of the party as a JSON string.
+     *
+     * @param ownParty the party.
+     * @param metrics  the RPC metrics.
+     * @return the JSON string.
+     */
+    public static String toJson(Party ownParty, RpcMetrics metrics) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"partyId\":").append(ownParty.getPartyId())
+            .append(",\"partyName\":\"").append(escape(ownParty.getPartyName())).append('"')
+            .append(",\"total\":");
+        appendStepMetrics(builder, metrics.getTotalMetrics());
+        builder.append(",\"ptos\":[");
+        boolean first = true;
+        for (Map.Entry<Integer, RpcStepMetrics> entry : metrics.getPtoMetrics().entrySet()) {
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            builder.append('{');
+            appendPto(builder, entry.getKey());
+            builder.append(",\"metrics\":");
+            appendStepMetrics(builder, entry.getValue());
+            builder.append('}');
+        }
+        builder.append("],\"steps\":[");
+        first = true;
+        for (Map.Entry<RpcMetricsKey, RpcStepMetrics> entry : metrics.getStepMetrics().entrySet()) {
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            RpcMetricsKey key = entry.getKey();
+            builder.append("{\"encodeTaskId\":").append(key.getEncodeTaskId()).append(',');
+            appendPto(builder, key.getPtoId());
+            builder.append(",\"stepId\":").append(key.getStepId())
+                .append(",\"metrics\":");
+            appendStepMetrics(builder, entry.getValue());
+            builder.append('}');
+        }
+        builder.append("]}");
+        return builder.toString();
+    }
+
+    private static void appendPto(StringBuilder builder, int ptoId) {
+        builder.append("\"ptoId\":").append(ptoId)
+            .append(",\"ptoName\":\"").append(escape(RpcMetrics.getPtoName(ptoId))).append('"');
+    }
+
+    private static String escape(String string) {
+        StringBuilder builder = new StringBuilder(string.length());
+        for (char c : string.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < ' ') {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static void appendStepMetrics(StringBuilder builder, RpcStepMetrics stepMetrics) {
+        LatencyHistogram histogram = stepMetrics.getReceiveBlockedNanos();
+        builder.append("{\"sendDataPacketNum\":").append(stepMetrics.getSendDataPacketNum())
+            .append(",\"sendPayloadByteLength\":").append(stepMetrics.getSendPayloadByteLength())
+            .append(",\"sendByteLength\":").append(stepMetrics.getSendByteLength())
+            .append(",\"receiveDataPacketNum\":").append(stepMetrics.getReceiveDataPacketNum())
+            .append(",\"receivePayloadByteLength\":").append(stepMetrics.getReceivePayloadByteLength())
+            .append(",\"receiveBlockedNanos\":{\"count\":").append(histogram.getCount())
+            .append(",\"total\":").append(histogram.getTotal())
+            .append(",\"max\":").append(histogram.getMax());
+        for (double percentile : PERCENTILES) {
+            builder.append(",\"p").append(String.valueOf(percentile).replace(".0", "").replace('.', '_'))
+                .append("\":").append(histogram.getValueAtPercentile(percentile));
+        }
+        builder.append("}}");
+    }
+}
@@ -0,0 +1,188 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency histogram with HDR-style log-linear buckets. Values in [0, 2^4) are recorded exactly. Values in
+ * [2^e, 2^(e + 1)) for e >= 4 are split into 2^4 equal-width sub-buckets, so that the relative error of each recorded
+ * value is at most 1/16. Values that are at least 2^41 (about 36 minutes when recording nanoseconds) are recorded in
+ * the last bucket.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public class LatencyHistogram {
+    /**
+     * number of bits for sub-buckets
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+    /**
+     * number of sub-buckets
+     */
+    private static final int SUB_BUCKET_NUM = 1 << SUB_BUCKET_BITS;
+    /**
+     * max exponent
+     */
+    private static final int MAX_EXPONENT = 40;
+    /**
+     * number of buckets
+     */
+    private static final int BUCKET_NUM = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_NUM;
+    /**
+     * bucket counts
+     */
+    private final AtomicLongArray counts;
+    /**
+     * total count
+     */
+    private final LongAdder totalCount;
+    /**
+     * total value
+     */
+    private final LongAdder totalValue;
+    /**
+     * max value
+     */
+    private final AtomicLong maxValue;
+
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKET_NUM);
+        totalCount = new LongAdder();
+        totalValue = new LongAdder();
+        maxValue = new AtomicLong();
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value the value.
+     */
+    public void record(long value) {
+        MathPreconditions.checkNonNegative("value", value);
+        counts.incrementAndGet(getBucketIndex(value));
+        totalCount.increment();
+        totalValue.add(value);
+        maxValue.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the number of recorded values.
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Gets the sum of recorded values.
+     *
+     * @return the sum of recorded values.
+     */
+    public long getTotal() {
+        return totalValue.sum();
+    }
+
+    /**
+     * Gets the max recorded value.
+     *
+     * @return the max recorded value.
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Gets the mean of recorded values.
+     *
+     * @return the mean of recorded values, 0 if there is no recorded value.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getTotal() / count;
+    }
+
+    /**
+     * Gets the value at the given percentile. The returned value is the largest value that is in the same bucket as
+     * the value at the given percentile, but not larger than the max recorded value.
+     *
+     * @param percentile the percentile in [0, 100].
+     * @return the value at the given percentile, 0 if there is no recorded value.
+     */
+    public long getValueAtPercentile(double percentile) {
+        MathPreconditions.checkInRangeClosed("percentile", percentile, 0, 100);
+        long[] snapshot = new long[BUCKET_NUM];
+        long count = 0;
+        for (int index = 0; index < BUCKET_NUM; index++) {
+            snapshot[index] = counts.get(index);
+            count += snapshot[index];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulative = 0;
+        for (int index = 0; index < BUCKET_NUM; index++) {
+            cumulative += snapshot[index];
+            if (cumulative >= target) {
+                return Math.min(getBucketUpperBound(index) - 1, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Resets the histogram.
+     */
+    public void reset() {
+        for (int index = 0; index < BUCKET_NUM; index++) {
+            counts.set(index, 0);
+        }
+        totalCount.reset();
+        totalValue.reset();
+        maxValue.set(0);
+    }
+
+    /**
+     * Adds all recorded values in the other histogram into this histogram.
+     *
+     * @param that the other histogram.
+     */
+    public void add(LatencyHistogram that) {
+        for (int index = 0; index < BUCKET_NUM; index++) {
+            long count = that.counts.get(index);
+            if (count > 0) {
+                counts.addAndGet(index, count);
+            }
+        }
+        totalCount.add(that.getCount());
+        totalValue.add(that.getTotal());
+        maxValue.accumulateAndGet(that.getMax(), Math::max);
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_NUM) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_NUM - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucketIndex = (int) ((value >>> shift) & (SUB_BUCKET_NUM - 1));
+        return (shift + 1) * SUB_BUCKET_NUM + subBucketIndex;
+    }
+
+    static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_NUM) {
+            return index + 1;
+        }
+        int shift = index / SUB_BUCKET_NUM - 1;
+        int subBucketIndex = index % SUB_BUCKET_NUM;
+        return (long) (SUB_BUCKET_NUM + subBucketIndex + 1) << shift;
+    }
+}
@@ -0,0 +1,128 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RPC metrics. It records sent / received bytes, the number of data packets, and the time blocked in receiving, keyed
+ * by (encodeTaskId, ptoId, stepId), so that costs can be attributed to each protocol (and each sub-protocol) in the
+ * protocol tree. All methods are thread-safe.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public class RpcMetrics {
+    /**
+     * key -> step metrics
+     */
+    private final ConcurrentHashMap<RpcMetricsKey, RpcStepMetrics> stepMetricsMap;
+
+    public RpcMetrics() {
+        stepMetricsMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records a sent data packet.
+     *
+     * @param dataPacket the data packet.
+     * @param byteLength sent byte length, including encoding overheads.
+     */
+    public void recordSend(DataPacket dataPacket, long byteLength) {
+        getStepMetrics(dataPacket.getHeader()).recordSend(getPayloadByteLength(dataPacket), byteLength);
+    }
+
+    /**
+     * Records a received data packet. The time blocked in receiving is the time elapsed since the given start time.
+     * Typical usage:
+     * <pre>
+     * long startNanoTime = System.nanoTime();
+     * return metrics.recordReceive(dataPacketBuffer.take(header), startNanoTime);
+     * </pre>
+     *
+     * @param dataPacket    the data packet, can be null if the receiving is interrupted.
+     * @param startNanoTime the time (from {@link System#nanoTime()}) when the receiving starts.
+     * @return the data packet.
+     */
+    public DataPacket recordReceive(DataPacket dataPacket, long startNanoTime) {
+        if (dataPacket != null) {
+            long blockedNanos = Math.max(0, System.nanoTime() - startNanoTime);
+            getStepMetrics(dataPacket.getHeader()).recordReceive(getPayloadByteLength(dataPacket), blockedNanos);
+        }
+        return dataPacket;
+    }
+
+    private RpcStepMetrics getStepMetrics(DataPacketHeader header) {
+        RpcMetricsKey key = RpcMetricsKey.of(header);
+        RpcStepMetrics stepMetrics = stepMetricsMap.get(key);
+        return stepMetrics != null ? stepMetrics : stepMetricsMap.computeIfAbsent(key, k -> new RpcStepMetrics());
+    }
+
+    private static long getPayloadByteLength(DataPacket dataPacket) {
+        long payloadByteLength = 0;
+        for (byte[] data : dataPacket.getPayload()) {
+            payloadByteLength += data.length;
+        }
+        return payloadByteLength;
+    }
+
+    /**
+     * Gets metrics of all (encodeTaskId, ptoId, stepId), sorted by the key.
+     *
+     * @return metrics of all (encodeTaskId, ptoId, stepId).
+     */
+    public SortedMap<RpcMetricsKey, RpcStepMetrics> getStepMetrics() {
+        return new TreeMap<>(stepMetricsMap);
+    }
+
+    /**
+     * Gets metrics aggregated by protocol ID, i.e., metrics of all instances and all steps of the same protocol are
+     * added together.
+     *
+     * @return metrics aggregated by protocol ID.
+     */
+    public SortedMap<Integer, RpcStepMetrics> getPtoMetrics() {
+        SortedMap<Integer, RpcStepMetrics> ptoMetricsMap = new TreeMap<>();
+        for (Map.Entry<RpcMetricsKey, RpcStepMetrics> entry : stepMetricsMap.entrySet()) {
+            ptoMetricsMap
+                .computeIfAbsent(entry.getKey().getPtoId(), ptoId -> new RpcStepMetrics())
+                .add(entry.getValue());
+        }
+        return ptoMetricsMap;
+    }
+
+    /**
+     * Gets metrics aggregated over all keys.
+     *
+     * @return metrics aggregated over all keys.
+     */
+    public RpcStepMetrics getTotalMetrics() {
+        RpcStepMetrics totalMetrics = new RpcStepMetrics();
+        stepMetricsMap.values().forEach(totalMetrics::add);
+        return totalMetrics;
+    }
+
+    /**
+     * Resets all metrics.
+     */
+    public void reset() {
+        stepMetricsMap.clear();
+    }
+
+    /**
+     * Gets the protocol name of the protocol ID.
+     *
+     * @param ptoId the protocol ID.
+     * @return the protocol name, or the protocol ID if the protocol is not registered.
+     */
+    public static String getPtoName(int ptoId) {
+        PtoDesc ptoDesc = PtoDescManager.getPtoDesc(ptoId);
+        return ptoDesc == null ? String.valueOf(ptoId) : ptoDesc.getPtoName();
+    }
+}
@@ -0,0 +1,27 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.metrics.RpcMetricsExporterFactory.RpcMetricsExporterType;
+
+/**
+ * RPC metrics exporter.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public interface RpcMetricsExporter {
+    /**
+     * Gets the exporter type.
+     *
+     * @return the exporter type.
+     */
+    RpcMetricsExporterType getType();
+
+    /**
+     * Exports the RPC metrics of the party.
+     *
+     * @param ownParty the party.
+     * @param metrics  the RPC metrics.
+     */
+    void export(Party ownParty, RpcMetrics metrics);
+}
@@ -0,0 +1,53 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+/**
+ * RPC metrics exporter factory.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public class RpcMetricsExporterFactory {
+    /**
+     * private constructor.
+     */
+    private RpcMetricsExporterFactory() {
+        // empty
+    }
+
+    /**
+     * RPC metrics exporter type
+     */
+    public enum RpcMetricsExporterType {
+        /**
+         * summary in the SLF4J log
+         */
+        SLF4J,
+        /**
+         * JSON file
+         */
+        JSON,
+        /**
+         * JMX MBean
+         */
+        JMX,
+    }
+
+    /**
+     * Creates an exporter.
+     *
+     * @param type the exporter type.
+     * @return an exporter.
+     */
+    public static RpcMetricsExporter createExporter(RpcMetricsExporterType type) {
+        switch (type) {
+            case SLF4J:
+                return new Slf4jRpcMetricsExporter();
+            case JSON:
+                return new JsonRpcMetricsExporter();
+            case JMX:
+                return new JmxRpcMetricsExporter();
+            default:
+                throw new IllegalArgumentException("Invalid " + RpcMetricsExporterType.class.getSimpleName() + ": " + type.name());
+        }
+    }
+}
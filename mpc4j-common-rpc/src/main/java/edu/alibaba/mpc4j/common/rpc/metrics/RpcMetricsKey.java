@@ -0,0 +1,98 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * RPC metrics key. Metrics are attributed to (encodeTaskId, ptoId, stepId). The encoded task ID identifies the
+ * position of the protocol instance in the protocol tree.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public class RpcMetricsKey implements Comparable<RpcMetricsKey> {
+    /**
+     * encoded task ID
+     */
+    private final long encodeTaskId;
+    /**
+     * protocol ID
+     */
+    private final int ptoId;
+    /**
+     * step ID
+     */
+    private final int stepId;
+
+    public RpcMetricsKey(long encodeTaskId, int ptoId, int stepId) {
+        this.encodeTaskId = encodeTaskId;
+        this.ptoId = ptoId;
+        this.stepId = stepId;
+    }
+
+    /**
+     * Creates the metrics key of the header.
+     *
+     * @param header the header.
+     * @return the metrics key.
+     */
+    public static RpcMetricsKey of(DataPacketHeader header) {
+        return new RpcMetricsKey(header.getEncodeTaskId(), header.getPtoId(), header.getStepId());
+    }
+
+    public long getEncodeTaskId() {
+        return encodeTaskId;
+    }
+
+    public int getPtoId() {
+        return ptoId;
+    }
+
+    public int getStepId() {
+        return stepId;
+    }
+
+    @Override
+    public int compareTo(RpcMetricsKey that) {
+        int compare = Long.compare(encodeTaskId, that.encodeTaskId);
+        if (compare != 0) {
+            return compare;
+        }
+        compare = Integer.compare(ptoId, that.ptoId);
+        if (compare != 0) {
+            return compare;
+        }
+        return Integer.compare(stepId, that.stepId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RpcMetricsKey)) {
+            return false;
+        }
+        RpcMetricsKey that = (RpcMetricsKey) obj;
+        return new EqualsBuilder()
+            .append(this.encodeTaskId, that.encodeTaskId)
+            .append(this.ptoId, that.ptoId)
+            .append(this.stepId, that.stepId)
+            .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder()
+            .append(encodeTaskId)
+            .append(ptoId)
+            .append(stepId)
+            .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "(encodeTaskId = " + encodeTaskId + ", ptoId = " + ptoId + ", stepId = " + stepId + ")";
+    }
+}
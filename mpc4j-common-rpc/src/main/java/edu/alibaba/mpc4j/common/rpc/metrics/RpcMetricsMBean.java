@@ -0,0 +1,58 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+/**
+ * RPC metrics MBean, exposing aggregated RPC metrics of a party through JMX.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public interface RpcMetricsMBean {
+    /**
+     * Gets the number of sent data packets.
+     *
+     * @return the number of sent data packets.
+     */
+    long getSendDataPacketNum();
+
+    /**
+     * Gets the sent payload byte length.
+     *
+     * @return the sent payload byte length.
+     */
+    long getSendPayloadByteLength();
+
+    /**
+     * Gets the sent byte length.
+     *
+     * @return the sent byte length.
+     */
+    long getSendByteLength();
+
+    /**
+     * Gets the number of received data packets.
+     *
+     * @return the number of received data packets.
+     */
+    long getReceiveDataPacketNum();
+
+    /**
+     * Gets the received payload byte length.
+     *
+     * @return the received payload byte length.
+     */
+    long getReceivePayloadByteLength();
+
+    /**
+     * Gets the total time (in milliseconds) blocked in receiving.
+     *
+     * @return the total time (in milliseconds) blocked in receiving.
+     */
+    long getReceiveBlockedMillis();
+
+    /**
+     * Gets all metrics in JSON format.
+     *
+     * @return all metrics in JSON format.
+     */
+    String getMetricsJson();
+}
@@ -0,0 +1,95 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RPC metrics of one (encodeTaskId, ptoId, stepId). All counters are thread-safe.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public class RpcStepMetrics {
+    /**
+     * number of sent data packets
+     */
+    private final LongAdder sendDataPacketNum;
+    /**
+     * sent payload byte length
+     */
+    private final LongAdder sendPayloadByteLength;
+    /**
+     * sent byte length, including encoding overheads
+     */
+    private final LongAdder sendByteLength;
+    /**
+     * number of received data packets
+     */
+    private final LongAdder receiveDataPacketNum;
+    /**
+     * received payload byte length
+     */
+    private final LongAdder receivePayloadByteLength;
+    /**
+     * histogram of the time (in nanoseconds) blocked in receiving
+     */
+    private final LatencyHistogram receiveBlockedNanos;
+
+    public RpcStepMetrics() {
+        sendDataPacketNum = new LongAdder();
+        sendPayloadByteLength = new LongAdder();
+        sendByteLength = new LongAdder();
+        receiveDataPacketNum = new LongAdder();
+        receivePayloadByteLength = new LongAdder();
+        receiveBlockedNanos = new LatencyHistogram();
+    }
+
+    void recordSend(long payloadByteLength, long byteLength) {
+        sendDataPacketNum.increment();
+        sendPayloadByteLength.add(payloadByteLength);
+        sendByteLength.add(byteLength);
+    }
+
+    void recordReceive(long payloadByteLength, long blockedNanos) {
+        receiveDataPacketNum.increment();
+        receivePayloadByteLength.add(payloadByteLength);
+        receiveBlockedNanos.record(blockedNanos);
+    }
+
+    /**
+     * Adds all metrics in the other step metrics into this step metrics.
+     *
+     * @param that the other step metrics.
+     */
+    public void add(RpcStepMetrics that) {
+        sendDataPacketNum.add(that.getSendDataPacketNum());
+        sendPayloadByteLength.add(that.getSendPayloadByteLength());
+        sendByteLength.add(that.getSendByteLength());
+        receiveDataPacketNum.add(that.getReceiveDataPacketNum());
+        receivePayloadByteLength.add(that.getReceivePayloadByteLength());
+        receiveBlockedNanos.add(that.getReceiveBlockedNanos());
+    }
+
+    public long getSendDataPacketNum() {
+        return sendDataPacketNum.sum();
+    }
+
+    public long getSendPayloadByteLength() {
+        return sendPayloadByteLength.sum();
+    }
+
+    public long getSendByteLength() {
+        return sendByteLength.sum();
+    }
+
+    public long getReceiveDataPacketNum() {
+        return receiveDataPacketNum.sum();
+    }
+
+    public long getReceivePayloadByteLength() {
+        return receivePayloadByteLength.sum();
+    }
+
+    public LatencyHistogram getReceiveBlockedNanos() {
+        return receiveBlockedNanos;
+    }
+}
@@ -0,0 +1,60 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.metrics.RpcMetricsExporterFactory.RpcMetricsExporterType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SLF4J RPC metrics exporter. It logs a per-protocol summary at INFO level, and per-step metrics at DEBUG level.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public class Slf4jRpcMetricsExporter implements RpcMetricsExporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Slf4jRpcMetricsExporter.class);
+
+    @Override
+    public RpcMetricsExporterType getType() {
+        return RpcMetricsExporterType.SLF4J;
+    }
+
+    @Override
+    public void export(Party ownParty, RpcMetrics metrics) {
+        RpcStepMetrics totalMetrics = metrics.getTotalMetrics();
+        LOGGER.info("{} RPC metrics: {}", ownParty, format(totalMetrics));
+        for (Map.Entry<Integer, RpcStepMetrics> entry : metrics.getPtoMetrics().entrySet()) {
+            LOGGER.info("{}     {}: {}", ownParty, RpcMetrics.getPtoName(entry.getKey()), format(entry.getValue()));
+        }
+        if (LOGGER.isDebugEnabled()) {
+            for (Map.Entry<RpcMetricsKey, RpcStepMetrics> entry : metrics.getStepMetrics().entrySet()) {
+                RpcMetricsKey key = entry.getKey();
+                LOGGER.debug(
+                    "{}         {} (encodeTaskId = {}, stepId = {}): {}",
+                    ownParty, RpcMetrics.getPtoName(key.getPtoId()), key.getEncodeTaskId(), key.getStepId(),
+                    format(entry.getValue())
+                );
+            }
+        }
+    }
+
+    private static String format(RpcStepMetrics stepMetrics) {
+        LatencyHistogram histogram = stepMetrics.getReceiveBlockedNanos();
+        return String.format(
+            "send %d packets / %d payload bytes / %d bytes, receive %d packets / %d payload bytes, "
+                + "blocked %d ms (p50 = %.3f ms, p99 = %.3f ms, max = %.3f ms)",
+            stepMetrics.getSendDataPacketNum(), stepMetrics.getSendPayloadByteLength(), stepMetrics.getSendByteLength(),
+            stepMetrics.getReceiveDataPacketNum(), stepMetrics.getReceivePayloadByteLength(),
+            TimeUnit.NANOSECONDS.toMillis(histogram.getTotal()),
+            toMillis(histogram.getValueAtPercentile(50)), toMillis(histogram.getValueAtPercentile(99)),
+            toMillis(histogram.getMax())
+        );
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -38,6 +38,10 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
      * max msg size
      */
     public static final int MAX_SIZE_MSG = 1 << 30;
+    /**
+     * default chunk byte length when sending chunked payloads
+     */
+    public static final int DEFAULT_CHUNK_BYTE_LENGTH = 1 << 23;
     /**
      * maximal number of sub-protocols. Note that some protocols would have many levels (e.g., PSU based on SKE).
      */
@@ -134,6 +138,10 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
      * parallel computing
      */
     protected boolean parallel;
+    /**
+     * chunk byte length when sending chunked payloads
+     */
+    private int chunkByteLength;
 
     protected AbstractMultiPartyPto(PtoDesc ptoDesc, MultiPartyPtoConfig config, Rpc rpc, Party... otherParties) {
         // verify other parties are all valid.
@@ -162,6 +170,7 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
         envType = config.getEnvType();
         secureRandom = new SecureRandom();
         parallel = false;
+        chunkByteLength = DEFAULT_CHUNK_BYTE_LENGTH;
         displayLogLevel = DISPLAY_LOG_LEVEL;
         int partyNum = rpc.getPartySet().size();
         sendingTimestamps = new long[partyNum];
@@ -273,6 +282,21 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
         }
     }
 
+    @Override
+    public void setChunkByteLength(int chunkByteLength) {
+        MathPreconditions.checkInRangeClosed("chunk_byte_length", chunkByteLength, 1, MAX_SIZE_MSG);
+        this.chunkByteLength = chunkByteLength;
+        // set sub-protocols
+        for (MultiPartyPto subPto : subPtos) {
+            subPto.setChunkByteLength(chunkByteLength);
+        }
+    }
+
+    @Override
+    public int getChunkByteLength() {
+        return chunkByteLength;
+    }
+
     @Override
     public void setSecureRandom(SecureRandom secureRandom) {
         this.secureRandom = secureRandom;
@@ -382,6 +406,57 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
         return receiveMsgPayload;
     }
 
+    /**
+     * Sends payload to the given party in chunks of about {@link #getChunkByteLength()} bytes, so that a large payload
+     * is not sent as a single huge data packet. An empty chunk is sent at the end. The receiver receives the payload
+     * using {@link #receiveChunkedPayload(int, Party)}.
+     *
+     * @param stepId       step ID.
+     * @param receiveParty party to receive payload.
+     * @param payload      payload.
+     */
+    protected void sendChunkedPayload(int stepId, Party receiveParty, List<byte[]> payload) {
+        List<byte[]> chunk = new ArrayList<>();
+        long chunkByteLength = 0;
+        for (byte[] data : payload) {
+            // do not let a chunk exceed the max msg size
+            if (!chunk.isEmpty() && chunkByteLength + data.length > MAX_SIZE_MSG) {
+                sendPayload(stepId, receiveParty, chunk);
+                chunk = new ArrayList<>();
+                chunkByteLength = 0;
+            }
+            chunk.add(data);
+            chunkByteLength += data.length;
+            if (chunkByteLength >= this.chunkByteLength) {
+                sendPayload(stepId, receiveParty, chunk);
+                chunk = new ArrayList<>();
+                chunkByteLength = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            sendPayload(stepId, receiveParty, chunk);
+        }
+        // end of the payload
+        sendPayload(stepId, receiveParty, new ArrayList<>(0));
+    }
+
+    /**
+     * Receives payload sent by {@link #sendChunkedPayload(int, Party, List)} from the given party.
+     *
+     * @param stepId    step ID.
+     * @param sendParty party to send payload.
+     * @return payload.
+     */
+    protected List<byte[]> receiveChunkedPayload(int stepId, Party sendParty) {
+        List<byte[]> payload = new ArrayList<>();
+        List<byte[]> chunk = receivePayload(stepId, sendParty);
+        while (!chunk.isEmpty()) {
+            payload.addAll(chunk);
+            chunk = receivePayload(stepId, sendParty);
+        }
+        return payload;
+    }
+
     /**
      * init, check and update party state.
      */
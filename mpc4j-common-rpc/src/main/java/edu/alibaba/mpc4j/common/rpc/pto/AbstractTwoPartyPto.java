@@ -43,6 +43,16 @@ public abstract class AbstractTwoPartyPto extends AbstractMultiPartyPto implemen
         sendEqualSizePayload(stepId, otherParty(), payload);
     }
 
+    /**
+     * Sends payload to the other party in chunks.
+     *
+     * @param stepId  step ID.
+     * @param payload payload.
+     */
+    protected void sendOtherPartyChunkedPayload(int stepId, List<byte[]> payload) {
+        sendChunkedPayload(stepId, otherParty(), payload);
+    }
+
     /**
      * Receives payload from the other party.
      *
@@ -64,4 +74,14 @@ public abstract class AbstractTwoPartyPto extends AbstractMultiPartyPto implemen
     protected List<byte[]> receiveOtherPartyEqualSizePayload(int stepId, int num, int byteLength) {
         return receiveEqualSizePayload(stepId, otherParty(), num, byteLength);
     }
+
+    /**
+     * Receives chunked payload from the other party.
+     *
+     * @param stepId step ID.
+     * @return payload.
+     */
+    protected List<byte[]> receiveOtherPartyChunkedPayload(int stepId) {
+        return receiveChunkedPayload(stepId, otherParty());
+    }
 }
@@ -96,6 +96,20 @@ public interface MultiPartyPto {
      */
     boolean getParallel();
 
+    /**
+     * Sets the byte length of each chunk when sending chunked payloads.
+     *
+     * @param chunkByteLength the byte length of each chunk.
+     */
+    void setChunkByteLength(int chunkByteLength);
+
+    /**
+     * Gets the byte length of each chunk when sending chunked payloads.
+     *
+     * @return the byte length of each chunk.
+     */
+    int getChunkByteLength();
+
     /**
      * Sets the secure random state.
      *
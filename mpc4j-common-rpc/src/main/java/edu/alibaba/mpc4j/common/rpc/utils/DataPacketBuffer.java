@@ -1,13 +1,25 @@
 package edu.alibaba.mpc4j.common.rpc.utils;
 
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 /**
- * thread-safe data packet buffer. The design follows the Producer-Consumer pattern. See:
+ * thread-safe data packet buffer. The buffer is a concurrent mailbox:
+ * <li>each header is mapped to a future of its payload, so that taking a data packet with a given header only waits
+ * for that data packet.</li>
+ * <li>headers of arrived data packets are also put into per-receiver and per-(receiver, protocol) queues, so that
+ * taking any data packet only waits for the queue it is interested in. The queues are created on first use.</li>
+ * A data packet is consumed by exactly one taker: whoever removes the (header, future) pair from the mailbox first.
+ * Queued headers of data packets that have been taken by exact headers become stale and are skipped or purged.
  * <p>
- * 《Java多线程设计模式》，第五章：Producer-Consumer，我来做，你来用。
+ * Data packets of reserved protocols (e.g., connection and synchronization packets of the RPC itself) are never
+ * returned when taking any data packet for a receiver, they can only be taken by exact headers.
  * </p>
  *
  * @author Weiran Liu
@@ -19,12 +31,32 @@ public class DataPacketBuffer {
      */
     private static final int DEFAULT_BUFFER_SIZE = 1 << 10;
     /**
-     * buffer
+     * mailbox, maps a header to the future of its payload
+     */
+    private final ConcurrentHashMap<DataPacketHeader, CompletableFuture<List<byte[]>>> mailbox;
+    /**
+     * receiver ID -> queue of arrived headers
+     */
+    private final ConcurrentHashMap<Integer, BlockingQueue<DataPacketHeader>> receiverQueueMap;
+    /**
+     * (receiver ID, protocol ID) -> queue of arrived headers
      */
-    private final Map<DataPacketHeader, List<byte[]>> dataPacketBuffer;
+    private final ConcurrentHashMap<Long, BlockingQueue<DataPacketHeader>> receiverPtoQueueMap;
+    /**
+     * reserved protocol IDs
+     */
+    private final Set<Integer> reservedPtoIdSet;
 
-    public DataPacketBuffer() {
-        dataPacketBuffer = new ConcurrentHashMap<>(DEFAULT_BUFFER_SIZE);
+    /**
+     * Creates a data packet buffer.
+     *
+     * @param reservedPtoIds reserved protocol IDs, whose data packets are not returned when taking any data packet.
+     */
+    public DataPacketBuffer(int... reservedPtoIds) {
+        reservedPtoIdSet = Arrays.stream(reservedPtoIds).boxed().collect(Collectors.toSet());
+        mailbox = new ConcurrentHashMap<>(DEFAULT_BUFFER_SIZE);
+        receiverQueueMap = new ConcurrentHashMap<>();
+        receiverPtoQueueMap = new ConcurrentHashMap<>();
     }
 
     /**
@@ -32,10 +64,27 @@ public class DataPacketBuffer {
      *
      * @param dataPacket the data packet.
      */
-    public synchronized void put(DataPacket dataPacket) {
+    public void put(DataPacket dataPacket) {
         assert (dataPacket != null);
-        dataPacketBuffer.put(dataPacket.getHeader(), dataPacket.getPayload());
-        notifyAll();
+        DataPacketHeader header = dataPacket.getHeader();
+        List<byte[]> payload = dataPacket.getPayload();
+        CompletableFuture<List<byte[]>> future = mailbox.computeIfAbsent(header, key -> new CompletableFuture<>());
+        if (!future.complete(payload)) {
+            // a data packet with the same header has not been taken yet, replace it
+            mailbox.put(header, CompletableFuture.completedFuture(payload));
+        }
+        // notify queues that are waiting for any data packet
+        BlockingQueue<DataPacketHeader> receiverQueue = reservedPtoIdSet.contains(header.getPtoId())
+            ? null : receiverQueueMap.get(header.getReceiverId());
+        if (receiverQueue != null) {
+            offer(receiverQueue, header);
+        }
+        BlockingQueue<DataPacketHeader> receiverPtoQueue = receiverPtoQueueMap.get(
+            getReceiverPtoKey(header.getReceiverId(), header.getPtoId())
+        );
+        if (receiverPtoQueue != null) {
+            offer(receiverPtoQueue, header);
+        }
     }
 
     /**
@@ -45,13 +94,49 @@ public class DataPacketBuffer {
      * @return a data packet.
      * @throws InterruptedException interrupted exception.
      */
-    public synchronized DataPacket take(DataPacketHeader header) throws InterruptedException {
+    public DataPacket take(DataPacketHeader header) throws InterruptedException {
         assert (header != null);
-        // if there is no target data packet in the buffer, waiting until new data packet is added.
-        while (!dataPacketBuffer.containsKey(header)) {
-            wait();
+        while (true) {
+            CompletableFuture<List<byte[]>> future = mailbox.computeIfAbsent(header, key -> new CompletableFuture<>());
+            List<byte[]> payload = getPayload(future);
+            if (mailbox.remove(header, future)) {
+                return DataPacket.fromByteArrayList(header, payload);
+            }
+            // the data packet is taken by others, wait for the next one with the same header
+        }
+    }
+
+    /**
+     * Takes a data packet that matches the header, waiting at most the given time.
+     *
+     * @param header        the header.
+     * @param timeoutMillis the maximal waiting time in milliseconds.
+     * @return a data packet.
+     * @throws InterruptedException interrupted exception.
+     * @throws MpcAbortException    if the data packet does not arrive within the given time.
+     */
+    public DataPacket take(DataPacketHeader header, long timeoutMillis) throws InterruptedException, MpcAbortException {
+        assert (header != null);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            CompletableFuture<List<byte[]>> future = mailbox.computeIfAbsent(header, key -> new CompletableFuture<>());
+            List<byte[]> payload;
+            try {
+                payload = future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw new MpcAbortException(String.format(
+                    "Timeout (%s ms) waiting for data packet (encodeTaskId = %s, ptoId = %s, stepId = %s, "
+                        + "extraInfo = %s, senderId = %s, receiverId = %s)",
+                    timeoutMillis, header.getEncodeTaskId(), header.getPtoId(), header.getStepId(),
+                    header.getExtraInfo(), header.getSenderId(), header.getReceiverId()
+                ));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+            if (mailbox.remove(header, future)) {
+                return DataPacket.fromByteArrayList(header, payload);
+            }
         }
-        return DataPacket.fromByteArrayList(header, dataPacketBuffer.remove(header));
     }
 
     /**
@@ -61,21 +146,34 @@ public class DataPacketBuffer {
      * @return a data packet.
      * @throws InterruptedException interrupted exception.
      */
-    public synchronized DataPacket take(int receiverId) throws InterruptedException {
-        DataPacketHeader targetHeader = null;
-        while (targetHeader == null) {
-            // we first try to find a candidate header
-            for (DataPacketHeader dataPacketHeader : dataPacketBuffer.keySet()) {
-                if (dataPacketHeader.getReceiverId() == receiverId) {
-                    targetHeader = dataPacketHeader;
-                }
-            }
-            if (targetHeader == null) {
-                // if we cannot find any candidate, wait for new data packets.
-                wait();
+    public DataPacket take(int receiverId) throws InterruptedException {
+        BlockingQueue<DataPacketHeader> queue = getReceiverQueue(receiverId);
+        while (true) {
+            DataPacket dataPacket = claim(queue.take());
+            if (dataPacket != null) {
+                return dataPacket;
             }
         }
-        return DataPacket.fromByteArrayList(targetHeader, dataPacketBuffer.remove(targetHeader));
+    }
+
+    /**
+     * Takes a data packet that matches the receiver ID, waiting at most the given time.
+     *
+     * @param receiverId    the receiver ID.
+     * @param timeoutMillis the maximal waiting time in milliseconds.
+     * @return a data packet.
+     * @throws InterruptedException interrupted exception.
+     * @throws MpcAbortException    if no data packet arrives within the given time.
+     */
+    public DataPacket take(int receiverId, long timeoutMillis) throws InterruptedException, MpcAbortException {
+        BlockingQueue<DataPacketHeader> queue = getReceiverQueue(receiverId);
+        DataPacket dataPacket = poll(queue, timeoutMillis);
+        if (dataPacket == null) {
+            throw new MpcAbortException(String.format(
+                "Timeout (%s ms) waiting for any data packet (receiverId = %s)", timeoutMillis, receiverId
+            ));
+        }
+        return dataPacket;
     }
 
     /**
@@ -86,20 +184,123 @@ public class DataPacketBuffer {
      * @return a data packet.
      * @throws InterruptedException interrupted exception.
      */
-    public synchronized DataPacket take(int receiverId, int ptoId) throws InterruptedException {
-        DataPacketHeader targetHeader = null;
-        while (targetHeader == null) {
-            // we first try to find a candidate header
-            for (DataPacketHeader dataPacketHeader : dataPacketBuffer.keySet()) {
-                if (dataPacketHeader.getReceiverId() == receiverId && dataPacketHeader.getPtoId() == ptoId) {
-                    targetHeader = dataPacketHeader;
-                }
+    public DataPacket take(int receiverId, int ptoId) throws InterruptedException {
+        BlockingQueue<DataPacketHeader> queue = getReceiverPtoQueue(receiverId, ptoId);
+        while (true) {
+            DataPacket dataPacket = claim(queue.take());
+            if (dataPacket != null) {
+                return dataPacket;
+            }
+        }
+    }
+
+    /**
+     * Takes a data packet that matches the receiver ID and the protocol ID, waiting at most the given time.
+     *
+     * @param receiverId    the receiver ID.
+     * @param ptoId         the protocol ID.
+     * @param timeoutMillis the maximal waiting time in milliseconds.
+     * @return a data packet.
+     * @throws InterruptedException interrupted exception.
+     * @throws MpcAbortException    if no data packet arrives within the given time.
+     */
+    public DataPacket take(int receiverId, int ptoId, long timeoutMillis) throws InterruptedException, MpcAbortException {
+        BlockingQueue<DataPacketHeader> queue = getReceiverPtoQueue(receiverId, ptoId);
+        DataPacket dataPacket = poll(queue, timeoutMillis);
+        if (dataPacket == null) {
+            throw new MpcAbortException(String.format(
+                "Timeout (%s ms) waiting for any data packet (receiverId = %s, ptoId = %s)",
+                timeoutMillis, receiverId, ptoId
+            ));
+        }
+        return dataPacket;
+    }
+
+    private static List<byte[]> getPayload(CompletableFuture<List<byte[]>> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // we never complete a future exceptionally
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private DataPacket poll(BlockingQueue<DataPacketHeader> queue, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            DataPacketHeader header = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (header == null) {
+                return null;
             }
-            if (targetHeader == null) {
-                // if we cannot find any candidate, wait for new data packets.
-                wait();
+            DataPacket dataPacket = claim(header);
+            if (dataPacket != null) {
+                return dataPacket;
             }
         }
-        return DataPacket.fromByteArrayList(targetHeader, dataPacketBuffer.remove(targetHeader));
+    }
+
+    /**
+     * Tries to claim the arrived data packet with the given header.
+     *
+     * @param header the header.
+     * @return the data packet, or null if the data packet has been taken by others.
+     */
+    private DataPacket claim(DataPacketHeader header) {
+        CompletableFuture<List<byte[]>> future = mailbox.get(header);
+        if (future != null && future.isDone() && mailbox.remove(header, future)) {
+            return DataPacket.fromByteArrayList(header, future.join());
+        }
+        return null;
+    }
+
+    private boolean isClaimable(DataPacketHeader header) {
+        CompletableFuture<List<byte[]>> future = mailbox.get(header);
+        return future != null && future.isDone();
+    }
+
+    private void offer(BlockingQueue<DataPacketHeader> queue, DataPacketHeader header) {
+        queue.offer(header);
+        // purge stale headers if the queue is much larger than the mailbox, amortized O(1) per put
+        int queueSize = queue.size();
+        if (queueSize > DEFAULT_BUFFER_SIZE && queueSize > 2 * mailbox.size()) {
+            queue.removeIf(queuedHeader -> !isClaimable(queuedHeader));
+        }
+    }
+
+    private BlockingQueue<DataPacketHeader> getReceiverQueue(int receiverId) {
+        return getQueue(receiverQueueMap, receiverId,
+            header -> header.getReceiverId() == receiverId && !reservedPtoIdSet.contains(header.getPtoId())
+        );
+    }
+
+    private BlockingQueue<DataPacketHeader> getReceiverPtoQueue(int receiverId, int ptoId) {
+        return getQueue(
+            receiverPtoQueueMap, getReceiverPtoKey(receiverId, ptoId),
+            header -> header.getReceiverId() == receiverId && header.getPtoId() == ptoId
+        );
+    }
+
+    private <K> BlockingQueue<DataPacketHeader> getQueue(ConcurrentHashMap<K, BlockingQueue<DataPacketHeader>> queueMap,
+                                                         K key, Predicate<DataPacketHeader> filter) {
+        BlockingQueue<DataPacketHeader> queue = queueMap.get(key);
+        if (queue == null) {
+            BlockingQueue<DataPacketHeader> newQueue = new LinkedBlockingQueue<>();
+            queue = queueMap.putIfAbsent(key, newQueue);
+            if (queue == null) {
+                queue = newQueue;
+                // data packets that arrive before the queue is created are not in the queue, add them once.
+                // Headers may be added twice if put() runs concurrently, which is safe since each is claimed once.
+                for (DataPacketHeader header : mailbox.keySet()) {
+                    if (filter.test(header) && isClaimable(header)) {
+                        queue.offer(header);
+                    }
+                }
+            }
+        }
+        return queue;
+    }
+
+    private static long getReceiverPtoKey(int receiverId, int ptoId) {
+        return ((long) receiverId << Integer.SIZE) | (ptoId & 0xFFFFFFFFL);
     }
 }
@@ -4,8 +4,10 @@ import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.RpcManager;
 import edu.alibaba.mpc4j.common.rpc.impl.file.FileRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.file.FileWireType;
 import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyWireType;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.After;
@@ -37,8 +39,20 @@ public class RpcTest {
         configurationParams.add(new Object[] {"MemoryRpc", new MemoryRpcManager(3),});
         // FileRpc
         configurationParams.add(new Object[] {"FileRpc", new FileRpcManager(3),});
+        // FileRpc (BINARY)
+        configurationParams.add(new Object[] {
+            "FileRpc (" + FileWireType.BINARY.name() + ")", new FileRpcManager(3, FileWireType.BINARY),
+        });
+        // FileRpc (BINARY_SEGMENT)
+        configurationParams.add(new Object[] {
+            "FileRpc (" + FileWireType.BINARY_SEGMENT.name() + ")", new FileRpcManager(3, FileWireType.BINARY_SEGMENT),
+        });
         // NettyRpc
         configurationParams.add(new Object[] {"NettyRpc", new NettyRpcManager(3, 8800),});
+        // NettyRpc (RAW)
+        configurationParams.add(new Object[] {
+            "NettyRpc (" + NettyWireType.RAW.name() + ")", new NettyRpcManager(3, 8810, NettyWireType.RAW),
+        });
 
         return configurationParams;
     }
@@ -0,0 +1,119 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+import edu.alibaba.mpc4j.common.rpc.metrics.RpcMetricsExporterFactory.RpcMetricsExporterType;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.stream.LongStream;
+
+/**
+ * RPC metrics test.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public class RpcMetricsTest {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 8467912053317218421L);
+
+    @Test
+    public void testHistogramBucket() {
+        // bucket index is monotone and the upper bound is tight
+        int lastIndex = -1;
+        for (long value = 0; value < (1 << 16); value++) {
+            int index = LatencyHistogram.getBucketIndex(value);
+            Assert.assertTrue(index >= lastIndex);
+            Assert.assertTrue(value < LatencyHistogram.getBucketUpperBound(index));
+            if (index > lastIndex && index > 0) {
+                Assert.assertEquals(value, LatencyHistogram.getBucketUpperBound(index - 1));
+            }
+            lastIndex = index;
+        }
+        // large values are recorded in the last bucket
+        Assert.assertEquals(
+            LatencyHistogram.getBucketIndex(Long.MAX_VALUE), LatencyHistogram.getBucketIndex(1L << 41)
+        );
+    }
+
+    @Test
+    public void testHistogramPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+        LongStream.rangeClosed(1, 10000).forEach(value -> histogram.record(value * 1000));
+        Assert.assertEquals(10000, histogram.getCount());
+        Assert.assertEquals(10000L * 1000, histogram.getMax());
+        Assert.assertEquals(10001L * 10000 / 2 * 1000, histogram.getTotal());
+        // relative error is at most 1/16
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+            double expect = percentile / 100 * 10000 * 1000;
+            double actual = histogram.getValueAtPercentile(percentile);
+            Assert.assertEquals(expect, actual, expect / 16);
+        }
+        Assert.assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testRpcMetrics() throws Exception {
+        RpcManager rpcManager = new MemoryRpcManager(2);
+        Rpc senderRpc = rpcManager.getRpc(0);
+        Rpc receiverRpc = rpcManager.getRpc(1);
+        senderRpc.connect();
+        receiverRpc.connect();
+        for (int stepId = 0; stepId < 2; stepId++) {
+            DataPacketHeader header = new DataPacketHeader(1L, PTO_ID, stepId, 0, 1);
+            senderRpc.send(DataPacket.fromByteArrayList(header, Arrays.asList(new byte[10], new byte[20])));
+            receiverRpc.receive(header);
+        }
+        DataPacketHeader header = new DataPacketHeader(2L, PTO_ID, 0, 0, 1);
+        senderRpc.send(DataPacket.fromByteArrayList(header, Collections.singletonList(new byte[5])));
+        receiverRpc.receive(header);
+        // sender
+        SortedMap<RpcMetricsKey, RpcStepMetrics> senderStepMetrics = senderRpc.getMetrics().getStepMetrics();
+        Assert.assertEquals(3, senderStepMetrics.size());
+        RpcStepMetrics stepMetrics = senderStepMetrics.get(new RpcMetricsKey(1L, PTO_ID, 1));
+        Assert.assertEquals(1, stepMetrics.getSendDataPacketNum());
+        Assert.assertEquals(30, stepMetrics.getSendPayloadByteLength());
+        Assert.assertEquals(0, stepMetrics.getReceiveDataPacketNum());
+        RpcStepMetrics senderPtoMetrics = senderRpc.getMetrics().getPtoMetrics().get(PTO_ID);
+        Assert.assertEquals(3, senderPtoMetrics.getSendDataPacketNum());
+        Assert.assertEquals(65, senderPtoMetrics.getSendPayloadByteLength());
+        Assert.assertEquals(senderRpc.getPayloadByteLength(), senderRpc.getMetrics().getTotalMetrics().getSendPayloadByteLength());
+        // receiver
+        RpcStepMetrics receiverPtoMetrics = receiverRpc.getMetrics().getPtoMetrics().get(PTO_ID);
+        Assert.assertEquals(3, receiverPtoMetrics.getReceiveDataPacketNum());
+        Assert.assertEquals(65, receiverPtoMetrics.getReceivePayloadByteLength());
+        Assert.assertEquals(3, receiverPtoMetrics.getReceiveBlockedNanos().getCount());
+        // export
+        String json = JsonRpcMetricsExporter.toJson(receiverRpc.ownParty(), receiverRpc.getMetrics());
+        Assert.assertTrue(json.contains("\"receivePayloadByteLength\":65"));
+        RpcMetricsExporterFactory.createExporter(RpcMetricsExporterType.SLF4J)
+            .export(receiverRpc.ownParty(), receiverRpc.getMetrics());
+        RpcMetricsExporterFactory.createExporter(RpcMetricsExporterType.JMX)
+            .export(receiverRpc.ownParty(), receiverRpc.getMetrics());
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = JmxRpcMetricsExporter.getObjectName(receiverRpc.ownParty());
+        Assert.assertEquals(3L, mBeanServer.getAttribute(objectName, "ReceiveDataPacketNum"));
+        mBeanServer.unregisterMBean(objectName);
+        // reset
+        receiverRpc.reset();
+        Assert.assertTrue(receiverRpc.getMetrics().getStepMetrics().isEmpty());
+        senderRpc.disconnect();
+        receiverRpc.disconnect();
+    }
+}
@@ -0,0 +1,141 @@
+package edu.alibaba.mpc4j.common.rpc.pto;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * chunked payload test.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/22
+ */
+public class ChunkedPayloadTest {
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    /**
+     * max byte length of each array
+     */
+    private static final int MAX_BYTE_LENGTH = 64;
+    /**
+     * default num
+     */
+    private static final int DEFAULT_NUM = 1000;
+    /**
+     * sender RPC
+     */
+    private final Rpc senderRpc;
+    /**
+     * receiver RPC
+     */
+    private final Rpc receiverRpc;
+
+    public ChunkedPayloadTest() {
+        RpcManager rpcManager = new MemoryRpcManager(2);
+        senderRpc = rpcManager.getRpc(0);
+        receiverRpc = rpcManager.getRpc(1);
+    }
+
+    @Before
+    public void connect() {
+        senderRpc.connect();
+        receiverRpc.connect();
+    }
+
+    @After
+    public void disconnect() {
+        senderRpc.disconnect();
+        receiverRpc.disconnect();
+    }
+
+    @Test
+    public void testEmpty() throws InterruptedException {
+        testChunk(0, AbstractMultiPartyPto.DEFAULT_CHUNK_BYTE_LENGTH);
+    }
+
+    @Test
+    public void testDefaultChunk() throws InterruptedException {
+        testChunk(DEFAULT_NUM, AbstractMultiPartyPto.DEFAULT_CHUNK_BYTE_LENGTH);
+    }
+
+    @Test
+    public void testSmallChunk() throws InterruptedException {
+        testChunk(DEFAULT_NUM, MAX_BYTE_LENGTH);
+    }
+
+    @Test
+    public void testSingleByteChunk() throws InterruptedException {
+        testChunk(DEFAULT_NUM, 1);
+    }
+
+    private void testChunk(int num, int chunkByteLength) throws InterruptedException {
+        List<byte[]> payload = IntStream.range(0, num)
+            .mapToObj(index -> {
+                byte[] data = new byte[SECURE_RANDOM.nextInt(MAX_BYTE_LENGTH + 1)];
+                SECURE_RANDOM.nextBytes(data);
+                return data;
+            })
+            .collect(Collectors.toList());
+        ChunkPto sender = new ChunkPto(senderRpc, receiverRpc.ownParty());
+        ChunkPto receiver = new ChunkPto(receiverRpc, senderRpc.ownParty());
+        sender.setChunkByteLength(chunkByteLength);
+        receiver.setChunkByteLength(chunkByteLength);
+        List<byte[]> receivedPayload = new ArrayList<>();
+        Thread senderThread = new Thread(() ->
+            sender.sendOtherPartyChunkedPayload(ChunkPto.PtoStep.CHUNK.ordinal(), payload)
+        );
+        Thread receiverThread = new Thread(() ->
+            receivedPayload.addAll(receiver.receiveOtherPartyChunkedPayload(ChunkPto.PtoStep.CHUNK.ordinal()))
+        );
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        Assert.assertEquals(num, receivedPayload.size());
+        for (int index = 0; index < num; index++) {
+            Assert.assertArrayEquals(payload.get(index), receivedPayload.get(index));
+        }
+    }
+
+    private static class ChunkPto extends AbstractTwoPartyPto {
+
+        private enum PtoStep {
+            /**
+             * chunked payload
+             */
+            CHUNK,
+        }
+
+        private static final PtoDesc PTO_DESC = new PtoDesc() {
+            @Override
+            public int getPtoId() {
+                return Math.abs((int) 2453701864521874917L);
+            }
+
+            @Override
+            public String getPtoName() {
+                return "CHUNK_TEST";
+            }
+        };
+
+        private ChunkPto(Rpc rpc, Party otherParty) {
+            super(PTO_DESC, rpc, otherParty, new AbstractMultiPartyPtoConfig(SecurityModel.SEMI_HONEST) {
+            });
+        }
+    }
+}
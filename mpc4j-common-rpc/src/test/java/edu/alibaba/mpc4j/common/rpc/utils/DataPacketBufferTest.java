@@ -1,8 +1,11 @@
 package edu.alibaba.mpc4j.common.rpc.utils;
 
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -67,4 +70,62 @@ public class DataPacketBufferTest {
         Assert.assertEquals(CORRECT_SET, party1Thread.getPayloadSet());
         Assert.assertEquals(CORRECT_SET, party2Thread.getPayloadSet());
     }
+
+    @Test
+    public void testTimeout() throws InterruptedException {
+        DataPacketBuffer dataPacketBuffer = new DataPacketBuffer();
+        DataPacketHeader header = new DataPacketHeader(0, 0, 0, 0, PARTY_1_ID, PARTY_2_ID);
+        Assert.assertThrows(MpcAbortException.class, () -> dataPacketBuffer.take(header, 10));
+        Assert.assertThrows(MpcAbortException.class, () -> dataPacketBuffer.take(PARTY_2_ID, 10L));
+        Assert.assertThrows(MpcAbortException.class, () -> dataPacketBuffer.take(PARTY_2_ID, 0, 10L));
+        // the data packet can still be taken after timeout
+        dataPacketBuffer.put(DataPacket.fromByteArrayList(header, Collections.singletonList(new byte[0])));
+        Assert.assertEquals(header, dataPacketBuffer.take(header).getHeader());
+    }
+
+    @Test
+    public void testTakeAnyWithPtoId() throws InterruptedException, MpcAbortException {
+        DataPacketBuffer dataPacketBuffer = new DataPacketBuffer();
+        for (int ptoId = 0; ptoId < 2; ptoId++) {
+            for (long i = SET_START_INDEX; i < SET_END_INDEX; i++) {
+                DataPacketHeader header = new DataPacketHeader(0, ptoId, 0, i, PARTY_1_ID, PARTY_2_ID);
+                List<byte[]> payload = Collections.singletonList(LongUtils.longToByteArray(i));
+                dataPacketBuffer.put(DataPacket.fromByteArrayList(header, payload));
+            }
+        }
+        // take half of protocol 0's data packets by exact headers
+        for (long i = SET_START_INDEX; i < SET_END_INDEX; i += 2) {
+            DataPacketHeader header = new DataPacketHeader(0, 0, 0, i, PARTY_1_ID, PARTY_2_ID);
+            Assert.assertEquals(i, LongUtils.byteArrayToLong(dataPacketBuffer.take(header).getPayload().get(0)));
+        }
+        // take protocol 1's data packets by (receiver ID, protocol ID)
+        Set<Long> ptoSet = LongStream.range(SET_START_INDEX, SET_END_INDEX)
+            .mapToObj(i -> {
+                try {
+                    DataPacket dataPacket = dataPacketBuffer.take(PARTY_2_ID, 1, 1000L);
+                    Assert.assertEquals(1, dataPacket.getHeader().getPtoId());
+                    return LongUtils.byteArrayToLong(dataPacket.getPayload().get(0));
+                } catch (InterruptedException | MpcAbortException e) {
+                    throw new IllegalStateException(e);
+                }
+            })
+            .collect(Collectors.toSet());
+        Assert.assertEquals(CORRECT_SET, ptoSet);
+        // the remaining data packets are exactly the other half of protocol 0
+        Set<Long> anySet = LongStream.range(0, (SET_END_INDEX - SET_START_INDEX) / 2)
+            .mapToObj(i -> {
+                try {
+                    return LongUtils.byteArrayToLong(dataPacketBuffer.take(PARTY_2_ID, 1000L).getPayload().get(0));
+                } catch (InterruptedException | MpcAbortException e) {
+                    throw new IllegalStateException(e);
+                }
+            })
+            .collect(Collectors.toSet());
+        Set<Long> expectSet = LongStream.range(SET_START_INDEX, SET_END_INDEX)
+            .filter(i -> (i - SET_START_INDEX) % 2 == 1)
+            .boxed()
+            .collect(Collectors.toSet());
+        Assert.assertEquals(expectSet, anySet);
+        Assert.assertThrows(MpcAbortException.class, () -> dataPacketBuffer.take(PARTY_2_ID, 10L));
+    }
 }
@@ -46,6 +46,12 @@ public abstract class AbstractBenesNetwork<T> implements BenesNetwork<T> {
         return network[levelIndex];
     }
 
+    @Override
+    public boolean getSwitch(int levelIndex, int widthIndex) {
+        assert levelIndex >= 0 && levelIndex < level;
+        return network[levelIndex][widthIndex];
+    }
+
     @Override
     public int getLevel() {
         return level;
@@ -89,7 +95,7 @@ public abstract class AbstractBenesNetwork<T> implements BenesNetwork<T> {
             Vector<T> subBottomSrcs = new Vector<>(subBottomN);
             // 对Benes网络的左侧部分求值
             for (int i = 0; i < subN - 1; i += 2) {
-                int s = network[levelIndex][permIndex + i / 2] ? 1 : 0;
+                int s = getSwitch(levelIndex, permIndex + i / 2) ? 1 : 0;
                 for (int j = 0; j < 2; ++j) {
                     int x = rightCycleShift((i | j) ^ s, subLogN);
                     if (x < subN / 2) {
@@ -108,7 +114,7 @@ public abstract class AbstractBenesNetwork<T> implements BenesNetwork<T> {
             permutation(subLogN - 1, levelIndex + 1, permIndex + subN / 4, subBottomSrcs);
             // 对Benes网络的右侧部分求值
             for (int i = 0; i < subN - 1; i += 2) {
-                int s = network[levelIndex + subLevel - 1][permIndex + i / 2] ? 1 : 0;
+                int s = getSwitch(levelIndex + subLevel - 1, permIndex + i / 2) ? 1 : 0;
                 for (int j = 0; j < 2; j++) {
                     int x = rightCycleShift((i | j) ^ s, subLogN);
                     if (x < subN / 2) {
@@ -129,16 +135,16 @@ public abstract class AbstractBenesNetwork<T> implements BenesNetwork<T> {
     private void permuteSingleLevel(int subLogN, int levelIndex, int permIndex, Vector<T> subSrcs) {
         if (subLogN == 1) {
             // 根据1层交换门(█)交换位置
-            if (network[levelIndex][permIndex]) {
+            if (getSwitch(levelIndex, permIndex)) {
                 T temp = subSrcs.elementAt(0);
                 subSrcs.set(0, subSrcs.elementAt(1));
                 subSrcs.set(1, temp);
             }
         } else {
             // 3层交换门，左侧和右侧的悬空门必然不交换（false）
-            assert (!network[levelIndex][permIndex]) && (!network[levelIndex + 2][permIndex]);
+            assert (!getSwitch(levelIndex, permIndex)) && (!getSwitch(levelIndex + 2, permIndex));
             // 根据3层交换门(█ █ █)交换位置
-            if (network[levelIndex + 1][permIndex]) {
+            if (getSwitch(levelIndex + 1, permIndex)) {
                 T temp = subSrcs.elementAt(0);
                 subSrcs.set(0, subSrcs.elementAt(1));
                 subSrcs.set(1, temp);
@@ -149,17 +155,17 @@ public abstract class AbstractBenesNetwork<T> implements BenesNetwork<T> {
     private void permuteTripleLevel(int levelIndex, int permIndex, Vector<T> subSrcs) {
         // 根据三层交换门（█ □ █）交换位置
         //              □ █ □
-        if (network[levelIndex][permIndex]) {
+        if (getSwitch(levelIndex, permIndex)) {
             T temp = subSrcs.elementAt(0);
             subSrcs.set(0, subSrcs.elementAt(1));
             subSrcs.set(1, temp);
         }
-        if (network[levelIndex + 1][permIndex]) {
+        if (getSwitch(levelIndex + 1, permIndex)) {
             T temp = subSrcs.elementAt(1);
             subSrcs.set(1, subSrcs.elementAt(2));
             subSrcs.set(2, temp);
         }
-        if (network[levelIndex + 2][permIndex]) {
+        if (getSwitch(levelIndex + 2, permIndex)) {
             T temp = subSrcs.elementAt(0);
             subSrcs.set(0, subSrcs.elementAt(1));
             subSrcs.set(1, temp);
@@ -24,6 +24,15 @@ public interface BenesNetwork<T> {
      */
     boolean[] getNetworkLevel(int levelIndex);
 
+    /**
+     * 返回第{@code levelIndex}层第{@code widthIndex}个交换门。
+     *
+     * @param levelIndex 层数。
+     * @param widthIndex 交换门索引值。
+     * @return 第{@code levelIndex}层第{@code widthIndex}个交换门。
+     */
+    boolean getSwitch(int levelIndex, int widthIndex);
+
     /**
      * 返回贝奈斯网络输入总数量，即一次要输入多少个数据进行交换。
      *
@@ -28,6 +28,10 @@ public class BenesNetworkFactory {
          * 本地贝奈斯网络
          */
         NATIVE_BENES_NETWORK,
+        /**
+         * 线性内存JDK贝奈斯网络
+         */
+        JDK_LINEAR_BENES_NETWORK,
     }
 
     /**
@@ -39,11 +43,27 @@ public class BenesNetworkFactory {
      * @return 贝奈斯网络。
      */
     public static <X> BenesNetwork<X> createInstance(BenesNetworkType benesNetworkType, int[] permutationMap) {
+        return createInstance(benesNetworkType, permutationMap, false);
+    }
+
+    /**
+     * 构建贝奈斯网络。
+     *
+     * @param benesNetworkType 贝奈斯网络类型。
+     * @param permutationMap 置换表。
+     * @param parallel 是否并发构建。
+     * @param <X> 贝奈斯网络存储类型。
+     * @return 贝奈斯网络。
+     */
+    public static <X> BenesNetwork<X> createInstance(BenesNetworkType benesNetworkType, int[] permutationMap,
+                                                     boolean parallel) {
         switch (benesNetworkType) {
             case JDK_BENES_NETWORK:
                 return new JdkBenesNetwork<>(permutationMap);
             case NATIVE_BENES_NETWORK:
                 return new NativeBenesNetwork<>(permutationMap);
+            case JDK_LINEAR_BENES_NETWORK:
+                return new JdkLinearBenesNetwork<>(permutationMap, parallel);
             default:
                 throw new IllegalArgumentException("Invalid BenesNetworkType: " + benesNetworkType.name());
         }
@@ -58,10 +78,23 @@ public class BenesNetworkFactory {
      * @return 贝奈斯网络。
      */
     public static <X> BenesNetwork<X> createInstance(EnvType envType, int[] permutationMap) {
+        return createInstance(envType, permutationMap, false);
+    }
+
+    /**
+     * 构建贝奈斯网络。
+     *
+     * @param envType 环境类型。
+     * @param permutationMap 置换表。
+     * @param parallel 是否并发构建。
+     * @param <X> 贝奈斯网络存储类型。
+     * @return 贝奈斯网络。
+     */
+    public static <X> BenesNetwork<X> createInstance(EnvType envType, int[] permutationMap, boolean parallel) {
         switch (envType) {
             case STANDARD_JDK:
             case INLAND_JDK:
-                return new JdkBenesNetwork<>(permutationMap);
+                return new JdkLinearBenesNetwork<>(permutationMap, parallel);
             case STANDARD:
             case INLAND:
                 return new NativeBenesNetwork<>(permutationMap);
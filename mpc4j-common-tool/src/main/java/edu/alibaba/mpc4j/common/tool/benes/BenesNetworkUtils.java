@@ -4,10 +4,8 @@ import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
 
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Vector;
-import java.util.stream.IntStream;
+import java.util.stream.Collectors;
 
 /**
  * 贝奈斯网络工具类。
@@ -77,17 +75,10 @@ public class BenesNetworkUtils {
     public static <T> Vector<T> permutation(int[] permutationMap, Vector<T> inputVector) {
         assert validPermutation(permutationMap);
         assert permutationMap.length == inputVector.size();
-        int n = permutationMap.length;
-        // 构建输入到输出的完整映射表
-        Map<Integer, Integer> map = new HashMap<>(n);
-        IntStream.range(0, n).forEach(permuteIndex -> {
-            int index = permutationMap[permuteIndex];
-            map.put(index, permuteIndex);
-        });
-        Vector<T> outputVector = new Vector<>(inputVector);
-        IntStream.range(0, n).forEach(position -> outputVector.set(map.get(position), inputVector.elementAt(position)));
-
-        return outputVector;
+        // 输出位置i的元素来自输入位置permutationMap[i]，直接按位置读取，不构建输入到输出的映射表
+        return Arrays.stream(permutationMap)
+            .mapToObj(inputVector::elementAt)
+            .collect(Collectors.toCollection(Vector::new));
     }
 
     /**
@@ -0,0 +1,287 @@
+package edu.alibaba.mpc4j.common.tool.benes;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 分块置换工具类。用于在明文下将置换（或已路由的贝奈斯网络）作用到载荷上，主要特点为：
+ * <ul>
+ * <li>载荷用一个扁平的byte[]表示，n个长度为byteLength的元素依次排列，避免逐层交换byte[]引用。</li>
+ * <li>贝奈斯网络的所有层先在int[]索引上融合为一个置换表，载荷只需遍历一次，而不是每层遍历一次。</li>
+ * <li>输出按固定字节数量分段，每段内顺序写入、按置换表随机读取；分段只用于确定并发任务的粒度，并不改变读取的访问模式。</li>
+ * <li>融合置换表时，各层子网络在两个长度为n的int[]之间交替读写，不在每层分配新数组。</li>
+ * </ul>
+ * 置换的语义与BenesNetworkUtils.permutation(int[], Vector)相同，即输出位置i的元素来自输入位置permutationMap[i]。
+ *
+ * @author Weiran Liu
+ * @date 2023/12/13
+ */
+public class BlockPermutationUtils {
+    /**
+     * 每个并发任务写入的输出字节数量
+     */
+    private static final int CHUNK_BYTE_SIZE = 1 << 18;
+    /**
+     * 子网络输入数量不小于此值时，并行处理上下两个子网络
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * 私有构造函数
+     */
+    private BlockPermutationUtils() {
+        // empty
+    }
+
+    /**
+     * 根据给定的置换表置换扁平载荷。
+     *
+     * @param permutationMap 置换表。
+     * @param input          扁平载荷，包含permutationMap.length个长度为byteLength的元素。
+     * @param byteLength     元素字节长度。
+     * @param parallel       是否并发处理。
+     * @return 置换后的扁平载荷。
+     */
+    public static byte[] permutation(int[] permutationMap, byte[] input, int byteLength, boolean parallel) {
+        assert BenesNetworkUtils.validPermutation(permutationMap);
+        MathPreconditions.checkPositive("byteLength", byteLength);
+        int n = permutationMap.length;
+        MathPreconditions.checkEqual("input.length", "n * byteLength", input.length, (long) n * byteLength);
+        byte[] output = new byte[input.length];
+        int chunkRowNum = Math.max(1, CHUNK_BYTE_SIZE / byteLength);
+        int chunkNum = CommonUtils.getUnitNum(n, chunkRowNum);
+        IntStream chunkIntStream = IntStream.range(0, chunkNum);
+        chunkIntStream = parallel ? chunkIntStream.parallel() : chunkIntStream;
+        chunkIntStream.forEach(chunkIndex -> {
+            int from = chunkIndex * chunkRowNum;
+            int to = Math.min(from + chunkRowNum, n);
+            for (int i = from; i < to; i++) {
+                System.arraycopy(input, permutationMap[i] * byteLength, output, i * byteLength, byteLength);
+            }
+        });
+        return output;
+    }
+
+    /**
+     * 将已路由的贝奈斯网络作用到扁平载荷上。
+     *
+     * @param benesNetwork 贝奈斯网络。
+     * @param input        扁平载荷，包含n个长度为byteLength的元素。
+     * @param byteLength   元素字节长度。
+     * @param parallel     是否并发处理。
+     * @return 置换后的扁平载荷。
+     */
+    public static byte[] permutation(BenesNetwork<?> benesNetwork, byte[] input, int byteLength, boolean parallel) {
+        return permutation(getPermutationMap(benesNetwork, parallel), input, byteLength, parallel);
+    }
+
+    /**
+     * 将贝奈斯网络的所有层融合为一个置换表，输出位置i的元素来自输入位置permutationMap[i]。计算过程与
+     * AbstractBenesNetwork.permutation(Vector)相同，但只在int[]索引上进行。
+     *
+     * @param benesNetwork 贝奈斯网络。
+     * @param parallel     是否并发处理。
+     * @return 置换表。
+     */
+    public static int[] getPermutationMap(BenesNetwork<?> benesNetwork, boolean parallel) {
+        int n = benesNetwork.getN();
+        int[] srcs = IntStream.range(0, n).toArray();
+        int[] scratch = new int[n];
+        int logN = LongUtils.ceilLog2(n);
+        PermutationTask task = new PermutationTask(benesNetwork, logN, 0, 0, srcs, scratch, 0, n, parallel);
+        if (parallel && n >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+        return srcs;
+    }
+
+    /**
+     * 将元素依次排列为扁平载荷。
+     *
+     * @param vector     元素。
+     * @param byteLength 元素字节长度。
+     * @return 扁平载荷。
+     */
+    public static byte[] flatten(List<byte[]> vector, int byteLength) {
+        byte[] flat = new byte[vector.size() * byteLength];
+        int offset = 0;
+        for (byte[] element : vector) {
+            MathPreconditions.checkEqual("element.length", "byteLength", element.length, byteLength);
+            System.arraycopy(element, 0, flat, offset, byteLength);
+            offset += byteLength;
+        }
+        return flat;
+    }
+
+    /**
+     * 将扁平载荷拆分为元素。
+     *
+     * @param flat       扁平载荷。
+     * @param byteLength 元素字节长度。
+     * @return 元素。
+     */
+    public static Vector<byte[]> unflatten(byte[] flat, int byteLength) {
+        assert flat.length % byteLength == 0;
+        int n = flat.length / byteLength;
+        return IntStream.range(0, n)
+            .mapToObj(i -> {
+                byte[] element = new byte[byteLength];
+                System.arraycopy(flat, i * byteLength, element, 0, byteLength);
+                return element;
+            })
+            .collect(Collectors.toCollection(Vector::new));
+    }
+
+    /**
+     * 子网络求值任务，与AbstractBenesNetwork中的子网络求值过程相同，上下两个子网络互不相交，可并行求值。子网络的源点位于
+     * srcs[offset, offset + subN)，左侧交换门的结果写入scratch的相同区间，中间子网络以scratch为源点、以srcs为临时空间求值，
+     * 右侧交换门再将结果写回srcs，因此整个求值过程只需要两个长度为n的数组。
+     */
+    private static class PermutationTask extends RecursiveAction {
+        private static final long serialVersionUID = 2936527309453711054L;
+        /**
+         * 贝奈斯网络
+         */
+        private final BenesNetwork<?> benesNetwork;
+        /**
+         * 子网络的log(n)
+         */
+        private final int subLogN;
+        /**
+         * 起始层
+         */
+        private final int levelIndex;
+        /**
+         * 起始交换门
+         */
+        private final int permIndex;
+        /**
+         * 源点
+         */
+        private final int[] srcs;
+        /**
+         * 临时空间
+         */
+        private final int[] scratch;
+        /**
+         * 子网络源点的起始位置
+         */
+        private final int offset;
+        /**
+         * 子网络的输入数量
+         */
+        private final int subN;
+        /**
+         * 是否并发处理
+         */
+        private final boolean parallel;
+
+        PermutationTask(BenesNetwork<?> benesNetwork, int subLogN, int levelIndex, int permIndex,
+                        int[] srcs, int[] scratch, int offset, int subN, boolean parallel) {
+            this.benesNetwork = benesNetwork;
+            this.subLogN = subLogN;
+            this.levelIndex = levelIndex;
+            this.permIndex = permIndex;
+            this.srcs = srcs;
+            this.scratch = scratch;
+            this.offset = offset;
+            this.subN = subN;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute() {
+            if (subN == 2) {
+                // 1层交换门，或左右悬空的3层交换门
+                int switchLevelIndex = subLogN == 1 ? levelIndex : levelIndex + 1;
+                if (benesNetwork.getSwitch(switchLevelIndex, permIndex)) {
+                    swap(0, 1);
+                }
+            } else if (subN == 3) {
+                // 三层交换门（█ □ █）
+                //          （□ █ □）
+                if (benesNetwork.getSwitch(levelIndex, permIndex)) {
+                    swap(0, 1);
+                }
+                if (benesNetwork.getSwitch(levelIndex + 1, permIndex)) {
+                    swap(1, 2);
+                }
+                if (benesNetwork.getSwitch(levelIndex + 2, permIndex)) {
+                    swap(0, 1);
+                }
+            } else {
+                int subLevel = 2 * subLogN - 1;
+                int subTopN = subN / 2;
+                int subBottomN = subN - subTopN;
+                // 上半子网络的源点位于scratch[topOffset, topOffset + subTopN)，下半子网络的源点紧随其后
+                int topOffset = offset;
+                int bottomOffset = offset + subTopN;
+                int topIndex = 0;
+                int bottomIndex = 0;
+                // 左侧交换门
+                for (int i = 0; i < subN - 1; i += 2) {
+                    int s = benesNetwork.getSwitch(levelIndex, permIndex + i / 2) ? 1 : 0;
+                    for (int j = 0; j < 2; ++j) {
+                        int x = rightCycleShift((i | j) ^ s, subLogN);
+                        if (x < subTopN) {
+                            scratch[topOffset + topIndex++] = srcs[offset + (i | j)];
+                        } else {
+                            scratch[bottomOffset + bottomIndex++] = srcs[offset + (i | j)];
+                        }
+                    }
+                }
+                if (subN % 2 == 1) {
+                    scratch[bottomOffset + bottomIndex] = srcs[offset + subN - 1];
+                }
+                // 中间子网络，交换源点与临时空间
+                PermutationTask topTask = new PermutationTask(
+                    benesNetwork, subLogN - 1, levelIndex + 1, permIndex, scratch, srcs, topOffset, subTopN, parallel
+                );
+                PermutationTask bottomTask = new PermutationTask(
+                    benesNetwork, subLogN - 1, levelIndex + 1, permIndex + subN / 4, scratch, srcs, bottomOffset, subBottomN, parallel
+                );
+                if (parallel && subN >= PARALLEL_THRESHOLD) {
+                    invokeAll(topTask, bottomTask);
+                } else {
+                    topTask.compute();
+                    bottomTask.compute();
+                }
+                // 右侧交换门
+                for (int i = 0; i < subN - 1; i += 2) {
+                    int s = benesNetwork.getSwitch(levelIndex + subLevel - 1, permIndex + i / 2) ? 1 : 0;
+                    for (int j = 0; j < 2; j++) {
+                        int x = rightCycleShift((i | j) ^ s, subLogN);
+                        if (x < subTopN) {
+                            srcs[offset + (i | j)] = scratch[topOffset + x];
+                        } else {
+                            srcs[offset + (i | j)] = scratch[bottomOffset + i / 2];
+                        }
+                    }
+                }
+                if (subN % 2 == 1) {
+                    srcs[offset + subN - 1] = scratch[bottomOffset + subBottomN - 1];
+                }
+            }
+        }
+
+        private void swap(int i, int j) {
+            int temp = srcs[offset + i];
+            srcs[offset + i] = srcs[offset + j];
+            srcs[offset + j] = temp;
+        }
+
+        private int rightCycleShift(int i, int n) {
+            return ((i & 1) << (n - 1)) | (i >> 1);
+        }
+    }
+}
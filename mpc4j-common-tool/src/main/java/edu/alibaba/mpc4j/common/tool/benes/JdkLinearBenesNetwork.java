@@ -0,0 +1,321 @@
+package edu.alibaba.mpc4j.common.tool.benes;
+
+import edu.alibaba.mpc4j.common.tool.benes.BenesNetworkFactory.BenesNetworkType;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 线性内存JDK贝奈斯网络（Benes Network）。路由算法与JdkBenesNetwork相同，生成的网络也完全相同，区别在于：
+ * <ul>
+ * <li>子网络只使用相对置换表（输出位置i来自输入位置perms[i]），子网络的置换表原地写入复用的缓存区，
+ * 路由全程只使用2个int[n]和1个byte[n]的缓存区，时间复杂度为O(n log(n))，额外空间复杂度为O(n)。</li>
+ * <li>路径染色时直接沿环遍历，不使用栈。</li>
+ * <li>交换门按层压缩存储为long[]，第i个交换门位于第(i / 64)个long的第(i % 64)个比特。</li>
+ * <li>并发模式下，用Fork/Join并行处理互不相交的子网络。</li>
+ * </ul>
+ *
+ * @author Weiran Liu
+ * @date 2023/12/11
+ */
+class JdkLinearBenesNetwork<T> extends AbstractBenesNetwork<T> {
+    /**
+     * 子网络输入数量不小于此值时，并行处理上下两个子网络
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    /**
+     * 交换门数量
+     */
+    private final int width;
+    /**
+     * 压缩存储的网络
+     */
+    private final long[][] packedNetwork;
+
+    /**
+     * 构建线性内存JDK贝奈斯网络。
+     *
+     * @param permutationMap 置换表。
+     * @param parallel       是否并发构建。
+     */
+    JdkLinearBenesNetwork(final int[] permutationMap, boolean parallel) {
+        super(permutationMap);
+        width = n / 2;
+        packedNetwork = new long[level][CommonUtils.getUnitNum(width, Long.SIZE)];
+        // 初始时源点为[0, n)，因此相对置换表就是置换表本身
+        int[] perms = Arrays.copyOf(permutationMap, n);
+        int[] buffer = new int[n];
+        byte[] path = new byte[n];
+        int logN = LongUtils.ceilLog2(n);
+        RouteTask routeTask = new RouteTask(perms, buffer, path, logN, 0, 0, 0, n, 0, width, parallel);
+        if (parallel && n >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(routeTask);
+        } else {
+            routeTask.compute();
+        }
+    }
+
+    @Override
+    public boolean[] getNetworkLevel(int levelIndex) {
+        assert levelIndex >= 0 && levelIndex < level;
+        boolean[] networkLevel = new boolean[width];
+        long[] packedLevel = packedNetwork[levelIndex];
+        for (int widthIndex = 0; widthIndex < width; widthIndex++) {
+            networkLevel[widthIndex] = (packedLevel[widthIndex >>> 6] & (1L << widthIndex)) != 0;
+        }
+        return networkLevel;
+    }
+
+    @Override
+    public boolean getSwitch(int levelIndex, int widthIndex) {
+        assert levelIndex >= 0 && levelIndex < level;
+        assert widthIndex >= 0 && widthIndex < width;
+        return (packedNetwork[levelIndex][widthIndex >>> 6] & (1L << widthIndex)) != 0;
+    }
+
+    /**
+     * 子网络路由任务。同一深度的子网络占用缓存区中互不相交的区间[offset, offset + subN)，上方子网络占用前subN / 2个位置，
+     * 下方子网络占用其余位置。每深入一层，置换表缓存区和逆置换表缓存区互换角色。
+     * <p>
+     * 每个任务负责交换门区间[ownFrom, ownTo)，子网络写入的交换门都在此区间内。若某个long完全落在此区间内，则只有当前任务会写入，
+     * 可直接写入；否则可能与并发执行的其他任务共享，需要加锁写入。
+     * </p>
+     */
+    private class RouteTask extends RecursiveAction {
+        private static final long serialVersionUID = 7283625046151928134L;
+        /**
+         * 相对置换表缓存区
+         */
+        private final int[] perms;
+        /**
+         * 逆置换表缓存区，路由完成后用于存储子网络的相对置换表
+         */
+        private final int[] buffer;
+        /**
+         * 路径缓存区
+         */
+        private final byte[] path;
+        /**
+         * 当前logN
+         */
+        private final int subLogN;
+        /**
+         * 层索引值
+         */
+        private final int levelIndex;
+        /**
+         * 置换索引值
+         */
+        private final int permIndex;
+        /**
+         * 缓存区偏移量
+         */
+        private final int offset;
+        /**
+         * 子网络输入数量
+         */
+        private final int subN;
+        /**
+         * 负责的交换门区间起点
+         */
+        private final int ownFrom;
+        /**
+         * 负责的交换门区间终点
+         */
+        private final int ownTo;
+        /**
+         * 是否并发
+         */
+        private final boolean parallel;
+
+        RouteTask(int[] perms, int[] buffer, byte[] path, int subLogN, int levelIndex, int permIndex,
+                  int offset, int subN, int ownFrom, int ownTo, boolean parallel) {
+            this.perms = perms;
+            this.buffer = buffer;
+            this.path = path;
+            this.subLogN = subLogN;
+            this.levelIndex = levelIndex;
+            this.permIndex = permIndex;
+            this.offset = offset;
+            this.subN = subN;
+            this.ownFrom = ownFrom;
+            this.ownTo = ownTo;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute() {
+            if (subN == 2) {
+                assert (subLogN == 1 || subLogN == 2);
+                routeSingleLevel();
+            } else if (subN == 3) {
+                assert subLogN == 2;
+                routeTripleLevel();
+            } else {
+                routeSubNetwork();
+            }
+        }
+
+        private void routeSubNetwork() {
+            int subLevel = 2 * subLogN - 1;
+            int[] invPerms = buffer;
+            for (int i = 0; i < subN; i++) {
+                invPerms[offset + perms[offset + i]] = i;
+            }
+            Arrays.fill(path, offset, offset + subN, (byte) -1);
+            // 如果n为奇数，则最后一个节点与下方子网络直连
+            if (subN % 2 == 1) {
+                path[offset + subN - 1] = 1;
+                path[offset + perms[offset + subN - 1]] = 1;
+                if (perms[offset + subN - 1] != subN - 1) {
+                    walk(perms[offset + (invPerms[offset + subN - 1] ^ 1)]);
+                }
+            }
+            // 设置其他节点
+            for (int i = 0; i < subN; i++) {
+                if (path[offset + i] < 0) {
+                    walk(i);
+                }
+            }
+            // 设置左侧和右侧交换门
+            setSwitches(levelIndex, false);
+            setSwitches(levelIndex + subLevel - 1, true);
+            // 构建子网络的相对置换表，覆盖已经不再需要的逆置换表
+            int subTopN = subN / 2;
+            int subBottomN = subN - subTopN;
+            int[] subPerms = buffer;
+            for (int k = 0; k < subN / 2; k++) {
+                int s = path[offset + perms[offset + 2 * k]];
+                int topSource = perms[offset + (2 * k | s)];
+                int bottomSource = perms[offset + (2 * k | (s ^ 1))];
+                subPerms[offset + k] = topSource >> 1;
+                subPerms[offset + subTopN + k] = bottomSource >> 1;
+            }
+            if (subN % 2 == 1) {
+                subPerms[offset + subTopN + subN / 2] = perms[offset + subN - 1] >> 1;
+            }
+            // 子网络中置换表缓存区与逆置换表缓存区互换角色
+            int subBottomPermIndex = permIndex + subN / 4;
+            if (parallel && subN >= PARALLEL_THRESHOLD) {
+                invokeAll(
+                    new RouteTask(subPerms, perms, path, subLogN - 1, levelIndex + 1, permIndex,
+                        offset, subTopN, permIndex, subBottomPermIndex, true),
+                    new RouteTask(subPerms, perms, path, subLogN - 1, levelIndex + 1, subBottomPermIndex,
+                        offset + subTopN, subBottomN, subBottomPermIndex, subBottomPermIndex + subBottomN / 2, true)
+                );
+            } else {
+                new RouteTask(subPerms, perms, path, subLogN - 1, levelIndex + 1, permIndex,
+                    offset, subTopN, ownFrom, ownTo, parallel).compute();
+                new RouteTask(subPerms, perms, path, subLogN - 1, levelIndex + 1, subBottomPermIndex,
+                    offset + subTopN, subBottomN, ownFrom, ownTo, parallel).compute();
+            }
+        }
+
+        /**
+         * 从节点start开始，沿输入侧相邻节点和输出侧相邻节点交替遍历，将路径染色，直到遇到已染色的节点。
+         *
+         * @param start 起始节点。
+         */
+        private void walk(int start) {
+            int[] invPerms = buffer;
+            int x = start;
+            while (true) {
+                path[offset + x] = 0;
+                // 输入侧相邻节点取相反值
+                int y = x ^ 1;
+                if (path[offset + y] >= 0) {
+                    break;
+                }
+                path[offset + y] = 1;
+                // 输出侧相邻节点取相反值
+                x = perms[offset + (invPerms[offset + y] ^ 1)];
+                if (path[offset + x] >= 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * 设置一层交换门。左侧第k个交换门为path[2k]，右侧第k个交换门为path[perms[2k]]。
+         *
+         * @param setLevelIndex 层索引值。
+         * @param right         是否为右侧交换门。
+         */
+        private void setSwitches(int setLevelIndex, boolean right) {
+            long[] packedLevel = packedNetwork[setLevelIndex];
+            int wordIndex = permIndex >>> 6;
+            long word = 0L;
+            for (int k = 0; k < subN / 2; k++) {
+                int switchIndex = permIndex + k;
+                if ((switchIndex >>> 6) != wordIndex) {
+                    flush(packedLevel, wordIndex, word);
+                    wordIndex = switchIndex >>> 6;
+                    word = 0L;
+                }
+                int s = right ? path[offset + perms[offset + 2 * k]] : path[offset + 2 * k];
+                word |= (long) s << switchIndex;
+            }
+            flush(packedLevel, wordIndex, word);
+        }
+
+        private void setSwitch(int setLevelIndex, boolean value) {
+            if (value) {
+                flush(packedNetwork[setLevelIndex], permIndex >>> 6, 1L << permIndex);
+            }
+        }
+
+        private void flush(long[] packedLevel, int wordIndex, long word) {
+            if (word == 0L) {
+                return;
+            }
+            int wordFrom = wordIndex << 6;
+            int wordTo = Math.min(wordFrom + Long.SIZE, width);
+            if (wordFrom >= ownFrom && wordTo <= ownTo) {
+                packedLevel[wordIndex] |= word;
+            } else {
+                synchronized (packedLevel) {
+                    packedLevel[wordIndex] |= word;
+                }
+            }
+        }
+
+        private void routeSingleLevel() {
+            boolean value = perms[offset] != 0;
+            if (subLogN == 1) {
+                // logN = 1，有1层交换门(█)
+                setSwitch(levelIndex, value);
+            } else {
+                // logN = 2，有3层交换门(█ █ █），此时只设置中间的交换门
+                setSwitch(levelIndex + 1, value);
+            }
+        }
+
+        private void routeTripleLevel() {
+            /*
+             * N = 3时的网络结构为（█表示交换门、□表示直连门）：
+             * █ □ █
+             * □ █ □
+             */
+            int perm0 = perms[offset];
+            int perm1 = perms[offset + 1];
+            if (perm0 == 0) {
+                setSwitch(levelIndex + 1, perm1 != 1);
+            } else if (perm1 == 0) {
+                setSwitch(levelIndex + 1, perm0 != 1);
+                setSwitch(levelIndex + 2, true);
+            } else {
+                setSwitch(levelIndex, true);
+                setSwitch(levelIndex + 1, true);
+                setSwitch(levelIndex + 2, perm0 != 1);
+            }
+        }
+    }
+
+    @Override
+    public BenesNetworkType getBenesNetworkType() {
+        return BenesNetworkType.JDK_LINEAR_BENES_NETWORK;
+    }
+}
@@ -0,0 +1,273 @@
+package edu.alibaba.mpc4j.common.tool.bitmatrix.trans;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Bit matrix transpose based on 64 * 64 long blocks (Hacker's Delight, Section 7-3). The matrix is cut into 64 * 64
+ * tiles, each tile is loaded into 64 longs, transposed in place by log(64) = 6 rounds of masked swaps, and written back.
+ * Tiles write disjoint parts of the output, so that they can be transposed in parallel.
+ * <p>
+ * The engine works on flat buffers: a matrix with m rows of b bytes is stored in a byte[] of length m * b, and the bits
+ * of each row are in the big-endian order, i.e., the j-th bit of a row is the (7 - j % 8)-th bit of its (j / 8)-th
+ * byte, the same as BinaryUtils. Based on the engine, this class also provides conversions between bit-sliced shares
+ * (BitVector[]) and row-wise byte[][] / long[].
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/12/12
+ */
+public class BlockTransposeUtils {
+    /**
+     * block size
+     */
+    private static final int BLOCK_SIZE = Long.SIZE;
+    /**
+     * block byte size
+     */
+    private static final int BLOCK_BYTE_SIZE = Long.BYTES;
+
+    /**
+     * private constructor.
+     */
+    private BlockTransposeUtils() {
+        // empty
+    }
+
+    /**
+     * Transposes a 64 * 64 bit matrix in place. The j-th bit of the k-th row is the (63 - j)-th bit of block[k].
+     *
+     * @param block the 64 * 64 bit matrix.
+     */
+    public static void transpose64x64(long[] block) {
+        assert block.length == BLOCK_SIZE;
+        long mask = 0x00000000FFFFFFFFL;
+        for (int j = BLOCK_SIZE / 2; j != 0; j >>>= 1, mask ^= mask << j) {
+            for (int k = 0; k < BLOCK_SIZE; k = ((k | j) + 1) & ~j) {
+                long t = (block[k] ^ (block[k | j] >>> j)) & mask;
+                block[k] ^= t;
+                block[k | j] ^= t << j;
+            }
+        }
+    }
+
+    /**
+     * Transposes a flat bit matrix. The input has rowNum rows of rowByteLength bytes. Conceptually, padRows zero rows are
+     * put before the input so that (padRows + rowNum) is divisible by 8, and the transposed matrix has
+     * rowByteLength * 8 rows of (padRows + rowNum) / 8 bytes. The output contains transposed rows
+     * [outRowFrom, outRowFrom + outRowNum).
+     *
+     * @param input         the input.
+     * @param rowNum        number of input rows.
+     * @param rowByteLength byte length of each input row.
+     * @param padRows       number of zero rows put before the input.
+     * @param outRowFrom    the first transposed row in the output.
+     * @param outRowNum     number of transposed rows in the output.
+     * @param parallel      parallel transpose.
+     * @return the output.
+     */
+    public static byte[] transpose(byte[] input, int rowNum, int rowByteLength, int padRows,
+                                   int outRowFrom, int outRowNum, boolean parallel) {
+        MathPreconditions.checkEqual("input.length", "rowNum * rowByteLength", input.length, rowNum * rowByteLength);
+        MathPreconditions.checkNonNegative("padRows", padRows);
+        MathPreconditions.checkEqual("(padRows + rowNum) % 8", "0", (padRows + rowNum) % Byte.SIZE, 0);
+        MathPreconditions.checkNonNegativeInRangeClosed("outRowFrom + outRowNum", outRowFrom + outRowNum, rowByteLength * Byte.SIZE);
+        MathPreconditions.checkNonNegative("outRowFrom", outRowFrom);
+        MathPreconditions.checkNonNegative("outRowNum", outRowNum);
+        int outRowByteLength = (padRows + rowNum) / Byte.SIZE;
+        byte[] output = new byte[outRowNum * outRowByteLength];
+        if (outRowNum == 0 || outRowByteLength == 0) {
+            return output;
+        }
+        // a tile covers 64 (padded) input rows and 64 input columns
+        int rowBlockNum = CommonUtils.getUnitNum(outRowByteLength, BLOCK_BYTE_SIZE);
+        int columnBlockFrom = outRowFrom / BLOCK_SIZE;
+        int columnBlockNum = CommonUtils.getUnitNum(outRowFrom + outRowNum, BLOCK_SIZE) - columnBlockFrom;
+        IntStream tileIntStream = IntStream.range(0, rowBlockNum * columnBlockNum);
+        tileIntStream = parallel ? tileIntStream.parallel() : tileIntStream;
+        tileIntStream.forEach(tileIndex -> {
+            int rowBlockIndex = tileIndex / columnBlockNum;
+            int columnBlockIndex = columnBlockFrom + tileIndex % columnBlockNum;
+            long[] block = new long[BLOCK_SIZE];
+            loadBlock(input, rowNum, rowByteLength, rowBlockIndex * BLOCK_SIZE - padRows, columnBlockIndex, block);
+            transpose64x64(block);
+            storeBlock(output, outRowFrom, outRowNum, outRowByteLength, rowBlockIndex, columnBlockIndex, block);
+        });
+        return output;
+    }
+
+    private static void loadBlock(byte[] input, int rowNum, int rowByteLength, int rowFrom, int columnBlockIndex,
+                                  long[] block) {
+        int byteFrom = columnBlockIndex * BLOCK_BYTE_SIZE;
+        int byteNum = Math.min(BLOCK_BYTE_SIZE, rowByteLength - byteFrom);
+        for (int k = 0; k < BLOCK_SIZE; k++) {
+            int rowIndex = rowFrom + k;
+            if (rowIndex < 0 || rowIndex >= rowNum) {
+                continue;
+            }
+            int offset = rowIndex * rowByteLength + byteFrom;
+            long value = 0L;
+            for (int i = 0; i < byteNum; i++) {
+                value = (value << Byte.SIZE) | (input[offset + i] & 0xFFL);
+            }
+            // bytes are left-aligned in the long
+            block[k] = value << ((BLOCK_BYTE_SIZE - byteNum) * Byte.SIZE);
+        }
+    }
+
+    private static void storeBlock(byte[] output, int outRowFrom, int outRowNum, int outRowByteLength,
+                                   int rowBlockIndex, int columnBlockIndex, long[] block) {
+        int byteFrom = rowBlockIndex * BLOCK_BYTE_SIZE;
+        int byteNum = Math.min(BLOCK_BYTE_SIZE, outRowByteLength - byteFrom);
+        for (int j = 0; j < BLOCK_SIZE; j++) {
+            int outRowIndex = columnBlockIndex * BLOCK_SIZE + j - outRowFrom;
+            if (outRowIndex < 0 || outRowIndex >= outRowNum) {
+                continue;
+            }
+            int offset = outRowIndex * outRowByteLength + byteFrom;
+            long value = block[j];
+            for (int i = 0; i < byteNum; i++) {
+                output[offset + i] = (byte) (value >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+            }
+        }
+    }
+
+    /**
+     * Merges l bit vectors, each with n bits, into n rows in the flat form. Each row has ⌈l / 8⌉ bytes, and the j-th
+     * bit of the i-th row is the i-th bit of the j-th bit vector. Bits in each row are right-aligned, i.e., the first
+     * 8 * ⌈l / 8⌉ - l bits are 0.
+     *
+     * @param bitVectors bit vectors.
+     * @param parallel   parallel transpose.
+     * @return rows in the flat form.
+     */
+    public static byte[] mergeToFlat(BitVector[] bitVectors, boolean parallel) {
+        MathPreconditions.checkPositive("BitVectors.length", bitVectors.length);
+        int l = bitVectors.length;
+        int n = bitVectors[0].bitNum();
+        int byteN = CommonUtils.getByteLength(n);
+        byte[] input = new byte[l * byteN];
+        for (int i = 0; i < l; i++) {
+            MathPreconditions.checkEqual("n", "BitVector.bitNum", n, bitVectors[i].bitNum());
+            System.arraycopy(bitVectors[i].getBytes(), 0, input, i * byteN, byteN);
+        }
+        int padL = CommonUtils.getByteLength(l) * Byte.SIZE - l;
+        int padN = byteN * Byte.SIZE - n;
+        return transpose(input, l, byteN, padL, padN, n, parallel);
+    }
+
+    /**
+     * Merges l bit vectors, each with n bits, into n rows. Each row has ⌈l / 8⌉ bytes, and the j-th bit of the i-th
+     * row is the i-th bit of the j-th bit vector.
+     *
+     * @param bitVectors bit vectors.
+     * @param parallel   parallel transpose.
+     * @return rows.
+     */
+    public static byte[][] merge(BitVector[] bitVectors, boolean parallel) {
+        byte[] flat = mergeToFlat(bitVectors, parallel);
+        int n = bitVectors[0].bitNum();
+        int byteL = CommonUtils.getByteLength(bitVectors.length);
+        return IntStream.range(0, n)
+            .mapToObj(i -> Arrays.copyOfRange(flat, i * byteL, (i + 1) * byteL))
+            .toArray(byte[][]::new);
+    }
+
+    /**
+     * Merges l ≤ 64 bit vectors, each with n bits, into n longs. The j-th bit of the i-th long (from the most
+     * significant bit among the lower l bits) is the i-th bit of the j-th bit vector, i.e., the first bit vector is
+     * the most significant bit.
+     *
+     * @param bitVectors bit vectors.
+     * @param parallel   parallel transpose.
+     * @return rows represented by longs.
+     */
+    public static long[] mergeToLongs(BitVector[] bitVectors, boolean parallel) {
+        MathPreconditions.checkPositiveInRangeClosed("BitVectors.length", bitVectors.length, Long.SIZE);
+        int l = bitVectors.length;
+        int n = bitVectors[0].bitNum();
+        int byteN = CommonUtils.getByteLength(n);
+        byte[] input = new byte[l * byteN];
+        for (int i = 0; i < l; i++) {
+            MathPreconditions.checkEqual("n", "BitVector.bitNum", n, bitVectors[i].bitNum());
+            System.arraycopy(bitVectors[i].getBytes(), 0, input, i * byteN, byteN);
+        }
+        int padN = byteN * Byte.SIZE - n;
+        byte[] flat = transpose(input, l, byteN, Long.SIZE - l, padN, n, parallel);
+        long[] rows = new long[n];
+        ByteBuffer.wrap(flat).asLongBuffer().get(rows);
+        return rows;
+    }
+
+    /**
+     * Splits n rows in the flat form into l bit vectors, each with n bits. Each row has ⌈l / 8⌉ bytes, and the i-th
+     * bit of the j-th bit vector is the j-th bit of the i-th row, where bits in each row are right-aligned.
+     *
+     * @param flatRows rows in the flat form.
+     * @param n        number of rows.
+     * @param l        bit length of each row.
+     * @param parallel parallel transpose.
+     * @return bit vectors.
+     */
+    public static BitVector[] split(byte[] flatRows, int n, int l, boolean parallel) {
+        MathPreconditions.checkPositive("n", n);
+        MathPreconditions.checkPositive("l", l);
+        int byteL = CommonUtils.getByteLength(l);
+        int byteN = CommonUtils.getByteLength(n);
+        int padL = byteL * Byte.SIZE - l;
+        int padN = byteN * Byte.SIZE - n;
+        byte[] flat = transpose(flatRows, n, byteL, padN, padL, l, parallel);
+        return IntStream.range(0, l)
+            .mapToObj(j -> BitVectorFactory.create(n, Arrays.copyOfRange(flat, j * byteN, (j + 1) * byteN)))
+            .toArray(BitVector[]::new);
+    }
+
+    /**
+     * Splits n rows into l bit vectors, each with n bits. Each row has ⌈l / 8⌉ bytes, and the i-th bit of the j-th bit
+     * vector is the j-th bit of the i-th row, where bits in each row are right-aligned.
+     *
+     * @param rows     rows.
+     * @param l        bit length of each row.
+     * @param parallel parallel transpose.
+     * @return bit vectors.
+     */
+    public static BitVector[] split(byte[][] rows, int l, boolean parallel) {
+        MathPreconditions.checkPositive("rows.length", rows.length);
+        int byteL = CommonUtils.getByteLength(l);
+        byte[] flatRows = new byte[rows.length * byteL];
+        for (int i = 0; i < rows.length; i++) {
+            MathPreconditions.checkEqual("byteL", "row.length", byteL, rows[i].length);
+            System.arraycopy(rows[i], 0, flatRows, i * byteL, byteL);
+        }
+        return split(flatRows, rows.length, l, parallel);
+    }
+
+    /**
+     * Splits n longs into l ≤ 64 bit vectors, each with n bits. The i-th bit of the j-th bit vector is the j-th bit
+     * (from the most significant bit among the lower l bits) of the i-th long. Higher bits are ignored.
+     *
+     * @param rows     rows represented by longs.
+     * @param l        bit length of each row.
+     * @param parallel parallel transpose.
+     * @return bit vectors.
+     */
+    public static BitVector[] split(long[] rows, int l, boolean parallel) {
+        MathPreconditions.checkPositive("rows.length", rows.length);
+        MathPreconditions.checkPositiveInRangeClosed("l", l, Long.SIZE);
+        int n = rows.length;
+        int byteN = CommonUtils.getByteLength(n);
+        int padN = byteN * Byte.SIZE - n;
+        byte[] flatRows = new byte[n * Long.BYTES];
+        ByteBuffer.wrap(flatRows).asLongBuffer().put(rows);
+        byte[] flat = transpose(flatRows, n, Long.BYTES, padN, Long.SIZE - l, l, parallel);
+        return IntStream.range(0, l)
+            .mapToObj(j -> BitVectorFactory.create(n, Arrays.copyOfRange(flat, j * byteN, (j + 1) * byteN)))
+            .toArray(BitVector[]::new);
+    }
+}
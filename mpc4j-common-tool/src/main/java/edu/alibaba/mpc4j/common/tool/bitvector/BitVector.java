@@ -76,6 +76,19 @@ public interface BitVector {
      */
     BigInteger getBigInteger();
 
+    /**
+     * Get the number of bits that are 1.
+     *
+     * @return the number of bits that are 1.
+     */
+    default int bitCount() {
+        int bitCount = 0;
+        for (byte value : getBytes()) {
+            bitCount += Integer.bitCount(value & 0xFF);
+        }
+        return bitCount;
+    }
+
     /**
      * Split a bit vector with the given number of bits. The current bit vector keeps the remaining bits.
      *
@@ -28,12 +28,42 @@ public class BitVectorFactory {
          * combined bit vector
          */
         COMBINED_BIT_VECTOR,
+        /**
+         * bit vector represented by longs, use this if the bit vector is often used for operations on many bits,
+         * e.g., evaluating Boolean circuits in SIMD manner.
+         */
+        LONGS_BIT_VECTOR,
+    }
+
+    /**
+     * default BitVectorType, shared by all threads in the process.
+     */
+    private static volatile BitVectorType defaultBitVectorType = BitVectorType.COMBINED_BIT_VECTOR;
+
+    /**
+     * Sets the default BitVector type, i.e., the type used when the type is not assigned (e.g., bit vectors created in
+     * MpcZ2Vector / PlainZ2Vector).
+     * <p>
+     * This is a process-wide setting that affects every bit vector created afterwards by any party in any thread. It is
+     * intended for tests and benchmarks only, and should be set once before running protocols, not changed while
+     * protocols are running. Production code that needs a specific type should pass the type explicitly to the create
+     * methods.
+     * </p>
+     *
+     * @param type the default BitVector type.
+     */
+    public static void setDefaultBitVectorType(BitVectorType type) {
+        defaultBitVectorType = type;
     }
 
     /**
-     * default BitVectorType
+     * Gets the default BitVector type.
+     *
+     * @return the default BitVector type.
      */
-    private static final BitVectorType DEFAULT_BIT_VECTOR_TYPE = BitVectorType.COMBINED_BIT_VECTOR;
+    public static BitVectorType getDefaultBitVectorType() {
+        return defaultBitVectorType;
+    }
 
     /**
      * Create with assigned bits.
@@ -43,7 +73,7 @@ public class BitVectorFactory {
      * @return the created bit vector.
      */
     public static BitVector create(int bitNum, byte[] bytes) {
-        return create(DEFAULT_BIT_VECTOR_TYPE, bitNum, bytes);
+        return create(defaultBitVectorType, bitNum, bytes);
     }
 
     /**
@@ -62,6 +92,8 @@ public class BitVectorFactory {
                 return BigIntegerBitVector.create(bitNum, bytes);
             case COMBINED_BIT_VECTOR:
                 return CombinedBitVector.create(bitNum, bytes);
+            case LONGS_BIT_VECTOR:
+                return LongsBitVector.create(bitNum, bytes);
             default:
                 throw new IllegalArgumentException("Invalid " + BitVectorType.class.getSimpleName() + ": " + type);
         }
@@ -75,7 +107,7 @@ public class BitVectorFactory {
      * @return the created bit vector.
      */
     public static BitVector create(int bitNum, BigInteger bigInteger) {
-        return create(DEFAULT_BIT_VECTOR_TYPE, bitNum, bigInteger);
+        return create(defaultBitVectorType, bitNum, bigInteger);
     }
 
     /**
@@ -94,6 +126,8 @@ public class BitVectorFactory {
                 return BigIntegerBitVector.create(bitNum, bigInteger);
             case COMBINED_BIT_VECTOR:
                 return CombinedBitVector.create(bitNum, bigInteger);
+            case LONGS_BIT_VECTOR:
+                return LongsBitVector.create(bitNum, bigInteger);
             default:
                 throw new IllegalArgumentException("Invalid " + BitVectorType.class.getSimpleName() + ": " + type);
         }
@@ -107,7 +141,7 @@ public class BitVectorFactory {
      * @return the created bit vector.
      */
     public static BitVector createRandom(int bitNum, Random random) {
-        return createRandom(DEFAULT_BIT_VECTOR_TYPE, bitNum, random);
+        return createRandom(defaultBitVectorType, bitNum, random);
     }
 
     /**
@@ -126,6 +160,8 @@ public class BitVectorFactory {
                 return BigIntegerBitVector.createRandom(bitNum, random);
             case COMBINED_BIT_VECTOR:
                 return CombinedBitVector.createRandom(bitNum, random);
+            case LONGS_BIT_VECTOR:
+                return LongsBitVector.createRandom(bitNum, random);
             default:
                 throw new IllegalArgumentException("Invalid " + BitVectorType.class.getSimpleName() + ": " + type);
         }
@@ -138,7 +174,7 @@ public class BitVectorFactory {
      * @return the created bit vector.
      */
     public static BitVector createOnes(int bitNum) {
-        return createOnes(DEFAULT_BIT_VECTOR_TYPE, bitNum);
+        return createOnes(defaultBitVectorType, bitNum);
     }
 
     /**
@@ -156,6 +192,8 @@ public class BitVectorFactory {
                 return BigIntegerBitVector.createOnes(bitNum);
             case COMBINED_BIT_VECTOR:
                 return CombinedBitVector.createOnes(bitNum);
+            case LONGS_BIT_VECTOR:
+                return LongsBitVector.createOnes(bitNum);
             default:
                 throw new IllegalArgumentException("Invalid " + BitVectorType.class.getSimpleName() + ": " + type);
         }
@@ -168,7 +206,7 @@ public class BitVectorFactory {
      * @return the created bit vector.
      */
     public static BitVector createZeros(int bitNum) {
-        return createZeros(DEFAULT_BIT_VECTOR_TYPE, bitNum);
+        return createZeros(defaultBitVectorType, bitNum);
     }
 
     /**
@@ -186,6 +224,8 @@ public class BitVectorFactory {
                 return BigIntegerBitVector.createZeros(bitNum);
             case COMBINED_BIT_VECTOR:
                 return CombinedBitVector.createZeros(bitNum);
+            case LONGS_BIT_VECTOR:
+                return LongsBitVector.createZeros(bitNum);
             default:
                 throw new IllegalArgumentException("Invalid " + BitVectorType.class.getSimpleName() + ": " + type);
         }
@@ -197,7 +237,7 @@ public class BitVectorFactory {
      * @return the created bit vector.
      */
     public static BitVector createEmpty() {
-        return createEmpty(DEFAULT_BIT_VECTOR_TYPE);
+        return createEmpty(defaultBitVectorType);
     }
 
     /**
@@ -214,6 +254,8 @@ public class BitVectorFactory {
                 return BigIntegerBitVector.createEmpty();
             case COMBINED_BIT_VECTOR:
                 return CombinedBitVector.createEmpty();
+            case LONGS_BIT_VECTOR:
+                return LongsBitVector.createEmpty();
             default:
                 throw new IllegalArgumentException("Invalid " + BitVectorType.class.getSimpleName() + ": " + type);
         }
@@ -0,0 +1,561 @@
+package edu.alibaba.mpc4j.common.tool.bitvector;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The bit vector represented by longs. The layout is the same as the bytes representation (big-endian with leading
+ * zeros), i.e., the i-th bit is the (offset + i)-th bit of longs counting from the most significant bit of longs[0],
+ * where offset = 64 * longNum - bitNum. All logical operations, shifts, splits and merges are done in 64-bit words.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public class LongsBitVector implements BitVector {
+    /**
+     * bit vector represented by longs.
+     */
+    private long[] longs;
+    /**
+     * number of bit.
+     */
+    private int bitNum;
+    /**
+     * the offset
+     */
+    private int offset;
+
+    static BitVector create(int bitNum, byte[] bytes) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        int byteLength = CommonUtils.getByteLength(bitNum);
+        assert bytes.length == byteLength : "bytes.length must be equal to " + byteLength + ": " + bytes.length;
+        assert BytesUtils.isReduceByteArray(bytes, bitNum) : "bytes must contain at most " + bitNum + " bits";
+        return create(bitNum, bytesToLongs(bytes, CommonUtils.getLongLength(bitNum)));
+    }
+
+    static BitVector create(int bitNum, BigInteger bigInteger) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        assert BigIntegerUtils.greaterOrEqual(bigInteger, BigInteger.ZERO)
+            : "bigInteger must be greater than or equal to 0: " + bigInteger;
+        assert bigInteger.bitLength() <= bitNum
+            : "bigInteger.bitLength must be less than or equal to " + bitNum + ": " + bigInteger.bitLength();
+        byte[] bytes = BigIntegerUtils.nonNegBigIntegerToByteArray(bigInteger, CommonUtils.getByteLength(bitNum));
+        return create(bitNum, bytesToLongs(bytes, CommonUtils.getLongLength(bitNum)));
+    }
+
+    /**
+     * Create with assigned bits.
+     *
+     * @param bitNum the number of bits.
+     * @param longs  the assigned bits represented by longs.
+     * @return the created bit vector.
+     */
+    public static BitVector create(int bitNum, long[] longs) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        int longLength = CommonUtils.getLongLength(bitNum);
+        assert longs.length == longLength : "longs.length must be equal to " + longLength + ": " + longs.length;
+        assert (longs[0] & ~firstLongMask(bitNum)) == 0 : "longs must contain at most " + bitNum + " bits";
+        // create instance
+        LongsBitVector bitVector = new LongsBitVector();
+        bitVector.longs = longs;
+        bitVector.bitNum = bitNum;
+        bitVector.offset = longLength * Long.SIZE - bitNum;
+        return bitVector;
+    }
+
+    static BitVector createRandom(int bitNum, Random random) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        long[] longs = new long[CommonUtils.getLongLength(bitNum)];
+        for (int index = 0; index < longs.length; index++) {
+            longs[index] = random.nextLong();
+        }
+        longs[0] &= firstLongMask(bitNum);
+        return create(bitNum, longs);
+    }
+
+    static BitVector createOnes(int bitNum) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        long[] ones = new long[CommonUtils.getLongLength(bitNum)];
+        Arrays.fill(ones, -1L);
+        ones[0] &= firstLongMask(bitNum);
+        return create(bitNum, ones);
+    }
+
+    static BitVector createZeros(int bitNum) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        return create(bitNum, new long[CommonUtils.getLongLength(bitNum)]);
+    }
+
+    static BitVector createEmpty() {
+        LongsBitVector bitVector = new LongsBitVector();
+        bitVector.longs = new long[0];
+        bitVector.bitNum = 0;
+        bitVector.offset = 0;
+        return bitVector;
+    }
+
+    /**
+     * Gets the mask of the first long, i.e., the valid bits in longs[0].
+     *
+     * @param bitNum the number of bits.
+     * @return the mask of the first long.
+     */
+    private static long firstLongMask(int bitNum) {
+        int remainder = bitNum & (Long.SIZE - 1);
+        return remainder == 0 ? -1L : (1L << remainder) - 1;
+    }
+
+    /**
+     * Gets the number of longs, allowing the number of bits to be 0.
+     *
+     * @param bitNum the number of bits.
+     * @return the number of longs.
+     */
+    private static int getLongLength(int bitNum) {
+        return bitNum == 0 ? 0 : CommonUtils.getLongLength(bitNum);
+    }
+
+    /**
+     * Converts bytes (big-endian) into longs with the given length, padding leading zeros.
+     *
+     * @param bytes      the bytes.
+     * @param longLength the number of longs.
+     * @return the longs.
+     */
+    private static long[] bytesToLongs(byte[] bytes, int longLength) {
+        assert bytes.length <= longLength * Long.BYTES;
+        long[] longs = new long[longLength];
+        // the last byte is the least significant byte of the last long
+        int byteIndex = bytes.length - 1;
+        for (int longIndex = longLength - 1; longIndex >= 0 && byteIndex >= 0; longIndex--) {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE && byteIndex >= 0; shift += Byte.SIZE, byteIndex--) {
+                value |= (bytes[byteIndex] & 0xFFL) << shift;
+            }
+            longs[longIndex] = value;
+        }
+        return longs;
+    }
+
+    /**
+     * Converts longs (big-endian) into bytes with the given length, truncating leading zeros.
+     *
+     * @param longs      the longs.
+     * @param byteLength the number of bytes.
+     * @return the bytes.
+     */
+    private static byte[] longsToBytes(long[] longs, int byteLength) {
+        assert byteLength <= longs.length * Long.BYTES;
+        byte[] bytes = new byte[byteLength];
+        int byteIndex = byteLength - 1;
+        for (int longIndex = longs.length - 1; longIndex >= 0 && byteIndex >= 0; longIndex--) {
+            long value = longs[longIndex];
+            for (int shift = 0; shift < Long.SIZE && byteIndex >= 0; shift += Byte.SIZE, byteIndex--) {
+                bytes[byteIndex] = (byte) (value >>> shift);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Computes (src >>> shift) and keeps the last dest.length longs into dest. Both are big-endian.
+     *
+     * @param src   the source longs.
+     * @param shift the number of shifted bits.
+     * @param dest  the destination longs.
+     */
+    private static void shiftRight(long[] src, int shift, long[] dest) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & (Long.SIZE - 1);
+        // e is the index counting from the least significant long
+        for (int e = 0; e < dest.length; e++) {
+            int srcIndex = src.length - 1 - (e + wordShift);
+            long value = srcIndex >= 0 ? src[srcIndex] >>> bitShift : 0L;
+            if (bitShift != 0 && srcIndex - 1 >= 0) {
+                value |= src[srcIndex - 1] << (Long.SIZE - bitShift);
+            }
+            dest[dest.length - 1 - e] = value;
+        }
+    }
+
+    /**
+     * Computes dest |= (src << shift), where bits exceeding dest are dropped. Both are big-endian.
+     *
+     * @param src   the source longs.
+     * @param shift the number of shifted bits.
+     * @param dest  the destination longs.
+     */
+    private static void shiftLeftOr(long[] src, int shift, long[] dest) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & (Long.SIZE - 1);
+        for (int e = 0; e < src.length; e++) {
+            long value = src[src.length - 1 - e];
+            int destIndex = dest.length - 1 - (e + wordShift);
+            if (destIndex < 0) {
+                break;
+            }
+            dest[destIndex] |= value << bitShift;
+            if (bitShift != 0 && destIndex - 1 >= 0) {
+                dest[destIndex - 1] |= value >>> (Long.SIZE - bitShift);
+            }
+        }
+    }
+
+    /**
+     * Gets the longs of the other bit vector, without copying if the other bit vector is a LongsBitVector.
+     *
+     * @param that the other bit vector.
+     * @return the longs.
+     */
+    private static long[] getLongs(BitVector that) {
+        if (that instanceof LongsBitVector) {
+            return ((LongsBitVector) that).longs;
+        }
+        return bytesToLongs(that.getBytes(), getLongLength(that.bitNum()));
+    }
+
+    @Override
+    public BitVectorFactory.BitVectorType getType() {
+        return BitVectorFactory.BitVectorType.LONGS_BIT_VECTOR;
+    }
+
+    @Override
+    public void set(int index, boolean value) {
+        assert index >= 0 && index < bitNum : "index must be in range [0, " + bitNum + ")";
+        int position = index + offset;
+        long mask = 1L << (Long.SIZE - 1 - (position & (Long.SIZE - 1)));
+        if (value) {
+            longs[position >>> 6] |= mask;
+        } else {
+            longs[position >>> 6] &= ~mask;
+        }
+    }
+
+    @Override
+    public boolean get(int index) {
+        assert index >= 0 && index < bitNum : "index must be in range [0, " + bitNum + ")";
+        int position = index + offset;
+        return (longs[position >>> 6] & (1L << (Long.SIZE - 1 - (position & (Long.SIZE - 1))))) != 0;
+    }
+
+    @Override
+    public BitVector copy() {
+        LongsBitVector copyBitVector = new LongsBitVector();
+        copyBitVector.longs = Arrays.copyOf(longs, longs.length);
+        copyBitVector.bitNum = bitNum;
+        copyBitVector.offset = offset;
+
+        return copyBitVector;
+    }
+
+    @Override
+    public void replaceCopy(BitVector that) {
+        assertEqualBitNum(that);
+        long[] thatLongs = getLongs(that);
+        System.arraycopy(thatLongs, 0, longs, 0, longs.length);
+    }
+
+    @Override
+    public int bitNum() {
+        return bitNum;
+    }
+
+    @Override
+    public int byteNum() {
+        return bitNum == 0 ? 0 : CommonUtils.getByteLength(bitNum);
+    }
+
+    /**
+     * Gets the bit vector represented by longs. The returned longs are the inner data, not a copy.
+     *
+     * @return the bit vector represented by longs.
+     */
+    public long[] getLongs() {
+        return longs;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return longsToBytes(longs, byteNum());
+    }
+
+    @Override
+    public BigInteger getBigInteger() {
+        if (bitNum == 0) {
+            return BigInteger.ZERO;
+        } else {
+            return BigIntegerUtils.byteArrayToNonNegBigInteger(getBytes());
+        }
+    }
+
+    @Override
+    public int bitCount() {
+        int bitCount = 0;
+        for (long value : longs) {
+            bitCount += Long.bitCount(value);
+        }
+        return bitCount;
+    }
+
+    @Override
+    public BitVector split(int bitNum) {
+        assert bitNum > 0 && bitNum <= this.bitNum
+            : "number of split bits must be in range (0, " + this.bitNum + "]: " + bitNum;
+        int remainBitNum = this.bitNum - bitNum;
+        // the split bit vector is the first bitNum bits, i.e., longs >>> remainBitNum
+        long[] splitLongs = new long[CommonUtils.getLongLength(bitNum)];
+        shiftRight(longs, remainBitNum, splitLongs);
+        // the remained bit vector is the last remainBitNum bits
+        reduceLongs(remainBitNum);
+        return create(bitNum, splitLongs);
+    }
+
+    @Override
+    public void reduce(int bitNum) {
+        assert bitNum > 0 && bitNum <= this.bitNum
+            : "number of reduced bits must be in range (0, " + this.bitNum + "]: " + bitNum;
+        if (bitNum < this.bitNum) {
+            reduceLongs(bitNum);
+        }
+    }
+
+    private void reduceLongs(int bitNum) {
+        int remainLongNum = getLongLength(bitNum);
+        if (remainLongNum < longs.length) {
+            longs = Arrays.copyOfRange(longs, longs.length - remainLongNum, longs.length);
+        }
+        if (remainLongNum > 0) {
+            longs[0] &= firstLongMask(bitNum);
+        }
+        this.bitNum = bitNum;
+        offset = remainLongNum * Long.SIZE - bitNum;
+    }
+
+    @Override
+    public void merge(BitVector that) {
+        if (that.bitNum() == 0) {
+            return;
+        }
+        long[] thatLongs = getLongs(that);
+        int mergeBitNum = bitNum + that.bitNum();
+        long[] mergeLongs = new long[CommonUtils.getLongLength(mergeBitNum)];
+        // that is the last bits, so it can be directly copied
+        System.arraycopy(thatLongs, 0, mergeLongs, mergeLongs.length - thatLongs.length, thatLongs.length);
+        // this is the first bits, shift it left by that.bitNum()
+        shiftLeftOr(longs, that.bitNum(), mergeLongs);
+        longs = mergeLongs;
+        bitNum = mergeBitNum;
+        offset = longs.length * Long.SIZE - bitNum;
+    }
+
+    @Override
+    public BitVector xor(BitVector that) {
+        assertEqualBitNum(that);
+        if (bitNum == 0) {
+            return LongsBitVector.createEmpty();
+        }
+        long[] thatLongs = getLongs(that);
+        long[] resultLongs = new long[longs.length];
+        for (int index = 0; index < longs.length; index++) {
+            resultLongs[index] = longs[index] ^ thatLongs[index];
+        }
+        return create(bitNum, resultLongs);
+    }
+
+    @Override
+    public void xori(BitVector that) {
+        assertEqualBitNum(that);
+        long[] thatLongs = getLongs(that);
+        for (int index = 0; index < longs.length; index++) {
+            longs[index] ^= thatLongs[index];
+        }
+    }
+
+    @Override
+    public BitVector and(BitVector that) {
+        assertEqualBitNum(that);
+        if (bitNum == 0) {
+            return LongsBitVector.createEmpty();
+        }
+        long[] thatLongs = getLongs(that);
+        long[] resultLongs = new long[longs.length];
+        for (int index = 0; index < longs.length; index++) {
+            resultLongs[index] = longs[index] & thatLongs[index];
+        }
+        return create(bitNum, resultLongs);
+    }
+
+    @Override
+    public void andi(BitVector that) {
+        assertEqualBitNum(that);
+        long[] thatLongs = getLongs(that);
+        for (int index = 0; index < longs.length; index++) {
+            longs[index] &= thatLongs[index];
+        }
+    }
+
+    @Override
+    public BitVector or(BitVector that) {
+        assertEqualBitNum(that);
+        if (bitNum == 0) {
+            return LongsBitVector.createEmpty();
+        }
+        long[] thatLongs = getLongs(that);
+        long[] resultLongs = new long[longs.length];
+        for (int index = 0; index < longs.length; index++) {
+            resultLongs[index] = longs[index] | thatLongs[index];
+        }
+        return create(bitNum, resultLongs);
+    }
+
+    @Override
+    public void ori(BitVector that) {
+        assertEqualBitNum(that);
+        long[] thatLongs = getLongs(that);
+        for (int index = 0; index < longs.length; index++) {
+            longs[index] |= thatLongs[index];
+        }
+    }
+
+    @Override
+    public BitVector not() {
+        if (bitNum == 0) {
+            return LongsBitVector.createEmpty();
+        }
+        BitVector result = copy();
+        result.noti();
+        return result;
+    }
+
+    @Override
+    public void noti() {
+        if (bitNum == 0) {
+            return;
+        }
+        for (int index = 0; index < longs.length; index++) {
+            longs[index] = ~longs[index];
+        }
+        longs[0] &= firstLongMask(bitNum);
+    }
+
+    private void assertEqualBitNum(BitVector that) {
+        assert bitNum == that.bitNum() : "the given bit vector must contain " + bitNum + " bits: " + that.bitNum();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder()
+            .append(getBytes())
+            .append(bitNum())
+            .hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof LongsBitVector) {
+            LongsBitVector that = (LongsBitVector) obj;
+            return new EqualsBuilder()
+                .append(this.longs, that.longs)
+                .append(this.bitNum, that.bitNum)
+                .isEquals();
+        }
+        if (obj instanceof BitVector) {
+            BitVector that = (BitVector) obj;
+            return new EqualsBuilder()
+                .append(this.getBytes(), that.getBytes())
+                .append(this.bitNum(), that.bitNum())
+                .isEquals();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        if (bitNum == 0) {
+            return "";
+        }
+        StringBuilder bitVectorString = new StringBuilder(getBigInteger().toString(2));
+        while (bitVectorString.length() < bitNum) {
+            bitVectorString.insert(0, "0");
+        }
+        return bitVectorString.toString();
+    }
+
+    @Override
+    public void extendLength(int targetBitLength) {
+        assert bitNum <= targetBitLength;
+        int targetLongLength = getLongLength(targetBitLength);
+        if (longs.length < targetLongLength) {
+            long[] res = new long[targetLongLength];
+            System.arraycopy(longs, 0, res, targetLongLength - longs.length, longs.length);
+            longs = res;
+        }
+        bitNum = targetBitLength;
+        offset = targetLongLength * Long.SIZE - targetBitLength;
+    }
+
+    @Override
+    public BitVector shiftRight(int bitLen) {
+        MathPreconditions.checkGreaterOrEqual("this.bitNum >= bit", this.bitNum, bitLen);
+        if (bitNum == bitLen) {
+            return createEmpty();
+        } else {
+            int resultBitNum = bitNum - bitLen;
+            long[] resultLongs = new long[CommonUtils.getLongLength(resultBitNum)];
+            shiftRight(longs, bitLen, resultLongs);
+            return create(resultBitNum, resultLongs);
+        }
+    }
+
+    @Override
+    public void shiftLeftUnChangeNum(int bit) {
+        MathPreconditions.checkGreaterOrEqual("bit >= 0", bit, 0);
+        if (bit == 0 || bitNum == 0) {
+            return;
+        }
+        long[] resultLongs = new long[longs.length];
+        shiftLeftOr(longs, bit, resultLongs);
+        resultLongs[0] &= firstLongMask(bitNum);
+        longs = resultLongs;
+    }
+
+    @Override
+    public void reverseBits() {
+        if (bitNum == 0) {
+            return;
+        }
+        // reverse all longNum * 64 bits, then the leading zeros become trailing zeros, shift them out
+        long[] reverseLongs = new long[longs.length];
+        for (int index = 0; index < longs.length; index++) {
+            reverseLongs[longs.length - 1 - index] = Long.reverse(longs[index]);
+        }
+        shiftRight(reverseLongs, offset, longs);
+    }
+
+    @Override
+    public BitVector[] splitWithPadding(int[] bitNums) {
+        BitVector[] res = new BitVector[bitNums.length];
+        byte[] src = getBytes();
+        int k = 0;
+        for (int i = 0; i < bitNums.length; i++) {
+            int byteNum = CommonUtils.getByteLength(bitNums[i]);
+            byte[] tmp = Arrays.copyOfRange(src, k, k + byteNum);
+            BytesUtils.reduceByteArray(tmp, bitNums[i]);
+            res[i] = create(bitNums[i], tmp);
+            k += byteNum;
+        }
+        assert k == src.length;
+        return res;
+    }
+}
@@ -1,5 +1,7 @@
 package edu.alibaba.mpc4j.common.tool.crypto.crhf;
 
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+
 /**
  * 抗关联哈希函数（Correlation Robustness Hash Function，CRHF）接口。抗关联哈希函数以128比特为输入，输出128比特的哈希结果。
  * 下述论文给出了抗关联哈希函数的2种实现：
@@ -20,6 +22,49 @@ public interface Crhf {
      */
     byte[] hash(byte[] block);
 
+    /**
+     * 将连续存储的多个输入分组批量哈希为输出分组。输入和输出可以是同一个数组的相同位置（原地哈希）。
+     * 默认实现逐分组调用{@link #hash(byte[])}，实现类可以重写此方法，批量调用底层伪随机置换。
+     *
+     * @param input        输入数组。
+     * @param inputOffset  输入起始位置。
+     * @param output       输出数组。
+     * @param outputOffset 输出起始位置。
+     * @param blockNum     分组数量。
+     */
+    default void hash(byte[] input, int inputOffset, byte[] output, int outputOffset, int blockNum) {
+        assert inputOffset >= 0 && inputOffset + blockNum * CommonConstants.BLOCK_BYTE_LENGTH <= input.length;
+        assert outputOffset >= 0 && outputOffset + blockNum * CommonConstants.BLOCK_BYTE_LENGTH <= output.length;
+        byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int i = 0; i < blockNum; i++) {
+            int offset = i * CommonConstants.BLOCK_BYTE_LENGTH;
+            System.arraycopy(input, inputOffset + offset, block, 0, CommonConstants.BLOCK_BYTE_LENGTH);
+            byte[] hash = hash(block);
+            System.arraycopy(hash, 0, output, outputOffset + offset, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+    }
+
+    /**
+     * 将多个输入分组批量哈希为输出分组。
+     *
+     * @param blocks 输入分组。
+     * @return 哈希结果。
+     */
+    default byte[][] hash(byte[][] blocks) {
+        int blockNum = blocks.length;
+        byte[] buffer = new byte[blockNum * CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int i = 0; i < blockNum; i++) {
+            assert blocks[i].length == CommonConstants.BLOCK_BYTE_LENGTH;
+            System.arraycopy(blocks[i], 0, buffer, i * CommonConstants.BLOCK_BYTE_LENGTH, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+        hash(buffer, 0, buffer, 0, blockNum);
+        byte[][] outputs = new byte[blockNum][CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int i = 0; i < blockNum; i++) {
+            System.arraycopy(buffer, i * CommonConstants.BLOCK_BYTE_LENGTH, outputs[i], 0, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+        return outputs;
+    }
+
     /**
      * 返回抗关联哈希函数类型。
      *
@@ -6,6 +6,8 @@ import edu.alibaba.mpc4j.common.tool.crypto.prp.Prp;
 import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 
+import java.util.Arrays;
+
 /**
  * MMO(x) = π(x) ⊕ x（满足抗关联性），由下述论文第7.2节给出：
  * Guo C, Katz J, Wang X, et al. Efficient and secure multiparty computation from fixed-key block ciphers.
@@ -39,6 +41,25 @@ class MmoCrhf implements Crhf {
         return output;
     }
 
+    @Override
+    public void hash(byte[] input, int inputOffset, byte[] output, int outputOffset, int blockNum) {
+        int byteLength = blockNum * CommonConstants.BLOCK_BYTE_LENGTH;
+        assert inputOffset >= 0 && inputOffset + byteLength <= input.length;
+        assert outputOffset >= 0 && outputOffset + byteLength <= output.length;
+        // 原地哈希时需要保留x
+        byte[] x = input;
+        int xOffset = inputOffset;
+        if (input == output) {
+            x = Arrays.copyOfRange(input, inputOffset, inputOffset + byteLength);
+            xOffset = 0;
+        }
+        // MMO(x) = π(x) ⊕ x
+        prp.prp(x, xOffset, output, outputOffset, blockNum);
+        for (int i = 0; i < byteLength; i++) {
+            output[outputOffset + i] ^= x[xOffset + i];
+        }
+    }
+
     @Override
     public CrhfFactory.CrhfType getCrhfType() {
         return CrhfFactory.CrhfType.MMO;
@@ -53,6 +53,23 @@ class MmoSigmaCrhf implements Crhf {
         return output;
     }
 
+    @Override
+    public void hash(byte[] input, int inputOffset, byte[] output, int outputOffset, int blockNum) {
+        int byteLength = blockNum * CommonConstants.BLOCK_BYTE_LENGTH;
+        assert inputOffset >= 0 && inputOffset + byteLength <= input.length;
+        assert outputOffset >= 0 && outputOffset + byteLength <= output.length;
+        // σ(x)
+        byte[] sigmaX = new byte[byteLength];
+        for (int offset = 0; offset < byteLength; offset += CommonConstants.BLOCK_BYTE_LENGTH) {
+            sigma(input, inputOffset + offset, sigmaX, offset);
+        }
+        // π(σ(x)) ⊕ σ(x)
+        prp.prp(sigmaX, 0, output, outputOffset, blockNum);
+        for (int i = 0; i < byteLength; i++) {
+            output[outputOffset + i] ^= sigmaX[i];
+        }
+    }
+
     @Override
     public CrhfFactory.CrhfType getCrhfType() {
         return CrhfFactory.CrhfType.MMO_SIGMA;
@@ -79,4 +96,24 @@ class MmoSigmaCrhf implements Crhf {
 
         return sigmaX;
     }
+
+    /**
+     * 实现σ(x)，将结果写入指定位置。
+     *
+     * @param x            输入数组。
+     * @param xOffset      输入起始位置。
+     * @param sigmaX       输出数组。
+     * @param sigmaXOffset 输出起始位置。
+     */
+    private static void sigma(byte[] x, int xOffset, byte[] sigmaX, int sigmaXOffset) {
+        // 前64比特：[a_1, a_0] ⊕ [a_0, a_1]
+        for (int i = 0; i < Integer.BYTES; i++) {
+            byte xor = (byte) (x[xOffset + i] ^ x[xOffset + Integer.BYTES + i]);
+            sigmaX[sigmaXOffset + i] = xor;
+            sigmaX[sigmaXOffset + Integer.BYTES + i] = xor;
+        }
+        // 后64比特：[a_3, a_2]
+        System.arraycopy(x, xOffset + Integer.BYTES * 3, sigmaX, sigmaXOffset + Integer.BYTES * 2, Integer.BYTES);
+        System.arraycopy(x, xOffset + Integer.BYTES * 2, sigmaX, sigmaXOffset + Integer.BYTES * 3, Integer.BYTES);
+    }
 }
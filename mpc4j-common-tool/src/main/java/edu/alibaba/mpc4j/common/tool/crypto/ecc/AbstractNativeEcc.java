@@ -5,6 +5,7 @@ import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -73,6 +74,44 @@ public abstract class AbstractNativeEcc extends AbstractEcc implements AutoClose
         }
     }
 
+    @Override
+    public ECPoint[] multiply(ECPoint[] ps, BigInteger r) {
+        if (ps.length == 0) {
+            return new ECPoint[0];
+        }
+        // 本地点字符串要求点已经归一化，批量归一化只需要一次求逆
+        ECPoint[] normalizePs = Arrays.copyOf(ps, ps.length);
+        ecDomainParameters.getCurve().normalizeAll(normalizePs);
+        String[] pointStrings = Arrays.stream(normalizePs)
+            .map(this::ecPointToNativePointString)
+            .toArray(String[]::new);
+        String[] mulPointStrings = nativeEcc.batchMultiply(pointStrings, r.toString(RADIX));
+        return Arrays.stream(mulPointStrings)
+            .map(this::nativePointStringToEcPoint)
+            .toArray(ECPoint[]::new);
+    }
+
+    @Override
+    public ECPoint[] multiply(ECPoint p, BigInteger[] rs) {
+        if (rs.length == 0) {
+            return new ECPoint[0];
+        }
+        String[] rStrings = Arrays.stream(rs).map(r -> r.toString(RADIX)).toArray(String[]::new);
+        String[] mulPointStrings;
+        if (windowHandlerMap.containsKey(p)) {
+            // 先判断给定点是否已经进行了预计算，如果进行过预计算，则用预计算乘法处理
+            mulPointStrings = nativeEcc.batchPrecomputeMultiply(windowHandlerMap.get(p), rStrings);
+        } else {
+            String pointString = ecPointToNativePointString(p);
+            mulPointStrings = Arrays.stream(rStrings)
+                .map(rString -> nativeEcc.multiply(pointString, rString))
+                .toArray(String[]::new);
+        }
+        return Arrays.stream(mulPointStrings)
+            .map(this::nativePointStringToEcPoint)
+            .toArray(ECPoint[]::new);
+    }
+
     /**
      * 将本地点的字符串转换为椭圆曲线点。
      *
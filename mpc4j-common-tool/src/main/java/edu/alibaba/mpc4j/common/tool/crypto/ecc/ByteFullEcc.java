@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * 全功能字节椭圆曲线接口。
@@ -81,6 +82,17 @@ public interface ByteFullEcc extends ByteMulEcc {
      */
     byte[] mul(byte[] p, BigInteger k);
 
+    /**
+     * 批量计算R_i = k · P_i。
+     *
+     * @param ps 椭圆曲线点P_i。
+     * @param k  幂指数k。
+     * @return 结果R_i。
+     */
+    default byte[][] mul(byte[][] ps, BigInteger k) {
+        return Arrays.stream(ps).map(p -> mul(p, k)).toArray(byte[][]::new);
+    }
+
     /**
      * 计算R = k · G。
      *
@@ -1,6 +1,10 @@
 package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.EccBatchUtils;
+
 import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 /**
  * 乘法字节椭圆曲线接口。
@@ -64,6 +68,41 @@ public interface ByteMulEcc {
      */
     byte[] mul(byte[] p, byte[] k);
 
+    /**
+     * 批量计算R_i = k · P_i。本地实现可在一次本地调用中完成全部计算。
+     *
+     * @param ps 椭圆曲线点P_i。
+     * @param k  幂指数k。
+     * @return 结果R_i。
+     */
+    default byte[][] mul(byte[][] ps, byte[] k) {
+        return Arrays.stream(ps).map(p -> mul(p, k)).toArray(byte[][]::new);
+    }
+
+    /**
+     * 批量计算R_i = k · P_i。并发计算时将点分块，每块通过一次批量计算完成，各块并行处理。
+     *
+     * @param ps       椭圆曲线点P_i。
+     * @param k        幂指数k。
+     * @param parallel 是否并发计算。
+     * @return 结果R_i。
+     */
+    default byte[][] mul(byte[][] ps, byte[] k, boolean parallel) {
+        return EccBatchUtils.batch(ps, chunk -> mul(chunk, k), byte[][]::new, parallel);
+    }
+
+    /**
+     * 批量计算R_i = k_i · P_i。本地实现可在一次本地调用中完成全部计算。
+     *
+     * @param ps 椭圆曲线点P_i。
+     * @param ks 幂指数k_i。
+     * @return 结果R_i。
+     */
+    default byte[][] mul(byte[][] ps, byte[][] ks) {
+        assert ps.length == ks.length : "# of points (" + ps.length + ") must be equal to # of scalars (" + ks.length + ")";
+        return IntStream.range(0, ps.length).mapToObj(i -> mul(ps[i], ks[i])).toArray(byte[][]::new);
+    }
+
     /**
      * 计算R = k · G。
      *
@@ -1,11 +1,14 @@
 package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.EccBatchUtils;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.EccMsmUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import org.bouncycastle.crypto.params.ECDomainParameters;
 import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * ECC interface.
@@ -104,6 +107,33 @@ public interface Ecc {
         return getEcDomainParameters().getCurve().decodePoint(encoded);
     }
 
+    /**
+     * Encodes EC points. All points are first normalized together using one (Montgomery's trick) batch inversion,
+     * instead of one inversion per point.
+     *
+     * @param ps         the EC points.
+     * @param compressed whether to encode in compressed form.
+     * @return the encoded points.
+     */
+    default byte[][] encode(ECPoint[] ps, boolean compressed) {
+        ECPoint[] normalizePs = Arrays.copyOf(ps, ps.length);
+        getEcDomainParameters().getCurve().normalizeAll(normalizePs);
+        return Arrays.stream(normalizePs).map(p -> encode(p, compressed)).toArray(byte[][]::new);
+    }
+
+    /**
+     * Encodes EC points. In the parallel case, points are split into chunks, and each chunk is normalized with one
+     * batch inversion.
+     *
+     * @param ps         the EC points.
+     * @param compressed whether to encode in compressed form.
+     * @param parallel   parallel operation.
+     * @return the encoded points.
+     */
+    default byte[][] encode(ECPoint[] ps, boolean compressed, boolean parallel) {
+        return EccBatchUtils.batch(ps, chunk -> encode(chunk, compressed), byte[][]::new, parallel);
+    }
+
     /**
      * Precomputes the EC point for multiplication.
      *
@@ -127,6 +157,59 @@ public interface Ecc {
      */
     ECPoint multiply(ECPoint p, BigInteger r);
 
+    /**
+     * Computes r · P_i for each P_i. Results are normalized together using one batch inversion.
+     *
+     * @param ps the EC points.
+     * @param r  the scalar r.
+     * @return r · P_i for each P_i.
+     */
+    default ECPoint[] multiply(ECPoint[] ps, BigInteger r) {
+        ECPoint[] results = Arrays.stream(ps).map(p -> multiply(p, r)).toArray(ECPoint[]::new);
+        getEcDomainParameters().getCurve().normalizeAll(results);
+        return results;
+    }
+
+    /**
+     * Computes r · P_i for each P_i. In the parallel case, points are split into chunks, and each chunk is computed
+     * by one batch multiplication.
+     *
+     * @param ps       the EC points.
+     * @param r        the scalar r.
+     * @param parallel parallel operation.
+     * @return r · P_i for each P_i.
+     */
+    default ECPoint[] multiply(ECPoint[] ps, BigInteger r, boolean parallel) {
+        return EccBatchUtils.batch(ps, chunk -> multiply(chunk, r), ECPoint[]::new, parallel);
+    }
+
+    /**
+     * Computes r_i · P for each r_i. If P is precomputed, the precomputation is used. Results are normalized together
+     * using one batch inversion.
+     *
+     * @param p  the EC point.
+     * @param rs the scalars.
+     * @return r_i · P for each r_i.
+     */
+    default ECPoint[] multiply(ECPoint p, BigInteger[] rs) {
+        ECPoint[] results = Arrays.stream(rs).map(r -> multiply(p, r)).toArray(ECPoint[]::new);
+        getEcDomainParameters().getCurve().normalizeAll(results);
+        return results;
+    }
+
+    /**
+     * Computes r_i · P for each r_i. In the parallel case, scalars are split into chunks, and each chunk is computed
+     * by one batch multiplication.
+     *
+     * @param p        the EC point.
+     * @param rs       the scalars.
+     * @param parallel parallel operation.
+     * @return r_i · P for each r_i.
+     */
+    default ECPoint[] multiply(ECPoint p, BigInteger[] rs, boolean parallel) {
+        return EccBatchUtils.batch(rs, chunk -> multiply(p, chunk), ECPoint[]::new, parallel);
+    }
+
     /**
      * Adds two EC points, i.e., p + q.
      *
@@ -178,6 +261,20 @@ public interface Ecc {
         return innerProduct;
     }
 
+    /**
+     * Computes the inner-product of the scalar array with the EC point array, i.e., Σ_i r_i · P_i, using the
+     * Pippenger multi-scalar multiplication.
+     *
+     * @param rs the scalars.
+     * @param ps the EC point array.
+     * @return the inner product result.
+     */
+    default ECPoint innerProduct(BigInteger[] rs, ECPoint[] ps) {
+        assert rs.length > 0 && ps.length > 0;
+        assert rs.length == ps.length;
+        return EccMsmUtils.pippenger(getInfinity(), getN(), rs, ps);
+    }
+
     /**
      * Gets the EC type.
      *
@@ -47,6 +47,24 @@ public interface NativeEcc {
      */
     String multiply(String pointString, String rString);
 
+    /**
+     * 批量固定点乘法，在一次本地调用中完成全部计算。
+     *
+     * @param windowHandler 固定点乘法指针。
+     * @param rStrings      幂指数。
+     * @return 用String表示的固定点乘法结果。
+     */
+    String[] batchPrecomputeMultiply(ByteBuffer windowHandler, String[] rStrings);
+
+    /**
+     * 批量椭圆曲线点乘，即用同一个幂指数乘以各个椭圆曲线点，在一次本地调用中完成全部计算。
+     *
+     * @param pointStrings 用String表示的椭圆曲线点。
+     * @param rString      幂指数。
+     * @return 用String表示的乘法结果。
+     */
+    String[] batchMultiply(String[] pointStrings, String rString);
+
     /**
      * 重置。
      */
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc.fourq;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteFullEcc;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.ByteEccUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.FourqByteEccUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
@@ -111,6 +112,11 @@ public class FourqByteFullEcc implements ByteFullEcc {
         return nativeMul(p, byteK);
     }
 
+    @Override
+    public byte[][] mul(byte[][] ps, BigInteger k) {
+        return mul(ps, FourqByteEccUtils.toByteK(k));
+    }
+
     @Override
     public byte[] baseMul(BigInteger k) {
         byte[] byteK = FourqByteEccUtils.toByteK(k);
@@ -164,6 +170,28 @@ public class FourqByteFullEcc implements ByteFullEcc {
         return nativeMul(p, k);
     }
 
+    @Override
+    public byte[][] mul(byte[][] ps, byte[] k) {
+        assert k.length == FourqByteEccUtils.SCALAR_BYTES;
+        if (ps.length == 0) {
+            return new byte[0][];
+        }
+        byte[] data = nativeBatchMul(ByteEccUtils.concat(ps, FourqByteEccUtils.POINT_BYTES), k);
+        return ByteEccUtils.split(data, FourqByteEccUtils.POINT_BYTES);
+    }
+
+    @Override
+    public byte[][] mul(byte[][] ps, byte[][] ks) {
+        assert ps.length == ks.length;
+        if (ps.length == 0) {
+            return new byte[0][];
+        }
+        byte[] data = nativeBatchMul(
+            ByteEccUtils.concat(ps, FourqByteEccUtils.POINT_BYTES), ByteEccUtils.concat(ks, FourqByteEccUtils.SCALAR_BYTES)
+        );
+        return ByteEccUtils.split(data, FourqByteEccUtils.POINT_BYTES);
+    }
+
     @Override
     public byte[] baseMul(byte[] k) {
         assert k.length == FourqByteEccUtils.SCALAR_BYTES;
@@ -187,6 +215,15 @@ public class FourqByteFullEcc implements ByteFullEcc {
 
     private native byte[] nativeMul(byte[] p, byte[] k);
 
+    /**
+     * batch multiplication in one native call.
+     *
+     * @param ps concatenated points.
+     * @param ks one scalar, or concatenated scalars with the same number as points.
+     * @return concatenated results.
+     */
+    private native byte[] nativeBatchMul(byte[] ps, byte[] ks);
+
     private native byte[] nativeBaseMul(byte[] k);
 
     private native boolean nativeIsValidPoint(byte[] p);
@@ -42,6 +42,12 @@ public class SecP256r1OpensslNativeEcc implements NativeEcc {
     @Override
     public native String multiply(String pointString, String rString);
 
+    @Override
+    public native String[] batchPrecomputeMultiply(ByteBuffer windowHandler, String[] rStrings);
+
+    @Override
+    public native String[] batchMultiply(String[] pointStrings, String rString);
+
     @Override
     public native void reset();
 }
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc.sodium;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteFullEcc;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.ByteEccUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.Ed25519ByteEccUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
@@ -170,6 +171,40 @@ public class Ed25519SodiumByteFullEcc implements ByteFullEcc {
 
     private native byte[] nativeMul(byte[] p, byte[] k);
 
+    @Override
+    public byte[][] mul(byte[][] ps, BigInteger k) {
+        return mul(ps, Ed25519ByteEccUtils.toByteK(k));
+    }
+
+    @Override
+    public byte[][] mul(byte[][] ps, byte[] k) {
+        assert k.length == Ed25519ByteEccUtils.SCALAR_BYTES;
+        if (ps.length == 0) {
+            return new byte[0][];
+        }
+        byte[] data = nativeBatchMul(ByteEccUtils.concat(ps, Ed25519ByteEccUtils.POINT_BYTES), k);
+        return ByteEccUtils.split(data, Ed25519ByteEccUtils.POINT_BYTES);
+    }
+
+    @Override
+    public byte[][] mul(byte[][] ps, byte[][] ks) {
+        assert ps.length == ks.length;
+        if (ps.length == 0) {
+            return new byte[0][];
+        }
+        byte[] data = nativeBatchMul(ByteEccUtils.concat(ps, Ed25519ByteEccUtils.POINT_BYTES), ByteEccUtils.concat(ks, Ed25519ByteEccUtils.SCALAR_BYTES));
+        return ByteEccUtils.split(data, Ed25519ByteEccUtils.POINT_BYTES);
+    }
+
+    /**
+     * batch multiplication in one native call.
+     *
+     * @param ps concatenated points.
+     * @param ks one scalar, or concatenated scalars with the same number as points.
+     * @return concatenated results.
+     */
+    private native byte[] nativeBatchMul(byte[] ps, byte[] ks);
+
     private native byte[] nativeBaseMul(byte[] k);
 
     @Override
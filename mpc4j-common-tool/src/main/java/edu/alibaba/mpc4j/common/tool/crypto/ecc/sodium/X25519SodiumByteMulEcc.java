@@ -3,12 +3,14 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc.sodium;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteMulEcc;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.ByteEccUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.X25519ByteEccUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * Sodium实现的X25519乘法字节椭圆曲线。协因子处理方式参见：
@@ -90,6 +92,38 @@ public class X25519SodiumByteMulEcc implements ByteMulEcc {
 
     private native byte[] nativeMul(byte[] p, byte[] k);
 
+    @Override
+    public byte[][] mul(byte[][] ps, byte[] k) {
+        assert Arrays.stream(ps).allMatch(X25519ByteEccUtils::checkPoint);
+        assert X25519ByteEccUtils.checkClampScalar(k);
+        if (ps.length == 0) {
+            return new byte[0][];
+        }
+        byte[] data = nativeBatchMul(ByteEccUtils.concat(ps, X25519ByteEccUtils.POINT_BYTES), k);
+        return ByteEccUtils.split(data, X25519ByteEccUtils.POINT_BYTES);
+    }
+
+    @Override
+    public byte[][] mul(byte[][] ps, byte[][] ks) {
+        assert ps.length == ks.length;
+        assert Arrays.stream(ps).allMatch(X25519ByteEccUtils::checkPoint);
+        assert Arrays.stream(ks).allMatch(X25519ByteEccUtils::checkClampScalar);
+        if (ps.length == 0) {
+            return new byte[0][];
+        }
+        byte[] data = nativeBatchMul(ByteEccUtils.concat(ps, X25519ByteEccUtils.POINT_BYTES), ByteEccUtils.concat(ks, X25519ByteEccUtils.SCALAR_BYTES));
+        return ByteEccUtils.split(data, X25519ByteEccUtils.POINT_BYTES);
+    }
+
+    /**
+     * batch multiplication in one native call.
+     *
+     * @param ps concatenated points.
+     * @param ks one scalar, or concatenated scalars with the same number as points.
+     * @return concatenated results.
+     */
+    private native byte[] nativeBatchMul(byte[] ps, byte[] ks);
+
     @Override
     public byte[] baseMul(byte[] k) {
         assert X25519ByteEccUtils.checkClampScalar(k);
@@ -34,4 +34,36 @@ public final class ByteEccUtils {
         result |= in[offset] << 24;
         return ((long) result) & 0xffffffffL;
     }
+
+    /**
+     * 将定长字节数组拼接为一个字节数组，用于批量本地调用。
+     *
+     * @param byteArrays 字节数组。
+     * @param byteLength 每个字节数组的长度。
+     * @return 拼接结果。
+     */
+    public static byte[] concat(byte[][] byteArrays, int byteLength) {
+        byte[] data = new byte[byteArrays.length * byteLength];
+        for (int i = 0; i < byteArrays.length; i++) {
+            assert byteArrays[i].length == byteLength;
+            System.arraycopy(byteArrays[i], 0, data, i * byteLength, byteLength);
+        }
+        return data;
+    }
+
+    /**
+     * 将拼接的字节数组拆分为定长字节数组。
+     *
+     * @param data       拼接的字节数组。
+     * @param byteLength 每个字节数组的长度。
+     * @return 拆分结果。
+     */
+    public static byte[][] split(byte[] data, int byteLength) {
+        assert data.length % byteLength == 0;
+        byte[][] byteArrays = new byte[data.length / byteLength][byteLength];
+        for (int i = 0; i < byteArrays.length; i++) {
+            System.arraycopy(data, i * byteLength, byteArrays[i], 0, byteLength);
+        }
+        return byteArrays;
+    }
 }
@@ -0,0 +1,57 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc.utils;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Batch EC operation utilities. In the parallel case, inputs are split into chunks, each chunk is handled by one batch
+ * call (e.g., one native call, or one batch inversion for normalization), and chunks are handled in parallel.
+ *
+ * @author Weiran Liu
+ * @date 2023/12/14
+ */
+public class EccBatchUtils {
+    /**
+     * private constructor.
+     */
+    private EccBatchUtils() {
+        // empty
+    }
+
+    /**
+     * number of inputs handled by one batch call in the parallel case.
+     */
+    public static final int PARALLEL_CHUNK_SIZE = 1 << 10;
+
+    /**
+     * Applies the batch function on the inputs. In the parallel case, inputs are split into chunks with size
+     * PARALLEL_CHUNK_SIZE and chunks are handled in parallel.
+     *
+     * @param inputs        inputs.
+     * @param batchFunction the batch function, the output must have the same length as the input.
+     * @param generator     the output array generator.
+     * @param parallel      parallel operation.
+     * @param <T>           input type.
+     * @param <R>           output type.
+     * @return outputs.
+     */
+    public static <T, R> R[] batch(T[] inputs, Function<T[], R[]> batchFunction, IntFunction<R[]> generator,
+                                   boolean parallel) {
+        int num = inputs.length;
+        if (!parallel || num <= PARALLEL_CHUNK_SIZE) {
+            return batchFunction.apply(inputs);
+        }
+        int chunkNum = (num + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        R[] outputs = generator.apply(num);
+        IntStream.range(0, chunkNum).parallel().forEach(chunkIndex -> {
+            int from = chunkIndex * PARALLEL_CHUNK_SIZE;
+            int to = Math.min(from + PARALLEL_CHUNK_SIZE, num);
+            R[] chunkOutputs = batchFunction.apply(Arrays.copyOfRange(inputs, from, to));
+            assert chunkOutputs.length == to - from;
+            System.arraycopy(chunkOutputs, 0, outputs, from, to - from);
+        });
+        return outputs;
+    }
+}
@@ -0,0 +1,117 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc.utils;
+
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Multi-scalar multiplication (MSM) utilities, i.e., computing Σ_i k_i · P_i. We use the Pippenger (bucket) method:
+ * scalars are split into c-bit windows; for each window, points are put into 2^c - 1 buckets according to their
+ * digits, and buckets are summed by the running-sum trick. The cost is about (n + 2^c) · ⌈b / c⌉ additions plus b
+ * doublings, compared with n · b doublings for n independent multiplications, where b is the bit length of scalars.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/26
+ */
+public class EccMsmUtils {
+    /**
+     * private constructor.
+     */
+    private EccMsmUtils() {
+        // empty
+    }
+
+    /**
+     * when the number of points is less than this threshold, we use naive multiply-and-add.
+     */
+    private static final int NAIVE_THRESHOLD = 4;
+
+    /**
+     * Gets the Pippenger window size in bits for the given number of points, i.e., ≈ ln(n) + 2.
+     *
+     * @param n number of points.
+     * @return window size.
+     */
+    public static int getWindowSize(int n) {
+        if (n < 32) {
+            return 3;
+        }
+        // ln(n) ≈ log2(n) · 0.69
+        return (Integer.SIZE - Integer.numberOfLeadingZeros(n)) * 69 / 100 + 2;
+    }
+
+    /**
+     * Computes Σ_i k_i · P_i using the Pippenger method.
+     *
+     * @param infinity the infinity point.
+     * @param order    the order of the group, scalars are reduced modulo the order.
+     * @param ks       scalars.
+     * @param ps       points.
+     * @return Σ_i k_i · P_i.
+     */
+    public static ECPoint pippenger(ECPoint infinity, BigInteger order, BigInteger[] ks, ECPoint[] ps) {
+        assert ks.length == ps.length : "# of scalars (" + ks.length + ") must be equal to # of points (" + ps.length + ")";
+        int n = ps.length;
+        BigInteger[] reduceKs = Arrays.stream(ks).map(k -> k.mod(order)).toArray(BigInteger[]::new);
+        if (n < NAIVE_THRESHOLD) {
+            ECPoint result = infinity;
+            for (int i = 0; i < n; i++) {
+                result = result.add(ps[i].multiply(reduceKs[i]));
+            }
+            return result.normalize();
+        }
+        int bitLength = Arrays.stream(reduceKs).mapToInt(BigInteger::bitLength).max().orElse(0);
+        if (bitLength == 0) {
+            return infinity;
+        }
+        int c = getWindowSize(n);
+        int windowNum = (bitLength + c - 1) / c;
+        // big-endian scalar bytes, so that digits can be read without creating BigIntegers
+        byte[][] kBytes = Arrays.stream(reduceKs).map(BigInteger::toByteArray).toArray(byte[][]::new);
+        ECPoint[] buckets = new ECPoint[(1 << c) - 1];
+        ECPoint result = infinity;
+        for (int w = windowNum - 1; w >= 0; w--) {
+            for (int j = 0; j < c && w != windowNum - 1; j++) {
+                result = result.twice();
+            }
+            Arrays.fill(buckets, null);
+            for (int i = 0; i < n; i++) {
+                int digit = getDigit(kBytes[i], w * c, c);
+                if (digit != 0) {
+                    buckets[digit - 1] = buckets[digit - 1] == null ? ps[i] : buckets[digit - 1].add(ps[i]);
+                }
+            }
+            // running sum: Σ_d d · B_d = Σ_d (Σ_{d' ≥ d} B_d')
+            ECPoint runningSum = infinity;
+            ECPoint windowSum = infinity;
+            for (int d = buckets.length - 1; d >= 0; d--) {
+                if (buckets[d] != null) {
+                    runningSum = runningSum.add(buckets[d]);
+                }
+                windowSum = windowSum.add(runningSum);
+            }
+            result = result.add(windowSum);
+        }
+        return result.normalize();
+    }
+
+    /**
+     * Gets c bits starting from the bit position (from the least significant bit) in the big-endian byte array.
+     *
+     * @param kBytes   big-endian byte array.
+     * @param position the starting bit position.
+     * @param c        number of bits.
+     * @return the digit.
+     */
+    private static int getDigit(byte[] kBytes, int position, int c) {
+        int digit = 0;
+        for (int j = c - 1; j >= 0; j--) {
+            int bitPosition = position + j;
+            int byteIndex = kBytes.length - 1 - (bitPosition >>> 3);
+            int bit = byteIndex < 0 ? 0 : (kBytes[byteIndex] >>> (bitPosition & 7)) & 1;
+            digit = (digit << 1) | bit;
+        }
+        return digit;
+    }
+}
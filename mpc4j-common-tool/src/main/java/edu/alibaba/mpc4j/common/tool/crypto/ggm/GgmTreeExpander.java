@@ -0,0 +1,284 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ggm;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.Prp;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * GGM tree expander. The length-doubling PRG is G(s) = (π_0(s) ⊕ s, π_1(s) ⊕ s), where π_0 and π_1 are fixed-key PRPs
+ * with keys 0 and 1, which is the same as the ECB PRG with 2κ-bit outputs (the TwoKeyPrp in emp-ot).
+ * <p>
+ * All trees are stored in one flat byte array. Level i of the t-th tree occupies blocks [t · 2^i, (t + 1) · 2^i), so that
+ * the children of the j-th block are the (2j)-th and the (2j + 1)-th blocks, and a level of many trees is expanded with
+ * two bulk PRP calls. Each level is expanded in place (from the last block to the first) into the array holding the
+ * leaves, so that only the current level and the PRP outputs of the next level are kept in memory. When running in
+ * parallel, trees are split into groups that are expanded by fork/join tasks; if there are not enough trees, bulk PRP
+ * calls in each level are split instead.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/11/28
+ */
+public class GgmTreeExpander {
+    /**
+     * minimal number of blocks handled by a task when splitting bulk PRP calls
+     */
+    private static final int MIN_PARALLEL_BLOCK_NUM = 1 << 10;
+    /**
+     * tree height
+     */
+    private final int h;
+    /**
+     * number of leaves in each tree
+     */
+    private final int leafNum;
+    /**
+     * parallel
+     */
+    private final boolean parallel;
+    /**
+     * number of tasks
+     */
+    private final int taskNum;
+    /**
+     * π_0 for each task
+     */
+    private final Prp[] leftPrps;
+    /**
+     * π_1 for each task
+     */
+    private final Prp[] rightPrps;
+
+    /**
+     * Creates a GGM tree expander.
+     *
+     * @param envType  environment.
+     * @param h        tree height, i.e., each tree has 2^h leaves.
+     * @param parallel parallel expansion.
+     */
+    public GgmTreeExpander(EnvType envType, int h, boolean parallel) {
+        assert h > 0 && h < Integer.SIZE - 1 : "h must be in range (0, " + (Integer.SIZE - 1) + "): " + h;
+        this.h = h;
+        leafNum = 1 << h;
+        this.parallel = parallel;
+        taskNum = parallel ? ForkJoinPool.getCommonPoolParallelism() : 1;
+        // each task has its own PRP instances, so that bulk PRP calls are not shared among threads
+        leftPrps = IntStream.range(0, taskNum)
+            .mapToObj(taskIndex -> createPrp(envType, 0))
+            .toArray(Prp[]::new);
+        rightPrps = IntStream.range(0, taskNum)
+            .mapToObj(taskIndex -> createPrp(envType, 1))
+            .toArray(Prp[]::new);
+    }
+
+    private static Prp createPrp(EnvType envType, int keyIndex) {
+        Prp prp = PrpFactory.createInstance(envType);
+        byte[] key = ByteBuffer.allocate(CommonConstants.BLOCK_BYTE_LENGTH)
+            .putInt(CommonConstants.BLOCK_BYTE_LENGTH - Integer.BYTES, keyIndex)
+            .array();
+        prp.setKey(key);
+        return prp;
+    }
+
+    /**
+     * Gets the tree height.
+     *
+     * @return tree height.
+     */
+    public int getH() {
+        return h;
+    }
+
+    /**
+     * Gets the number of leaves in each tree.
+     *
+     * @return number of leaves in each tree.
+     */
+    public int getLeafNum() {
+        return leafNum;
+    }
+
+    /**
+     * Fully expands GGM trees. For each tree t and each level i ∈ {1, ..., h}, it also computes
+     * K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i and K_1^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + 1}^i, and places them in the
+     * (t · h + i - 1)-th block of leftSums and rightSums, respectively.
+     *
+     * @param roots     roots, the t-th block is the root of the t-th tree.
+     * @param treeNum   number of trees.
+     * @param leftSums  output K_0^i of all trees, of (treeNum · h) blocks, can be null.
+     * @param rightSums output K_1^i of all trees, of (treeNum · h) blocks, can be null.
+     * @return leaves of all trees, the leaves of the t-th tree are blocks [t · 2^h, (t + 1) · 2^h).
+     */
+    public byte[] expand(byte[] roots, int treeNum, byte[] leftSums, byte[] rightSums) {
+        assert treeNum > 0 : "# of trees must be greater than 0: " + treeNum;
+        assert roots.length == treeNum * CommonConstants.BLOCK_BYTE_LENGTH
+            : "roots byte length must be " + treeNum * CommonConstants.BLOCK_BYTE_LENGTH + ": " + roots.length;
+        assert leftSums == null || leftSums.length == treeNum * h * CommonConstants.BLOCK_BYTE_LENGTH;
+        assert rightSums == null || rightSums.length == treeNum * h * CommonConstants.BLOCK_BYTE_LENGTH;
+        return expand(treeNum, roots, null, null, leftSums, rightSums);
+    }
+
+    /**
+     * Expands punctured GGM trees. The t-th tree is punctured at alphas[t]: the receiver knows
+     * K_{β_i}^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + β_i}^i for each level i, where β_i is the complement of the i-th bit
+     * (from the most significant bit) of alphas[t], and it recovers all leaves except the alphas[t]-th leaf.
+     *
+     * @param alphas        punctured points.
+     * @param puncturedKeys K_{β_i}^i, the (t · h + i - 1)-th block is K_{β_i}^i of the t-th tree.
+     * @return leaves of all trees, the leaves of the t-th tree are blocks [t · 2^h, (t + 1) · 2^h), the punctured
+     * leaves are all 0.
+     */
+    public byte[] puncturedExpand(int[] alphas, byte[] puncturedKeys) {
+        int treeNum = alphas.length;
+        assert treeNum > 0 : "# of trees must be greater than 0: " + treeNum;
+        assert Arrays.stream(alphas).allMatch(alpha -> alpha >= 0 && alpha < leafNum)
+            : "α must be in range [0, " + leafNum + ")";
+        assert puncturedKeys.length == treeNum * h * CommonConstants.BLOCK_BYTE_LENGTH
+            : "punctured key byte length must be " + treeNum * h * CommonConstants.BLOCK_BYTE_LENGTH
+            + ": " + puncturedKeys.length;
+        return expand(treeNum, null, alphas, puncturedKeys, null, null);
+    }
+
+    /**
+     * Gets leaves of a tree.
+     *
+     * @param leaves    leaves of all trees.
+     * @param treeIndex tree index.
+     * @param num       number of leaves to get.
+     * @return the first num leaves of the tree.
+     */
+    public byte[][] getLeaves(byte[] leaves, int treeIndex, int num) {
+        assert num >= 0 && num <= leafNum : "num must be in range [0, " + leafNum + "]: " + num;
+        int offset = treeIndex * leafNum * CommonConstants.BLOCK_BYTE_LENGTH;
+        byte[][] treeLeaves = new byte[num][CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int j = 0; j < num; j++) {
+            System.arraycopy(
+                leaves, offset + j * CommonConstants.BLOCK_BYTE_LENGTH,
+                treeLeaves[j], 0,
+                CommonConstants.BLOCK_BYTE_LENGTH
+            );
+        }
+        return treeLeaves;
+    }
+
+    private byte[] expand(int treeNum, byte[] roots, int[] alphas, byte[] puncturedKeys,
+                          byte[] leftSums, byte[] rightSums) {
+        byte[] leaves = new byte[treeNum * leafNum * CommonConstants.BLOCK_BYTE_LENGTH];
+        // split trees into groups if there are enough trees, otherwise split bulk PRP calls
+        boolean treeParallel = parallel && taskNum > 1 && treeNum >= taskNum;
+        int groupNum = treeParallel ? taskNum : 1;
+        IntStream groupIntStream = IntStream.range(0, groupNum);
+        groupIntStream = treeParallel ? groupIntStream.parallel() : groupIntStream;
+        groupIntStream.forEach(groupIndex -> {
+            int fromTreeIndex = (int) ((long) treeNum * groupIndex / groupNum);
+            int toTreeIndex = (int) ((long) treeNum * (groupIndex + 1) / groupNum);
+            expandGroup(
+                leaves, fromTreeIndex, toTreeIndex - fromTreeIndex, groupIndex, parallel && !treeParallel,
+                roots, alphas, puncturedKeys, leftSums, rightSums
+            );
+        });
+        return leaves;
+    }
+
+    private void expandGroup(byte[] leaves, int treeOffset, int treeNum, int taskIndex, boolean prpParallel,
+                             byte[] roots, int[] alphas, byte[] puncturedKeys, byte[] leftSums, byte[] rightSums) {
+        int offset = treeOffset * leafNum * CommonConstants.BLOCK_BYTE_LENGTH;
+        if (roots != null) {
+            System.arraycopy(
+                roots, treeOffset * CommonConstants.BLOCK_BYTE_LENGTH,
+                leaves, offset,
+                treeNum * CommonConstants.BLOCK_BYTE_LENGTH
+            );
+        }
+        // PRP outputs of the next level, π_0(s) in the first half and π_1(s) in the second half
+        byte[] prpOutputs = new byte[treeNum * leafNum * CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int i = 1; i <= h; i++) {
+            int parentNum = treeNum << (i - 1);
+            int rightOffset = parentNum * CommonConstants.BLOCK_BYTE_LENGTH;
+            prp(leftPrps, leaves, offset, prpOutputs, 0, parentNum, taskIndex, prpParallel);
+            prp(rightPrps, leaves, offset, prpOutputs, rightOffset, parentNum, taskIndex, prpParallel);
+            // (s_{2j}, s_{2j + 1}) = (π_0(s_j) ⊕ s_j, π_1(s_j) ⊕ s_j), from the last block so that s_j is not overwritten
+            for (int j = parentNum - 1; j >= 0; j--) {
+                int parentPos = offset + j * CommonConstants.BLOCK_BYTE_LENGTH;
+                int leftPos = offset + 2 * j * CommonConstants.BLOCK_BYTE_LENGTH;
+                int rightPos = leftPos + CommonConstants.BLOCK_BYTE_LENGTH;
+                int leftPrpPos = j * CommonConstants.BLOCK_BYTE_LENGTH;
+                int rightPrpPos = rightOffset + leftPrpPos;
+                // the right child first, since the left child of s_0 overlaps s_0
+                for (int k = 0; k < CommonConstants.BLOCK_BYTE_LENGTH; k++) {
+                    leaves[rightPos + k] = (byte) (prpOutputs[rightPrpPos + k] ^ leaves[parentPos + k]);
+                }
+                for (int k = 0; k < CommonConstants.BLOCK_BYTE_LENGTH; k++) {
+                    leaves[leftPos + k] = (byte) (prpOutputs[leftPrpPos + k] ^ leaves[parentPos + k]);
+                }
+            }
+            for (int t = 0; t < treeNum; t++) {
+                int treePos = offset + (t << i) * CommonConstants.BLOCK_BYTE_LENGTH;
+                int keyPos = ((treeOffset + t) * h + i - 1) * CommonConstants.BLOCK_BYTE_LENGTH;
+                if (alphas == null) {
+                    if (leftSums != null) {
+                        xorSum(leaves, treePos, 1 << (i - 1), -1, leftSums, keyPos);
+                    }
+                    if (rightSums != null) {
+                        xorSum(leaves, treePos + CommonConstants.BLOCK_BYTE_LENGTH, 1 << (i - 1), -1, rightSums, keyPos);
+                    }
+                } else {
+                    puncture(leaves, treePos, i, alphas[treeOffset + t], puncturedKeys, keyPos);
+                }
+            }
+        }
+    }
+
+    private void prp(Prp[] prps, byte[] input, int inputOffset, byte[] output, int outputOffset, int blockNum,
+                     int taskIndex, boolean prpParallel) {
+        if (prpParallel && blockNum >= MIN_PARALLEL_BLOCK_NUM * 2) {
+            int chunkNum = Math.min(taskNum, blockNum / MIN_PARALLEL_BLOCK_NUM);
+            IntStream.range(0, chunkNum).parallel().forEach(chunkIndex -> {
+                int fromBlockIndex = (int) ((long) blockNum * chunkIndex / chunkNum);
+                int toBlockIndex = (int) ((long) blockNum * (chunkIndex + 1) / chunkNum);
+                prps[chunkIndex].prp(
+                    input, inputOffset + fromBlockIndex * CommonConstants.BLOCK_BYTE_LENGTH,
+                    output, outputOffset + fromBlockIndex * CommonConstants.BLOCK_BYTE_LENGTH,
+                    toBlockIndex - fromBlockIndex
+                );
+            });
+        } else {
+            prps[taskIndex].prp(input, inputOffset, output, outputOffset, blockNum);
+        }
+    }
+
+    /**
+     * XORs every other block (blocks at pos, pos + 2κ, ...) except the skip-th one into sum.
+     */
+    private static void xorSum(byte[] level, int pos, int num, int skip, byte[] sum, int sumPos) {
+        for (int j = 0; j < num; j++) {
+            if (j != skip) {
+                int blockPos = pos + 2 * j * CommonConstants.BLOCK_BYTE_LENGTH;
+                for (int k = 0; k < CommonConstants.BLOCK_BYTE_LENGTH; k++) {
+                    sum[sumPos + k] ^= level[blockPos + k];
+                }
+            }
+        }
+    }
+
+    private void puncture(byte[] level, int treePos, int i, int alpha, byte[] puncturedKeys, int keyPos) {
+        // α_1...α_{i − 1}, the parent on the punctured path is unknown, and its children are expanded from 0
+        int alphaPrefix = alpha >>> (h - i + 1);
+        int alphai = (alpha >>> (h - i)) & 1;
+        int betai = 1 - alphai;
+        // s_{α_1...α_{i − 1} β_i}^i = K_{β_i}^i ⊕ (⊕_{j ≠ α_1...α_{i − 1}} s_{2j + β_i}^i)
+        byte[] sum = Arrays.copyOfRange(puncturedKeys, keyPos, keyPos + CommonConstants.BLOCK_BYTE_LENGTH);
+        xorSum(level, treePos + betai * CommonConstants.BLOCK_BYTE_LENGTH, 1 << (i - 1), alphaPrefix, sum, 0);
+        int betaPos = treePos + ((alphaPrefix << 1) + betai) * CommonConstants.BLOCK_BYTE_LENGTH;
+        System.arraycopy(sum, 0, level, betaPos, CommonConstants.BLOCK_BYTE_LENGTH);
+        // s_{α_1...α_i}^i is unknown
+        int alphaPos = treePos + ((alphaPrefix << 1) + alphai) * CommonConstants.BLOCK_BYTE_LENGTH;
+        Arrays.fill(level, alphaPos, alphaPos + CommonConstants.BLOCK_BYTE_LENGTH, (byte) 0);
+    }
+}
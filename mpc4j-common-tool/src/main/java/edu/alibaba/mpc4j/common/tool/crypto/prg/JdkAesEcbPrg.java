@@ -87,6 +87,34 @@ public class JdkAesEcbPrg implements Prg {
 
     }
 
+    @Override
+    public byte[][] extendToBytes(byte[][] seeds) {
+        int seedNum = seeds.length;
+        int byteLength = seedNum * CommonConstants.BLOCK_BYTE_LENGTH;
+        // 将种子连续存储，每个伪随机置换对所有种子做一次批量置换
+        byte[] seedBuffer = new byte[byteLength];
+        for (int i = 0; i < seedNum; i++) {
+            assert seeds[i].length == CommonConstants.BLOCK_BYTE_LENGTH;
+            System.arraycopy(seeds[i], 0, seedBuffer, i * CommonConstants.BLOCK_BYTE_LENGTH, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+        byte[] prpBuffer = new byte[byteLength];
+        byte[][] outputs = new byte[seedNum][outputByteLength];
+        for (int prpIndex = 0; prpIndex < prps.length; prpIndex++) {
+            // PRF_seed(k) \xor k
+            prps[prpIndex].prp(seedBuffer, 0, prpBuffer, 0, seedNum);
+            int outputOffset = prpIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            int copyByteLength = Math.min(CommonConstants.BLOCK_BYTE_LENGTH, outputByteLength - outputOffset);
+            for (int i = 0; i < seedNum; i++) {
+                int bufferOffset = i * CommonConstants.BLOCK_BYTE_LENGTH;
+                byte[] output = outputs[i];
+                for (int j = 0; j < copyByteLength; j++) {
+                    output[outputOffset + j] = (byte) (prpBuffer[bufferOffset + j] ^ seedBuffer[bufferOffset + j]);
+                }
+            }
+        }
+        return outputs;
+    }
+
     @Override
     public PrgType getPrgType() {
         return PrgType.JDK_AES_ECB;
@@ -22,6 +22,21 @@ public interface Prg {
      */
     byte[] extendToBytes(byte[] seed);
 
+    /**
+     * 将多个输入种子批量扩展为指定字节长度的随机数。默认实现逐个调用{@link #extendToBytes(byte[])}，实现类可以重写此方法，
+     * 批量调用底层伪随机置换以避免逐分组的内存分配。
+     *
+     * @param seeds 种子。
+     * @return 扩展的随机数。
+     */
+    default byte[][] extendToBytes(byte[][] seeds) {
+        byte[][] outputs = new byte[seeds.length][];
+        for (int i = 0; i < seeds.length; i++) {
+            outputs[i] = extendToBytes(seeds[i]);
+        }
+        return outputs;
+    }
+
     /**
      * 返回伪随机数生成器类型。
      *
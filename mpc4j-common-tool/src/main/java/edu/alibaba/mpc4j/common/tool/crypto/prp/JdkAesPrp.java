@@ -6,6 +6,7 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -79,6 +80,39 @@ class JdkAesPrp implements Prp {
         }
     }
 
+    @Override
+    public void prp(byte[] plaintext, int plaintextOffset, byte[] ciphertext, int ciphertextOffset, int blockNum) {
+        assert encryptCipher != null;
+        int byteLength = blockNum * CommonConstants.BLOCK_BYTE_LENGTH;
+        assert plaintextOffset >= 0 && plaintextOffset + byteLength <= plaintext.length;
+        assert ciphertextOffset >= 0 && ciphertextOffset + byteLength <= ciphertext.length;
+        if (blockNum == 0) {
+            return;
+        }
+        try {
+            // ECB模式下各分组独立，一次doFinal即可完成所有分组的置换，JDK支持输入输出为同一数组
+            encryptCipher.doFinal(plaintext, plaintextOffset, byteLength, ciphertext, ciphertextOffset);
+        } catch (IllegalBlockSizeException | BadPaddingException | ShortBufferException e) {
+            throw new IllegalStateException(String.format("Invalid plaintext length: %s bytes", byteLength));
+        }
+    }
+
+    @Override
+    public void invPrp(byte[] ciphertext, int ciphertextOffset, byte[] plaintext, int plaintextOffset, int blockNum) {
+        assert decryptCipher != null;
+        int byteLength = blockNum * CommonConstants.BLOCK_BYTE_LENGTH;
+        assert ciphertextOffset >= 0 && ciphertextOffset + byteLength <= ciphertext.length;
+        assert plaintextOffset >= 0 && plaintextOffset + byteLength <= plaintext.length;
+        if (blockNum == 0) {
+            return;
+        }
+        try {
+            decryptCipher.doFinal(ciphertext, ciphertextOffset, byteLength, plaintext, plaintextOffset);
+        } catch (IllegalBlockSizeException | BadPaddingException | ShortBufferException e) {
+            throw new IllegalStateException(String.format("Invalid ciphertext length: %s bytes", byteLength));
+        }
+    }
+
     @Override
     public PrpFactory.PrpType getPrpType() {
         return PrpFactory.PrpType.JDK_AES;
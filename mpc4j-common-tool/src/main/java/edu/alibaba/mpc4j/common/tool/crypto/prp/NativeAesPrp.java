@@ -52,6 +52,32 @@ public class NativeAesPrp implements Prp, Closeable {
      */
     private native byte[] nativeDecrypt(ByteBuffer keyPointer, byte[] ciphertext);
 
+    /**
+     * 本地批量加密。
+     *
+     * @param keyPointer       本地密钥指针。
+     * @param plaintext        明文数组。
+     * @param plaintextOffset  明文起始位置。
+     * @param ciphertext       密文数组。
+     * @param ciphertextOffset 密文起始位置。
+     * @param blockNum         分组数量。
+     */
+    private native void nativeEncryptBlocks(ByteBuffer keyPointer, byte[] plaintext, int plaintextOffset,
+                                            byte[] ciphertext, int ciphertextOffset, int blockNum);
+
+    /**
+     * 本地批量解密。
+     *
+     * @param keyPointer       本地密钥指针。
+     * @param ciphertext       密文数组。
+     * @param ciphertextOffset 密文起始位置。
+     * @param plaintext        明文数组。
+     * @param plaintextOffset  明文起始位置。
+     * @param blockNum         分组数量。
+     */
+    private native void nativeDecryptBlocks(ByteBuffer keyPointer, byte[] ciphertext, int ciphertextOffset,
+                                            byte[] plaintext, int plaintextOffset, int blockNum);
+
     /**
      * 本地销毁密钥。
      *
@@ -86,6 +112,22 @@ public class NativeAesPrp implements Prp, Closeable {
         return nativeDecrypt(keyPointer, ciphertext);
     }
 
+    @Override
+    public void prp(byte[] plaintext, int plaintextOffset, byte[] ciphertext, int ciphertextOffset, int blockNum) {
+        assert keyPointer != null : "Please set key before encryption";
+        assert plaintextOffset >= 0 && plaintextOffset + blockNum * CommonConstants.BLOCK_BYTE_LENGTH <= plaintext.length;
+        assert ciphertextOffset >= 0 && ciphertextOffset + blockNum * CommonConstants.BLOCK_BYTE_LENGTH <= ciphertext.length;
+        nativeEncryptBlocks(keyPointer, plaintext, plaintextOffset, ciphertext, ciphertextOffset, blockNum);
+    }
+
+    @Override
+    public void invPrp(byte[] ciphertext, int ciphertextOffset, byte[] plaintext, int plaintextOffset, int blockNum) {
+        assert keyPointer != null : "Please set key before decryption";
+        assert ciphertextOffset >= 0 && ciphertextOffset + blockNum * CommonConstants.BLOCK_BYTE_LENGTH <= ciphertext.length;
+        assert plaintextOffset >= 0 && plaintextOffset + blockNum * CommonConstants.BLOCK_BYTE_LENGTH <= plaintext.length;
+        nativeDecryptBlocks(keyPointer, ciphertext, ciphertextOffset, plaintext, plaintextOffset, blockNum);
+    }
+
     @Override
     public PrpType getPrpType() {
         return PrpType.NATIVE_AES;
@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.common.tool.crypto.prp;
 
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory.PrpType;
 
 /**
@@ -32,6 +33,49 @@ public interface Prp {
      */
     byte[] invPrp(byte[] ciphertext);
 
+    /**
+     * 对连续存储的多个明文分组批量伪随机置换。输入和输出可以是同一个数组的相同位置（原地置换）。
+     * 默认实现逐分组调用{@link #prp(byte[])}，实现类可以重写此方法，一次性处理所有分组以避免逐分组的内存分配。
+     *
+     * @param plaintext        明文数组。
+     * @param plaintextOffset  明文起始位置。
+     * @param ciphertext       密文数组。
+     * @param ciphertextOffset 密文起始位置。
+     * @param blockNum         分组数量。
+     */
+    default void prp(byte[] plaintext, int plaintextOffset, byte[] ciphertext, int ciphertextOffset, int blockNum) {
+        assert plaintextOffset >= 0 && plaintextOffset + blockNum * CommonConstants.BLOCK_BYTE_LENGTH <= plaintext.length;
+        assert ciphertextOffset >= 0 && ciphertextOffset + blockNum * CommonConstants.BLOCK_BYTE_LENGTH <= ciphertext.length;
+        byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int i = 0; i < blockNum; i++) {
+            int offset = i * CommonConstants.BLOCK_BYTE_LENGTH;
+            System.arraycopy(plaintext, plaintextOffset + offset, block, 0, CommonConstants.BLOCK_BYTE_LENGTH);
+            byte[] output = prp(block);
+            System.arraycopy(output, 0, ciphertext, ciphertextOffset + offset, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+    }
+
+    /**
+     * 对连续存储的多个密文分组批量逆伪随机置换。输入和输出可以是同一个数组的相同位置（原地置换）。
+     *
+     * @param ciphertext       密文数组。
+     * @param ciphertextOffset 密文起始位置。
+     * @param plaintext        明文数组。
+     * @param plaintextOffset  明文起始位置。
+     * @param blockNum         分组数量。
+     */
+    default void invPrp(byte[] ciphertext, int ciphertextOffset, byte[] plaintext, int plaintextOffset, int blockNum) {
+        assert ciphertextOffset >= 0 && ciphertextOffset + blockNum * CommonConstants.BLOCK_BYTE_LENGTH <= ciphertext.length;
+        assert plaintextOffset >= 0 && plaintextOffset + blockNum * CommonConstants.BLOCK_BYTE_LENGTH <= plaintext.length;
+        byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int i = 0; i < blockNum; i++) {
+            int offset = i * CommonConstants.BLOCK_BYTE_LENGTH;
+            System.arraycopy(ciphertext, ciphertextOffset + offset, block, 0, CommonConstants.BLOCK_BYTE_LENGTH);
+            byte[] output = invPrp(block);
+            System.arraycopy(output, 0, plaintext, plaintextOffset + offset, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+    }
+
     /**
      * 返回伪随机置换类型。
      *
@@ -28,6 +28,23 @@ public interface Tcrhf {
      */
     byte[] hash(int leftIndex, int rightIndex, byte[] block);
 
+    /**
+     * 将多个输入分组批量哈希为输出分组，第i个分组使用第i个索引值。默认实现逐个调用{@link #hash(int, byte[])}，
+     * 实现类可以重写此方法，批量调用底层伪随机置换。
+     *
+     * @param indexes 索引值。
+     * @param blocks  输入分组。
+     * @return 哈希结果。
+     */
+    default byte[][] hash(int[] indexes, byte[][] blocks) {
+        assert indexes.length == blocks.length;
+        byte[][] outputs = new byte[blocks.length][];
+        for (int i = 0; i < blocks.length; i++) {
+            outputs[i] = hash(indexes[i], blocks[i]);
+        }
+        return outputs;
+    }
+
     /**
      * 返回TCRHF类型。
      *
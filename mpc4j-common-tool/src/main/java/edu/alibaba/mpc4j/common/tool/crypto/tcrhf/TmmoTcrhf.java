@@ -66,6 +66,41 @@ class TmmoTcrhf implements Tcrhf {
         return output;
     }
 
+    @Override
+    public byte[][] hash(int[] indexes, byte[][] blocks) {
+        assert indexes.length == blocks.length;
+        int blockNum = blocks.length;
+        int byteLength = blockNum * CommonConstants.BLOCK_BYTE_LENGTH;
+        byte[] buffer = new byte[byteLength];
+        for (int i = 0; i < blockNum; i++) {
+            assert blocks[i].length == CommonConstants.BLOCK_BYTE_LENGTH;
+            System.arraycopy(blocks[i], 0, buffer, i * CommonConstants.BLOCK_BYTE_LENGTH, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+        // π(x)
+        byte[] pai = new byte[byteLength];
+        prp.prp(buffer, 0, pai, 0, blockNum);
+        // π(x) ⊕ i，索引值为分组的最后4个字节
+        System.arraycopy(pai, 0, buffer, 0, byteLength);
+        for (int i = 0; i < blockNum; i++) {
+            int offset = (i + 1) * CommonConstants.BLOCK_BYTE_LENGTH - Integer.BYTES;
+            buffer[offset] ^= (byte) (indexes[i] >>> 24);
+            buffer[offset + 1] ^= (byte) (indexes[i] >>> 16);
+            buffer[offset + 2] ^= (byte) (indexes[i] >>> 8);
+            buffer[offset + 3] ^= (byte) indexes[i];
+        }
+        // π(π(x) ⊕ i)
+        prp.prp(buffer, 0, buffer, 0, blockNum);
+        // TMMO(x) = π(π(x) ⊕ i) ⊕ π(x)
+        byte[][] outputs = new byte[blockNum][CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int i = 0; i < blockNum; i++) {
+            int offset = i * CommonConstants.BLOCK_BYTE_LENGTH;
+            for (int j = 0; j < CommonConstants.BLOCK_BYTE_LENGTH; j++) {
+                outputs[i][j] = (byte) (buffer[offset + j] ^ pai[offset + j]);
+            }
+        }
+        return outputs;
+    }
+
     @Override
     public TcrhfFactory.TcrhfType getTcrhfType() {
         return TcrhfFactory.TcrhfType.TMMO;
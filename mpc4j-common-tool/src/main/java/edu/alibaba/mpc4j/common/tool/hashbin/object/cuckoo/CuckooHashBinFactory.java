@@ -62,6 +62,18 @@ public class CuckooHashBinFactory {
          * 无暂存区，包含3个哈希函数的PSZ18布谷鸟哈希
          */
         NO_STASH_PSZ18_5_HASH,
+        /**
+         * 无暂存区，包含3个哈希函数、由单次哈希计算得到全部桶索引的布谷鸟哈希
+         */
+        NO_STASH_MULTI_INDEX_3_HASH,
+        /**
+         * 无暂存区，包含4个哈希函数、由单次哈希计算得到全部桶索引的布谷鸟哈希
+         */
+        NO_STASH_MULTI_INDEX_4_HASH,
+        /**
+         * 无暂存区，包含5个哈希函数、由单次哈希计算得到全部桶索引的布谷鸟哈希
+         */
+        NO_STASH_MULTI_INDEX_5_HASH,
     }
 
     /**
@@ -99,6 +111,10 @@ public class CuckooHashBinFactory {
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
                 return new Psz18NoStashCuckooHashBin<>(envType, type, maxItemSize, keys);
+            case NO_STASH_MULTI_INDEX_3_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
+                return new MultiIndexNoStashCuckooHashBin<>(envType, type, maxItemSize, keys);
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
@@ -119,13 +135,13 @@ public class CuckooHashBinFactory {
                                                            int maxItemSize, Collection<T> items,
                                                            SecureRandom secureRandom) {
         boolean success = false;
-        int hashNum = getHashNum(type);
+        int hashKeyNum = getHashKeyNum(type);
         byte[][] hashKeys;
         CuckooHashBin<T> cuckooHashBin = null;
         while (!success) {
             try {
                 // construct the cuckoo hash bin iteratively and test if the stash is empty
-                hashKeys = CommonUtils.generateRandomKeys(hashNum, secureRandom);
+                hashKeys = CommonUtils.generateRandomKeys(hashKeyNum, secureRandom);
                 cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(envType, type, maxItemSize, hashKeys);
                 cuckooHashBin.insertItems(items);
                 success = true;
@@ -152,13 +168,13 @@ public class CuckooHashBinFactory {
                                                                          int maxItemSize, Collection<T> items,
                                                                          SecureRandom secureRandom) {
         boolean success = false;
-        int hashNum = getHashNum(type);
+        int hashKeyNum = getHashKeyNum(type);
         byte[][] hashKeys;
         CuckooHashBin<T> cuckooHashBin = null;
         while (!success) {
             try {
                 // construct the cuckoo hash bin iteratively and test if the stash is empty
-                hashKeys = CommonUtils.generateRandomKeys(hashNum, secureRandom);
+                hashKeys = CommonUtils.generateRandomKeys(hashKeyNum, secureRandom);
                 cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(envType, type, maxItemSize, hashKeys);
                 cuckooHashBin.insertItems(items);
                 if (cuckooHashBin.itemNumInStash() == 0) {
@@ -200,6 +216,10 @@ public class CuckooHashBinFactory {
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
                 return new Psz18NoStashCuckooHashBin<>(envType, type, maxItemSize, binNum, keys);
+            case NO_STASH_MULTI_INDEX_3_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
+                return new MultiIndexNoStashCuckooHashBin<>(envType, type, maxItemSize, binNum, keys);
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
@@ -218,6 +238,9 @@ public class CuckooHashBinFactory {
             case NO_STASH_PSZ18_3_HASH:
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
+            case NO_STASH_MULTI_INDEX_3_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
                 return true;
             case NAIVE_2_HASH:
             case NAIVE_3_HASH:
@@ -251,6 +274,10 @@ public class CuckooHashBinFactory {
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
                 return new Psz18NoStashCuckooHashBin<>(envType, type, maxItemSize, keys);
+            case NO_STASH_MULTI_INDEX_3_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
+                return new MultiIndexNoStashCuckooHashBin<>(envType, type, maxItemSize, keys);
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
@@ -280,6 +307,10 @@ public class CuckooHashBinFactory {
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
                 return new Psz18NoStashCuckooHashBin<>(envType, type, maxItemSize, binNum, keys);
+            case NO_STASH_MULTI_INDEX_3_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
+                return new MultiIndexNoStashCuckooHashBin<>(envType, type, maxItemSize, binNum, keys);
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
@@ -290,7 +321,7 @@ public class CuckooHashBinFactory {
     }
 
     private static void checkInputs(CuckooHashBinType type, int maxItemSize, int binNum, byte[][] keys) {
-        MathPreconditions.checkEqual("hashNum", "keys.length", getHashNum(type), keys.length);
+        MathPreconditions.checkEqual("hashKeyNum", "keys.length", getHashKeyNum(type), keys.length);
         switch (type) {
             case NO_STASH_ONE_HASH:
                 MathPreconditions.checkEqual("maxItemSize", "1", maxItemSize, 1);
@@ -303,6 +334,9 @@ public class CuckooHashBinFactory {
             case NO_STASH_PSZ18_3_HASH:
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
+            case NO_STASH_MULTI_INDEX_3_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
                 MathPreconditions.checkPositiveInRangeClosed(
                     "maxItemSize", maxItemSize, CuckooHashBinFactory.MAX_ITEM_SIZE_UPPER_BOUND
                 );
@@ -328,18 +362,69 @@ public class CuckooHashBinFactory {
             case NAIVE_3_HASH:
             case NO_STASH_NAIVE:
             case NO_STASH_PSZ18_3_HASH:
+            case NO_STASH_MULTI_INDEX_3_HASH:
                 return 3;
             case NAIVE_4_HASH:
             case NO_STASH_PSZ18_4_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
                 return 4;
             case NAIVE_5_HASH:
             case NO_STASH_PSZ18_5_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
                 return 5;
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
     }
 
+    /**
+     * Gets the num of hash keys. Multi-index cuckoo hash bins derive all bin indexes from one keyed hash, so they
+     * use only one key. Other cuckoo hash bins use one key for each hash function.
+     *
+     * @param type type.
+     * @return the num of hash keys.
+     */
+    public static int getHashKeyNum(CuckooHashBinType type) {
+        switch (type) {
+            case NO_STASH_MULTI_INDEX_3_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
+                return 1;
+            default:
+                return getHashNum(type);
+        }
+    }
+
+    /**
+     * Checks that the type uses one hash key for each hash function. Protocols in which the other party evaluates each
+     * hash function with its own key from {@link CuckooHashBin#getHashKeys()} cannot use multi-index cuckoo hash bins.
+     *
+     * @param type type.
+     * @throws IllegalArgumentException if the type is a multi-index cuckoo hash bin type.
+     */
+    public static void checkPerHashKeyType(CuckooHashBinType type) {
+        Preconditions.checkArgument(getHashKeyNum(type) == getHashNum(type),
+            "Invalid %s: %s (multi-index type is not supported)", CuckooHashBinType.class.getSimpleName(), type.name()
+        );
+    }
+
+    /**
+     * Creates the multi-index cuckoo hash that computes the same bin indexes as the multi-index cuckoo hash bin.
+     *
+     * @param envType environment.
+     * @param type    type.
+     * @param binNum  bin num.
+     * @param key     the hash key, i.e., the only key in {@link CuckooHashBin#getHashKeys()}.
+     * @return the multi-index cuckoo hash.
+     */
+    public static MultiIndexCuckooHash createMultiIndexCuckooHash(EnvType envType, CuckooHashBinType type,
+                                                                  int binNum, byte[] key) {
+        Preconditions.checkArgument(getHashKeyNum(type) == 1 && getHashNum(type) > 1,
+            "Invalid %s: %s", CuckooHashBinType.class.getSimpleName(), type.name()
+        );
+        return new MultiIndexCuckooHash(envType, getHashNum(type), binNum, key);
+    }
+
     /**
      * 返回布谷鸟哈希的哈希桶数量。
      *
@@ -361,6 +446,10 @@ public class CuckooHashBinFactory {
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
                 return Psz18NoStashCuckooHashBin.getBinNum(type, maxItemSize);
+            case NO_STASH_MULTI_INDEX_3_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
+                return MultiIndexNoStashCuckooHashBin.getBinNum(type, maxItemSize);
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
@@ -388,6 +477,10 @@ public class CuckooHashBinFactory {
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
                 return Psz18NoStashCuckooHashBin.getMaxItemSize(type, binNum);
+            case NO_STASH_MULTI_INDEX_3_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
+                return MultiIndexNoStashCuckooHashBin.getMaxItemSize(type, binNum);
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
@@ -411,6 +504,9 @@ public class CuckooHashBinFactory {
             case NO_STASH_PSZ18_3_HASH:
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
+            case NO_STASH_MULTI_INDEX_3_HASH:
+            case NO_STASH_MULTI_INDEX_4_HASH:
+            case NO_STASH_MULTI_INDEX_5_HASH:
                 return 0;
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
@@ -0,0 +1,146 @@
+package edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo;
+
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
+
+/**
+ * multi-index cuckoo hash. Instead of evaluating one PRF per hash function, all h bin indexes are derived from one PRF
+ * output: the PRF outputs h * 32 bits (one 128-bit block for h ≤ 4), and the i-th index is the i-th 32-bit integer
+ * modulo the bin num. The party that does not hold the cuckoo hash bin (e.g., the PSI server) uses this class with the
+ * same key to compute the same bin indexes.
+ * <p>
+ * The instance is not thread-safe. Create one instance per thread for parallel computation.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/12/04
+ */
+public class MultiIndexCuckooHash {
+    /**
+     * partition size for parallel computation
+     */
+    private static final int PARTITION_SIZE = 1 << 12;
+    /**
+     * environment
+     */
+    private final EnvType envType;
+    /**
+     * hash num
+     */
+    private final int hashNum;
+    /**
+     * bin num
+     */
+    private final int binNum;
+    /**
+     * PRF
+     */
+    private final Prf prf;
+
+    /**
+     * Creates a multi-index cuckoo hash.
+     *
+     * @param envType environment.
+     * @param hashNum hash num.
+     * @param binNum  bin num.
+     * @param key     key.
+     */
+    public MultiIndexCuckooHash(EnvType envType, int hashNum, int binNum, byte[] key) {
+        MathPreconditions.checkPositive("hashNum", hashNum);
+        MathPreconditions.checkPositive("binNum", binNum);
+        this.envType = envType;
+        this.hashNum = hashNum;
+        this.binNum = binNum;
+        prf = PrfFactory.createInstance(envType, hashNum * Integer.BYTES);
+        prf.setKey(key);
+    }
+
+    /**
+     * Gets the hash num.
+     *
+     * @return hash num.
+     */
+    public int getHashNum() {
+        return hashNum;
+    }
+
+    /**
+     * Gets the bin num.
+     *
+     * @return bin num.
+     */
+    public int getBinNum() {
+        return binNum;
+    }
+
+    /**
+     * Gets the key.
+     *
+     * @return key.
+     */
+    public byte[] getKey() {
+        return prf.getKey();
+    }
+
+    /**
+     * Gets the bin indexes of the item.
+     *
+     * @param itemByteArray item byte array.
+     * @return hashNum bin indexes, the i-th index is the bin index for the i-th hash.
+     */
+    public int[] getBinIndexes(byte[] itemByteArray) {
+        int[] binIndexes = new int[hashNum];
+        getBinIndexes(itemByteArray, binIndexes, 0);
+        return binIndexes;
+    }
+
+    /**
+     * Gets the bin indexes of all items. The hashIndex-th bin index of the itemIndex-th item is at
+     * itemIndex * hashNum + hashIndex. In parallel mode, each partition uses its own hash instance.
+     *
+     * @param itemByteArrays item byte arrays.
+     * @param parallel       parallel computation.
+     * @return bin indexes of all items.
+     */
+    public int[] getBinIndexes(byte[][] itemByteArrays, boolean parallel) {
+        int num = itemByteArrays.length;
+        int[] binIndexes = new int[num * hashNum];
+        if (!parallel) {
+            for (int itemIndex = 0; itemIndex < num; itemIndex++) {
+                getBinIndexes(itemByteArrays[itemIndex], binIndexes, itemIndex * hashNum);
+            }
+            return binIndexes;
+        }
+        int partitionNum = CommonUtils.getUnitNum(num, PARTITION_SIZE);
+        byte[] key = getKey();
+        IntStream.range(0, partitionNum).parallel().forEach(partitionIndex -> {
+            MultiIndexCuckooHash partitionHash = new MultiIndexCuckooHash(envType, hashNum, binNum, key);
+            int from = partitionIndex * PARTITION_SIZE;
+            int to = Math.min(from + PARTITION_SIZE, num);
+            for (int itemIndex = from; itemIndex < to; itemIndex++) {
+                partitionHash.getBinIndexes(itemByteArrays[itemIndex], binIndexes, itemIndex * hashNum);
+            }
+        });
+        return binIndexes;
+    }
+
+    /**
+     * Gets the bin indexes of the item, and writes them into the given array.
+     *
+     * @param itemByteArray item byte array.
+     * @param binIndexes    the array to write bin indexes.
+     * @param offset        the offset of the array.
+     */
+    void getBinIndexes(byte[] itemByteArray, int[] binIndexes, int offset) {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(prf.getBytes(itemByteArray));
+        for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
+            binIndexes[offset + hashIndex] = Math.abs(byteBuffer.getInt() % binNum);
+        }
+    }
+}
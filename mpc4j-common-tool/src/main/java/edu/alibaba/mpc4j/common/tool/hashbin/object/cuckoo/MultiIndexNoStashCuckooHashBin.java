@@ -0,0 +1,348 @@
+package edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+/**
+ * multi-index no-stash cuckoo hash bin. The bin num is the same as the PSZ18 no-stash cuckoo hash bin, with the
+ * following optimizations for large item sizes:
+ * <ul>
+ * <li>All bin indexes of an item are derived from one PRF evaluation (see {@link MultiIndexCuckooHash}), instead of
+ * one PRF evaluation per hash function and per eviction.</li>
+ * <li>Bins are stored in primitive arrays (item index and hash index), instead of one hash bin entry per item.</li>
+ * <li>Bin indexes of all items are computed in parallel over partitions of the items, then items are inserted
+ * sequentially on primitive arrays. Therefore, the result is the same as the sequential build.</li>
+ * </ul>
+ *
+ * @author Weiran Liu
+ * @date 2023/12/04
+ */
+class MultiIndexNoStashCuckooHashBin<T> implements NoStashCuckooHashBin<T> {
+    /**
+     * empty bin
+     */
+    private static final int EMPTY_BIN = -1;
+    /**
+     * partition size for computing bin indexes in parallel
+     */
+    private static final int PARTITION_SIZE = 1 << 12;
+
+    /**
+     * Gets the corresponding PSZ18 cuckoo hash bin type.
+     *
+     * @param type type.
+     * @return PSZ18 cuckoo hash bin type.
+     */
+    private static CuckooHashBinType getPsz18Type(CuckooHashBinType type) {
+        switch (type) {
+            case NO_STASH_MULTI_INDEX_3_HASH:
+                return CuckooHashBinType.NO_STASH_PSZ18_3_HASH;
+            case NO_STASH_MULTI_INDEX_4_HASH:
+                return CuckooHashBinType.NO_STASH_PSZ18_4_HASH;
+            case NO_STASH_MULTI_INDEX_5_HASH:
+                return CuckooHashBinType.NO_STASH_PSZ18_5_HASH;
+            default:
+                throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
+        }
+    }
+
+    /**
+     * Gets the bin num.
+     *
+     * @param type        type.
+     * @param maxItemSize max item size.
+     * @return bin num.
+     */
+    static int getBinNum(CuckooHashBinType type, int maxItemSize) {
+        return Psz18NoStashCuckooHashBin.getBinNum(getPsz18Type(type), maxItemSize);
+    }
+
+    /**
+     * Gets the max item size.
+     *
+     * @param type   type.
+     * @param binNum bin num.
+     * @return max item size.
+     */
+    static int getMaxItemSize(CuckooHashBinType type, int binNum) {
+        return Psz18NoStashCuckooHashBin.getMaxItemSize(getPsz18Type(type), binNum);
+    }
+
+    /**
+     * environment
+     */
+    private final EnvType envType;
+    /**
+     * type
+     */
+    private final CuckooHashBinType type;
+    /**
+     * max item size
+     */
+    private final int maxItemSize;
+    /**
+     * hash num
+     */
+    private final int hashNum;
+    /**
+     * bin num
+     */
+    private final int binNum;
+    /**
+     * multi-index hash
+     */
+    private final MultiIndexCuckooHash hash;
+    /**
+     * item index in each bin, EMPTY_BIN for empty bins, -(paddingIndex + 2) for padding items
+     */
+    private final int[] binItemIndexes;
+    /**
+     * hash index in each bin
+     */
+    private final byte[] binHashIndexes;
+    /**
+     * inserted items
+     */
+    private ArrayList<T> items;
+    /**
+     * padding entries
+     */
+    private ArrayList<HashBinEntry<T>> paddingEntries;
+    /**
+     * item size
+     */
+    private int itemSize;
+    /**
+     * whether items are inserted
+     */
+    private boolean insertedItems;
+    /**
+     * padding item size
+     */
+    private int paddingItemSize;
+    /**
+     * whether padding items are inserted
+     */
+    private boolean insertedPaddingItems;
+
+    MultiIndexNoStashCuckooHashBin(EnvType envType, CuckooHashBinType type, int maxItemSize, byte[][] keys) {
+        this(envType, type, maxItemSize, CuckooHashBinFactory.getBinNum(type, maxItemSize), keys);
+    }
+
+    MultiIndexNoStashCuckooHashBin(EnvType envType, CuckooHashBinType type, int maxItemSize, int binNum, byte[][] keys) {
+        assert keys.length == 1;
+        this.envType = envType;
+        this.type = type;
+        this.maxItemSize = maxItemSize;
+        hashNum = CuckooHashBinFactory.getHashNum(type);
+        assert hashNum <= Byte.MAX_VALUE;
+        this.binNum = binNum;
+        hash = new MultiIndexCuckooHash(envType, hashNum, binNum, keys[0]);
+        binItemIndexes = new int[binNum];
+        Arrays.fill(binItemIndexes, EMPTY_BIN);
+        binHashIndexes = new byte[binNum];
+        items = new ArrayList<>(0);
+        paddingEntries = new ArrayList<>(0);
+        itemSize = 0;
+        paddingItemSize = 0;
+        insertedItems = false;
+        insertedPaddingItems = false;
+    }
+
+    @Override
+    public CuckooHashBinType getType() {
+        return type;
+    }
+
+    @Override
+    public void insertItems(Collection<T> items) {
+        Preconditions.checkArgument(!insertedItems && !insertedPaddingItems);
+        MathPreconditions.checkNonNegativeInRangeClosed("itemSize", items.size(), maxItemSize);
+        this.items = new ArrayList<>(items);
+        int num = this.items.size();
+        // compute bin indexes in parallel, each partition uses its own hash instance
+        int[] itemBinIndexes = new int[num * hashNum];
+        int partitionNum = (num + PARTITION_SIZE - 1) / PARTITION_SIZE;
+        IntStream.range(0, partitionNum).parallel().forEach(partitionIndex -> {
+            MultiIndexCuckooHash partitionHash = new MultiIndexCuckooHash(envType, hashNum, binNum, hash.getKey());
+            int from = partitionIndex * PARTITION_SIZE;
+            int to = Math.min(from + PARTITION_SIZE, num);
+            for (int itemIndex = from; itemIndex < to; itemIndex++) {
+                byte[] itemByteArray = ObjectUtils.objectToByteArray(this.items.get(itemIndex));
+                partitionHash.getBinIndexes(itemByteArray, itemBinIndexes, itemIndex * hashNum);
+            }
+        });
+        // insert items sequentially
+        for (int itemIndex = 0; itemIndex < num; itemIndex++) {
+            insertItem(itemIndex, itemBinIndexes);
+        }
+        insertedItems = true;
+    }
+
+    private void insertItem(int itemIndex, int[] itemBinIndexes) {
+        // all previous items are in bins, so a duplicate item must be in one of the bins of the item
+        T item = items.get(itemIndex);
+        for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
+            int existItemIndex = binItemIndexes[itemBinIndexes[itemIndex * hashNum + hashIndex]];
+            if (existItemIndex != EMPTY_BIN && items.get(existItemIndex).equals(item)) {
+                clear();
+                throw new IllegalArgumentException("Inserted items contain duplicate item: " + item);
+            }
+        }
+        int currentItemIndex = itemIndex;
+        int currentHashIndex = 0;
+        for (int totalTries = 0; totalTries <= CuckooHashBinFactory.DEFAULT_MAX_TOTAL_TRIES; totalTries++) {
+            int binIndex = itemBinIndexes[currentItemIndex * hashNum + currentHashIndex];
+            int evictItemIndex = binItemIndexes[binIndex];
+            int evictHashIndex = binHashIndexes[binIndex];
+            binItemIndexes[binIndex] = currentItemIndex;
+            binHashIndexes[binIndex] = (byte) currentHashIndex;
+            if (evictItemIndex == EMPTY_BIN) {
+                itemSize++;
+                return;
+            }
+            // put the evicted item into the bin of its next hash
+            currentItemIndex = evictItemIndex;
+            currentHashIndex = (evictHashIndex + 1) % hashNum;
+        }
+        int currentItemSize = itemSize;
+        clear();
+        throw new ArithmeticException(
+            String.format("Failed to insert items after %s items, no position to put by %s tries",
+                currentItemSize, CuckooHashBinFactory.DEFAULT_MAX_TOTAL_TRIES
+            )
+        );
+    }
+
+    @Override
+    public boolean insertedItems() {
+        return insertedItems;
+    }
+
+    @Override
+    public int getHashNum() {
+        return hashNum;
+    }
+
+    @Override
+    public byte[][] getHashKeys() {
+        return new byte[][]{hash.getKey()};
+    }
+
+    @Override
+    public int maxItemSize() {
+        return maxItemSize;
+    }
+
+    @Override
+    public int itemSize() {
+        return itemSize;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return get(item) != null;
+    }
+
+    @Override
+    public HashBinEntry<T> get(T item) {
+        int[] binIndexes = hash.getBinIndexes(ObjectUtils.objectToByteArray(item));
+        for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
+            int binIndex = binIndexes[hashIndex];
+            int itemIndex = binItemIndexes[binIndex];
+            if (itemIndex >= 0 && binHashIndexes[binIndex] == hashIndex && items.get(itemIndex).equals(item)) {
+                return HashBinEntry.fromRealItem(hashIndex, item);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int binSize(int binIndex) {
+        MathPreconditions.checkNonNegativeInRange("binIndex", binIndex, binNum);
+        return binItemIndexes[binIndex] == EMPTY_BIN ? 0 : 1;
+    }
+
+    @Override
+    public HashBinEntry<T> getHashBinEntry(int binIndex) {
+        MathPreconditions.checkNonNegativeInRange("binIndex", binIndex, binNum);
+        int itemIndex = binItemIndexes[binIndex];
+        if (itemIndex == EMPTY_BIN) {
+            return null;
+        } else if (itemIndex >= 0) {
+            return HashBinEntry.fromRealItem(binHashIndexes[binIndex], items.get(itemIndex));
+        } else {
+            return paddingEntries.get(-itemIndex - 2);
+        }
+    }
+
+    @Override
+    public int binNum() {
+        return binNum;
+    }
+
+    @Override
+    public void insertPaddingItems(SecureRandom secureRandom) {
+        Preconditions.checkArgument(insertedItems && !insertedPaddingItems);
+        for (int binIndex = 0; binIndex < binNum; binIndex++) {
+            if (binItemIndexes[binIndex] == EMPTY_BIN) {
+                binItemIndexes[binIndex] = -(paddingEntries.size() + 2);
+                paddingEntries.add(HashBinEntry.fromDummyItem(secureRandom));
+                paddingItemSize++;
+            }
+        }
+        insertedPaddingItems = true;
+    }
+
+    @Override
+    public void insertPaddingItems(T emptyItem) {
+        Preconditions.checkArgument(insertedItems && !insertedPaddingItems);
+        Preconditions.checkArgument(!contains(emptyItem));
+        // all empty bins share the same (immutable) empty entry
+        paddingEntries.add(HashBinEntry.fromEmptyItem(emptyItem));
+        for (int binIndex = 0; binIndex < binNum; binIndex++) {
+            if (binItemIndexes[binIndex] == EMPTY_BIN) {
+                binItemIndexes[binIndex] = -2;
+                paddingItemSize++;
+            }
+        }
+        insertedPaddingItems = true;
+    }
+
+    @Override
+    public boolean insertedPaddingItems() {
+        return insertedPaddingItems;
+    }
+
+    @Override
+    public int paddingItemSize() {
+        return paddingItemSize;
+    }
+
+    @Override
+    public int size() {
+        return itemSize + paddingItemSize;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(binItemIndexes, EMPTY_BIN);
+        Arrays.fill(binHashIndexes, (byte) 0);
+        items = new ArrayList<>(0);
+        paddingEntries = new ArrayList<>(0);
+        paddingItemSize = 0;
+        itemSize = 0;
+        insertedPaddingItems = false;
+        insertedItems = false;
+    }
+}
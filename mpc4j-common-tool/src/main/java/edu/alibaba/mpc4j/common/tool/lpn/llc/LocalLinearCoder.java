@@ -4,12 +4,9 @@ import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.crypto.prp.Prp;
 import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory;
-import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
-import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 
-import java.nio.ByteBuffer;
 import java.util.stream.IntStream;
 
 /**
@@ -17,7 +14,8 @@ import java.util.stream.IntStream;
  * <p>
  * 此编码的生成矩阵为n * k比特，其中每k行中只有d < k行的值为1，其余值均为0。给定k个输入，本地线性编码将对这k个输入进行编码，得到n个输出。
  * </p>
- * 本实现参考emp-ot中的lpn_f2.h。
+ * 本实现参考emp-ot中的lpn_f2.h。编码按行分块进行，每块用一次批量PRP生成所有行的位置。如果同一编码矩阵要编码多次（如同时编码选择比特和
+ * GF2E域元素），可调用{@link #precompute()}一次性生成n * d的位置矩阵，后续编码不再调用PRP，代价是4 * d * n字节的内存。
  *
  * @author Weiran Liu
  * @date 2022/01/31
@@ -32,6 +30,14 @@ public class LocalLinearCoder {
      */
     private static final int RANDOM_BLOCK_NUM = (int) Math.ceil((double) D * Integer.BYTES
         / CommonConstants.BLOCK_BYTE_LENGTH);
+    /**
+     * 每行随机数的字节长度
+     */
+    private static final int ROW_BYTE_LENGTH = RANDOM_BLOCK_NUM * CommonConstants.BLOCK_BYTE_LENGTH;
+    /**
+     * 分块编码时每块包含的行数，取8的倍数，使z2编码时不同分块写入不同的输出字节。每块的随机数与位置约为88KB，可放入L2缓存
+     */
+    private static final int ROW_BLOCK_SIZE = 1 << 10;
     /**
      * 编码输出行数
      */
@@ -56,6 +62,10 @@ public class LocalLinearCoder {
      * 伪随机置换
      */
     private final Prp prp;
+    /**
+     * 预计算的稀疏矩阵，第i行的d个位置存储在[i * d, (i + 1) * d)，未预计算时为null
+     */
+    private int[] positions;
 
     /**
      * 构造本地线性编码器。
@@ -92,6 +102,33 @@ public class LocalLinearCoder {
         this.parallel = parallel;
     }
 
+    /**
+     * 预计算n * d的稀疏矩阵。预计算后，编码时不再调用伪随机置换。预计算需要4 * d * n字节内存，适用于同一编码矩阵编码多次的场景。
+     */
+    public void precompute() {
+        if (positions != null) {
+            return;
+        }
+        int[] precomputePositions = new int[n * D];
+        IntStream rowBlockIndexIntStream = IntStream.range(0, CommonUtils.getUnitNum(n, ROW_BLOCK_SIZE));
+        rowBlockIndexIntStream = parallel ? rowBlockIndexIntStream.parallel() : rowBlockIndexIntStream;
+        rowBlockIndexIntStream.forEach(rowBlockIndex -> {
+            int fromRowIndex = rowBlockIndex * ROW_BLOCK_SIZE;
+            int toRowIndex = Math.min(fromRowIndex + ROW_BLOCK_SIZE, n);
+            generateSparseRows(fromRowIndex, toRowIndex, precomputePositions, fromRowIndex * D);
+        });
+        positions = precomputePositions;
+    }
+
+    /**
+     * 返回是否已预计算稀疏矩阵。
+     *
+     * @return 是否已预计算稀疏矩阵。
+     */
+    public boolean isPrecomputed() {
+        return positions != null;
+    }
+
     /**
      * 给定k个布尔输入，编码得到n个布尔输出。
      *
@@ -101,13 +138,19 @@ public class LocalLinearCoder {
     public boolean[] binaryEncode(boolean[] inputs) {
         assert inputs.length == k;
         boolean[] outputs = new boolean[n];
-        IntStream rowIndexIntStream = IntStream.range(0, n);
-        rowIndexIntStream = parallel ? rowIndexIntStream.parallel() : rowIndexIntStream;
-        rowIndexIntStream.forEach(rowIndex -> {
-            int[] sparseRow = generateSparseRow(rowIndex);
-            for (int j = 0; j < D; j++) {
-                int position = Math.abs(sparseRow[j] % k);
-                outputs[rowIndex] ^= inputs[position];
+        IntStream rowBlockIndexIntStream = IntStream.range(0, CommonUtils.getUnitNum(n, ROW_BLOCK_SIZE));
+        rowBlockIndexIntStream = parallel ? rowBlockIndexIntStream.parallel() : rowBlockIndexIntStream;
+        rowBlockIndexIntStream.forEach(rowBlockIndex -> {
+            int fromRowIndex = rowBlockIndex * ROW_BLOCK_SIZE;
+            int toRowIndex = Math.min(fromRowIndex + ROW_BLOCK_SIZE, n);
+            int[] blockPositions = getSparseRows(fromRowIndex, toRowIndex);
+            int positionIndex = positions == null ? 0 : fromRowIndex * D;
+            for (int rowIndex = fromRowIndex; rowIndex < toRowIndex; rowIndex++) {
+                boolean output = false;
+                for (int j = 0; j < D; j++, positionIndex++) {
+                    output ^= inputs[blockPositions[positionIndex]];
+                }
+                outputs[rowIndex] = output;
             }
         });
         return outputs;
@@ -122,20 +165,32 @@ public class LocalLinearCoder {
     public byte[][] gf2eEncode(byte[][] inputs) {
         assert inputs.length == k;
         int inputByteLength = inputs[0].length;
-        // 不需要验证输入长度，xor的时候会自动监测
-        IntStream rowIndexIntStream = IntStream.range(0, n);
-        rowIndexIntStream = parallel ? rowIndexIntStream.parallel() : rowIndexIntStream;
-        return rowIndexIntStream
-            .mapToObj(rowIndex -> {
-                int[] sparseRow = generateSparseRow(rowIndex);
+        // 将输入展开为连续数组，提高随机访问输入时的缓存局部性
+        byte[] flatInputs = new byte[k * inputByteLength];
+        for (int index = 0; index < k; index++) {
+            assert inputs[index].length == inputByteLength;
+            System.arraycopy(inputs[index], 0, flatInputs, index * inputByteLength, inputByteLength);
+        }
+        byte[][] outputs = new byte[n][];
+        IntStream rowBlockIndexIntStream = IntStream.range(0, CommonUtils.getUnitNum(n, ROW_BLOCK_SIZE));
+        rowBlockIndexIntStream = parallel ? rowBlockIndexIntStream.parallel() : rowBlockIndexIntStream;
+        rowBlockIndexIntStream.forEach(rowBlockIndex -> {
+            int fromRowIndex = rowBlockIndex * ROW_BLOCK_SIZE;
+            int toRowIndex = Math.min(fromRowIndex + ROW_BLOCK_SIZE, n);
+            int[] blockPositions = getSparseRows(fromRowIndex, toRowIndex);
+            int positionIndex = positions == null ? 0 : fromRowIndex * D;
+            for (int rowIndex = fromRowIndex; rowIndex < toRowIndex; rowIndex++) {
                 byte[] output = new byte[inputByteLength];
-                for (int j = 0; j < D; j++) {
-                    int position = Math.abs(sparseRow[j] % k);
-                    BytesUtils.xori(output, inputs[position]);
+                for (int j = 0; j < D; j++, positionIndex++) {
+                    int inputOffset = blockPositions[positionIndex] * inputByteLength;
+                    for (int byteIndex = 0; byteIndex < inputByteLength; byteIndex++) {
+                        output[byteIndex] ^= flatInputs[inputOffset + byteIndex];
+                    }
                 }
-                return output;
-            })
-            .toArray(byte[][]::new);
+                outputs[rowIndex] = output;
+            }
+        });
+        return outputs;
     }
 
     /**
@@ -147,33 +202,85 @@ public class LocalLinearCoder {
     public byte[] z2Encode(byte[] inputs) {
         assert inputs.length == byteK : "input byte length must be equal to " + byteK + ": " + inputs.length;
         assert BytesUtils.isReduceByteArray(inputs, k) : "input must contains at most " + k + " bits";
-        boolean[] outputs = new boolean[n];
-        IntStream rowIndexIntStream = IntStream.range(0, n);
-        rowIndexIntStream = parallel ? rowIndexIntStream.parallel() : rowIndexIntStream;
-        rowIndexIntStream.forEach(rowIndex -> {
-            int[] sparseRow = generateSparseRow(rowIndex);
-            for (int j = 0; j < D; j++) {
-                int position = Math.abs(sparseRow[j] % k);
-                outputs[rowIndex] ^= BinaryUtils.getBoolean(inputs, offsetK + position);
+        int byteN = CommonUtils.getByteLength(n);
+        int offsetN = byteN * Byte.SIZE - n;
+        byte[] outputs = new byte[byteN];
+        // 按输出比特位置（而非行）分块，每块写入不同的输出字节，可以直接写入压缩后的结果
+        IntStream bitBlockIndexIntStream = IntStream.range(0, CommonUtils.getUnitNum(offsetN + n, ROW_BLOCK_SIZE));
+        bitBlockIndexIntStream = parallel ? bitBlockIndexIntStream.parallel() : bitBlockIndexIntStream;
+        bitBlockIndexIntStream.forEach(bitBlockIndex -> {
+            int fromRowIndex = Math.max(bitBlockIndex * ROW_BLOCK_SIZE - offsetN, 0);
+            int toRowIndex = Math.min((bitBlockIndex + 1) * ROW_BLOCK_SIZE - offsetN, n);
+            int[] blockPositions = getSparseRows(fromRowIndex, toRowIndex);
+            int positionIndex = positions == null ? 0 : fromRowIndex * D;
+            for (int rowIndex = fromRowIndex; rowIndex < toRowIndex; rowIndex++) {
+                int output = 0;
+                for (int j = 0; j < D; j++, positionIndex++) {
+                    int inputBitIndex = offsetK + blockPositions[positionIndex];
+                    output ^= inputs[inputBitIndex >>> 3] >>> (7 - (inputBitIndex & 7));
+                }
+                if ((output & 1) != 0) {
+                    int outputBitIndex = offsetN + rowIndex;
+                    outputs[outputBitIndex >>> 3] |= (byte) (1 << (7 - (outputBitIndex & 7)));
+                }
             }
         });
-        return BinaryUtils.binaryToRoundByteArray(outputs);
+        return outputs;
     }
 
-    private int[] generateSparseRow(int rowIndex) {
-        // block tmp[3]
-        ByteBuffer indexByteBuffer = ByteBuffer.allocate(CommonConstants.BLOCK_BYTE_LENGTH * RANDOM_BLOCK_NUM);
-        // 不重复分配内存
-        ByteBuffer blockByteBuffer = ByteBuffer.allocate(CommonConstants.BLOCK_BYTE_LENGTH);
-        for (int blockIndex = 0; blockIndex < RANDOM_BLOCK_NUM; blockIndex++) {
-            // tmp[m] = makeBlock(i, m)
-            byte[] block = blockByteBuffer
-                .putInt(0, rowIndex)
-                .putInt(CommonConstants.BLOCK_BYTE_LENGTH / 2, blockIndex)
-                .array();
-            // prp->permute_block(tmp, 3)
-            indexByteBuffer.put(prp.prp(block));
+    /**
+     * 返回[fromRowIndex, toRowIndex)行的位置。若已预计算，则返回预计算的位置矩阵，第i行的位置从i * d开始；
+     * 否则生成并返回这些行的位置，第i行的位置从(i - fromRowIndex) * d开始。
+     *
+     * @param fromRowIndex 起始行（包含）。
+     * @param toRowIndex   终止行（不包含）。
+     * @return 位置。
+     */
+    private int[] getSparseRows(int fromRowIndex, int toRowIndex) {
+        if (positions != null) {
+            return positions;
         }
-        return IntUtils.byteArrayToIntArray(indexByteBuffer.array());
+        int[] blockPositions = new int[(toRowIndex - fromRowIndex) * D];
+        generateSparseRows(fromRowIndex, toRowIndex, blockPositions, 0);
+        return blockPositions;
+    }
+
+    private void generateSparseRows(int fromRowIndex, int toRowIndex, int[] dest, int destPos) {
+        int rowNum = toRowIndex - fromRowIndex;
+        if (rowNum <= 0) {
+            return;
+        }
+        // block tmp[3], tmp[m] = makeBlock(i, m)
+        byte[] indexBytes = new byte[rowNum * ROW_BYTE_LENGTH];
+        for (int rowIndex = fromRowIndex; rowIndex < toRowIndex; rowIndex++) {
+            int rowOffset = (rowIndex - fromRowIndex) * ROW_BYTE_LENGTH;
+            for (int blockIndex = 0; blockIndex < RANDOM_BLOCK_NUM; blockIndex++) {
+                int blockOffset = rowOffset + blockIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+                putInt(indexBytes, blockOffset, rowIndex);
+                putInt(indexBytes, blockOffset + CommonConstants.BLOCK_BYTE_LENGTH / 2, blockIndex);
+            }
+        }
+        // prp->permute_block(tmp, 3), all rows in one batch
+        prp.prp(indexBytes, 0, indexBytes, 0, rowNum * RANDOM_BLOCK_NUM);
+        for (int rowOffset = 0; rowOffset < indexBytes.length; rowOffset += ROW_BYTE_LENGTH) {
+            for (int j = 0; j < D; j++) {
+                int position = getInt(indexBytes, rowOffset + j * Integer.BYTES);
+                dest[destPos++] = Math.abs(position % k);
+            }
+        }
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int getInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24)
+            | ((bytes[offset + 1] & 0xFF) << 16)
+            | ((bytes[offset + 2] & 0xFF) << 8)
+            | (bytes[offset + 3] & 0xFF);
     }
 }
@@ -0,0 +1,388 @@
+package edu.alibaba.mpc4j.common.tool.polynomial.zp64;
+
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Zp64 polynomial interpolation and evaluation in pure Java. Polynomial multiplication is done by NTTs over NTT-friendly
+ * primes (see {@link Zp64NttMultiplier}), on top of which interpolation and multipoint evaluation are done with the
+ * subproduct tree in O(n log^2 n), following Chapter 10 of the following book:
+ * <p>
+ * Joachim von zur Gathen, Jürgen Gerhard. Modern Computer Algebra (3rd edition). Cambridge University Press, 2013.
+ * </p>
+ * Near the leaves of the tree (and for small polynomials, e.g., polynomials in hash bins), Horner's method with
+ * Montgomery multiplication is used instead.
+ *
+ * @author Weiran Liu
+ * @date 2023/12/06
+ */
+class JdkNttZp64Poly extends AbstractZp64Poly {
+    /**
+     * use Horner's method when there are no more than this number of points (or coefficients)
+     */
+    private static final int HORNER_THRESHOLD = 32;
+    /**
+     * use the naive division when the quotient has no more than this number of coefficients
+     */
+    private static final int NAIVE_DIVISION_THRESHOLD = 64;
+    /**
+     * Zp64 Montgomery arithmetic
+     */
+    private final Zp64Montgomery zp64;
+    /**
+     * NTT multiplier
+     */
+    private final Zp64NttMultiplier multiplier;
+    /**
+     * random state
+     */
+    private final SecureRandom secureRandom;
+
+    JdkNttZp64Poly(int l) {
+        super(l);
+        zp64 = new Zp64Montgomery(p);
+        multiplier = new Zp64NttMultiplier(zp64);
+        secureRandom = new SecureRandom();
+    }
+
+    JdkNttZp64Poly(long p) {
+        super(p);
+        zp64 = new Zp64Montgomery(p);
+        multiplier = new Zp64NttMultiplier(zp64);
+        secureRandom = new SecureRandom();
+    }
+
+    @Override
+    public Zp64PolyFactory.Zp64PolyType getType() {
+        return Zp64PolyFactory.Zp64PolyType.JDK_NTT;
+    }
+
+    @Override
+    public int coefficientNum(int num) {
+        assert num >= 1 : "# of points must be greater than or equal to 1: " + num;
+        return num;
+    }
+
+    @Override
+    public long[] interpolate(int num, long[] xArray, long[] yArray) {
+        assert xArray.length == yArray.length;
+        assert num >= 1 && xArray.length <= num;
+        for (long x : xArray) {
+            assert validPoint(x);
+        }
+        for (long y : yArray) {
+            assert validPoint(y);
+        }
+        if (xArray.length == 0) {
+            // no points, return a random polynomial
+            return IntStream.range(0, num)
+                .mapToLong(index -> LongUtils.randomNonNegative(p, secureRandom))
+                .toArray();
+        }
+        long[][][] tree = buildSubproductTree(xArray);
+        long[] coefficients = Arrays.copyOf(interpolate(tree, xArray, yArray), num);
+        if (xArray.length < num) {
+            // P_0(x) + (x - x_1) * ... * (x - x_m) * P_r(x)
+            long[] dummyPolynomial = IntStream.range(0, num - xArray.length)
+                .mapToLong(index -> LongUtils.randomNonNegative(p, secureRandom))
+                .toArray();
+            long[] product = multiplier.multiply(root(tree), dummyPolynomial);
+            for (int index = 0; index < num; index++) {
+                coefficients[index] = zp64.add(coefficients[index], product[index]);
+            }
+        }
+        return coefficients;
+    }
+
+    @Override
+    public int rootCoefficientNum(int num) {
+        assert num >= 1 : "# of points must be greater than or equal to 1: " + num;
+        return num + 1;
+    }
+
+    @Override
+    public long[] rootInterpolate(int num, long[] xArray, long y) {
+        assert num >= 1 && xArray.length <= num;
+        if (xArray.length == 0) {
+            // no points, return a random monic polynomial
+            long[] coefficients = new long[num + 1];
+            for (int index = 0; index < num; index++) {
+                coefficients[index] = LongUtils.randomNonNegative(p, secureRandom);
+            }
+            coefficients[num] = 1L;
+            return coefficients;
+        }
+        for (long x : xArray) {
+            assert validPoint(x);
+        }
+        assert validPoint(y);
+        // f(x) = (x - x_1) * ... * (x - x_m)
+        long[] coefficients = root(buildSubproductTree(xArray));
+        if (xArray.length < num) {
+            // multiply a random monic polynomial
+            long[] dummyPolynomial = new long[num - xArray.length + 1];
+            for (int index = 0; index < num - xArray.length; index++) {
+                dummyPolynomial[index] = LongUtils.randomNonNegative(p, secureRandom);
+            }
+            dummyPolynomial[num - xArray.length] = 1L;
+            coefficients = multiplier.multiply(coefficients, dummyPolynomial);
+        }
+        coefficients[0] = zp64.add(coefficients[0], y);
+        return coefficients;
+    }
+
+    @Override
+    public long evaluate(long[] coefficients, long x) {
+        assert coefficients.length >= 1;
+        for (long coefficient : coefficients) {
+            assert validPoint(coefficient);
+        }
+        assert validPoint(x);
+        return horner(coefficients, x);
+    }
+
+    @Override
+    public long[] evaluate(long[] coefficients, long[] xArray) {
+        assert coefficients.length >= 1;
+        for (long coefficient : coefficients) {
+            assert validPoint(coefficient);
+        }
+        for (long x : xArray) {
+            assert validPoint(x);
+        }
+        if (xArray.length <= HORNER_THRESHOLD || coefficients.length <= HORNER_THRESHOLD) {
+            return Arrays.stream(xArray).map(x -> horner(coefficients, x)).toArray();
+        }
+        // evaluate on chunks of points, each chunk has about the same number of points as the degree
+        int chunkSize = coefficients.length;
+        long[] values = new long[xArray.length];
+        for (int from = 0; from < xArray.length; from += chunkSize) {
+            int to = Math.min(from + chunkSize, xArray.length);
+            long[] chunkXs = Arrays.copyOfRange(xArray, from, to);
+            long[][][] tree = buildSubproductTree(chunkXs);
+            long[] chunkValues = new long[chunkXs.length];
+            evaluate(tree, tree.length - 1, 0, coefficients, chunkXs, chunkValues);
+            System.arraycopy(chunkValues, 0, values, from, chunkValues.length);
+        }
+        return values;
+    }
+
+    private long horner(long[] coefficients, long x) {
+        long montX = zp64.toMont(x);
+        long y = 0L;
+        for (int index = coefficients.length - 1; index >= 0; index--) {
+            y = zp64.add(zp64.montMul(y, montX), coefficients[index]);
+        }
+        return y;
+    }
+
+    /**
+     * Builds the subproduct tree. tree[0][i] = x - x_i, and tree[k][i] = tree[k - 1][2i] * tree[k - 1][2i + 1] (or
+     * tree[k - 1][2i] if there is no right child), so that tree[k][i] is the product of (x - x_j) for j in
+     * [i * 2^k, min(m, (i + 1) * 2^k)). The last level contains only the root.
+     *
+     * @param xArray x array, must be non-empty.
+     * @return subproduct tree.
+     */
+    private long[][][] buildSubproductTree(long[] xArray) {
+        assert xArray.length > 0;
+        ArrayList<long[][]> levels = new ArrayList<>();
+        long[][] level = Arrays.stream(xArray)
+            .mapToObj(x -> new long[]{zp64.neg(x), 1L})
+            .toArray(long[][]::new);
+        levels.add(level);
+        while (level.length > 1) {
+            long[][] children = level;
+            level = IntStream.range(0, (children.length + 1) / 2)
+                .mapToObj(index -> 2 * index + 1 < children.length
+                    ? multiplier.multiply(children[2 * index], children[2 * index + 1])
+                    : children[2 * index]
+                )
+                .toArray(long[][]::new);
+            levels.add(level);
+        }
+        return levels.toArray(new long[0][][]);
+    }
+
+    private long[] root(long[][][] tree) {
+        return tree[tree.length - 1][0];
+    }
+
+    /**
+     * Fast interpolation: f(x) = Σ_i y_i / M'(x_i) * M(x) / (x - x_i), where M(x) is the root of the subproduct tree.
+     * The values M'(x_i) are computed by the multipoint evaluation on the same tree, and the sum is computed by
+     * combining the linear combinations from the leaves to the root.
+     */
+    private long[] interpolate(long[][][] tree, long[] xArray, long[] yArray) {
+        int m = xArray.length;
+        long[] rootPolynomial = root(tree);
+        long[] derivative = new long[m];
+        for (int index = 1; index <= m; index++) {
+            derivative[index - 1] = zp64.mul(rootPolynomial[index], index % p);
+        }
+        long[] derivativeValues = new long[m];
+        evaluate(tree, tree.length - 1, 0, derivative, xArray, derivativeValues);
+        // batch inversion of M'(x_i), M'(x_i) = 0 iff x_i is a duplicate point
+        long[] prefixes = new long[m];
+        long prefix = 1L;
+        for (int index = 0; index < m; index++) {
+            if (derivativeValues[index] == 0) {
+                throw new IllegalArgumentException("xArray contains duplicate point: " + xArray[index]);
+            }
+            prefixes[index] = prefix;
+            prefix = zp64.mul(prefix, derivativeValues[index]);
+        }
+        long inverse = zp64.inv(prefix);
+        long[][] level = new long[m][];
+        for (int index = m - 1; index >= 0; index--) {
+            long derivativeInverse = zp64.mul(inverse, prefixes[index]);
+            inverse = zp64.mul(inverse, derivativeValues[index]);
+            level[index] = new long[]{zp64.mul(yArray[index], derivativeInverse)};
+        }
+        // r_i = r_{2i} * M_{2i + 1} + r_{2i + 1} * M_{2i}
+        for (int k = 1; k < tree.length; k++) {
+            long[][] children = level;
+            long[][] childTree = tree[k - 1];
+            level = IntStream.range(0, tree[k].length)
+                .mapToObj(index -> {
+                    if (2 * index + 1 < children.length) {
+                        long[] left = multiplier.multiply(children[2 * index], childTree[2 * index + 1]);
+                        long[] right = multiplier.multiply(children[2 * index + 1], childTree[2 * index]);
+                        return add(left, right);
+                    } else {
+                        return children[2 * index];
+                    }
+                })
+                .toArray(long[][]::new);
+        }
+        return level[0];
+    }
+
+    /**
+     * Fast multipoint evaluation by the remainder tree: f(x_i) = (f mod M_node) (x_i) for all x_i under the node.
+     *
+     * @param tree         subproduct tree.
+     * @param k            level of the node.
+     * @param index        index of the node.
+     * @param coefficients coefficients of f.
+     * @param xArray       x array.
+     * @param values       values to write.
+     */
+    private void evaluate(long[][][] tree, int k, int index, long[] coefficients, long[] xArray, long[] values) {
+        int from = index << k;
+        int to = Math.min(xArray.length, (index + 1) << k);
+        if (k == 0 || to - from <= HORNER_THRESHOLD) {
+            for (int pointIndex = from; pointIndex < to; pointIndex++) {
+                values[pointIndex] = horner(coefficients, xArray[pointIndex]);
+            }
+            return;
+        }
+        long[][] childTree = tree[k - 1];
+        int leftIndex = 2 * index;
+        int rightIndex = 2 * index + 1;
+        if (rightIndex < childTree.length) {
+            evaluate(tree, k - 1, leftIndex, remainder(coefficients, childTree[leftIndex]), xArray, values);
+            evaluate(tree, k - 1, rightIndex, remainder(coefficients, childTree[rightIndex]), xArray, values);
+        } else {
+            // the node has the same points as its only child
+            evaluate(tree, k - 1, leftIndex, coefficients, xArray, values);
+        }
+    }
+
+    /**
+     * Computes f mod g for monic g.
+     *
+     * @param f f.
+     * @param g monic g.
+     * @return f mod g, the length is deg(g).
+     */
+    private long[] remainder(long[] f, long[] g) {
+        int gDegree = g.length - 1;
+        if (f.length <= gDegree) {
+            return Arrays.copyOf(f, gDegree);
+        }
+        int quotientLength = f.length - gDegree;
+        if (quotientLength <= NAIVE_DIVISION_THRESHOLD || gDegree <= NAIVE_DIVISION_THRESHOLD) {
+            return naiveRemainder(f, g);
+        }
+        // rev(q) = rev(f) * rev(g)^{-1} mod x^{deg(f) - deg(g) + 1}
+        long[] reverseF = new long[quotientLength];
+        for (int i = 0; i < quotientLength; i++) {
+            reverseF[i] = f[f.length - 1 - i];
+        }
+        long[] reverseG = new long[Math.min(g.length, quotientLength)];
+        for (int i = 0; i < reverseG.length; i++) {
+            reverseG[i] = g[gDegree - i];
+        }
+        long[] reverseQ = multiplier.multiply(reverseF, inverseSeries(reverseG, quotientLength));
+        long[] q = new long[quotientLength];
+        for (int i = 0; i < quotientLength; i++) {
+            q[i] = reverseQ[quotientLength - 1 - i];
+        }
+        // r = f - q * g, only the lower deg(g) coefficients are needed
+        long[] qg = multiplier.multiply(q, g);
+        long[] r = new long[gDegree];
+        for (int i = 0; i < gDegree; i++) {
+            r[i] = zp64.sub(f[i], qg[i]);
+        }
+        return r;
+    }
+
+    private long[] naiveRemainder(long[] f, long[] g) {
+        int gDegree = g.length - 1;
+        long[] montG = Arrays.stream(g).map(zp64::toMont).toArray();
+        long[] r = Arrays.copyOf(f, f.length);
+        for (int i = f.length - 1; i >= gDegree; i--) {
+            long c = r[i];
+            if (c == 0) {
+                continue;
+            }
+            for (int j = 0; j < gDegree; j++) {
+                r[i - gDegree + j] = zp64.sub(r[i - gDegree + j], zp64.montMul(c, montG[j]));
+            }
+            r[i] = 0L;
+        }
+        return Arrays.copyOf(r, gDegree);
+    }
+
+    /**
+     * Computes a^{-1} mod x^n by Newton iteration b ← b + b * (1 - a * b), requiring a[0] = 1.
+     *
+     * @param a a.
+     * @param n n.
+     * @return a^{-1} mod x^n.
+     */
+    private long[] inverseSeries(long[] a, int n) {
+        assert a[0] == 1L;
+        long[] b = new long[]{1L};
+        int precision = 1;
+        while (precision < n) {
+            precision = Math.min(precision << 1, n);
+            long[] ab = multiplier.multiply(Arrays.copyOf(a, Math.min(a.length, precision)), b);
+            long[] e = new long[precision];
+            for (int i = 0; i < precision; i++) {
+                e[i] = zp64.neg(i < ab.length ? ab[i] : 0L);
+            }
+            e[0] = zp64.add(e[0], 1L);
+            long[] be = multiplier.multiply(b, e);
+            long[] next = Arrays.copyOf(b, precision);
+            for (int i = 0; i < precision; i++) {
+                next[i] = zp64.add(next[i], be[i]);
+            }
+            b = next;
+        }
+        return b;
+    }
+
+    private long[] add(long[] a, long[] b) {
+        long[] c = Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int i = 0; i < b.length; i++) {
+            c[i] = zp64.add(c[i], b[i]);
+        }
+        return c;
+    }
+}
@@ -0,0 +1,166 @@
+package edu.alibaba.mpc4j.common.tool.polynomial.zp64;
+
+import java.math.BigInteger;
+
+/**
+ * Zp64 Montgomery arithmetic with R = 2^64, supporting odd p < 2^63. All inputs and outputs of add / sub / neg / mul
+ * are in the normal form. montMul(a, b) outputs a * b * R^{-1} mod p, so that montMul(a, toMont(b)) = a * b mod p
+ * costs only one reduction when b is fixed (e.g., Horner evaluation, schoolbook multiplication).
+ * <p>
+ * The 128-bit product is computed by the unsigned multiply-high of Hacker's Delight, since Math.multiplyHigh is not
+ * available in Java 8.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/12/06
+ */
+class Zp64Montgomery {
+    /**
+     * mask for the lower 32 bits
+     */
+    private static final long MASK_32 = 0xFFFFFFFFL;
+    /**
+     * p
+     */
+    private final long p;
+    /**
+     * -p^{-1} mod 2^64
+     */
+    private final long pNegInv;
+    /**
+     * R^2 mod p
+     */
+    private final long r2;
+
+    Zp64Montgomery(long p) {
+        assert p > 2 && (p & 1) == 1 : "p must be an odd prime: " + p;
+        this.p = p;
+        // Newton iteration for p^{-1} mod 2^64, p * p = 1 mod 8 gives 3 correct bits, each iteration doubles the bits
+        long inv = p;
+        for (int i = 0; i < 5; i++) {
+            inv *= 2 - p * inv;
+        }
+        pNegInv = -inv;
+        r2 = BigInteger.ONE.shiftLeft(Long.SIZE * 2).mod(BigInteger.valueOf(p)).longValue();
+    }
+
+    /**
+     * Computes the higher 64 bits of the unsigned 128-bit product x * y.
+     *
+     * @param x x.
+     * @param y y.
+     * @return higher 64 bits of x * y.
+     */
+    static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & MASK_32;
+        long x1 = x >>> 32;
+        long y0 = y & MASK_32;
+        long y1 = y >>> 32;
+        long w0 = x0 * y0;
+        long t = x1 * y0 + (w0 >>> 32);
+        long w1 = (t & MASK_32) + x0 * y1;
+        return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+    }
+
+    /**
+     * Gets p.
+     *
+     * @return p.
+     */
+    long getPrime() {
+        return p;
+    }
+
+    /**
+     * Computes a * b * R^{-1} mod p. Requires a * b < p * R.
+     *
+     * @param a a.
+     * @param b b.
+     * @return a * b * R^{-1} mod p.
+     */
+    long montMul(long a, long b) {
+        long lo = a * b;
+        long hi = unsignedMultiplyHigh(a, b);
+        long m = lo * pNegInv;
+        // lo + lo(m * p) = 0 mod 2^64, so there is a carry iff lo != 0
+        long u = hi + unsignedMultiplyHigh(m, p) + (lo != 0 ? 1 : 0);
+        return Long.compareUnsigned(u, p) >= 0 ? u - p : u;
+    }
+
+    /**
+     * Converts a to the Montgomery form a * R mod p.
+     *
+     * @param a a.
+     * @return a * R mod p.
+     */
+    long toMont(long a) {
+        return montMul(a, r2);
+    }
+
+    /**
+     * Computes a * b mod p.
+     *
+     * @param a a.
+     * @param b b.
+     * @return a * b mod p.
+     */
+    long mul(long a, long b) {
+        return montMul(montMul(a, b), r2);
+    }
+
+    /**
+     * Computes a + b mod p.
+     *
+     * @param a a.
+     * @param b b.
+     * @return a + b mod p.
+     */
+    long add(long a, long b) {
+        // a + b < 2^64 may overflow to negative, the subtraction is still correct in two's complement
+        long s = a + b;
+        return (s < 0 || s >= p) ? s - p : s;
+    }
+
+    /**
+     * Computes a - b mod p.
+     *
+     * @param a a.
+     * @param b b.
+     * @return a - b mod p.
+     */
+    long sub(long a, long b) {
+        long d = a - b;
+        return d < 0 ? d + p : d;
+    }
+
+    /**
+     * Computes -a mod p.
+     *
+     * @param a a.
+     * @return -a mod p.
+     */
+    long neg(long a) {
+        return a == 0 ? 0 : p - a;
+    }
+
+    /**
+     * Computes a^{-1} mod p by Fermat's little theorem.
+     *
+     * @param a a.
+     * @return a^{-1} mod p.
+     */
+    long inv(long a) {
+        assert a != 0 : "0 is not invertible";
+        long base = toMont(a);
+        long result = toMont(1L);
+        long e = p - 2;
+        while (e != 0) {
+            if ((e & 1) == 1) {
+                result = montMul(result, base);
+            }
+            base = montMul(base, base);
+            e >>>= 1;
+        }
+        return montMul(result, 1L);
+    }
+}
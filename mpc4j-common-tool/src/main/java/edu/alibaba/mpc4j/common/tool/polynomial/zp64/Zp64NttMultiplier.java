@@ -0,0 +1,289 @@
+package edu.alibaba.mpc4j.common.tool.polynomial.zp64;
+
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Zp64 polynomial multiplier. Small products are computed by the schoolbook method. Large products are computed by
+ * iterative in-place NTTs over (at most 5) NTT-friendly primes q_i = c_i * 2^k_i + 1 < 2^31, and the coefficients are
+ * reconstructed modulo p by Garner's CRT algorithm. Since q_i < 2^31, all NTT arithmetic is Montgomery arithmetic
+ * with R = 2^32 on long, so that any p < 2^63 is supported without native libraries.
+ * <p>
+ * The number of NTT primes is chosen so that their product exceeds the bound min(|a|, |b|) * (p - 1)^2 of the integer
+ * coefficients. The multiplier is immutable and thread-safe.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/12/06
+ */
+class Zp64NttMultiplier {
+    /**
+     * NTT-friendly primes, all in (2^30, 2^31)
+     */
+    private static final long[] NTT_PRIMES = new long[]{
+        2113929217L, 2013265921L, 1811939329L, 1711276033L, 1107296257L,
+    };
+    /**
+     * primitive roots of the NTT-friendly primes
+     */
+    private static final long[] PRIMITIVE_ROOTS = new long[]{5L, 31L, 13L, 29L, 10L};
+    /**
+     * max log(n) of the NTT, i.e., the min 2-adicity of the NTT-friendly primes
+     */
+    static final int MAX_LOG_N = 25;
+    /**
+     * use the schoolbook method when the shorter polynomial has no more than this number of coefficients
+     */
+    private static final int SCHOOLBOOK_THRESHOLD = 64;
+    /**
+     * mask for the lower 32 bits
+     */
+    private static final long MASK_32 = 0xFFFFFFFFL;
+    /**
+     * -q^{-1} mod 2^32
+     */
+    private static final long[] Q_NEG_INVS;
+    /**
+     * R mod q, i.e., 1 in the Montgomery form
+     */
+    private static final long[] ONES;
+    /**
+     * ROOTS[i][k] is the primitive 2^k-th root of unity modulo q_i in the Montgomery form
+     */
+    private static final long[][] ROOTS;
+    /**
+     * INV_ROOTS[i][k] is the inverse of ROOTS[i][k] in the Montgomery form
+     */
+    private static final long[][] INV_ROOTS;
+    /**
+     * SCALES[i][k] = 2^{-k} * R^2 mod q_i, which scales the inverse NTT and removes the R^{-1} of the point-wise product
+     */
+    private static final long[][] SCALES;
+    /**
+     * INV_PREFIXES[i] = (q_0 * ... * q_{i - 1})^{-1} mod q_i
+     */
+    private static final long[] INV_PREFIXES;
+    /**
+     * PREFIX_BIT_LENGTHS[k] = floor(log(q_0 * ... * q_{k - 1}))
+     */
+    private static final int[] PREFIX_BIT_LENGTHS;
+
+    static {
+        int primeNum = NTT_PRIMES.length;
+        Q_NEG_INVS = new long[primeNum];
+        ONES = new long[primeNum];
+        ROOTS = new long[primeNum][MAX_LOG_N + 1];
+        INV_ROOTS = new long[primeNum][MAX_LOG_N + 1];
+        SCALES = new long[primeNum][MAX_LOG_N + 1];
+        INV_PREFIXES = new long[primeNum];
+        PREFIX_BIT_LENGTHS = new int[primeNum + 1];
+        BigInteger r = BigInteger.ONE.shiftLeft(Integer.SIZE);
+        BigInteger prefix = BigInteger.ONE;
+        for (int i = 0; i < primeNum; i++) {
+            BigInteger q = BigInteger.valueOf(NTT_PRIMES[i]);
+            assert q.isProbablePrime(40);
+            assert NTT_PRIMES[i] % (1L << MAX_LOG_N) == 1;
+            Q_NEG_INVS[i] = q.modInverse(r).negate().mod(r).longValue();
+            ONES[i] = r.mod(q).longValue();
+            BigInteger g = BigInteger.valueOf(PRIMITIVE_ROOTS[i]);
+            BigInteger r2 = r.multiply(r).mod(q);
+            for (int k = 0; k <= MAX_LOG_N; k++) {
+                BigInteger root = g.modPow(q.subtract(BigInteger.ONE).shiftRight(k), q);
+                ROOTS[i][k] = root.multiply(r).mod(q).longValue();
+                INV_ROOTS[i][k] = root.modInverse(q).multiply(r).mod(q).longValue();
+                SCALES[i][k] = BigInteger.ONE.shiftLeft(k).modInverse(q).multiply(r2).mod(q).longValue();
+            }
+            INV_PREFIXES[i] = prefix.modInverse(q).longValue();
+            PREFIX_BIT_LENGTHS[i] = prefix.bitLength() - 1;
+            prefix = prefix.multiply(q);
+        }
+        PREFIX_BIT_LENGTHS[primeNum] = prefix.bitLength() - 1;
+    }
+
+    /**
+     * Zp64 Montgomery arithmetic
+     */
+    private final Zp64Montgomery zp64;
+    /**
+     * bit length of p
+     */
+    private final int pBitLength;
+    /**
+     * (q_0 * ... * q_{i - 1}) mod p in the Montgomery form
+     */
+    private final long[] montPrefixes;
+
+    Zp64NttMultiplier(Zp64Montgomery zp64) {
+        this.zp64 = zp64;
+        long p = zp64.getPrime();
+        pBitLength = Long.SIZE - Long.numberOfLeadingZeros(p);
+        BigInteger bigP = BigInteger.valueOf(p);
+        montPrefixes = new long[NTT_PRIMES.length];
+        BigInteger prefix = BigInteger.ONE;
+        for (int i = 0; i < NTT_PRIMES.length; i++) {
+            montPrefixes[i] = zp64.toMont(prefix.mod(bigP).longValue());
+            prefix = prefix.multiply(BigInteger.valueOf(NTT_PRIMES[i]));
+        }
+    }
+
+    /**
+     * Computes a * b mod p.
+     *
+     * @param a coefficients of a, from the lowest degree.
+     * @param b coefficients of b, from the lowest degree.
+     * @return coefficients of a * b, the length is |a| + |b| - 1.
+     */
+    long[] multiply(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return new long[0];
+        }
+        if (Math.min(a.length, b.length) <= SCHOOLBOOK_THRESHOLD) {
+            return schoolbookMultiply(a, b);
+        }
+        return nttMultiply(a, b);
+    }
+
+    private long[] schoolbookMultiply(long[] a, long[] b) {
+        if (a.length < b.length) {
+            return schoolbookMultiply(b, a);
+        }
+        // montMul(a_i, b_j * R) = a_i * b_j, so that each product costs one reduction
+        long[] montB = Arrays.stream(b).map(zp64::toMont).toArray();
+        long[] c = new long[a.length + b.length - 1];
+        for (int j = 0; j < montB.length; j++) {
+            long montBj = montB[j];
+            if (montBj == 0) {
+                continue;
+            }
+            for (int i = 0; i < a.length; i++) {
+                c[i + j] = zp64.add(c[i + j], zp64.montMul(a[i], montBj));
+            }
+        }
+        return c;
+    }
+
+    private long[] nttMultiply(long[] a, long[] b) {
+        int resultLength = a.length + b.length - 1;
+        int logN = LongUtils.ceilLog2(resultLength);
+        assert logN <= MAX_LOG_N : "log(n) must be less than or equal to " + MAX_LOG_N + ": " + logN;
+        int n = 1 << logN;
+        // the integer coefficients are bounded by min(|a|, |b|) * (p - 1)^2
+        int boundBitLength = 2 * pBitLength + LongUtils.ceilLog2(Math.min(a.length, b.length));
+        int primeNum = 1;
+        while (primeNum < NTT_PRIMES.length && PREFIX_BIT_LENGTHS[primeNum] < boundBitLength) {
+            primeNum++;
+        }
+        assert PREFIX_BIT_LENGTHS[primeNum] >= boundBitLength
+            : "product is too large to reconstruct: " + boundBitLength + " bits";
+        long[][] residues = new long[primeNum][];
+        for (int primeIndex = 0; primeIndex < primeNum; primeIndex++) {
+            long q = NTT_PRIMES[primeIndex];
+            long qNegInv = Q_NEG_INVS[primeIndex];
+            long[] fa = new long[n];
+            long[] fb = new long[n];
+            for (int i = 0; i < a.length; i++) {
+                fa[i] = a[i] % q;
+            }
+            for (int i = 0; i < b.length; i++) {
+                fb[i] = b[i] % q;
+            }
+            ntt(fa, logN, primeIndex, ROOTS[primeIndex]);
+            ntt(fb, logN, primeIndex, ROOTS[primeIndex]);
+            for (int i = 0; i < n; i++) {
+                fa[i] = montMul(fa[i], fb[i], q, qNegInv);
+            }
+            ntt(fa, logN, primeIndex, INV_ROOTS[primeIndex]);
+            long scale = SCALES[primeIndex][logN];
+            for (int i = 0; i < resultLength; i++) {
+                fa[i] = montMul(fa[i], scale, q, qNegInv);
+            }
+            residues[primeIndex] = fa;
+        }
+        return garner(residues, primeNum, resultLength);
+    }
+
+    private long[] garner(long[][] residues, int primeNum, int resultLength) {
+        long[] c = new long[resultLength];
+        long[] digits = new long[primeNum];
+        for (int index = 0; index < resultLength; index++) {
+            // mixed-radix digits: x = d_0 + d_1 * q_0 + d_2 * q_0 * q_1 + ...
+            for (int i = 0; i < primeNum; i++) {
+                long q = NTT_PRIMES[i];
+                long t = 0;
+                for (int j = i - 1; j >= 0; j--) {
+                    t = (t * NTT_PRIMES[j] + digits[j]) % q;
+                }
+                long d = residues[i][index] - t;
+                if (d < 0) {
+                    d += q;
+                }
+                digits[i] = d * INV_PREFIXES[i] % q;
+            }
+            long value = 0;
+            for (int i = 0; i < primeNum; i++) {
+                value = zp64.add(value, zp64.montMul(digits[i], montPrefixes[i]));
+            }
+            c[index] = value;
+        }
+        return c;
+    }
+
+    /**
+     * In-place iterative radix-2 NTT (decimation-in-time with bit-reversal permutation). Data are in the normal form,
+     * twiddle factors are in the Montgomery form.
+     *
+     * @param data       data, the length is 2^logN.
+     * @param logN       log(n).
+     * @param primeIndex index of the NTT prime.
+     * @param roots      roots of unity, ROOTS for the forward NTT and INV_ROOTS for the inverse NTT.
+     */
+    private static void ntt(long[] data, int logN, int primeIndex, long[] roots) {
+        long q = NTT_PRIMES[primeIndex];
+        long qNegInv = Q_NEG_INVS[primeIndex];
+        int n = 1 << logN;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                long temp = data[i];
+                data[i] = data[j];
+                data[j] = temp;
+            }
+        }
+        long[] twiddles = new long[Math.max(1, n >> 1)];
+        for (int s = 1; s <= logN; s++) {
+            int half = 1 << (s - 1);
+            long root = roots[s];
+            twiddles[0] = ONES[primeIndex];
+            for (int j = 1; j < half; j++) {
+                twiddles[j] = montMul(twiddles[j - 1], root, q, qNegInv);
+            }
+            for (int i = 0; i < n; i += half << 1) {
+                for (int j = 0; j < half; j++) {
+                    long u = data[i + j];
+                    long v = montMul(data[i + j + half], twiddles[j], q, qNegInv);
+                    long sum = u + v;
+                    data[i + j] = sum >= q ? sum - q : sum;
+                    long diff = u - v;
+                    data[i + j + half] = diff < 0 ? diff + q : diff;
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes a * b * 2^{-32} mod q for q < 2^31 and a, b < q.
+     */
+    private static long montMul(long a, long b, long q, long qNegInv) {
+        long t = a * b;
+        long m = ((t & MASK_32) * qNegInv) & MASK_32;
+        // t + m * q < 2^64, the unsigned shift gives the correct result even if the sum overflows to negative
+        long u = (t + m * q) >>> 32;
+        return u >= q ? u - q : u;
+    }
+}
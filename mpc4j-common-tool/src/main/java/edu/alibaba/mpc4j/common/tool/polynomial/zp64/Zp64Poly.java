@@ -1,5 +1,7 @@
 package edu.alibaba.mpc4j.common.tool.polynomial.zp64;
 
+import java.util.stream.IntStream;
+
 /**
  * Zp64多项式插值接口。
  *
@@ -81,4 +83,22 @@ public interface Zp64Poly {
      * @return f(x)数组。
      */
     long[] evaluate(long[] coefficients, long[] xArray);
+
+    /**
+     * 计算多个多项式在各自x数组上的值，适用于对大量小多项式（如哈希桶中的多项式）批量求值。
+     *
+     * @param coefficientsArray 各个多项式的系数。
+     * @param xArrays           各个多项式的x数组。
+     * @param parallel          是否并发求值。
+     * @return 各个多项式的f(x)数组。
+     */
+    default long[][] evaluate(long[][] coefficientsArray, long[][] xArrays, boolean parallel) {
+        assert coefficientsArray.length == xArrays.length
+            : "# of polynomials must be equal to # of x arrays: " + coefficientsArray.length + " != " + xArrays.length;
+        IntStream indexIntStream = IntStream.range(0, coefficientsArray.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        return indexIntStream
+            .mapToObj(index -> evaluate(coefficientsArray[index], xArrays[index]))
+            .toArray(long[][]::new);
+    }
 }
@@ -32,6 +32,10 @@ public class Zp64PolyFactory {
          * Rings实现的牛顿插值
          */
         RINGS_NEWTON,
+        /**
+         * 纯Java实现的NTT快速插值
+         */
+        JDK_NTT,
     }
 
     /**
@@ -49,6 +53,8 @@ public class Zp64PolyFactory {
                 return new RingsNewtonZp64Poly(l);
             case RINGS_LAGRANGE:
                 return new RingsLagrangeZp64Poly(l);
+            case JDK_NTT:
+                return new JdkNttZp64Poly(l);
             default:
                 throw new IllegalArgumentException("Invalid " + Zp64PolyType.class.getSimpleName() + ": " + type.name());
         }
@@ -89,6 +95,8 @@ public class Zp64PolyFactory {
                 return new RingsNewtonZp64Poly(p);
             case RINGS_LAGRANGE:
                 return new RingsLagrangeZp64Poly(p);
+            case JDK_NTT:
+                return new JdkNttZp64Poly(p);
             default:
                 throw new IllegalArgumentException("Invalid " + Zp64PolyType.class.getSimpleName() + ": " + type.name());
         }
@@ -208,6 +208,24 @@ public class BigIntegerUtils {
         }
     }
 
+    /**
+     * 抗侧信道攻击的模幂运算。如果系统支持调用GMP库，则会调用GMP库完成运算。要求模数为奇数、幂为非负数。
+     *
+     * @param base     底数。
+     * @param exponent 幂。
+     * @param modulus  模数。
+     * @return (base ^ exponent) mod modulus。
+     */
+    public static BigInteger modPowSecure(BigInteger base, BigInteger exponent, BigInteger modulus) {
+        assert modulus.testBit(0) : "modulus must be odd: " + modulus;
+        assert exponent.signum() >= 0 : "exponent must be non-negative: " + exponent;
+        if (USE_GMP) {
+            return Gmp.modPowSecure(base, exponent, modulus);
+        } else {
+            return base.modPow(exponent, modulus);
+        }
+    }
+
     /**
      * 计算模b条件下a的乘法逆元。
      *
@@ -443,6 +443,23 @@ public class BytesUtils {
         }
     }
 
+    /**
+     * 计算两个字节数组指定区间的XOR结果，并把结果放在第一个字节数组上，即x1[x1Offset, x1Offset + length) ^= x2[x2Offset, x2Offset + length)。
+     *
+     * @param x1       第一个字节数组。
+     * @param x1Offset 第一个字节数组的起始位置。
+     * @param x2       第二个字节数组。
+     * @param x2Offset 第二个字节数组的起始位置。
+     * @param length   字节长度。
+     */
+    public static void xori(byte[] x1, int x1Offset, final byte[] x2, int x2Offset, int length) {
+        assert x1Offset >= 0 && x1Offset + length <= x1.length : "x1 range out of bound";
+        assert x2Offset >= 0 && x2Offset + length <= x2.length : "x2 range out of bound";
+        for (int i = 0; i < length; i++) {
+            x1[x1Offset + i] = (byte) (x1[x1Offset + i] ^ x2[x2Offset + i]);
+        }
+    }
+
     /**
      * 计算两个字节数组的AND结果。
      *
@@ -48,6 +48,7 @@ public class BenesNetworkEfficiencyTest {
     private static final BenesNetworkType[] TYPES = new BenesNetworkType[] {
         BenesNetworkType.NATIVE_BENES_NETWORK,
         BenesNetworkType.JDK_BENES_NETWORK,
+        BenesNetworkType.JDK_LINEAR_BENES_NETWORK,
     };
 
     @Test
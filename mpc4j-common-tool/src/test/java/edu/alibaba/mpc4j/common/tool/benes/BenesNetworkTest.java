@@ -47,6 +47,10 @@ public class BenesNetworkTest {
         configurationParams.add(new Object[] {
             BenesNetworkType.NATIVE_BENES_NETWORK.name(), BenesNetworkType.NATIVE_BENES_NETWORK,
         });
+        // JDK_LINEAR_BENES_NETWORK
+        configurationParams.add(new Object[] {
+            BenesNetworkType.JDK_LINEAR_BENES_NETWORK.name(), BenesNetworkType.JDK_LINEAR_BENES_NETWORK,
+        });
 
         return configurationParams;
     }
@@ -128,6 +132,45 @@ public class BenesNetworkTest {
         }
     }
 
+    @Test
+    public void testSameNetwork() {
+        // n = 2^k
+        testSameNetwork(1 << 10, false);
+        // n != 2^k
+        testSameNetwork((1 << 10) - 1, false);
+        testSameNetwork((1 << 10) + 1, false);
+    }
+
+    @Test
+    public void testParallelSameNetwork() {
+        // n = 2^k
+        testSameNetwork(1 << 15, true);
+        // n != 2^k
+        testSameNetwork((1 << 15) - 1, true);
+        testSameNetwork((1 << 15) + 1, true);
+    }
+
+    private void testSameNetwork(int n, boolean parallel) {
+        List<Integer> shufflePermutationMap = IntStream.range(0, n).boxed().collect(Collectors.toList());
+        Collections.shuffle(shufflePermutationMap, SECURE_RANDOM);
+        int[] permutationMap = shufflePermutationMap.stream().mapToInt(permutation -> permutation).toArray();
+        BenesNetwork<Integer> expectBenesNetwork = BenesNetworkFactory.createInstance(
+            BenesNetworkType.JDK_BENES_NETWORK, permutationMap
+        );
+        BenesNetwork<Integer> actualBenesNetwork = BenesNetworkFactory.createInstance(
+            benesNetworkType, permutationMap, parallel
+        );
+        // 验证每一层网络及每一个交换门
+        for (int levelIndex = 0; levelIndex < expectBenesNetwork.getLevel(); levelIndex++) {
+            boolean[] expectNetworkLevel = expectBenesNetwork.getNetworkLevel(levelIndex);
+            Assert.assertArrayEquals(expectNetworkLevel, actualBenesNetwork.getNetworkLevel(levelIndex));
+            for (int widthIndex = 0; widthIndex < expectBenesNetwork.getWidth(); widthIndex++) {
+                Assert.assertEquals(expectNetworkLevel[widthIndex], actualBenesNetwork.getSwitch(levelIndex, widthIndex));
+            }
+        }
+        assertIntegerBenesNetwork(permutationMap, actualBenesNetwork);
+    }
+
     private void assertIntegerBenesNetwork(int[] permutationMap, BenesNetwork<Integer> benesNetwork) {
         int n = permutationMap.length;
         // 验证网络层数和宽度
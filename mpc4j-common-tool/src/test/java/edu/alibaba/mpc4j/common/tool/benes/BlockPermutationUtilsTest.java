@@ -0,0 +1,111 @@
+package edu.alibaba.mpc4j.common.tool.benes;
+
+import edu.alibaba.mpc4j.common.tool.benes.BenesNetworkFactory.BenesNetworkType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 分块置换工具类测试。
+ *
+ * @author Weiran Liu
+ * @date 2023/12/13
+ */
+public class BlockPermutationUtilsTest {
+    /**
+     * 测试的元素数量
+     */
+    private static final int[] NS = new int[]{2, 3, 4, 5, 9, (1 << 10) - 1, 1 << 10, (1 << 10) + 1, (1 << 16) + 1};
+    /**
+     * 测试的元素字节长度
+     */
+    private static final int[] BYTE_LENGTHS = new int[]{1, 7, 16, 33};
+    /**
+     * 随机状态
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testIllegalInputs() {
+        int[] permutationMap = randomPermutation(4);
+        // 载荷长度与元素数量不匹配
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            BlockPermutationUtils.permutation(permutationMap, new byte[4 * 3 + 1], 3, false)
+        );
+        // 元素字节长度不一致
+        Vector<byte[]> vector = new Vector<>(Arrays.asList(new byte[3], new byte[3], new byte[2], new byte[3]));
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            BlockPermutationUtils.flatten(vector, 3)
+        );
+    }
+
+    @Test
+    public void testPermutation() {
+        testPermutation(false);
+    }
+
+    @Test
+    public void testParallelPermutation() {
+        testPermutation(true);
+    }
+
+    private void testPermutation(boolean parallel) {
+        for (int n : NS) {
+            int[] permutationMap = randomPermutation(n);
+            for (int byteLength : BYTE_LENGTHS) {
+                Vector<byte[]> inputVector = new Vector<>(Arrays.asList(BytesUtils.randomByteArrayVector(n, byteLength, SECURE_RANDOM)));
+                Vector<byte[]> expectVector = BenesNetworkUtils.permutation(permutationMap, inputVector);
+                byte[] flatInput = BlockPermutationUtils.flatten(inputVector, byteLength);
+                byte[] flatOutput = BlockPermutationUtils.permutation(permutationMap, flatInput, byteLength, parallel);
+                Assert.assertArrayEquals(BlockPermutationUtils.flatten(expectVector, byteLength), flatOutput);
+            }
+        }
+    }
+
+    @Test
+    public void testBenesNetwork() {
+        testBenesNetwork(false);
+    }
+
+    @Test
+    public void testParallelBenesNetwork() {
+        testBenesNetwork(true);
+    }
+
+    private void testBenesNetwork(boolean parallel) {
+        for (int n : NS) {
+            int[] permutationMap = randomPermutation(n);
+            BenesNetwork<byte[]> benesNetwork = BenesNetworkFactory.createInstance(
+                BenesNetworkType.JDK_LINEAR_BENES_NETWORK, permutationMap, parallel
+            );
+            // 融合后的置换表与原置换表相同
+            Assert.assertArrayEquals(permutationMap, BlockPermutationUtils.getPermutationMap(benesNetwork, parallel));
+            // 作用在载荷上的结果与逐层置换的结果相同
+            int byteLength = BYTE_LENGTHS[SECURE_RANDOM.nextInt(BYTE_LENGTHS.length)];
+            Vector<byte[]> inputVector = new Vector<>(Arrays.asList(BytesUtils.randomByteArrayVector(n, byteLength, SECURE_RANDOM)));
+            Vector<byte[]> expectVector = benesNetwork.permutation(inputVector);
+            byte[] flatOutput = BlockPermutationUtils.permutation(
+                benesNetwork, BlockPermutationUtils.flatten(inputVector, byteLength), byteLength, parallel
+            );
+            assertVectorEquals(expectVector, BlockPermutationUtils.unflatten(flatOutput, byteLength));
+        }
+    }
+
+    private int[] randomPermutation(int n) {
+        List<Integer> shufflePermutationMap = IntStream.range(0, n).boxed().collect(Collectors.toList());
+        Collections.shuffle(shufflePermutationMap, SECURE_RANDOM);
+        return shufflePermutationMap.stream().mapToInt(permutation -> permutation).toArray();
+    }
+
+    private void assertVectorEquals(Vector<byte[]> expectVector, Vector<byte[]> actualVector) {
+        Assert.assertEquals(expectVector.size(), actualVector.size());
+        for (int i = 0; i < expectVector.size(); i++) {
+            Assert.assertArrayEquals(expectVector.get(i), actualVector.get(i));
+        }
+    }
+}
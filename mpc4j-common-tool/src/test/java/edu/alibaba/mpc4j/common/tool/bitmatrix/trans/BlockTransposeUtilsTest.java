@@ -0,0 +1,97 @@
+package edu.alibaba.mpc4j.common.tool.bitmatrix.trans;
+
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.stream.IntStream;
+
+/**
+ * block transpose utilities test.
+ *
+ * @author Weiran Liu
+ * @date 2023/12/12
+ */
+public class BlockTransposeUtilsTest {
+    /**
+     * number of rows
+     */
+    private static final int[] NS = new int[]{1, 7, 8, 9, 63, 64, 65, 1000, (1 << 12) + 3};
+    /**
+     * bit lengths
+     */
+    private static final int[] LS = new int[]{1, 7, 8, 9, 63, 64, 65, 130};
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testTranspose64x64() {
+        long[] block = IntStream.range(0, Long.SIZE).mapToLong(index -> SECURE_RANDOM.nextLong()).toArray();
+        long[] expect = new long[Long.SIZE];
+        for (int k = 0; k < Long.SIZE; k++) {
+            for (int j = 0; j < Long.SIZE; j++) {
+                if ((block[k] & (1L << (Long.SIZE - 1 - j))) != 0) {
+                    expect[j] |= 1L << (Long.SIZE - 1 - k);
+                }
+            }
+        }
+        BlockTransposeUtils.transpose64x64(block);
+        Assert.assertArrayEquals(expect, block);
+    }
+
+    @Test
+    public void testMergeSplit() {
+        for (int n : NS) {
+            for (int l : LS) {
+                testMergeSplit(n, l, false);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelMergeSplit() {
+        for (int n : NS) {
+            for (int l : LS) {
+                testMergeSplit(n, l, true);
+            }
+        }
+    }
+
+    private void testMergeSplit(int n, int l, boolean parallel) {
+        int byteL = CommonUtils.getByteLength(l);
+        int padL = byteL * Byte.SIZE - l;
+        BitVector[] bitVectors = IntStream.range(0, l)
+            .mapToObj(j -> BitVectorFactory.createRandom(n, SECURE_RANDOM))
+            .toArray(BitVector[]::new);
+        // merge
+        byte[][] rows = BlockTransposeUtils.merge(bitVectors, parallel);
+        Assert.assertEquals(n, rows.length);
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(byteL, rows[i].length);
+            Assert.assertTrue(BytesUtils.isReduceByteArray(rows[i], l));
+            for (int j = 0; j < l; j++) {
+                Assert.assertEquals(bitVectors[j].get(i), BinaryUtils.getBoolean(rows[i], padL + j));
+            }
+        }
+        // split
+        Assert.assertArrayEquals(bitVectors, BlockTransposeUtils.split(rows, l, parallel));
+        if (l <= Long.SIZE) {
+            long[] longs = BlockTransposeUtils.mergeToLongs(bitVectors, parallel);
+            for (int i = 0; i < n; i++) {
+                long expect = 0L;
+                for (int j = 0; j < l; j++) {
+                    expect = (expect << 1) | (bitVectors[j].get(i) ? 1L : 0L);
+                }
+                Assert.assertEquals(expect, longs[i]);
+            }
+            Assert.assertArrayEquals(bitVectors, BlockTransposeUtils.split(longs, l, parallel));
+        }
+    }
+}
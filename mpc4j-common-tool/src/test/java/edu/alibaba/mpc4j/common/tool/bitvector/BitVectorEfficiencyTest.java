@@ -49,6 +49,7 @@ public class BitVectorEfficiencyTest {
         BitVectorType.COMBINED_BIT_VECTOR,
         BitVectorType.BYTES_BIT_VECTOR,
         BitVectorType.BIGINTEGER_BIT_VECTOR,
+        BitVectorType.LONGS_BIT_VECTOR,
     };
 
     @Test
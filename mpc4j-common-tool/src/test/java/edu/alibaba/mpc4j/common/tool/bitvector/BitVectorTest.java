@@ -54,6 +54,8 @@ public class BitVectorTest {
         configuration.add(new Object[]{BitVectorType.BIGINTEGER_BIT_VECTOR.name(), BitVectorType.BIGINTEGER_BIT_VECTOR,});
         // BYTES_BIT_VECTOR
         configuration.add(new Object[]{BitVectorType.BYTES_BIT_VECTOR.name(), BitVectorType.BYTES_BIT_VECTOR,});
+        // LONGS_BIT_VECTOR
+        configuration.add(new Object[]{BitVectorType.LONGS_BIT_VECTOR.name(), BitVectorType.LONGS_BIT_VECTOR,});
 
         return configuration;
     }
@@ -397,6 +399,35 @@ public class BitVectorTest {
         });
     }
 
+    @Test
+    public void testBitCount() {
+        Assert.assertEquals(0, BitVectorFactory.createEmpty(type).bitCount());
+        for (int bitNum = MIN_BIT_NUM; bitNum < MAX_BIT_NUM; bitNum++) {
+            Assert.assertEquals(0, BitVectorFactory.createZeros(type, bitNum).bitCount());
+            Assert.assertEquals(bitNum, BitVectorFactory.createOnes(type, bitNum).bitCount());
+            BitVector bitVector = BitVectorFactory.createRandom(type, bitNum, SECURE_RANDOM);
+            Assert.assertEquals(bitVector.getBigInteger().bitCount(), bitVector.bitCount());
+        }
+    }
+
+    @Test
+    public void testMixedTypeOperate() {
+        for (BitVectorType thatType : BitVectorType.values()) {
+            for (int bitNum = MIN_BIT_NUM; bitNum < MAX_BIT_NUM; bitNum++) {
+                BitVector bitVector = BitVectorFactory.createRandom(type, bitNum, SECURE_RANDOM);
+                BitVector thatBitVector = BitVectorFactory.createRandom(thatType, bitNum, SECURE_RANDOM);
+                BigInteger bigInteger = bitVector.getBigInteger();
+                BigInteger thatBigInteger = thatBitVector.getBigInteger();
+                Assert.assertEquals(bigInteger.xor(thatBigInteger), bitVector.xor(thatBitVector).getBigInteger());
+                Assert.assertEquals(bigInteger.and(thatBigInteger), bitVector.and(thatBitVector).getBigInteger());
+                Assert.assertEquals(bigInteger.or(thatBigInteger), bitVector.or(thatBitVector).getBigInteger());
+                // merge
+                bitVector.merge(thatBitVector);
+                Assert.assertEquals(bigInteger.shiftLeft(bitNum).or(thatBigInteger), bitVector.getBigInteger());
+            }
+        }
+    }
+
     @Test
     public void testXor() {
         BitVector bitVector1;
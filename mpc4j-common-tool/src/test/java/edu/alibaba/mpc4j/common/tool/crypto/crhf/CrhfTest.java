@@ -13,6 +13,7 @@ import org.junit.runners.Parameterized;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -125,4 +126,31 @@ public class CrhfTest {
             .collect(Collectors.toSet());
         Assert.assertEquals(1, hashSet.size());
     }
+
+    @Test
+    public void testBatchCrhf() {
+        Crhf crhf = CrhfFactory.createInstance(EnvType.STANDARD, type);
+        byte[][] messages = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> {
+                byte[] message = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                SECURE_RANDOM.nextBytes(message);
+                return message;
+            })
+            .toArray(byte[][]::new);
+        byte[][] hashes = crhf.hash(messages);
+        for (int index = 0; index < MAX_RANDOM_ROUND; index++) {
+            Assert.assertArrayEquals(crhf.hash(messages[index]), hashes[index]);
+        }
+        // 非原地哈希
+        byte[] buffer = new byte[MAX_RANDOM_ROUND * CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < MAX_RANDOM_ROUND; index++) {
+            System.arraycopy(messages[index], 0, buffer, index * CommonConstants.BLOCK_BYTE_LENGTH, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+        byte[] output = new byte[buffer.length + CommonConstants.BLOCK_BYTE_LENGTH];
+        crhf.hash(buffer, 0, output, CommonConstants.BLOCK_BYTE_LENGTH, MAX_RANDOM_ROUND);
+        for (int index = 0; index < MAX_RANDOM_ROUND; index++) {
+            int offset = (index + 1) * CommonConstants.BLOCK_BYTE_LENGTH;
+            Assert.assertArrayEquals(hashes[index], Arrays.copyOfRange(output, offset, offset + CommonConstants.BLOCK_BYTE_LENGTH));
+        }
+    }
 }
@@ -123,6 +123,20 @@ public class ByteFullEccTest {
         }
     }
 
+    @Test
+    public void testBatchMul() {
+        ByteFullEcc byteFullEcc = ByteEccFactory.createFullInstance(byteEccType);
+        byte[][] hs = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> byteFullEcc.randomPoint(SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        BigInteger r = byteFullEcc.randomZn(SECURE_RANDOM);
+        BigInteger rInv = r.modInverse(byteFullEcc.getN());
+        byte[][] hrs = byteFullEcc.mul(hs, r);
+        byte[][] expectHrs = Arrays.stream(hs).map(h -> byteFullEcc.mul(h, r)).toArray(byte[][]::new);
+        Assert.assertArrayEquals(expectHrs, hrs);
+        Assert.assertArrayEquals(hs, byteFullEcc.mul(hrs, rInv));
+    }
+
     @Test
     public void testBaseMul() {
         ByteFullEcc byteFullEcc = ByteEccFactory.createFullInstance(byteEccType);
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory.ByteEccType;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.EccBatchUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Test;
@@ -140,6 +141,76 @@ public class ByteMulEccTest {
         }
     }
 
+    @Test
+    public void testBatchMul() {
+        ByteMulEcc byteMulEcc = ByteEccFactory.createMulInstance(byteEccType);
+        byte[][] hs = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> byteMulEcc.randomPoint(SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        byte[] r = byteMulEcc.randomScalar(SECURE_RANDOM);
+        byte[][] rs = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> byteMulEcc.randomScalar(SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        // 多个点乘以同一个幂
+        byte[][] expectHrs = Arrays.stream(hs).map(h -> byteMulEcc.mul(h, r)).toArray(byte[][]::new);
+        Assert.assertArrayEquals(expectHrs, byteMulEcc.mul(hs, r));
+        // 多个点分别乘以不同的幂
+        byte[][] expectHris = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> byteMulEcc.mul(hs[index], rs[index]))
+            .toArray(byte[][]::new);
+        Assert.assertArrayEquals(expectHris, byteMulEcc.mul(hs, rs));
+        // 空输入
+        Assert.assertEquals(0, byteMulEcc.mul(new byte[0][], r).length);
+    }
+
+    @Test
+    public void testParallelBatchMul() {
+        ByteMulEcc byteMulEcc = ByteEccFactory.createMulInstance(byteEccType);
+        // 点的数量超过一个分块，使得并发计算时分为多块
+        int num = EccBatchUtils.PARALLEL_CHUNK_SIZE * 2 + 1;
+        byte[][] hs = IntStream.range(0, num)
+            .mapToObj(index -> byteMulEcc.randomPoint(SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        byte[] r = byteMulEcc.randomScalar(SECURE_RANDOM);
+        byte[][] expectHrs = Arrays.stream(hs).map(h -> byteMulEcc.mul(h, r)).toArray(byte[][]::new);
+        Assert.assertArrayEquals(expectHrs, byteMulEcc.mul(hs, r, false));
+        Assert.assertArrayEquals(expectHrs, byteMulEcc.mul(hs, r, true));
+    }
+
+    @Test
+    public void testNativeBatchMulInvalidPoint() {
+        // 本地批量乘法需要检查每次本地乘法的返回值，遇到非法点时抛出异常，而不是返回未定义的结果
+        byte[] invalidPoint;
+        switch (byteEccType) {
+            case FOUR_Q:
+                // 随机字节数组大概率无法解码为FourQ上的点，用isValidPoint找到一个非法点
+                ByteMulEcc fourqEcc = ByteEccFactory.createMulInstance(byteEccType);
+                invalidPoint = new byte[fourqEcc.pointByteLength()];
+                do {
+                    SECURE_RANDOM.nextBytes(invalidPoint);
+                } while (fourqEcc.isValidPoint(invalidPoint));
+                break;
+            case ED25519_SODIUM:
+            case X25519_SODIUM:
+                // 全0编码是小阶点，libsodium会返回错误
+                invalidPoint = new byte[ByteEccFactory.createMulInstance(byteEccType).pointByteLength()];
+                break;
+            default:
+                return;
+        }
+        ByteMulEcc byteMulEcc = ByteEccFactory.createMulInstance(byteEccType);
+        byte[][] hs = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> byteMulEcc.randomPoint(SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        hs[MAX_RANDOM_ROUND / 2] = invalidPoint;
+        byte[] r = byteMulEcc.randomScalar(SECURE_RANDOM);
+        byte[][] rs = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> byteMulEcc.randomScalar(SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        Assert.assertThrows(IllegalArgumentException.class, () -> byteMulEcc.mul(hs, r));
+        Assert.assertThrows(IllegalArgumentException.class, () -> byteMulEcc.mul(hs, rs));
+    }
+
     @Test
     public void testBaseMul() {
         ByteMulEcc byteMulEcc = ByteEccFactory.createMulInstance(byteEccType);
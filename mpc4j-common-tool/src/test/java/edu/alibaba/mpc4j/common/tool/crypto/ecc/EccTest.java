@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.EccFactory.EccType;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.EccBatchUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.bouncycastle.math.ec.ECPoint;
@@ -186,6 +187,53 @@ public class EccTest {
         Assert.assertArrayEquals(hs, hrsInv);
     }
 
+    @Test
+    public void testBatchMultiply() {
+        Ecc ecc = EccFactory.createInstance(eccType);
+        ECPoint g = ecc.getG();
+        // 生成未归一化的椭圆曲线点
+        ECPoint[] hs = IntStream.range(0, MAX_ARRAY_LENGTH)
+            .mapToObj(index -> g.multiply(ecc.randomZn(SECURE_RANDOM)))
+            .toArray(ECPoint[]::new);
+        BigInteger r = ecc.randomZn(SECURE_RANDOM);
+        BigInteger[] rs = IntStream.range(0, MAX_ARRAY_LENGTH)
+            .mapToObj(index -> ecc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        // 多个点乘以同一个幂
+        ECPoint[] expectHrs = Arrays.stream(hs).map(h -> ecc.multiply(h, r)).toArray(ECPoint[]::new);
+        Assert.assertArrayEquals(expectHrs, ecc.multiply(hs, r));
+        // 同一个点乘以多个幂，包括预计算情况
+        ECPoint[] expectGrs = Arrays.stream(rs).map(ri -> ecc.multiply(g, ri)).toArray(ECPoint[]::new);
+        Assert.assertArrayEquals(expectGrs, ecc.multiply(g, rs));
+        ecc.precompute(g);
+        Assert.assertArrayEquals(expectGrs, ecc.multiply(g, rs));
+        ecc.destroyPrecompute(g);
+        // 空输入
+        Assert.assertEquals(0, ecc.multiply(new ECPoint[0], r).length);
+        Assert.assertEquals(0, ecc.multiply(g, new BigInteger[0]).length);
+    }
+
+    @Test
+    public void testParallelBatchMultiply() {
+        Ecc ecc = EccFactory.createInstance(eccType);
+        ECPoint g = ecc.getG();
+        // 元素数量超过一个分块，使得并发计算时分为多块
+        int num = EccBatchUtils.PARALLEL_CHUNK_SIZE * 2 + 1;
+        BigInteger[] rs = IntStream.range(0, num)
+            .mapToObj(index -> ecc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        // 同一个点乘以多个幂
+        ECPoint[] expectGrs = Arrays.stream(rs).map(ri -> ecc.multiply(g, ri)).toArray(ECPoint[]::new);
+        Assert.assertArrayEquals(expectGrs, ecc.multiply(g, rs, true));
+        // 多个点乘以同一个幂
+        BigInteger r = ecc.randomZn(SECURE_RANDOM);
+        ECPoint[] expectHrs = Arrays.stream(expectGrs).map(h -> ecc.multiply(h, r)).toArray(ECPoint[]::new);
+        Assert.assertArrayEquals(expectHrs, ecc.multiply(expectGrs, r, true));
+        // 编码
+        byte[][] expectEncodes = Arrays.stream(expectHrs).map(h -> ecc.encode(h, true)).toArray(byte[][]::new);
+        Assert.assertArrayEquals(expectEncodes, ecc.encode(expectHrs, true, true));
+    }
+
     @Test
     public void testPrecompute() {
         Ecc ecc = EccFactory.createInstance(eccType);
@@ -250,6 +298,10 @@ public class EccTest {
         Arrays.stream(compressedEncodes)
             .map(ecc::decode)
             .forEach(h -> Assert.assertTrue(h.isValid()));
+        // 批量编码结果应与逐个编码结果一致
+        Assert.assertArrayEquals(uncompressedEncodes, ecc.encode(hs, false));
+        Assert.assertArrayEquals(compressedEncodes, ecc.encode(hs, true));
+        Assert.assertEquals(0, ecc.encode(new ECPoint[0], true).length);
     }
 
 
@@ -270,6 +322,21 @@ public class EccTest {
         // 全1加
         Arrays.fill(binary, true);
         Assert.assertEquals(ecc.multiply(g, BigInteger.valueOf(num)), ecc.innerProduct(binary, gs));
+        // 随机幂次，多标量乘法结果应与逐个乘法后求和的结果一致
+        ECPoint[] hs = IntStream.range(0, num)
+            .mapToObj(index -> g.multiply(ecc.randomZn(SECURE_RANDOM)))
+            .toArray(ECPoint[]::new);
+        BigInteger[] rs = IntStream.range(0, num)
+            .mapToObj(index -> ecc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        ECPoint expect = IntStream.range(0, num)
+            .mapToObj(index -> ecc.multiply(hs[index], rs[index]))
+            .reduce(ecc::add)
+            .orElse(ecc.getInfinity());
+        Assert.assertEquals(expect.normalize(), ecc.innerProduct(rs, hs));
+        // 全0幂次
+        Arrays.fill(rs, BigInteger.ZERO);
+        Assert.assertEquals(ecc.getInfinity(), ecc.innerProduct(rs, hs));
     }
 
     @Test
@@ -0,0 +1,95 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ggm;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * GGM tree expander test.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/28
+ */
+public class GgmTreeExpanderTest {
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testExpand() {
+        for (int h = 1; h <= 10; h++) {
+            testExpand(h, 1, false);
+            testExpand(h, 1, true);
+            testExpand(h, 33, false);
+            testExpand(h, 33, true);
+        }
+        // large trees so that bulk PRP calls are split
+        testExpand(14, 1, true);
+    }
+
+    private void testExpand(int h, int treeNum, boolean parallel) {
+        GgmTreeExpander expander = new GgmTreeExpander(EnvType.STANDARD, h, parallel);
+        byte[] roots = new byte[treeNum * CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(roots);
+        byte[] leftSums = new byte[treeNum * h * CommonConstants.BLOCK_BYTE_LENGTH];
+        byte[] rightSums = new byte[treeNum * h * CommonConstants.BLOCK_BYTE_LENGTH];
+        byte[] leaves = expander.expand(roots, treeNum, leftSums, rightSums);
+        int[] alphas = IntStream.range(0, treeNum).map(index -> SECURE_RANDOM.nextInt(1 << h)).toArray();
+        byte[] puncturedKeys = new byte[treeNum * h * CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int t = 0; t < treeNum; t++) {
+            byte[] root = Arrays.copyOfRange(roots, t * CommonConstants.BLOCK_BYTE_LENGTH, (t + 1) * CommonConstants.BLOCK_BYTE_LENGTH);
+            byte[][][] tree = naiveExpand(root, h);
+            Assert.assertArrayEquals(tree[h], expander.getLeaves(leaves, t, 1 << h));
+            for (int i = 1; i <= h; i++) {
+                byte[] leftSum = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                byte[] rightSum = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                for (int j = 0; j < (1 << (i - 1)); j++) {
+                    BytesUtils.xori(leftSum, tree[i][2 * j]);
+                    BytesUtils.xori(rightSum, tree[i][2 * j + 1]);
+                }
+                int keyPos = (t * h + i - 1) * CommonConstants.BLOCK_BYTE_LENGTH;
+                Assert.assertArrayEquals(leftSum, Arrays.copyOfRange(leftSums, keyPos, keyPos + CommonConstants.BLOCK_BYTE_LENGTH));
+                Assert.assertArrayEquals(rightSum, Arrays.copyOfRange(rightSums, keyPos, keyPos + CommonConstants.BLOCK_BYTE_LENGTH));
+                // the receiver gets K_{β_i}^i
+                boolean betai = ((alphas[t] >>> (h - i)) & 1) == 0;
+                System.arraycopy(betai ? rightSums : leftSums, keyPos, puncturedKeys, keyPos, CommonConstants.BLOCK_BYTE_LENGTH);
+            }
+        }
+        byte[] puncturedLeaves = expander.puncturedExpand(alphas, puncturedKeys);
+        for (int t = 0; t < treeNum; t++) {
+            byte[][] treeLeaves = expander.getLeaves(leaves, t, 1 << h);
+            byte[][] treePuncturedLeaves = expander.getLeaves(puncturedLeaves, t, 1 << h);
+            for (int j = 0; j < (1 << h); j++) {
+                if (j == alphas[t]) {
+                    Assert.assertArrayEquals(new byte[CommonConstants.BLOCK_BYTE_LENGTH], treePuncturedLeaves[j]);
+                } else {
+                    Assert.assertArrayEquals(treeLeaves[j], treePuncturedLeaves[j]);
+                }
+            }
+        }
+    }
+
+    private byte[][][] naiveExpand(byte[] root, int h) {
+        Prg prg = PrgFactory.createInstance(EnvType.STANDARD, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
+        byte[][][] tree = new byte[h + 1][][];
+        tree[0] = new byte[][]{root};
+        for (int i = 1; i <= h; i++) {
+            tree[i] = new byte[1 << i][];
+            for (int j = 0; j < (1 << (i - 1)); j++) {
+                byte[] extendSeed = prg.extendToBytes(tree[i - 1][j]);
+                tree[i][2 * j] = Arrays.copyOfRange(extendSeed, 0, CommonConstants.BLOCK_BYTE_LENGTH);
+                tree[i][2 * j + 1] = Arrays.copyOfRange(extendSeed, CommonConstants.BLOCK_BYTE_LENGTH, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
+            }
+        }
+        return tree;
+    }
+}
@@ -145,4 +145,28 @@ public class PrgTest {
             .collect(Collectors.toSet());
         Assert.assertEquals(1, extendSet.size());
     }
+
+    @Test
+    public void testBatch() {
+        testBatch(CommonConstants.STATS_BYTE_LENGTH);
+        testBatch(CommonConstants.BLOCK_BYTE_LENGTH);
+        testBatch(2 * CommonConstants.BLOCK_BYTE_LENGTH);
+        testBatch(2 * CommonConstants.BLOCK_BYTE_LENGTH + 1);
+    }
+
+    private void testBatch(int outputByteLength) {
+        Prg prg = PrgFactory.createInstance(type, outputByteLength);
+        byte[][] seeds = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> {
+                byte[] seed = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                SECURE_RANDOM.nextBytes(seed);
+                return seed;
+            })
+            .toArray(byte[][]::new);
+        byte[][] outputs = prg.extendToBytes(seeds);
+        Assert.assertEquals(MAX_RANDOM_ROUND, outputs.length);
+        for (int index = 0; index < MAX_RANDOM_ROUND; index++) {
+            Assert.assertArrayEquals(prg.extendToBytes(seeds[index]), outputs[index]);
+        }
+    }
 }
@@ -12,6 +12,7 @@ import org.junit.runners.Parameterized;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -274,4 +275,41 @@ public class PrpTest {
             .collect(Collectors.toSet());
         Assert.assertEquals(1, plaintextSet.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBatchPrp() {
+        testBatchPrp(0);
+        testBatchPrp(1);
+        testBatchPrp(7);
+        testBatchPrp(8);
+        testBatchPrp(MAX_RANDOM_ROUND + 1);
+    }
+
+    private void testBatchPrp(int blockNum) {
+        Prp prp = PrpFactory.createInstance(type);
+        byte[] key = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(key);
+        prp.setKey(key);
+        // 输入前后各留一个分组，验证偏移量
+        int byteLength = blockNum * CommonConstants.BLOCK_BYTE_LENGTH;
+        byte[] plaintext = new byte[byteLength + 2 * CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(plaintext);
+        byte[] ciphertext = new byte[byteLength + CommonConstants.BLOCK_BYTE_LENGTH];
+        prp.prp(plaintext, CommonConstants.BLOCK_BYTE_LENGTH, ciphertext, 0, blockNum);
+        for (int i = 0; i < blockNum; i++) {
+            int offset = i * CommonConstants.BLOCK_BYTE_LENGTH;
+            byte[] block = Arrays.copyOfRange(
+                plaintext, CommonConstants.BLOCK_BYTE_LENGTH + offset, CommonConstants.BLOCK_BYTE_LENGTH * 2 + offset
+            );
+            Assert.assertArrayEquals(
+                prp.prp(block), Arrays.copyOfRange(ciphertext, offset, offset + CommonConstants.BLOCK_BYTE_LENGTH)
+            );
+        }
+        // 原地逆置换
+        prp.invPrp(ciphertext, 0, ciphertext, 0, blockNum);
+        Assert.assertArrayEquals(
+            Arrays.copyOfRange(plaintext, CommonConstants.BLOCK_BYTE_LENGTH, CommonConstants.BLOCK_BYTE_LENGTH + byteLength),
+            Arrays.copyOf(ciphertext, byteLength)
+        );
+    }
+}
@@ -127,4 +127,21 @@ public class TcrhfTest {
             .collect(Collectors.toSet());
         Assert.assertEquals(1, hashSet.size());
     }
+
+    @Test
+    public void testBatchTcrhf() {
+        Tcrhf tcrhf = TcrhfFactory.createInstance(EnvType.STANDARD, type);
+        int[] indexes = IntStream.range(0, MAX_RANDOM_ROUND).map(index -> SECURE_RANDOM.nextInt()).toArray();
+        byte[][] messages = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> {
+                byte[] message = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                SECURE_RANDOM.nextBytes(message);
+                return message;
+            })
+            .toArray(byte[][]::new);
+        byte[][] hashes = tcrhf.hash(indexes, messages);
+        for (int index = 0; index < MAX_RANDOM_ROUND; index++) {
+            Assert.assertArrayEquals(tcrhf.hash(indexes[index], messages[index]), hashes[index]);
+        }
+    }
 }
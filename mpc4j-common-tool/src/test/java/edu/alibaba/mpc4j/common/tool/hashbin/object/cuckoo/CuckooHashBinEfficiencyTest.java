@@ -50,6 +50,9 @@ public class CuckooHashBinEfficiencyTest {
         CuckooHashBinType.NO_STASH_PSZ18_3_HASH,
         CuckooHashBinType.NO_STASH_PSZ18_4_HASH,
         CuckooHashBinType.NO_STASH_PSZ18_5_HASH,
+        CuckooHashBinType.NO_STASH_MULTI_INDEX_3_HASH,
+        CuckooHashBinType.NO_STASH_MULTI_INDEX_4_HASH,
+        CuckooHashBinType.NO_STASH_MULTI_INDEX_5_HASH,
     };
 
     @Test
@@ -75,7 +78,7 @@ public class CuckooHashBinEfficiencyTest {
         int n = 1 << logN;
         for (CuckooHashBinType type : TYPES) {
             byte[][] keys = CommonUtils.generateRandomKeys(
-                CuckooHashBinFactory.getHashNum(type), HashBinTestUtils.SECURE_RANDOM
+                CuckooHashBinFactory.getHashKeyNum(type), HashBinTestUtils.SECURE_RANDOM
             );
             // 创建OKVS实例
             CuckooHashBin<ByteBuffer> hashBin = CuckooHashBinFactory.createCuckooHashBin(EnvType.STANDARD, type, n, keys);
@@ -96,7 +99,7 @@ public class CuckooHashBinEfficiencyTest {
                     STOP_WATCH.stop();
                     STOP_WATCH.reset();
                     keys = CommonUtils.generateRandomKeys(
-                        CuckooHashBinFactory.getHashNum(type), HashBinTestUtils.SECURE_RANDOM
+                        CuckooHashBinFactory.getHashKeyNum(type), HashBinTestUtils.SECURE_RANDOM
                     );
                     hashBin = CuckooHashBinFactory.createCuckooHashBin(EnvType.STANDARD, type, n, keys);
                 }
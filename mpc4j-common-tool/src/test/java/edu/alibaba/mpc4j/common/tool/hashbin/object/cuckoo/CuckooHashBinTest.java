@@ -9,6 +9,7 @@ import edu.alibaba.mpc4j.common.tool.hashbin.HashBinTestUtils;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
@@ -42,6 +43,18 @@ public class CuckooHashBinTest {
     public static Collection<Object[]> configurations() {
         Collection<Object[]> configurations = new ArrayList<>();
 
+        // NO_STASH_MULTI_INDEX_5_HASH
+        configurations.add(new Object[] {
+            CuckooHashBinType.NO_STASH_MULTI_INDEX_5_HASH.name(), CuckooHashBinType.NO_STASH_MULTI_INDEX_5_HASH
+        });
+        // NO_STASH_MULTI_INDEX_4_HASH
+        configurations.add(new Object[] {
+            CuckooHashBinType.NO_STASH_MULTI_INDEX_4_HASH.name(), CuckooHashBinType.NO_STASH_MULTI_INDEX_4_HASH
+        });
+        // NO_STASH_MULTI_INDEX_3_HASH
+        configurations.add(new Object[] {
+            CuckooHashBinType.NO_STASH_MULTI_INDEX_3_HASH.name(), CuckooHashBinType.NO_STASH_MULTI_INDEX_3_HASH
+        });
         // NO_STASH_PSZ18_5_HASH
         configurations.add(new Object[] {
             CuckooHashBinType.NO_STASH_PSZ18_5_HASH.name(), CuckooHashBinType.NO_STASH_PSZ18_5_HASH
@@ -85,19 +98,19 @@ public class CuckooHashBinTest {
         // try less keys
         Assert.assertThrows(IllegalArgumentException.class, () -> {
             byte[][] lessKeys = CommonUtils.generateRandomKeys(
-                CuckooHashBinFactory.getHashNum(type) - 1, HashBinTestUtils.SECURE_RANDOM
+                CuckooHashBinFactory.getHashKeyNum(type) - 1, HashBinTestUtils.SECURE_RANDOM
             );
             CuckooHashBinFactory.createCuckooHashBin(EnvType.STANDARD, type, DEFAULT_N, lessKeys);
         });
         // try more keys
         Assert.assertThrows(IllegalArgumentException.class, () -> {
             byte[][] moreKeys = CommonUtils.generateRandomKeys(
-                CuckooHashBinFactory.getHashNum(type) + 1, HashBinTestUtils.SECURE_RANDOM
+                CuckooHashBinFactory.getHashKeyNum(type) + 1, HashBinTestUtils.SECURE_RANDOM
             );
             CuckooHashBinFactory.createCuckooHashBin(EnvType.STANDARD, type, DEFAULT_N, moreKeys);
         });
         final byte[][] keys = CommonUtils.generateRandomKeys(
-            CuckooHashBinFactory.getHashNum(type), HashBinTestUtils.SECURE_RANDOM
+            CuckooHashBinFactory.getHashKeyNum(type), HashBinTestUtils.SECURE_RANDOM
         );
         // try 0 elements
         Assert.assertThrows(IllegalArgumentException.class, () ->
@@ -147,7 +160,7 @@ public class CuckooHashBinTest {
     @Test
     public void testType() {
         byte[][] keys = CommonUtils.generateRandomKeys(
-            CuckooHashBinFactory.getHashNum(type), HashBinTestUtils.SECURE_RANDOM
+            CuckooHashBinFactory.getHashKeyNum(type), HashBinTestUtils.SECURE_RANDOM
         );
         CuckooHashBin<ByteBuffer> hashBin = CuckooHashBinFactory.createCuckooHashBin(
             EnvType.STANDARD, type, DEFAULT_N, keys
@@ -155,6 +168,34 @@ public class CuckooHashBinTest {
         Assert.assertEquals(type, hashBin.getType());
     }
 
+    @Test
+    public void testHashKeyNum() {
+        if (CuckooHashBinFactory.getHashKeyNum(type) == CuckooHashBinFactory.getHashNum(type)) {
+            CuckooHashBinFactory.checkPerHashKeyType(type);
+            return;
+        }
+        // multi-index types are rejected by protocols that need one key per hash
+        Assert.assertThrows(IllegalArgumentException.class, () -> CuckooHashBinFactory.checkPerHashKeyType(type));
+        // bulk bin indexes are the same as bin indexes computed one by one
+        int binNum = CuckooHashBinFactory.getBinNum(type, DEFAULT_N);
+        byte[] key = CommonUtils.generateRandomKey(HashBinTestUtils.SECURE_RANDOM);
+        MultiIndexCuckooHash hash = CuckooHashBinFactory.createMultiIndexCuckooHash(EnvType.STANDARD, type, binNum, key);
+        int hashNum = hash.getHashNum();
+        // use enough items so that the parallel computation has multiple partitions
+        int itemNum = (1 << 14) + 1;
+        byte[][] items = IntStream.range(0, itemNum)
+            .mapToObj(IntUtils::intToByteArray)
+            .toArray(byte[][]::new);
+        int[] binIndexes = hash.getBinIndexes(items, false);
+        Assert.assertArrayEquals(binIndexes, hash.getBinIndexes(items, true));
+        for (int itemIndex = 0; itemIndex < itemNum; itemIndex++) {
+            Assert.assertArrayEquals(
+                Arrays.copyOfRange(binIndexes, itemIndex * hashNum, (itemIndex + 1) * hashNum),
+                hash.getBinIndexes(items[itemIndex])
+            );
+        }
+    }
+
     @Test
     public void test1n() {
         testCuckooHashBin(1);
@@ -186,7 +227,7 @@ public class CuckooHashBinTest {
     private void testCuckooHashBin(int n) {
         for (int i = 0; i < MAX_RANDOM_ROUND; i++) {
             byte[][] keys = CommonUtils.generateRandomKeys(
-                CuckooHashBinFactory.getHashNum(type), HashBinTestUtils.SECURE_RANDOM
+                CuckooHashBinFactory.getHashKeyNum(type), HashBinTestUtils.SECURE_RANDOM
             );
             CuckooHashBin<ByteBuffer> hashBin = CuckooHashBinFactory.createCuckooHashBin(
                 EnvType.STANDARD, type, n, keys
@@ -201,7 +242,7 @@ public class CuckooHashBinTest {
                     success = true;
                 } catch (ArithmeticException ignored) {
                     keys = CommonUtils.generateRandomKeys(
-                        CuckooHashBinFactory.getHashNum(type), HashBinTestUtils.SECURE_RANDOM
+                        CuckooHashBinFactory.getHashKeyNum(type), HashBinTestUtils.SECURE_RANDOM
                     );
                     hashBin = CuckooHashBinFactory.createCuckooHashBin(EnvType.STANDARD, type, n, keys);
                 }
@@ -286,8 +327,13 @@ public class CuckooHashBinTest {
                 return prf;
             })
             .toArray(Prf[]::new);
+        // 多索引布谷鸟哈希由单个密钥计算全部位置
+        MultiIndexCuckooHash multiIndexHash = keys.length == cuckooHashBin.getHashNum() ? null
+            : CuckooHashBinFactory.createMultiIndexCuckooHash(EnvType.STANDARD, type, cuckooHashBin.binNum(), keys[0]);
         items.forEach(item -> {
-            int[] positions = IntStream.range(0, keys.length)
+            int[] positions = multiIndexHash != null
+                ? multiIndexHash.getBinIndexes(ObjectUtils.objectToByteArray(item))
+                : IntStream.range(0, keys.length)
                 .map(index -> hashes[index].getInteger(ObjectUtils.objectToByteArray(item), cuckooHashBin.binNum()))
                 .toArray();
             Set<ByteBuffer> positionItems = Arrays.stream(positions)
@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.common.tool.lpn.llc;
 
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -165,4 +166,44 @@ public class LocalLinearCoderTest {
         // 两次编码结果应该不一致
         Assert.assertNotEquals(ByteBuffer.wrap(outputs), ByteBuffer.wrap(anOutputs));
     }
+
+    @Test
+    public void testPrecompute() {
+        testPrecompute(false);
+    }
+
+    @Test
+    public void testParallelPrecompute() {
+        testPrecompute(true);
+    }
+
+    private void testPrecompute(boolean parallel) {
+        // 随机种子，初始化两个相同的本地线性编码，其中一个预计算稀疏矩阵
+        byte[] seed = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(seed);
+        LocalLinearCoder localLinearCoder = new LocalLinearCoder(k, n, seed, parallel);
+        LocalLinearCoder precomputeLocalLinearCoder = new LocalLinearCoder(k, n, seed, parallel);
+        Assert.assertFalse(precomputeLocalLinearCoder.isPrecomputed());
+        precomputeLocalLinearCoder.precompute();
+        Assert.assertTrue(precomputeLocalLinearCoder.isPrecomputed());
+        // Z2编码结果应与布尔编码结果一致，且预计算前后编码结果一致
+        byte[] inputs = new byte[byteK];
+        SECURE_RANDOM.nextBytes(inputs);
+        BytesUtils.reduceByteArray(inputs, k);
+        byte[] outputs = localLinearCoder.z2Encode(inputs);
+        Assert.assertArrayEquals(outputs, precomputeLocalLinearCoder.z2Encode(inputs));
+        boolean[] binaryInputs = BinaryUtils.byteArrayToBinary(inputs, k);
+        boolean[] binaryOutputs = localLinearCoder.binaryEncode(binaryInputs);
+        Assert.assertArrayEquals(binaryOutputs, precomputeLocalLinearCoder.binaryEncode(binaryInputs));
+        Assert.assertArrayEquals(outputs, BinaryUtils.binaryToRoundByteArray(binaryOutputs));
+        // GF2E编码结果一致
+        byte[][] gf2eInputs = IntStream.range(0, k)
+            .mapToObj(index -> {
+                byte[] input = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                SECURE_RANDOM.nextBytes(input);
+                return input;
+            })
+            .toArray(byte[][]::new);
+        Assert.assertArrayEquals(localLinearCoder.gf2eEncode(gf2eInputs), precomputeLocalLinearCoder.gf2eEncode(gf2eInputs));
+    }
 }
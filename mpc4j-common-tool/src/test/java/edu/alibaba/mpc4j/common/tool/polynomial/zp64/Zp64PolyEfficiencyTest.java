@@ -55,6 +55,7 @@ public class Zp64PolyEfficiencyTest {
         Zp64PolyType.NTL,
         Zp64PolyType.RINGS_NEWTON,
         Zp64PolyType.RINGS_LAGRANGE,
+        Zp64PolyType.JDK_NTT,
     };
 
     @Test
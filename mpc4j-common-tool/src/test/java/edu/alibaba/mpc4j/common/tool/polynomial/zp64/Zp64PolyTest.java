@@ -40,6 +40,14 @@ public class Zp64PolyTest {
      * 插值点数量
      */
     private static final int DEFAULT_NUM = 20;
+    /**
+     * 大规模插值点数量
+     */
+    private static final int LARGE_NUM = 1 << 9;
+    /**
+     * 分桶数量
+     */
+    private static final int BIN_NUM = 1 << 8;
     /**
      * 并发数量
      */
@@ -58,6 +66,8 @@ public class Zp64PolyTest {
         configurationParams.add(new Object[] {Zp64PolyType.RINGS_NEWTON.name(), Zp64PolyType.RINGS_NEWTON,});
         // RINGS_LAGRANGE
         configurationParams.add(new Object[] {Zp64PolyType.RINGS_LAGRANGE.name(), Zp64PolyType.RINGS_LAGRANGE,});
+        // JDK_NTT
+        configurationParams.add(new Object[] {Zp64PolyType.JDK_NTT.name(), Zp64PolyType.JDK_NTT,});
 
         return configurationParams;
     }
@@ -215,6 +225,52 @@ public class Zp64PolyTest {
         });
     }
 
+    @Test
+    public void testLargeInterpolation() {
+        for (int l : new int[] {20, DEFAULT_L, 62}) {
+            Zp64Poly zp64Poly = Zp64PolyFactory.createInstance(type, l);
+            long p = zp64Poly.getPrime();
+            // x must be distinct
+            long[] xArray = SECURE_RANDOM.longs(0, p).distinct().limit(LARGE_NUM).toArray();
+            long[] yArray = IntStream.range(0, LARGE_NUM)
+                .mapToLong(index -> LongUtils.randomNonNegative(p, SECURE_RANDOM))
+                .toArray();
+            long[] coefficients = zp64Poly.interpolate(LARGE_NUM * 2, xArray, yArray);
+            assertCoefficient(zp64Poly, LARGE_NUM * 2, coefficients);
+            assertEvaluate(zp64Poly, coefficients, xArray, yArray);
+            long y = LongUtils.randomNonNegative(p, SECURE_RANDOM);
+            coefficients = zp64Poly.rootInterpolate(LARGE_NUM * 2, xArray, y);
+            assertRootCoefficient(zp64Poly, LARGE_NUM * 2, coefficients);
+            assertRootEvaluate(zp64Poly, coefficients, xArray, y);
+        }
+    }
+
+    @Test
+    public void testBinEvaluate() {
+        Zp64Poly zp64Poly = Zp64PolyFactory.createInstance(type, DEFAULT_L);
+        long p = zp64Poly.getPrime();
+        long[][] xArrays = IntStream.range(0, BIN_NUM)
+            .mapToObj(binIndex -> IntStream.range(0, DEFAULT_NUM / 2)
+                .mapToLong(index -> LongUtils.randomNonNegative(p, SECURE_RANDOM))
+                .toArray())
+            .toArray(long[][]::new);
+        long[][] yArrays = IntStream.range(0, BIN_NUM)
+            .mapToObj(binIndex -> IntStream.range(0, DEFAULT_NUM / 2)
+                .mapToLong(index -> LongUtils.randomNonNegative(p, SECURE_RANDOM))
+                .toArray())
+            .toArray(long[][]::new);
+        long[][] coefficientsArray = IntStream.range(0, BIN_NUM)
+            .mapToObj(binIndex -> zp64Poly.interpolate(DEFAULT_NUM, xArrays[binIndex], yArrays[binIndex]))
+            .toArray(long[][]::new);
+        for (boolean parallel : new boolean[] {false, true}) {
+            long[][] evaluations = zp64Poly.evaluate(coefficientsArray, xArrays, parallel);
+            Assert.assertEquals(BIN_NUM, evaluations.length);
+            IntStream.range(0, BIN_NUM).forEach(binIndex ->
+                Assert.assertArrayEquals(yArrays[binIndex], evaluations[binIndex])
+            );
+        }
+    }
+
     private void assertCoefficient(Zp64Poly zp64Poly, int num, long[] coefficients) {
         long p = zp64Poly.getPrime();
         Assert.assertEquals(zp64Poly.coefficientNum(num), coefficients.length);
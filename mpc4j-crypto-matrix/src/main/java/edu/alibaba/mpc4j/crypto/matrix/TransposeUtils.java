@@ -1,29 +1,28 @@
 package edu.alibaba.mpc4j.crypto.matrix;
 
-import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.bitmatrix.trans.BlockTransposeUtils;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
-import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
-import edu.alibaba.mpc4j.crypto.matrix.database.Zl64Database;
-import edu.alibaba.mpc4j.crypto.matrix.database.ZlDatabase;
-import org.apache.commons.lang3.time.StopWatch;
 
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Vector;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
- * Transpose utilities.
+ * Transpose utilities. All conversions are done by 64 * 64 block transposes, see BlockTransposeUtils.
  *
  * @author Li Peng
  * @date 2023/11/7
  */
 public class TransposeUtils {
+    /**
+     * private constructor.
+     */
+    private TransposeUtils() {
+        // empty
+    }
 
-    public static long TRANSPORT_TIME = 0;
     /**
      * Transpose bitvectors to vector of byte arrays.
      *
@@ -31,14 +30,7 @@ public class TransposeUtils {
      * @return vectors of byte arrays.
      */
     public static Vector<byte[]> transposeMergeToVector(BitVector[] input) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        ZlDatabase zlDatabase = ZlDatabase.create(EnvType.STANDARD_JDK, true, input);
-        Vector<byte[]> result = Arrays.stream(zlDatabase.getBytesData()).collect(Collectors.toCollection(Vector::new));
-        stopWatch.stop();
-        TRANSPORT_TIME += stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        return result;
+        return new Vector<>(Arrays.asList(transposeMerge(input)));
     }
 
     /**
@@ -48,14 +40,7 @@ public class TransposeUtils {
      * @return arrays of byte arrays.
      */
     public static byte[][] transposeMerge(BitVector[] input) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        ZlDatabase zlDatabase = ZlDatabase.create(EnvType.STANDARD_JDK, true, input);
-        byte[][] result = zlDatabase.getBytesData();
-        stopWatch.stop();
-        TRANSPORT_TIME += stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        return result;
+        return BlockTransposeUtils.merge(input, true);
     }
 
     /**
@@ -66,33 +51,18 @@ public class TransposeUtils {
      * @return byte arrays to bitvectors.
      */
     public static BitVector[] transposeSplit(Vector<byte[]> input, int l) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        BitVector[] result = transposeSplit(input.toArray(new byte[0][]), l);
-        stopWatch.stop();
-        TRANSPORT_TIME += stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        return result;
+        return transposeSplit(input.toArray(new byte[0][]), l);
     }
 
     /**
-     * Transpose vectors of byte array to bitvectors.
+     * Transpose longs to bitvectors.
      *
-     * @param input vector of byte arrays.
+     * @param input longs.
      * @param l     bit length.
-     * @return byte arrays to bitvectors.
+     * @return longs to bitvectors.
      */
     public static BitVector[] transposeSplit(long[] input, int l) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        byte[][] bytes = Arrays.stream(input).mapToObj(v->BigIntegerUtils.nonNegBigIntegerToByteArray(BigInteger.valueOf(v), CommonUtils.getByteLength(l))).toArray(byte[][]::new);
-        ZlDatabase zlDatabase = ZlDatabase.create(l, bytes);
-        BitVector[] result = Arrays.stream(zlDatabase.bitPartition(EnvType.STANDARD, true))
-            .toArray(BitVector[]::new);
-        stopWatch.stop();
-        TRANSPORT_TIME += stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        return result;
+        return BlockTransposeUtils.split(input, l, true);
     }
 
     /**
@@ -103,33 +73,21 @@ public class TransposeUtils {
      * @return byte arrays to bitvectors.
      */
     public static BitVector[] transposeSplit(byte[][] input, int l) {
-        StopWatch stopWatch = new StopWatch();
-        ZlDatabase zlDatabase = ZlDatabase.create(l, input);
-        stopWatch.start();
-        BitVector[] result = Arrays.stream(zlDatabase.bitPartition(EnvType.STANDARD, true))
-            .toArray(BitVector[]::new);
-        stopWatch.stop();
-        TRANSPORT_TIME += stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        return result;
+        return BlockTransposeUtils.split(input, l, true);
     }
 
     /**
-     * Transpose arrays of byte arrays to bitvectors.
+     * Transpose arrays of BigIntegers to bitvectors.
      *
      * @param input vector of byte array
      * @param l     bit length.
      * @return byte arrays to bitvectors.
      */
     public static BitVector[] transposeSplit(BigInteger[] input, int l) {
-        StopWatch stopWatch = new StopWatch();
-        ZlDatabase zlDatabase = ZlDatabase.create(l, input);
-        stopWatch.start();
-        BitVector[] result = Arrays.stream(zlDatabase.bitPartition(EnvType.STANDARD, true))
-            .toArray(BitVector[]::new);
-        stopWatch.stop();
-        TRANSPORT_TIME += stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        return result;
+        int byteL = CommonUtils.getByteLength(l);
+        byte[][] bytes = Arrays.stream(input)
+            .map(v -> BigIntegerUtils.nonNegBigIntegerToByteArray(v, byteL))
+            .toArray(byte[][]::new);
+        return transposeSplit(bytes, l);
     }
 }
@@ -9,10 +9,12 @@ import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.MaxBinSizeUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 import edu.alibaba.mpc4j.crypto.matrix.okve.dokvs.H3BlazeGctDovsUtils;
 
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -110,8 +112,63 @@ abstract class AbstractH3ClusterBlazeGctGf2eDokvs<T> extends AbstractGf2eDokvs<T
             .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /**
+     * Splits the key-value pairs in the flat form into bins, and encodes each bin. Keys are bucketed by key indexes, and
+     * values of each bin are gathered into one flat array, so that no per-value array is created.
+     *
+     * @param keys         keys, must be distinct.
+     * @param flatValues   values in the flat form.
+     * @param doublyEncode encode with doubly obliviousness.
+     * @return encoded storage of each bin in the flat form.
+     * @throws ArithmeticException if we cannot finish encoding.
+     */
+    protected byte[][] encodeBins(T[] keys, byte[] flatValues, boolean doublyEncode) throws ArithmeticException {
+        int keySize = keys.length;
+        MathPreconditions.checkLessOrEqual("key-value size", keySize, n);
+        MathPreconditions.checkEqual("flatValues.length", "keys.length * byteL", flatValues.length, keySize * byteL);
+        // compute bin indexes
+        int[] binIndexes = new int[keySize];
+        IntStream keyIndexIntStream = IntStream.range(0, keySize);
+        keyIndexIntStream = parallelEncode ? keyIndexIntStream.parallel() : keyIndexIntStream;
+        keyIndexIntStream.forEach(keyIndex ->
+            binIndexes[keyIndex] = binHash.getInteger(ObjectUtils.objectToByteArray(keys[keyIndex]), binNum)
+        );
+        // bucket key indexes by bins, binOffsets[binIndex] is the first position of the bin in binKeyIndexes
+        int[] binOffsets = new int[binNum + 1];
+        for (int binIndex : binIndexes) {
+            binOffsets[binIndex + 1]++;
+        }
+        for (int binIndex = 0; binIndex < binNum; binIndex++) {
+            binOffsets[binIndex + 1] += binOffsets[binIndex];
+        }
+        int[] binKeyIndexes = new int[keySize];
+        int[] binPositions = Arrays.copyOf(binOffsets, binNum);
+        for (int keyIndex = 0; keyIndex < keySize; keyIndex++) {
+            binKeyIndexes[binPositions[binIndexes[keyIndex]]++] = keyIndex;
+        }
+        // encode
+        IntStream binIndexIntStream = IntStream.range(0, binNum);
+        binIndexIntStream = parallelEncode ? binIndexIntStream.parallel() : binIndexIntStream;
+        return binIndexIntStream
+            .mapToObj(binIndex -> {
+                int binFrom = binOffsets[binIndex];
+                int binSize = binOffsets[binIndex + 1] - binFrom;
+                // keep the runtime type of keys
+                T[] binKeys = Arrays.copyOf(keys, binSize);
+                byte[] binFlatValues = new byte[binSize * byteL];
+                for (int binKeyIndex = 0; binKeyIndex < binSize; binKeyIndex++) {
+                    int keyIndex = binKeyIndexes[binFrom + binKeyIndex];
+                    binKeys[binKeyIndex] = keys[keyIndex];
+                    System.arraycopy(flatValues, keyIndex * byteL, binFlatValues, binKeyIndex * byteL, byteL);
+                }
+                return bins.get(binIndex).encode(binKeys, binFlatValues, doublyEncode);
+            })
+            .toArray(byte[][]::new);
+    }
+
     @Override
     public int maxPositionNum() {
-        return SPARSE_HASH_NUM + binNum * binRm;
+        // each key only has positions in its own bin
+        return SPARSE_HASH_NUM + binRm;
     }
 }
@@ -16,12 +16,11 @@ import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 /**
  * abstract DOKVS using garbled cuckoo table with 3 hash functions. The non-doubly construction is from the following paper:
@@ -69,29 +68,13 @@ abstract class AbstractH3GctGf2eDokvs<T> extends AbstractGf2eDokvs<T> implements
      */
     private final Prf hr;
     /**
-     * two core finder
+     * two core finder, the data in the cuckoo table is the key index
      */
-    private final CuckooTableSingletonTcFinder<T> singletonTcFinder;
+    private final CuckooTableSingletonTcFinder<Integer> singletonTcFinder;
     /**
      * binary linear solver
      */
     private final BinaryLinearSolver linearSolver;
-    /**
-     * key -> h1
-     */
-    private Map<T, Integer> dataH1Map;
-    /**
-     * key -> h2
-     */
-    private Map<T, Integer> dataH2Map;
-    /**
-     * key -> h3
-     */
-    private Map<T, Integer> dataH3Map;
-    /**
-     * key -> hr
-     */
-    private Map<T, boolean[]> dataHrMap;
 
     AbstractH3GctGf2eDokvs(EnvType envType, int n, int lm, int rm, int l, byte[][] keys, SecureRandom secureRandom) {
         super(n, lm + rm, l, secureRandom);
@@ -113,7 +96,10 @@ abstract class AbstractH3GctGf2eDokvs<T> extends AbstractGf2eDokvs<T> implements
 
     @Override
     public int[] sparsePositions(T key) {
-        byte[] keyBytes = ObjectUtils.objectToByteArray(key);
+        return sparsePositions(ObjectUtils.objectToByteArray(key));
+    }
+
+    private int[] sparsePositions(byte[] keyBytes) {
         int[] sparsePositions = IntUtils.byteArrayToIntArray(hl.getBytes(keyBytes));
         // we now use the method provided in VOLE-PSI to get distinct hash indexes
         sparsePositions[0] = Math.abs(sparsePositions[0] % lm);
@@ -151,6 +137,21 @@ abstract class AbstractH3GctGf2eDokvs<T> extends AbstractGf2eDokvs<T> implements
         return rm;
     }
 
+    @Override
+    public int[] positions(T key) {
+        int[] positions = new int[maxPositionNum()];
+        int num = positions(key, positions, 0);
+        return Arrays.copyOf(positions, num);
+    }
+
+    @Override
+    public int positions(T key, int[] positions, int offset) {
+        byte[] keyBytes = ObjectUtils.objectToByteArray(key);
+        System.arraycopy(sparsePositions(keyBytes), 0, positions, offset, SPARSE_HASH_NUM);
+        int denseNum = BinaryGf2eDokvsUtils.setBitPositions(hr.getBytes(keyBytes), lm, positions, offset + SPARSE_HASH_NUM);
+        return SPARSE_HASH_NUM + denseNum;
+    }
+
     @Override
     public byte[] decode(byte[][] storage, T key) {
         // here we do not verify bit length for each storage, otherwise decode would require O(n) computation.
@@ -175,120 +176,139 @@ abstract class AbstractH3GctGf2eDokvs<T> extends AbstractGf2eDokvs<T> implements
     public byte[][] encode(Map<T, byte[]> keyValueMap, boolean doublyEncode) throws ArithmeticException {
         MathPreconditions.checkLessOrEqual("key-value size", keyValueMap.size(), n);
         keyValueMap.values().forEach(x -> Preconditions.checkArgument(BytesUtils.isFixedReduceByteArray(x, byteL, l)));
-        // construct maps
-        Set<T> keySet = keyValueMap.keySet();
-        int keySize = keySet.size();
-        dataH1Map = new ConcurrentHashMap<>(keySize);
-        dataH2Map = new ConcurrentHashMap<>(keySize);
-        dataH3Map = new ConcurrentHashMap<>(keySize);
-        dataHrMap = new ConcurrentHashMap<>(keySize);
-        Stream<T> keyStream = keySet.stream();
-        keyStream = parallelEncode ? keyStream.parallel() : keyStream;
-        keyStream.forEach(key -> {
-            int[] sparsePositions = sparsePositions(key);
-            boolean[] densePositions = binaryDensePositions(key);
-            dataH1Map.put(key, sparsePositions[0]);
-            dataH2Map.put(key, sparsePositions[1]);
-            dataH3Map.put(key, sparsePositions[2]);
-            dataHrMap.put(key, densePositions);
+        @SuppressWarnings("unchecked")
+        T[] keys = (T[]) keyValueMap.keySet().toArray();
+        byte[] flatValues = new byte[keys.length * byteL];
+        for (int keyIndex = 0; keyIndex < keys.length; keyIndex++) {
+            System.arraycopy(keyValueMap.get(keys[keyIndex]), 0, flatValues, keyIndex * byteL, byteL);
+        }
+        return BinaryGf2eDokvsUtils.split(encode(keys, flatValues, doublyEncode), byteL);
+    }
+
+    @Override
+    public byte[] encode(T[] keys, byte[] flatValues, boolean doublyEncode) throws ArithmeticException {
+        int keySize = keys.length;
+        MathPreconditions.checkLessOrEqual("key-value size", keySize, n);
+        MathPreconditions.checkEqual("flatValues.length", "keys.length * byteL", flatValues.length, keySize * byteL);
+        Preconditions.checkArgument(BinaryGf2eDokvsUtils.isFixedReduceFlatArray(flatValues, byteL, l));
+        // compute positions for each key index
+        int[] h1s = new int[keySize];
+        int[] h2s = new int[keySize];
+        int[] h3s = new int[keySize];
+        byte[][] hrs = new byte[keySize][];
+        IntStream keyIndexIntStream = IntStream.range(0, keySize);
+        keyIndexIntStream = parallelEncode ? keyIndexIntStream.parallel() : keyIndexIntStream;
+        keyIndexIntStream.forEach(keyIndex -> {
+            byte[] keyBytes = ObjectUtils.objectToByteArray(keys[keyIndex]);
+            int[] sparsePositions = sparsePositions(keyBytes);
+            h1s[keyIndex] = sparsePositions[0];
+            h2s[keyIndex] = sparsePositions[1];
+            h3s[keyIndex] = sparsePositions[2];
+            hrs[keyIndex] = hr.getBytes(keyBytes);
         });
-        // generate cuckoo table with 3 hash functions
-        H3CuckooTable<T> h3CuckooTable = generateCuckooTable(keyValueMap);
+        // generate cuckoo table with 3 hash functions, the data is the key index
+        H3CuckooTable<Integer> h3CuckooTable = new H3CuckooTable<>(lm);
+        for (int keyIndex = 0; keyIndex < keySize; keyIndex++) {
+            h3CuckooTable.addData(new int[]{h1s[keyIndex], h2s[keyIndex], h3s[keyIndex]}, keyIndex);
+        }
         // find two-core graph
         singletonTcFinder.findTwoCore(h3CuckooTable);
         // construct matrix based on two-core graph
-        Set<T> coreDataSet = singletonTcFinder.getRemainedDataSet();
+        Set<Integer> coreDataSet = singletonTcFinder.getRemainedDataSet();
         // generate storage that contains all solutions in the right part and involved left part.
-        TIntSet coreVertexSet = new TIntHashSet(keySet.size());
-        coreDataSet.stream().map(h3CuckooTable::getVertices).forEach(coreVertexSet::addAll);
-        byte[][] storage = doublyEncode
-            ? generateDoublyStorage(keyValueMap, coreVertexSet, coreDataSet)
-            : generateFreeStorage(keyValueMap, coreVertexSet, coreDataSet);
-        // split D = L || R
-        byte[][] leftStorage = new byte[lm][];
-        byte[][] rightStorage = new byte[rm][];
-        System.arraycopy(storage, 0, leftStorage, 0, lm);
-        System.arraycopy(storage, lm, rightStorage, 0, rm);
+        TIntSet coreVertexSet = new TIntHashSet(keySize);
+        for (int coreData : coreDataSet) {
+            coreVertexSet.add(h1s[coreData]);
+            coreVertexSet.add(h2s[coreData]);
+            coreVertexSet.add(h3s[coreData]);
+        }
+        byte[] storage = new byte[m * byteL];
+        boolean[] leftFilled = new boolean[lm];
+        if (doublyEncode) {
+            generateDoublyStorage(flatValues, h1s, h2s, h3s, hrs, coreVertexSet, coreDataSet, storage, leftFilled);
+        } else {
+            generateFreeStorage(flatValues, h1s, h2s, h3s, hrs, coreVertexSet, coreDataSet, storage, leftFilled);
+        }
         // back-fill
-        Stack<T> removedDataStack = singletonTcFinder.getRemovedDataStack();
+        Stack<Integer> removedDataStack = singletonTcFinder.getRemovedDataStack();
         Stack<int[]> removedDataVerticesStack = singletonTcFinder.getRemovedDataVertices();
         while (!removedDataStack.empty()) {
-            T removedData = removedDataStack.pop();
+            int removedData = removedDataStack.pop();
             int[] removedDataVertices = removedDataVerticesStack.pop();
-            int vertex0 = removedDataVertices[0];
-            int vertex1 = removedDataVertices[1];
-            int vertex2 = removedDataVertices[2];
-            boolean[] rx = dataHrMap.get(removedData);
-            byte[] innerProduct = BytesUtils.innerProduct(rightStorage, byteL, rx);
-            byte[] value = keyValueMap.get(removedData);
-            BytesUtils.xori(innerProduct, value);
-            fullDistinctVertices(leftStorage, innerProduct, vertex0, vertex1, vertex2, removedData);
+            fullDistinctVertices(storage, leftFilled, removedDataVertices, flatValues, hrs, removedData, keys);
         }
-        // fill randomness in the left part
-        for (int vertex = 0; vertex < lm; vertex++) {
-            if (leftStorage[vertex] == null) {
-                if (doublyEncode) {
-                    leftStorage[vertex] = BytesUtils.randomByteArray(byteL, l, secureRandom);
-                } else {
-                    leftStorage[vertex] = new byte[byteL];
+        // fill randomness in the left part, empty rows are already 0 for the non-doubly case
+        if (doublyEncode) {
+            for (int vertex = 0; vertex < lm; vertex++) {
+                if (!leftFilled[vertex]) {
+                    setRandomRow(storage, vertex);
                 }
             }
         }
-        // update storage
-        System.arraycopy(leftStorage, 0, storage, 0, leftStorage.length);
         return storage;
     }
 
-    private H3CuckooTable<T> generateCuckooTable(Map<T, byte[]> keyValueMap) {
-        Set<T> keySet = keyValueMap.keySet();
-        H3CuckooTable<T> h3CuckooTable = new H3CuckooTable<>(lm);
-        for (T key : keySet) {
-            int h1Value = dataH1Map.get(key);
-            int h2Value = dataH2Map.get(key);
-            int h3Value = dataH3Map.get(key);
-            h3CuckooTable.addData(new int[]{h1Value, h2Value, h3Value}, key);
-        }
-        return h3CuckooTable;
-    }
-
-    private void fullDistinctVertices(byte[][] leftMatrix, byte[] innerProduct,
-                                      int vertex0, int vertex1, int vertex2, T removedData) {
-        if (leftMatrix[vertex0] == null) {
-            leftMatrix[vertex1] = (leftMatrix[vertex1] == null) ?
-                BytesUtils.randomByteArray(byteL, l, secureRandom) : leftMatrix[vertex1];
-            BytesUtils.xori(innerProduct, leftMatrix[vertex1]);
-            leftMatrix[vertex2] = (leftMatrix[vertex2] == null) ?
-                BytesUtils.randomByteArray(byteL, l, secureRandom) : leftMatrix[vertex2];
-            BytesUtils.xori(innerProduct, leftMatrix[vertex2]);
-            leftMatrix[vertex0] = innerProduct;
-        } else if (leftMatrix[vertex1] == null) {
-            BytesUtils.xori(innerProduct, leftMatrix[vertex0]);
-            leftMatrix[vertex2] = (leftMatrix[vertex2] == null) ?
-                BytesUtils.randomByteArray(byteL, l, secureRandom) : leftMatrix[vertex2];
-            BytesUtils.xori(innerProduct, leftMatrix[vertex2]);
-            leftMatrix[vertex1] = innerProduct;
-        } else if (leftMatrix[vertex2] == null) {
-            BytesUtils.xori(innerProduct, leftMatrix[vertex0]);
-            BytesUtils.xori(innerProduct, leftMatrix[vertex1]);
-            leftMatrix[vertex2] = innerProduct;
+    private void fullDistinctVertices(byte[] storage, boolean[] leftFilled, int[] vertices,
+                                      byte[] flatValues, byte[][] hrs, int removedData, T[] keys) {
+        int vertex0 = vertices[0];
+        int vertex1 = vertices[1];
+        int vertex2 = vertices[2];
+        int emptyVertex;
+        if (!leftFilled[vertex0]) {
+            emptyVertex = vertex0;
+            fillRandomRow(storage, leftFilled, vertex1);
+            fillRandomRow(storage, leftFilled, vertex2);
+        } else if (!leftFilled[vertex1]) {
+            emptyVertex = vertex1;
+            fillRandomRow(storage, leftFilled, vertex2);
+        } else if (!leftFilled[vertex2]) {
+            emptyVertex = vertex2;
         } else {
             throw new IllegalStateException(
-                removedData + ":(" + vertex0 + ", " + vertex1 + ", " + vertex2 + ") are all full, error"
+                keys[removedData] + ":(" + vertex0 + ", " + vertex1 + ", " + vertex2 + ") are all full, error"
             );
         }
+        // empty row = value ⊕ other rows ⊕ <hr, R>
+        int emptyOffset = emptyVertex * byteL;
+        System.arraycopy(flatValues, removedData * byteL, storage, emptyOffset, byteL);
+        for (int vertex : vertices) {
+            if (vertex != emptyVertex) {
+                BytesUtils.xori(storage, emptyOffset, storage, vertex * byteL, byteL);
+            }
+        }
+        xoriInnerProduct(storage, emptyOffset, hrs[removedData]);
+        leftFilled[emptyVertex] = true;
+    }
+
+    private void fillRandomRow(byte[] storage, boolean[] leftFilled, int vertex) {
+        if (!leftFilled[vertex]) {
+            setRandomRow(storage, vertex);
+            leftFilled[vertex] = true;
+        }
+    }
+
+    private void setRandomRow(byte[] storage, int row) {
+        System.arraycopy(BytesUtils.randomByteArray(byteL, l, secureRandom), 0, storage, row * byteL, byteL);
+    }
+
+    private void xoriInnerProduct(byte[] storage, int offset, byte[] hr) {
+        for (int rmIndex = 0; rmIndex < rm; rmIndex++) {
+            if (BinaryUtils.getBoolean(hr, rmIndex)) {
+                BytesUtils.xori(storage, offset, storage, (lm + rmIndex) * byteL, byteL);
+            }
+        }
     }
 
-    private byte[][] generateDoublyStorage(Map<T, byte[]> keyValueMap, TIntSet coreVertexSet, Set<T> coreDataSet) {
-        byte[][] storage = new byte[m][];
+    private void generateDoublyStorage(byte[] flatValues, int[] h1s, int[] h2s, int[] h3s, byte[][] hrs,
+                                       TIntSet coreVertexSet, Set<Integer> coreDataSet,
+                                       byte[] storage, boolean[] leftFilled) {
         // Let d˜ = |R| and abort if d˜ > d + λ
         int dTilde = coreDataSet.size();
         int d = coreVertexSet.size();
         if (dTilde == 0) {
             // d˜ = 0, we do not need to solve equations, fill random variables.
-            IntStream.range(lm, lm + rm).forEach(index ->
-                storage[index] = BytesUtils.randomByteArray(byteL, l, secureRandom)
-            );
-            return storage;
+            IntStream.range(lm, lm + rm).forEach(index -> setRandomRow(storage, index));
+            return;
         }
         if (dTilde > d + rm) {
             throw new ArithmeticException("|d˜| = " + dTilde + ", d + rm = " + (d + rm) + " no solutions");
@@ -305,18 +325,17 @@ abstract class AbstractH3GctGf2eDokvs<T> extends AbstractGf2eDokvs<T> implements
             coreVertexMap.put(coreVertexArray[index], index);
         }
         int tildePrimeMatrixRowIndex = 0;
-        for (T data : coreDataSet) {
-            int h1 = dataH1Map.get(data);
-            BinaryUtils.setBoolean(tildePrimeMatrix[tildePrimeMatrixRowIndex], columnTildeOffset + coreVertexMap.get(h1), true);
-            int h2 = dataH2Map.get(data);
-            BinaryUtils.setBoolean(tildePrimeMatrix[tildePrimeMatrixRowIndex], columnTildeOffset + coreVertexMap.get(h2), true);
-            int h3 = dataH3Map.get(data);
-            BinaryUtils.setBoolean(tildePrimeMatrix[tildePrimeMatrixRowIndex], columnTildeOffset + coreVertexMap.get(h3), true);
-            boolean[] rxBinary = dataHrMap.get(data);
+        for (int data : coreDataSet) {
+            BinaryUtils.setBoolean(tildePrimeMatrix[tildePrimeMatrixRowIndex], columnTildeOffset + coreVertexMap.get(h1s[data]), true);
+            BinaryUtils.setBoolean(tildePrimeMatrix[tildePrimeMatrixRowIndex], columnTildeOffset + coreVertexMap.get(h2s[data]), true);
+            BinaryUtils.setBoolean(tildePrimeMatrix[tildePrimeMatrixRowIndex], columnTildeOffset + coreVertexMap.get(h3s[data]), true);
             for (int rmIndex = 0; rmIndex < rm; rmIndex++) {
-                BinaryUtils.setBoolean(tildePrimeMatrix[tildePrimeMatrixRowIndex], columnTildeOffset + d + rmIndex, rxBinary[rmIndex]);
+                BinaryUtils.setBoolean(
+                    tildePrimeMatrix[tildePrimeMatrixRowIndex], columnTildeOffset + d + rmIndex,
+                    BinaryUtils.getBoolean(hrs[data], rmIndex)
+                );
             }
-            vectorY[tildePrimeMatrixRowIndex] = BytesUtils.clone(keyValueMap.get(data));
+            vectorY[tildePrimeMatrixRowIndex] = Arrays.copyOfRange(flatValues, data * byteL, (data + 1) * byteL);
             tildePrimeMatrixRowIndex++;
         }
         // Using Gaussian elimination solve the system
@@ -329,15 +348,17 @@ abstract class AbstractH3GctGf2eDokvs<T> extends AbstractGf2eDokvs<T> implements
         }
         // update the result into the storage
         for (int iRow = 0; iRow < d; iRow++) {
-            storage[coreVertexArray[iRow]] = BytesUtils.clone(vectorX[iRow]);
+            System.arraycopy(vectorX[iRow], 0, storage, coreVertexArray[iRow] * byteL, byteL);
+            leftFilled[coreVertexArray[iRow]] = true;
         }
         for (int rmIndex = 0; rmIndex < rm; rmIndex++) {
-            storage[lm + rmIndex] = BytesUtils.clone(vectorX[d + rmIndex]);
+            System.arraycopy(vectorX[d + rmIndex], 0, storage, (lm + rmIndex) * byteL, byteL);
         }
-        return storage;
     }
 
-    private byte[][] generateFreeStorage(Map<T, byte[]> keyValueMap, TIntSet coreVertexSet, Set<T> coreDataSet) {
+    private void generateFreeStorage(byte[] flatValues, int[] h1s, int[] h2s, int[] h3s, byte[][] hrs,
+                                     TIntSet coreVertexSet, Set<Integer> coreDataSet,
+                                     byte[] storage, boolean[] leftFilled) {
         // Let d˜ = |R| and abort if d˜ > d + λ
         int dTilde = coreDataSet.size();
         int d = coreVertexSet.size();
@@ -345,43 +366,37 @@ abstract class AbstractH3GctGf2eDokvs<T> extends AbstractGf2eDokvs<T> implements
             throw new ArithmeticException("|d˜| = " + dTilde + ", d + rm = " + (d + rm) + " no solutions");
         }
         if (dTilde == 0) {
-            byte[][] storage = new byte[m][];
-            // d˜ = 0, we do not need to solve equations, fill 0 variables
-            IntStream.range(lm, lm + rm).forEach(index -> storage[index] = new byte[byteL]);
-            return storage;
-        } else {
-            // we need to solve equations
-            byte[][] matrixM = new byte[dTilde][byteM];
-            byte[][] vectorX = new byte[m][];
-            byte[][] vectorY = new byte[dTilde][];
-            int rowIndex = 0;
-            for (T coreData : coreDataSet) {
-                int h1Value = dataH1Map.get(coreData);
-                int h2Value = dataH2Map.get(coreData);
-                int h3Value = dataH3Map.get(coreData);
-                boolean[] rx = dataHrMap.get(coreData);
-                BinaryUtils.setBoolean(matrixM[rowIndex], h1Value, true);
-                BinaryUtils.setBoolean(matrixM[rowIndex], h2Value, true);
-                BinaryUtils.setBoolean(matrixM[rowIndex], h3Value, true);
-                for (int rmIndex = 0; rmIndex < rm; rmIndex++) {
-                    BinaryUtils.setBoolean(matrixM[rowIndex], lm + rmIndex, rx[rmIndex]);
-                }
-                vectorY[rowIndex] = BytesUtils.clone(keyValueMap.get(coreData));
-                rowIndex++;
-            }
-            LinearSolver.SystemInfo systemInfo = linearSolver.freeSolve(matrixM, m, vectorY, vectorX);
-            // Although d˜ > d + rm, we cannot find solution with a negligible probability since the matrix is not full rank
-            if (!systemInfo.equals(LinearSolver.SystemInfo.Consistent)) {
-                throw new ArithmeticException("There is no solution, the linear system does not have full rank");
-            }
-            byte[][] storage = new byte[m][];
-            for (int vertex : coreVertexSet.toArray()) {
-                // set left part
-                storage[vertex] = BytesUtils.clone(vectorX[vertex]);
+            // d˜ = 0, we do not need to solve equations, the right part is already 0.
+            return;
+        }
+        // we need to solve equations
+        byte[][] matrixM = new byte[dTilde][byteM];
+        byte[][] vectorX = new byte[m][];
+        byte[][] vectorY = new byte[dTilde][];
+        int rowIndex = 0;
+        for (int coreData : coreDataSet) {
+            BinaryUtils.setBoolean(matrixM[rowIndex], h1s[coreData], true);
+            BinaryUtils.setBoolean(matrixM[rowIndex], h2s[coreData], true);
+            BinaryUtils.setBoolean(matrixM[rowIndex], h3s[coreData], true);
+            for (int columnIndex = 0; columnIndex < rm; columnIndex++) {
+                BinaryUtils.setBoolean(matrixM[rowIndex], lm + columnIndex, BinaryUtils.getBoolean(hrs[coreData], columnIndex));
             }
-            // set right part
-            System.arraycopy(vectorX, lm, storage, lm, rm);
-            return storage;
+            vectorY[rowIndex] = Arrays.copyOfRange(flatValues, coreData * byteL, (coreData + 1) * byteL);
+            rowIndex++;
+        }
+        LinearSolver.SystemInfo systemInfo = linearSolver.freeSolve(matrixM, m, vectorY, vectorX);
+        // Although d˜ > d + rm, we cannot find solution with a negligible probability since the matrix is not full rank
+        if (!systemInfo.equals(LinearSolver.SystemInfo.Consistent)) {
+            throw new ArithmeticException("There is no solution, the linear system does not have full rank");
+        }
+        // set left part
+        for (int vertex : coreVertexSet.toArray()) {
+            System.arraycopy(vectorX[vertex], 0, storage, vertex * byteL, byteL);
+            leftFilled[vertex] = true;
+        }
+        // set right part
+        for (int rmIndex = 0; rmIndex < rm; rmIndex++) {
+            System.arraycopy(vectorX[lm + rmIndex], 0, storage, (lm + rmIndex) * byteL, byteL);
         }
     }
 }
@@ -16,10 +16,38 @@ public interface BinaryGf2eDokvs<T> extends Gf2eDokvs<T> {
      */
     int[] positions(T key);
 
+    /**
+     * Writes the binary positions for the given key into positions[offset, offset + num).
+     *
+     * @param key       the key.
+     * @param positions the array to write positions, the length is at least offset + maxPositionNum().
+     * @param offset    the offset.
+     * @return the number of positions.
+     */
+    default int positions(T key, int[] positions, int offset) {
+        int[] keyPositions = positions(key);
+        System.arraycopy(keyPositions, 0, positions, offset, keyPositions.length);
+        return keyPositions.length;
+    }
+
     /**
      * Gets the maximal position num.
      *
      * @return the maximal position num.
      */
     int maxPositionNum();
+
+    /**
+     * Decodes the keys with the encoded storage in the flat form. Positions of keys are computed in batches, and values
+     * are gathered from the flat storage.
+     *
+     * @param flatStorage encoded storage in the flat form.
+     * @param keys        keys.
+     * @param flatOut     the array to write values, the length must be keys.length * byteL.
+     * @param parallel    parallel decode.
+     */
+    @Override
+    default void decode(byte[] flatStorage, T[] keys, byte[] flatOut, boolean parallel) {
+        BinaryGf2eDokvsUtils.decode(this, flatStorage, keys, flatOut, parallel);
+    }
 }
@@ -0,0 +1,135 @@
+package edu.alibaba.mpc4j.crypto.matrix.okve.dokvs.gf2e;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * binary GF(2^e)-DOKVS utilities for the encoded storage in the flat form.
+ *
+ * @author Weiran Liu
+ * @date 2023/12/10
+ */
+class BinaryGf2eDokvsUtils {
+    /**
+     * max number of positions buffered in one decode batch, i.e., 256KB int[]
+     */
+    private static final int MAX_BATCH_POSITION_NUM = 1 << 16;
+    /**
+     * max number of keys in one decode batch
+     */
+    private static final int MAX_BATCH_SIZE = 1 << 10;
+
+    /**
+     * private constructor.
+     */
+    private BinaryGf2eDokvsUtils() {
+        // empty
+    }
+
+    /**
+     * Decodes the keys with the encoded storage in the flat form. Keys are split into batches. For each batch, we first
+     * compute positions of all keys, and then gather rows, so that row gathering is a tight loop over the flat storage
+     * that is not interleaved with hashing. Batches are decoded in parallel if required.
+     *
+     * @param dokvs       binary DOKVS.
+     * @param flatStorage encoded storage in the flat form.
+     * @param keys        keys.
+     * @param flatOut     the array to write values.
+     * @param parallel    parallel decode.
+     */
+    static <T> void decode(BinaryGf2eDokvs<T> dokvs, byte[] flatStorage, T[] keys, byte[] flatOut, boolean parallel) {
+        int byteL = CommonUtils.getByteLength(dokvs.getL());
+        MathPreconditions.checkEqual("flatStorage.length", "m * byteL", flatStorage.length, dokvs.getM() * byteL);
+        MathPreconditions.checkEqual("flatOut.length", "keys.length * byteL", flatOut.length, keys.length * byteL);
+        int maxPositionNum = dokvs.maxPositionNum();
+        int batchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, MAX_BATCH_POSITION_NUM / maxPositionNum));
+        int batchNum = (keys.length + batchSize - 1) / batchSize;
+        IntStream batchIntStream = IntStream.range(0, batchNum);
+        batchIntStream = parallel ? batchIntStream.parallel() : batchIntStream;
+        batchIntStream.forEach(batchIndex -> {
+            int from = batchIndex * batchSize;
+            int to = Math.min(from + batchSize, keys.length);
+            int[] positions = new int[(to - from) * maxPositionNum];
+            int[] positionNums = new int[to - from];
+            // compute positions for all keys in the batch
+            for (int index = from; index < to; index++) {
+                positionNums[index - from] = dokvs.positions(keys[index], positions, (index - from) * maxPositionNum);
+            }
+            // gather rows
+            for (int index = from; index < to; index++) {
+                int positionOffset = (index - from) * maxPositionNum;
+                int outOffset = index * byteL;
+                for (int i = 0; i < positionNums[index - from]; i++) {
+                    BytesUtils.xori(flatOut, outOffset, flatStorage, positions[positionOffset + i] * byteL, byteL);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes (base + i) into positions for each set bit i of the byte array, in ascending order. The same as
+     * BinaryUtils.byteArrayToBinary, the i-th bit is the (7 - i % 8)-th bit of the (i / 8)-th byte.
+     *
+     * @param byteArray byte array.
+     * @param base      base of positions.
+     * @param positions the array to write positions.
+     * @param offset    the offset.
+     * @return the number of set bits.
+     */
+    static int setBitPositions(byte[] byteArray, int base, int[] positions, int offset) {
+        int num = 0;
+        for (int byteIndex = 0; byteIndex < byteArray.length; byteIndex++) {
+            int byteValue = byteArray[byteIndex] & 0xFF;
+            while (byteValue != 0) {
+                int bitIndex = Integer.numberOfLeadingZeros(byteValue) - (Integer.SIZE - Byte.SIZE);
+                positions[offset + num] = base + byteIndex * Byte.SIZE + bitIndex;
+                num++;
+                byteValue ^= 0x80 >>> bitIndex;
+            }
+        }
+        return num;
+    }
+
+    /**
+     * Checks if each value in the flat form is in {0, 1}^l, i.e., the leading byteL * 8 - l bits of each value are 0.
+     *
+     * @param flatValues values in the flat form.
+     * @param byteL      byte length of each value.
+     * @param l          bit length of each value.
+     * @return true if each value is in {0, 1}^l.
+     */
+    static boolean isFixedReduceFlatArray(byte[] flatValues, int byteL, int l) {
+        if (flatValues.length % byteL != 0) {
+            return false;
+        }
+        int offset = byteL * Byte.SIZE - l;
+        if (offset == 0) {
+            return true;
+        }
+        int mask = (0xFF << (Byte.SIZE - offset)) & 0xFF;
+        for (int index = 0; index < flatValues.length; index += byteL) {
+            if ((flatValues[index] & mask) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits the encoded storage in the flat form into rows.
+     *
+     * @param flatStorage encoded storage in the flat form.
+     * @param byteL       byte length of each row.
+     * @return rows.
+     */
+    static byte[][] split(byte[] flatStorage, int byteL) {
+        assert flatStorage.length % byteL == 0;
+        return IntStream.range(0, flatStorage.length / byteL)
+            .mapToObj(row -> Arrays.copyOfRange(flatStorage, row * byteL, (row + 1) * byteL))
+            .toArray(byte[][]::new);
+    }
+}
@@ -73,6 +73,10 @@ public class Gf2eDokvsFactory {
          * MegaBin
          */
         MEGA_BIN,
+        /**
+         * random band OKVS
+         */
+        RANDOM_BAND,
     }
 
     /**
@@ -110,6 +114,8 @@ public class Gf2eDokvsFactory {
                 return new DistinctGbfGf2eDokvs<>(envType, n, l, keys[0]);
             case RANDOM_GBF:
                 return new RandomGbfGf2eDokvs<>(envType, n, l, keys[0]);
+            case RANDOM_BAND:
+                return new RandomBandGf2eDokvs<>(envType, n, l, keys[0]);
             case MEGA_BIN:
                 return new MegaBinGf2eDokvs<>(envType, n, l, keys);
             default:
@@ -136,6 +142,7 @@ public class Gf2eDokvsFactory {
             case H3_SPARSE_CLUSTER_BLAZE_GCT:
             case DISTINCT_GBF:
             case RANDOM_GBF:
+            case RANDOM_BAND:
                 return true;
             case MEGA_BIN:
                 return false;
@@ -179,6 +186,8 @@ public class Gf2eDokvsFactory {
                 return new DistinctGbfGf2eDokvs<>(envType, n, l, keys[0]);
             case RANDOM_GBF:
                 return new RandomGbfGf2eDokvs<>(envType, n, l, keys[0]);
+            case RANDOM_BAND:
+                return new RandomBandGf2eDokvs<>(envType, n, l, keys[0]);
             default:
                 throw new IllegalArgumentException("Invalid " + Gf2eDokvsType.class.getSimpleName() + ": " + type.name());
         }
@@ -205,6 +214,7 @@ public class Gf2eDokvsFactory {
             case H2_NAIVE_CLUSTER_BLAZE_GCT:
             case H3_NAIVE_CLUSTER_BLAZE_GCT:
             case MEGA_BIN:
+            case RANDOM_BAND:
                 return false;
             default:
                 throw new IllegalArgumentException("Invalid " + Gf2eDokvsType.class.getSimpleName() + ": " + type.name());
@@ -273,6 +283,8 @@ public class Gf2eDokvsFactory {
                 return AbstractGbfGf2eDokvs.HASH_KEY_NUM;
             case MEGA_BIN:
                 return MegaBinGf2eDokvs.HASH_KEY_NUM;
+            case RANDOM_BAND:
+                return RandomBandGf2eDokvs.HASH_KEY_NUM;
             default:
                 throw new IllegalArgumentException("Invalid " + Gf2eDokvsType.class.getSimpleName() + ": " + type.name());
         }
@@ -309,8 +321,38 @@ public class Gf2eDokvsFactory {
                 return AbstractGbfGf2eDokvs.getM(n);
             case MEGA_BIN:
                 return MegaBinGf2eDokvs.getM(envType, n);
+            case RANDOM_BAND:
+                return RandomBandGf2eDokvs.getM(n);
             default:
                 throw new IllegalArgumentException("Invalid " + Gf2eDokvsType.class.getSimpleName() + ": " + type.name());
         }
     }
+
+    /**
+     * Creates a random band OKVS instance with the given ε, i.e., m = (1 + ε) * n. Smaller ε leads to smaller m but
+     * larger band width, and thus slower encoding.
+     *
+     * @param envType environment.
+     * @param n       number of key-value pairs.
+     * @param l       value bit length.
+     * @param keys    keys.
+     * @param epsilon ε, must be in range [0.03, 1.0].
+     * @return a random band OKVS instance.
+     */
+    public static <X> BinaryGf2eDokvs<X> createRandomBandInstance(EnvType envType, int n, int l, byte[][] keys,
+                                                                   double epsilon) {
+        MathPreconditions.checkEqual("keys.length", "hash_num", keys.length, RandomBandGf2eDokvs.HASH_KEY_NUM);
+        return new RandomBandGf2eDokvs<>(envType, n, l, keys[0], epsilon);
+    }
+
+    /**
+     * Gets m of the random band OKVS with the given ε.
+     *
+     * @param n       number of key-value pairs.
+     * @param epsilon ε, must be in range [0.03, 1.0].
+     * @return m.
+     */
+    public static int getRandomBandM(int n, double epsilon) {
+        return RandomBandGf2eDokvs.getM(n, epsilon);
+    }
 }
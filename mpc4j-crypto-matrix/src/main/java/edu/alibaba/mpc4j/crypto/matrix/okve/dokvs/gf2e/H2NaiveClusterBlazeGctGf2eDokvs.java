@@ -42,12 +42,20 @@ public class H2NaiveClusterBlazeGctGf2eDokvs<T> extends AbstractH2ClusterBlazeGc
 
     @Override
     public int[] positions(T key) {
+        int[] positions = new int[maxPositionNum()];
+        int num = positions(key, positions, 0);
+        return Arrays.copyOf(positions, num);
+    }
+
+    @Override
+    public int positions(T key, int[] positions, int offset) {
         byte[] keyBytes = ObjectUtils.objectToByteArray(key);
         int binIndex = binHash.getInteger(keyBytes, binNum);
-        int[] binPositions = bins.get(binIndex).positions(key);
-        return Arrays.stream(binPositions)
-            .map(position -> position + binM * binIndex)
-            .toArray();
+        int num = bins.get(binIndex).positions(key, positions, offset);
+        for (int i = offset; i < offset + num; i++) {
+            positions[i] += binM * binIndex;
+        }
+        return num;
     }
 
     @Override
@@ -78,6 +86,16 @@ public class H2NaiveClusterBlazeGctGf2eDokvs<T> extends AbstractH2ClusterBlazeGc
             .toArray(byte[][]::new);
     }
 
+    @Override
+    public byte[] encode(T[] keys, byte[] flatValues, boolean doublyEncode) throws ArithmeticException {
+        byte[][] binStorages = encodeBins(keys, flatValues, doublyEncode);
+        byte[] flatStorage = new byte[m * byteL];
+        for (int binIndex = 0; binIndex < binNum; binIndex++) {
+            System.arraycopy(binStorages[binIndex], 0, flatStorage, binM * binIndex * byteL, binM * byteL);
+        }
+        return flatStorage;
+    }
+
     @Override
     public byte[] decode(byte[][] storage, T key) {
         // here we do not verify bit length for each storage, otherwise decode would require O(n) computation.
@@ -40,12 +40,23 @@ class H2SparseClusterBlazeGctGf2eDokvs<T> extends AbstractH2ClusterBlazeGctGf2eD
 
     @Override
     public int[] positions(T key) {
+        int[] positions = new int[maxPositionNum()];
+        int num = positions(key, positions, 0);
+        return Arrays.copyOf(positions, num);
+    }
+
+    @Override
+    public int positions(T key, int[] positions, int offset) {
         byte[] keyBytes = ObjectUtils.objectToByteArray(key);
         int binIndex = binHash.getInteger(keyBytes, binNum);
-        int[] binPositions = bins.get(binIndex).positions(key);
-        return Arrays.stream(binPositions)
-            .map(position -> position + binM * binIndex)
-            .toArray();
+        int num = bins.get(binIndex).positions(key, positions, offset);
+        // sparse positions of all bins are placed first, followed by dense positions of all bins
+        for (int i = offset; i < offset + num; i++) {
+            positions[i] = positions[i] < binLm
+                ? binLm * binIndex + positions[i]
+                : binLm * binNum + binRm * binIndex + (positions[i] - binLm);
+        }
+        return num;
     }
 
     @Override
@@ -119,6 +130,21 @@ class H2SparseClusterBlazeGctGf2eDokvs<T> extends AbstractH2ClusterBlazeGctGf2eD
         return sparseStorage;
     }
 
+    @Override
+    public byte[] encode(T[] keys, byte[] flatValues, boolean doublyEncode) throws ArithmeticException {
+        byte[][] binStorages = encodeBins(keys, flatValues, doublyEncode);
+        byte[] flatStorage = new byte[m * byteL];
+        for (int binIndex = 0; binIndex < binNum; binIndex++) {
+            // sparse rows of all bins are placed first, followed by dense rows of all bins
+            System.arraycopy(binStorages[binIndex], 0, flatStorage, binLm * binIndex * byteL, binLm * byteL);
+            System.arraycopy(
+                binStorages[binIndex], binLm * byteL,
+                flatStorage, (binLm * binNum + binRm * binIndex) * byteL, binRm * byteL
+            );
+        }
+        return flatStorage;
+    }
+
     @Override
     public byte[] decode(byte[][] storage, T key) {
         // here we do not verify bit length for each storage, otherwise decode would require O(n) computation.
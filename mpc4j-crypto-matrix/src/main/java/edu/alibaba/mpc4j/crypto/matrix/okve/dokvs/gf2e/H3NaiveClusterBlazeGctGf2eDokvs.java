@@ -40,12 +40,20 @@ class H3NaiveClusterBlazeGctGf2eDokvs<T> extends AbstractH3ClusterBlazeGctGf2eDo
 
     @Override
     public int[] positions(T key) {
+        int[] positions = new int[maxPositionNum()];
+        int num = positions(key, positions, 0);
+        return Arrays.copyOf(positions, num);
+    }
+
+    @Override
+    public int positions(T key, int[] positions, int offset) {
         byte[] keyBytes = ObjectUtils.objectToByteArray(key);
         int binIndex = binHash.getInteger(keyBytes, binNum);
-        int[] binPositions = bins.get(binIndex).positions(key);
-        return Arrays.stream(binPositions)
-            .map(position -> position + binM * binIndex)
-            .toArray();
+        int num = bins.get(binIndex).positions(key, positions, offset);
+        for (int i = offset; i < offset + num; i++) {
+            positions[i] += binM * binIndex;
+        }
+        return num;
     }
 
     @Override
@@ -76,6 +84,16 @@ class H3NaiveClusterBlazeGctGf2eDokvs<T> extends AbstractH3ClusterBlazeGctGf2eDo
             .toArray(byte[][]::new);
     }
 
+    @Override
+    public byte[] encode(T[] keys, byte[] flatValues, boolean doublyEncode) throws ArithmeticException {
+        byte[][] binStorages = encodeBins(keys, flatValues, doublyEncode);
+        byte[] flatStorage = new byte[m * byteL];
+        for (int binIndex = 0; binIndex < binNum; binIndex++) {
+            System.arraycopy(binStorages[binIndex], 0, flatStorage, binM * binIndex * byteL, binM * byteL);
+        }
+        return flatStorage;
+    }
+
     @Override
     public byte[] decode(byte[][] storage, T key) {
         // here we do not verify bit length for each storage, otherwise decode would require O(n) computation.
@@ -0,0 +1,374 @@
+package edu.alibaba.mpc4j.crypto.matrix.okve.dokvs.gf2e;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Random Band OKVS (RB-OKVS). Each key is mapped to a random start position s ∈ [0, m - w] and a random band of width
+ * w, the first bit of which is always 1. The scheme is described in the following paper:
+ * <p>
+ * Bienstock A, Patel S, Seo J Y, Yeo K. Near-Optimal Oblivious Key-Value Stores for Efficient PSI, PSU and
+ * Volume-Hiding Multi-Maps. USENIX Security 2023, pp. 301-318.
+ * </p>
+ * The band is stored in packed long[] (bit j in the (j / 64)-th long). Encoding sorts rows by the start position
+ * (counting sort), and runs the Gaussian elimination where each row only interacts with the following rows whose start
+ * position is not greater than its pivot. This is about O(n * w^2 / 64) bit operations plus O(n * w) value operations.
+ * Decoding is one band inner product per key.
+ * <p>
+ * The expansion is m = (1 + ε) * n. The failure probability decreases exponentially with ε * w. For n = 2^12, we
+ * observe failure probabilities about 2^{-4} for ε * w ≈ 3 and about 2^{-12} for ε * w ≈ 6. We set w so that
+ * ε * w ≥ 20, which extrapolates to a failure probability below 2^{-40}. When n is small, we set m ≥ n + λ and w = m,
+ * i.e., the system is a dense random binary system.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/12/08
+ */
+class RandomBandGf2eDokvs<T> extends AbstractGf2eDokvs<T> implements BinaryGf2eDokvs<T> {
+    /**
+     * we only need to use one hash key
+     */
+    static final int HASH_KEY_NUM = 1;
+    /**
+     * default ε
+     */
+    static final double DEFAULT_EPSILON = 0.1;
+    /**
+     * min ε
+     */
+    private static final double MIN_EPSILON = 0.03;
+    /**
+     * max ε
+     */
+    private static final double MAX_EPSILON = 1.0;
+    /**
+     * ε * w, see the class comment
+     */
+    private static final double EPSILON_W = 20;
+
+    /**
+     * Gets m for the given n with the default ε.
+     *
+     * @param n number of key-value pairs.
+     * @return m.
+     */
+    static int getM(int n) {
+        return getM(n, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Gets m for the given n and ε.
+     *
+     * @param n       number of key-value pairs.
+     * @param epsilon ε.
+     * @return m.
+     */
+    static int getM(int n, double epsilon) {
+        MathPreconditions.checkPositive("n", n);
+        MathPreconditions.checkGreaterOrEqual("ε", epsilon, MIN_EPSILON);
+        MathPreconditions.checkLessOrEqual("ε", epsilon, MAX_EPSILON);
+        // m = max((1 + ε) * n, n + λ), so that m % Byte.SIZE = 0
+        int m = Math.max((int) Math.ceil((1 + epsilon) * n), n + CommonConstants.STATS_BIT_LENGTH);
+        return CommonUtils.getByteLength(m) * Byte.SIZE;
+    }
+
+    /**
+     * Gets the band width w for the given n and ε.
+     *
+     * @param n       number of key-value pairs.
+     * @param epsilon ε.
+     * @return w.
+     */
+    static int getW(int n, double epsilon) {
+        int m = getM(n, epsilon);
+        // w is a multiple of Long.SIZE, and w <= m
+        int w = CommonUtils.getUnitNum((int) Math.ceil(EPSILON_W / epsilon), Long.SIZE) * Long.SIZE;
+        return Math.min(w, m);
+    }
+
+    /**
+     * ε
+     */
+    private final double epsilon;
+    /**
+     * band width
+     */
+    private final int w;
+    /**
+     * number of longs for a band
+     */
+    private final int longW;
+    /**
+     * number of bytes for a band
+     */
+    private final int byteW;
+    /**
+     * number of possible start positions, i.e., m - w + 1
+     */
+    private final int startNum;
+    /**
+     * hash
+     */
+    private final Prf hash;
+
+    RandomBandGf2eDokvs(EnvType envType, int n, int l, byte[] key) {
+        this(envType, n, l, key, DEFAULT_EPSILON, new SecureRandom());
+    }
+
+    RandomBandGf2eDokvs(EnvType envType, int n, int l, byte[] key, double epsilon) {
+        this(envType, n, l, key, epsilon, new SecureRandom());
+    }
+
+    RandomBandGf2eDokvs(EnvType envType, int n, int l, byte[] key, double epsilon, SecureRandom secureRandom) {
+        super(n, getM(n, epsilon), l, secureRandom);
+        this.epsilon = epsilon;
+        w = getW(n, epsilon);
+        longW = CommonUtils.getUnitNum(w, Long.SIZE);
+        byteW = CommonUtils.getByteLength(w);
+        startNum = m - w + 1;
+        hash = PrfFactory.createInstance(envType, Integer.BYTES + byteW);
+        hash.setKey(key);
+    }
+
+    @Override
+    public Gf2eDokvsFactory.Gf2eDokvsType getType() {
+        return Gf2eDokvsFactory.Gf2eDokvsType.RANDOM_BAND;
+    }
+
+    /**
+     * Gets ε.
+     *
+     * @return ε.
+     */
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    /**
+     * Gets the band width.
+     *
+     * @return band width.
+     */
+    public int getW() {
+        return w;
+    }
+
+    /**
+     * Computes the start position and the band of the key.
+     *
+     * @param key  key.
+     * @param band the array to write the band, the length is at least offset + longW.
+     * @param offset offset of the band.
+     * @return the start position.
+     */
+    private int hash(T key, long[] band, int offset) {
+        byte[] hashBytes = hash.getBytes(ObjectUtils.objectToByteArray(key));
+        ByteBuffer byteBuffer = ByteBuffer.wrap(hashBytes).order(ByteOrder.LITTLE_ENDIAN);
+        int start = (int) (Integer.toUnsignedLong(byteBuffer.getInt()) % startNum);
+        Arrays.fill(band, offset, offset + longW, 0L);
+        for (int byteIndex = 0; byteIndex < byteW; byteIndex++) {
+            band[offset + byteIndex / Long.BYTES] |= (hashBytes[Integer.BYTES + byteIndex] & 0xFFL) << ((byteIndex % Long.BYTES) * Byte.SIZE);
+        }
+        // clear bits beyond w, and set the first bit to 1
+        int lastBits = w % Long.SIZE;
+        if (lastBits != 0) {
+            band[offset + longW - 1] &= (1L << lastBits) - 1;
+        }
+        band[offset] |= 1L;
+        return start;
+    }
+
+    @Override
+    public int[] positions(T key) {
+        int[] positions = new int[w];
+        int num = positions(key, positions, 0);
+        return Arrays.copyOf(positions, num);
+    }
+
+    @Override
+    public int positions(T key, int[] positions, int offset) {
+        long[] band = new long[longW];
+        int start = hash(key, band, 0);
+        int num = 0;
+        for (int longIndex = 0; longIndex < longW; longIndex++) {
+            long word = band[longIndex];
+            while (word != 0) {
+                positions[offset + num] = start + longIndex * Long.SIZE + Long.numberOfTrailingZeros(word);
+                num++;
+                word &= word - 1;
+            }
+        }
+        return num;
+    }
+
+    @Override
+    public int maxPositionNum() {
+        return w;
+    }
+
+    @Override
+    public byte[][] encode(Map<T, byte[]> keyValueMap, boolean doublyEncode) throws ArithmeticException {
+        MathPreconditions.checkLessOrEqual("key-value size", keyValueMap.size(), n);
+        keyValueMap.values().forEach(x -> Preconditions.checkArgument(BytesUtils.isFixedReduceByteArray(x, byteL, l)));
+        ArrayList<T> keyList = new ArrayList<>(keyValueMap.keySet());
+        int rowNum = keyList.size();
+        // compute start positions and bands
+        int[] starts = new int[rowNum];
+        long[] bands = new long[rowNum * longW];
+        IntStream rowIndexIntStream = IntStream.range(0, rowNum);
+        rowIndexIntStream = parallelEncode ? rowIndexIntStream.parallel() : rowIndexIntStream;
+        rowIndexIntStream.forEach(rowIndex ->
+            starts[rowIndex] = hash(keyList.get(rowIndex), bands, rowIndex * longW)
+        );
+        // sort rows by the start position using the counting sort
+        int[] counts = new int[startNum + 1];
+        for (int start : starts) {
+            counts[start + 1]++;
+        }
+        for (int startIndex = 0; startIndex < startNum; startIndex++) {
+            counts[startIndex + 1] += counts[startIndex];
+        }
+        int[] sortedStarts = new int[rowNum];
+        long[] sortedBands = new long[rowNum * longW];
+        byte[][] sortedValues = new byte[rowNum][];
+        for (int rowIndex = 0; rowIndex < rowNum; rowIndex++) {
+            int sortedIndex = counts[starts[rowIndex]]++;
+            sortedStarts[sortedIndex] = starts[rowIndex];
+            System.arraycopy(bands, rowIndex * longW, sortedBands, sortedIndex * longW, longW);
+            sortedValues[sortedIndex] = BytesUtils.clone(keyValueMap.get(keyList.get(rowIndex)));
+        }
+        // Gaussian elimination, pivots[i] is the pivot column of the i-th sorted row
+        int[] pivots = eliminate(sortedStarts, sortedBands, sortedValues);
+        // back substitution
+        byte[][] storage = new byte[m][];
+        boolean[] isPivots = new boolean[m];
+        for (int pivot : pivots) {
+            if (pivot >= 0) {
+                isPivots[pivot] = true;
+            }
+        }
+        for (int column = 0; column < m; column++) {
+            if (!isPivots[column]) {
+                storage[column] = doublyEncode ? BytesUtils.randomByteArray(byteL, l, secureRandom) : new byte[byteL];
+            }
+        }
+        for (int rowIndex = rowNum - 1; rowIndex >= 0; rowIndex--) {
+            int pivot = pivots[rowIndex];
+            if (pivot < 0) {
+                continue;
+            }
+            byte[] value = sortedValues[rowIndex];
+            int start = sortedStarts[rowIndex];
+            int offset = rowIndex * longW;
+            for (int longIndex = 0; longIndex < longW; longIndex++) {
+                long word = sortedBands[offset + longIndex];
+                while (word != 0) {
+                    int column = start + longIndex * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    if (column != pivot) {
+                        BytesUtils.xori(value, storage[column]);
+                    }
+                    word &= word - 1;
+                }
+            }
+            storage[pivot] = value;
+        }
+        return storage;
+    }
+
+    /**
+     * Runs the Gaussian elimination on the rows sorted by start positions. For the i-th row with the pivot p_i (the
+     * first non-zero bit), we only need to eliminate the following rows with s_j ≤ p_i. The i-th row has no non-zero
+     * bit in [s_i, p_i), and s_i ≤ s_j, so that the elimination is (band_j ^= band_i >>> (s_j - s_i)).
+     *
+     * @param starts start positions.
+     * @param bands  bands.
+     * @param values values.
+     * @return pivots, -1 if the row is zero and the value is zero.
+     * @throws ArithmeticException if the system has no solution.
+     */
+    private int[] eliminate(int[] starts, long[] bands, byte[][] values) throws ArithmeticException {
+        int rowNum = starts.length;
+        int[] pivots = new int[rowNum];
+        for (int rowIndex = 0; rowIndex < rowNum; rowIndex++) {
+            int offset = rowIndex * longW;
+            int pivotLongIndex = 0;
+            while (pivotLongIndex < longW && bands[offset + pivotLongIndex] == 0L) {
+                pivotLongIndex++;
+            }
+            if (pivotLongIndex == longW) {
+                // the row is linearly dependent on the previous rows
+                if (BytesUtils.equals(values[rowIndex], new byte[byteL])) {
+                    pivots[rowIndex] = -1;
+                    continue;
+                }
+                throw new ArithmeticException("Failed to encode Key-Value Map, the band matrix is not full rank");
+            }
+            int pivotOffset = pivotLongIndex * Long.SIZE + Long.numberOfTrailingZeros(bands[offset + pivotLongIndex]);
+            int pivot = starts[rowIndex] + pivotOffset;
+            pivots[rowIndex] = pivot;
+            for (int nextRowIndex = rowIndex + 1; nextRowIndex < rowNum && starts[nextRowIndex] <= pivot; nextRowIndex++) {
+                int shift = starts[nextRowIndex] - starts[rowIndex];
+                int nextPivotOffset = pivotOffset - shift;
+                int nextOffset = nextRowIndex * longW;
+                if ((bands[nextOffset + nextPivotOffset / Long.SIZE] & (1L << (nextPivotOffset % Long.SIZE))) != 0) {
+                    xorShiftRight(bands, offset, nextOffset, shift);
+                    BytesUtils.xori(values[nextRowIndex], values[rowIndex]);
+                }
+            }
+        }
+        return pivots;
+    }
+
+    /**
+     * Computes band_to ^= band_from >>> shift, where bits of band_from in [0, shift) are all zero.
+     */
+    private void xorShiftRight(long[] bands, int fromOffset, int toOffset, int shift) {
+        int longShift = shift / Long.SIZE;
+        int bitShift = shift % Long.SIZE;
+        int num = longW - longShift;
+        if (bitShift == 0) {
+            for (int longIndex = 0; longIndex < num; longIndex++) {
+                bands[toOffset + longIndex] ^= bands[fromOffset + longShift + longIndex];
+            }
+        } else {
+            for (int longIndex = 0; longIndex < num - 1; longIndex++) {
+                bands[toOffset + longIndex] ^= (bands[fromOffset + longShift + longIndex] >>> bitShift)
+                    | (bands[fromOffset + longShift + longIndex + 1] << (Long.SIZE - bitShift));
+            }
+            bands[toOffset + num - 1] ^= bands[fromOffset + longW - 1] >>> bitShift;
+        }
+    }
+
+    @Override
+    public byte[] decode(byte[][] storage, T key) {
+        // here we do not verify bit length for each storage, otherwise decode would require O(n) computation.
+        MathPreconditions.checkEqual("storage.length", "m", storage.length, m);
+        long[] band = new long[longW];
+        int start = hash(key, band, 0);
+        byte[] value = new byte[byteL];
+        for (int longIndex = 0; longIndex < longW; longIndex++) {
+            long word = band[longIndex];
+            while (word != 0) {
+                BytesUtils.xori(value, storage[start + longIndex * Long.SIZE + Long.numberOfTrailingZeros(word)]);
+                word &= word - 1;
+            }
+        }
+        assert BytesUtils.isFixedReduceByteArray(value, byteL, l);
+        return value;
+    }
+}
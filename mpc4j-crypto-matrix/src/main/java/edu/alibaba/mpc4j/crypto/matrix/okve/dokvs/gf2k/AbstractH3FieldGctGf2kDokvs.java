@@ -16,12 +16,11 @@ import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 /**
  * abstract DOKVS using garbled cuckoo table with 3 hash functions.
@@ -55,29 +54,17 @@ abstract class AbstractH3FieldGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> imple
      */
     private final Prf hr;
     /**
-     * two core finder
+     * two core finder, the data in the cuckoo table is the key index
      */
-    private final CuckooTableSingletonTcFinder<T> singletonTcFinder;
+    private final CuckooTableSingletonTcFinder<Integer> singletonTcFinder;
     /**
      * GF2K linear solver
      */
     private final Gf2kLinearSolver linearSolver;
     /**
-     * key -> h1
+     * byte length of field elements
      */
-    private Map<T, Integer> dataH1Map;
-    /**
-     * key -> h2
-     */
-    private Map<T, Integer> dataH2Map;
-    /**
-     * key -> h3
-     */
-    private Map<T, Integer> dataH3Map;
-    /**
-     * key -> hr
-     */
-    private Map<T, byte[][]> dataHrMap;
+    private final int byteL;
 
     AbstractH3FieldGctGf2kDokvs(EnvType envType, int n, int lm, int rm, byte[][] keys, SecureRandom secureRandom) {
         super(envType, n, lm + rm, secureRandom);
@@ -90,11 +77,15 @@ abstract class AbstractH3FieldGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> imple
         hr.setKey(keys[1]);
         singletonTcFinder = new CuckooTableSingletonTcFinder<>();
         linearSolver = new Gf2kLinearSolver(gf2k, secureRandom);
+        byteL = gf2k.getByteL();
     }
 
     @Override
     public int[] sparsePositions(T key) {
-        byte[] keyBytes = ObjectUtils.objectToByteArray(key);
+        return sparsePositions(ObjectUtils.objectToByteArray(key));
+    }
+
+    private int[] sparsePositions(byte[] keyBytes) {
         int[] sparsePositions = IntUtils.byteArrayToIntArray(hl.getBytes(keyBytes));
         // we now use the method provided in VOLE-PSI to get distinct hash indexes
         sparsePositions[0] = Math.abs(sparsePositions[0] % lm);
@@ -118,7 +109,10 @@ abstract class AbstractH3FieldGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> imple
 
     @Override
     public byte[][] denseFields(T key) {
-        byte[] keyBytes = ObjectUtils.objectToByteArray(key);
+        return denseFields(ObjectUtils.objectToByteArray(key));
+    }
+
+    private byte[][] denseFields(byte[] keyBytes) {
         byte[][] wedgeKs = new byte[rm][];
         // ^k = I(k, r), and I: {0, 1}^* → {0, 1}^κ is a random mapping.
         wedgeKs[0] = hr.getBytes(keyBytes);
@@ -147,61 +141,148 @@ abstract class AbstractH3FieldGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> imple
         return value;
     }
 
+    @Override
+    public void decode(byte[] flatStorage, T[] keys, byte[] flatOut, boolean parallel) {
+        MathPreconditions.checkEqual("flatStorage.length", "m * byteL", flatStorage.length, m * byteL);
+        MathPreconditions.checkEqual("flatOut.length", "keys.length * byteL", flatOut.length, keys.length * byteL);
+        // split the dense part only if it is shared by more than one key
+        byte[][] denseStorage = keys.length > 1 ? splitDenseStorage(flatStorage, 0) : null;
+        IntStream indexIntStream = IntStream.range(0, keys.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        indexIntStream.forEach(index ->
+            System.arraycopy(decode(flatStorage, 0, denseStorage, keys[index]), 0, flatOut, index * byteL, byteL)
+        );
+    }
+
+    /**
+     * Splits the dense part of the encoded storage in the flat form into rows. Only the dense part is split, since the
+     * sparse part is only added, and addition in GF(2^κ) is XOR.
+     *
+     * @param flatStorage encoded storage in the flat form.
+     * @param rowOffset   the first row of the encoded storage.
+     * @return rows in the dense part.
+     */
+    byte[][] splitDenseStorage(byte[] flatStorage, int rowOffset) {
+        return IntStream.range(rowOffset + lm, rowOffset + lm + rm)
+            .mapToObj(row -> Arrays.copyOfRange(flatStorage, row * byteL, (row + 1) * byteL))
+            .toArray(byte[][]::new);
+    }
+
+    /**
+     * Decodes the key with the encoded storage in the flat form.
+     *
+     * @param flatStorage  encoded storage in the flat form.
+     * @param rowOffset    the first row of the encoded storage.
+     * @param denseStorage rows in the dense part, or null if the rows are read from the encoded storage.
+     * @param key          key.
+     * @return value.
+     */
+    byte[] decode(byte[] flatStorage, int rowOffset, byte[][] denseStorage, T key) {
+        byte[] keyBytes = ObjectUtils.objectToByteArray(key);
+        int[] sparsePositions = sparsePositions(keyBytes);
+        byte[][] denseFields = denseFields(keyBytes);
+        byte[] value = gf2k.createZero();
+        // multiply and add dense parts
+        for (int rmIndex = 0; rmIndex < rm; rmIndex++) {
+            byte[] denseRow = denseStorage == null
+                ? Arrays.copyOfRange(flatStorage, (rowOffset + lm + rmIndex) * byteL, (rowOffset + lm + rmIndex + 1) * byteL)
+                : denseStorage[rmIndex];
+            gf2k.addi(value, gf2k.mul(denseFields[rmIndex], denseRow));
+        }
+        // h1, h2 and h3 must be distinct, addition in GF(2^κ) is XOR
+        for (int sparsePosition : sparsePositions) {
+            BytesUtils.xori(value, 0, flatStorage, (rowOffset + sparsePosition) * byteL, byteL);
+        }
+        return value;
+    }
+
     @Override
     public byte[][] encode(Map<T, byte[]> keyValueMap, boolean doublyEncode) throws ArithmeticException {
         MathPreconditions.checkLessOrEqual("key-value size", keyValueMap.size(), n);
         keyValueMap.values().forEach(x -> Preconditions.checkArgument(gf2k.validateElement(x)));
-        // construct maps
-        Set<T> keySet = keyValueMap.keySet();
-        int keySize = keySet.size();
-        dataH1Map = new ConcurrentHashMap<>(keySize);
-        dataH2Map = new ConcurrentHashMap<>(keySize);
-        dataH3Map = new ConcurrentHashMap<>(keySize);
-        dataHrMap = new ConcurrentHashMap<>(keySize);
-        Stream<T> keyStream = keySet.stream();
-        keyStream = parallelEncode ? keyStream.parallel() : keyStream;
-        keyStream.forEach(key -> {
-            int[] sparsePositions = sparsePositions(key);
-            byte[][] denseFields = denseFields(key);
-            dataH1Map.put(key, sparsePositions[0]);
-            dataH2Map.put(key, sparsePositions[1]);
-            dataH3Map.put(key, sparsePositions[2]);
-            dataHrMap.put(key, denseFields);
+        @SuppressWarnings("unchecked")
+        T[] keys = (T[]) keyValueMap.keySet().toArray();
+        byte[] flatValues = new byte[keys.length * byteL];
+        for (int keyIndex = 0; keyIndex < keys.length; keyIndex++) {
+            System.arraycopy(keyValueMap.get(keys[keyIndex]), 0, flatValues, keyIndex * byteL, byteL);
+        }
+        return encodeRows(keys, flatValues, doublyEncode);
+    }
+
+    @Override
+    public byte[] encode(T[] keys, byte[] flatValues, boolean doublyEncode) throws ArithmeticException {
+        MathPreconditions.checkLessOrEqual("key-value size", keys.length, n);
+        MathPreconditions.checkEqual("flatValues.length", "keys.length * byteL", flatValues.length, keys.length * byteL);
+        byte[][] storage = encodeRows(keys, flatValues, doublyEncode);
+        byte[] flatStorage = new byte[m * byteL];
+        for (int row = 0; row < m; row++) {
+            System.arraycopy(storage[row], 0, flatStorage, row * byteL, byteL);
+        }
+        return flatStorage;
+    }
+
+    private byte[] getValue(byte[] flatValues, int keyIndex) {
+        return Arrays.copyOfRange(flatValues, keyIndex * byteL, (keyIndex + 1) * byteL);
+    }
+
+    private byte[][] encodeRows(T[] keys, byte[] flatValues, boolean doublyEncode) throws ArithmeticException {
+        int keySize = keys.length;
+        // compute positions for each key index
+        int[] h1s = new int[keySize];
+        int[] h2s = new int[keySize];
+        int[] h3s = new int[keySize];
+        byte[][][] hrs = new byte[keySize][][];
+        IntStream keyIndexIntStream = IntStream.range(0, keySize);
+        keyIndexIntStream = parallelEncode ? keyIndexIntStream.parallel() : keyIndexIntStream;
+        keyIndexIntStream.forEach(keyIndex -> {
+            byte[] keyBytes = ObjectUtils.objectToByteArray(keys[keyIndex]);
+            int[] sparsePositions = sparsePositions(keyBytes);
+            h1s[keyIndex] = sparsePositions[0];
+            h2s[keyIndex] = sparsePositions[1];
+            h3s[keyIndex] = sparsePositions[2];
+            hrs[keyIndex] = denseFields(keyBytes);
         });
-        // generate cuckoo table with 3 hash functions
-        H3CuckooTable<T> h3CuckooTable = generateCuckooTable(keyValueMap);
+        // generate cuckoo table with 3 hash functions, the data is the key index
+        H3CuckooTable<Integer> h3CuckooTable = new H3CuckooTable<>(lm);
+        for (int keyIndex = 0; keyIndex < keySize; keyIndex++) {
+            h3CuckooTable.addData(new int[]{h1s[keyIndex], h2s[keyIndex], h3s[keyIndex]}, keyIndex);
+        }
         // find two-core graph
         singletonTcFinder.findTwoCore(h3CuckooTable);
         // construct matrix based on two-core graph
-        Set<T> coreDataSet = singletonTcFinder.getRemainedDataSet();
+        Set<Integer> coreDataSet = singletonTcFinder.getRemainedDataSet();
         // generate storage that contains all solutions in the right part and involved left part.
-        TIntSet coreVertexSet = new TIntHashSet(keySet.size());
-        coreDataSet.stream().map(h3CuckooTable::getVertices).forEach(coreVertexSet::addAll);
+        TIntSet coreVertexSet = new TIntHashSet(keySize);
+        for (int coreData : coreDataSet) {
+            coreVertexSet.add(h1s[coreData]);
+            coreVertexSet.add(h2s[coreData]);
+            coreVertexSet.add(h3s[coreData]);
+        }
         byte[][] storage = doublyEncode
-            ? generateDoublyStorage(keyValueMap, coreVertexSet, coreDataSet)
-            : generateFreeStorage(keyValueMap, coreVertexSet, coreDataSet);
+            ? generateDoublyStorage(flatValues, h1s, h2s, h3s, hrs, coreVertexSet, coreDataSet)
+            : generateFreeStorage(flatValues, h1s, h2s, h3s, hrs, coreVertexSet, coreDataSet);
         // split D = L || R
         byte[][] leftStorage = new byte[lm][];
         byte[][] rightStorage = new byte[rm][];
         System.arraycopy(storage, 0, leftStorage, 0, lm);
         System.arraycopy(storage, lm, rightStorage, 0, rm);
         // back-fill
-        Stack<T> removedDataStack = singletonTcFinder.getRemovedDataStack();
+        Stack<Integer> removedDataStack = singletonTcFinder.getRemovedDataStack();
         Stack<int[]> removedDataVerticesStack = singletonTcFinder.getRemovedDataVertices();
         while (!removedDataStack.empty()) {
-            T removedData = removedDataStack.pop();
+            int removedData = removedDataStack.pop();
             int[] removedDataVertices = removedDataVerticesStack.pop();
             int vertex0 = removedDataVertices[0];
             int vertex1 = removedDataVertices[1];
             int vertex2 = removedDataVertices[2];
-            byte[][] rx = dataHrMap.get(removedData);
+            byte[][] rx = hrs[removedData];
             byte[] innerProduct = gf2k.createZero();
             for (int rmIndex = 0; rmIndex < rm; rmIndex++) {
                 gf2k.addi(innerProduct, gf2k.mul(rx[rmIndex], rightStorage[rmIndex]));
             }
-            byte[] value = keyValueMap.get(removedData);
-            byte[] remainValue = gf2k.sub(value, innerProduct);
-            fullDistinctVertices(leftStorage, remainValue, vertex0, vertex1, vertex2, removedData);
+            byte[] remainValue = getValue(flatValues, removedData);
+            gf2k.subi(remainValue, innerProduct);
+            fullDistinctVertices(leftStorage, remainValue, vertex0, vertex1, vertex2, keys[removedData]);
         }
         // fill randomness in the left part
         for (int vertex = 0; vertex < lm; vertex++) {
@@ -218,18 +299,6 @@ abstract class AbstractH3FieldGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> imple
         return storage;
     }
 
-    private H3CuckooTable<T> generateCuckooTable(Map<T, byte[]> keyValueMap) {
-        Set<T> keySet = keyValueMap.keySet();
-        H3CuckooTable<T> h3CuckooTable = new H3CuckooTable<>(lm);
-        for (T key : keySet) {
-            int h1Value = dataH1Map.get(key);
-            int h2Value = dataH2Map.get(key);
-            int h3Value = dataH3Map.get(key);
-            h3CuckooTable.addData(new int[]{h1Value, h2Value, h3Value}, key);
-        }
-        return h3CuckooTable;
-    }
-
     private void fullDistinctVertices(byte[][] leftMatrix, byte[] remainValue,
                                       int vertex0, int vertex1, int vertex2, T removedData) {
         if (leftMatrix[vertex0] == null) {
@@ -254,7 +323,8 @@ abstract class AbstractH3FieldGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> imple
         }
     }
 
-    private byte[][] generateDoublyStorage(Map<T, byte[]> keyValueMap, TIntSet coreVertexSet, Set<T> coreDataSet) {
+    private byte[][] generateDoublyStorage(byte[] flatValues, int[] h1s, int[] h2s, int[] h3s, byte[][][] hrs,
+                                           TIntSet coreVertexSet, Set<Integer> coreDataSet) {
         byte[][] storage = new byte[m][];
         // Let d˜ = |R| and abort if d˜ > d + λ
         int dTilde = coreDataSet.size();
@@ -277,16 +347,12 @@ abstract class AbstractH3FieldGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> imple
             coreVertexMap.put(coreVertexArray[index], index);
         }
         int tildePrimeMatrixRowIndex = 0;
-        for (T data : coreDataSet) {
-            int h1 = dataH1Map.get(data);
-            tildePrimeMatrix[tildePrimeMatrixRowIndex][coreVertexMap.get(h1)] = gf2k.createOne();
-            int h2 = dataH2Map.get(data);
-            tildePrimeMatrix[tildePrimeMatrixRowIndex][coreVertexMap.get(h2)] = gf2k.createOne();
-            int h3 = dataH3Map.get(data);
-            tildePrimeMatrix[tildePrimeMatrixRowIndex][coreVertexMap.get(h3)] = gf2k.createOne();
-            byte[][] rx = dataHrMap.get(data);
-            System.arraycopy(rx, 0, tildePrimeMatrix[tildePrimeMatrixRowIndex], d, rm);
-            vectorY[tildePrimeMatrixRowIndex] = BytesUtils.clone(keyValueMap.get(data));
+        for (int data : coreDataSet) {
+            tildePrimeMatrix[tildePrimeMatrixRowIndex][coreVertexMap.get(h1s[data])] = gf2k.createOne();
+            tildePrimeMatrix[tildePrimeMatrixRowIndex][coreVertexMap.get(h2s[data])] = gf2k.createOne();
+            tildePrimeMatrix[tildePrimeMatrixRowIndex][coreVertexMap.get(h3s[data])] = gf2k.createOne();
+            System.arraycopy(hrs[data], 0, tildePrimeMatrix[tildePrimeMatrixRowIndex], d, rm);
+            vectorY[tildePrimeMatrixRowIndex] = getValue(flatValues, data);
             tildePrimeMatrixRowIndex++;
         }
         // Using Gaussian elimination solve the system
@@ -307,7 +373,8 @@ abstract class AbstractH3FieldGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> imple
         return storage;
     }
 
-    private byte[][] generateFreeStorage(Map<T, byte[]> keyValueMap, TIntSet coreVertexSet, Set<T> coreDataSet) {
+    private byte[][] generateFreeStorage(byte[] flatValues, int[] h1s, int[] h2s, int[] h3s, byte[][][] hrs,
+                                         TIntSet coreVertexSet, Set<Integer> coreDataSet) {
         // Let d˜ = |R| and abort if d˜ > d + λ
         int dTilde = coreDataSet.size();
         int d = coreVertexSet.size();
@@ -325,16 +392,12 @@ abstract class AbstractH3FieldGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> imple
             byte[][] vectorX = new byte[m][];
             byte[][] vectorY = new byte[dTilde][];
             int rowIndex = 0;
-            for (T coreData : coreDataSet) {
-                int h1Value = dataH1Map.get(coreData);
-                int h2Value = dataH2Map.get(coreData);
-                int h3Value = dataH3Map.get(coreData);
-                byte[][] rx = dataHrMap.get(coreData);
-                matrixM[rowIndex][h1Value] = gf2k.createOne();
-                matrixM[rowIndex][h2Value] = gf2k.createOne();
-                matrixM[rowIndex][h3Value] = gf2k.createOne();
-                System.arraycopy(rx, 0, matrixM[rowIndex], lm, rm);
-                vectorY[rowIndex] = BytesUtils.clone(keyValueMap.get(coreData));
+            for (int coreData : coreDataSet) {
+                matrixM[rowIndex][h1s[coreData]] = gf2k.createOne();
+                matrixM[rowIndex][h2s[coreData]] = gf2k.createOne();
+                matrixM[rowIndex][h3s[coreData]] = gf2k.createOne();
+                System.arraycopy(hrs[coreData], 0, matrixM[rowIndex], lm, rm);
+                vectorY[rowIndex] = getValue(flatValues, coreData);
                 rowIndex++;
             }
             LinearSolver.SystemInfo systemInfo = linearSolver.freeSolve(matrixM, vectorY, vectorX);
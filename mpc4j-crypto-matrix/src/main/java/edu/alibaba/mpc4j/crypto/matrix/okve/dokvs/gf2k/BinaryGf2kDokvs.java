@@ -57,4 +57,14 @@ class BinaryGf2kDokvs<T> extends AbstractGf2kDokvs<T> implements Gf2kDokvs<T> {
     public byte[] decode(byte[][] storage, T key) {
         return gf2eDokvs.decode(storage, key);
     }
+
+    @Override
+    public byte[] encode(T[] keys, byte[] flatValues, boolean doublyEncode) throws ArithmeticException {
+        return gf2eDokvs.encode(keys, flatValues, doublyEncode);
+    }
+
+    @Override
+    public void decode(byte[] flatStorage, T[] keys, byte[] flatOut, boolean parallel) {
+        gf2eDokvs.decode(flatStorage, keys, flatOut, parallel);
+    }
 }
@@ -1,6 +1,13 @@
 package edu.alibaba.mpc4j.crypto.matrix.okve.dokvs.gf2k;
 
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * doubly oblivious key-value storage with values in GF(2^κ).
@@ -49,6 +56,56 @@ public interface Gf2kDokvs<T> {
      */
     byte[] decode(byte[][] storage, T key);
 
+    /**
+     * Encodes the keys and the values in the flat form. The i-th value is flatValues[i * κ / 8, (i + 1) * κ / 8). The
+     * i-th row of the encoded storage is storage[i * κ / 8, (i + 1) * κ / 8).
+     *
+     * @param keys         keys, must be distinct.
+     * @param flatValues   values in the flat form.
+     * @param doublyEncode encode with doubly obliviousness.
+     * @return encoded storage in the flat form.
+     * @throws ArithmeticException if we cannot finish encoding.
+     */
+    default byte[] encode(T[] keys, byte[] flatValues, boolean doublyEncode) throws ArithmeticException {
+        int byteL = CommonConstants.BLOCK_BYTE_LENGTH;
+        MathPreconditions.checkEqual("flatValues.length", "keys.length * byteL", flatValues.length, keys.length * byteL);
+        Map<T, byte[]> keyValueMap = new HashMap<>(keys.length);
+        for (int index = 0; index < keys.length; index++) {
+            keyValueMap.put(keys[index], Arrays.copyOfRange(flatValues, index * byteL, (index + 1) * byteL));
+        }
+        Preconditions.checkArgument(keyValueMap.size() == keys.length, "keys must be distinct");
+        byte[][] storage = encode(keyValueMap, doublyEncode);
+        byte[] flatStorage = new byte[storage.length * byteL];
+        for (int row = 0; row < storage.length; row++) {
+            System.arraycopy(storage[row], 0, flatStorage, row * byteL, byteL);
+        }
+        return flatStorage;
+    }
+
+    /**
+     * Decodes the keys with the encoded storage in the flat form. The value of the i-th key is written into
+     * flatOut[i * κ / 8, (i + 1) * κ / 8).
+     *
+     * @param flatStorage encoded storage in the flat form.
+     * @param keys        keys.
+     * @param flatOut     the array to write values, the length must be keys.length * κ / 8.
+     * @param parallel    parallel decode.
+     */
+    default void decode(byte[] flatStorage, T[] keys, byte[] flatOut, boolean parallel) {
+        int byteL = CommonConstants.BLOCK_BYTE_LENGTH;
+        int m = getM();
+        MathPreconditions.checkEqual("flatStorage.length", "m * byteL", flatStorage.length, m * byteL);
+        MathPreconditions.checkEqual("flatOut.length", "keys.length * byteL", flatOut.length, keys.length * byteL);
+        byte[][] storage = IntStream.range(0, m)
+            .mapToObj(row -> Arrays.copyOfRange(flatStorage, row * byteL, (row + 1) * byteL))
+            .toArray(byte[][]::new);
+        IntStream indexIntStream = IntStream.range(0, keys.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        indexIntStream.forEach(index ->
+            System.arraycopy(decode(storage, keys[index]), 0, flatOut, index * byteL, byteL)
+        );
+    }
+
     /**
      * Gets the number of keys to encode.
      *
@@ -58,6 +58,10 @@ public class Gf2kDokvsFactory {
          * MegaBin
          */
         MEGA_BIN,
+        /**
+         * binary random band OKVS.
+         */
+        BINARY_RANDOM_BAND,
     }
 
     /**
@@ -69,6 +73,7 @@ public class Gf2kDokvsFactory {
         .put(Gf2kDokvsType.H3_BINARY_SINGLETON_GCT, Gf2eDokvsType.H3_SINGLETON_GCT)
         .put(Gf2kDokvsType.H3_BINARY_BLAZE_GCT, Gf2eDokvsType.H3_BLAZE_GCT)
         .put(Gf2kDokvsType.H3_CLUSTER_BINARY_BLAZE_GCT, Gf2eDokvsType.H3_NAIVE_CLUSTER_BLAZE_GCT)
+        .put(Gf2kDokvsType.BINARY_RANDOM_BAND, Gf2eDokvsType.RANDOM_BAND)
         .build();
 
     /**
@@ -88,6 +93,7 @@ public class Gf2kDokvsFactory {
             case H3_BINARY_SINGLETON_GCT:
             case H3_BINARY_BLAZE_GCT:
             case H3_CLUSTER_BINARY_BLAZE_GCT:
+            case BINARY_RANDOM_BAND:
                 return new BinaryGf2kDokvs<>(envType, type, BINARY_GF2K_GF2E_TYPE_MAP.get(type), n, keys);
             case H3_FIELD_BLAZE_GCT:
                 return new H3FieldBlazeGctGf2kDokvs<>(envType, n, keys);
@@ -113,6 +119,7 @@ public class Gf2kDokvsFactory {
             case H3_BINARY_SINGLETON_GCT:
             case H3_BINARY_BLAZE_GCT:
             case H3_CLUSTER_BINARY_BLAZE_GCT:
+            case BINARY_RANDOM_BAND:
                 return Gf2eDokvsFactory.getHashKeyNum(BINARY_GF2K_GF2E_TYPE_MAP.get(type));
             case H3_FIELD_BLAZE_GCT:
                 return H3FieldBlazeGctGf2kDokvs.HASH_KEY_NUM;
@@ -141,6 +148,7 @@ public class Gf2kDokvsFactory {
             case H3_BINARY_SINGLETON_GCT:
             case H3_BINARY_BLAZE_GCT:
             case H3_CLUSTER_BINARY_BLAZE_GCT:
+            case BINARY_RANDOM_BAND:
                 return Gf2eDokvsFactory.getM(envType, BINARY_GF2K_GF2E_TYPE_MAP.get(type), n);
             case H3_FIELD_BLAZE_GCT:
                 return H3FieldBlazeGctGf2kDokvs.getLm(n) + H3FieldBlazeGctGf2kDokvs.getRm(n);
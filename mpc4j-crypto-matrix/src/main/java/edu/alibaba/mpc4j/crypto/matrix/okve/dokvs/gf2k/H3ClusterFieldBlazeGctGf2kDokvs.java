@@ -143,6 +143,53 @@ class H3ClusterFieldBlazeGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> implements
             .toArray(byte[][]::new);
     }
 
+    @Override
+    public byte[] encode(T[] keys, byte[] flatValues, boolean doublyEncode) throws ArithmeticException {
+        int keySize = keys.length;
+        int byteL = gf2k.getByteL();
+        MathPreconditions.checkLessOrEqual("key-value size", keySize, n);
+        MathPreconditions.checkEqual("flatValues.length", "keys.length * byteL", flatValues.length, keySize * byteL);
+        // compute bin indexes
+        int[] binIndexes = new int[keySize];
+        IntStream keyIndexIntStream = IntStream.range(0, keySize);
+        keyIndexIntStream = parallelEncode ? keyIndexIntStream.parallel() : keyIndexIntStream;
+        keyIndexIntStream.forEach(keyIndex ->
+            binIndexes[keyIndex] = binHash.getInteger(ObjectUtils.objectToByteArray(keys[keyIndex]), binNum)
+        );
+        // bucket key indexes by bins, binOffsets[binIndex] is the first position of the bin in binKeyIndexes
+        int[] binOffsets = new int[binNum + 1];
+        for (int binIndex : binIndexes) {
+            binOffsets[binIndex + 1]++;
+        }
+        for (int binIndex = 0; binIndex < binNum; binIndex++) {
+            binOffsets[binIndex + 1] += binOffsets[binIndex];
+        }
+        int[] binKeyIndexes = new int[keySize];
+        int[] binPositions = Arrays.copyOf(binOffsets, binNum);
+        for (int keyIndex = 0; keyIndex < keySize; keyIndex++) {
+            binKeyIndexes[binPositions[binIndexes[keyIndex]]++] = keyIndex;
+        }
+        // encode each bin and write the bin storage into the flat storage
+        byte[] flatStorage = new byte[m * byteL];
+        IntStream binIndexIntStream = IntStream.range(0, binNum);
+        binIndexIntStream = parallelEncode ? binIndexIntStream.parallel() : binIndexIntStream;
+        binIndexIntStream.forEach(binIndex -> {
+            int binFrom = binOffsets[binIndex];
+            int binSize = binOffsets[binIndex + 1] - binFrom;
+            // keep the runtime type of keys
+            T[] binKeys = Arrays.copyOf(keys, binSize);
+            byte[] binFlatValues = new byte[binSize * byteL];
+            for (int binKeyIndex = 0; binKeyIndex < binSize; binKeyIndex++) {
+                int keyIndex = binKeyIndexes[binFrom + binKeyIndex];
+                binKeys[binKeyIndex] = keys[keyIndex];
+                System.arraycopy(flatValues, keyIndex * byteL, binFlatValues, binKeyIndex * byteL, byteL);
+            }
+            byte[] binFlatStorage = bins.get(binIndex).encode(binKeys, binFlatValues, doublyEncode);
+            System.arraycopy(binFlatStorage, 0, flatStorage, binIndex * binM * byteL, binM * byteL);
+        });
+        return flatStorage;
+    }
+
     @Override
     public byte[] decode(byte[][] storage, T key) {
         // here we do not verify bit length for each storage, otherwise decode would require O(n) computation.
@@ -162,4 +209,25 @@ class H3ClusterFieldBlazeGctGf2kDokvs<T> extends AbstractGf2kDokvs<T> implements
         }
         return value;
     }
+
+    @Override
+    public void decode(byte[] flatStorage, T[] keys, byte[] flatOut, boolean parallel) {
+        int byteL = gf2k.getByteL();
+        MathPreconditions.checkEqual("flatStorage.length", "m * byteL", flatStorage.length, m * byteL);
+        MathPreconditions.checkEqual("flatOut.length", "keys.length * byteL", flatOut.length, keys.length * byteL);
+        // split dense parts of all bins only if there are enough keys to share them
+        byte[][][] binDenseStorages = keys.length >= binNum
+            ? IntStream.range(0, binNum)
+            .mapToObj(binIndex -> bins.get(binIndex).splitDenseStorage(flatStorage, binIndex * binM))
+            .toArray(byte[][][]::new)
+            : new byte[binNum][][];
+        IntStream indexIntStream = IntStream.range(0, keys.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        indexIntStream.forEach(index -> {
+            byte[] keyBytes = ObjectUtils.objectToByteArray(keys[index]);
+            int binIndex = binHash.getInteger(keyBytes, binNum);
+            byte[] value = bins.get(binIndex).decode(flatStorage, binIndex * binM, binDenseStorages[binIndex], keys[index]);
+            System.arraycopy(value, 0, flatOut, index * byteL, byteL);
+        });
+    }
 }
@@ -0,0 +1,468 @@
+package edu.alibaba.mpc4j.crypto.matrix.vector;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
+import edu.alibaba.mpc4j.crypto.matrix.MatrixUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * the Zl vector for l ≤ 64, where elements are packed in long[]. Operations are done by primitive long arithmetics
+ * followed by masking with 2^l - 1, which is free for l = 64 since long arithmetics natively wrap around 2^64.
+ * <p>
+ * Note that {@link Zl64Vector} cannot be used here since Zl64 only supports l ≤ 62.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/11/25
+ */
+public class ZlLongVector implements RingVector {
+    /**
+     * 2^64
+     */
+    private static final BigInteger TWO_POW_64 = BigInteger.ONE.shiftLeft(Long.SIZE);
+
+    /**
+     * Returns if the Zl instance is supported, i.e., l ≤ 64.
+     *
+     * @param zl Zl instance.
+     * @return true if the Zl instance is supported.
+     */
+    public static boolean isSupported(Zl zl) {
+        return zl.getL() <= Long.SIZE;
+    }
+
+    /**
+     * merges vectors.
+     *
+     * @param vectors vectors.
+     * @return the merged vector.
+     */
+    public static ZlLongVector merge(ZlLongVector[] vectors) {
+        MathPreconditions.checkPositive("vectors.length", vectors.length);
+        int len = Arrays.stream(vectors).mapToInt(ZlLongVector::getNum).sum();
+        long[] mergeElements = new long[len];
+        for (int i = 0, pos = 0; i < vectors.length; i++) {
+            Preconditions.checkArgument(vectors[i].zl.equals(vectors[0].getZl()));
+            MathPreconditions.checkPositive("vector.num", vectors[i].getNum());
+            System.arraycopy(vectors[i].elements, 0, mergeElements, pos, vectors[i].elements.length);
+            pos += vectors[i].elements.length;
+        }
+        return ZlLongVector.createUnsafe(vectors[0].getZl(), mergeElements);
+    }
+
+    /**
+     * splits the vector.
+     *
+     * @param mergeVector the merged vector.
+     * @param nums        nums for each of the split vector.
+     * @return the split vectors.
+     */
+    public static ZlLongVector[] split(ZlLongVector mergeVector, int[] nums) {
+        int num = mergeVector.getNum();
+        MathPreconditions.checkEqual("sum(nums)", "mergeVector.getNum()", Arrays.stream(nums).sum(), num);
+        ZlLongVector[] vectors = new ZlLongVector[nums.length];
+        for (int i = 0, startPos = 0; i < nums.length; i++) {
+            vectors[i] = ZlLongVector.createUnsafe(
+                mergeVector.getZl(), Arrays.copyOfRange(mergeVector.elements, startPos, startPos + nums[i])
+            );
+            startPos += nums[i];
+        }
+        return vectors;
+    }
+
+    /**
+     * Creates a vector.
+     *
+     * @param zl       Zl instance.
+     * @param elements elements.
+     * @return a vector.
+     */
+    public static ZlLongVector create(Zl zl, long[] elements) {
+        ZlLongVector vector = new ZlLongVector(zl);
+        MathPreconditions.checkPositive("num", elements.length);
+        vector.elements = Arrays.stream(elements)
+            .peek(element -> Preconditions.checkArgument((element & ~vector.mask) == 0))
+            .toArray();
+        return vector;
+    }
+
+    /**
+     * Creates a vector without validating and copying the elements.
+     *
+     * @param zl       Zl instance.
+     * @param elements elements.
+     * @return a vector.
+     */
+    private static ZlLongVector createUnsafe(Zl zl, long[] elements) {
+        ZlLongVector vector = new ZlLongVector(zl);
+        vector.elements = elements;
+        return vector;
+    }
+
+    /**
+     * Creates a vector from BigInteger elements.
+     *
+     * @param zl       Zl instance.
+     * @param elements elements.
+     * @return a vector.
+     */
+    public static ZlLongVector create(Zl zl, BigInteger[] elements) {
+        ZlLongVector vector = new ZlLongVector(zl);
+        MathPreconditions.checkPositive("num", elements.length);
+        // the lowest 64 bits of a valid element is exactly the element, even if l = 64
+        vector.elements = Arrays.stream(elements)
+            .peek(element -> Preconditions.checkArgument(zl.validateElement(element)))
+            .mapToLong(BigInteger::longValue)
+            .toArray();
+        return vector;
+    }
+
+    /**
+     * Creates a vector from the Zl vector.
+     *
+     * @param zlVector the Zl vector.
+     * @return a vector.
+     */
+    public static ZlLongVector create(ZlVector zlVector) {
+        Zl zl = zlVector.getZl();
+        if (zlVector.getNum() == 0) {
+            return ZlLongVector.createEmpty(zl);
+        }
+        ZlLongVector vector = new ZlLongVector(zl);
+        vector.elements = Arrays.stream(zlVector.getElements()).mapToLong(BigInteger::longValue).toArray();
+        return vector;
+    }
+
+    /**
+     * Creates a vector from the packed byte array, i.e., num elements, each in big-endian with byteL bytes.
+     *
+     * @param zl   Zl instance.
+     * @param data the packed byte array.
+     * @return a vector.
+     */
+    public static ZlLongVector create(Zl zl, byte[] data) {
+        int byteL = zl.getByteL();
+        Preconditions.checkArgument(data.length % byteL == 0, "data.length must be divisible by byteL = %s", byteL);
+        int num = data.length / byteL;
+        MathPreconditions.checkPositive("num", num);
+        ZlLongVector vector = new ZlLongVector(zl);
+        vector.elements = new long[num];
+        for (int index = 0, pos = 0; index < num; index++) {
+            long element = 0L;
+            for (int j = 0; j < byteL; j++, pos++) {
+                element = (element << Byte.SIZE) | (data[pos] & 0xFFL);
+            }
+            Preconditions.checkArgument((element & ~vector.mask) == 0);
+            vector.elements[index] = element;
+        }
+        return vector;
+    }
+
+    /**
+     * Creates a random vector.
+     *
+     * @param zl           Zl instance.
+     * @param num          the num.
+     * @param secureRandom the random state.
+     * @return a vector.
+     */
+    public static ZlLongVector createRandom(Zl zl, int num, SecureRandom secureRandom) {
+        ZlLongVector vector = new ZlLongVector(zl);
+        MathPreconditions.checkPositive("num", num);
+        vector.elements = IntStream.range(0, num)
+            .mapToLong(index -> secureRandom.nextLong() & vector.mask)
+            .toArray();
+        return vector;
+    }
+
+    /**
+     * Creates an all-one vector.
+     *
+     * @param zl  Zl instance.
+     * @param num the num.
+     * @return a vector.
+     */
+    public static ZlLongVector createOnes(Zl zl, int num) {
+        ZlLongVector vector = new ZlLongVector(zl);
+        MathPreconditions.checkPositive("num", num);
+        vector.elements = new long[num];
+        Arrays.fill(vector.elements, 1L);
+        return vector;
+    }
+
+    /**
+     * Creates an all-zero vector.
+     *
+     * @param zl  Zl instance.
+     * @param num the num.
+     * @return a vector.
+     */
+    public static ZlLongVector createZeros(Zl zl, int num) {
+        ZlLongVector vector = new ZlLongVector(zl);
+        MathPreconditions.checkPositive("num", num);
+        vector.elements = new long[num];
+        return vector;
+    }
+
+    /**
+     * Creates an empty vector.
+     *
+     * @param zl Zl instance.
+     * @return a vector.
+     */
+    public static ZlLongVector createEmpty(Zl zl) {
+        ZlLongVector vector = new ZlLongVector(zl);
+        vector.elements = new long[0];
+
+        return vector;
+    }
+
+    /**
+     * Zl instance
+     */
+    private final Zl zl;
+    /**
+     * mask, i.e., 2^l - 1
+     */
+    private final long mask;
+    /**
+     * elements
+     */
+    private long[] elements;
+    /**
+     * parallel operation.
+     */
+    private boolean parallel;
+
+    private ZlLongVector(Zl zl) {
+        Preconditions.checkArgument(isSupported(zl), "l must be in range (0, %s]: %s", Long.SIZE, zl.getL());
+        this.zl = zl;
+        mask = zl.getL() == Long.SIZE ? -1L : (1L << zl.getL()) - 1;
+    }
+
+    @Override
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public ZlLongVector copy() {
+        ZlLongVector copy = ZlLongVector.createUnsafe(zl, Arrays.copyOf(elements, elements.length));
+        copy.parallel = parallel;
+        return copy;
+    }
+
+    @Override
+    public void replaceCopy(Vector other) {
+        ZlLongVector that = (ZlLongVector) other;
+        MathPreconditions.checkEqual("this.num", "that.num", this.getNum(), that.getNum());
+        int num = getNum();
+        System.arraycopy(that.elements, 0, this.elements, 0, num);
+    }
+
+    @Override
+    public int getNum() {
+        return elements.length;
+    }
+
+    @Override
+    public ZlLongVector split(int splitNum) {
+        int num = getNum();
+        MathPreconditions.checkPositiveInRangeClosed("splitNum", splitNum, num);
+        long[] subElements = Arrays.copyOfRange(elements, 0, splitNum);
+        elements = Arrays.copyOfRange(elements, splitNum, num);
+        return ZlLongVector.createUnsafe(zl, subElements);
+    }
+
+    @Override
+    public void reduce(int reduceNum) {
+        int num = getNum();
+        MathPreconditions.checkPositiveInRangeClosed("reduceNum", reduceNum, num);
+        if (reduceNum < num) {
+            // reduce if the reduced rows is less than rows.
+            elements = Arrays.copyOf(elements, reduceNum);
+        }
+    }
+
+    @Override
+    public void merge(Vector other) {
+        ZlLongVector that = (ZlLongVector) other;
+        Preconditions.checkArgument(this.zl.equals(that.zl));
+        long[] mergeElements = Arrays.copyOf(this.elements, this.elements.length + that.elements.length);
+        System.arraycopy(that.elements, 0, mergeElements, this.elements.length, that.elements.length);
+        elements = mergeElements;
+    }
+
+    @Override
+    public ZlLongVector add(RingVector other) {
+        ZlLongVector that = (ZlLongVector) other;
+        checkInputs(that);
+        long[] results = new long[getNum()];
+        indexIntStream().forEach(index -> results[index] = (this.elements[index] + that.elements[index]) & mask);
+        return ZlLongVector.createUnsafe(zl, results);
+    }
+
+    @Override
+    public void addi(RingVector other) {
+        ZlLongVector that = (ZlLongVector) other;
+        checkInputs(that);
+        indexIntStream().forEach(index -> this.elements[index] = (this.elements[index] + that.elements[index]) & mask);
+    }
+
+    @Override
+    public ZlLongVector neg() {
+        long[] results = new long[getNum()];
+        indexIntStream().forEach(index -> results[index] = (-elements[index]) & mask);
+        return ZlLongVector.createUnsafe(zl, results);
+    }
+
+    @Override
+    public void negi() {
+        indexIntStream().forEach(index -> elements[index] = (-elements[index]) & mask);
+    }
+
+    @Override
+    public ZlLongVector sub(RingVector other) {
+        ZlLongVector that = (ZlLongVector) other;
+        checkInputs(that);
+        long[] results = new long[getNum()];
+        indexIntStream().forEach(index -> results[index] = (this.elements[index] - that.elements[index]) & mask);
+        return ZlLongVector.createUnsafe(zl, results);
+    }
+
+    @Override
+    public void subi(RingVector other) {
+        ZlLongVector that = (ZlLongVector) other;
+        checkInputs(that);
+        indexIntStream().forEach(index -> this.elements[index] = (this.elements[index] - that.elements[index]) & mask);
+    }
+
+    @Override
+    public ZlLongVector mul(RingVector other) {
+        ZlLongVector that = (ZlLongVector) other;
+        checkInputs(that);
+        long[] results = new long[getNum()];
+        indexIntStream().forEach(index -> results[index] = (this.elements[index] * that.elements[index]) & mask);
+        return ZlLongVector.createUnsafe(zl, results);
+    }
+
+    @Override
+    public void muli(RingVector other) {
+        ZlLongVector that = (ZlLongVector) other;
+        checkInputs(that);
+        indexIntStream().forEach(index -> this.elements[index] = (this.elements[index] * that.elements[index]) & mask);
+    }
+
+    private IntStream indexIntStream() {
+        IntStream indexIntStream = IntStream.range(0, getNum());
+        return parallel ? indexIntStream.parallel() : indexIntStream;
+    }
+
+    private void checkInputs(ZlLongVector that) {
+        Preconditions.checkArgument(this.zl.equals(that.zl));
+        MathPreconditions.checkEqual("this.num", "that.num", this.getNum(), that.getNum());
+    }
+
+    /**
+     * Gets Zl instance.
+     *
+     * @return Zl instance.
+     */
+    public Zl getZl() {
+        return zl;
+    }
+
+    /**
+     * Gets the element.
+     *
+     * @param index the index.
+     * @return the element.
+     */
+    public long getElement(int index) {
+        return elements[index];
+    }
+
+    /**
+     * Gets the elements.
+     *
+     * @return the elements.
+     */
+    public long[] getElements() {
+        return elements;
+    }
+
+    /**
+     * Converts to the Zl vector.
+     *
+     * @return the Zl vector.
+     */
+    public ZlVector toZlVector() {
+        if (elements.length == 0) {
+            return ZlVector.createEmpty(zl);
+        }
+        BigInteger[] bigIntegerElements = Arrays.stream(elements)
+            .mapToObj(element -> element >= 0 ? BigInteger.valueOf(element) : BigInteger.valueOf(element).add(TWO_POW_64))
+            .toArray(BigInteger[]::new);
+        return ZlVector.create(zl, bigIntegerElements);
+    }
+
+    /**
+     * Converts to the packed byte array, i.e., num elements, each in big-endian with byteL bytes.
+     *
+     * @return the packed byte array.
+     */
+    public byte[] toByteArray() {
+        int byteL = zl.getByteL();
+        byte[] data = new byte[elements.length * byteL];
+        for (int index = 0, pos = 0; index < elements.length; index++) {
+            long element = elements[index];
+            for (int j = byteL - 1; j >= 0; j--) {
+                data[pos + j] = (byte) element;
+                element >>>= Byte.SIZE;
+            }
+            pos += byteL;
+        }
+        return data;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder()
+            .append(zl)
+            .append(elements)
+            .hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof ZlLongVector) {
+            ZlLongVector that = (ZlLongVector) obj;
+            if (this.getNum() != that.getNum()) {
+                return false;
+            }
+            return new EqualsBuilder()
+                .append(this.zl, that.zl)
+                .append(this.elements, that.elements)
+                .isEquals();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        String[] stringData = Arrays.stream(Arrays.copyOf(elements, Math.min(elements.length, MatrixUtils.DISPLAY_NUM)))
+            .mapToObj(Long::toUnsignedString)
+            .toArray(String[]::new);
+        return this.getClass().getSimpleName() + " (l = " + zl.getL() + "): " + Arrays.toString(stringData);
+    }
+}
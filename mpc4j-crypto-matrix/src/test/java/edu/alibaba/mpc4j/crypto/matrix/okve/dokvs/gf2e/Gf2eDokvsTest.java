@@ -180,6 +180,28 @@ public class Gf2eDokvsTest {
         testDokvs(1 << 16, DEFAULT_L, true);
     }
 
+    @Test
+    public void testFlat1n() {
+        testFlatDokvs(1, DEFAULT_L, false);
+    }
+
+    @Test
+    public void testFlatDefault() {
+        testFlatDokvs(DEFAULT_N, DEFAULT_L, false);
+    }
+
+    @Test
+    public void testFlatSpecialL() {
+        testFlatDokvs(DEFAULT_N, DEFAULT_L - 1, false);
+        testFlatDokvs(DEFAULT_N, DEFAULT_L + 1, false);
+    }
+
+    @Test
+    public void testParallelFlatLog16n() {
+        // we need to test n > (1 << 14) for cluster version
+        testFlatDokvs(1 << 16, DEFAULT_L, true);
+    }
+
     private void testDokvs(int n) {
         testDokvs(n, DEFAULT_L);
     }
@@ -234,6 +256,37 @@ public class Gf2eDokvsTest {
         }
     }
 
+    private void testFlatDokvs(int n, int l, boolean parallel) {
+        int byteL = CommonUtils.getByteLength(l);
+        for (int round = 0; round < ROUND; round++) {
+            byte[][] keys = CommonUtils.generateRandomKeys(hashNum, SECURE_RANDOM);
+            Gf2eDokvs<ByteBuffer> dokvs = Gf2eDokvsFactory.createInstance(EnvType.STANDARD, type, n, l, keys);
+            dokvs.setParallelEncode(parallel);
+            int m = Gf2eDokvsFactory.getM(EnvType.STANDARD, type, n);
+            Map<ByteBuffer, byte[]> keyValueMap = randomKeyValueMap(n, l);
+            ByteBuffer[] flatKeys = keyValueMap.keySet().toArray(new ByteBuffer[0]);
+            byte[] flatValues = new byte[n * byteL];
+            for (int index = 0; index < n; index++) {
+                System.arraycopy(keyValueMap.get(flatKeys[index]), 0, flatValues, index * byteL, byteL);
+            }
+            for (boolean doublyEncode : new boolean[]{false, true}) {
+                byte[] flatStorage = dokvs.encode(flatKeys, flatValues, doublyEncode);
+                Assert.assertEquals(m * byteL, flatStorage.length);
+                // bulk decode
+                byte[] flatOut = new byte[n * byteL];
+                dokvs.decode(flatStorage, flatKeys, flatOut, parallel);
+                Assert.assertArrayEquals(flatValues, flatOut);
+                // the flat storage is compatible with the row-based decode
+                byte[][] storage = IntStream.range(0, m)
+                    .mapToObj(row -> Arrays.copyOfRange(flatStorage, row * byteL, (row + 1) * byteL))
+                    .toArray(byte[][]::new);
+                for (int index = 0; index < Math.min(n, ROUND); index++) {
+                    Assert.assertArrayEquals(keyValueMap.get(flatKeys[index]), dokvs.decode(storage, flatKeys[index]));
+                }
+            }
+        }
+    }
+
     static Map<ByteBuffer, byte[]> randomKeyValueMap(int n, int l) {
         int byteL = CommonUtils.getByteLength(l);
         Map<ByteBuffer, byte[]> keyValueMap = new HashMap<>();
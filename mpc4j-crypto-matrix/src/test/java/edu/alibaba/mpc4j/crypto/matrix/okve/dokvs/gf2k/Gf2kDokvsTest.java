@@ -176,6 +176,17 @@ public class Gf2kDokvsTest {
         testDokvs(1 << 14, true);
     }
 
+    @Test
+    public void testFlatDefault() {
+        testFlatDokvs(DEFAULT_N, false);
+    }
+
+    @Test
+    public void testParallelFlatLog16n() {
+        // we need to test n > (1 << 14) for cluster version
+        testFlatDokvs(1 << 16, true);
+    }
+
     private void testDokvs(int n) {
         testDokvs(n, false);
     }
@@ -225,6 +236,28 @@ public class Gf2kDokvsTest {
         }
     }
 
+    private void testFlatDokvs(int n, boolean parallel) {
+        for (int round = 0; round < ROUND; round++) {
+            byte[][] keys = CommonUtils.generateRandomKeys(hashNum, SECURE_RANDOM);
+            Gf2kDokvs<ByteBuffer> dokvs = Gf2kDokvsFactory.createInstance(EnvType.STANDARD, type, n, keys);
+            dokvs.setParallelEncode(parallel);
+            int m = Gf2kDokvsFactory.getM(EnvType.STANDARD, type, n);
+            Map<ByteBuffer, byte[]> keyValueMap = randomKeyValueMap(n);
+            ByteBuffer[] flatKeys = keyValueMap.keySet().toArray(new ByteBuffer[0]);
+            byte[] flatValues = new byte[n * BYTE_KAPPA];
+            for (int index = 0; index < n; index++) {
+                System.arraycopy(keyValueMap.get(flatKeys[index]), 0, flatValues, index * BYTE_KAPPA, BYTE_KAPPA);
+            }
+            for (boolean doublyEncode : new boolean[]{false, true}) {
+                byte[] flatStorage = dokvs.encode(flatKeys, flatValues, doublyEncode);
+                Assert.assertEquals(m * BYTE_KAPPA, flatStorage.length);
+                byte[] flatOut = new byte[n * BYTE_KAPPA];
+                dokvs.decode(flatStorage, flatKeys, flatOut, parallel);
+                Assert.assertArrayEquals(flatValues, flatOut);
+            }
+        }
+    }
+
     static Map<ByteBuffer, byte[]> randomKeyValueMap(int n) {
         Map<ByteBuffer, byte[]> keyValueMap = new HashMap<>();
         IntStream.range(0, n).forEach(index -> {
@@ -0,0 +1,161 @@
+package edu.alibaba.mpc4j.crypto.matrix.vector;
+
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zl.ZlFactory;
+import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Zl long vector test.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/25
+ */
+public class ZlLongVectorTest {
+    /**
+     * the random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    /**
+     * default num
+     */
+    private static final int DEFAULT_NUM = 1 << 10;
+    /**
+     * tested l
+     */
+    private static final int[] LS = new int[]{1, 7, 8, 32, 40, 62, 63, 64};
+    /**
+     * large Zl instance
+     */
+    private static final Zl LARGE_ZL = ZlFactory.createInstance(EnvType.STANDARD, 128);
+
+    @Test
+    public void testIllegalInputs() {
+        // l > 64
+        Assert.assertFalse(ZlLongVector.isSupported(LARGE_ZL));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ZlLongVector.createZeros(LARGE_ZL, DEFAULT_NUM));
+        Zl zl = ZlFactory.createInstance(EnvType.STANDARD, 40);
+        // create a vector with num = 0
+        Assert.assertThrows(IllegalArgumentException.class, () -> ZlLongVector.create(zl, new long[0]));
+        // create a vector with invalid data
+        Assert.assertThrows(IllegalArgumentException.class, () -> ZlLongVector.create(zl, new long[]{1L << 40}));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ZlLongVector.create(zl, new long[]{-1L}));
+        // create a vector with invalid byte length
+        Assert.assertThrows(IllegalArgumentException.class, () -> ZlLongVector.create(zl, new byte[zl.getByteL() + 1]));
+        ZlLongVector vector = ZlLongVector.createRandom(zl, DEFAULT_NUM, SECURE_RANDOM);
+        Assert.assertThrows(IllegalArgumentException.class, () -> vector.split(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> vector.split(DEFAULT_NUM + 1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> vector.reduce(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> vector.reduce(DEFAULT_NUM + 1));
+        // operate two vectors with different l
+        Zl anotherZl = ZlFactory.createInstance(EnvType.STANDARD, 41);
+        ZlLongVector anotherVector = ZlLongVector.createRandom(anotherZl, DEFAULT_NUM, SECURE_RANDOM);
+        Assert.assertThrows(IllegalArgumentException.class, () -> vector.merge(anotherVector));
+        Assert.assertThrows(IllegalArgumentException.class, () -> vector.add(anotherVector));
+    }
+
+    @Test
+    public void testConvert() {
+        for (int l : LS) {
+            Zl zl = ZlFactory.createInstance(EnvType.STANDARD, l);
+            ZlVector zlVector = ZlVector.createRandom(zl, DEFAULT_NUM, SECURE_RANDOM);
+            // ZlVector <-> ZlLongVector
+            ZlLongVector vector = ZlLongVector.create(zlVector);
+            Assert.assertEquals(zlVector, vector.toZlVector());
+            Assert.assertEquals(vector, ZlLongVector.create(zl, zlVector.getElements()));
+            Assert.assertEquals(vector, ZlLongVector.create(zl, vector.getElements()));
+            // the packed byte array is the same as the one generated by BigIntegerUtils
+            byte[] data = vector.toByteArray();
+            byte[] expectData = new byte[DEFAULT_NUM * zl.getByteL()];
+            for (int i = 0; i < DEFAULT_NUM; i++) {
+                byte[] element = BigIntegerUtils.nonNegBigIntegerToByteArray(zlVector.getElement(i), zl.getByteL());
+                System.arraycopy(element, 0, expectData, i * zl.getByteL(), zl.getByteL());
+            }
+            Assert.assertArrayEquals(expectData, data);
+            Assert.assertEquals(vector, ZlLongVector.create(zl, data));
+        }
+    }
+
+    @Test
+    public void testOperate() {
+        for (int l : LS) {
+            testOperate(l, false);
+            testOperate(l, true);
+        }
+    }
+
+    private void testOperate(int l, boolean parallel) {
+        Zl zl = ZlFactory.createInstance(EnvType.STANDARD, l);
+        ZlVector x = ZlVector.createRandom(zl, DEFAULT_NUM, SECURE_RANDOM);
+        ZlVector y = ZlVector.createRandom(zl, DEFAULT_NUM, SECURE_RANDOM);
+        ZlLongVector longX = ZlLongVector.create(x);
+        longX.setParallel(parallel);
+        ZlLongVector longY = ZlLongVector.create(y);
+        // add
+        Assert.assertEquals(x.add(y), longX.add(longY).toZlVector());
+        ZlLongVector copyX = longX.copy();
+        copyX.addi(longY);
+        Assert.assertEquals(x.add(y), copyX.toZlVector());
+        // sub
+        Assert.assertEquals(x.sub(y), longX.sub(longY).toZlVector());
+        copyX = longX.copy();
+        copyX.subi(longY);
+        Assert.assertEquals(x.sub(y), copyX.toZlVector());
+        // neg
+        Assert.assertEquals(x.neg(), longX.neg().toZlVector());
+        copyX = longX.copy();
+        copyX.negi();
+        Assert.assertEquals(x.neg(), copyX.toZlVector());
+        // mul
+        Assert.assertEquals(x.mul(y), longX.mul(longY).toZlVector());
+        copyX = longX.copy();
+        copyX.muli(longY);
+        Assert.assertEquals(x.mul(y), copyX.toZlVector());
+    }
+
+    @Test
+    public void testSplitMerge() {
+        Zl zl = ZlFactory.createInstance(EnvType.STANDARD, Long.SIZE);
+        for (int num = 1; num < 64; num++) {
+            ZlLongVector vector = ZlLongVector.createRandom(zl, num, SECURE_RANDOM);
+            ZlLongVector copyVector = vector.copy();
+            // split and merge
+            ZlLongVector splitVector = vector.split(num / 2 + 1);
+            Assert.assertEquals(num / 2 + 1, splitVector.getNum());
+            Assert.assertEquals(num - num / 2 - 1, vector.getNum());
+            splitVector.merge(vector);
+            Assert.assertEquals(copyVector, splitVector);
+            // reduce
+            splitVector.reduce(1);
+            Assert.assertEquals(copyVector.getElement(0), splitVector.getElement(0));
+            // static split and merge
+            int[] nums = new int[]{1, num};
+            ZlLongVector mergeVector = ZlLongVector.merge(new ZlLongVector[]{splitVector, copyVector});
+            ZlLongVector[] splitVectors = ZlLongVector.split(mergeVector, nums);
+            Assert.assertEquals(splitVector, splitVectors[0]);
+            Assert.assertEquals(copyVector, splitVectors[1]);
+            Assert.assertEquals(
+                mergeVector.toZlVector(),
+                ZlVector.merge(Arrays.stream(splitVectors).map(ZlLongVector::toZlVector).toArray(ZlVector[]::new))
+            );
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        Zl zl = ZlFactory.createInstance(EnvType.STANDARD, 40);
+        ZlLongVector vector = ZlLongVector.createEmpty(zl);
+        Assert.assertEquals(0, vector.toZlVector().getNum());
+        Assert.assertEquals(0, vector.toByteArray().length);
+        Assert.assertEquals(vector, ZlLongVector.create(ZlVector.createEmpty(zl)));
+        ZlLongVector mergeVector = ZlLongVector.createOnes(zl, DEFAULT_NUM);
+        vector.merge(mergeVector);
+        Assert.assertEquals(mergeVector, vector);
+    }
+}
@@ -15,9 +15,14 @@ package edu.alibaba.mpc4j.crypto.phe;
 
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.crypto.phe.obfuscator.FixedBaseModPow;
+import edu.alibaba.mpc4j.crypto.phe.obfuscator.PheObfuscatorPool;
 import edu.alibaba.mpc4j.crypto.phe.params.*;
 
 import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 /**
  * 半同态加密（Partially Homomorphic Encryption，PHE）引擎抽象类。部分代码参考：
@@ -29,6 +34,71 @@ import java.math.BigInteger;
  * @date 2021/12/24
  */
 public abstract class AbstractPheEngine implements PheEngine {
+    /**
+     * 批量运算是否并发处理
+     */
+    protected boolean parallel;
+    /**
+     * 混淆因子池
+     */
+    private volatile PheObfuscatorPool obfuscatorPool;
+    /**
+     * 固定底数模幂表
+     */
+    protected final Map<PhePublicKey, FixedBaseModPow> fixedBaseModPowMap;
+
+    protected AbstractPheEngine() {
+        parallel = false;
+        fixedBaseModPowMap = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public void setObfuscatorPool(PheObfuscatorPool obfuscatorPool) {
+        this.obfuscatorPool = obfuscatorPool;
+    }
+
+    @Override
+    public void destroyPrecompute(PhePublicKey pk) {
+        fixedBaseModPowMap.remove(pk);
+    }
+
+    /**
+     * 返回公钥对应的混淆因子池。
+     *
+     * @param pk 公钥。
+     * @return 混淆因子池，如果未设置，则返回{@code null}。
+     */
+    protected PheObfuscatorPool getObfuscatorPool(PhePublicKey pk) {
+        PheObfuscatorPool pool = obfuscatorPool;
+        return pool != null && pool.getPublicKey().equals(pk) ? pool : null;
+    }
+
+    /**
+     * 获得一个混淆因子。如果设置了公钥对应的混淆因子池，则从池中取出，否则直接生成。
+     *
+     * @param pk 公钥。
+     * @return 混淆因子。
+     */
+    protected BigInteger getObfuscator(PhePublicKey pk) {
+        PheObfuscatorPool pool = getObfuscatorPool(pk);
+        return pool == null ? rawObfuscator(pk) : pool.take();
+    }
+
+    /**
+     * 返回批量运算的索引流。
+     *
+     * @param num 数量。
+     * @return 索引流。
+     */
+    private IntStream indexStream(int num) {
+        IntStream intStream = IntStream.range(0, num);
+        return parallel ? intStream.parallel() : intStream;
+    }
 
     /**
      * 检查{@code PhePublicKey}和{@code PheEncryptedNumber}的上下文一致性。
@@ -83,6 +153,52 @@ public abstract class AbstractPheEngine implements PheEngine {
         return PheCiphertext.fromParams(pk, ciphertext, encoded.getExponent());
     }
 
+    @Override
+    public BigInteger[] rawEncrypt(PhePublicKey pk, BigInteger[] ms) {
+        BigInteger[] cts = new BigInteger[ms.length];
+        indexStream(ms.length).forEach(i -> cts[i] = rawEncrypt(pk, ms[i]));
+        return cts;
+    }
+
+    @Override
+    public BigInteger[] rawAdd(PhePublicKey pk, BigInteger[] values1, BigInteger[] values2) {
+        Preconditions.checkArgument(values1.length == values2.length);
+        BigInteger[] results = new BigInteger[values1.length];
+        indexStream(values1.length).forEach(i -> results[i] = rawAdd(pk, values1[i], values2[i]));
+        return results;
+    }
+
+    @Override
+    public BigInteger[] rawMultiply(PhePublicKey pk, BigInteger[] ciphertexts, BigInteger[] factors) {
+        Preconditions.checkArgument(ciphertexts.length == factors.length);
+        BigInteger[] results = new BigInteger[ciphertexts.length];
+        indexStream(ciphertexts.length).forEach(i -> results[i] = rawMultiply(pk, ciphertexts[i], factors[i]));
+        return results;
+    }
+
+    @Override
+    public PheCiphertext[] encrypt(PhePublicKey pk, BigInteger[] values) {
+        PheCiphertext[] cts = new PheCiphertext[values.length];
+        indexStream(values.length).forEach(i -> cts[i] = encrypt(pk, values[i]));
+        return cts;
+    }
+
+    @Override
+    public PheCiphertext[] add(PhePublicKey pk, PheCiphertext[] operands, PheCiphertext[] others) {
+        Preconditions.checkArgument(operands.length == others.length);
+        PheCiphertext[] results = new PheCiphertext[operands.length];
+        indexStream(operands.length).forEach(i -> results[i] = add(pk, operands[i], others[i]));
+        return results;
+    }
+
+    @Override
+    public PheCiphertext[] multiply(PhePublicKey pk, PheCiphertext[] operands, BigInteger[] others) {
+        Preconditions.checkArgument(operands.length == others.length);
+        PheCiphertext[] results = new PheCiphertext[operands.length];
+        indexStream(operands.length).forEach(i -> results[i] = multiply(pk, operands[i], others[i]));
+        return results;
+    }
+
     @Override
     public PheCiphertext encrypt(PhePrivateKey sk, PhePlaintext encoded) {
         checkInput(sk.getPublicKey(), encoded);
@@ -1,6 +1,7 @@
 package edu.alibaba.mpc4j.crypto.phe;
 
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.crypto.phe.obfuscator.PheObfuscatorPool;
 import edu.alibaba.mpc4j.crypto.phe.params.*;
 
 import java.math.BigInteger;
@@ -46,6 +47,51 @@ public interface PheEngine {
      */
     BigInteger rawEncrypt(PhePrivateKey sk, BigInteger m);
 
+    /**
+     * 生成公钥加密与重随机化所使用的随机混淆因子。加密时，密文 = 明文编码 · 混淆因子。
+     *
+     * @param pk 公钥。
+     * @return 随机混淆因子。
+     */
+    BigInteger rawObfuscator(PhePublicKey pk);
+
+    /**
+     * 设置混淆因子池。设置后，使用对应公钥加密与重随机化时优先从池中取出混淆因子。
+     *
+     * @param obfuscatorPool 混淆因子池，为{@code null}时表示不使用混淆因子池。
+     */
+    void setObfuscatorPool(PheObfuscatorPool obfuscatorPool);
+
+    /**
+     * 为公钥预计算固定底数模幂表，之后生成混淆因子时使用固定底数模幂运算。
+     *
+     * @param pk 公钥。
+     */
+    void precompute(PhePublicKey pk);
+
+    /**
+     * 删除公钥的固定底数模幂表。
+     *
+     * @param pk 公钥。
+     */
+    void destroyPrecompute(PhePublicKey pk);
+
+    /**
+     * 设置批量运算是否并发处理。
+     *
+     * @param parallel 是否并发处理。
+     */
+    void setParallel(boolean parallel);
+
+    /**
+     * 公钥批量行加密。
+     *
+     * @param pk 公钥。
+     * @param ms 明文。
+     * @return 密文。
+     */
+    BigInteger[] rawEncrypt(PhePublicKey pk, BigInteger[] ms);
+
     /**
      * 重随机化行密文。
      *
@@ -65,6 +111,16 @@ public interface PheEngine {
      */
     BigInteger rawAdd(PhePublicKey pk, BigInteger value1, BigInteger value2);
 
+    /**
+     * 密文{@code value}批量行相加。
+     *
+     * @param pk      公钥。
+     * @param values1 第1组密文的{@code value}。
+     * @param values2 第2组密文的{@code value}。
+     * @return 加法结果。
+     */
+    BigInteger[] rawAdd(PhePublicKey pk, BigInteger[] values1, BigInteger[] values2);
+
     /**
      * 密文{@code value}与明文放缩系数{@code scalar}相乘。
      *
@@ -75,6 +131,16 @@ public interface PheEngine {
      */
     BigInteger rawMultiply(PhePublicKey pk, BigInteger ciphertext, BigInteger factor);
 
+    /**
+     * 密文{@code value}与明文放缩系数{@code scalar}批量相乘。
+     *
+     * @param pk          公钥。
+     * @param ciphertexts 密文的{@code value}。
+     * @param factors     相乘系数。
+     * @return 乘法结果。
+     */
+    BigInteger[] rawMultiply(PhePublicKey pk, BigInteger[] ciphertexts, BigInteger[] factors);
+
     /**
      * 解密{@code BigInteger}。
      *
@@ -113,6 +179,15 @@ public interface PheEngine {
         return encrypt(pk, pk.getPlaintextEncoder().encode(value));
     }
 
+    /**
+     * 用公钥批量加密{@code BigInteger}。
+     *
+     * @param pk     公钥。
+     * @param values 待加密的明文。
+     * @return 加密结果。
+     */
+    PheCiphertext[] encrypt(PhePublicKey pk, BigInteger[] values);
+
     /**
      * 用私钥加密{@code BigInteger}。
      *
@@ -187,6 +262,16 @@ public interface PheEngine {
      */
     PheCiphertext add(PhePublicKey pk, PheCiphertext operand, PheCiphertext other);
 
+    /**
+     * {@code PheEncryptedNumber}[] + {@code PheEncryptedNumber}[]。
+     *
+     * @param pk       公钥。
+     * @param operands 被加数。
+     * @param others   加数。
+     * @return 加法结果。
+     */
+    PheCiphertext[] add(PhePublicKey pk, PheCiphertext[] operands, PheCiphertext[] others);
+
     /**
      * {@code PheEncryptedNumber} + {@code ModulusEncodedNumber}。
      *
@@ -424,6 +509,16 @@ public interface PheEngine {
         return multiply(pk, operand, pk.encode(other));
     }
 
+    /**
+     * {@code PheEncryptedNumber}[] * {@code BigInteger}[]。
+     *
+     * @param pk       公钥。
+     * @param operands 被乘数。
+     * @param others   乘数。
+     * @return 乘法结果。
+     */
+    PheCiphertext[] multiply(PhePublicKey pk, PheCiphertext[] operands, BigInteger[] others);
+
     /**
      * {@code PheEncryptedNumber} * {@code double}。
      *
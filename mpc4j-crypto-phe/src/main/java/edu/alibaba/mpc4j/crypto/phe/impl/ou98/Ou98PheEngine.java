@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.crypto.phe.AbstractPheEngine;
 import edu.alibaba.mpc4j.crypto.phe.PheFactory;
+import edu.alibaba.mpc4j.crypto.phe.obfuscator.FixedBaseModPow;
 import edu.alibaba.mpc4j.crypto.phe.params.PheKeyGenParams;
 import edu.alibaba.mpc4j.crypto.phe.params.PhePrivateKey;
 import edu.alibaba.mpc4j.crypto.phe.params.PhePublicKey;
@@ -63,16 +64,35 @@ public class Ou98PheEngine extends AbstractPheEngine {
         return pk.getPlaintextEncoder().getModulus().bitLength();
     }
 
+    @Override
+    public BigInteger rawObfuscator(PhePublicKey pk) {
+        Preconditions.checkArgument(pk instanceof Ou98PhePublicKey);
+        Ou98PhePublicKey publicKey = (Ou98PhePublicKey) pk;
+        BigInteger n = publicKey.n;
+        // pick r < n uniformly at random and compute h^r mod n
+        BigInteger r = BigIntegerUtils.randomPositive(n, secureRandom);
+        FixedBaseModPow fixedBaseModPow = fixedBaseModPowMap.get(pk);
+        return fixedBaseModPow != null
+            ? fixedBaseModPow.modPow(r)
+            : BigIntegerUtils.modPowSecure(publicKey.h, r, n);
+    }
+
+    @Override
+    public void precompute(PhePublicKey pk) {
+        Preconditions.checkArgument(pk instanceof Ou98PhePublicKey);
+        Ou98PhePublicKey publicKey = (Ou98PhePublicKey) pk;
+        // h is a fixed base in the public key, exponents are uniform in [1, n)
+        fixedBaseModPowMap.put(pk, new FixedBaseModPow(publicKey.h, publicKey.n, publicKey.n.bitLength()));
+    }
+
     @Override
     public BigInteger rawEncrypt(PhePublicKey pk, BigInteger m) {
         Preconditions.checkArgument(pk instanceof Ou98PhePublicKey);
         Ou98PhePublicKey publicKey = (Ou98PhePublicKey) pk;
         BigInteger n = publicKey.n;
         BigInteger g = publicKey.g;
-        BigInteger h = publicKey.h;
         // pick r < n uniformly at random and encrypt the (k − 1)-bit message m by c = g^m * h^r mod n
-        BigInteger r = BigIntegerUtils.randomPositive(n, secureRandom);
-        return BigIntegerUtils.modPow(g, m, n).multiply(BigIntegerUtils.modPow(h, r, n)).mod(n);
+        return BigIntegerUtils.modPow(g, m, n).multiply(getObfuscator(pk)).mod(n);
     }
 
     @Override
@@ -83,19 +103,22 @@ public class Ou98PheEngine extends AbstractPheEngine {
         BigInteger n = publicKey.n;
         BigInteger g = publicKey.g;
         BigInteger h = publicKey.h;
-        // pick r < n uniformly at random and encrypt the (k − 1)-bit message m by c = g^m * h^r mod n
-        BigInteger r = BigIntegerUtils.randomPositive(n, secureRandom);
         // ct = (g^m mod n) * h^r mod n，分别把g^m mod n和h^r mod n拆到CRT里面
         BigInteger m1 = m.mod(privateKey.pSquaredOrder);
         BigInteger m2 = m.mod(privateKey.q);
         BigInteger gm1 = BigIntegerUtils.modPow(g, m1, privateKey.pSquared);
         BigInteger gm2 = BigIntegerUtils.modPow(g, m2, privateKey.q);
         BigInteger gm = crt(gm1, gm2, privateKey.pSquared, privateKey.q, privateKey.pSquaredInverse);
-
+        if (getObfuscatorPool(publicKey) != null) {
+            // 混淆因子池中的h^r mod n已经预先计算好
+            return gm.multiply(getObfuscator(publicKey)).mod(n);
+        }
+        // pick r < n uniformly at random and encrypt the (k − 1)-bit message m by c = g^m * h^r mod n
+        BigInteger r = BigIntegerUtils.randomPositive(n, secureRandom);
         BigInteger r1 = r.mod(privateKey.pSquaredOrder);
         BigInteger r2 = r.mod(privateKey.q);
-        BigInteger hr1 = BigIntegerUtils.modPow(h, r1, privateKey.pSquared);
-        BigInteger hr2 = BigIntegerUtils.modPow(h, r2, privateKey.q);
+        BigInteger hr1 = BigIntegerUtils.modPowSecure(h, r1, privateKey.pSquared);
+        BigInteger hr2 = BigIntegerUtils.modPowSecure(h, r2, privateKey.q);
         BigInteger hr = crt(hr1, hr2, privateKey.pSquared, privateKey.q, privateKey.pSquaredInverse);
 
         return gm.multiply(hr).mod(n);
@@ -104,12 +127,9 @@ public class Ou98PheEngine extends AbstractPheEngine {
     @Override
     public BigInteger rawObfuscate(PhePublicKey pk, BigInteger ct) {
         Preconditions.checkArgument(pk instanceof Ou98PhePublicKey);
-        Ou98PhePublicKey publicKey = (Ou98PhePublicKey) pk;
-        BigInteger n = publicKey.n;
-        BigInteger h = publicKey.h;
-        // pick r < n uniformly at random and encrypt the (k − 1)-bit message m by c = G^m * H^r mod n
-        BigInteger r = BigIntegerUtils.randomPositive(n, secureRandom);
-        return BigIntegerUtils.modPow(h, r, n).multiply(ct).mod(n);
+        BigInteger n = ((Ou98PhePublicKey) pk).n;
+        // c' = c * h^r mod n
+        return getObfuscator(pk).multiply(ct).mod(n);
     }
 
     @Override
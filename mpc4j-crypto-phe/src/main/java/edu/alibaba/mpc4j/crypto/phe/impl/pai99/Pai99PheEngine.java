@@ -18,6 +18,7 @@ import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.crypto.phe.AbstractPheEngine;
 import edu.alibaba.mpc4j.crypto.phe.PheFactory;
+import edu.alibaba.mpc4j.crypto.phe.obfuscator.FixedBaseModPow;
 import edu.alibaba.mpc4j.crypto.phe.params.PheKeyGenParams;
 import edu.alibaba.mpc4j.crypto.phe.params.PhePrivateKey;
 import edu.alibaba.mpc4j.crypto.phe.params.PhePublicKey;
@@ -84,6 +85,37 @@ public class Pai99PheEngine extends AbstractPheEngine {
         return pk.getPlaintextEncoder().getModulus().bitLength() / 2;
     }
 
+    @Override
+    public BigInteger rawObfuscator(PhePublicKey pk) {
+        Preconditions.checkArgument(pk instanceof Pai99PhePublicKey);
+        Pai99PhePublicKey pai99PhePublicKey = (Pai99PhePublicKey) pk;
+        BigInteger modulus = pai99PhePublicKey.modulus;
+        BigInteger modulusSquared = pai99PhePublicKey.modulusSquared;
+        FixedBaseModPow fixedBaseModPow = fixedBaseModPowMap.get(pk);
+        if (fixedBaseModPow != null) {
+            // DJN10: r^n mod n^2 = h_s^a mod n^2, where a is a short exponent
+            BigInteger a = new BigInteger(fixedBaseModPow.getMaxExponentBitLength(), secureRandom);
+            return fixedBaseModPow.modPow(a);
+        }
+        // r^n mod n^2, r is secret so that we use side-channel resistant modPow
+        BigInteger r = BigIntegerUtils.randomPositive(modulus.shiftRight(1), secureRandom);
+        return BigIntegerUtils.modPowSecure(r, modulus, modulusSquared);
+    }
+
+    @Override
+    public void precompute(PhePublicKey pk) {
+        Preconditions.checkArgument(pk instanceof Pai99PhePublicKey);
+        Pai99PhePublicKey pai99PhePublicKey = (Pai99PhePublicKey) pk;
+        BigInteger modulus = pai99PhePublicKey.modulus;
+        BigInteger modulusSquared = pai99PhePublicKey.modulusSquared;
+        // DJN10: h = -x^2 mod n for random x ∈ Z_n^*, h_s = h^n mod n^2, exponents are ⌈|n| / 2⌉-bit long
+        BigInteger x = BigIntegerUtils.randomPositive(modulus, secureRandom);
+        BigInteger h = modulus.subtract(x.multiply(x).mod(modulus));
+        BigInteger hs = BigIntegerUtils.modPowSecure(h, modulus, modulusSquared);
+        int exponentBitLength = (modulus.bitLength() + 1) / 2;
+        fixedBaseModPowMap.put(pk, new FixedBaseModPow(hs, modulusSquared, exponentBitLength));
+    }
+
     @Override
     public BigInteger rawEncrypt(PhePublicKey pk, BigInteger m) {
         Preconditions.checkArgument(pk instanceof Pai99PhePublicKey);
@@ -91,9 +123,8 @@ public class Pai99PheEngine extends AbstractPheEngine {
         BigInteger modulus = pai99PhePublicKey.modulus;
         BigInteger modulusSquared = pai99PhePublicKey.modulusSquared;
         // ct = g^pt * r^n mod n^2 = (modulus + 1)^pt * r^n mod n^2 (modulus * pt + 1) * r^n mod n^2
-        BigInteger r = BigIntegerUtils.randomPositive(modulus.shiftRight(1), secureRandom);
         return modulus.multiply(m).add(BigInteger.ONE).mod(modulusSquared)
-            .multiply(BigIntegerUtils.modPow(r, modulus, modulusSquared)).mod(modulusSquared);
+            .multiply(getObfuscator(pk)).mod(modulusSquared);
     }
 
     @Override
@@ -109,13 +140,18 @@ public class Pai99PheEngine extends AbstractPheEngine {
         BigInteger pSquaredOrder = pai99PhePrivateKey.pSquaredOrder;
         BigInteger qSquaredOrder = pai99PhePrivateKey.qSquaredOrder;
         BigInteger pSquaredInverse = pai99PhePrivateKey.pSquaredInverse;
+        if (getObfuscatorPool(pai99PhePublicKey) != null) {
+            // 混淆因子池中的r^n mod n^2已经预先计算好
+            return modulus.multiply(m).add(BigInteger.ONE).mod(modulusSquared)
+                .multiply(getObfuscator(pai99PhePublicKey)).mod(modulusSquared);
+        }
         // 在Z_n上随机选取r
         BigInteger r = BigIntegerUtils.randomPositive(modulus.shiftRight(1), secureRandom);
         // ct = (modulus * pt + 1) * r^n mod n^2，把r^n mod n^2拆到CRT里面
         BigInteger r1 = r.mod(pSquaredOrder);
-        BigInteger mod1 = BigIntegerUtils.modPow(r1, modulus, pSquared);
+        BigInteger mod1 = BigIntegerUtils.modPowSecure(r1, modulus, pSquared);
         BigInteger r2 = r.mod(qSquaredOrder);
-        BigInteger mod2 = BigIntegerUtils.modPow(r2, modulus, qSquared);
+        BigInteger mod2 = BigIntegerUtils.modPowSecure(r2, modulus, qSquared);
         BigInteger mod = crt(mod1, mod2, pSquared, qSquared, pSquaredInverse);
 
         return modulus.multiply(m).add(BigInteger.ONE).mod(modulusSquared).multiply(mod).mod(modulusSquared);
@@ -124,11 +160,9 @@ public class Pai99PheEngine extends AbstractPheEngine {
     @Override
     public BigInteger rawObfuscate(PhePublicKey pk, BigInteger ct) {
         Preconditions.checkArgument(pk instanceof Pai99PhePublicKey);
-        BigInteger modulus = pk.getModulus();
         BigInteger modulusSquared = pk.getCiphertextModulus();
-        // 重随机化也使用DJN10优化方案，ct' = ct * r'^n mod n^2，其中r' ∈ Z_n
-        BigInteger r = BigIntegerUtils.randomPositive(modulus.shiftRight(1), secureRandom);
-        return BigIntegerUtils.modPow(r, modulus, modulusSquared).multiply(ct).mod(modulusSquared);
+        // ct' = ct * r'^n mod n^2，其中r' ∈ Z_n
+        return getObfuscator(pk).multiply(ct).mod(modulusSquared);
     }
 
     @Override
@@ -0,0 +1,126 @@
+package edu.alibaba.mpc4j.crypto.phe.obfuscator;
+
+import com.google.common.base.Preconditions;
+
+import java.math.BigInteger;
+
+/**
+ * 固定底数模幂运算。对于固定底数g和模数N，预计算窗口表T[i][j] = g^(j · 2^(w · i)) mod N，则对于任意不超过k比特的幂e，
+ * g^e mod N = Π_i T[i][e_i]，其中e_i为e的第i个w比特窗口。计算过程只需要⌈k / w⌉次模乘，不需要模平方。
+ * <p>
+ * 预计算表包含⌈k / w⌉ · 2^w个模N元素，w = 4时，k = 1024、N为4096比特时约占2MB内存。
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/11/27
+ */
+public class FixedBaseModPow {
+    /**
+     * 默认窗口比特长度
+     */
+    public static final int DEFAULT_WINDOW_BIT_LENGTH = 4;
+    /**
+     * 模数
+     */
+    private final BigInteger modulus;
+    /**
+     * 支持的最大幂比特长度
+     */
+    private final int maxExponentBitLength;
+    /**
+     * 窗口比特长度
+     */
+    private final int windowBitLength;
+    /**
+     * 预计算表，table[i][j] = g^(j · 2^(w · i)) mod N
+     */
+    private final BigInteger[][] table;
+
+    /**
+     * 构建固定底数模幂运算。
+     *
+     * @param base                 底数。
+     * @param modulus              模数。
+     * @param maxExponentBitLength 支持的最大幂比特长度。
+     */
+    public FixedBaseModPow(BigInteger base, BigInteger modulus, int maxExponentBitLength) {
+        this(base, modulus, maxExponentBitLength, DEFAULT_WINDOW_BIT_LENGTH);
+    }
+
+    /**
+     * 构建固定底数模幂运算。
+     *
+     * @param base                 底数。
+     * @param modulus              模数。
+     * @param maxExponentBitLength 支持的最大幂比特长度。
+     * @param windowBitLength      窗口比特长度。
+     */
+    public FixedBaseModPow(BigInteger base, BigInteger modulus, int maxExponentBitLength, int windowBitLength) {
+        Preconditions.checkArgument(modulus.compareTo(BigInteger.ONE) > 0, "modulus must be greater than 1");
+        Preconditions.checkArgument(maxExponentBitLength > 0, "max exponent bit length must be positive");
+        Preconditions.checkArgument(
+            windowBitLength > 0 && windowBitLength < Byte.SIZE, "window bit length must be in range [1, 8)"
+        );
+        this.modulus = modulus;
+        this.maxExponentBitLength = maxExponentBitLength;
+        this.windowBitLength = windowBitLength;
+        int windowNum = (maxExponentBitLength + windowBitLength - 1) / windowBitLength;
+        int windowSize = 1 << windowBitLength;
+        table = new BigInteger[windowNum][windowSize];
+        // windowBase = g^(2^(w · i)) mod N
+        BigInteger windowBase = base.mod(modulus);
+        for (int i = 0; i < windowNum; i++) {
+            table[i][0] = BigInteger.ONE;
+            for (int j = 1; j < windowSize; j++) {
+                table[i][j] = table[i][j - 1].multiply(windowBase).mod(modulus);
+            }
+            // g^(2^(w · (i + 1))) = (g^(2^(w · i)))^(2^w - 1) · g^(2^(w · i))
+            windowBase = table[i][windowSize - 1].multiply(windowBase).mod(modulus);
+        }
+    }
+
+    /**
+     * 计算g^e mod N。
+     *
+     * @param exponent 幂，要求为非负数且不超过支持的最大幂比特长度。
+     * @return g^e mod N。
+     */
+    public BigInteger modPow(BigInteger exponent) {
+        Preconditions.checkArgument(
+            exponent.signum() >= 0 && exponent.bitLength() <= maxExponentBitLength,
+            "exponent must be in range [0, 2^%s)", maxExponentBitLength
+        );
+        BigInteger result = BigInteger.ONE;
+        for (int i = 0; i < table.length; i++) {
+            int digit = 0;
+            int offset = i * windowBitLength;
+            for (int j = 0; j < windowBitLength; j++) {
+                if (exponent.testBit(offset + j)) {
+                    digit |= (1 << j);
+                }
+            }
+            if (digit != 0) {
+                result = result.multiply(table[i][digit]).mod(modulus);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 返回模数。
+     *
+     * @return 模数。
+     */
+    public BigInteger getModulus() {
+        return modulus;
+    }
+
+    /**
+     * 返回支持的最大幂比特长度。
+     *
+     * @return 支持的最大幂比特长度。
+     */
+    public int getMaxExponentBitLength() {
+        return maxExponentBitLength;
+    }
+}
@@ -0,0 +1,142 @@
+package edu.alibaba.mpc4j.crypto.phe.obfuscator;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.crypto.phe.PheEngine;
+import edu.alibaba.mpc4j.crypto.phe.params.PhePublicKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 半同态加密混淆因子池。公钥加密与重随机化的主要开销为与明文无关的混淆因子（Pai99为r^n mod n^2，OU98为h^r mod n）。
+ * 混淆因子池在后台线程中预先生成混淆因子并放入有界队列，加密时直接从队列中取出。队列为空时由调用方线程直接生成，不会阻塞。
+ * <p>
+ * 每个混淆因子只会被取出一次。使用完毕后需要调用{@link #close()}停止后台线程。
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/11/27
+ */
+public class PheObfuscatorPool implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PheObfuscatorPool.class);
+    /**
+     * 默认队列容量
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 10;
+    /**
+     * 半同态加密引擎
+     */
+    private final PheEngine pheEngine;
+    /**
+     * 公钥
+     */
+    private final PhePublicKey pk;
+    /**
+     * 混淆因子队列
+     */
+    private final BlockingQueue<BigInteger> queue;
+    /**
+     * 后台线程池
+     */
+    private final ExecutorService executorService;
+    /**
+     * 是否已经关闭
+     */
+    private volatile boolean closed;
+
+    /**
+     * 构建半同态加密混淆因子池，后台线程数量为1。
+     *
+     * @param pheEngine 半同态加密引擎。
+     * @param pk        公钥。
+     */
+    public PheObfuscatorPool(PheEngine pheEngine, PhePublicKey pk) {
+        this(pheEngine, pk, DEFAULT_CAPACITY, 1);
+    }
+
+    /**
+     * 构建半同态加密混淆因子池。
+     *
+     * @param pheEngine 半同态加密引擎。
+     * @param pk        公钥。
+     * @param capacity  队列容量。
+     * @param threadNum 后台线程数量。
+     */
+    public PheObfuscatorPool(PheEngine pheEngine, PhePublicKey pk, int capacity, int threadNum) {
+        Preconditions.checkArgument(pheEngine.getPheType().equals(pk.getPheType()));
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive: %s", capacity);
+        Preconditions.checkArgument(threadNum > 0, "thread num must be positive: %s", threadNum);
+        this.pheEngine = pheEngine;
+        this.pk = pk;
+        queue = new ArrayBlockingQueue<>(capacity);
+        closed = false;
+        executorService = Executors.newFixedThreadPool(threadNum, runnable -> {
+            Thread thread = new Thread(runnable, PheObfuscatorPool.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threadNum; i++) {
+            executorService.submit(this::fill);
+        }
+    }
+
+    private void fill() {
+        try {
+            while (!closed) {
+                queue.put(pheEngine.rawObfuscator(pk));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOGGER.error("failed to generate obfuscator", e);
+        }
+    }
+
+    /**
+     * 取出一个混淆因子。若队列为空，则由调用方线程直接生成。
+     *
+     * @return 混淆因子。
+     */
+    public BigInteger take() {
+        BigInteger obfuscator = queue.poll();
+        return obfuscator == null ? pheEngine.rawObfuscator(pk) : obfuscator;
+    }
+
+    /**
+     * 返回公钥。
+     *
+     * @return 公钥。
+     */
+    public PhePublicKey getPublicKey() {
+        return pk;
+    }
+
+    /**
+     * 返回当前已生成的混淆因子数量。
+     *
+     * @return 当前已生成的混淆因子数量。
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        executorService.shutdownNow();
+        try {
+            if (!executorService.awaitTermination(1, TimeUnit.SECONDS)) {
+                LOGGER.warn("{} does not terminate in time", PheObfuscatorPool.class.getSimpleName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        queue.clear();
+    }
+}
@@ -17,6 +17,8 @@ package edu.alibaba.mpc4j.crypto.phe.impl;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.crypto.phe.PheEngine;
 import edu.alibaba.mpc4j.crypto.phe.PheEngineTestConfiguration;
+import edu.alibaba.mpc4j.crypto.phe.obfuscator.PheObfuscatorPool;
+import edu.alibaba.mpc4j.crypto.phe.params.PheCiphertext;
 import edu.alibaba.mpc4j.crypto.phe.params.PhePrivateKey;
 import edu.alibaba.mpc4j.crypto.phe.params.PhePublicKey;
 import org.apache.commons.lang3.StringUtils;
@@ -26,8 +28,11 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.math.BigInteger;
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.stream.IntStream;
 
 /**
  * 半同态加密行运算测试。部分代码来自：
@@ -132,4 +137,84 @@ public class PheRawTest {
         Assert.assertNotEquals(ciphertext, obfuscatedCiphertext);
         Assert.assertEquals(a, pheEngine.rawDecrypt(sk, obfuscatedCiphertext));
     }
+
+    @Test
+    public void testObfuscatorPool() {
+        BigInteger a = new BigInteger("123456789");
+        try (PheObfuscatorPool pool = new PheObfuscatorPool(pheEngine, pk, 16, 2)) {
+            pheEngine.setObfuscatorPool(pool);
+            // 公钥加密、私钥加密、重随机化均从混淆因子池中取出混淆因子
+            BigInteger ciphertext = pheEngine.rawEncrypt(pk, a);
+            Assert.assertEquals(a, pheEngine.rawDecrypt(sk, ciphertext));
+            Assert.assertEquals(a, pheEngine.rawDecrypt(sk, pheEngine.rawEncrypt(sk, a)));
+            BigInteger obfuscatedCiphertext = pheEngine.rawObfuscate(pk, ciphertext);
+            Assert.assertNotEquals(ciphertext, obfuscatedCiphertext);
+            Assert.assertEquals(a, pheEngine.rawDecrypt(sk, obfuscatedCiphertext));
+            // 取出的混淆因子互不相同
+            long distinctNum = IntStream.range(0, 32).mapToObj(index -> pool.take()).distinct().count();
+            Assert.assertEquals(32, distinctNum);
+        } finally {
+            pheEngine.setObfuscatorPool(null);
+        }
+    }
+
+    @Test
+    public void testPrecompute() {
+        BigInteger a = new BigInteger("123456789");
+        pheEngine.precompute(pk);
+        try {
+            BigInteger ciphertext = pheEngine.rawEncrypt(pk, a);
+            Assert.assertEquals(a, pheEngine.rawDecrypt(sk, ciphertext));
+            BigInteger obfuscatedCiphertext = pheEngine.rawObfuscate(pk, ciphertext);
+            Assert.assertNotEquals(ciphertext, obfuscatedCiphertext);
+            Assert.assertEquals(a, pheEngine.rawDecrypt(sk, obfuscatedCiphertext));
+        } finally {
+            pheEngine.destroyPrecompute(pk);
+        }
+    }
+
+    @Test
+    public void testBatch() {
+        testBatch(false);
+        testBatch(true);
+    }
+
+    private void testBatch(boolean parallel) {
+        SecureRandom secureRandom = new SecureRandom();
+        int num = 16;
+        BigInteger[] as = IntStream.range(0, num)
+            .mapToObj(index -> new BigInteger(Long.SIZE, secureRandom))
+            .toArray(BigInteger[]::new);
+        BigInteger[] bs = IntStream.range(0, num)
+            .mapToObj(index -> new BigInteger(Integer.SIZE, secureRandom))
+            .toArray(BigInteger[]::new);
+        pheEngine.setParallel(parallel);
+        try {
+            // 行运算
+            BigInteger[] encryptedAs = pheEngine.rawEncrypt(pk, as);
+            BigInteger[] encryptedBs = pheEngine.rawEncrypt(pk, bs);
+            BigInteger[] sums = pheEngine.rawAdd(pk, encryptedAs, encryptedBs);
+            BigInteger[] products = pheEngine.rawMultiply(pk, encryptedAs, bs);
+            for (int i = 0; i < num; i++) {
+                Assert.assertEquals(as[i], pheEngine.rawDecrypt(sk, encryptedAs[i]));
+                Assert.assertEquals(as[i].add(bs[i]), pheEngine.rawDecrypt(sk, sums[i]));
+                Assert.assertEquals(as[i].multiply(bs[i]), pheEngine.rawDecrypt(sk, products[i]));
+            }
+            // 密文运算
+            PheCiphertext[] ctAs = pheEngine.encrypt(pk, as);
+            PheCiphertext[] ctBs = pheEngine.encrypt(pk, bs);
+            PheCiphertext[] ctSums = pheEngine.add(pk, ctAs, ctBs);
+            PheCiphertext[] ctProducts = pheEngine.multiply(pk, ctAs, bs);
+            Assert.assertArrayEquals(
+                IntStream.range(0, num).mapToObj(i -> as[i].add(bs[i])).toArray(BigInteger[]::new),
+                Arrays.stream(ctSums).map(ct -> pheEngine.decrypt(sk, ct).decodeBigInteger()).toArray(BigInteger[]::new)
+            );
+            Assert.assertArrayEquals(
+                IntStream.range(0, num).mapToObj(i -> as[i].multiply(bs[i])).toArray(BigInteger[]::new),
+                Arrays.stream(ctProducts).map(ct -> pheEngine.decrypt(sk, ct).decodeBigInteger()).toArray(BigInteger[]::new)
+            );
+        } finally {
+            pheEngine.setParallel(false);
+        }
+    }
 }
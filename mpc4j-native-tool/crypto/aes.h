@@ -237,4 +237,72 @@ inline void aes_ecb_decrypt(uint8_t *ciphertext, const AES_KEY *key) {
 
 #endif
 
+/**
+ * 流水线并行分组数量。AES-NI指令的延迟高于吞吐量，交错处理多个独立分组可以填满流水线。
+ */
+#define AES_BATCH_BLOCK_NUM 8
+
+#ifdef __x86_64__
+__attribute__((target("aes,sse2")))
+inline void aes_ecb_encrypt_blocks(uint8_t *blocks, int block_num, const AES_KEY *key) {
+    int i = 0;
+    __m128i m[AES_BATCH_BLOCK_NUM];
+    for (; i + AES_BATCH_BLOCK_NUM <= block_num; i += AES_BATCH_BLOCK_NUM) {
+        auto *p = (__m128i *) (blocks + i * BLOCK_BYTE_LENGTH);
+        for (int j = 0; j < AES_BATCH_BLOCK_NUM; j++) {
+            m[j] = _mm_xor_si128(_mm_loadu_si128(p + j), key->rd_key[0]);
+        }
+        for (int r = 1; r < 10; r++) {
+            for (int j = 0; j < AES_BATCH_BLOCK_NUM; j++) {
+                m[j] = _mm_aesenc_si128(m[j], key->rd_key[r]);
+            }
+        }
+        for (int j = 0; j < AES_BATCH_BLOCK_NUM; j++) {
+            _mm_storeu_si128(p + j, _mm_aesenclast_si128(m[j], key->rd_key[10]));
+        }
+    }
+    // 剩余分组逐个处理
+    for (; i < block_num; i++) {
+        aes_ecb_encrypt(blocks + i * BLOCK_BYTE_LENGTH, key);
+    }
+}
+
+__attribute__((target("aes,sse2")))
+inline void aes_ecb_decrypt_blocks(uint8_t *blocks, int block_num, const AES_KEY *key) {
+    int i = 0;
+    __m128i m[AES_BATCH_BLOCK_NUM];
+    for (; i + AES_BATCH_BLOCK_NUM <= block_num; i += AES_BATCH_BLOCK_NUM) {
+        auto *p = (__m128i *) (blocks + i * BLOCK_BYTE_LENGTH);
+        for (int j = 0; j < AES_BATCH_BLOCK_NUM; j++) {
+            m[j] = _mm_xor_si128(_mm_loadu_si128(p + j), key->rd_key[10]);
+        }
+        for (int r = 11; r < 20; r++) {
+            for (int j = 0; j < AES_BATCH_BLOCK_NUM; j++) {
+                m[j] = _mm_aesdec_si128(m[j], key->rd_key[r]);
+            }
+        }
+        for (int j = 0; j < AES_BATCH_BLOCK_NUM; j++) {
+            _mm_storeu_si128(p + j, _mm_aesdeclast_si128(m[j], key->rd_key[0]));
+        }
+    }
+    for (; i < block_num; i++) {
+        aes_ecb_decrypt(blocks + i * BLOCK_BYTE_LENGTH, key);
+    }
+}
+#elif __aarch64__
+
+inline void aes_ecb_encrypt_blocks(uint8_t *blocks, int block_num, const AES_KEY *key) {
+    for (int i = 0; i < block_num; i++) {
+        aes_ecb_encrypt(blocks + i * BLOCK_BYTE_LENGTH, key);
+    }
+}
+
+inline void aes_ecb_decrypt_blocks(uint8_t *blocks, int block_num, const AES_KEY *key) {
+    for (int i = 0; i < block_num; i++) {
+        aes_ecb_decrypt(blocks + i * BLOCK_BYTE_LENGTH, key);
+    }
+}
+
+#endif
+
 #endif //MPC4J_NATIVE_TOOL_AES_H
@@ -56,6 +56,48 @@ JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_Nativ
     return jPlaintextByteArray;
 }
 
+/**
+ * 批量处理连续存储的分组。先将输入拷贝到输出区域，再在输出区域原地加解密，因此支持输入输出为同一数组。
+ */
+template<void (*BLOCKS_FUNC)(uint8_t *, int, const AES_KEY *)>
+inline void aes_ecb_blocks(JNIEnv *env, jobject jKeyPointer, jbyteArray jInput, jint inputOffset,
+                           jbyteArray jOutput, jint outputOffset, jint blockNum) {
+    if (blockNum <= 0) {
+        return;
+    }
+    auto * aesKey = (AES_KEY *)(*env).GetDirectBufferAddress(jKeyPointer);
+    jsize byteLength = blockNum * BLOCK_BYTE_LENGTH;
+    // 临界区内不能调用其他JNI函数，因此提前判断输入输出是否为同一数组
+    jboolean isSameArray = (*env).IsSameObject(jInput, jOutput);
+    // 拷贝输入到输出区域
+    auto *output = (uint8_t *)(*env).GetPrimitiveArrayCritical(jOutput, nullptr);
+    if (isSameArray) {
+        memmove(output + outputOffset, output + inputOffset, byteLength);
+    } else {
+        auto *input = (uint8_t *)(*env).GetPrimitiveArrayCritical(jInput, nullptr);
+        memcpy(output + outputOffset, input + inputOffset, byteLength);
+        (*env).ReleasePrimitiveArrayCritical(jInput, input, JNI_ABORT);
+    }
+    BLOCKS_FUNC(output + outputOffset, blockNum, aesKey);
+    (*env).ReleasePrimitiveArrayCritical(jOutput, output, 0);
+}
+
+JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp_nativeEncryptBlocks
+        (JNIEnv *env, jobject context, jobject jKeyPointer, jbyteArray jPlaintextByteArray, jint plaintextOffset,
+         jbyteArray jCiphertextByteArray, jint ciphertextOffset, jint blockNum) {
+    aes_ecb_blocks<aes_ecb_encrypt_blocks>(
+            env, jKeyPointer, jPlaintextByteArray, plaintextOffset, jCiphertextByteArray, ciphertextOffset, blockNum
+    );
+}
+
+JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp_nativeDecryptBlocks
+        (JNIEnv *env, jobject context, jobject jKeyPointer, jbyteArray jCiphertextByteArray, jint ciphertextOffset,
+         jbyteArray jPlaintextByteArray, jint plaintextOffset, jint blockNum) {
+    aes_ecb_blocks<aes_ecb_decrypt_blocks>(
+            env, jKeyPointer, jCiphertextByteArray, ciphertextOffset, jPlaintextByteArray, plaintextOffset, blockNum
+    );
+}
+
 JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp_nativeDestroyKey
         (JNIEnv *env, jobject context, jobject jKeyPointer) {
     free((AES_KEY *)(*env).GetDirectBufferAddress(jKeyPointer));
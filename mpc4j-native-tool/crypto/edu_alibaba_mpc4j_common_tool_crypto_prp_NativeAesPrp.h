@@ -31,6 +31,22 @@ JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_Nativ
 JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp_nativeDecrypt
   (JNIEnv *, jobject, jobject, jbyteArray);
 
+/*
+ * Class:     edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp
+ * Method:    nativeEncryptBlocks
+ * Signature: (Ljava/nio/ByteBuffer;[BI[BII)V
+ */
+JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp_nativeEncryptBlocks
+  (JNIEnv *, jobject, jobject, jbyteArray, jint, jbyteArray, jint, jint);
+
+/*
+ * Class:     edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp
+ * Method:    nativeDecryptBlocks
+ * Signature: (Ljava/nio/ByteBuffer;[BI[BII)V
+ */
+JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp_nativeDecryptBlocks
+  (JNIEnv *, jobject, jobject, jbyteArray, jint, jbyteArray, jint, jint);
+
 /*
  * Class:     edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp
  * Method:    nativeDestroyKey
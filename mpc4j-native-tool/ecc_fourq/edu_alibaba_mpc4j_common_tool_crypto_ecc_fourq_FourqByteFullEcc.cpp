@@ -232,3 +232,51 @@ JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_fourq
     return jMulByteArray;
 }
 
+/*
+ * Class:     edu_alibaba_mpc4j_common_tool_crypto_ecc_fourq_FourqByteFullEcc
+ * Method:    nativeBatchMul
+ * Signature: ([B[B)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_fourq_FourqByteFullEcc_nativeBatchMul
+    (JNIEnv *env, jobject context, jbyteArray jEcByteArray, jbyteArray jZnByteArray) {
+    // points are concatenated, scalars are either one scalar or concatenated with the same number as points
+    jsize num = (*env).GetArrayLength(jEcByteArray) / 32;
+    jsize znNum = (*env).GetArrayLength(jZnByteArray) / 32;
+    jbyte *ecBuffer = (*env).GetByteArrayElements(jEcByteArray, nullptr);
+    jbyte *znBuffer = (*env).GetByteArrayElements(jZnByteArray, nullptr);
+    auto *res = new uint8_t[(size_t) num * 32];
+    bool success = true;
+    uint8_t p[32];
+    uint8_t k[32];
+    point_t A;
+    point_t R;
+    for (jsize i = 0; i < num && success; i++) {
+        // parse point
+        memcpy(p, ecBuffer + (size_t) i * 32, 32);
+        if (decode(p, A) != ECCRYPTO_SUCCESS) {
+            success = false;
+            break;
+        }
+        // parse scalar
+        memcpy(k, znBuffer + (znNum == 1 ? 0 : (size_t) i * 32), 32);
+        // R = k * A , clear_cofactor is set to false by default. Do not encode R if ecc_mul fails.
+        if (!ecc_mul(A, (digit_t *) k, R, false)) {
+            success = false;
+            break;
+        }
+        encode(R, res + (size_t) i * 32);
+    }
+    (*env).ReleaseByteArrayElements(jEcByteArray, ecBuffer, JNI_ABORT);
+    (*env).ReleaseByteArrayElements(jZnByteArray, znBuffer, JNI_ABORT);
+    if (!success) {
+        delete[] res;
+        auto exception = env->FindClass("java/lang/IllegalArgumentException");
+        env->ThrowNew(exception, "batch ecc_mul failed, invalid point.");
+        return nullptr;
+    }
+    jbyteArray jMulByteArray = (*env).NewByteArray((jsize) num * 32);
+    (*env).SetByteArrayRegion(jMulByteArray, 0, (jsize) num * 32, (const jbyte *) res);
+    delete[] res;
+
+    return jMulByteArray;
+}
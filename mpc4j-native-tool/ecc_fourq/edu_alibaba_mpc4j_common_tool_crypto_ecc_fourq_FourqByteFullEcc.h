@@ -61,6 +61,14 @@ JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_fourq
   (JNIEnv *, jobject, jbyteArray);
 
 
+/*
+ * Class:     edu_alibaba_mpc4j_common_tool_crypto_ecc_fourq_FourqByteFullEcc
+ * Method:    nativeBatchMul
+ * Signature: ([B[B)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_fourq_FourqByteFullEcc_nativeBatchMul
+  (JNIEnv *, jobject, jbyteArray, jbyteArray);
+
 #ifdef __cplusplus
 }
 #endif
@@ -30,6 +30,16 @@ JNIEXPORT jstring JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP
     return mcl_multiply(env, jEcString, jZnString);
 }
 
+JNIEXPORT jobjectArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP256k1MclNativeEcc_batchPrecomputeMultiply
+    (JNIEnv *env, jobject context, jobject jWindowHandler, jobjectArray jZnStringArray) {
+    return mcl_batch_precompute_multiply(env, jWindowHandler, jZnStringArray);
+}
+
+JNIEXPORT jobjectArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP256k1MclNativeEcc_batchMultiply
+    (JNIEnv *env, jobject context, jobjectArray jEcStringArray, jstring jZnString) {
+    return mcl_batch_multiply(env, jEcStringArray, jZnString);
+}
+
 JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP256k1MclNativeEcc_reset
         (JNIEnv *env, jobject context) {
     // do nothing
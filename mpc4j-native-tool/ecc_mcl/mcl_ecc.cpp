@@ -72,4 +72,50 @@ jstring mcl_multiply(JNIEnv *env, jstring jEcString, jstring jZnString) {
     // 返回结果
     std::string mulEcString = mulEc.getStr(MCL_RADIX);
     return (*env).NewStringUTF(mulEcString.data());
+}
+
+jobjectArray mcl_batch_precompute_multiply(JNIEnv *env, jobject jWindowHandler, jobjectArray jZnStringArray) {
+    // 读取幂指数
+    std::vector<std::string> znStrings;
+    jStringArrayToSet(env, jZnStringArray, znStrings);
+    // 定点计算
+    auto * windowHandler = (mcl::fp::WindowMethod<Ec> *)(*env).GetDirectBufferAddress(jWindowHandler);
+    std::vector<std::string> ecStrings(znStrings.size());
+    Zn zn;
+    Ec ec;
+    for (std::vector<std::string>::size_type index = 0; index < znStrings.size(); index++) {
+        znFromString(znStrings[index], zn);
+        (*windowHandler).mul(ec, zn);
+        ec.normalize();
+        ecStrings[index] = ec.getStr(MCL_RADIX);
+    }
+    // 返回结果
+    jobjectArray jEcStringArray;
+    setTojStringArray(env, ecStrings, jEcStringArray);
+    return jEcStringArray;
+}
+
+jobjectArray mcl_batch_multiply(JNIEnv *env, jobjectArray jEcStringArray, jstring jZnString) {
+    // 读取幂指数
+    const char* jZnStringHandler = (*env).GetStringUTFChars(jZnString, JNI_FALSE);
+    std::string znString = std::string(jZnStringHandler);
+    (*env).ReleaseStringUTFChars(jZnString, jZnStringHandler);
+    Zn zn;
+    znFromString(znString, zn);
+    // 读取椭圆曲线点
+    std::vector<std::string> ecStrings;
+    jStringArrayToSet(env, jEcStringArray, ecStrings);
+    // 计算乘法
+    Ec ec;
+    Ec mulEc;
+    for (auto &ecString : ecStrings) {
+        ecFromString(ecString, ec);
+        Ec::mul(mulEc, ec, zn);
+        mulEc.normalize();
+        ecString = mulEc.getStr(MCL_RADIX);
+    }
+    // 返回结果
+    jobjectArray jMulEcStringArray;
+    setTojStringArray(env, ecStrings, jMulEcStringArray);
+    return jMulEcStringArray;
 }
\ No newline at end of file
@@ -35,4 +35,8 @@ jstring mcl_precompute_multiply(JNIEnv *env, jobject jWindowHandler, jstring jZn
 
 jstring mcl_multiply(JNIEnv *env, jstring jEcString, jstring jZnString);
 
+jobjectArray mcl_batch_precompute_multiply(JNIEnv *env, jobject jWindowHandler, jobjectArray jZnStringArray);
+
+jobjectArray mcl_batch_multiply(JNIEnv *env, jobjectArray jEcStringArray, jstring jZnString);
+
 #endif //MPC4J_NATIVE_TOOL_ECC_MCL_H
@@ -30,6 +30,16 @@ JNIEXPORT jstring JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_
     return openssl_multiply(env, 0, jPointString, jBnString);
 }
 
+JNIEXPORT jobjectArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256k1OpensslNativeEcc_batchPrecomputeMultiply
+    (JNIEnv *env, jobject context, jobject jWindowHandler, jobjectArray jZnStringArray) {
+    return openssl_batch_precompute_multiply(env, 0, jWindowHandler, jZnStringArray);
+}
+
+JNIEXPORT jobjectArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256k1OpensslNativeEcc_batchMultiply
+    (JNIEnv *env, jobject context, jobjectArray jEcStringArray, jstring jZnString) {
+    return openssl_batch_multiply(env, 0, jEcStringArray, jZnString);
+}
+
 JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256k1OpensslNativeEcc_reset
     (JNIEnv *env, jobject context) {
     // do nothing
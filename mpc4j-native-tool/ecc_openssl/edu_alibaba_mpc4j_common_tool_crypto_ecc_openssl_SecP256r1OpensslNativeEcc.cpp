@@ -30,6 +30,16 @@ JNIEXPORT jstring JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_
     return openssl_multiply(env, 1, jPointString, jBnString);
 }
 
+JNIEXPORT jobjectArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256r1OpensslNativeEcc_batchPrecomputeMultiply
+    (JNIEnv *env, jobject context, jobject jWindowHandler, jobjectArray jZnStringArray) {
+    return openssl_batch_precompute_multiply(env, 1, jWindowHandler, jZnStringArray);
+}
+
+JNIEXPORT jobjectArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256r1OpensslNativeEcc_batchMultiply
+    (JNIEnv *env, jobject context, jobjectArray jEcStringArray, jstring jZnString) {
+    return openssl_batch_multiply(env, 1, jEcStringArray, jZnString);
+}
+
 JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256r1OpensslNativeEcc_reset
         (JNIEnv *env, jobject context) {
     // do nothing
@@ -93,4 +93,66 @@ jstring openssl_multiply(JNIEnv *env, int curveIndex, jstring jPointString, jstr
     EC_POINT_free(mulPoint);
     BN_CTX_free(ctx);
     return (*env).NewStringUTF(mulPointString.data());
+}
+
+jobjectArray openssl_batch_precompute_multiply(JNIEnv *env, int curveIndex, jobject jWindowHandler, jobjectArray jBnStringArray) {
+    BN_CTX *ctx = BN_CTX_new();
+    // 读取幂指数
+    std::vector<std::string> bnStrings;
+    jStringArrayToSet(env, jBnStringArray, bnStrings);
+    // 定点计算
+    auto *windowHandler = (WindowMethod *)(*env).GetDirectBufferAddress(jWindowHandler);
+    std::vector<std::string> pointStrings(bnStrings.size());
+    BIGNUM *bn = BN_new();
+    EC_POINT *point = EC_POINT_new(openssl_ec_group[curveIndex]);
+    for (std::vector<std::string>::size_type index = 0; index < bnStrings.size(); index++) {
+        bnFromString(bnStrings[index], bn);
+        (*windowHandler).multiply(point, bn);
+        pointStrings[index] = pointToString(curveIndex, point, ctx);
+    }
+    BN_free(bn);
+    EC_POINT_free(point);
+    BN_CTX_free(ctx);
+    // 返回结果
+    jobjectArray jPointStringArray;
+    setTojStringArray(env, pointStrings, jPointStringArray);
+    return jPointStringArray;
+}
+
+jobjectArray openssl_batch_multiply(JNIEnv *env, int curveIndex, jobjectArray jPointStringArray, jstring jBnString) {
+    BN_CTX *ctx = BN_CTX_new();
+    // 读取幂指数
+    const char* jBnStringHandler = (*env).GetStringUTFChars(jBnString, JNI_FALSE);
+    std::string bnString = std::string(jBnStringHandler);
+    (*env).ReleaseStringUTFChars(jBnString, jBnStringHandler);
+    BIGNUM *bn = BN_new();
+    bnFromString(bnString, bn);
+    // 读取椭圆曲线点
+    std::vector<std::string> pointStrings;
+    jStringArrayToSet(env, jPointStringArray, pointStrings);
+    // 计算乘法
+    EC_POINT *point = EC_POINT_new(openssl_ec_group[curveIndex]);
+    EC_POINT *mulPoint = EC_POINT_new(openssl_ec_group[curveIndex]);
+    bool success = true;
+    for (auto &pointString : pointStrings) {
+        pointFromString(curveIndex, pointString, point, ctx);
+        if (EC_POINT_mul(openssl_ec_group[curveIndex], mulPoint, nullptr, point, bn, ctx) != 1) {
+            success = false;
+            break;
+        }
+        pointString = pointToString(curveIndex, mulPoint, ctx);
+    }
+    BN_free(bn);
+    EC_POINT_free(point);
+    EC_POINT_free(mulPoint);
+    BN_CTX_free(ctx);
+    if (!success) {
+        auto exception = env->FindClass("java/lang/IllegalArgumentException");
+        env->ThrowNew(exception, "batch EC_POINT_mul failed.");
+        return nullptr;
+    }
+    // 返回结果
+    jobjectArray jMulPointStringArray;
+    setTojStringArray(env, pointStrings, jMulPointStringArray);
+    return jMulPointStringArray;
 }
\ No newline at end of file
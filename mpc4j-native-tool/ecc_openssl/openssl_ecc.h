@@ -42,4 +42,8 @@ jstring openssl_precompute_multiply(JNIEnv *env, int curveIndex, jobject jWindow
 
 jstring openssl_multiply(JNIEnv *env, int curveIndex, jstring jPointString, jstring jBnString);
 
+jobjectArray openssl_batch_precompute_multiply(JNIEnv *env, int curveIndex, jobject jWindowHandler, jobjectArray jBnStringArray);
+
+jobjectArray openssl_batch_multiply(JNIEnv *env, int curveIndex, jobjectArray jPointStringArray, jstring jBnString);
+
 #endif //MPC4J_NATIVE_TOOL_OPENSSL_ECC_H
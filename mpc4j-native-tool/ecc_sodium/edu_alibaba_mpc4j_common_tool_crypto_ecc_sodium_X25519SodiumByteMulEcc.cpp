@@ -40,4 +40,38 @@ JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_sodiu
     (*env).SetByteArrayRegion(jMulByteArray, 0, crypto_core_ed25519_BYTES, (const jbyte*)r);
 
     return jMulByteArray;
-}
\ No newline at end of file
+}
+
+JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_sodium_X25519SodiumByteMulEcc_nativeBatchMul
+        (JNIEnv *env, jobject context, jbyteArray jEcByteArray, jbyteArray jZnByteArray) {
+    // points are concatenated, scalars are either one scalar or concatenated with the same number as points
+    jsize num = (*env).GetArrayLength(jEcByteArray) / crypto_core_ed25519_BYTES;
+    jsize znNum = (*env).GetArrayLength(jZnByteArray) / crypto_core_ed25519_SCALARBYTES;
+    jbyte* ecBuffer = (*env).GetByteArrayElements(jEcByteArray, nullptr);
+    jbyte* znBuffer = (*env).GetByteArrayElements(jZnByteArray, nullptr);
+    auto *res = new uint8_t[(size_t) num * crypto_core_ed25519_BYTES];
+    uint8_t p[crypto_core_ed25519_BYTES];
+    uint8_t k[crypto_core_ed25519_SCALARBYTES];
+    bool success = true;
+    for (jsize i = 0; i < num; i++) {
+        memcpy(p, ecBuffer + (size_t) i * crypto_core_ed25519_BYTES, crypto_core_ed25519_BYTES);
+        memcpy(k, znBuffer + (znNum == 1 ? 0 : (size_t) i * crypto_core_ed25519_SCALARBYTES), crypto_core_ed25519_SCALARBYTES);
+        if (crypto_scalarmult(res + (size_t) i * crypto_core_ed25519_BYTES, k, p) != 0) {
+            success = false;
+            break;
+        }
+    }
+    (*env).ReleaseByteArrayElements(jEcByteArray, ecBuffer, JNI_ABORT);
+    (*env).ReleaseByteArrayElements(jZnByteArray, znBuffer, JNI_ABORT);
+    if (!success) {
+        delete[] res;
+        auto exception = env->FindClass("java/lang/IllegalArgumentException");
+        env->ThrowNew(exception, "batch crypto_scalarmult failed, small-order point.");
+        return nullptr;
+    }
+    jbyteArray jMulByteArray = (*env).NewByteArray((jsize) num * crypto_core_ed25519_BYTES);
+    (*env).SetByteArrayRegion(jMulByteArray, 0, (jsize) num * crypto_core_ed25519_BYTES, (const jbyte*)res);
+    delete[] res;
+
+    return jMulByteArray;
+}
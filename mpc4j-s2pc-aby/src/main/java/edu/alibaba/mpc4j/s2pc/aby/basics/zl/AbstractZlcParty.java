@@ -10,6 +10,7 @@ import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyPto;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
+import edu.alibaba.mpc4j.crypto.matrix.vector.ZlLongVector;
 import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
 
 import java.util.Arrays;
@@ -34,6 +35,10 @@ public abstract class AbstractZlcParty extends AbstractTwoPartyPto implements Zl
      * l in bytes
      */
     protected final int byteL;
+    /**
+     * whether operations are done on long-packed vectors, i.e., l ≤ 64
+     */
+    protected final boolean useLong;
     /**
      * total num for updates.
      */
@@ -48,6 +53,7 @@ public abstract class AbstractZlcParty extends AbstractTwoPartyPto implements Zl
         this.zl = config.getZl();
         l = zl.getL();
         byteL = zl.getByteL();
+        useLong = ZlLongVector.isSupported(zl);
     }
 
     protected void setInitInput(int updateNum) {
@@ -100,6 +106,17 @@ public abstract class AbstractZlcParty extends AbstractTwoPartyPto implements Zl
         return SquareZlVector.createEmpty(zl, plain);
     }
 
+    @Override
+    public SquareZlVector merge(MpcZlVector[] vectors) {
+        assert vectors.length > 0 : "merged vector length must be greater than 0";
+        return SquareZlVector.merge(Arrays.stream(vectors).map(vector -> (SquareZlVector) vector).toArray(SquareZlVector[]::new));
+    }
+
+    @Override
+    public SquareZlVector[] split(MpcZlVector mergeVector, int[] nums) {
+        return SquareZlVector.split((SquareZlVector) mergeVector, nums);
+    }
+
     @Override
     public SquareZlVector[] add(MpcZlVector[] xiArray, MpcZlVector[] yiArray) throws MpcAbortException {
         return operate(DyadicAcOperator.ADD, xiArray, yiArray);
@@ -9,6 +9,7 @@ import edu.alibaba.mpc4j.common.tool.galoisfield.zl.ZlFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.crypto.matrix.vector.ZlLongVector;
 import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -16,18 +17,28 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * Square share Zl vector ([x]). The share is of the form: x = x_0 + x_1.
+ * <p>
+ * The vector is either represented by a BigInteger-based {@link ZlVector}, or by a long-packed {@link ZlLongVector}
+ * when l ≤ 64. The representation switches lazily when the other one is requested, so that protocols working on long
+ * can chain operations without converting to BigInteger.
+ * </p>
  *
  * @author Weiran Liu
  * @date 2023/4/10
  */
 public class SquareZlVector implements MpcZlVector {
     /**
-     * the vector
+     * the vector, null if the vector is represented by long
      */
     private ZlVector zlVector;
+    /**
+     * the long vector, null if the vector is represented by BigInteger
+     */
+    private ZlLongVector zlLongVector;
     /**
      * the plain state.
      */
@@ -64,6 +75,64 @@ public class SquareZlVector implements MpcZlVector {
         return shareVector;
     }
 
+    /**
+     * Create a share vector.
+     *
+     * @param vector the long vector.
+     * @param plain  the plain state.
+     * @return a share vector.
+     */
+    public static SquareZlVector create(ZlLongVector vector, boolean plain) {
+        SquareZlVector shareVector = new SquareZlVector();
+        shareVector.zlLongVector = vector;
+        shareVector.plain = plain;
+
+        return shareVector;
+    }
+
+    /**
+     * Merges share vectors. The merged vector is represented by long if all vectors are represented by long.
+     *
+     * @param vectors share vectors.
+     * @return the merged share vector.
+     */
+    public static SquareZlVector merge(SquareZlVector[] vectors) {
+        MathPreconditions.checkPositive("vectors.length", vectors.length);
+        boolean plain = vectors[0].isPlain();
+        for (SquareZlVector vector : vectors) {
+            Preconditions.checkArgument(vector.isPlain() == plain, "plain state mismatch");
+        }
+        if (Arrays.stream(vectors).allMatch(SquareZlVector::isZlLongVector)) {
+            return SquareZlVector.create(
+                ZlLongVector.merge(Arrays.stream(vectors).map(x -> x.zlLongVector).toArray(ZlLongVector[]::new)), plain
+            );
+        } else {
+            return SquareZlVector.create(
+                ZlVector.merge(Arrays.stream(vectors).map(SquareZlVector::getZlVector).toArray(ZlVector[]::new)), plain
+            );
+        }
+    }
+
+    /**
+     * Splits the share vector, the split vectors are in the same representation as the merged vector.
+     *
+     * @param mergeVector the merged share vector.
+     * @param nums        nums for each of the split vector.
+     * @return the split share vectors.
+     */
+    public static SquareZlVector[] split(SquareZlVector mergeVector, int[] nums) {
+        boolean plain = mergeVector.isPlain();
+        if (mergeVector.isZlLongVector()) {
+            return Arrays.stream(ZlLongVector.split(mergeVector.zlLongVector, nums))
+                .map(vector -> SquareZlVector.create(vector, plain))
+                .toArray(SquareZlVector[]::new);
+        } else {
+            return Arrays.stream(ZlVector.split(mergeVector.zlVector, nums))
+                .map(vector -> SquareZlVector.create(vector, plain))
+                .toArray(SquareZlVector[]::new);
+        }
+    }
+
     /**
      * Create a (plain) random share vector.
      *
@@ -131,14 +200,24 @@ public class SquareZlVector implements MpcZlVector {
      * @return the binary share of the last bit
      */
     public SquareZ2Vector getLastBit(){
-        BigInteger[] data = this.zlVector.getElements();
-        byte[] b = new byte[CommonUtils.getByteLength(data.length)];
-        for(int i = 0, index = (b.length<<3) - data.length; i < data.length; i++, index++){
-            if(data[i].testBit(0)) {
-                BinaryUtils.setBoolean(b, index, true);
+        int num = getNum();
+        byte[] b = new byte[CommonUtils.getByteLength(num)];
+        if (isZlLongVector()) {
+            long[] data = zlLongVector.getElements();
+            for(int i = 0, index = (b.length<<3) - num; i < num; i++, index++){
+                if((data[i] & 1L) != 0) {
+                    BinaryUtils.setBoolean(b, index, true);
+                }
+            }
+        } else {
+            BigInteger[] data = zlVector.getElements();
+            for(int i = 0, index = (b.length<<3) - num; i < num; i++, index++){
+                if(data[i].testBit(0)) {
+                    BinaryUtils.setBoolean(b, index, true);
+                }
             }
         }
-        return SquareZ2Vector.create(data.length, b, this.isPlain());
+        return SquareZ2Vector.create(num, b, this.isPlain());
     }
 
     private SquareZlVector() {
@@ -148,7 +227,11 @@ public class SquareZlVector implements MpcZlVector {
     @Override
     public SquareZlVector copy() {
         SquareZlVector clone = new SquareZlVector();
-        clone.zlVector = zlVector.copy();
+        if (isZlLongVector()) {
+            clone.zlLongVector = zlLongVector.copy();
+        } else {
+            clone.zlVector = zlVector.copy();
+        }
         clone.plain = plain;
 
         return clone;
@@ -156,7 +239,7 @@ public class SquareZlVector implements MpcZlVector {
 
     @Override
     public int getNum() {
-        return zlVector.getNum();
+        return isZlLongVector() ? zlLongVector.getNum() : zlVector.getNum();
     }
 
     @Override
@@ -164,33 +247,91 @@ public class SquareZlVector implements MpcZlVector {
         return plain;
     }
 
+    @Override
+    public Zl getZl() {
+        return isZlLongVector() ? zlLongVector.getZl() : zlVector.getZl();
+    }
+
+    /**
+     * Gets the vector. If the vector is represented by long, it is converted to (and then kept as) BigInteger, so that
+     * modifications on the returned vector are reflected in the share vector.
+     *
+     * @return the vector.
+     */
     @Override
     public ZlVector getZlVector() {
+        if (zlVector == null) {
+            zlVector = zlLongVector.toZlVector();
+            zlLongVector = null;
+        }
         return zlVector;
     }
 
+    /**
+     * Gets the long vector. If the vector is represented by BigInteger, it is converted to (and then kept as) long, so
+     * that modifications on the returned vector are reflected in the share vector. Only valid for l ≤ 64.
+     *
+     * @return the long vector.
+     */
+    public ZlLongVector getZlLongVector() {
+        if (zlLongVector == null) {
+            zlLongVector = ZlLongVector.create(zlVector);
+            zlVector = null;
+        }
+        return zlLongVector;
+    }
+
+    /**
+     * Returns if the vector is currently represented by long.
+     *
+     * @return true if the vector is currently represented by long.
+     */
+    public boolean isZlLongVector() {
+        return zlLongVector != null;
+    }
+
     @Override
     public SquareZlVector split(int splitNum) {
-        ZlVector splitVector = zlVector.split(splitNum);
-        return SquareZlVector.create(splitVector, plain);
+        if (isZlLongVector()) {
+            return SquareZlVector.create(zlLongVector.split(splitNum), plain);
+        } else {
+            return SquareZlVector.create(zlVector.split(splitNum), plain);
+        }
     }
 
     @Override
     public void reduce(int splitNum) {
-        zlVector.reduce(splitNum);
+        if (isZlLongVector()) {
+            zlLongVector.reduce(splitNum);
+        } else {
+            zlVector.reduce(splitNum);
+        }
     }
 
     @Override
     public void merge(MpcVector other) {
         SquareZlVector that = (SquareZlVector) other;
         Preconditions.checkArgument(this.plain == that.plain, "plain state mismatch");
-        zlVector.merge(that.getZlVector());
+        if (isZlLongVector()) {
+            zlLongVector.merge(that.getZlLongVector());
+        } else {
+            zlVector.merge(that.getZlVector());
+        }
+    }
+
+    /**
+     * Gets the vector without changing the representation.
+     *
+     * @return the vector.
+     */
+    private ZlVector toZlVector() {
+        return isZlLongVector() ? zlLongVector.toZlVector() : zlVector;
     }
 
     @Override
     public int hashCode() {
         return new HashCodeBuilder()
-            .append(zlVector)
+            .append(toZlVector())
             .append(plain)
             .hashCode();
     }
@@ -202,16 +343,19 @@ public class SquareZlVector implements MpcZlVector {
         }
         if (obj instanceof SquareZlVector) {
             SquareZlVector that = (SquareZlVector) obj;
-            return new EqualsBuilder()
-                .append(this.zlVector, that.zlVector)
-                .append(this.plain, that.plain)
-                .isEquals();
+            EqualsBuilder equalsBuilder = new EqualsBuilder().append(this.plain, that.plain);
+            if (this.isZlLongVector() && that.isZlLongVector()) {
+                equalsBuilder.append(this.zlLongVector, that.zlLongVector);
+            } else {
+                equalsBuilder.append(this.toZlVector(), that.toZlVector());
+            }
+            return equalsBuilder.isEquals();
         }
         return false;
     }
 
     @Override
     public String toString() {
-        return String.format("%s: %s", plain ? "plain" : "secret", zlVector.toString());
+        return String.format("%s: %s", plain ? "plain" : "secret", isZlLongVector() ? zlLongVector.toString() : zlVector.toString());
     }
 }
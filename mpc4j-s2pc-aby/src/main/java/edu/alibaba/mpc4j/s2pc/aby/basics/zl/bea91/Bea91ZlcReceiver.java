@@ -7,6 +7,7 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.crypto.matrix.vector.ZlLongVector;
 import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
 import edu.alibaba.mpc4j.s2pc.aby.basics.zl.AbstractZlcParty;
 import edu.alibaba.mpc4j.s2pc.aby.basics.zl.SquareZlVector;
@@ -17,6 +18,7 @@ import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -86,6 +88,20 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
             );
             List<byte[]> x0Payload = rpc.receive(x0Header).getPayload();
             extraInfo++;
+            if (useLong) {
+                // x0 is packed in a single byte array
+                MpcAbortPreconditions.checkArgument(x0Payload.size() == 1);
+                MpcAbortPreconditions.checkArgument(x0Payload.get(0).length == num * byteL);
+                ZlLongVector z1Vector = ZlLongVector.create(zl, x0Payload.get(0));
+                z1Vector.addi(x1SquareVector.getZlLongVector());
+                stopWatch.stop();
+                long revealTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                stopWatch.reset();
+                logStepInfo(PtoState.PTO_STEP, 1, 1, revealTime, "receive share");
+
+                logPhaseInfo(PtoState.PTO_END, "receive share");
+                return z1Vector.toZlVector();
+            }
             MpcAbortPreconditions.checkArgument(x0Payload.size() == num);
             BigInteger[] x0Array = x0Payload.stream()
                 .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
@@ -110,7 +126,10 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
             logPhaseInfo(PtoState.PTO_BEGIN, "send share");
 
             stopWatch.start();
-            List<byte[]> x1Payload = Arrays.stream(x1.getZlVector().getElements())
+            List<byte[]> x1Payload = useLong
+                // x1 is packed in a single byte array
+                ? Collections.singletonList(x1SquareVector.getZlLongVector().toByteArray())
+                : Arrays.stream(x1.getZlVector().getElements())
                 .map(element -> BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL))
                 .collect(Collectors.toList());
             DataPacketHeader x1Header = new DataPacketHeader(
@@ -136,6 +155,9 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
 
         if (x1.isPlain() && y1.isPlain()) {
             // x1 and y1 are plain vector, using plain add.
+            if (useLong) {
+                return SquareZlVector.create(x1SquareVector.getZlLongVector().add(y1SquareVector.getZlLongVector()), true);
+            }
             ZlVector z1Vector = x1.getZlVector().add(y1.getZlVector());
             return SquareZlVector.create(z1Vector, true);
         } else if (x1.isPlain()) {
@@ -146,7 +168,9 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
             return x1SquareVector.copy();
         } else {
             // x1 and y1 are secret vectors, using secret add.
-            ZlVector z1Vector = x1.getZlVector().add(y1.getZlVector());
+            if (useLong) {
+                return SquareZlVector.create(x1SquareVector.getZlLongVector().add(y1SquareVector.getZlLongVector()), false);
+            }
             return SquareZlVector.create(x1.getZlVector().add(y1.getZlVector()), false);
         }
     }
@@ -159,10 +183,16 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
 
         if (x1.isPlain() && y1.isPlain()) {
             // x1 and y1 are plain vector, using plain sub.
+            if (useLong) {
+                return SquareZlVector.create(x1SquareVector.getZlLongVector().sub(y1SquareVector.getZlLongVector()), true);
+            }
             ZlVector z1Vector = x1.getZlVector().sub(y1.getZlVector());
             return SquareZlVector.create(z1Vector, true);
         } else if (x1.isPlain()) {
             // x1 is plain vector, y1 is secret vector, the receiver computes 0 - y1
+            if (useLong) {
+                return SquareZlVector.create(y1SquareVector.getZlLongVector().neg(), false);
+            }
             ZlVector z1Vector = ZlVector.createZeros(zl, num).sub(y1.getZlVector());
             return SquareZlVector.create(z1Vector, false);
         } else if (y1.isPlain()) {
@@ -170,6 +200,9 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
             return x1SquareVector.copy();
         } else {
             // x1 and y1 are secret vectors, using secret sub.
+            if (useLong) {
+                return SquareZlVector.create(x1SquareVector.getZlLongVector().sub(y1SquareVector.getZlLongVector()), false);
+            }
             return SquareZlVector.create(x1.getZlVector().sub(y1.getZlVector()), false);
         }
     }
@@ -180,6 +213,11 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
         SquareZlVector y1SquareVector = (SquareZlVector) y1;
         setDyadicOperatorInput(x1SquareVector, y1SquareVector);
 
+        if (useLong && (x1.isPlain() || y1.isPlain())) {
+            // x1 or y1 is plain vector, using plain mul on long-packed vectors.
+            ZlLongVector z1Vector = x1SquareVector.getZlLongVector().mul(y1SquareVector.getZlLongVector());
+            return SquareZlVector.create(z1Vector, x1.isPlain() && y1.isPlain());
+        }
         if (x1.isPlain() && y1.isPlain()) {
             // x1 and y1 are plain vectors, using plain mul.
             ZlVector z1Vector = x1.getZlVector().mul(y1.getZlVector());
@@ -199,6 +237,9 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
             stopWatch.reset();
             logStepInfo(PtoState.PTO_STEP, 1, 3, mtgTime, "and (gen. triples)");
 
+            if (useLong) {
+                return longMul(x1SquareVector, y1SquareVector, triple);
+            }
             stopWatch.start();
             ZlVector a1 = ZlVector.create(zl, triple.getA());
             ZlVector b1 = ZlVector.create(zl, triple.getB());
@@ -260,10 +301,73 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
         }
     }
 
+    private SquareZlVector longMul(SquareZlVector x1, SquareZlVector y1, ZlTriple triple) throws MpcAbortException {
+        stopWatch.start();
+        ZlLongVector a1 = ZlLongVector.create(zl, triple.getA());
+        ZlLongVector b1 = ZlLongVector.create(zl, triple.getB());
+        ZlLongVector c1 = ZlLongVector.create(zl, triple.getC());
+        // e1 = x1 - a1
+        ZlLongVector e1 = x1.getZlLongVector().sub(a1);
+        // f1 = y1 - b1
+        ZlLongVector f1 = y1.getZlLongVector().sub(b1);
+        // e1 and f1 are packed in two byte arrays
+        List<byte[]> e1f1Payload = Arrays.asList(e1.toByteArray(), f1.toByteArray());
+        DataPacketHeader e1f1Header = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.RECEIVER_SEND_E1_F1.ordinal(), extraInfo,
+            ownParty().getPartyId(), otherParty().getPartyId()
+        );
+        rpc.send(DataPacket.fromByteArrayList(e1f1Header, e1f1Payload));
+        stopWatch.stop();
+        long e1f1Time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 3, e1f1Time, "and (open e/f)");
+
+        stopWatch.start();
+        DataPacketHeader e0f0Header = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SENDER_SEND_E0_F0.ordinal(), extraInfo,
+            otherParty().getPartyId(), ownParty().getPartyId()
+        );
+        List<byte[]> e0f0Payload = rpc.receive(e0f0Header).getPayload();
+        MpcAbortPreconditions.checkArgument(e0f0Payload.size() == 2);
+        MpcAbortPreconditions.checkArgument(e0f0Payload.get(0).length == num * byteL);
+        MpcAbortPreconditions.checkArgument(e0f0Payload.get(1).length == num * byteL);
+        // e = (e0 + e1)
+        ZlLongVector z1 = ZlLongVector.create(zl, e0f0Payload.get(0));
+        z1.addi(e1);
+        // f = (f0 + f1)
+        ZlLongVector f = ZlLongVector.create(zl, e0f0Payload.get(1));
+        f.addi(f1);
+        // z1 = (e * b1) + (f * a1) + c1 + (e * f)
+        ZlLongVector ef = z1.mul(f);
+        z1.muli(b1);
+        f.muli(a1);
+        z1.addi(f);
+        z1.addi(c1);
+        z1.addi(ef);
+        SquareZlVector z1SquareVector = SquareZlVector.create(z1, false);
+        stopWatch.stop();
+        long z1Time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 3, 3, z1Time, "mul (gen. z)");
+
+        logPhaseInfo(PtoState.PTO_END, "mul");
+        return z1SquareVector;
+    }
+
     @Override
     public SquareZlVector rowAdderWithPrefix(SquareZlVector x, SquareZlVector prefix){
         assert !x.isPlain();
         MathPreconditions.checkEqual("data of prefixValue", "1", prefix.getNum(), 1);
+        if (useLong) {
+            long mask = zl.getL() == Long.SIZE ? -1L : (1L << zl.getL()) - 1;
+            long[] xValues = x.getZlLongVector().getElements();
+            long[] res = new long[xValues.length];
+            res[0] = prefix.isPlain() ? xValues[0] : (xValues[0] + prefix.getZlLongVector().getElement(0)) & mask;
+            for(int i = 1; i < xValues.length; i++){
+                res[i] = (res[i - 1] + xValues[i]) & mask;
+            }
+            return SquareZlVector.create(ZlLongVector.create(zl, res), x.isPlain());
+        }
         Zl zl = x.getZl();
         BigInteger[] xValues = x.getZlVector().getElements();
         BigInteger[] res = new BigInteger[xValues.length];
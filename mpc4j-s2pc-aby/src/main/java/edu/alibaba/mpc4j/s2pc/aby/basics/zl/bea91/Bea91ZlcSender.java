@@ -7,6 +7,7 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.crypto.matrix.vector.ZlLongVector;
 import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
 import edu.alibaba.mpc4j.s2pc.aby.basics.zl.AbstractZlcParty;
 import edu.alibaba.mpc4j.s2pc.aby.basics.zl.SquareZlVector;
@@ -17,6 +18,7 @@ import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -67,6 +69,9 @@ public class Bea91ZlcSender extends AbstractZlcParty {
 
     @Override
     public SquareZlVector setPublicValue(ZlVector xi){
+        if (useLong) {
+            return SquareZlVector.create(ZlLongVector.createZeros(xi.getZl(), xi.getNum()), false);
+        }
         ZlVector zlVector = ZlVector.createZeros(xi.getZl(), xi.getNum());
         return SquareZlVector.create(zlVector, false);
     }
@@ -87,6 +92,20 @@ public class Bea91ZlcSender extends AbstractZlcParty {
             );
             List<byte[]> x1Payload = rpc.receive(x1Header).getPayload();
             extraInfo++;
+            if (useLong) {
+                // x1 is packed in a single byte array
+                MpcAbortPreconditions.checkArgument(x1Payload.size() == 1);
+                MpcAbortPreconditions.checkArgument(x1Payload.get(0).length == num * byteL);
+                ZlLongVector z0Vector = ZlLongVector.create(zl, x1Payload.get(0));
+                z0Vector.addi(x0SquareVector.getZlLongVector());
+                stopWatch.stop();
+                long revealTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                stopWatch.reset();
+                logStepInfo(PtoState.PTO_STEP, 1, 1, revealTime, "receive share");
+
+                logPhaseInfo(PtoState.PTO_END, "receive share");
+                return z0Vector.toZlVector();
+            }
             MpcAbortPreconditions.checkArgument(x1Payload.size() == num);
             BigInteger[] x1Array = x1Payload.stream()
                 .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
@@ -111,7 +130,10 @@ public class Bea91ZlcSender extends AbstractZlcParty {
             logPhaseInfo(PtoState.PTO_BEGIN, "send share");
 
             stopWatch.start();
-            List<byte[]> x0Payload = Arrays.stream(x0.getZlVector().getElements())
+            List<byte[]> x0Payload = useLong
+                // x0 is packed in a single byte array
+                ? Collections.singletonList(x0SquareVector.getZlLongVector().toByteArray())
+                : Arrays.stream(x0.getZlVector().getElements())
                 .map(element -> BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL))
                 .collect(Collectors.toList());
             DataPacketHeader x0Header = new DataPacketHeader(
@@ -134,6 +156,11 @@ public class Bea91ZlcSender extends AbstractZlcParty {
         SquareZlVector x0SquareVector = (SquareZlVector) x0;
         SquareZlVector y0SquareVector = (SquareZlVector) y0;
         setDyadicOperatorInput(x0SquareVector, y0SquareVector);
+        if (useLong) {
+            // the sender always does add on long-packed vectors
+            ZlLongVector z0Vector = x0SquareVector.getZlLongVector().add(y0SquareVector.getZlLongVector());
+            return SquareZlVector.create(z0Vector, x0.isPlain() && y0.isPlain());
+        }
         if (x0.isPlain() && y0.isPlain()) {
             // x0 and y0 are plain vector, using plain add.
             ZlVector z0Vector = x0.getZlVector().add(y0.getZlVector());
@@ -153,6 +180,11 @@ public class Bea91ZlcSender extends AbstractZlcParty {
         SquareZlVector x0SquareVector = (SquareZlVector) x0;
         SquareZlVector y0SquareVector = (SquareZlVector) y0;
         setDyadicOperatorInput(x0SquareVector, y0SquareVector);
+        if (useLong) {
+            // the sender always does sub on long-packed vectors
+            ZlLongVector z0Vector = x0SquareVector.getZlLongVector().sub(y0SquareVector.getZlLongVector());
+            return SquareZlVector.create(z0Vector, x0.isPlain() && y0.isPlain());
+        }
         if (x0.isPlain() && y0.isPlain()) {
             // x0 and y0 are plain vector, using plain sub.
             ZlVector z0Vector = x0.getZlVector().sub(y0.getZlVector());
@@ -172,6 +204,11 @@ public class Bea91ZlcSender extends AbstractZlcParty {
         SquareZlVector x0SquareVector = (SquareZlVector) x0;
         SquareZlVector y0SquareVector = (SquareZlVector) y0;
         setDyadicOperatorInput(x0SquareVector, y0SquareVector);
+        if (useLong && (x0.isPlain() || y0.isPlain())) {
+            // x0 or y0 is plain vector, using plain mul on long-packed vectors.
+            ZlLongVector z0Vector = x0SquareVector.getZlLongVector().mul(y0SquareVector.getZlLongVector());
+            return SquareZlVector.create(z0Vector, x0.isPlain() && y0.isPlain());
+        }
         if (x0.isPlain() && y0.isPlain()) {
             // x0 and y0 are plain vector, using plain mul.
             ZlVector z0Vector = x0.getZlVector().mul(y0.getZlVector());
@@ -191,6 +228,9 @@ public class Bea91ZlcSender extends AbstractZlcParty {
             stopWatch.reset();
             logStepInfo(PtoState.PTO_STEP, 1, 3, mtgTime, "mul (gen. triples)");
 
+            if (useLong) {
+                return longMul(x0SquareVector, y0SquareVector, triple);
+            }
             // compute e0 and f0
             stopWatch.start();
             ZlVector a0 = ZlVector.create(zl, triple.getA());
@@ -251,10 +291,72 @@ public class Bea91ZlcSender extends AbstractZlcParty {
         }
     }
 
+    private SquareZlVector longMul(SquareZlVector x0, SquareZlVector y0, ZlTriple triple) throws MpcAbortException {
+        // compute e0 and f0
+        stopWatch.start();
+        ZlLongVector a0 = ZlLongVector.create(zl, triple.getA());
+        ZlLongVector b0 = ZlLongVector.create(zl, triple.getB());
+        ZlLongVector c0 = ZlLongVector.create(zl, triple.getC());
+        // e0 = x0 - a0
+        ZlLongVector e0 = x0.getZlLongVector().sub(a0);
+        // f0 = y0 - b0
+        ZlLongVector f0 = y0.getZlLongVector().sub(b0);
+        // e0 and f0 are packed in two byte arrays
+        List<byte[]> e0f0Payload = Arrays.asList(e0.toByteArray(), f0.toByteArray());
+        DataPacketHeader e0f0Header = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SENDER_SEND_E0_F0.ordinal(), extraInfo,
+            ownParty().getPartyId(), otherParty().getPartyId()
+        );
+        rpc.send(DataPacket.fromByteArrayList(e0f0Header, e0f0Payload));
+        stopWatch.stop();
+        long e0f0Time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 3, e0f0Time, "mul (open e/f)");
+
+        stopWatch.start();
+        DataPacketHeader e1f1Header = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.RECEIVER_SEND_E1_F1.ordinal(), extraInfo,
+            otherParty().getPartyId(), ownParty().getPartyId()
+        );
+        List<byte[]> e1f1Payload = rpc.receive(e1f1Header).getPayload();
+        MpcAbortPreconditions.checkArgument(e1f1Payload.size() == 2);
+        MpcAbortPreconditions.checkArgument(e1f1Payload.get(0).length == num * byteL);
+        MpcAbortPreconditions.checkArgument(e1f1Payload.get(1).length == num * byteL);
+        // e = (e0 + e1)
+        ZlLongVector z0 = ZlLongVector.create(zl, e1f1Payload.get(0));
+        z0.addi(e0);
+        // f = (f0 + f1)
+        ZlLongVector f = ZlLongVector.create(zl, e1f1Payload.get(1));
+        f.addi(f0);
+        // z0 = (e * b0) + (f * a0) + c0
+        z0.muli(b0);
+        f.muli(a0);
+        z0.addi(f);
+        z0.addi(c0);
+        SquareZlVector z0SquareVector = SquareZlVector.create(z0, false);
+        stopWatch.stop();
+        long z0Time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 3, 3, z0Time, "mul (gen. z)");
+
+        logPhaseInfo(PtoState.PTO_END, "mul");
+        return z0SquareVector;
+    }
+
     @Override
     public SquareZlVector rowAdderWithPrefix(SquareZlVector x, SquareZlVector prefix){
         assert !x.isPlain();
         MathPreconditions.checkEqual("data of prefixValue", "1", prefix.getNum(), 1);
+        if (useLong) {
+            long mask = zl.getL() == Long.SIZE ? -1L : (1L << zl.getL()) - 1;
+            long[] xValues = x.getZlLongVector().getElements();
+            long[] res = new long[xValues.length];
+            res[0] = (xValues[0] + prefix.getZlLongVector().getElement(0)) & mask;
+            for(int i = 1; i < xValues.length; i++){
+                res[i] = (res[i - 1] + xValues[i]) & mask;
+            }
+            return SquareZlVector.create(ZlLongVector.create(zl, res), x.isPlain());
+        }
         Zl zl = x.getZl();
         BigInteger[] xValues = x.getZlVector().getElements();
         BigInteger[] res = new BigInteger[xValues.length];
@@ -14,6 +14,7 @@ import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 import edu.alibaba.mpc4j.crypto.matrix.TransposeUtils;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
+import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggFactory.PrefixAggTypes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +44,10 @@ public abstract class AbstractGroupAggParty extends AbstractTwoPartyPto implemen
      * max num
      */
     protected int maxNum;
+    /**
+     * max number of aggregation fields in one group aggregation.
+     */
+    protected int maxAggFieldNum;
     /**
      * num of elements in single vector.
      */
@@ -52,7 +57,8 @@ public abstract class AbstractGroupAggParty extends AbstractTwoPartyPto implemen
     protected Vector<byte[]> receiverGroupShare;
     protected Vector<byte[]> senderGroupShare;
 
-    protected String[] groupAttr;
+    protected int[] groupAttr;
+    protected int ownGroupBitLength;
     protected long[] aggAttr;
     protected SquareZ2Vector e;
 
@@ -69,6 +75,7 @@ public abstract class AbstractGroupAggParty extends AbstractTwoPartyPto implemen
     protected int receiverGroupNum;
     protected int totalGroupNum;
     protected Zl zl;
+    protected PrefixAggTypes aggType;
 
     protected long groupStep1Time;
     protected long groupStep2Time;
@@ -86,6 +93,7 @@ public abstract class AbstractGroupAggParty extends AbstractTwoPartyPto implemen
     protected AbstractGroupAggParty(PtoDesc ptoDesc, Rpc rpc, Party otherParty, GroupAggConfig config) {
         super(ptoDesc, rpc, otherParty, config);
         zl = config.getZl();
+        aggType = config.getAggType();
     }
 
     @Override
@@ -101,6 +109,8 @@ public abstract class AbstractGroupAggParty extends AbstractTwoPartyPto implemen
         totalGroupNum = senderGroupNum * receiverGroupNum;
         maxL = PropertiesUtils.readInt(properties, CommonConstants.MAX_L);
         maxNum = PropertiesUtils.readInt(properties, CommonConstants.MAX_NUM);
+        maxAggFieldNum = PropertiesUtils.readIntWithDefault(properties, CommonConstants.MAX_AGG_FIELD_NUM, 1);
+        MathPreconditions.checkPositive("maxAggFieldNum", maxAggFieldNum);
 
         havingState = PropertiesUtils.readBoolean(properties, HAVING_STATE, false);
         dummyPayload = PropertiesUtils.readBoolean(properties, DUMMY_PAYLOAD, false);
@@ -112,14 +122,52 @@ public abstract class AbstractGroupAggParty extends AbstractTwoPartyPto implemen
         initState();
     }
 
+    @Override
+    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException {
+        return groupAgg(GroupAggUtils.binaryStringToCodes(groupField), aggField, e);
+    }
+
+    /**
+     * Computes each aggregation by running the whole protocol once. Only the configured aggregation type is supported.
+     */
+    @Override
+    public GroupAggOut[] groupAgg(int[] groupField, long[][] aggFields, PrefixAggTypes[] aggTypes, SquareZ2Vector e)
+        throws MpcAbortException {
+        checkAggInputs(aggFields, aggTypes);
+        for (PrefixAggTypes type : aggTypes) {
+            if (!type.equals(aggType)) {
+                throw new IllegalArgumentException("Invalid " + PrefixAggTypes.class.getSimpleName() + ": " + type.name());
+            }
+        }
+        GroupAggOut[] outs = new GroupAggOut[aggTypes.length];
+        for (int i = 0; i < aggTypes.length; i++) {
+            outs[i] = groupAgg(groupField, aggFields == null ? null : aggFields[i], e);
+        }
+        return outs;
+    }
+
+    /**
+     * Checks the inputs of multiple aggregations.
+     *
+     * @param aggFields aggregation fields, null for the party not holding aggregation fields.
+     * @param aggTypes  aggregation types.
+     */
+    protected void checkAggInputs(long[][] aggFields, PrefixAggTypes[] aggTypes) {
+        MathPreconditions.checkPositiveInRangeClosed("number of aggregations", aggTypes.length, maxAggFieldNum);
+        if (aggFields != null) {
+            MathPreconditions.checkEqual("number of aggFields", "number of aggTypes", aggFields.length, aggTypes.length);
+        }
+    }
+
     /**
      * Set input into protocol.
      *
-     * @param groupAttr group attribute.
-     * @param aggAttr   aggregation attribute.
-     * @param e         intersection flag.
+     * @param groupAttr         group attribute.
+     * @param ownGroupBitLength bit length of group attribute.
+     * @param aggAttr           aggregation attribute.
+     * @param e                 intersection flag.
      */
-    protected void setPtoInput(String[] groupAttr, long[] aggAttr, SquareZ2Vector e) {
+    protected void setPtoInput(int[] groupAttr, int ownGroupBitLength, long[] aggAttr, SquareZ2Vector e) {
         num = groupAttr.length;
         LOGGER.info("data num: " + num);
         Preconditions.checkArgument(e.bitNum() == num,
@@ -128,7 +176,14 @@ public abstract class AbstractGroupAggParty extends AbstractTwoPartyPto implemen
             Preconditions.checkArgument(aggAttr.length == num,
                 "number of elements not match");
         }
+        MathPreconditions.checkNonNegativeInRange("ownGroupBitLength", ownGroupBitLength, CommonConstants.MAX_GROUP_BIT_LENGTH);
+        // group codes are non-negative int, compute the number of groups in long so that 31-bit groups do not overflow
+        long ownGroupNum = 1L << ownGroupBitLength;
+        for (int group : groupAttr) {
+            MathPreconditions.checkNonNegativeInRange("group", group, ownGroupNum);
+        }
         this.groupAttr = groupAttr;
+        this.ownGroupBitLength = ownGroupBitLength;
         this.aggAttr = aggAttr;
         this.e = e;
     }
@@ -158,44 +213,34 @@ public abstract class AbstractGroupAggParty extends AbstractTwoPartyPto implemen
             .map(v -> SquareZ2Vector.create(v, false)).toArray(SquareZ2Vector[]::new);
     }
 
-    protected int[] obtainPerms(String[] keys) {
-        Tuple[] tuples = IntStream.range(0, num).mapToObj(j -> new Tuple(keys[j], j)).toArray(Tuple[]::new);
-        Arrays.sort(tuples);
-        return IntStream.range(0, num).map(j -> tuples[j].getValue()).toArray();
+    /**
+     * Gets aggregation attributes when each row of aggShare contains fieldNum concatenated long values.
+     *
+     * @param fieldNum number of aggregation fields.
+     * @return aggregation attributes, one for each aggregation field.
+     */
+    protected SquareZ2Vector[][] getAggAttrs(int fieldNum) {
+        SquareZ2Vector[] aggAttrs = Arrays.stream(TransposeUtils.transposeSplit(aggShare, fieldNum * Long.SIZE))
+            .map(v -> SquareZ2Vector.create(v, false)).toArray(SquareZ2Vector[]::new);
+        return IntStream.range(0, fieldNum)
+            .mapToObj(i -> Arrays.copyOfRange(aggAttrs, i * Long.SIZE, (i + 1) * Long.SIZE))
+            .toArray(SquareZ2Vector[][]::new);
     }
 
-    private static class Tuple implements Comparable<Tuple> {
-        private final String key;
-        private final int value;
-
-        public Tuple(String key, int value) {
-            this.key = key;
-            this.value = value;
-        }
-
-        public String getKey() {
-            return key;
-        }
-
-        public int getValue() {
-            return value;
-        }
-
-        @Override
-        public int compareTo(Tuple o) {
-            return key.compareTo(o.getKey());
-        }
+    protected int[] obtainPerms(int[] keys) {
+        return GroupAggUtils.sortPermutation(keys, ownGroupBitLength);
     }
 
     /**
      * Generate vertical bitmaps.
      *
-     * @param group group.
+     * @param group    group codes.
+     * @param groupNum number of distinct groups.
      * @return vertical bitmaps.
      */
-    protected BitVector[] genVerticalBitmap(String[] group, List<String> distinctGroupSet) {
-        BitVector[] bitmaps = IntStream.range(0, distinctGroupSet.size()).mapToObj(i -> BitVectorFactory.createZeros(num)).toArray(BitVector[]::new);
-        IntStream.range(0, num).forEach(i -> bitmaps[distinctGroupSet.indexOf(group[i])].set(i, true));
+    protected BitVector[] genVerticalBitmap(int[] group, int groupNum) {
+        BitVector[] bitmaps = IntStream.range(0, groupNum).mapToObj(i -> BitVectorFactory.createZeros(num)).toArray(BitVector[]::new);
+        IntStream.range(0, num).forEach(i -> bitmaps[group[i]].set(i, true));
         return bitmaps;
     }
 
@@ -12,6 +12,7 @@ public class CommonConstants {
 
     public static String MAX_L = "max_l";
     public static String MAX_NUM = "max_num";
+    public static String MAX_AGG_FIELD_NUM = "max_agg_field_num";
     public static int MAX_GROUP_BIT_LENGTH = 32;
 
 }
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.s2pc.groupagg.pto.groupagg;
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.pto.TwoPartyPto;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
+import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggFactory.PrefixAggTypes;
 
 import java.util.Properties;
 
@@ -20,12 +21,33 @@ public interface GroupAggParty extends TwoPartyPto {
     /**
      * Group aggregation.
      *
-     * @param groupField group field.
+     * @param groupField group field, each group is a binary string of the group bit length.
      * @param aggField   aggregation field.
      * @return result.
      */
     GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException;
 
+    /**
+     * Group aggregation with dictionary-encoded group field, see GroupDictionary.
+     *
+     * @param groupField group field, each group is a code in [0, 2^{group bit length}).
+     * @param aggField   aggregation field.
+     * @return result.
+     */
+    GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException;
+
+    /**
+     * Group aggregation computing multiple aggregations under the same group field, e.g., SUM(a), MAX(b) ... GROUP BY g.
+     * The number of aggregations is at most MAX_AGG_FIELD_NUM set in init properties.
+     *
+     * @param groupField group field, each group is a code in [0, 2^{group bit length}).
+     * @param aggFields  aggregation fields, null for the party not holding aggregation fields.
+     * @param aggTypes   aggregation types, the i-th type is applied to the i-th aggregation field.
+     * @return results, one for each aggregation field.
+     */
+    GroupAggOut[] groupAgg(int[] groupField, long[][] aggFields, PrefixAggTypes[] aggTypes, SquareZ2Vector e)
+        throws MpcAbortException;
+
     long getGroupStep1Time();
 
     long getGroupStep2Time();
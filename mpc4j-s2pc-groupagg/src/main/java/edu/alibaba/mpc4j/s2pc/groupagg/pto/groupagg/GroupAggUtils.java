@@ -6,14 +6,13 @@ import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
 import edu.alibaba.mpc4j.crypto.matrix.TransposeUtils;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
+import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggFactory.PrefixAggTypes;
 import edu.alibaba.mpc4j.s2pc.opf.osn.OsnPartyOutput;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Vector;
+import java.util.*;
 import java.util.stream.IntStream;
 
 /**
@@ -90,6 +89,22 @@ public class GroupAggUtils {
         return result;
     }
 
+    /**
+     * Apply permutation to inputs.
+     *
+     * @param x    inputs.
+     * @param perm permutation.
+     * @return permuted inputs.
+     */
+    public static int[] applyPermutation(int[] x, int[] perm) {
+        int num = perm.length;
+        int[] result = new int[num];
+        for (int i = 0; i < num; i++) {
+            result[i] = x[perm[i]];
+        }
+        return result;
+    }
+
     /**
      * Obtain indicator of group.
      *
@@ -103,6 +118,57 @@ public class GroupAggUtils {
         return indicator;
     }
 
+    /**
+     * Obtain indicator of group.
+     *
+     * @param x input group codes.
+     * @return indicator of group.
+     */
+    public static BitVector obtainGroupIndicator(int[] x) {
+        BitVector indicator = BitVectorFactory.createZeros(x.length);
+        IntStream.range(0, x.length - 1).forEach(i -> indicator.set(i, x[i] != x[i + 1]));
+        indicator.set(x.length - 1, true);
+        return indicator;
+    }
+
+    /**
+     * Obtain the permutation that stably sorts group codes in ascending order, i.e., the i-th sorted element is
+     * x[perm[i]]. This is the same order as stably sorting the corresponding binary strings.
+     *
+     * @param x         group codes.
+     * @param bitLength bit length of group codes.
+     * @return the permutation.
+     */
+    public static int[] sortPermutation(int[] x, int bitLength) {
+        MathPreconditions.checkNonNegativeInRange("bitLength", bitLength, CommonConstants.MAX_GROUP_BIT_LENGTH);
+        int num = x.length;
+        int[] perm = new int[num];
+        if (bitLength <= LongUtils.ceilLog2(num + 1)) {
+            // counting sort when the domain is no larger than the number of elements
+            int[] starts = new int[(1 << bitLength) + 1];
+            for (int code : x) {
+                starts[code + 1]++;
+            }
+            for (int i = 1; i < starts.length; i++) {
+                starts[i] += starts[i - 1];
+            }
+            for (int i = 0; i < num; i++) {
+                perm[starts[x[i]]++] = i;
+            }
+        } else {
+            // sort (code, index) pairs packed in longs
+            long[] pairs = new long[num];
+            for (int i = 0; i < num; i++) {
+                pairs[i] = ((long) x[i] << Integer.SIZE) | i;
+            }
+            Arrays.sort(pairs);
+            for (int i = 0; i < num; i++) {
+                perm[i] = (int) pairs[i];
+            }
+        }
+        return perm;
+    }
+
     /**
      * Transpose osn result.
      *
@@ -146,6 +212,20 @@ public class GroupAggUtils {
         return result;
     }
 
+    /**
+     * Groups the indexes of aggregation fields by their aggregation types, in the order of first appearance.
+     *
+     * @param aggTypes aggregation types.
+     * @return map from aggregation type to indexes of aggregation fields.
+     */
+    public static Map<PrefixAggTypes, int[]> groupByType(PrefixAggTypes[] aggTypes) {
+        Map<PrefixAggTypes, int[]> result = new LinkedHashMap<>();
+        for (PrefixAggTypes type : new LinkedHashSet<>(Arrays.asList(aggTypes))) {
+            result.put(type, IntStream.range(0, aggTypes.length).filter(i -> aggTypes[i].equals(type)).toArray());
+        }
+        return result;
+    }
+
     /**
      * Transfer binary string to corresponding byte array.
      *
@@ -167,6 +247,67 @@ public class GroupAggUtils {
         return result;
     }
 
+    /**
+     * Transfer binary strings to corresponding group codes, i.e., the binary string is the big-endian representation
+     * of the code. An empty binary string is transferred to 0.
+     *
+     * @param binaryString binary string.
+     * @return corresponding group codes.
+     */
+    public static int[] binaryStringToCodes(String[] binaryString) {
+        int bitLength = binaryString.length == 0 ? 0 : binaryString[0].length();
+        MathPreconditions.checkNonNegativeInRange("bitLength", bitLength, CommonConstants.MAX_GROUP_BIT_LENGTH);
+        int[] codes = new int[binaryString.length];
+        if (bitLength == 0) {
+            return codes;
+        }
+        for (int i = 0; i < binaryString.length; i++) {
+            Preconditions.checkArgument(binaryString[i].length() == bitLength,
+                "length of binary strings not match");
+            codes[i] = Integer.parseInt(binaryString[i], 2);
+        }
+        return codes;
+    }
+
+    /**
+     * Transfer group code to corresponding binary string.
+     *
+     * @param code      group code.
+     * @param bitLength bit length of group code.
+     * @return corresponding binary string.
+     */
+    public static String codeToBinaryString(int code, int bitLength) {
+        char[] chars = new char[bitLength];
+        for (int i = 0; i < bitLength; i++) {
+            chars[i] = ((code >>> (bitLength - 1 - i)) & 1) == 1 ? '1' : '0';
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Transfer group codes to corresponding byte arrays. The result is the same as transferring the binary strings of
+     * the group codes by binaryStringToBytes.
+     *
+     * @param codes     group codes.
+     * @param bitLength bit length of group codes.
+     * @return corresponding byte arrays.
+     */
+    public static Vector<byte[]> codesToBytes(int[] codes, int bitLength) {
+        MathPreconditions.checkNonNegativeInRange("bitLength", bitLength, CommonConstants.MAX_GROUP_BIT_LENGTH);
+        int byteLength = CommonUtils.getByteLength(bitLength);
+        int shift = byteLength * Byte.SIZE - bitLength;
+        Vector<byte[]> result = new Vector<>(codes.length);
+        for (int code : codes) {
+            long value = ((long) code) << shift;
+            byte[] bytes = new byte[byteLength];
+            for (int j = 0; j < byteLength; j++) {
+                bytes[j] = (byte) (value >>> ((byteLength - 1 - j) * Byte.SIZE));
+            }
+            result.add(bytes);
+        }
+        return result;
+    }
+
     /**
      * Transfer byte array to corresponding binary string.
      *
@@ -0,0 +1,107 @@
+package edu.alibaba.mpc4j.s2pc.groupagg.pto.groupagg;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Group dictionary. A group column is dictionary-encoded locally into dense group codes in [0, |domain|) with the
+ * minimal bit length max(⌈log₂ |domain|⌉, 1), where the domain is agreed upfront. The group codes can be directly used
+ * as inputs of group aggregation, with SENDER_GROUP_BIT_LENGTH / RECEIVER_GROUP_BIT_LENGTH set to the bit length of the
+ * dictionary.
+ *
+ * @author Weiran Liu
+ * @date 2023/12/15
+ */
+public class GroupDictionary {
+    /**
+     * domain
+     */
+    private final String[] domain;
+    /**
+     * value -> code map
+     */
+    private final Map<String, Integer> codeMap;
+    /**
+     * bit length of group codes
+     */
+    private final int bitLength;
+
+    /**
+     * Creates a group dictionary.
+     *
+     * @param domain domain of the group column, the i-th value is encoded as i.
+     */
+    public GroupDictionary(String[] domain) {
+        MathPreconditions.checkPositive("|domain|", domain.length);
+        // a single-value domain still uses 1-bit group codes, 0-bit codes would lead to 0-byte group fields in protocols
+        bitLength = Math.max(LongUtils.ceilLog2(domain.length), 1);
+        MathPreconditions.checkPositiveInRange("bitLength", bitLength, CommonConstants.MAX_GROUP_BIT_LENGTH);
+        this.domain = Arrays.copyOf(domain, domain.length);
+        codeMap = new HashMap<>(domain.length);
+        for (int i = 0; i < domain.length; i++) {
+            Preconditions.checkArgument(codeMap.put(domain[i], i) == null,
+                "domain contains duplicate value: %s", domain[i]);
+        }
+    }
+
+    /**
+     * Gets the bit length of group codes.
+     *
+     * @return the bit length of group codes.
+     */
+    public int getBitLength() {
+        return bitLength;
+    }
+
+    /**
+     * Gets the domain size.
+     *
+     * @return the domain size.
+     */
+    public int getDomainSize() {
+        return domain.length;
+    }
+
+    /**
+     * Encodes a group column into group codes.
+     *
+     * @param column group column.
+     * @return group codes.
+     */
+    public int[] encode(String[] column) {
+        int[] codes = new int[column.length];
+        for (int i = 0; i < column.length; i++) {
+            Integer code = codeMap.get(column[i]);
+            Preconditions.checkArgument(code != null, "value not in domain: %s", column[i]);
+            codes[i] = code;
+        }
+        return codes;
+    }
+
+    /**
+     * Decodes a group code.
+     *
+     * @param code group code.
+     * @return the value.
+     */
+    public String decode(int code) {
+        MathPreconditions.checkNonNegativeInRange("code", code, domain.length);
+        return domain[code];
+    }
+
+    /**
+     * Decodes a group code in binary string form, e.g., the group field of the group aggregation output.
+     *
+     * @param binaryString group code in binary string form.
+     * @return the value.
+     */
+    public String decode(String binaryString) {
+        MathPreconditions.checkEqual("binaryString.length", "bitLength", binaryString.length(), bitLength);
+        return decode(Integer.parseInt(binaryString, 2));
+    }
+}
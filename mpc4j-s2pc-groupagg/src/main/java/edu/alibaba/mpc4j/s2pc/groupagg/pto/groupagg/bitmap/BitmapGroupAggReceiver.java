@@ -128,13 +128,13 @@ public class BitmapGroupAggReceiver extends AbstractGroupAggParty {
 
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException {
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException {
         // 假定receiver拥有agg
         assert aggField != null;
         // set input
-        setPtoInput(groupField, aggField, e);
+        setPtoInput(groupField, receiverGroupBitLength, aggField, e);
         // bitmap
-        BitVector[] bitmaps = genVerticalBitmap(groupField, receiverDistinctGroup);
+        BitVector[] bitmaps = genVerticalBitmap(groupField, receiverGroupNum);
 
         // and 没有merge
         SquareZ2Vector[] allBitmapShare = new SquareZ2Vector[totalGroupNum];
@@ -129,15 +129,15 @@ public class BitmapGroupAggSender extends AbstractGroupAggParty {
     public static int AGG_TIME = 0;
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException {
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException {
         // 假定receiver拥有agg
         assert aggField == null;
-        setPtoInput(groupField, aggField, e);
+        setPtoInput(groupField, senderGroupBitLength, aggField, e);
 
         stopWatch.start();
         groupTripleNum = TRIPLE_NUM;
         // gen bitmap
-        BitVector[] bitmaps = genVerticalBitmap(groupField, senderDistinctGroup);
+        BitVector[] bitmaps = genVerticalBitmap(groupField, senderGroupNum);
 
         // and 没有merge
         SquareZ2Vector[] allBitmapShare = new SquareZ2Vector[totalGroupNum];
@@ -171,9 +171,9 @@ public class BitmapSortingGroupAggReceiver extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupAttr, final long[] aggAttr, final SquareZ2Vector interFlagE) throws MpcAbortException {
+    public GroupAggOut groupAgg(int[] groupAttr, final long[] aggAttr, final SquareZ2Vector interFlagE) throws MpcAbortException {
         // set input
-        setPtoInput(groupAttr, aggAttr, interFlagE);
+        setPtoInput(groupAttr, receiverGroupBitLength, aggAttr, interFlagE);
         // group
         if (aggAttr != null) {
             group();
@@ -290,7 +290,7 @@ public class BitmapSortingGroupAggReceiver extends AbstractGroupAggParty {
 
     private void permute1() throws MpcAbortException {
         // permute receiver's group,agg and sigmaB
-        Vector<byte[]> groupBytes = GroupAggUtils.binaryStringToBytes(groupAttr);
+        Vector<byte[]> groupBytes = GroupAggUtils.codesToBytes(groupAttr, receiverGroupBitLength);
         IntStream intStream = parallel ? IntStream.range(0, num).parallel() : IntStream.range(0, num);
         Vector<byte[]> input = intStream.mapToObj(i -> ByteBuffer.allocate(receiverGroupByteLength + Long.BYTES + Integer.BYTES)
             .put(groupBytes.get(i)).put(LongUtils.longToByteArray(aggAttr[i])).putInt(sigmaB[i]).array()).collect(Collectors.toCollection(Vector::new));
@@ -304,7 +304,7 @@ public class BitmapSortingGroupAggReceiver extends AbstractGroupAggParty {
 
     private void permute1WithSenderAgg() throws MpcAbortException {
         // permute receiver's group,agg and sigmaB
-        Vector<byte[]> groupBytes = GroupAggUtils.binaryStringToBytes(groupAttr);
+        Vector<byte[]> groupBytes = GroupAggUtils.codesToBytes(groupAttr, receiverGroupBitLength);
         IntStream intStream = parallel ? IntStream.range(0, num).parallel() : IntStream.range(0, num);
         Vector<byte[]> input = intStream.mapToObj(i -> ByteBuffer.allocate(receiverGroupByteLength + Integer.BYTES)
             .put(groupBytes.get(i)).putInt(sigmaB[i]).array()).collect(Collectors.toCollection(Vector::new));
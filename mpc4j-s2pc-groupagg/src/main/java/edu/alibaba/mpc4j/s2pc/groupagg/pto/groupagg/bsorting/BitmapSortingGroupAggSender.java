@@ -96,10 +96,6 @@ public class BitmapSortingGroupAggSender extends AbstractGroupAggParty {
      * z2 mux sender.
      */
     private final Z2MuxParty z2MuxSender;
-    /**
-     * A map relation between group value and its index.
-     */
-    private Map<String, Integer> senderGroupMap;
     /**
      * bitmap shares
      */
@@ -150,12 +146,6 @@ public class BitmapSortingGroupAggSender extends AbstractGroupAggParty {
         int maxMuxInput = (int) Math.min(Integer.MAX_VALUE, totalMuxNum);
         z2MuxSender.init(maxMuxInput);
 
-        // generate distinct group
-        List<String> senderDistinctGroup = Arrays.asList(GroupAggUtils.genStringSetFromRange(senderGroupBitLength));
-        senderGroupMap = new HashMap<>(senderGroupNum);
-        for (int i = 0; i < senderGroupNum; i++) {
-            senderGroupMap.put(senderDistinctGroup.get(i), i);
-        }
 
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
@@ -166,9 +156,9 @@ public class BitmapSortingGroupAggSender extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector interFlagE) throws MpcAbortException {
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector interFlagE) throws MpcAbortException {
         // set input
-        setPtoInput(groupField, aggField, interFlagE);
+        setPtoInput(groupField, senderGroupBitLength, aggField, interFlagE);
         // group
         if (aggField == null) {
             group();
@@ -346,12 +336,12 @@ public class BitmapSortingGroupAggSender extends AbstractGroupAggParty {
     }
 
     private void permute2() throws MpcAbortException {
-        senderGroupShare = GroupAggUtils.binaryStringToBytes(groupAttr);
+        senderGroupShare = GroupAggUtils.codesToBytes(groupAttr, senderGroupBitLength);
         senderGroupShare = permutationSender.permute(rho, senderGroupShare);
     }
 
     private void permute2WithSenderAgg() throws MpcAbortException {
-        senderGroupShare = GroupAggUtils.binaryStringToBytes(groupAttr);
+        senderGroupShare = GroupAggUtils.codesToBytes(groupAttr, senderGroupBitLength);
         aggShare = Arrays.stream(aggAttr).mapToObj(LongUtils::longToByteArray).collect(Collectors.toCollection(Vector::new));
         IntStream intStream = parallel ? IntStream.range(0, num).parallel() : IntStream.range(0, num);
         Vector<byte[]> input = intStream.mapToObj(i -> ByteBuffer.allocate(senderGroupByteLength + Long.BYTES)
@@ -465,10 +455,10 @@ public class BitmapSortingGroupAggSender extends AbstractGroupAggParty {
      * @param group group.
      * @return vertical bitmaps.
      */
-    private Vector<byte[]> genBitmap(String[] group, SquareZ2Vector e) {
+    private Vector<byte[]> genBitmap(int[] group, SquareZ2Vector e) {
         return IntStream.range(0, group.length).mapToObj(i -> {
             byte[] bytes = new byte[CommonUtils.getByteLength(senderGroupNum + 1)];
-            BinaryUtils.setBoolean(bytes, senderGroupMap.get(group[i]) + 1, true);
+            BinaryUtils.setBoolean(bytes, group[i] + 1, true);
             BinaryUtils.setBoolean(bytes, 0, e.getBitVector().get(i));
             return bytes;
         }).collect(Collectors.toCollection(Vector::new));
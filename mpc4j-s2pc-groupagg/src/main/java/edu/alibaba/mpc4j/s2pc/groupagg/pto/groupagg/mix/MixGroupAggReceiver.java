@@ -143,8 +143,8 @@ public class MixGroupAggReceiver extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector intersFlagE) throws MpcAbortException {
-        setPtoInput(groupField, aggField, intersFlagE);
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector intersFlagE) throws MpcAbortException {
+        setPtoInput(groupField, receiverGroupBitLength, aggField, intersFlagE);
         // group
         if (aggField != null) {
             group();
@@ -212,13 +212,13 @@ public class MixGroupAggReceiver extends AbstractGroupAggParty {
             }
             for (int j = 0; j < groupIndex.length; j++) {
                 aggResult[i * groupIndex.length + j] = agg.getElement(groupIndex[j]);
-                groupResult[i * groupIndex.length + j] = senderDistinctGroup.get(i).concat(groupAttr[groupIndex[j]]);
+                groupResult[i * groupIndex.length + j] = senderDistinctGroup.get(i).concat(GroupAggUtils.codeToBinaryString(groupAttr[groupIndex[j]], receiverGroupBitLength));
             }
         }
         return new GroupAggOut(groupResult, aggResult);
     }
 
-    private ZlVector aggregate(String[] permutedGroup, SquareZlVector agg) throws MpcAbortException {
+    private ZlVector aggregate(int[] permutedGroup, SquareZlVector agg) throws MpcAbortException {
         // agg
         switch (aggType) {
             case SUM:
@@ -230,10 +230,10 @@ public class MixGroupAggReceiver extends AbstractGroupAggParty {
         }
     }
 
-    private ZlVector sumAgg(String[] groupField, SquareZlVector aggField) throws MpcAbortException {
+    private ZlVector sumAgg(int[] groupField, SquareZlVector aggField) throws MpcAbortException {
         Zl zl = aggField.getZl();
         // agg
-        PrefixAggOutput agg = prefixAggReceiver.agg(groupField, aggField);
+        PrefixAggOutput agg = prefixAggReceiver.agg(groupField, receiverGroupBitLength, aggField);
         // reveal 不需要每都reveal
         if (groupIndicator == null) {
             groupIndicator = z2cReceiver.revealOwn(agg.getIndicator());
@@ -248,9 +248,9 @@ public class MixGroupAggReceiver extends AbstractGroupAggParty {
         return ZlVector.create(zl, result);
     }
 
-    private ZlVector maxAgg(String[] groupField, SquareZlVector aggField) throws MpcAbortException {
+    private ZlVector maxAgg(int[] groupField, SquareZlVector aggField) throws MpcAbortException {
         // agg
-        PrefixAggOutput prefixAggOutput = prefixAggReceiver.agg(groupField, aggField);
+        PrefixAggOutput prefixAggOutput = prefixAggReceiver.agg(groupField, receiverGroupBitLength, aggField);
         // reveal
         if (groupIndicator == null) {
             groupIndicator = z2cReceiver.revealOwn(prefixAggOutput.getIndicator());
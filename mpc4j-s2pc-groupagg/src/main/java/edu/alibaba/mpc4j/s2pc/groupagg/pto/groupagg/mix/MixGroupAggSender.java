@@ -84,10 +84,6 @@ public class MixGroupAggSender extends AbstractGroupAggParty {
      * Aggregation attribute in zl.
      */
     private SquareZlVector aggZl;
-    /**
-     * A map relation between group value and its index.
-     */
-    private Map<String, Integer> senderGroupMap;
 
     public MixGroupAggSender(Rpc senderRpc, Party receiverParty, MixGroupAggConfig config) {
         super(MixGroupAggPtoDesc.getInstance(), senderRpc, receiverParty, config);
@@ -115,12 +111,6 @@ public class MixGroupAggSender extends AbstractGroupAggParty {
         zlcSender.init(1);
         prefixAggSender.init(maxL, maxNum);
         b2aSender.init(maxL, maxNum);
-        // generate distinct group
-        List<String> senderDistinctGroup = Arrays.asList(GroupAggUtils.genStringSetFromRange(senderGroupBitLength));
-        senderGroupMap = new HashMap<>(senderGroupNum);
-        for (int i = 0; i < senderGroupNum; i++) {
-            senderGroupMap.put(senderDistinctGroup.get(i), i);
-        }
 
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
@@ -131,8 +121,8 @@ public class MixGroupAggSender extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector intersFlagE) throws MpcAbortException {
-        setPtoInput(groupField, aggField, intersFlagE);
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector intersFlagE) throws MpcAbortException {
+        setPtoInput(groupField, senderGroupBitLength, aggField, intersFlagE);
         // group
         if (aggField == null) {
             group();
@@ -255,11 +245,11 @@ public class MixGroupAggSender extends AbstractGroupAggParty {
      * @param group group.
      * @return vertical bitmaps.
      */
-    private Vector<byte[]> genBitmap(String[] group, SquareZ2Vector e) {
+    private Vector<byte[]> genBitmap(int[] group, SquareZ2Vector e) {
         IntStream intStream = parallel ? IntStream.range(0, group.length).parallel() : IntStream.range(0, group.length);
         return intStream.mapToObj(i -> {
             byte[] bytes = new byte[CommonUtils.getByteLength(senderGroupNum + 1)];
-            BinaryUtils.setBoolean(bytes, senderGroupMap.get(group[i]), true);
+            BinaryUtils.setBoolean(bytes, group[i], true);
             BinaryUtils.setBoolean(bytes, senderGroupNum, e.getBitVector().get(i));
             return bytes;
         }).collect(Collectors.toCollection(Vector::new));
@@ -271,13 +261,13 @@ public class MixGroupAggSender extends AbstractGroupAggParty {
      * @param group group.
      * @return vertical bitmaps.
      */
-    private Vector<byte[]> genBitmapWithAgg(String[] group, SquareZ2Vector e, long[] aggAtt) {
+    private Vector<byte[]> genBitmapWithAgg(int[] group, SquareZ2Vector e, long[] aggAtt) {
         int payloadByteLen = CommonUtils.getByteLength(senderGroupNum + 1) + Long.BYTES;
         IntStream intStream = parallel ? IntStream.range(0, group.length).parallel() : IntStream.range(0, group.length);
         return intStream.mapToObj(i -> {
             ByteBuffer buffer = ByteBuffer.allocate(payloadByteLen);
             byte[] bytes = new byte[CommonUtils.getByteLength(senderGroupNum + 1)];
-            BinaryUtils.setBoolean(bytes, senderGroupMap.get(group[i]), true);
+            BinaryUtils.setBoolean(bytes, group[i], true);
             BinaryUtils.setBoolean(bytes, senderGroupNum, e.getBitVector().get(i));
             buffer.put(bytes);
             buffer.put(LongUtils.longToByteArray(aggAtt[i]));
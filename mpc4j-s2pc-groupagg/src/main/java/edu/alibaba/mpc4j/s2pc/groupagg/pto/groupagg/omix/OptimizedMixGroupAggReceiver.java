@@ -138,7 +138,7 @@ public class OptimizedMixGroupAggReceiver extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException {
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException {
         if (aggType.equals(PrefixAggTypes.SUM)) {
             return groupAggReceiver.groupAgg(groupField, aggField, e);
         } else {
@@ -146,8 +146,8 @@ public class OptimizedMixGroupAggReceiver extends AbstractGroupAggParty {
         }
     }
 
-    public GroupAggOut groupAggOpti(String[] groupField, long[] aggField, SquareZ2Vector intersFlagE) throws MpcAbortException {
-        setPtoInput(groupField, aggField, intersFlagE);
+    public GroupAggOut groupAggOpti(int[] groupField, long[] aggField, SquareZ2Vector intersFlagE) throws MpcAbortException {
+        setPtoInput(groupField, receiverGroupBitLength, aggField, intersFlagE);
         // group
         if (aggField != null) {
             group();
@@ -210,18 +210,18 @@ public class OptimizedMixGroupAggReceiver extends AbstractGroupAggParty {
         for (int i = 0; i < senderGroupNum; i++) {
             for (int j = 0; j < groupIndex.length; j++) {
                 aggResult[i * groupIndex.length + j] = plainAgg[i].getElement(groupIndex[j]);
-                groupResult[i * groupIndex.length + j] = senderDistinctGroup.get(i).concat(groupAttr[groupIndex[j]]);
+                groupResult[i * groupIndex.length + j] = senderDistinctGroup.get(i).concat(GroupAggUtils.codeToBinaryString(groupAttr[groupIndex[j]], receiverGroupBitLength));
             }
         }
         return new GroupAggOut(groupResult, aggResult);
     }
 
-    private ZlVector[] aggregate(String[] permutedGroup, SquareZ2Vector[][] agg, SquareZ2Vector e) throws MpcAbortException {
+    private ZlVector[] aggregate(int[] permutedGroup, SquareZ2Vector[][] agg, SquareZ2Vector e) throws MpcAbortException {
         // agg
         return maxAgg(permutedGroup, agg, e);
     }
 
-    private ZlVector[] maxAgg(String[] groupField, SquareZ2Vector[][] aggField, SquareZ2Vector e) throws MpcAbortException {
+    private ZlVector[] maxAgg(int[] groupField, SquareZ2Vector[][] aggField, SquareZ2Vector e) throws MpcAbortException {
         // compute indicator
         BitVector groupIndicator = obtainIndicator(groupField);
         // agg
@@ -244,9 +244,9 @@ public class OptimizedMixGroupAggReceiver extends AbstractGroupAggParty {
         return zlVectors;
     }
 
-    private BitVector obtainIndicator(String[] x) {
+    private BitVector obtainIndicator(int[] x) {
         BitVector plainIndicator = BitVectorFactory.createZeros(x.length);
-        IntStream.range(0, x.length - 1).forEach(i -> plainIndicator.set(i + 1, !x[i].equals(x[i + 1])));
+        IntStream.range(0, x.length - 1).forEach(i -> plainIndicator.set(i + 1, x[i] != x[i + 1]));
         plainIndicator.set(0, true);
         return plainIndicator;
     }
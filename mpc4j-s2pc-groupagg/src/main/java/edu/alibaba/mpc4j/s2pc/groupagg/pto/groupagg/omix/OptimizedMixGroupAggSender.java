@@ -72,10 +72,6 @@ public class OptimizedMixGroupAggSender extends AbstractGroupAggParty {
      * Z2 mux sender.
      */
     private final Z2MuxParty z2MuxSender;
-    /**
-     * A map relation between group value and its index.
-     */
-    private Map<String, Integer> senderGroupMap;
     /**
      * Type of aggregation
      */
@@ -119,12 +115,6 @@ public class OptimizedMixGroupAggSender extends AbstractGroupAggParty {
         }
         oneSideGroupSender.init(1, maxNum, maxL);
         z2MuxSender.init(maxNum);
-        // generate distinct group
-        List<String> senderDistinctGroup = Arrays.asList(GroupAggUtils.genStringSetFromRange(senderGroupBitLength));
-        senderGroupMap = new HashMap<>();
-        for (int i = 0; i < senderGroupNum; i++) {
-            senderGroupMap.put(senderDistinctGroup.get(i), i);
-        }
 
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
@@ -135,7 +125,7 @@ public class OptimizedMixGroupAggSender extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException {
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector e) throws MpcAbortException {
         if (aggType.equals(PrefixAggTypes.SUM)) {
             return groupAggSender.groupAgg(groupField, aggField, e);
         } else {
@@ -143,8 +133,8 @@ public class OptimizedMixGroupAggSender extends AbstractGroupAggParty {
         }
     }
 
-    public GroupAggOut groupAggOpti(String[] groupField, long[] aggField, SquareZ2Vector intersFlagE) throws MpcAbortException {
-        setPtoInput(groupField, aggField, intersFlagE);
+    public GroupAggOut groupAggOpti(int[] groupField, long[] aggField, SquareZ2Vector intersFlagE) throws MpcAbortException {
+        setPtoInput(groupField, senderGroupBitLength, aggField, intersFlagE);
         // group
         if (aggField == null) {
             group();
@@ -258,11 +248,11 @@ public class OptimizedMixGroupAggSender extends AbstractGroupAggParty {
      * @param group group.
      * @return vertical bitmaps.
      */
-    private Vector<byte[]> genBitmap(String[] group, SquareZ2Vector e) {
+    private Vector<byte[]> genBitmap(int[] group, SquareZ2Vector e) {
         IntStream intStream = parallel ? IntStream.range(0, group.length).parallel() : IntStream.range(0, group.length);
         return intStream.mapToObj(i -> {
             byte[] bytes = new byte[CommonUtils.getByteLength(senderGroupNum + 1)];
-            BinaryUtils.setBoolean(bytes, senderGroupMap.get(group[i]), true);
+            BinaryUtils.setBoolean(bytes, group[i], true);
             BinaryUtils.setBoolean(bytes, senderGroupNum, e.getBitVector().get(i));
             return bytes;
         }).collect(Collectors.toCollection(Vector::new));
@@ -274,13 +264,13 @@ public class OptimizedMixGroupAggSender extends AbstractGroupAggParty {
      * @param group group.
      * @return vertical bitmaps.
      */
-    private Vector<byte[]> genBitmapWithAgg(String[] group, SquareZ2Vector e, long[] aggAtt) {
+    private Vector<byte[]> genBitmapWithAgg(int[] group, SquareZ2Vector e, long[] aggAtt) {
         int payloadByteLen = CommonUtils.getByteLength(senderGroupNum + 1) + Long.BYTES;
         IntStream intStream = parallel ? IntStream.range(0, group.length).parallel() : IntStream.range(0, group.length);
         return intStream.mapToObj(i -> {
             ByteBuffer buffer = ByteBuffer.allocate(payloadByteLen);
             byte[] bytes = new byte[CommonUtils.getByteLength(senderGroupNum + 1)];
-            BinaryUtils.setBoolean(bytes, senderGroupMap.get(group[i]), true);
+            BinaryUtils.setBoolean(bytes, group[i], true);
             BinaryUtils.setBoolean(bytes, senderGroupNum, e.getBitVector().get(i));
             buffer.put(bytes);
             buffer.put(LongUtils.longToByteArray(aggAtt[i]));
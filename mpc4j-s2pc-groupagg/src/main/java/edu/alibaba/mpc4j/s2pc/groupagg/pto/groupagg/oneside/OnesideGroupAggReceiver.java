@@ -146,8 +146,8 @@ public class OnesideGroupAggReceiver extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector intersFlagE) throws MpcAbortException {
-        setPtoInput(groupField, aggField, intersFlagE);
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector intersFlagE) throws MpcAbortException {
+        setPtoInput(groupField, receiverGroupBitLength, aggField, intersFlagE);
         if (havingState) {
             getSum();
         }
@@ -220,7 +220,7 @@ public class OnesideGroupAggReceiver extends AbstractGroupAggParty {
         String[] groupResult = new String[groupIndex.length];
         for (int j = 0; j < groupIndex.length; j++) {
             aggResult[j] = plainAgg.getElement(groupIndex[j]);
-            groupResult[j] = groupAttr[groupIndex[j]];
+            groupResult[j] = GroupAggUtils.codeToBinaryString(groupAttr[groupIndex[j]], receiverGroupBitLength);
         }
         return new GroupAggOut(groupResult, aggResult);
     }
@@ -229,7 +229,7 @@ public class OnesideGroupAggReceiver extends AbstractGroupAggParty {
         return IntStream.range(0, num).filter(indicator::get).toArray();
     }
 
-    private ZlVector aggregate(String[] permutedGroup, SquareZlVector agg) throws MpcAbortException {
+    private ZlVector aggregate(int[] permutedGroup, SquareZlVector agg) throws MpcAbortException {
         switch (aggType) {
             case SUM:
                 return sumAgg(permutedGroup, agg);
@@ -240,12 +240,12 @@ public class OnesideGroupAggReceiver extends AbstractGroupAggParty {
         }
     }
 
-    private ZlVector sumAgg(String[] groupField, SquareZlVector aggField) throws MpcAbortException {
+    private ZlVector sumAgg(int[] groupField, SquareZlVector aggField) throws MpcAbortException {
         Zl zl = aggField.getZl();
         // agg
-        PrefixAggOutput agg = prefixAggReceiver.agg(groupField, aggField);
+        PrefixAggOutput agg = prefixAggReceiver.agg(groupField, receiverGroupBitLength, aggField);
         if (dummyPayload) {
-            PrefixAggOutput dummy = prefixAggReceiver.agg(groupField, aggField);
+            PrefixAggOutput dummy = prefixAggReceiver.agg(groupField, receiverGroupBitLength, aggField);
         }
         // reveal
         groupIndicator = z2cReceiver.revealOwn(agg.getIndicator());
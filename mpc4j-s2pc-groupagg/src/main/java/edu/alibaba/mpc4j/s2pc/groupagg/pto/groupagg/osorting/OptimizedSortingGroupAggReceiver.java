@@ -151,11 +151,11 @@ public class OptimizedSortingGroupAggReceiver extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupAttr, final long[] aggAttr,
+    public GroupAggOut groupAgg(int[] groupAttr, final long[] aggAttr,
                                 final SquareZ2Vector interFlagE) throws MpcAbortException {
         assert aggAttr != null;
         // set input
-        setPtoInput(groupAttr, aggAttr, interFlagE);
+        setPtoInput(groupAttr, receiverGroupBitLength, aggAttr, interFlagE);
         // osn1
         stopWatch.start();
         osn1(groupAttr);
@@ -205,10 +205,10 @@ public class OptimizedSortingGroupAggReceiver extends AbstractGroupAggParty {
         return groupAggOut;
     }
 
-    private void osn1(String[] groupAttr) throws MpcAbortException {
+    private void osn1(int[] groupAttr) throws MpcAbortException {
 
         // merge group
-        Vector<byte[]> groupBytes = GroupAggUtils.binaryStringToBytes(groupAttr);
+        Vector<byte[]> groupBytes = GroupAggUtils.codesToBytes(groupAttr, receiverGroupBitLength);
         // osn1
         IntStream intStream = parallel ? IntStream.range(0, num).parallel() : IntStream.range(0, num);
         Vector<byte[]> osnInput1 = intStream.mapToObj(i -> ByteBuffer.allocate(receiverGroupByteLength + 1)
@@ -140,11 +140,11 @@ public class OptimizedSortingGroupAggSender extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField,
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField,
                                 SquareZ2Vector interFlagE) throws MpcAbortException {
         assert aggField == null;
         // set input
-        setPtoInput(groupField, aggField, interFlagE);
+        setPtoInput(groupField, senderGroupBitLength, aggField, interFlagE);
         // osn1
         stopWatch.start();
         groupTripleNum = TRIPLE_NUM;
@@ -190,7 +190,7 @@ public class OptimizedSortingGroupAggSender extends AbstractGroupAggParty {
         return null;
     }
 
-    private void osn1(String[] groupAttr) throws MpcAbortException {
+    private void osn1(int[] groupAttr) throws MpcAbortException {
         // sigma_s permutation
         sigmaB = obtainPerms(groupAttr);
         // osn1, sender permute receiver's group, agg and e
@@ -210,7 +210,7 @@ public class OptimizedSortingGroupAggSender extends AbstractGroupAggParty {
         intStream = parallel ? IntStream.range(0, num).parallel() : IntStream.range(0, num);
         eByte = intStream.mapToObj(i -> BytesUtils.xor(receiverE.get(i), tempE2.get(i))).collect(Collectors.toCollection(Vector::new));
         // sender group
-        senderGroupShare = GroupAggUtils.binaryStringToBytes(groupAttr);
+        senderGroupShare = GroupAggUtils.codesToBytes(groupAttr, senderGroupBitLength);
 
         // ### test
 //        revealOtherBit(eByte);
@@ -21,6 +21,10 @@ import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggConfig;
 import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggFactory;
 import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggFactory.PrefixAggTypes;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Sorting-based group aggregation config.
  *
@@ -42,6 +46,10 @@ public class SortingGroupAggConfig extends AbstractMultiPartyPtoConfig implement
      * Prefix aggregation config.
      */
     private final PrefixAggConfig prefixAggConfig;
+    /**
+     * Prefix aggregation configs for all supported aggregation types.
+     */
+    private final Map<PrefixAggTypes, PrefixAggConfig> prefixAggConfigs;
     /**
      * Z2 circuit config.
      */
@@ -65,6 +73,7 @@ public class SortingGroupAggConfig extends AbstractMultiPartyPtoConfig implement
         this.zlMuxConfig = builder.zlMuxConfig;
         this.sharedPermutationConfig = builder.sharedPermutationConfig;
         this.prefixAggConfig = builder.prefixAggConfig;
+        this.prefixAggConfigs = Collections.unmodifiableMap(builder.prefixAggConfigs);
         this.z2cConfig = builder.z2cConfig;
         this.zlcConfig = builder.zlcConfig;
         this.b2aConfig = builder.b2aConfig;
@@ -97,6 +106,10 @@ public class SortingGroupAggConfig extends AbstractMultiPartyPtoConfig implement
         return prefixAggConfig;
     }
 
+    public Map<PrefixAggTypes, PrefixAggConfig> getPrefixAggConfigs() {
+        return prefixAggConfigs;
+    }
+
     public Z2cConfig getZ2cConfig() {
         return z2cConfig;
     }
@@ -136,6 +149,10 @@ public class SortingGroupAggConfig extends AbstractMultiPartyPtoConfig implement
          * Prefix aggregation config.
          */
         private final PrefixAggConfig prefixAggConfig;
+        /**
+         * Prefix aggregation configs for all supported aggregation types.
+         */
+        private final Map<PrefixAggTypes, PrefixAggConfig> prefixAggConfigs;
         /**
          * Z2 circuit config.
          */
@@ -152,6 +169,10 @@ public class SortingGroupAggConfig extends AbstractMultiPartyPtoConfig implement
          * Zl
          */
         private final Zl zl;
+        /**
+         * silent
+         */
+        private final boolean silent;
 
         public Builder(Zl zl, boolean silent, PrefixAggTypes type) {
             osnConfig = OsnFactory.createDefaultConfig(SecurityModel.SEMI_HONEST, silent);
@@ -161,7 +182,24 @@ public class SortingGroupAggConfig extends AbstractMultiPartyPtoConfig implement
             zlcConfig = ZlcFactory.createDefaultConfig(SecurityModel.SEMI_HONEST, zl);
             b2aConfig = new TupleB2aConfig.Builder(zl, silent).build();
             this.zl = zl;
+            this.silent = silent;
             prefixAggConfig = PrefixAggFactory.createDefaultPrefixAggConfig(SecurityModel.SEMI_HONEST, zl, silent, type, true);
+            prefixAggConfigs = new EnumMap<>(PrefixAggTypes.class);
+            prefixAggConfigs.put(type, prefixAggConfig);
+        }
+
+        /**
+         * Sets additional aggregation types supported by multi-aggregation group aggregation.
+         *
+         * @param types aggregation types.
+         * @return the builder.
+         */
+        public Builder setAggTypes(PrefixAggTypes... types) {
+            for (PrefixAggTypes type : types) {
+                prefixAggConfigs.computeIfAbsent(type, t -> PrefixAggFactory.createDefaultPrefixAggConfig(
+                    SecurityModel.SEMI_HONEST, zl, silent, t, true));
+            }
+            return this;
         }
 
         @Override
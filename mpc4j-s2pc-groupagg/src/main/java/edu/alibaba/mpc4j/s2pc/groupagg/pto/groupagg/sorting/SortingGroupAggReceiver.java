@@ -8,6 +8,7 @@ import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
@@ -39,10 +40,7 @@ import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggParty;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Properties;
-import java.util.Vector;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -68,6 +66,10 @@ public class SortingGroupAggReceiver extends AbstractGroupAggParty {
      * Prefix aggregation receiver.
      */
     private final PrefixAggParty prefixAggReceiver;
+    /**
+     * Prefix aggregation receivers for all supported aggregation types.
+     */
+    private final Map<PrefixAggTypes, PrefixAggParty> prefixAggReceivers;
     /**
      * Z2 circuit party.
      */
@@ -100,7 +102,10 @@ public class SortingGroupAggReceiver extends AbstractGroupAggParty {
         osnSender = OsnFactory.createSender(receiverRpc, senderParty, config.getOsnConfig());
         zlMuxReceiver = ZlMuxFactory.createReceiver(receiverRpc, senderParty, config.getZlMuxConfig());
         sharedPermutationReceiver = SharedPermutationFactory.createReceiver(receiverRpc, senderParty, config.getSharedPermutationConfig());
-        prefixAggReceiver = PrefixAggFactory.createPrefixAggReceiver(receiverRpc, senderParty, config.getPrefixAggConfig());
+        prefixAggReceivers = new EnumMap<>(PrefixAggTypes.class);
+        config.getPrefixAggConfigs().forEach((type, prefixAggConfig) ->
+            prefixAggReceivers.put(type, PrefixAggFactory.createPrefixAggReceiver(receiverRpc, senderParty, prefixAggConfig)));
+        prefixAggReceiver = prefixAggReceivers.get(config.getPrefixAggConfig().getPrefixType());
         z2cReceiver = Z2cFactory.createReceiver(receiverRpc, senderParty, config.getZ2cConfig());
         zlcReceiver = ZlcFactory.createReceiver(receiverRpc, senderParty, config.getZlcConfig());
         b2aReceiver = B2aFactory.createReceiver(receiverRpc, senderParty, config.getB2aConfig());
@@ -120,7 +125,9 @@ public class SortingGroupAggReceiver extends AbstractGroupAggParty {
         osnSender.init(maxNum);
         zlMuxReceiver.init(maxNum);
         sharedPermutationReceiver.init(maxNum);
-        prefixAggReceiver.init(maxL, maxNum);
+        for (PrefixAggParty party : prefixAggReceivers.values()) {
+            party.init(maxL, maxNum * maxAggFieldNum);
+        }
         z2cReceiver.init(maxL * maxNum);
         zlcReceiver.init(1);
         b2aReceiver.init(maxL, maxNum);
@@ -134,12 +141,12 @@ public class SortingGroupAggReceiver extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupAttr, final long[] aggAttr, final SquareZ2Vector interFlagE) throws MpcAbortException {
+    public GroupAggOut groupAgg(int[] groupAttr, final long[] aggAttr, final SquareZ2Vector interFlagE) throws MpcAbortException {
         assert aggAttr != null;
         // set input
-        setPtoInput(groupAttr, aggAttr, interFlagE);
+        setPtoInput(groupAttr, receiverGroupBitLength, aggAttr, interFlagE);
         // osn1
-        osn1(groupAttr, aggAttr);
+        osn1(groupAttr, new long[][]{aggAttr});
         // pSorter using e and receiver's group
         pSorter();
         // apply piGi to receiver's agg and sender's group
@@ -156,19 +163,52 @@ public class SortingGroupAggReceiver extends AbstractGroupAggParty {
         return aggregation(mergedTwoGroup, receiverAggAs, e);
     }
 
-    private void osn1(String[] groupAttr, long[] aggAttr) throws MpcAbortException {
+    @Override
+    public GroupAggOut[] groupAgg(int[] groupAttr, final long[][] aggAttrs, PrefixAggTypes[] aggTypes,
+                                  final SquareZ2Vector interFlagE) throws MpcAbortException {
+        assert aggAttrs != null;
+        checkAggInputs(aggAttrs, aggTypes);
+        for (PrefixAggTypes type : aggTypes) {
+            if (!prefixAggReceivers.containsKey(type)) {
+                throw new IllegalArgumentException("Invalid " + PrefixAggTypes.class.getSimpleName() + ": " + type.name());
+            }
+        }
+        // set input
+        setPtoInput(groupAttr, receiverGroupBitLength, null, interFlagE);
+        for (long[] aggAttr : aggAttrs) {
+            MathPreconditions.checkEqual("num", "aggAttr.length", num, aggAttr.length);
+        }
+        // osn1, all aggregation fields are permuted together
+        osn1(groupAttr, aggAttrs);
+        // pSorter using e and receiver's group, only once for all aggregation fields
+        pSorter();
+        // apply piGi to receiver's aggs and sender's group
+        applyPiGi();
+        // merge group
+        Vector<byte[]> mergedTwoGroup = mergeGroup();
+        SquareZ2Vector[][] receiverAggs = getAggAttrs(aggAttrs.length);
+        // aggregation
+        return aggregation(mergedTwoGroup, receiverAggs, aggTypes, e);
+    }
+
+    private void osn1(int[] groupAttr, long[][] aggAttrs) throws MpcAbortException {
 
         // merge group
-        Vector<byte[]> groupBytes = GroupAggUtils.binaryStringToBytes(groupAttr);
+        Vector<byte[]> groupBytes = GroupAggUtils.codesToBytes(groupAttr, receiverGroupBitLength);
         // osn1
+        int aggByteLength = aggAttrs.length * Long.BYTES;
         IntStream intStream = parallel ? IntStream.range(0, num).parallel() : IntStream.range(0, num);
-        Vector<byte[]> osnInput1 = intStream.mapToObj(i -> ByteBuffer.allocate(receiverGroupByteLength + Long.BYTES + 1)
-            .put(groupBytes.get(i)).put(LongUtils.longToByteArray(aggAttr[i]))
-            .put(e.getBitVector().get(i) ? (byte) 1 : (byte) 0).array()).collect(Collectors.toCollection(Vector::new));
-
-        Vector<byte[]> osnOutput1 = osnSender.osn(osnInput1, receiverGroupByteLength + Long.BYTES + 1).getVector();
+        Vector<byte[]> osnInput1 = intStream.mapToObj(i -> {
+            ByteBuffer buffer = ByteBuffer.allocate(receiverGroupByteLength + aggByteLength + 1).put(groupBytes.get(i));
+            for (long[] aggAttr : aggAttrs) {
+                buffer.put(LongUtils.longToByteArray(aggAttr[i]));
+            }
+            return buffer.put(e.getBitVector().get(i) ? (byte) 1 : (byte) 0).array();
+        }).collect(Collectors.toCollection(Vector::new));
+
+        Vector<byte[]> osnOutput1 = osnSender.osn(osnInput1, receiverGroupByteLength + aggByteLength + 1).getVector();
         // split
-        List<Vector<byte[]>> splitOsn1 = GroupAggUtils.split(osnOutput1, new int[]{receiverGroupByteLength, Long.BYTES, 1});
+        List<Vector<byte[]>> splitOsn1 = GroupAggUtils.split(osnOutput1, new int[]{receiverGroupByteLength, aggByteLength, 1});
         receiverGroupShare = splitOsn1.get(0);
         aggShare = splitOsn1.get(1);
         eByte = splitOsn1.get(2);
@@ -232,13 +272,15 @@ public class SortingGroupAggReceiver extends AbstractGroupAggParty {
     }
 
     private void applyPiGi() throws MpcAbortException {
-        // now apply piGi to receiver's shared agg. the group and e of receiver have already been permuted
-        aggShare = sharedPermutationReceiver.permute(piGi, aggShare);
+        // now apply piGi to receiver's shared agg and sender's shared group in one invocation, after which sender's
+        // group will be double sorted. the group and e of receiver have already been permuted
+        int aggByteLength = aggShare.get(0).length;
+        Vector<byte[]> permuted = sharedPermutationReceiver.permute(piGi, merge(Arrays.asList(aggShare, senderGroupShare)));
+        List<Vector<byte[]>> splits = GroupAggUtils.split(permuted, new int[]{aggByteLength, senderGroupByteLength});
+        aggShare = splits.get(0);
         // ### test
         // long[] test = revealOwnLong(aggShare);
-
-        // now apply piGi to sender's shared group, after which will be double sorted
-        senderGroupShare = sharedPermutationReceiver.permute(piGi, senderGroupShare);
+        senderGroupShare = splits.get(1);
 
         // ### test
         // String[] doubSortedSenderGroup = revealGroup(senderGroupShare, senderGroupBitLength);
@@ -254,25 +296,61 @@ public class SortingGroupAggReceiver extends AbstractGroupAggParty {
         // agg
         switch (prefixAggType) {
             case SUM:
-                return sumAgg(groupField, aggField, flag);
             case MAX:
-                return maxAgg(groupField, aggField, flag);
+                PrefixAggOutput agg = prefixAggReceiver.agg(groupField, aggField, flag);
+                return revealOutputs(new PrefixAggOutput[]{agg}, prefixAggType)[0];
             default:
                 throw new IllegalArgumentException("Invalid " + PrefixAggTypes.class.getSimpleName() + ": " + prefixAggType.name());
         }
     }
 
-    private GroupAggOut sumAgg(Vector<byte[]> groupField, SquareZ2Vector[] aggField, SquareZ2Vector flag) throws MpcAbortException {
-        // agg
-        PrefixAggOutput agg = prefixAggReceiver.agg(groupField, aggField, flag);
-        // reveal
-        BitVector[] tmpAgg = z2cReceiver.revealOwn(agg.getAggsBinary());
-        ZlVector aggResult = ZlVector.create(zl, ZlDatabase.create(envType, parallel, tmpAgg).getBigIntegerData());
+    private GroupAggOut[] aggregation(Vector<byte[]> groupField, SquareZ2Vector[][] aggFields, PrefixAggTypes[] aggTypes,
+                                      SquareZ2Vector flag) throws MpcAbortException {
+        GroupAggOut[] outs = new GroupAggOut[aggTypes.length];
+        // aggregation fields with the same type are aggregated together
+        for (Map.Entry<PrefixAggTypes, int[]> entry : GroupAggUtils.groupByType(aggTypes).entrySet()) {
+            PrefixAggTypes type = entry.getKey();
+            int[] indexes = entry.getValue();
+            PrefixAggOutput[] aggs = prefixAggReceivers.get(type).agg(groupField,
+                Arrays.stream(indexes).mapToObj(i -> aggFields[i]).toArray(SquareZ2Vector[][]::new), flag);
+            GroupAggOut[] typeOuts = revealOutputs(aggs, type);
+            for (int i = 0; i < indexes.length; i++) {
+                outs[indexes[i]] = typeOuts[i];
+            }
+        }
+        return outs;
+    }
+
+    private GroupAggOut[] revealOutputs(PrefixAggOutput[] aggs, PrefixAggTypes type) throws MpcAbortException {
+        // reveal all aggregation fields together
+        int l = aggs[0].getAggsBinary().length;
+        BitVector[] tmpAggs = z2cReceiver.revealOwn(Arrays.stream(aggs)
+            .flatMap(agg -> Arrays.stream(agg.getAggsBinary())).toArray(SquareZ2Vector[]::new));
         // ZlVector aggResult = zlcReceiver.revealOwn(agg.getAggs());
-        String[] tureGroup = revealBothGroup(agg.getGroupings());
-        BitVector indicator = z2cReceiver.revealOwn(agg.getIndicator());
-        // subtraction
+        String[] tureGroup = revealBothGroup(aggs[0].getGroupings());
+        BitVector indicator = z2cReceiver.revealOwn(aggs[0].getIndicator());
         int[] indexes = obtainIndexes(indicator);
+        GroupAggOut[] outs = new GroupAggOut[aggs.length];
+        for (int i = 0; i < aggs.length; i++) {
+            Preconditions.checkArgument(aggs[i].getNum() == num, "size of output not correct");
+            BitVector[] tmpAgg = Arrays.copyOfRange(tmpAggs, i * l, (i + 1) * l);
+            ZlVector aggResult = ZlVector.create(zl, ZlDatabase.create(envType, parallel, tmpAgg).getBigIntegerData());
+            switch (type) {
+                case SUM:
+                    outs[i] = sumResult(aggResult, tureGroup, indexes);
+                    break;
+                case MAX:
+                    outs[i] = maxResult(aggResult, tureGroup, indexes);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid " + PrefixAggTypes.class.getSimpleName() + ": " + type.name());
+            }
+        }
+        return outs;
+    }
+
+    private GroupAggOut sumResult(ZlVector aggResult, String[] tureGroup, int[] indexes) {
+        // subtraction
         BigInteger[] result = aggResult.getElements();
         for (int i = 0; i < indexes.length - 1; i++) {
             result[indexes[i]] = zl.sub(result[indexes[i]], result[indexes[i + 1]]);
@@ -280,18 +358,8 @@ public class SortingGroupAggReceiver extends AbstractGroupAggParty {
         return new GroupAggOut(tureGroup, result);
     }
 
-    private GroupAggOut maxAgg(Vector<byte[]> groupField, SquareZ2Vector[] aggField, SquareZ2Vector flag) throws MpcAbortException {
-        // agg
-        PrefixAggOutput agg = prefixAggReceiver.agg(groupField, aggField, flag);
-        // reveal
-        Preconditions.checkArgument(agg.getNum() == num, "size of output not correct");
-        BitVector[] tmpAgg = z2cReceiver.revealOwn(agg.getAggsBinary());
-        ZlVector aggResult = ZlVector.create(zl, ZlDatabase.create(envType, parallel, tmpAgg).getBigIntegerData());
-        // ZlVector aggResult = zlcReceiver.revealOwn(agg.getAggs());
-        String[] tureGroup = revealBothGroup(agg.getGroupings());
-        BitVector groupIndicator = z2cReceiver.revealOwn(agg.getIndicator());
+    private GroupAggOut maxResult(ZlVector aggResult, String[] tureGroup, int[] indexes) {
         // filter
-        int[] indexes = obtainIndexes(groupIndicator);
         BigInteger[] filteredAgg = new BigInteger[indexes.length];
         String[] filteredGroup = new String[indexes.length];
         for (int i = 0; i < indexes.length; i++) {
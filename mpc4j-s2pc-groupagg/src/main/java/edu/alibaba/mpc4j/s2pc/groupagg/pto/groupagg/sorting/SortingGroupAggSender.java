@@ -31,6 +31,7 @@ import edu.alibaba.mpc4j.s2pc.groupagg.pto.groupagg.GroupAggOut;
 import edu.alibaba.mpc4j.s2pc.groupagg.pto.groupagg.GroupAggUtils;
 import edu.alibaba.mpc4j.s2pc.groupagg.pto.groupagg.sorting.SortingGroupAggPtoDesc.PtoStep;
 import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggFactory;
+import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggFactory.PrefixAggTypes;
 import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggOutput;
 import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggParty;
 
@@ -63,6 +64,10 @@ public class SortingGroupAggSender extends AbstractGroupAggParty {
      * Prefix aggregation sender.
      */
     private final PrefixAggParty prefixAggSender;
+    /**
+     * Prefix aggregation senders for all supported aggregation types.
+     */
+    private final Map<PrefixAggTypes, PrefixAggParty> prefixAggSenders;
     /**
      * Z2 circuit sender.
      */
@@ -93,7 +98,10 @@ public class SortingGroupAggSender extends AbstractGroupAggParty {
         osnReceiver = OsnFactory.createReceiver(senderRpc, receiverParty, config.getOsnConfig());
         zlMuxSender = ZlMuxFactory.createSender(senderRpc, receiverParty, config.getZlMuxConfig());
         sharedPermutationSender = SharedPermutationFactory.createSender(senderRpc, receiverParty, config.getSharedPermutationConfig());
-        prefixAggSender = PrefixAggFactory.createPrefixAggSender(senderRpc, receiverParty, config.getPrefixAggConfig());
+        prefixAggSenders = new EnumMap<>(PrefixAggTypes.class);
+        config.getPrefixAggConfigs().forEach((type, prefixAggConfig) ->
+            prefixAggSenders.put(type, PrefixAggFactory.createPrefixAggSender(senderRpc, receiverParty, prefixAggConfig)));
+        prefixAggSender = prefixAggSenders.get(config.getPrefixAggConfig().getPrefixType());
         z2cSender = Z2cFactory.createSender(senderRpc, receiverParty, config.getZ2cConfig());
         zlcSender = ZlcFactory.createSender(senderRpc, receiverParty, config.getZlcConfig());
         b2aSender = B2aFactory.createSender(senderRpc, receiverParty, config.getB2aConfig());
@@ -111,7 +119,9 @@ public class SortingGroupAggSender extends AbstractGroupAggParty {
         osnReceiver.init(maxNum);
         zlMuxSender.init(maxNum);
         sharedPermutationSender.init(maxNum);
-        prefixAggSender.init(maxL, maxNum);
+        for (PrefixAggParty party : prefixAggSenders.values()) {
+            party.init(maxL, maxNum * maxAggFieldNum);
+        }
         z2cSender.init(maxL * maxNum);
         zlcSender.init(1);
         b2aSender.init(maxL, maxNum);
@@ -126,14 +136,14 @@ public class SortingGroupAggSender extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector interFlagE) throws MpcAbortException {
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector interFlagE) throws MpcAbortException {
         assert aggField == null;
         // set input
-        setPtoInput(groupField, aggField, interFlagE);
+        setPtoInput(groupField, senderGroupBitLength, aggField, interFlagE);
         // osn1
         groupTripleNum = TRIPLE_NUM;
         stopWatch.start();
-        osn1(groupField);
+        osn1(groupField, 1);
         stopWatch.stop();
         groupStep1Time = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -169,13 +179,60 @@ public class SortingGroupAggSender extends AbstractGroupAggParty {
         return null;
     }
 
-    private void osn1(String[] groupAttr) throws MpcAbortException {
+    @Override
+    public GroupAggOut[] groupAgg(int[] groupField, long[][] aggFields, PrefixAggTypes[] aggTypes, SquareZ2Vector interFlagE)
+        throws MpcAbortException {
+        assert aggFields == null;
+        checkAggInputs(aggFields, aggTypes);
+        for (PrefixAggTypes type : aggTypes) {
+            if (!prefixAggSenders.containsKey(type)) {
+                throw new IllegalArgumentException("Invalid " + PrefixAggTypes.class.getSimpleName() + ": " + type.name());
+            }
+        }
+        // set input
+        setPtoInput(groupField, senderGroupBitLength, null, interFlagE);
+        // osn1, all aggregation fields are permuted together
+        groupTripleNum = TRIPLE_NUM;
+        stopWatch.start();
+        osn1(groupField, aggTypes.length);
+        stopWatch.stop();
+        groupStep1Time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        // pSorting using e and receiver's group, only once for all aggregation fields
+        stopWatch.start();
+        pSorter();
+        stopWatch.stop();
+        groupStep2Time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        // apply piGi to receiver's aggs and sender's group
+        stopWatch.start();
+        applyPiGi();
+        stopWatch.stop();
+        groupStep3Time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        groupTripleNum = TRIPLE_NUM - groupTripleNum;
+        stopWatch.reset();
+        // merge group
+        Vector<byte[]> mergedTwoGroup = mergeGroup();
+        SquareZ2Vector[][] otherAggs = getAggAttrs(aggTypes.length);
+        // agg
+        stopWatch.start();
+        aggTripleNum = TRIPLE_NUM;
+        aggregation(mergedTwoGroup, otherAggs, aggTypes, e);
+        aggTripleNum = TRIPLE_NUM - aggTripleNum;
+        stopWatch.stop();
+        aggTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        return null;
+    }
+
+    private void osn1(int[] groupAttr, int aggFieldNum) throws MpcAbortException {
         // sigma_s permutation
         int[] sigmaS = obtainPerms(groupAttr);
-        // osn1, sender permute receiver's group, agg and e
-        Vector<byte[]> osnOutput1 = osnReceiver.osn(sigmaS, receiverGroupByteLength + Long.BYTES + 1).getVector();
+        // osn1, sender permute receiver's group, aggs and e
+        int aggByteLength = aggFieldNum * Long.BYTES;
+        Vector<byte[]> osnOutput1 = osnReceiver.osn(sigmaS, receiverGroupByteLength + aggByteLength + 1).getVector();
         // split
-        List<Vector<byte[]>> splits = GroupAggUtils.split(osnOutput1, new int[]{receiverGroupByteLength, Long.BYTES, 1});
+        List<Vector<byte[]>> splits = GroupAggUtils.split(osnOutput1, new int[]{receiverGroupByteLength, aggByteLength, 1});
         receiverGroupShare = splits.get(0);
         aggShare = splits.get(1);
         Vector<byte[]> receiverE = splits.get(2);
@@ -190,7 +247,7 @@ public class SortingGroupAggSender extends AbstractGroupAggParty {
         intStream = parallel ? IntStream.range(0, num).parallel() : IntStream.range(0, num);
         eByte = intStream.mapToObj(i -> BytesUtils.xor(receiverE.get(i), tempE2.get(i))).collect(Collectors.toCollection(Vector::new));
         // sender group
-        senderGroupShare = GroupAggUtils.binaryStringToBytes(groupAttr);
+        senderGroupShare = GroupAggUtils.codesToBytes(groupAttr, senderGroupBitLength);
         senderGroupShare = BenesNetworkUtils.permutation(sigmaS, senderGroupShare);
 
         // ### test
@@ -248,12 +305,14 @@ public class SortingGroupAggSender extends AbstractGroupAggParty {
     }
 
     private void applyPiGi() throws MpcAbortException {
-        // now apply piGi to receiver's shared agg. The group and e of receiver have already been permuted
-        aggShare = sharedPermutationSender.permute(piGi, aggShare);
+        // now apply piGi to receiver's shared agg and sender's group in one invocation.
+        // The group and e of receiver have already been permuted
+        int aggByteLength = aggShare.get(0).length;
+        Vector<byte[]> permuted = sharedPermutationSender.permute(piGi, merge(Arrays.asList(aggShare, senderGroupShare)));
+        List<Vector<byte[]>> splits = GroupAggUtils.split(permuted, new int[]{aggByteLength, senderGroupByteLength});
+        aggShare = splits.get(0);
         // revealOtherLong(aggShare);
-
-        // apply piGi to sender's group
-        senderGroupShare = sharedPermutationSender.permute(piGi, senderGroupShare);
+        senderGroupShare = splits.get(1);
 
         // ### test
         // revealOtherGroup(senderGroupShare);
@@ -277,6 +336,22 @@ public class SortingGroupAggSender extends AbstractGroupAggParty {
         Preconditions.checkArgument(agg.getNum() == num, "size of output not correct");
     }
 
+    private void aggregation(Vector<byte[]> groupField, SquareZ2Vector[][] aggFields, PrefixAggTypes[] aggTypes,
+                             SquareZ2Vector flag) throws MpcAbortException {
+        // aggregation fields with the same type are aggregated together
+        for (Map.Entry<PrefixAggTypes, int[]> entry : GroupAggUtils.groupByType(aggTypes).entrySet()) {
+            PrefixAggOutput[] aggs = prefixAggSenders.get(entry.getKey()).agg(groupField,
+                Arrays.stream(entry.getValue()).mapToObj(i -> aggFields[i]).toArray(SquareZ2Vector[][]::new), flag);
+            // reveal
+            z2cSender.revealOther(Arrays.stream(aggs)
+                .flatMap(agg -> Arrays.stream(agg.getAggsBinary())).toArray(SquareZ2Vector[]::new));
+            revealOtherGroup(aggs[0].getGroupings());
+            z2cSender.revealOther(aggs[0].getIndicator());
+
+            Preconditions.checkArgument(aggs[0].getNum() == num, "size of output not correct");
+        }
+    }
+
     protected Vector<byte[]> shareOwn(Vector<byte[]> input) {
         IntStream intStream = parallel ? IntStream.range(0, num).parallel() : IntStream.range(0, num);
         Vector<byte[]> ownShares = intStream.mapToObj(i -> {
@@ -149,9 +149,9 @@ public class TrivialSortingGroupAggReceiver extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupAttr, final long[] aggAttr, final SquareZ2Vector interFlagE) throws MpcAbortException {
+    public GroupAggOut groupAgg(int[] groupAttr, final long[] aggAttr, final SquareZ2Vector interFlagE) throws MpcAbortException {
         // set input
-        setPtoInput(groupAttr, aggAttr, interFlagE);
+        setPtoInput(groupAttr, receiverGroupBitLength, aggAttr, interFlagE);
         if (havingState) {
             getSum();
         }
@@ -187,12 +187,12 @@ public class TrivialSortingGroupAggReceiver extends AbstractGroupAggParty {
         if (senderGroupBitLength != 0) {
             mergedGroups = shareOther();
             if (receiverGroupBitLength != 0) {
-                Vector<byte[]> groupBytes = GroupAggUtils.binaryStringToBytes(groupAttr);
+                Vector<byte[]> groupBytes = GroupAggUtils.codesToBytes(groupAttr, receiverGroupBitLength);
                 Vector<byte[]> receiverGroupShare = shareOwn(groupBytes);
                 mergedGroups = mergeGroup(mergedGroups, receiverGroupShare);
             }
         } else {
-            Vector<byte[]> groupBytes = GroupAggUtils.binaryStringToBytes(groupAttr);
+            Vector<byte[]> groupBytes = GroupAggUtils.codesToBytes(groupAttr, receiverGroupBitLength);
             mergedGroups = shareOwn(groupBytes);
         }
     }
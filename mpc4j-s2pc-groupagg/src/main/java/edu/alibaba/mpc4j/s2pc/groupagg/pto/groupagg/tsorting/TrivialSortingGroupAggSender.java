@@ -138,9 +138,9 @@ public class TrivialSortingGroupAggSender extends AbstractGroupAggParty {
     }
 
     @Override
-    public GroupAggOut groupAgg(String[] groupField, long[] aggField, SquareZ2Vector interFlagE) throws MpcAbortException {
+    public GroupAggOut groupAgg(int[] groupField, long[] aggField, SquareZ2Vector interFlagE) throws MpcAbortException {
         // set input
-        setPtoInput(groupField, aggField, interFlagE);
+        setPtoInput(groupField, senderGroupBitLength, aggField, interFlagE);
         // having state
         if (havingState) {
             getSum();
@@ -193,7 +193,7 @@ public class TrivialSortingGroupAggSender extends AbstractGroupAggParty {
         }
         // sender == 0
         if (senderGroupBitLength != 0) {
-            Vector<byte[]> groupBytes = GroupAggUtils.binaryStringToBytes(groupAttr);
+            Vector<byte[]> groupBytes = GroupAggUtils.codesToBytes(groupAttr, senderGroupBitLength);
             mergedGroups = shareOwn(groupBytes);
             if (receiverGroupBitLength != 0) {
                 Vector<byte[]> receiverGroupShare = shareOther();
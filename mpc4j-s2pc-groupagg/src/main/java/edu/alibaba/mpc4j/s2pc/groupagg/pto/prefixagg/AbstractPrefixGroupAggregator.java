@@ -18,7 +18,6 @@ import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
-import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.crypto.matrix.TransposeUtils;
 import edu.alibaba.mpc4j.crypto.matrix.database.ZlDatabase;
 import edu.alibaba.mpc4j.s2pc.aby.basics.a2b.A2bParty;
@@ -36,6 +35,7 @@ import edu.alibaba.mpc4j.s2pc.opf.shuffle.ShuffleParty;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -155,9 +155,28 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
 
     @Override
     public PrefixAggOutput agg(String[] groupField, SquareZlVector aggField, SquareZ2Vector intersFlag) throws MpcAbortException {
-        checkInputs(groupField, aggField);
+        checkInputs(groupField == null ? null : groupField.length, aggField.getNum());
+        BitVector plainGroupChange = groupField == null ? null : obtainPlainGroupChange(groupField);
+        return aggPlainGroup(plainGroupChange, () -> GroupAggUtils.binaryStringToBytes(groupField), aggField, intersFlag);
+    }
+
+    @Override
+    public PrefixAggOutput agg(int[] groupField, int groupBitLength, SquareZlVector aggField) throws MpcAbortException {
+        return agg(groupField, groupBitLength, aggField, null);
+    }
+
+    @Override
+    public PrefixAggOutput agg(int[] groupField, int groupBitLength, SquareZlVector aggField, SquareZ2Vector intersFlag)
+        throws MpcAbortException {
+        checkInputs(groupField == null ? null : groupField.length, aggField.getNum());
+        BitVector plainGroupChange = groupField == null ? null : obtainPlainGroupChange(groupField);
+        return aggPlainGroup(plainGroupChange, () -> GroupAggUtils.codesToBytes(groupField, groupBitLength), aggField, intersFlag);
+    }
+
+    private PrefixAggOutput aggPlainGroup(BitVector plainGroupChange, Supplier<Vector<byte[]>> ownGroupBytes,
+                                          SquareZlVector aggField, SquareZ2Vector intersFlag) throws MpcAbortException {
         // obtain group indicator
-        SquareZ2Vector groupIndicator = obtainPlainGroupIndicator1(groupField, intersFlag);
+        SquareZ2Vector groupIndicator = obtainPlainGroupIndicator1(plainGroupChange, intersFlag);
         // agg
         if (intersFlag != null) {
             aggField = zlMuxParty.mux(intersFlag, aggField);
@@ -170,16 +189,35 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
             sums = aggWithIndicatorsArithmetic(groupIndicator, aggField);
         }
         // share
-        Vector<byte[]> sharedGroup = receiver ? shareOwnGroup(groupField) : shareOtherGroup();
+        Vector<byte[]> sharedGroup = receiver ? shareOwnGroup(ownGroupBytes.get()) : shareOtherGroup();
 
         return new PrefixAggOutput(sharedGroup, sums, groupIndicator);
     }
 
     @Override
     public PrefixAggOutput agg(String[] groupField, SquareZ2Vector[] aggField, SquareZ2Vector intersFlag) throws MpcAbortException {
-        checkInputs(groupField, aggField);
+        checkInputs(groupField == null ? null : groupField.length, aggField[0].getNum());
+        BitVector plainGroupChange = groupField == null ? null : obtainPlainGroupChange(groupField);
+        return aggPlainGroup(plainGroupChange, () -> GroupAggUtils.binaryStringToBytes(groupField), aggField, intersFlag);
+    }
+
+    @Override
+    public PrefixAggOutput agg(int[] groupField, int groupBitLength, SquareZ2Vector[] aggField) throws MpcAbortException {
+        return agg(groupField, groupBitLength, aggField, null);
+    }
+
+    @Override
+    public PrefixAggOutput agg(int[] groupField, int groupBitLength, SquareZ2Vector[] aggField, SquareZ2Vector intersFlag)
+        throws MpcAbortException {
+        checkInputs(groupField == null ? null : groupField.length, aggField[0].getNum());
+        BitVector plainGroupChange = groupField == null ? null : obtainPlainGroupChange(groupField);
+        return aggPlainGroup(plainGroupChange, () -> GroupAggUtils.codesToBytes(groupField, groupBitLength), aggField, intersFlag);
+    }
+
+    private PrefixAggOutput aggPlainGroup(BitVector plainGroupChange, Supplier<Vector<byte[]>> ownGroupBytes,
+                                          SquareZ2Vector[] aggField, SquareZ2Vector intersFlag) throws MpcAbortException {
         // obtain group indicator
-        SquareZ2Vector groupIndicator = obtainPlainGroupIndicator1(groupField, intersFlag);
+        SquareZ2Vector groupIndicator = obtainPlainGroupIndicator1(plainGroupChange, intersFlag);
         // agg
         if (intersFlag != null) {
             aggField = z2MuxParty.mux(intersFlag, aggField);
@@ -194,7 +232,7 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
             sums = aggWithIndicators(groupIndicator, aggField);
         }
         // share
-        Vector<byte[]> sharedGroup = receiver ? shareOwnGroup(groupField) : shareOtherGroup();
+        Vector<byte[]> sharedGroup = receiver ? shareOwnGroup(ownGroupBytes.get()) : shareOtherGroup();
 
         return new PrefixAggOutput(sharedGroup, sums, groupIndicator);
     }
@@ -238,28 +276,116 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
         return new PrefixAggOutput(groupField, sums, groupIndicator);
     }
 
+    @Override
+    public PrefixAggOutput[] agg(Vector<byte[]> groupField, SquareZ2Vector[][] aggFields, SquareZ2Vector intersFlag)
+        throws MpcAbortException {
+        MathPreconditions.checkPositive("number of aggFields", aggFields.length);
+        checkInputs(groupField, aggFields[0]);
+        int fieldNum = aggFields.length;
+        int l = aggFields[0].length;
+        for (SquareZ2Vector[] aggField : aggFields) {
+            MathPreconditions.checkEqual("l", "bit length of aggField", l, aggField.length);
+            MathPreconditions.checkEqual("size of groupField", "size of aggField", num, aggField[0].getNum());
+        }
+        // obtain group indicator, shared by all fields
+        SquareZ2Vector groupIndicator = obtainGroupIndicator1(groupField, intersFlag);
+        // concatenate all fields into one field of fieldNum segments, each segment is one field
+        SquareZ2Vector[] mergedAggField = IntStream.range(0, l)
+            .mapToObj(j -> SquareZ2Vector.create(BitVectorFactory.merge(Arrays.stream(aggFields)
+                .map(aggField -> aggField[j].getBitVector()).toArray(BitVector[]::new)), false))
+            .toArray(SquareZ2Vector[]::new);
+        SquareZ2Vector mergedIndicator = repeat(groupIndicator, fieldNum);
+        if (intersFlag != null) {
+            mergedAggField = z2MuxParty.mux(repeat(intersFlag, fieldNum), mergedAggField);
+        }
+        SquareZ2Vector[] mergedSums;
+        // optimize for sum, suffix sums are computed inside each segment
+        if (plainOutput && getAggType().equals(PrefixAggTypes.SUM)) {
+            SquareZlVector transRes = b2aParty.b2a(mergedAggField);
+            SquareZlVector tmp = optimizeForSum(transRes, mergedIndicator);
+            mergedSums = a2bParty.a2b(tmp);
+        } else {
+            // the first element of each segment must start a group, so that no group crosses two segments.
+            for (int i = 1; i < fieldNum; i++) {
+                mergedIndicator.getBitVector().set(i * num, receiver);
+            }
+            mergedSums = aggWithIndicators(mergedIndicator, mergedAggField);
+            // all segments share the same grouping, the first segment is not affected by the above setting.
+            groupIndicator = SquareZ2Vector.create(mergedIndicator.getBitVector().split(num), false);
+        }
+        // split into fields
+        SquareZ2Vector[][] sums = new SquareZ2Vector[fieldNum][l];
+        for (int j = 0; j < l; j++) {
+            BitVector mergedSum = mergedSums[j].getBitVector();
+            for (int i = 0; i < fieldNum; i++) {
+                sums[i][j] = SquareZ2Vector.create(mergedSum.split(num), false);
+            }
+        }
+        // shuffle all fields with the same permutation
+        Vector<byte[]> outputGroupField = groupField;
+        if (needShuffle) {
+            List<Vector<byte[]>> shuffleInput = new ArrayList<>(fieldNum + 1);
+            shuffleInput.add(groupField);
+            for (SquareZ2Vector[] sum : sums) {
+                shuffleInput.add(transposeMergeToVector(Arrays.stream(sum).map(SquareZ2Vector::getBitVector).toArray(BitVector[]::new)));
+            }
+            List<Vector<byte[]>> shuffledResult = shuffleParty.shuffle(shuffleInput, genRandomPerm(num));
+            outputGroupField = shuffledResult.get(0);
+            for (int i = 0; i < fieldNum; i++) {
+                BitVector[] tmps = ZlDatabase.create(l, shuffledResult.get(i + 1).toArray(new byte[0][])).bitPartition(envType, parallel);
+                sums[i] = Arrays.stream(tmps).map(x -> SquareZ2Vector.create(x, false)).toArray(SquareZ2Vector[]::new);
+            }
+        }
+        PrefixAggOutput[] outputs = new PrefixAggOutput[fieldNum];
+        for (int i = 0; i < fieldNum; i++) {
+            outputs[i] = new PrefixAggOutput(outputGroupField, sums[i], groupIndicator);
+        }
+        return outputs;
+    }
+
+    /**
+     * Concatenates copies of the vector.
+     *
+     * @param vector the vector.
+     * @param times  number of copies.
+     * @return the concatenated vector.
+     */
+    private SquareZ2Vector repeat(SquareZ2Vector vector, int times) {
+        return SquareZ2Vector.create(BitVectorFactory.merge(IntStream.range(0, times)
+            .mapToObj(i -> vector.getBitVector()).toArray(BitVector[]::new)), false);
+    }
+
+    /**
+     * Computes suffix sums inside each segment of num elements, and keeps the sums indicated by the indicator.
+     *
+     * @param aggField  aggregation field, containing one or more segments of num elements.
+     * @param indicator group indicator.
+     * @return the sums.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
     private SquareZlVector optimizeForSum(SquareZlVector aggField, SquareZ2Vector indicator) throws MpcAbortException {
         Zl zl = aggField.getZl();
         // summation
-        BigInteger[] aggs = new BigInteger[num];
-        aggs[num - 1] = aggField.getZlVector().getElement(num - 1);
-        for (int i = num - 2; i >= 0; i--) {
-            aggs[i] = zl.add(aggField.getZlVector().getElement(i), (aggs[i + 1]));
+        BigInteger[] aggs = new BigInteger[aggField.getNum()];
+        for (int end = aggField.getNum(); end > 0; end -= num) {
+            aggs[end - 1] = aggField.getZlVector().getElement(end - 1);
+            for (int i = end - 2; i >= end - num; i--) {
+                aggs[i] = zl.add(aggField.getZlVector().getElement(i), (aggs[i + 1]));
+            }
         }
         SquareZlVector summationsZl = SquareZlVector.create(aggField.getZl(), aggs, false);
         return zlMuxParty.mux(indicator, summationsZl);
     }
 
-    private Vector<byte[]> shareOwnGroup(String[] groupField) {
-        int bitLength = groupField[0].length();
-        List<byte[]> shareOwnGroupPayload = new ArrayList<>(GroupAggUtils.binaryStringToBytes(groupField));
-        Vector<byte[]> ownShare = IntStream.range(0, groupField.length).mapToObj(i -> {
-            byte[] bytes = new byte[CommonUtils.getByteLength(bitLength)];
+    private Vector<byte[]> shareOwnGroup(Vector<byte[]> shareOwnGroupPayload) {
+        int byteLength = shareOwnGroupPayload.get(0).length;
+        Vector<byte[]> ownShare = IntStream.range(0, shareOwnGroupPayload.size()).mapToObj(i -> {
+            byte[] bytes = new byte[byteLength];
             secureRandom.nextBytes(bytes);
             return bytes;
         }).collect(Collectors.toCollection(Vector::new));
 
-        List<byte[]> otherShare = IntStream.range(0, groupField.length).mapToObj(i -> BytesUtils.xor(ownShare.get(i), shareOwnGroupPayload.get(i))).collect(Collectors.toList());
+        List<byte[]> otherShare = IntStream.range(0, shareOwnGroupPayload.size()).mapToObj(i -> BytesUtils.xor(ownShare.get(i), shareOwnGroupPayload.get(i))).collect(Collectors.toList());
 
         DataPacketHeader groupShareHeader = new DataPacketHeader(
             encodeTaskId, ptoDesc.getPtoId(), 0, extraInfo,
@@ -292,7 +418,7 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
         // generate prefix sum nodes.
         genNodes(aggField, groupIndicator2);
         // prefix-computation
-        prefixTree.addPrefix(num);
+        prefixTree.addPrefix(groupIndicator1.getNum());
         // obtain agg fields
         return zlMuxParty.mux(groupIndicator1, SquareZlVector.create(zl, Arrays.stream(nodes)
             .map(PrefixAggNode::getAggShare).toArray(BigInteger[]::new), false));
@@ -327,7 +453,7 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
      * @param indicator group indicator in secret shared form.
      */
     protected void genNodes(SquareZlVector sumField, SquareZ2Vector indicator) {
-        nodes = IntStream.range(0, num).mapToObj(i -> new PrefixAggNode(sumField.getZlVector().getElement(i),
+        nodes = IntStream.range(0, sumField.getNum()).mapToObj(i -> new PrefixAggNode(sumField.getZlVector().getElement(i),
             indicator.getBitVector().get(i))).toArray(PrefixAggNode[]::new);
     }
 
@@ -338,7 +464,7 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
      * @param indicator group indicator in secret shared form.
      */
     protected void genNodesBool(SquareZlVector sumField, SquareZ2Vector indicator, int l) {
-        nodes = IntStream.range(0, num).mapToObj(i -> new PrefixAggNode(sumField.getZlVector().getElement(i),
+        nodes = IntStream.range(0, sumField.getNum()).mapToObj(i -> new PrefixAggNode(sumField.getZlVector().getElement(i),
             indicator.getBitVector().get(i), l)).toArray(PrefixAggNode[]::new);
     }
 
@@ -349,7 +475,7 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
      * @param indicator plain group indicator
      */
     private void genNodes(SquareZlVector sumField, BitVector indicator) {
-        nodes = IntStream.range(0, num).mapToObj(i -> new PrefixAggNode(sumField.getZlVector().getElement(i),
+        nodes = IntStream.range(0, sumField.getNum()).mapToObj(i -> new PrefixAggNode(sumField.getZlVector().getElement(i),
             indicator != null && indicator.get(i))).toArray(PrefixAggNode[]::new);
     }
 
@@ -481,15 +607,15 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
         MathPreconditions.checkEqual("size of groupField", "size of sumField", groupField.size(), sumField.getNum());
     }
 
-    private void checkInputs(String[] groupField, SquareZlVector sumField) {
+    private void checkInputs(Integer groupNum, int sumNum) {
         receiver = !isSender();
-        if (groupField == null && receiver || groupField != null && !receiver) {
+        if (groupNum == null && receiver || groupNum != null && !receiver) {
             throw new IllegalArgumentException("Wrong input field, receiver should input groupField, or sender should not input groupField");
         }
-        num = sumField.getNum();
-        if (groupField != null) {
+        num = sumNum;
+        if (groupNum != null) {
             // check equal.
-            MathPreconditions.checkEqual("size of groupField", "size of sumField", groupField.length, sumField.getNum());
+            MathPreconditions.checkEqual("size of groupField", "size of sumField", groupNum, sumNum);
         }
     }
 
@@ -500,29 +626,41 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
         MathPreconditions.checkEqual("size of groupField", "size of sumField", groupField.size(), sumField[0].getNum());
     }
 
-    private void checkInputs(String[] groupField, SquareZ2Vector[] sumField) {
-        receiver = !isSender();
-        if (groupField == null && receiver || groupField != null && !receiver) {
-            throw new IllegalArgumentException("Wrong input field, receiver should input groupField, or sender should not input groupField");
-        }
-        num = sumField[0].getNum();
-        if (groupField != null) {
-            // check equal.
-            MathPreconditions.checkEqual("size of groupField", "size of sumField", groupField.length, sumField[0].getNum());
-        }
+    /**
+     * obtain a plain indicator to indicate whether (group_i != group_{i+1}), such as 0001000.
+     *
+     * @param x grouping field.
+     * @return a plain indicator with length x.length - 1.
+     */
+    private BitVector obtainPlainGroupChange(String[] x) {
+        BitVector change = BitVectorFactory.createZeros(x.length - 1);
+        IntStream.range(0, x.length - 1).forEach(i -> change.set(i, !x[i].equals(x[i + 1])));
+        return change;
+    }
+
+    /**
+     * obtain a plain indicator to indicate whether (group_i != group_{i+1}), such as 0001000.
+     *
+     * @param x grouping field in group codes.
+     * @return a plain indicator with length x.length - 1.
+     */
+    private BitVector obtainPlainGroupChange(int[] x) {
+        BitVector change = BitVectorFactory.createZeros(x.length - 1);
+        IntStream.range(0, x.length - 1).forEach(i -> change.set(i, x[i] != x[i + 1]));
+        return change;
     }
 
     /**
      * obtain a boolean indicator to indicate whether (group_i != group_{i-1}), such as 10001000.
      *
-     * @param x grouping field.
+     * @param change plain indicator of whether (group_i != group_{i+1}), only hold by the receiver.
      * @return a boolean indicator.
      */
-    protected SquareZ2Vector obtainPlainGroupIndicator1(String[] x, SquareZ2Vector intersFlag) throws MpcAbortException {
+    protected SquareZ2Vector obtainPlainGroupIndicator1(BitVector change, SquareZ2Vector intersFlag) throws MpcAbortException {
         SquareZ2Vector indicator;
         if (receiver) {
-            BitVector plainIndicator = BitVectorFactory.createZeros(x.length);
-            IntStream.range(0, x.length - 1).forEach(i -> plainIndicator.set(i + 1, !x[i].equals(x[i + 1])));
+            BitVector plainIndicator = BitVectorFactory.createZeros(num);
+            IntStream.range(0, num - 1).forEach(i -> plainIndicator.set(i + 1, change.get(i)));
             plainIndicator.set(0, true);
             indicator = SquareZ2Vector.create(plainIndicator, false);
         } else {
@@ -539,16 +677,14 @@ public abstract class AbstractPrefixGroupAggregator extends AbstractTwoPartyPto
     /**
      * obtain a boolean indicator to indicate whether (group_i == group_{i+1}), such as 11101110.
      *
-     * @param x grouping field.
+     * @param change plain indicator of whether (group_i != group_{i+1}), only hold by the receiver.
      * @return a boolean indicator.
      */
-    protected SquareZ2Vector obtainPlainGroupIndicator2(String[] x, SquareZ2Vector intersFlag) throws MpcAbortException {
+    protected SquareZ2Vector obtainPlainGroupIndicator2(BitVector change, SquareZ2Vector intersFlag) throws MpcAbortException {
         SquareZ2Vector indicator;
         if (receiver) {
-            BitVector plainIndicator = BitVectorFactory.createZeros(x.length);
-            IntStream.range(0, x.length - 1).forEach(i -> plainIndicator.set(i, !x[i].equals(x[i + 1])));
-            plainIndicator.noti();
-            plainIndicator.set(x.length - 1, false);
+            BitVector plainIndicator = BitVectorFactory.createZeros(num);
+            IntStream.range(0, num - 1).forEach(i -> plainIndicator.set(i, !change.get(i)));
             indicator = SquareZ2Vector.create(plainIndicator, false);
         } else {
             indicator = SquareZ2Vector.createZeros(num, false);
@@ -70,6 +70,29 @@ public interface PrefixAggParty extends TwoPartyPto {
      */
     PrefixAggOutput agg(String[] groupField, SquareZlVector aggField, SquareZ2Vector flag) throws MpcAbortException;
 
+    /**
+     * Executes the protocol. Assume groupField is hold by receiver.
+     *
+     * @param groupField     the field of group by in group codes.
+     * @param groupBitLength the bit length of group codes.
+     * @param aggField       the field of aggregatioin.
+     * @return the party's output.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    PrefixAggOutput agg(int[] groupField, int groupBitLength, SquareZlVector aggField) throws MpcAbortException;
+
+    /**
+     * Executes the protocol. Assume groupField is hold by receiver.
+     *
+     * @param groupField     the field of group by in group codes.
+     * @param groupBitLength the bit length of group codes.
+     * @param aggField       the field of aggregatioin.
+     * @param flag           the flag to indicate the validity of elements.
+     * @return the party's output.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    PrefixAggOutput agg(int[] groupField, int groupBitLength, SquareZlVector aggField, SquareZ2Vector flag) throws MpcAbortException;
+
 
     /**
      * Executes the protocol.
@@ -114,6 +137,43 @@ public interface PrefixAggParty extends TwoPartyPto {
      */
     PrefixAggOutput agg(String[] groupField, SquareZ2Vector[] aggField, SquareZ2Vector flag) throws MpcAbortException;
 
+    /**
+     * Executes the protocol. Assume groupField is hold by receiver.
+     *
+     * @param groupField     the field of group by in group codes.
+     * @param groupBitLength the bit length of group codes.
+     * @param aggField       the field of aggregatioin.
+     * @return the party's output.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    PrefixAggOutput agg(int[] groupField, int groupBitLength, SquareZ2Vector[] aggField) throws MpcAbortException;
+
+    /**
+     * Executes the protocol. Assume groupField is hold by receiver.
+     *
+     * @param groupField     the field of group by in group codes.
+     * @param groupBitLength the bit length of group codes.
+     * @param aggField       the field of aggregatioin.
+     * @param flag           the flag to indicate the validity of elements.
+     * @return the party's output.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    PrefixAggOutput agg(int[] groupField, int groupBitLength, SquareZ2Vector[] aggField, SquareZ2Vector flag) throws MpcAbortException;
+
+    /**
+     * Executes the protocol on multiple aggregation fields sharing the same (secret-shared) group field. The group
+     * indicator is computed once, and all fields are aggregated in one prefix computation, so that the number of rounds
+     * is almost the same as aggregating a single field. The party must be initialized with maxNum no less than
+     * (number of fields) * (number of elements).
+     *
+     * @param groupField the field of group by.
+     * @param aggFields  the fields of aggregation, each with the same bit length.
+     * @param flag       the flag to indicate the validity of elements.
+     * @return the party's outputs, one for each aggregation field.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    PrefixAggOutput[] agg(Vector<byte[]> groupField, SquareZ2Vector[][] aggFields, SquareZ2Vector flag) throws MpcAbortException;
+
     PrefixAggTypes getAggType();
 
 }
@@ -66,7 +66,7 @@ public abstract class AbstractPrefixMaxAggregator extends AbstractPrefixGroupAgg
         // generate prefix sum nodes.
         genNodes(data, groupIndicator2);
         // prefix-computation
-        prefixTree.addPrefix(num);
+        prefixTree.addPrefix(groupIndicator1.getNum());
         // obtain agg fields
         SquareZlVector res1 = zlMuxParty.mux(groupIndicator1, SquareZlVector.create(zl, Arrays.stream(nodes)
             .map(PrefixAggNode::getAggShare).toArray(BigInteger[]::new), false));
@@ -140,7 +140,7 @@ public abstract class AbstractPrefixXorAggregator extends AbstractPrefixGroupAgg
         // generate prefix sum nodes.
         genNodesBool(data, groupIndicator2, l);
         // prefix-computation
-        prefixTree.addPrefix(num);
+        prefixTree.addPrefix(groupIndicator1.getNum());
 
         // obtain agg fields, transfer to z2Vector
         byte[][] resultBytes = Arrays.stream(nodes)
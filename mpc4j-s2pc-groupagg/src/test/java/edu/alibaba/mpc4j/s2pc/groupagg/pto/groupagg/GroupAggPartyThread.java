@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.groupagg.pto.groupagg;
 
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
+import edu.alibaba.mpc4j.s2pc.groupagg.pto.prefixagg.PrefixAggFactory.PrefixAggTypes;
 
 import java.util.Properties;
 
@@ -22,10 +23,22 @@ class GroupAggPartyThread extends Thread {
      * payload
      */
     private final long[] payload;
+    /**
+     * payloads for multiple aggregations
+     */
+    private final long[][] payloads;
+    /**
+     * aggregation types for multiple aggregations, null for single aggregation
+     */
+    private final PrefixAggTypes[] aggTypes;
     /**
      * z
      */
     private GroupAggOut output;
+    /**
+     * outputs for multiple aggregations
+     */
+    private GroupAggOut[] outputs;
     /**
      * Property
      */
@@ -39,17 +52,38 @@ class GroupAggPartyThread extends Thread {
         this.payload = payload;
         this.properties = properties;
         this.e = e;
+        payloads = null;
+        aggTypes = null;
+    }
+
+    GroupAggPartyThread(GroupAggParty groupAggParty, String[] groups, long[][] payloads, PrefixAggTypes[] aggTypes,
+                        SquareZ2Vector e, Properties properties) {
+        this.groupAggParty = groupAggParty;
+        this.groups = groups;
+        this.payload = null;
+        this.payloads = payloads;
+        this.aggTypes = aggTypes;
+        this.properties = properties;
+        this.e = e;
     }
 
     GroupAggOut getOutput() {
         return output;
     }
 
+    GroupAggOut[] getOutputs() {
+        return outputs;
+    }
+
     @Override
     public void run() {
         try {
             groupAggParty.init(properties);
-            output = groupAggParty.groupAgg(groups, payload, e);
+            if (aggTypes == null) {
+                output = groupAggParty.groupAgg(groups, payload, e);
+            } else {
+                outputs = groupAggParty.groupAgg(GroupAggUtils.binaryStringToCodes(groups), payloads, aggTypes, e);
+            }
         } catch (MpcAbortException e) {
             e.printStackTrace();
         }
@@ -6,7 +6,6 @@ import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.ZlFactory;
-import edu.alibaba.mpc4j.crypto.matrix.TransposeUtils;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
 import edu.alibaba.mpc4j.s2pc.groupagg.pto.groupagg.bitmap.BitmapGroupAggConfig;
 import edu.alibaba.mpc4j.s2pc.groupagg.pto.groupagg.bsorting.BitmapSortingGroupAggConfig;
@@ -53,6 +52,14 @@ public class GroupAggTest extends AbstractTwoPartyPtoTest {
      * default Zl
      */
     private static final Zl DEFAULT_ZL = ZlFactory.createInstance(EnvType.STANDARD, Long.SIZE);
+    /**
+     * number of aggregation fields in multi-aggregation tests
+     */
+    private static final int AGG_FIELD_NUM = 4;
+    /**
+     * bit length of aggregation values in multi-aggregation tests
+     */
+    private static final int AGG_VALUE_BIT_LEN = 20;
     /**
      * Sender group bit length
      */
@@ -193,6 +200,16 @@ public class GroupAggTest extends AbstractTwoPartyPtoTest {
         testPto(LARGE_NUM);
     }
 
+    @Test
+    public void testMultiAggDefaultNum() {
+        testMultiAggPto(DEFAULT_NUM);
+    }
+
+    @Test
+    public void testMultiAggLargeNum() {
+        testMultiAggPto(LARGE_NUM);
+    }
+
     private void testPto(int num) {
         // input
         String[] senderGroup = genRandomInputGroup(SENDER_GROUP_BIT_LEN, num);
@@ -241,32 +258,103 @@ public class GroupAggTest extends AbstractTwoPartyPtoTest {
         new Thread(receiver::destroy).start();
     }
 
+    private void testMultiAggPto(int num) {
+        // input, aggregation types are interleaved so that each type has more than one field
+        PrefixAggTypes[] supportedTypes = getSupportedAggTypes();
+        PrefixAggTypes[] aggTypes = IntStream.range(0, AGG_FIELD_NUM)
+            .mapToObj(i -> supportedTypes[i % supportedTypes.length])
+            .toArray(PrefixAggTypes[]::new);
+        String[] senderGroup = genRandomInputGroup(SENDER_GROUP_BIT_LEN, num);
+        String[] receiverGroup = genRandomInputGroup(RECEIVER_GROUP_BIT_LEN, num);
+        long[][] aggs = IntStream.range(0, AGG_FIELD_NUM)
+            .mapToObj(i -> IntStream.range(0, num).mapToLong(j -> SECURE_RANDOM.nextInt(1 << AGG_VALUE_BIT_LEN)).toArray())
+            .toArray(long[][]::new);
+        long[][] sAggs = senderAgg ? aggs : null;
+        long[][] rAggs = senderAgg ? null : aggs;
+
+        // e
+        BitVector e = BitVectorFactory.createOnes(num);
+        SquareZ2Vector e0 = SquareZ2Vector.create(BitVectorFactory.createRandom(num, SECURE_RANDOM), false);
+        SquareZ2Vector e1 = SquareZ2Vector.create(e.xor(e0.getBitVector()), false);
+
+        Properties properties = genProperties(num);
+        properties.setProperty(MAX_AGG_FIELD_NUM, String.valueOf(AGG_FIELD_NUM));
+
+        // init the protocol
+        GroupAggParty sender = GroupAggFactory.createSender(firstRpc, secondRpc.ownParty(), config);
+        GroupAggParty receiver = GroupAggFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
+
+        sender.setParallel(parallel);
+        receiver.setParallel(parallel);
+        try {
+            LOGGER.info("-----test {} (multi-aggregation) start-----", sender.getPtoDesc().getPtoName());
+            GroupAggPartyThread senderThread = new GroupAggPartyThread(sender, senderGroup, sAggs, aggTypes, e0, properties);
+            GroupAggPartyThread receiverThread = new GroupAggPartyThread(receiver, receiverGroup, rAggs, aggTypes, e1, properties);
+            StopWatch stopWatch = new StopWatch();
+            // execute the protocol
+            stopWatch.start();
+            senderThread.start();
+            receiverThread.start();
+            senderThread.join();
+            receiverThread.join();
+            stopWatch.stop();
+            long time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            stopWatch.reset();
+            // verify
+            GroupAggOut[] outputs = receiverThread.getOutputs();
+            Assert.assertEquals(AGG_FIELD_NUM, outputs.length);
+            for (int i = 0; i < AGG_FIELD_NUM; i++) {
+                assertOutput(senderGroup, receiverGroup, aggs[i], e, outputs[i], aggTypes[i]);
+            }
+            printAndResetRpc(time);
+            LOGGER.info("-----test {} (multi-aggregation) end-----", sender.getPtoDesc().getPtoName());
+        } catch (InterruptedException ex) {
+            ex.printStackTrace();
+        }
+        // destroy
+        new Thread(sender::destroy).start();
+        new Thread(receiver::destroy).start();
+    }
+
+    private PrefixAggTypes[] getSupportedAggTypes() {
+        if (config instanceof SortingGroupAggConfig) {
+            return ((SortingGroupAggConfig) config).getPrefixAggConfigs().keySet().toArray(new PrefixAggTypes[0]);
+        } else {
+            // other protocols only support the configured aggregation type
+            return new PrefixAggTypes[]{type};
+        }
+    }
+
     private void assertOutput(String[] trueGroupSender, String[] trueGroupReceiver, long[] trueAgg, BitVector e, GroupAggOut groupAggOut) {
+        assertOutput(trueGroupSender, trueGroupReceiver, trueAgg, e, groupAggOut, type);
+    }
+
+    private void assertOutput(String[] trueGroupSender, String[] trueGroupReceiver, long[] trueAgg, BitVector e,
+                              GroupAggOut groupAggOut, PrefixAggTypes aggType) {
         int num = trueGroupSender.length;
         String[] trueTotalGroup = IntStream.range(0, num).mapToObj(i -> trueGroupSender[i].concat(trueGroupReceiver[i])).toArray(String[]::new);
-        IntStream.range(0, num).forEach(i -> trueAgg[i] = e.get(i) ? trueAgg[i] : 0);
+        long[] filterAgg = IntStream.range(0, num).mapToLong(i -> e.get(i) ? trueAgg[i] : 0).toArray();
         // true
         Map<String, BigInteger> trueMap = getAggResultMap(Arrays.asList(trueTotalGroup),
-            Arrays.stream(trueAgg).mapToObj(BigInteger::valueOf).collect(Collectors.toList()));
+            Arrays.stream(filterAgg).mapToObj(BigInteger::valueOf).collect(Collectors.toList()), aggType);
         // result
         Map<String, BigInteger> resultMap = getAggResultMap(Arrays.asList(groupAggOut.getGroupField()),
-            Arrays.asList(groupAggOut.getAggregationResult()));
+            Arrays.asList(groupAggOut.getAggregationResult()), aggType);
         // verify
         Assert.assertEquals(trueMap, resultMap);
-        System.out.println("## total time of transpose：" + TransposeUtils.TRANSPORT_TIME + "ms");
         System.out.println("## triple num needed：" + TRIPLE_NUM);
         TRIPLE_NUM = 0;
 
     }
 
-    private Map<String, BigInteger> getAggResultMap(List<String> group, List<BigInteger> agg) {
+    private Map<String, BigInteger> getAggResultMap(List<String> group, List<BigInteger> agg, PrefixAggTypes aggType) {
         int num = agg.size();
         Map<String, BigInteger> map = new HashMap<>();
         for (int i = 0; i < num; i++) {
             String key = group.get(i);
             if (map.containsKey(key)) {
                 // sum
-                if (type.equals(PrefixAggTypes.SUM)) {
+                if (aggType.equals(PrefixAggTypes.SUM)) {
                     map.put(key, map.get(key).add(agg.get(i)));
                 } else {
                     // max
@@ -0,0 +1,100 @@
+package edu.alibaba.mpc4j.s2pc.groupagg.pto.groupagg;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Group dictionary test.
+ *
+ * @author Weiran Liu
+ * @date 2023/12/15
+ */
+public class GroupDictionaryTest {
+    /**
+     * number of rows
+     */
+    private static final int NUM = 1 << 10;
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testBitLength() {
+        Assert.assertEquals(1, new GroupDictionary(new String[]{"a"}).getBitLength());
+        Assert.assertEquals(1, new GroupDictionary(new String[]{"a", "b"}).getBitLength());
+        Assert.assertEquals(2, new GroupDictionary(new String[]{"a", "b", "c"}).getBitLength());
+        Assert.assertEquals(2, new GroupDictionary(new String[]{"a", "b", "c", "d"}).getBitLength());
+        Assert.assertEquals(3, new GroupDictionary(new String[]{"a", "b", "c", "d", "e"}).getBitLength());
+    }
+
+    @Test
+    public void testIllegalInputs() {
+        // duplicate domain value
+        Assert.assertThrows(IllegalArgumentException.class, () -> new GroupDictionary(new String[]{"a", "a"}));
+        // value not in domain
+        GroupDictionary dictionary = new GroupDictionary(new String[]{"a", "b"});
+        Assert.assertThrows(IllegalArgumentException.class, () -> dictionary.encode(new String[]{"a", "c"}));
+    }
+
+    @Test
+    public void testEncodeDecode() {
+        for (int domainSize : new int[]{1, 2, 3, 7, 8, 9, 1000}) {
+            String[] domain = IntStream.range(0, domainSize).mapToObj(i -> "group_" + i).toArray(String[]::new);
+            GroupDictionary dictionary = new GroupDictionary(domain);
+            String[] column = IntStream.range(0, NUM)
+                .mapToObj(i -> domain[SECURE_RANDOM.nextInt(domainSize)])
+                .toArray(String[]::new);
+            int[] codes = dictionary.encode(column);
+            int bitLength = dictionary.getBitLength();
+            for (int i = 0; i < NUM; i++) {
+                Assert.assertEquals(column[i], dictionary.decode(codes[i]));
+                Assert.assertEquals(column[i], dictionary.decode(GroupAggUtils.codeToBinaryString(codes[i], bitLength)));
+            }
+        }
+    }
+
+    @Test
+    public void testCodeUtils() {
+        for (int bitLength : new int[]{1, 2, 7, 8, 9, 12, 20, 31}) {
+            // use at most 16 distinct groups so that groups repeat
+            int randomBitLength = Math.min(bitLength, 4);
+            String[] binaryStrings = IntStream.range(0, NUM)
+                .map(i -> SECURE_RANDOM.nextInt(1 << randomBitLength) << (bitLength - randomBitLength))
+                .mapToObj(code -> GroupAggUtils.codeToBinaryString(code, bitLength))
+                .toArray(String[]::new);
+            int[] codes = GroupAggUtils.binaryStringToCodes(binaryStrings);
+            for (int i = 0; i < NUM; i++) {
+                Assert.assertEquals(binaryStrings[i], GroupAggUtils.codeToBinaryString(codes[i], bitLength));
+            }
+            // codes to bytes
+            Assert.assertArrayEquals(
+                GroupAggUtils.binaryStringToBytes(binaryStrings).toArray(new byte[0][]),
+                GroupAggUtils.codesToBytes(codes, bitLength).toArray(new byte[0][])
+            );
+            // sort permutation is the stable sort of binary strings
+            int[] expectPerm = IntStream.range(0, NUM).boxed()
+                .sorted(Comparator.comparing(i -> binaryStrings[i]))
+                .mapToInt(i -> i)
+                .toArray();
+            int[] perm = GroupAggUtils.sortPermutation(codes, bitLength);
+            Assert.assertArrayEquals(expectPerm, perm);
+            // group indicator
+            Assert.assertEquals(
+                GroupAggUtils.obtainGroupIndicator(GroupAggUtils.applyPermutation(binaryStrings, perm)),
+                GroupAggUtils.obtainGroupIndicator(GroupAggUtils.applyPermutation(codes, perm))
+            );
+            Assert.assertTrue(Arrays.equals(
+                GroupAggUtils.applyPermutation(binaryStrings, perm),
+                Arrays.stream(GroupAggUtils.applyPermutation(codes, perm))
+                    .mapToObj(code -> GroupAggUtils.codeToBinaryString(code, bitLength))
+                    .toArray(String[]::new)
+            ));
+        }
+    }
+}
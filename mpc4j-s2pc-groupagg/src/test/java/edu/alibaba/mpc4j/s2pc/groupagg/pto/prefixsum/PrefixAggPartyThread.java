@@ -24,6 +24,10 @@ class PrefixAggPartyThread extends Thread {
      * num
      */
     private final SquareZ2Vector[] aggs;
+    /**
+     * multiple aggregation fields
+     */
+    private final SquareZ2Vector[][] multiAggs;
     /**
      * l
      */
@@ -36,6 +40,10 @@ class PrefixAggPartyThread extends Thread {
      * z
      */
     private PrefixAggOutput shareZ;
+    /**
+     * z for multiple aggregation fields
+     */
+    private PrefixAggOutput[] shareZs;
 
 //    PrefixAggPartyThread(PrefixAggParty prefixAggParty, Vector<byte[]> groups, SquareZlVector aggs) {
 //        this.prefixAggParty = prefixAggParty;
@@ -49,19 +57,38 @@ class PrefixAggPartyThread extends Thread {
         this.prefixAggParty = prefixAggParty;
         this.groups = groups;
         this.aggs = aggs;
+        this.multiAggs = null;
         this.l = aggs.length;
         this.num = groups.size();
     }
 
+    PrefixAggPartyThread(PrefixAggParty prefixAggParty, Vector<byte[]> groups, SquareZ2Vector[][] multiAggs) {
+        this.prefixAggParty = prefixAggParty;
+        this.groups = groups;
+        this.aggs = null;
+        this.multiAggs = multiAggs;
+        this.l = multiAggs[0].length;
+        this.num = groups.size();
+    }
+
     PrefixAggOutput getShareZ() {
         return shareZ;
     }
 
+    PrefixAggOutput[] getShareZs() {
+        return shareZs;
+    }
+
     @Override
     public void run() {
         try {
-            prefixAggParty.init(l, num);
-            shareZ = prefixAggParty.agg(groups, aggs);
+            if (multiAggs == null) {
+                prefixAggParty.init(l, num);
+                shareZ = prefixAggParty.agg(groups, aggs);
+            } else {
+                prefixAggParty.init(l, num * multiAggs.length);
+                shareZs = prefixAggParty.agg(groups, multiAggs, null);
+            }
         } catch (MpcAbortException e) {
             e.printStackTrace();
         }
@@ -49,6 +49,10 @@ public class PrefixSumTest extends AbstractTwoPartyPtoTest {
      * large num
      */
     private static final int LARGE_NUM = 1 << 8;
+    /**
+     * number of aggregation fields
+     */
+    private static final int FIELD_NUM = 3;
     /**
      * default Zl
      */
@@ -122,6 +126,16 @@ public class PrefixSumTest extends AbstractTwoPartyPtoTest {
         testPto(LARGE_NUM, true);
     }
 
+    @Test
+    public void testMultiFields() {
+        testMultiFieldsPto(DEFAULT_NUM, false);
+    }
+
+    @Test
+    public void testParallelMultiFieldsLargeNum() {
+        testMultiFieldsPto(LARGE_NUM, true);
+    }
+
     private void testPto(int num, boolean parallel) {
         // each group has around 10 elements.
         int groupNum = num / 10 + 1;
@@ -188,6 +202,78 @@ public class PrefixSumTest extends AbstractTwoPartyPtoTest {
         new Thread(receiver::destroy).start();
     }
 
+    private void testMultiFieldsPto(int num, boolean parallel) {
+        // each group has around 10 elements.
+        int groupNum = num / 10 + 1;
+        int groupSize = num / groupNum;
+        // generate inputs, the i-th field is a multiple of (i + 1)
+        byte[][] groupings = new byte[num][];
+        BigInteger[][] aggs = new BigInteger[FIELD_NUM][num];
+        for (int i = 0; i < num; i++) {
+            groupings[i] = BigIntegerUtils.nonNegBigIntegerToByteArray
+                (BigInteger.valueOf(i / groupSize), zl.getByteL());
+            for (int fieldIndex = 0; fieldIndex < FIELD_NUM; fieldIndex++) {
+                aggs[fieldIndex][i] = BigInteger.valueOf((long) i * (fieldIndex + 1));
+            }
+        }
+        // generate shares
+        Vector<byte[]> groupShares0 = IntStream.range(0, num).mapToObj(i -> {
+            byte[] shares = new byte[zl.getByteL()];
+            SECURE_RANDOM.nextBytes(shares);
+            return shares;
+        }).collect(Collectors.toCollection(Vector::new));
+        Vector<byte[]> groupShares1 = IntStream.range(0, num).mapToObj(i ->
+            BytesUtils.xor(groupings[i], groupShares0.elementAt(i))).collect(Collectors.toCollection(Vector::new));
+        SquareZ2Vector[][] aggShares0 = new SquareZ2Vector[FIELD_NUM][];
+        SquareZ2Vector[][] aggShares1 = new SquareZ2Vector[FIELD_NUM][];
+        for (int fieldIndex = 0; fieldIndex < FIELD_NUM; fieldIndex++) {
+            BitVector[] originDataVec = ZlDatabase.create(zl.getL(), aggs[fieldIndex]).bitPartition(EnvType.STANDARD, true);
+            BitVector[] agg0 = IntStream.range(0, originDataVec.length)
+                .mapToObj(i -> BitVectorFactory.createRandom(num, SECURE_RANDOM))
+                .toArray(BitVector[]::new);
+            aggShares0[fieldIndex] = Arrays.stream(agg0).map(x -> SquareZ2Vector.create(x, false)).toArray(SquareZ2Vector[]::new);
+            aggShares1[fieldIndex] = IntStream.range(0, agg0.length)
+                .mapToObj(i -> SquareZ2Vector.create(agg0[i].xor(originDataVec[i]), false))
+                .toArray(SquareZ2Vector[]::new);
+        }
+        // init the protocol
+        PrefixAggParty sender = PrefixSumFactory.createPrefixSumSender(firstRpc, secondRpc.ownParty(), config);
+        PrefixAggParty receiver = PrefixSumFactory.createPrefixSumReceiver(secondRpc, firstRpc.ownParty(), config);
+
+        sender.setParallel(parallel);
+        receiver.setParallel(parallel);
+        try {
+            LOGGER.info("-----test {} (multiple fields) start-----", sender.getPtoDesc().getPtoName());
+            PrefixAggPartyThread senderThread = new PrefixAggPartyThread(sender, groupShares0, aggShares0);
+            PrefixAggPartyThread receiverThread = new PrefixAggPartyThread(receiver, groupShares1, aggShares1);
+            StopWatch stopWatch = new StopWatch();
+            // execute the protocol
+            stopWatch.start();
+            senderThread.start();
+            receiverThread.start();
+            senderThread.join();
+            receiverThread.join();
+            stopWatch.stop();
+            long time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            stopWatch.reset();
+            // verify
+            PrefixAggOutput[] shareZs0 = senderThread.getShareZs();
+            PrefixAggOutput[] shareZs1 = receiverThread.getShareZs();
+            Assert.assertEquals(FIELD_NUM, shareZs0.length);
+            Assert.assertEquals(FIELD_NUM, shareZs1.length);
+            for (int fieldIndex = 0; fieldIndex < FIELD_NUM; fieldIndex++) {
+                assertOutput(groupings, aggs[fieldIndex], shareZs0[fieldIndex], shareZs1[fieldIndex]);
+            }
+            printAndResetRpc(time);
+            LOGGER.info("-----test {} (multiple fields) end-----", sender.getPtoDesc().getPtoName());
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+        // destroy
+        new Thread(sender::destroy).start();
+        new Thread(receiver::destroy).start();
+    }
+
     private void assertOutput(byte[][] groupings, BigInteger[] aggs, PrefixAggOutput shareZ0, PrefixAggOutput shareZ1) {
         int num = aggs.length;
         // true
@@ -110,18 +110,18 @@ public class Czz22ByteEccCwMqRpmtServer extends AbstractMqRpmtServer {
     private List<byte[]> generateHxAlphaPayload() {
         Stream<ByteBuffer> serverElementStream = serverElementArrayList.stream();
         serverElementStream = parallel ? serverElementStream.parallel() : serverElementStream;
-        return serverElementStream
+        byte[][] hs = serverElementStream
             .map(serverElement -> byteMulEcc.hashToCurve(serverElement.array()))
-            .map(p -> byteMulEcc.mul(p, alpha))
-            .collect(Collectors.toList());
+            .toArray(byte[][]::new);
+        return Arrays.stream(byteMulEcc.mul(hs, alpha, parallel)).collect(Collectors.toList());
     }
 
     private List<byte[]> handleHyBetaPayload(List<byte[]> hyBetaPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(hyBetaPayload.size() == clientElementSize);
-        Stream<byte[]> hyBetaStream = hyBetaPayload.stream();
-        hyBetaStream = parallel ? hyBetaStream.parallel() : hyBetaStream;
-        List<byte[]> peqtPayload = hyBetaStream
-            .map(p -> byteMulEcc.mul(p, alpha))
+        byte[][] hyBetas = hyBetaPayload.toArray(new byte[0][]);
+        Stream<byte[]> hyBetaAlphaStream = Arrays.stream(byteMulEcc.mul(hyBetas, alpha, parallel));
+        hyBetaAlphaStream = parallel ? hyBetaAlphaStream.parallel() : hyBetaAlphaStream;
+        List<byte[]> peqtPayload = hyBetaAlphaStream
             .map(p -> peqtHash.digestToBytes(p))
             .collect(Collectors.toList());
         // 置乱顺序
@@ -48,6 +48,7 @@ public class Gmr21MqRpmtConfig extends AbstractMultiPartyPtoConfig implements Mq
         osnConfig = builder.osnConfig;
         okvsType = builder.okvsType;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
     }
 
     @Override
@@ -16,6 +16,7 @@ import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfReceiver;
 import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfReceiverOutput;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
@@ -103,21 +104,26 @@ public class OkvsBopprfReceiver extends AbstractBopprfReceiver {
         // The PRF maps (random) inputs to {0, 1}^l, we only need to set an empty key
         Prf prf = PrfFactory.createInstance(envType, byteL);
         prf.setKey(new byte[CommonConstants.BLOCK_BYTE_LENGTH]);
-        // parse OKVS storage
-        MpcAbortPreconditions.checkArgument(okvsPayload.size() == Gf2eDokvsFactory.getM(envType, okvsType, pointNum));
-        byte[][] okvsStorage = okvsPayload.toArray(new byte[0][]);
-        // compute PRF output
+        // parse OKVS storage, the storage is sent as a single byte array
+        MpcAbortPreconditions.checkArgument(okvsPayload.size() == 1);
+        byte[] okvsStorage = okvsPayload.get(0);
+        MpcAbortPreconditions.checkArgument(
+            okvsStorage.length == Gf2eDokvsFactory.getM(envType, okvsType, pointNum) * byteL
+        );
+        // decode all inputs in batch
         Gf2eDokvs<ByteBuffer> okvs = Gf2eDokvsFactory.createInstance(envType, okvsType, pointNum, l, okvsKeys);
+        ByteBuffer[] keys = Arrays.stream(inputArray).map(ByteBuffer::wrap).toArray(ByteBuffer[]::new);
+        byte[] okvsOutputs = new byte[batchSize * byteL];
+        okvs.decode(okvsStorage, keys, okvsOutputs, parallel);
+        // compute PRF output
         IntStream batchIntStream = IntStream.range(0, batchSize);
         batchIntStream = parallel ? batchIntStream.parallel() : batchIntStream;
         return batchIntStream
             .mapToObj(batchIndex -> {
-                byte[] input = inputArray[batchIndex];
                 byte[] programOutput = oprfReceiverOutput.getPrf(batchIndex);
                 programOutput = prf.getBytes(programOutput);
                 BytesUtils.reduceByteArray(programOutput, l);
-                byte[] okvsOutput = okvs.decode(okvsStorage, ByteBuffer.wrap(input));
-                BytesUtils.xori(programOutput, okvsOutput);
+                BytesUtils.xori(programOutput, 0, okvsOutputs, batchIndex * byteL, byteL);
                 return programOutput;
             })
             .toArray(byte[][]::new);
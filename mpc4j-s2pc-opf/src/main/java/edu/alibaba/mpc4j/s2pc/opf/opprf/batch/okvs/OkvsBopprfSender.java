@@ -22,9 +22,8 @@ import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfSenderOutput;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -112,8 +111,13 @@ public class OkvsBopprfSender extends AbstractBopprfSender {
     private List<byte[]> generateOkvsPayload(OprfSenderOutput oprfSenderOutput, byte[][] okvsKeys) {
         Gf2eDokvs<ByteBuffer> okvs = Gf2eDokvsFactory.createInstance(envType, okvsType, pointNum, l, okvsKeys);
         okvs.setParallelEncode(parallel);
-        // construct key-value map
-        Map<ByteBuffer, byte[]> keyValueMap = new ConcurrentHashMap<>(pointNum);
+        // point offset of each batch in the flat key-value pairs
+        int[] batchOffsets = new int[batchSize + 1];
+        for (int batchIndex = 0; batchIndex < batchSize; batchIndex++) {
+            batchOffsets[batchIndex + 1] = batchOffsets[batchIndex] + inputArrays[batchIndex].length;
+        }
+        ByteBuffer[] keys = new ByteBuffer[batchOffsets[batchSize]];
+        byte[] flatValues = new byte[batchOffsets[batchSize] * byteL];
         // The PRF maps (random) inputs to {0, 1}^l, we only need to set an empty key
         Prf prf = PrfFactory.createInstance(envType, byteL);
         prf.setKey(new byte[CommonConstants.BLOCK_BYTE_LENGTH]);
@@ -131,10 +135,13 @@ public class OkvsBopprfSender extends AbstractBopprfSender {
                 programOutput = prf.getBytes(programOutput);
                 BytesUtils.reduceByteArray(programOutput, l);
                 BytesUtils.xori(programOutput, target);
-                keyValueMap.put(ByteBuffer.wrap(input), programOutput);
+                int pointIndex = batchOffsets[batchIndex] + index;
+                keys[pointIndex] = ByteBuffer.wrap(input);
+                System.arraycopy(programOutput, 0, flatValues, pointIndex * byteL, byteL);
             }
         });
-        byte[][] okvsStorage = okvs.encode(keyValueMap, false);
-        return Arrays.stream(okvsStorage).collect(Collectors.toList());
+        // send the flat storage as a single byte array
+        byte[] okvsStorage = okvs.encode(keys, flatValues, false);
+        return Collections.singletonList(okvsStorage);
     }
 }
@@ -34,6 +34,7 @@ public class Cgs22RbopprfConfig extends AbstractMultiPartyPtoConfig implements R
         super(SecurityModel.SEMI_HONEST, builder.oprfConfig);
         oprfConfig = builder.oprfConfig;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
     }
 
     @Override
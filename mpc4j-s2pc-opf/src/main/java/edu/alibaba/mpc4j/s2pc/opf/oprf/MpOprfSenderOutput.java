@@ -1,5 +1,7 @@
 package edu.alibaba.mpc4j.s2pc.opf.oprf;
 
+import java.util.stream.IntStream;
+
 /**
  * MPOPRF发送方输出。
  *
@@ -15,6 +17,19 @@ public interface MpOprfSenderOutput extends OprfSenderOutput {
      */
     byte[] getPrf(byte[] input);
 
+    /**
+     * 批量返回伪随机函数输出。默认逐个调用getPrf(byte[])，支持批量解码的实现可以重写此方法。
+     *
+     * @param inputs   伪随机函数输入。
+     * @param parallel 是否并发计算。
+     * @return 伪随机函数输出。
+     */
+    default byte[][] getPrfs(byte[][] inputs, boolean parallel) {
+        IntStream indexIntStream = IntStream.range(0, inputs.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        return indexIntStream.mapToObj(index -> getPrf(inputs[index])).toArray(byte[][]::new);
+    }
+
     /**
      * 返回伪随机函数输出。
      *
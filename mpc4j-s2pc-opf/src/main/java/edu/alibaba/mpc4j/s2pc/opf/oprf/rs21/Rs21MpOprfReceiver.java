@@ -23,9 +23,7 @@ import edu.alibaba.mpc4j.s2pc.pcg.vole.gf2k.nc.Gf2kNcVoleSender;
 import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 /**
  * RS21-MP-OPRF receiver.
@@ -90,18 +88,19 @@ public class Rs21MpOprfReceiver extends AbstractMpOprfReceiver {
         stopWatch.start();
         // The Receiver samples r ← {0,1}^κ, w^r ← F and solves the systems (OKVS)
         byte[] wr = gf2k.createRandom(secureRandom);
-        Stream<byte[]> inputStream = Arrays.stream(inputs);
-        inputStream = parallel ? inputStream.parallel() : inputStream;
-        Map<ByteBuffer, byte[]> keyValueMap = inputStream.collect(Collectors.toMap(
-            ByteBuffer::wrap,
-            hf::getBytes
+        ByteBuffer[] keys = Arrays.stream(inputs).map(ByteBuffer::wrap).toArray(ByteBuffer[]::new);
+        byte[] flatValues = new byte[batchSize * CommonConstants.BLOCK_BYTE_LENGTH];
+        IntStream batchIndexIntStream = IntStream.range(0, batchSize);
+        batchIndexIntStream = parallel ? batchIndexIntStream.parallel() : batchIndexIntStream;
+        batchIndexIntStream.forEach(index -> System.arraycopy(
+            hf.getBytes(inputs[index]), 0, flatValues, index * CommonConstants.BLOCK_BYTE_LENGTH, CommonConstants.BLOCK_BYTE_LENGTH
         ));
         byte[][] okvsKeys = CommonUtils.generateRandomKeys(okvsKeyNum, secureRandom);
         Gf2kDokvs<ByteBuffer> gf2kOkvs = Gf2kDokvsFactory.createInstance(
             envType, okvsType, batchSize, okvsKeys
         );
         gf2kOkvs.setParallelEncode(parallel);
-        byte[][] vectorA = gf2kOkvs.encode(keyValueMap, true);
+        byte[] flatVectorA = gf2kOkvs.encode(keys, flatValues, true);
         stopWatch.stop();
         long okvsTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -125,12 +124,16 @@ public class Rs21MpOprfReceiver extends AbstractMpOprfReceiver {
         logStepInfo(PtoState.PTO_STEP, 2, 4, voleTime, "Receiver executes VOLE");
 
         stopWatch.start();
-        // The Receiver sends r, w^r, A := P + A' to the Sender
-        IntStream.range(0, m).forEach(mIndex -> gf2k.addi(vectorA[mIndex], gf2kVoleSenderOutput.getX(mIndex)));
+        // The Receiver sends r, w^r, A := P + A' to the Sender, addition in GF(2^κ) is XOR
+        IntStream.range(0, m).forEach(mIndex -> BytesUtils.xori(
+            flatVectorA, mIndex * CommonConstants.BLOCK_BYTE_LENGTH,
+            gf2kVoleSenderOutput.getX(mIndex), 0, CommonConstants.BLOCK_BYTE_LENGTH
+        ));
         List<byte[]> okvsWrPayload = new LinkedList<>();
         okvsWrPayload.add(wr);
         IntStream.range(0, okvsKeyNum).forEach(okvsKeyIndex -> okvsWrPayload.add(okvsKeys[okvsKeyIndex]));
-        IntStream.range(0, m).forEach(mIndex -> okvsWrPayload.add(vectorA[mIndex]));
+        // the OKVS storage is sent as a single byte array
+        okvsWrPayload.add(flatVectorA);
         DataPacketHeader okvsWrHeader = new DataPacketHeader(
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.RECEIVER_SEND_OKVS_WR.ordinal(), extraInfo,
             ownParty().getPartyId(), otherParty().getPartyId()
@@ -157,12 +160,23 @@ public class Rs21MpOprfReceiver extends AbstractMpOprfReceiver {
         MpcAbortPreconditions.checkArgument(BytesUtils.equals(cs, hf.getBytes(ws)));
         final byte[] w = gf2k.add(wr, ws);
         // The Receiver outputs X' := {H(Decode(C, x) + w, x) | x ∈ X}
-        byte[][] vectorC = gf2kVoleSenderOutput.getT();
-        inputStream = Arrays.stream(inputs);
-        inputStream = parallel ? inputStream.parallel() : inputStream;
-        byte[][] prfs = inputStream
-            .map(x -> {
-                byte[] x1 = gf2kOkvs.decode(vectorC, ByteBuffer.wrap(x));
+        // C is the only one given in rows by VOLE, write it into the flat form once
+        byte[] flatVectorC = new byte[m * CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int row = 0; row < m; row++) {
+            System.arraycopy(
+                gf2kVoleSenderOutput.getT(row), 0, flatVectorC, row * CommonConstants.BLOCK_BYTE_LENGTH, CommonConstants.BLOCK_BYTE_LENGTH
+            );
+        }
+        byte[] flatX1s = new byte[batchSize * CommonConstants.BLOCK_BYTE_LENGTH];
+        gf2kOkvs.decode(flatVectorC, keys, flatX1s, parallel);
+        IntStream batchIntStream = IntStream.range(0, batchSize);
+        batchIntStream = parallel ? batchIntStream.parallel() : batchIntStream;
+        byte[][] prfs = batchIntStream
+            .mapToObj(index -> {
+                byte[] x = inputs[index];
+                byte[] x1 = Arrays.copyOfRange(
+                    flatX1s, index * CommonConstants.BLOCK_BYTE_LENGTH, (index + 1) * CommonConstants.BLOCK_BYTE_LENGTH
+                );
                 gf2k.addi(x1, w);
                 byte[] x1x = ByteBuffer.allocate(CommonConstants.BLOCK_BYTE_LENGTH + x.length)
                     .put(x1)
@@ -17,6 +17,7 @@ import edu.alibaba.mpc4j.s2pc.pcg.vole.gf2k.Gf2kVoleReceiverOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.vole.gf2k.nc.Gf2kNcVoleFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.vole.gf2k.nc.Gf2kNcVoleReceiver;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -121,17 +122,24 @@ public class Rs21MpOprfSender extends AbstractMpOprfSender {
 
         stopWatch.start();
         // w^r, OKVS keys (r), OKVS payload (A)
-        MpcAbortPreconditions.checkArgument(okvsWrPayload.size() == 1 + okvsKeyNum + m);
+        MpcAbortPreconditions.checkArgument(okvsWrPayload.size() == 1 + okvsKeyNum + 1);
         byte[] wr = okvsWrPayload.remove(0);
         byte[][] okvsKeys = IntStream.range(0, okvsKeyNum)
             .mapToObj(okvsKeyIndex -> okvsWrPayload.remove(0))
             .toArray(byte[][]::new);
-        byte[][] vectorA = okvsWrPayload.toArray(new byte[0][]);
-        // the Sender defines K := B + A · ∆
-        byte[][] vectorK = gf2kVoleReceiverOutput.getQ();
+        byte[] flatVectorA = okvsWrPayload.remove(0);
+        MpcAbortPreconditions.checkArgument(flatVectorA.length == m * CommonConstants.BLOCK_BYTE_LENGTH);
+        // the Sender defines K := B + A · ∆, K is kept in the flat form
+        byte[] flatVectorK = new byte[m * CommonConstants.BLOCK_BYTE_LENGTH];
         IntStream mIndexStream = IntStream.range(0, m);
         mIndexStream = parallel ? mIndexStream.parallel() : mIndexStream;
-        mIndexStream.forEach(mIndex -> gf2k.addi(vectorK[mIndex], gf2k.mul(vectorA[mIndex], delta)));
+        mIndexStream.forEach(mIndex -> {
+            int offset = mIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            byte[] ki = Arrays.copyOfRange(flatVectorA, offset, offset + CommonConstants.BLOCK_BYTE_LENGTH);
+            gf2k.muli(ki, delta);
+            gf2k.addi(ki, gf2kVoleReceiverOutput.getQ(mIndex));
+            System.arraycopy(ki, 0, flatVectorK, offset, CommonConstants.BLOCK_BYTE_LENGTH);
+        });
         // The Sender sends w^s to the Receiver
         List<byte[]> wsPayload = Collections.singletonList(ws);
         DataPacketHeader wsHeader = new DataPacketHeader(
@@ -142,7 +150,7 @@ public class Rs21MpOprfSender extends AbstractMpOprfSender {
         // set output
         byte[] w = gf2k.add(ws, wr);
         Rs21MpOprfSenderOutput senderOutput = new Rs21MpOprfSenderOutput(
-            envType, batchSize, delta, w, okvsType, okvsKeys, vectorK
+            envType, batchSize, delta, w, okvsType, okvsKeys, flatVectorK
         );
         stopWatch.stop();
         long wsTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
@@ -16,6 +16,7 @@ import edu.alibaba.mpc4j.s2pc.opf.oprf.MpOprfSenderOutput;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.stream.IntStream;
 
 /**
  * RS21-MP-OPRF sender output.
@@ -49,12 +50,12 @@ public class Rs21MpOprfSenderOutput implements MpOprfSenderOutput {
      */
     private final Gf2kDokvs<ByteBuffer> okvs;
     /**
-     * vector K, i.e., masked OKVS storage
+     * vector K, i.e., masked OKVS storage, in the flat form
      */
-    private final byte[][] vectorK;
+    private final byte[] flatVectorK;
 
     Rs21MpOprfSenderOutput(EnvType envType, int batchSize, byte[] delta, byte[] w,
-                           Gf2kDokvsType dokvsType, byte[][] okvsKeys, byte[][] vectorK) {
+                           Gf2kDokvsType dokvsType, byte[][] okvsKeys, byte[] flatVectorK) {
         MathPreconditions.checkPositive("batchSize", batchSize);
         this.batchSize = batchSize;
         gf2k = Gf2kFactory.createInstance(envType);
@@ -65,28 +66,43 @@ public class Rs21MpOprfSenderOutput implements MpOprfSenderOutput {
         Preconditions.checkArgument(gf2k.validateElement(w));
         this.w = BytesUtils.clone(w);
         okvs = Gf2kDokvsFactory.createInstance(envType, dokvsType, batchSize, okvsKeys);
-        MathPreconditions.checkEqual("m", "k.length", okvs.getM(), vectorK.length);
-        this.vectorK = Arrays.stream(vectorK)
-            .peek(ki -> Preconditions.checkArgument(gf2k.validateElement(ki)))
-            .map(BytesUtils::clone)
-            .toArray(byte[][]::new);
+        MathPreconditions.checkEqual(
+            "m * byteL", "k.length", (long) okvs.getM() * gf2k.getByteL(), flatVectorK.length
+        );
+        this.flatVectorK = BytesUtils.clone(flatVectorK);
     }
 
     @Override
     public byte[] getPrf(byte[] input) {
-        ByteBuffer inputByteBuffer = ByteBuffer.wrap(input);
-        // Decode(K, y, r) - ΔH^F(y) + w
-        byte[] y1 = okvs.decode(vectorK, inputByteBuffer);
-        byte[] fy = hf.getBytes(input);
-        gf2k.muli(fy, delta);
-        gf2k.subi(y1, fy);
-        gf2k.addi(y1, w);
-        // H(y1, y) = H(Decode(K, y, r) - ΔH^F(y) + w, y)
-        byte[] y1y = ByteBuffer.allocate(CommonConstants.BLOCK_BYTE_LENGTH + input.length)
-            .put(y1)
-            .put(input)
-            .array();
-        return hf.getBytes(y1y);
+        return getPrfs(new byte[][]{input}, false)[0];
+    }
+
+    @Override
+    public byte[][] getPrfs(byte[][] inputs, boolean parallel) {
+        int byteL = gf2k.getByteL();
+        ByteBuffer[] keys = Arrays.stream(inputs).map(ByteBuffer::wrap).toArray(ByteBuffer[]::new);
+        // Decode(K, y, r) for all inputs in one batch
+        byte[] flatY1s = new byte[inputs.length * byteL];
+        okvs.decode(flatVectorK, keys, flatY1s, parallel);
+        IntStream indexIntStream = IntStream.range(0, inputs.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        return indexIntStream
+            .mapToObj(index -> {
+                byte[] input = inputs[index];
+                // Decode(K, y, r) - ΔH^F(y) + w
+                byte[] y1 = Arrays.copyOfRange(flatY1s, index * byteL, (index + 1) * byteL);
+                byte[] fy = hf.getBytes(input);
+                gf2k.muli(fy, delta);
+                gf2k.subi(y1, fy);
+                gf2k.addi(y1, w);
+                // H(y1, y) = H(Decode(K, y, r) - ΔH^F(y) + w, y)
+                byte[] y1y = ByteBuffer.allocate(CommonConstants.BLOCK_BYTE_LENGTH + input.length)
+                    .put(y1)
+                    .put(input)
+                    .array();
+                return hf.getBytes(y1y);
+            })
+            .toArray(byte[][]::new);
     }
 
     @Override
@@ -88,7 +88,7 @@ public abstract class AbstractOsnReceiver extends AbstractTwoPartyPto implements
         MathPreconditions.checkGreater("n", permutationMap.length, 1);
         MathPreconditions.checkLessOrEqual("n", permutationMap.length, maxN);
         n = permutationMap.length;
-        benesNetwork = BenesNetworkFactory.createInstance(envType, permutationMap);
+        benesNetwork = BenesNetworkFactory.createInstance(envType, permutationMap, parallel);
         level = benesNetwork.getLevel();
         width = benesNetwork.getWidth();
         switchNum = level * width;
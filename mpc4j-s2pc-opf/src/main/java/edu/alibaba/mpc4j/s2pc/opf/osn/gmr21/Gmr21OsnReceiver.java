@@ -103,10 +103,10 @@ public class Gmr21OsnReceiver extends AbstractOsnReceiver {
 
         stopWatch.start();
         List<byte[]> inputCorrectionPayload = receiveOtherPartyPayload(PtoStep.SENDER_SEND_INPUT_CORRECTIONS.ordinal());
+        // 直接置换接收到的输入修正值引用，再与交换门关联值求异或
         Vector<byte[]> res = BenesNetworkUtils.permutation(permutationMap, new Vector<>(inputCorrectionPayload));
-        for(int i = 0; i < n; i++){
-            BytesUtils.xori(res.get(i), receiverShareVector[i]);
-        }
+        IntStream resIntStream = parallel ? IntStream.range(0, n).parallel() : IntStream.range(0, n);
+        resIntStream.forEach(i -> BytesUtils.xori(res.get(i), receiverShareVector[i]));
         OsnPartyOutput receiverOutput = new OsnPartyOutput(byteLength, res);
         receiverShareVector = null;
         benesNetwork = null;
@@ -184,7 +184,7 @@ public class Gmr21OsnReceiver extends AbstractOsnReceiver {
             for (int i = 0; i < subN - 1; i += 2) {
                 // 输入导线遮蔽值
                 int widthIndex = permIndex + i / 2;
-                int leftS = benesNetwork.getNetworkLevel(levelIndex)[widthIndex] ? 1 : 0;
+                int leftS = benesNetwork.getSwitch(levelIndex, widthIndex) ? 1 : 0;
                 byte[] inputMask0 = subShareInputs[i];
                 byte[] inputMask1 = subShareInputs[i + 1];
                 // 计算输出导线遮蔽值，左侧Benes网络要交换输出导线的位置
@@ -235,7 +235,7 @@ public class Gmr21OsnReceiver extends AbstractOsnReceiver {
             for (int i = 0; i < subN - 1; i += 2) {
                 int rightLevelIndex = levelIndex + subLevel - 1;
                 int widthIndex = permIndex + i / 2;
-                int rightS = benesNetwork.getNetworkLevel(rightLevelIndex)[widthIndex] ? 1 : 0;
+                int rightS = benesNetwork.getSwitch(rightLevelIndex, widthIndex) ? 1 : 0;
                 for (int j = 0; j < 2; j++) {
                     int x = rightCycleShift((i | j) ^ rightS, subLogN);
                     if (x < subN / 2) {
@@ -264,7 +264,7 @@ public class Gmr21OsnReceiver extends AbstractOsnReceiver {
                                               byte[][][] corrections) {
         // 输出导线遮蔽值
         int singleLevelIndex = (subLogN == 1) ? levelIndex : levelIndex + 1;
-        int s = benesNetwork.getNetworkLevel(singleLevelIndex)[permIndex] ? 1 : 0;
+        int s = benesNetwork.getSwitch(singleLevelIndex, permIndex) ? 1 : 0;
         // 输入导线遮蔽值
         byte[] inputMask0 = subShareInputs[s];
         byte[] inputMask1 = subShareInputs[1 - s];
@@ -278,7 +278,7 @@ public class Gmr21OsnReceiver extends AbstractOsnReceiver {
     private void handleTripleSwitchCorrection(int levelIndex, int permIndex, byte[][] subShareInputs,
                                               byte[][][] corrections) {
         // 第一组输出导线遮蔽值
-        int s0 = benesNetwork.getNetworkLevel(levelIndex)[permIndex] ? 1 : 0;
+        int s0 = benesNetwork.getSwitch(levelIndex, permIndex) ? 1 : 0;
         // 第一组输入导线遮蔽值
         byte[] inputMask00 = subShareInputs[s0];
         byte[] inputMask01 = subShareInputs[1 - s0];
@@ -290,7 +290,7 @@ public class Gmr21OsnReceiver extends AbstractOsnReceiver {
 
         // 第二组输出导线遮蔽值
         int levelIndex1 = levelIndex + 1;
-        int s1 = benesNetwork.getNetworkLevel(levelIndex1)[permIndex] ? 1 : 0;
+        int s1 = benesNetwork.getSwitch(levelIndex1, permIndex) ? 1 : 0;
         // 第二组输入导线遮蔽值
         byte[] inputMask10 = subShareInputs[1 + s1];
         byte[] inputMask11 = subShareInputs[2 - s1];
@@ -302,7 +302,7 @@ public class Gmr21OsnReceiver extends AbstractOsnReceiver {
 
         // 第三组输出导线遮蔽值
         int levelIndex2 = levelIndex + 2;
-        int s2 = benesNetwork.getNetworkLevel(levelIndex2)[permIndex] ? 1 : 0;
+        int s2 = benesNetwork.getSwitch(levelIndex2, permIndex) ? 1 : 0;
         byte[][] outputMasks2 = getOutputMasks(levelIndex2, permIndex, corrections);
         // 第三组输入导线遮蔽值
         byte[] inputMask20 = subShareInputs[s2];
@@ -316,7 +316,7 @@ public class Gmr21OsnReceiver extends AbstractOsnReceiver {
     private byte[][] getOutputMasks(int levelIndex, int widthIndex, byte[][][] corrections) {
         byte[] choiceMessage = corrections[levelIndex][widthIndex];
         byte[][] outputMasks = new byte[2][byteLength];
-        if (benesNetwork.getNetworkLevel(levelIndex)[widthIndex]) {
+        if (benesNetwork.getSwitch(levelIndex, widthIndex)) {
             System.arraycopy(choiceMessage, 0, outputMasks[0], 0, byteLength);
             System.arraycopy(choiceMessage, byteLength, outputMasks[1], 0, byteLength);
             BytesUtils.xori(outputMasks[0], switchWireMask0s[levelIndex][widthIndex]);
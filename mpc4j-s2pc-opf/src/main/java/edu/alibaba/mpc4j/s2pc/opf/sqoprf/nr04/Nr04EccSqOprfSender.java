@@ -18,6 +18,7 @@ import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfKey;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
+import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -154,7 +155,7 @@ public class Nr04EccSqOprfSender extends AbstractSqOprfSender {
         r1Array = new BigInteger[batchSize][CommonConstants.BLOCK_BIT_LENGTH];
         IntStream maxBatchIntStream = IntStream.range(0, maxBatchSize);
         maxBatchIntStream = parallel ? maxBatchIntStream.parallel() : maxBatchIntStream;
-        return maxBatchIntStream
+        BigInteger[] riInvs = maxBatchIntStream
             .mapToObj(i -> {
                 BigInteger ri = BigInteger.ONE;
                 for (int j = 0; j < CommonConstants.BLOCK_BIT_LENGTH; j++) {
@@ -165,8 +166,10 @@ public class Nr04EccSqOprfSender extends AbstractSqOprfSender {
                 }
                 return zp.inv(ri);
             })
-            .map(riInv -> ecc.encode(ecc.multiply(ecc.getG(), riInv), compressEncode))
-            .collect(Collectors.toList());
+            .toArray(BigInteger[]::new);
+        // g^{r_i^{-1}}, batch multiplication
+        ECPoint[] grInvs = ecc.multiply(ecc.getG(), riInvs, parallel);
+        return Arrays.stream(ecc.encode(grInvs, compressEncode, parallel)).collect(Collectors.toList());
     }
 
 
@@ -8,7 +8,9 @@ import edu.alibaba.mpc4j.common.tool.crypto.ecc.EccFactory;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.AbstractSqOprfSender;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfKey;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.ra17.Ra17EccSqOprfPtoDesc.PtoStep;
+import org.bouncycastle.math.ec.ECPoint;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -91,13 +93,11 @@ public class Ra17EccSqOprfSender extends AbstractSqOprfSender {
         MpcAbortPreconditions.checkArgument(blindPayload.size() == batchSize);
         Stream<byte[]> blindStream = blindPayload.stream();
         blindStream = parallel ? blindStream.parallel() : blindStream;
-        return blindStream
-            // decode H(m_c)^β
-            .map(ecc::decode)
-            // compute H(m_c)^βα
-            .map(element -> ecc.multiply(element, ra17EccSqOprfKey.getAlpha()))
-            // encode
-            .map(element -> ecc.encode(element, compressEncode))
-            .collect(Collectors.toList());
+        // decode H(m_c)^β
+        ECPoint[] elements = blindStream.map(ecc::decode).toArray(ECPoint[]::new);
+        // compute H(m_c)^βα, batch multiplication
+        ECPoint[] prfs = ecc.multiply(elements, ra17EccSqOprfKey.getAlpha(), parallel);
+        // encode, batch normalization is done in the encoding
+        return Arrays.stream(ecc.encode(prfs, compressEncode, parallel)).collect(Collectors.toList());
     }
 }
@@ -57,6 +57,8 @@ public class MqRmptTest extends AbstractTwoPartyPtoTest {
             new Czz22ByteEccCwMqRpmtConfig.Builder().build(),
         });
 
+        configurations.stream().filter(c -> c[1] instanceof edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig)
+            .forEach(c -> ((edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig) c[1]).setEnvType(edu.alibaba.mpc4j.common.tool.EnvType.STANDARD_JDK));
         return configurations;
     }
 
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.s2pc.opf.opprf.batch;
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.test.AbstractTwoPartyPtoTest;
 import edu.alibaba.mpc4j.crypto.matrix.okve.dokvs.gf2e.Gf2eDokvsFactory.Gf2eDokvsType;
+import edu.alibaba.mpc4j.crypto.matrix.okve.dokvs.gf2k.Gf2kDokvsFactory.Gf2kDokvsType;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.s2pc.opf.opprf.OpprfTestUtils;
@@ -86,6 +87,19 @@ public class BopprfTest extends AbstractTwoPartyPtoTest {
             BopprfType.OKVS.name() + "(" + Gf2eDokvsType.MEGA_BIN + ")",
             new OkvsBopprfConfig.Builder().setOkvsType(Gf2eDokvsType.MEGA_BIN).build(),
         });
+        configurations.add(new Object[]{
+            BopprfType.OKVS.name() + "(" + Gf2eDokvsType.RANDOM_BAND + ", " + OprfType.RS21.name() + ")",
+            new OkvsBopprfConfig.Builder()
+                .setOkvsType(Gf2eDokvsType.RANDOM_BAND)
+                .setOprfConfig(new Rs21MpOprfConfig.Builder(SecurityModel.SEMI_HONEST)
+                    .setOkvsType(Gf2kDokvsType.BINARY_RANDOM_BAND)
+                    .build())
+                .build(),
+        });
+        configurations.add(new Object[]{
+            BopprfType.OKVS.name() + "(" + Gf2eDokvsType.RANDOM_BAND + ")",
+            new OkvsBopprfConfig.Builder().setOkvsType(Gf2eDokvsType.RANDOM_BAND).build(),
+        });
 
         return configurations;
     }
@@ -167,6 +167,12 @@ public class MpOprfTest extends AbstractTwoPartyPtoTest {
             byte[] senderPrf = senderOutput.getPrf(input);
             Assert.assertArrayEquals(senderPrf, receiverPrf);
         });
+        // batched PRFs should be the same as single PRFs
+        byte[][] inputs = IntStream.range(0, n).mapToObj(receiverOutput::getInput).toArray(byte[][]::new);
+        byte[][] senderPrfs = senderOutput.getPrfs(inputs, true);
+        IntStream.range(0, n).forEach(index ->
+            Assert.assertArrayEquals(receiverOutput.getPrf(index), senderPrfs[index])
+        );
         // all PRFs should be distinct
         long distinctCount = IntStream.range(0, n)
             .mapToObj(receiverOutput::getPrf)
@@ -0,0 +1,220 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.*;
+
+/**
+ * asynchronous refill buffer. Rounds of outputs are generated by a dedicated background thread, and the buffer is kept
+ * between the low watermark and the high watermark: after each take, if the num of buffered and scheduled outputs is
+ * less than the low watermark, rounds are scheduled until the num reaches the high watermark. A take only blocks when
+ * the buffered outputs are not enough.
+ * <p>
+ * The round generator runs a sub-protocol, so the two parties must schedule the same rounds in the same order.
+ * Scheduling only depends on the init inputs and the sequence of taken nums (not on timing), so this holds as long
+ * as both parties take the same nums. Rounds run sequentially in the background thread, and the sub-protocol has its
+ * own encode task ID, so its packets do not interfere with packets of the caller.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/11/30
+ */
+public class AsyncRefillBuffer<T extends MergedPcgPartyOutput> {
+    /**
+     * round generator.
+     */
+    @FunctionalInterface
+    public interface RoundGenerator<T> {
+        /**
+         * Generates one round of outputs.
+         *
+         * @return one round of outputs.
+         * @throws MpcAbortException the protocol failure aborts.
+         */
+        T generate() throws MpcAbortException;
+    }
+
+    /**
+     * round generator
+     */
+    private final RoundGenerator<T> roundGenerator;
+    /**
+     * num per round
+     */
+    private final int roundNum;
+    /**
+     * low watermark
+     */
+    private final long lowWatermark;
+    /**
+     * high watermark
+     */
+    private final long highWatermark;
+    /**
+     * background executor
+     */
+    private final ExecutorService executorService;
+    /**
+     * scheduled rounds, in the order of scheduling
+     */
+    private final Deque<Future<T>> pendingRounds;
+    /**
+     * buffer
+     */
+    private final T buffer;
+    /**
+     * total stall time in nanoseconds
+     */
+    private long stallNanoTime;
+    /**
+     * num of stalled takes
+     */
+    private long stallNum;
+
+    /**
+     * Creates an asynchronous refill buffer.
+     *
+     * @param name           the name of the background thread.
+     * @param emptyBuffer    an empty output used as the buffer.
+     * @param roundNum       num per round.
+     * @param lowWatermark   low watermark.
+     * @param highWatermark  high watermark.
+     * @param roundGenerator round generator.
+     */
+    public AsyncRefillBuffer(String name, T emptyBuffer, int roundNum, long lowWatermark, long highWatermark,
+                             RoundGenerator<T> roundGenerator) {
+        MathPreconditions.checkEqual("buffer num", "0", emptyBuffer.getNum(), 0);
+        MathPreconditions.checkPositive("roundNum", roundNum);
+        MathPreconditions.checkNonNegative("lowWatermark", lowWatermark);
+        MathPreconditions.checkGreaterOrEqual("highWatermark", highWatermark, lowWatermark);
+        this.roundGenerator = roundGenerator;
+        this.roundNum = roundNum;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        pendingRounds = new ArrayDeque<>();
+        buffer = emptyBuffer;
+        stallNanoTime = 0L;
+        stallNum = 0L;
+    }
+
+    /**
+     * Schedules rounds until the num of buffered and scheduled outputs reaches the high watermark, if the num is less
+     * than the low watermark.
+     */
+    public void refill() {
+        if (getScheduledNum() < lowWatermark) {
+            while (getScheduledNum() < highWatermark) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Takes num outputs, blocks if the buffered outputs are not enough.
+     *
+     * @param num num.
+     * @return outputs.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public T take(int num) throws MpcAbortException {
+        MathPreconditions.checkPositive("num", num);
+        // move finished rounds into the buffer
+        while (!pendingRounds.isEmpty() && pendingRounds.peekFirst().isDone()) {
+            buffer.merge(get(pendingRounds.pollFirst()));
+        }
+        if (buffer.getNum() < num) {
+            // the buffer is drained, wait for scheduled rounds
+            while (getScheduledNum() < num) {
+                schedule();
+            }
+            long startNanoTime = System.nanoTime();
+            while (buffer.getNum() < num) {
+                buffer.merge(get(pendingRounds.pollFirst()));
+            }
+            stallNanoTime += System.nanoTime() - startNanoTime;
+            stallNum++;
+        }
+        @SuppressWarnings("unchecked")
+        T output = (T) buffer.split(num);
+        refill();
+        return output;
+    }
+
+    private void schedule() {
+        pendingRounds.addLast(executorService.submit(roundGenerator::generate));
+    }
+
+    private T get(Future<T> future) throws MpcAbortException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted when waiting for the background refill", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MpcAbortException) {
+                throw (MpcAbortException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to refill in background", e.getCause());
+        }
+    }
+
+    /**
+     * Gets the num of buffered outputs, i.e., outputs that can be taken without blocking.
+     *
+     * @return the num of buffered outputs.
+     */
+    public int getBufferNum() {
+        return buffer.getNum();
+    }
+
+    /**
+     * Gets the num of buffered and scheduled outputs.
+     *
+     * @return the num of buffered and scheduled outputs.
+     */
+    public long getScheduledNum() {
+        return (long) buffer.getNum() + (long) pendingRounds.size() * roundNum;
+    }
+
+    /**
+     * Gets the total time that takes are blocked.
+     *
+     * @param timeUnit time unit.
+     * @return the total stall time.
+     */
+    public long getStallTime(TimeUnit timeUnit) {
+        return timeUnit.convert(stallNanoTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the num of takes that are blocked.
+     *
+     * @return the num of stalled takes.
+     */
+    public long getStallNum() {
+        return stallNum;
+    }
+
+    /**
+     * Stops the background thread. The other party runs the same scheduled rounds, so we wait for scheduled rounds to
+     * finish instead of interrupting them, and then discard their outputs.
+     */
+    public void close() {
+        executorService.shutdown();
+        try {
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        pendingRounds.clear();
+    }
+}
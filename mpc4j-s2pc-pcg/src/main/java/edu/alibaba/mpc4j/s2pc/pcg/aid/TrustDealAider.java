@@ -8,35 +8,108 @@ import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.ZlFactory;
-import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealPtoDesc.AidPtoStep;
 
-import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 
 /**
- * trust deal aider.
+ * trust deal aider. The aider dispatches packets from all tasks (identified by encode task IDs) in one loop, and
+ * generates / sends request responses on a worker pool, so that one aider can serve several two-party sessions
+ * concurrently. After responding a request with extra info e and num n, the aider pre-generates the response for the
+ * request (e + 1, n) of the same task, which is the next request if the parties keep requesting the same num.
  *
  * @author Weiran Liu
  * @date 2023/5/19
  */
 public class TrustDealAider extends AbstractThreePartyPto {
     /**
-     * encoded task ID -> param
+     * waiting time for receiving a packet, after which failures of submitted responses are checked
      */
-    private final Map<Long, Object> encodeTaskIdParamMap;
+    private static final long RECEIVE_CHECK_MILLI_SECOND = 100;
     /**
-     * encode task ID -> type
+     * maximal waiting time for each submitted response when the aider finishes
      */
-    private final Map<Long, TrustDealType> encodeTaskIdTypeMap;
+    private static final long RESPONSE_TIMEOUT_MILLI_SECOND = TimeUnit.MINUTES.toMillis(1);
+    /**
+     * config
+     */
+    private final TrustDealConfig config;
+    /**
+     * encoded task ID -> task state
+     */
+    private final Map<Long, TaskState> encodeTaskIdStateMap;
+    /**
+     * received packets whose matching packets from the other party have not yet been received
+     */
+    private final Map<DataPacketHeader, DataPacket> pendingDataPacketMap;
+    /**
+     * send lock, rpc send is not guaranteed to be thread-safe
+     */
+    private final Object sendLock;
+    /**
+     * worker pool
+     */
+    private ExecutorService executorService;
+    /**
+     * submitted responses that have not been checked
+     */
+    private final Queue<Future<?>> responseFutures;
+
+    /**
+     * task state.
+     */
+    private static class TaskState {
+        /**
+         * type
+         */
+        private final TrustDealType trustDealType;
+        /**
+         * Zl instance, only for Zl triple
+         */
+        private final Zl zl;
+        /**
+         * left seed, null in the full mode
+         */
+        private final byte[] leftSeed;
+        /**
+         * right seed, null in the full mode
+         */
+        private final byte[] rightSeed;
+        /**
+         * extra info of the pre-generated response
+         */
+        private long pregenerateExtraInfo;
+        /**
+         * num of the pre-generated response
+         */
+        private int pregenerateNum;
+        /**
+         * pre-generated response
+         */
+        private FutureTask<List<byte[]>[]> pregenerateTask;
+
+        private TaskState(TrustDealType trustDealType, Zl zl, byte[] leftSeed, byte[] rightSeed) {
+            this.trustDealType = trustDealType;
+            this.zl = zl;
+            this.leftSeed = leftSeed;
+            this.rightSeed = rightSeed;
+        }
+    }
 
     public TrustDealAider(Rpc aiderRpc, Party leftParty, Party rightParty) {
-        super(TrustDealPtoDesc.getInstance(), aiderRpc, leftParty, rightParty, new TrustDealConfig.Builder().build());
-        encodeTaskIdParamMap = new HashMap<>(1);
-        encodeTaskIdTypeMap = new HashMap<>(1);
+        this(aiderRpc, leftParty, rightParty, new TrustDealConfig.Builder().build());
+    }
+
+    public TrustDealAider(Rpc aiderRpc, Party leftParty, Party rightParty, TrustDealConfig config) {
+        super(TrustDealPtoDesc.getInstance(), aiderRpc, leftParty, rightParty, config);
+        this.config = config;
+        encodeTaskIdStateMap = new ConcurrentHashMap<>(1);
+        pendingDataPacketMap = new HashMap<>(1);
+        sendLock = new Object();
+        responseFutures = new LinkedList<>();
     }
 
     /**
@@ -58,62 +131,118 @@ public class TrustDealAider extends AbstractThreePartyPto {
      */
     public void aid() throws MpcAbortException {
         logPhaseInfo(PtoState.PTO_BEGIN);
-        boolean run = true;
-        while (run) {
-            // receive any packet
-            DataPacket dataPacket = rpc.receiveAny();
-            DataPacketHeader header = dataPacket.getHeader();
-            // verify protocol ID
-            MpcAbortPreconditions.checkArgument(header.getPtoId() == getPtoDesc().getPtoId());
-            AidPtoStep aidPtoStep = AidPtoStep.values()[header.getStepId()];
-            switch (aidPtoStep) {
-                case INIT_QUERY:
-                    stopWatch.start();
-                    initResponse(dataPacket);
-                    stopWatch.stop();
-                    long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                    stopWatch.reset();
-                    logStepInfo(PtoState.PTO_STEP, 1, 3, initTime);
-                    break;
-                case REQUEST_QUERY:
-                    stopWatch.start();
-                    requestResponse(dataPacket);
-                    stopWatch.stop();
-                    long responseTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                    stopWatch.reset();
-                    logStepInfo(PtoState.PTO_STEP, 2, 3, responseTime);
-                    break;
-                case DESTROY_QUERY:
-                    stopWatch.start();
-                    destroyResponse(dataPacket);
-                    stopWatch.stop();
-                    long destroyTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                    stopWatch.reset();
-                    logStepInfo(PtoState.PTO_STEP, 3, 3, destroyTime);
-                    break;
-                default:
-                    throw new MpcAbortException("Invalid " + AidPtoStep.class.getSimpleName() + ": " + aidPtoStep);
+        int threadNum = parallel ? Runtime.getRuntime().availableProcessors() : 1;
+        executorService = Executors.newFixedThreadPool(threadNum);
+        try {
+            boolean run = true;
+            while (run) {
+                // receive any packet
+                DataPacket thisDataPacket = receiveAny();
+                DataPacketHeader thisHeader = thisDataPacket.getHeader();
+                // verify protocol ID
+                MpcAbortPreconditions.checkArgument(thisHeader.getPtoId() == getPtoDesc().getPtoId());
+                MpcAbortPreconditions.checkArgument(thisHeader.getStepId() < AidPtoStep.values().length);
+                AidPtoStep aidPtoStep = AidPtoStep.values()[thisHeader.getStepId()];
+                // find the matching packet from that party, otherwise wait for it
+                int thisId = thisHeader.getSenderId();
+                int thatId = (thisId == leftParty().getPartyId() ? rightParty().getPartyId() : leftParty().getPartyId());
+                DataPacketHeader thatHeader = new DataPacketHeader(
+                    thisHeader.getEncodeTaskId(), thisHeader.getPtoId(), thisHeader.getStepId(), thisHeader.getExtraInfo(),
+                    thatId, ownParty().getPartyId()
+                );
+                DataPacket thatDataPacket = pendingDataPacketMap.remove(thatHeader);
+                if (thatDataPacket == null) {
+                    pendingDataPacketMap.put(thisHeader, thisDataPacket);
+                    continue;
+                }
+                switch (aidPtoStep) {
+                    case INIT_QUERY:
+                        stopWatch.start();
+                        initResponse(thisDataPacket, thatDataPacket);
+                        stopWatch.stop();
+                        long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                        stopWatch.reset();
+                        logStepInfo(PtoState.PTO_STEP, 1, 3, initTime);
+                        break;
+                    case REQUEST_QUERY:
+                        stopWatch.start();
+                        requestResponse(thisDataPacket, thatDataPacket);
+                        stopWatch.stop();
+                        long responseTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                        stopWatch.reset();
+                        logStepInfo(PtoState.PTO_STEP, 2, 3, responseTime);
+                        break;
+                    case DESTROY_QUERY:
+                        stopWatch.start();
+                        destroyResponse(thisDataPacket, thatDataPacket);
+                        stopWatch.stop();
+                        long destroyTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                        stopWatch.reset();
+                        logStepInfo(PtoState.PTO_STEP, 3, 3, destroyTime);
+                        break;
+                    default:
+                        throw new MpcAbortException("Invalid " + AidPtoStep.class.getSimpleName() + ": " + aidPtoStep);
+                }
+                run = !(encodeTaskIdStateMap.isEmpty() && pendingDataPacketMap.isEmpty());
+            }
+            // all tasks are destroyed, the remaining responses must finish
+            while (!responseFutures.isEmpty()) {
+                checkResponseFuture(responseFutures.poll(), RESPONSE_TIMEOUT_MILLI_SECOND);
             }
-            run = (encodeTaskIdParamMap.size() != 0);
+        } finally {
+            responseFutures.clear();
+            executorService.shutdown();
+            try {
+                executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executorService = null;
         }
         logPhaseInfo(PtoState.PTO_END);
     }
 
-    private void initResponse(DataPacket thisInitDataPacket) throws MpcAbortException {
+    /**
+     * Receives any packet. While waiting, failures of submitted responses are checked and rethrown, otherwise the
+     * parties (and the aider) would wait for a response that never comes.
+     *
+     * @return a packet.
+     */
+    private DataPacket receiveAny() {
+        while (true) {
+            while (!responseFutures.isEmpty() && responseFutures.peek().isDone()) {
+                checkResponseFuture(responseFutures.poll(), 0);
+            }
+            try {
+                return rpc.receiveAny(RECEIVE_CHECK_MILLI_SECOND);
+            } catch (MpcAbortException e) {
+                // no packet arrives in this round, unless the thread is interrupted
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Interrupted while waiting for packets", e);
+                }
+            }
+        }
+    }
+
+    private void checkResponseFuture(Future<?> responseFuture, long timeoutMillis) {
+        try {
+            responseFuture.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the response", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to generate or send the response", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timeout (" + timeoutMillis + " ms) waiting for the response", e);
+        }
+    }
+
+    private void initResponse(DataPacket thisInitDataPacket, DataPacket thatInitDataPacket) throws MpcAbortException {
         DataPacketHeader thisInitHeader = thisInitDataPacket.getHeader();
         long initEncodeTaskId = thisInitHeader.getEncodeTaskId();
-        int thisId = thisInitHeader.getSenderId();
-        int thatId = (thisId == leftParty().getPartyId() ? rightParty().getPartyId() : leftParty().getPartyId());
         long initExtraInfo = thisInitHeader.getExtraInfo();
         // check no-exist of encode task ID
-        MpcAbortPreconditions.checkArgument(!encodeTaskIdParamMap.containsKey(initEncodeTaskId));
-        MpcAbortPreconditions.checkArgument(!encodeTaskIdParamMap.containsKey(initEncodeTaskId));
-        // receive init query from that party
-        DataPacketHeader thatInitHeader = new DataPacketHeader(
-            initEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.INIT_QUERY.ordinal(), initExtraInfo,
-            thatId, ownParty().getPartyId()
-        );
-        DataPacket thatInitDataPacket = rpc.receive(thatInitHeader);
+        MpcAbortPreconditions.checkArgument(!encodeTaskIdStateMap.containsKey(initEncodeTaskId));
         // read the config
         List<byte[]> thisInitPayload = thisInitDataPacket.getPayload();
         List<byte[]> thatInitPayload = thatInitDataPacket.getPayload();
@@ -122,12 +251,13 @@ public class TrustDealAider extends AbstractThreePartyPto {
         int thisTypeIndex = IntUtils.byteArrayToInt(thisInitPayload.get(0));
         int thatTypeIndex = IntUtils.byteArrayToInt(thatInitPayload.get(0));
         MpcAbortPreconditions.checkArgument(thisTypeIndex == thatTypeIndex);
+        MpcAbortPreconditions.checkArgument(thatTypeIndex >= 0 && thatTypeIndex < TrustDealType.values().length);
         TrustDealType trustDealType = TrustDealType.values()[thatTypeIndex];
-        encodeTaskIdTypeMap.put(initEncodeTaskId, trustDealType);
+        Zl zl;
         switch (trustDealType) {
             case Z2_TRIPLE:
                 // Z2 triple, no config
-                encodeTaskIdParamMap.put(initEncodeTaskId, new Object());
+                zl = null;
                 break;
             case ZL_TRIPLE:
                 // Zl triple, read l
@@ -136,64 +266,94 @@ public class TrustDealAider extends AbstractThreePartyPto {
                 int thisL = IntUtils.byteArrayToInt(thisInitPayload.get(1));
                 int thatL = IntUtils.byteArrayToInt(thatInitPayload.get(1));
                 MpcAbortPreconditions.checkArgument(thisL == thatL);
-                encodeTaskIdParamMap.put(initEncodeTaskId, ZlFactory.createInstance(envType, thisL));
+                zl = ZlFactory.createInstance(envType, thisL);
                 break;
             default:
                 throw new MpcAbortException("Invalid " + TrustDealType.class.getSimpleName() + ": " + trustDealType.name());
         }
-        // response to the left party
-        DataPacketHeader leftResponseHeader = new DataPacketHeader(
-            initEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.INIT_RESPONSE.ordinal(), initExtraInfo,
-            ownParty().getPartyId(), leftParty().getPartyId()
-        );
-        rpc.send(DataPacket.fromByteArrayList(leftResponseHeader, new LinkedList<>()));
-        // response to the right party
-        DataPacketHeader rightResponseHeader = new DataPacketHeader(
-            initEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.INIT_RESPONSE.ordinal(), initExtraInfo,
-            ownParty().getPartyId(), rightParty().getPartyId()
-        );
-        rpc.send(DataPacket.fromByteArrayList(rightResponseHeader, new LinkedList<>()));
+        List<byte[]> leftResponsePayload = new LinkedList<>();
+        List<byte[]> rightResponsePayload = new LinkedList<>();
+        TaskState taskState;
+        if (config.isSeedCompressed()) {
+            byte[] leftSeed = new byte[TrustDealUtils.SEED_BYTE_LENGTH];
+            secureRandom.nextBytes(leftSeed);
+            byte[] rightSeed = new byte[TrustDealUtils.SEED_BYTE_LENGTH];
+            secureRandom.nextBytes(rightSeed);
+            leftResponsePayload.add(leftSeed);
+            rightResponsePayload.add(rightSeed);
+            taskState = new TaskState(trustDealType, zl, leftSeed, rightSeed);
+        } else {
+            taskState = new TaskState(trustDealType, zl, null, null);
+        }
+        encodeTaskIdStateMap.put(initEncodeTaskId, taskState);
+        send(initEncodeTaskId, AidPtoStep.INIT_RESPONSE, initExtraInfo, leftResponsePayload, rightResponsePayload);
     }
 
-    private void requestResponse(DataPacket thisRequestDataPacket) throws MpcAbortException {
+    private void requestResponse(DataPacket thisRequestDataPacket, DataPacket thatRequestDataPacket)
+        throws MpcAbortException {
         DataPacketHeader thisRequestHeader = thisRequestDataPacket.getHeader();
         long requestEncodeTaskId = thisRequestHeader.getEncodeTaskId();
-        int thisId = thisRequestHeader.getSenderId();
-        int thatId = (thisId == leftParty().getPartyId() ? rightParty().getPartyId() : leftParty().getPartyId());
         long requestExtraInfo = thisRequestHeader.getExtraInfo();
         // check encode task ID
-        MpcAbortPreconditions.checkArgument(encodeTaskIdParamMap.containsKey(requestEncodeTaskId));
-        // receive request query from that party
-        DataPacketHeader thatRequestHeader = new DataPacketHeader(
-            requestEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.REQUEST_QUERY.ordinal(), requestExtraInfo,
-            thatId, ownParty().getPartyId()
-        );
-        DataPacket thatRequestDataPacket = rpc.receive(thatRequestHeader);
-        // parse and check type
+        MpcAbortPreconditions.checkArgument(encodeTaskIdStateMap.containsKey(requestEncodeTaskId));
+        // parse and check num
         List<byte[]> thisRequestPayload = thisRequestDataPacket.getPayload();
         List<byte[]> thatRequestPayload = thatRequestDataPacket.getPayload();
         MpcAbortPreconditions.checkArgument(thisRequestPayload.size() == 1);
         MpcAbortPreconditions.checkArgument(thatRequestPayload.size() == 1);
-        // read type
-        TrustDealType trustDealType = encodeTaskIdTypeMap.get(requestEncodeTaskId);
-        // read num
         int thisNum = IntUtils.byteArrayToInt(thisRequestPayload.get(0));
         int thatNum = IntUtils.byteArrayToInt(thatRequestPayload.get(0));
         MpcAbortPreconditions.checkArgument(thisNum == thatNum);
         MpcAbortPreconditions.checkArgument(thisNum > 0);
-        switch (trustDealType) {
+        TaskState taskState = encodeTaskIdStateMap.get(requestEncodeTaskId);
+        // take the pre-generated response if it matches the request
+        FutureTask<List<byte[]>[]> pregenerateTask = taskState.pregenerateTask;
+        if (pregenerateTask != null
+            && (taskState.pregenerateExtraInfo != requestExtraInfo || taskState.pregenerateNum != thisNum)) {
+            pregenerateTask.cancel(false);
+            pregenerateTask = null;
+        }
+        FutureTask<List<byte[]>[]> responseTask = pregenerateTask != null
+            ? pregenerateTask
+            : new FutureTask<>(() -> generateResponse(taskState, requestExtraInfo, thisNum));
+        responseFutures.add(executorService.submit(() -> {
+            // if the task has not been started by the worker pool, run it here. Otherwise, run() returns immediately.
+            responseTask.run();
+            List<byte[]>[] responsePayloads;
+            try {
+                responsePayloads = responseTask.get();
+            } catch (InterruptedException | ExecutionException | CancellationException e) {
+                responsePayloads = generateResponse(taskState, requestExtraInfo, thisNum);
+            }
+            send(requestEncodeTaskId, AidPtoStep.REQUEST_RESPONSE, requestExtraInfo,
+                responsePayloads[0], responsePayloads[1]
+            );
+        }));
+        // pre-generate the next response
+        long nextExtraInfo = requestExtraInfo + 1;
+        taskState.pregenerateExtraInfo = nextExtraInfo;
+        taskState.pregenerateNum = thisNum;
+        taskState.pregenerateTask = new FutureTask<>(() -> generateResponse(taskState, nextExtraInfo, thisNum));
+        executorService.submit(taskState.pregenerateTask);
+    }
+
+    private List<byte[]>[] generateResponse(TaskState taskState, long requestExtraInfo, int num) {
+        switch (taskState.trustDealType) {
             case Z2_TRIPLE:
-                z2TripleResponse(requestEncodeTaskId, requestExtraInfo, thisNum);
-                break;
+                return taskState.leftSeed == null
+                    ? z2TripleResponse(num) : z2TripleSeedResponse(taskState, requestExtraInfo, num);
             case ZL_TRIPLE:
-                zlTripleResponse(requestEncodeTaskId, requestExtraInfo, thisNum);
-                break;
+                return taskState.leftSeed == null
+                    ? zlTripleResponse(taskState.zl, num) : zlTripleSeedResponse(taskState, requestExtraInfo, num);
             default:
-                throw new MpcAbortException("Invalid " + TrustDealType.class.getSimpleName() + ": " + trustDealType.name());
+                throw new IllegalStateException(
+                    "Invalid " + TrustDealType.class.getSimpleName() + ": " + taskState.trustDealType.name()
+                );
         }
     }
 
-    private void z2TripleResponse(long requestEncodeTaskId, long requestExtraInfo, int num) {
+    @SuppressWarnings("unchecked")
+    private List<byte[]>[] z2TripleResponse(int num) {
         // generate Z2 triple
         BitVector aVector = BitVectorFactory.createRandom(num, secureRandom);
         BitVector bVector = BitVectorFactory.createRandom(num, secureRandom);
@@ -209,27 +369,31 @@ public class TrustDealAider extends AbstractThreePartyPto {
         leftResponsePayload.add(a0Vector.getBytes());
         leftResponsePayload.add(b0Vector.getBytes());
         leftResponsePayload.add(c0Vector.getBytes());
-        DataPacketHeader leftResponseHeader = new DataPacketHeader(
-            requestEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.REQUEST_RESPONSE.ordinal(), requestExtraInfo,
-            ownParty().getPartyId(), leftParty().getPartyId()
-        );
-        rpc.send(DataPacket.fromByteArrayList(leftResponseHeader, leftResponsePayload));
         // response to the right party
         List<byte[]> rightResponsePayload = new LinkedList<>();
         rightResponsePayload.add(a1Vector.getBytes());
         rightResponsePayload.add(b1Vector.getBytes());
         rightResponsePayload.add(c1Vector.getBytes());
-        DataPacketHeader rightResponseHeader = new DataPacketHeader(
-            requestEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.REQUEST_RESPONSE.ordinal(), requestExtraInfo,
-            ownParty().getPartyId(), rightParty().getPartyId()
-        );
-        rpc.send(DataPacket.fromByteArrayList(rightResponseHeader, rightResponsePayload));
+        return new List[]{leftResponsePayload, rightResponsePayload};
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<byte[]>[] z2TripleSeedResponse(TaskState taskState, long requestExtraInfo, int num) {
+        // the left party expands (a0, b0, c0), the right party expands (a1, b1), c1 = (a0 ⊕ a1)(b0 ⊕ b1) ⊕ c0
+        BitVector[] leftShares = TrustDealUtils.expandZ2Shares(envType, taskState.leftSeed, requestExtraInfo, num);
+        BitVector[] rightShares = TrustDealUtils.expandZ2Shares(envType, taskState.rightSeed, requestExtraInfo, num);
+        BitVector aVector = leftShares[0].xor(rightShares[0]);
+        BitVector bVector = leftShares[1].xor(rightShares[1]);
+        BitVector c1Vector = aVector.and(bVector);
+        c1Vector.xori(leftShares[2]);
+        List<byte[]> rightResponsePayload = new LinkedList<>();
+        rightResponsePayload.add(c1Vector.getBytes());
+        return new List[]{new LinkedList<>(), rightResponsePayload};
     }
 
-    private void zlTripleResponse(long requestEncodeTaskId, long requestExtraInfo, int num) {
+    @SuppressWarnings("unchecked")
+    private List<byte[]>[] zlTripleResponse(Zl zl, int num) {
         // generate Zl triple
-        Zl zl = (Zl) encodeTaskIdParamMap.get(requestEncodeTaskId);
-        int byteL = zl.getByteL();
         ZlVector aVector = ZlVector.createRandom(zl, num, secureRandom);
         ZlVector bVector = ZlVector.createRandom(zl, num, secureRandom);
         ZlVector cVector = aVector.mul(bVector);
@@ -240,82 +404,64 @@ public class TrustDealAider extends AbstractThreePartyPto {
         ZlVector c0Vector = ZlVector.createRandom(zl, num, secureRandom);
         ZlVector c1Vector = cVector.sub(c0Vector);
         // response to the left party
-        ByteBuffer a0ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            a0ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(a0Vector.getElement(index), byteL));
-        }
-        ByteBuffer b0ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            b0ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(b0Vector.getElement(index), byteL));
-        }
-        ByteBuffer c0ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            c0ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(c0Vector.getElement(index), byteL));
-        }
         List<byte[]> leftResponsePayload = new LinkedList<>();
-        leftResponsePayload.add(a0ByteBuffer.array());
-        leftResponsePayload.add(b0ByteBuffer.array());
-        leftResponsePayload.add(c0ByteBuffer.array());
-        DataPacketHeader leftResponseHeader = new DataPacketHeader(
-            requestEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.REQUEST_RESPONSE.ordinal(), requestExtraInfo,
-            ownParty().getPartyId(), leftParty().getPartyId()
-        );
-        rpc.send(DataPacket.fromByteArrayList(leftResponseHeader, leftResponsePayload));
+        leftResponsePayload.add(TrustDealUtils.packZlVector(a0Vector));
+        leftResponsePayload.add(TrustDealUtils.packZlVector(b0Vector));
+        leftResponsePayload.add(TrustDealUtils.packZlVector(c0Vector));
         // response to the right party
-        ByteBuffer a1ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            a1ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(a1Vector.getElement(index), byteL));
-        }
-        ByteBuffer b1ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            b1ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(b1Vector.getElement(index), byteL));
-        }
-        ByteBuffer c1ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            c1ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(c1Vector.getElement(index), byteL));
-        }
         List<byte[]> rightResponsePayload = new LinkedList<>();
-        rightResponsePayload.add(a1ByteBuffer.array());
-        rightResponsePayload.add(b1ByteBuffer.array());
-        rightResponsePayload.add(c1ByteBuffer.array());
-        DataPacketHeader rightResponseHeader = new DataPacketHeader(
-            requestEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.REQUEST_RESPONSE.ordinal(), requestExtraInfo,
-            ownParty().getPartyId(), rightParty().getPartyId()
-        );
-        rpc.send(DataPacket.fromByteArrayList(rightResponseHeader, rightResponsePayload));
+        rightResponsePayload.add(TrustDealUtils.packZlVector(a1Vector));
+        rightResponsePayload.add(TrustDealUtils.packZlVector(b1Vector));
+        rightResponsePayload.add(TrustDealUtils.packZlVector(c1Vector));
+        return new List[]{leftResponsePayload, rightResponsePayload};
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<byte[]>[] zlTripleSeedResponse(TaskState taskState, long requestExtraInfo, int num) {
+        // the left party expands (a0, b0, c0), the right party expands (a1, b1), c1 = (a0 + a1)(b0 + b1) - c0
+        Zl zl = taskState.zl;
+        ZlVector[] leftShares = TrustDealUtils.expandZlShares(envType, zl, taskState.leftSeed, requestExtraInfo, num);
+        ZlVector[] rightShares = TrustDealUtils.expandZlShares(envType, zl, taskState.rightSeed, requestExtraInfo, num);
+        ZlVector aVector = leftShares[0].add(rightShares[0]);
+        ZlVector bVector = leftShares[1].add(rightShares[1]);
+        ZlVector c1Vector = aVector.mul(bVector);
+        c1Vector.subi(leftShares[2]);
+        List<byte[]> rightResponsePayload = new LinkedList<>();
+        rightResponsePayload.add(TrustDealUtils.packZlVector(c1Vector));
+        return new List[]{new LinkedList<>(), rightResponsePayload};
     }
 
-    private void destroyResponse(DataPacket thisDataPacket) throws MpcAbortException {
+    private void destroyResponse(DataPacket thisDataPacket, DataPacket thatDataPacket) throws MpcAbortException {
         DataPacketHeader thisHeader = thisDataPacket.getHeader();
         long destroyEncodeTaskId = thisHeader.getEncodeTaskId();
-        int thisId = thisHeader.getSenderId();
-        int thatId = (thisId == leftParty().getPartyId() ? rightParty().getPartyId() : leftParty().getPartyId());
         long destroyExtraInfo = thisHeader.getExtraInfo();
         // check encode task ID
-        MpcAbortPreconditions.checkArgument(encodeTaskIdParamMap.containsKey(destroyEncodeTaskId));
-        MpcAbortPreconditions.checkArgument(encodeTaskIdTypeMap.containsKey(destroyEncodeTaskId));
-        // receive destroy query from that party
-        DataPacketHeader thatHeader = new DataPacketHeader(
-            destroyEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.DESTROY_QUERY.ordinal(), destroyExtraInfo,
-            thatId, ownParty().getPartyId()
-        );
-        DataPacket thatDataPacket = rpc.receive(thatHeader);
+        MpcAbortPreconditions.checkArgument(encodeTaskIdStateMap.containsKey(destroyEncodeTaskId));
         MpcAbortPreconditions.checkArgument(thisDataPacket.getPayload().size() == 0);
         MpcAbortPreconditions.checkArgument(thatDataPacket.getPayload().size() == 0);
-        // remove encode task ID from the set
-        encodeTaskIdParamMap.remove(destroyEncodeTaskId);
-        encodeTaskIdTypeMap.remove(destroyEncodeTaskId);
+        // remove encode task ID and cancel the pre-generated response
+        TaskState taskState = encodeTaskIdStateMap.remove(destroyEncodeTaskId);
+        if (taskState.pregenerateTask != null) {
+            taskState.pregenerateTask.cancel(false);
+        }
+        send(destroyEncodeTaskId, AidPtoStep.DESTROY_RESPONSE, destroyExtraInfo, new LinkedList<>(), new LinkedList<>());
+    }
+
+    private void send(long encodeTaskId, AidPtoStep aidPtoStep, long extraInfo,
+                      List<byte[]> leftResponsePayload, List<byte[]> rightResponsePayload) {
         // response to the left party
         DataPacketHeader leftResponseHeader = new DataPacketHeader(
-            destroyEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.DESTROY_RESPONSE.ordinal(), destroyExtraInfo,
+            encodeTaskId, getPtoDesc().getPtoId(), aidPtoStep.ordinal(), extraInfo,
             ownParty().getPartyId(), leftParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(leftResponseHeader, new LinkedList<>()));
         // response to the right party
         DataPacketHeader rightResponseHeader = new DataPacketHeader(
-            destroyEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.DESTROY_RESPONSE.ordinal(), destroyExtraInfo,
+            encodeTaskId, getPtoDesc().getPtoId(), aidPtoStep.ordinal(), extraInfo,
             ownParty().getPartyId(), rightParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(rightResponseHeader, new LinkedList<>()));
+        synchronized (sendLock) {
+            rpc.send(DataPacket.fromByteArrayList(leftResponseHeader, leftResponsePayload));
+            rpc.send(DataPacket.fromByteArrayList(rightResponseHeader, rightResponsePayload));
+        }
     }
 }
@@ -10,15 +10,34 @@ import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
  * @date 2023/5/19
  */
 public class TrustDealConfig extends AbstractMultiPartyPtoConfig {
+    /**
+     * seed-compressed mode. If true, the aider sends each party a seed in the init step. The left party expands all its
+     * shares from the seed, while the right party expands (a, b) from the seed and only receives the correction c.
+     */
+    private final boolean seedCompressed;
 
     TrustDealConfig(Builder builder) {
         super(SecurityModel.TRUSTED_DEALER);
+        seedCompressed = builder.seedCompressed;
+    }
+
+    public boolean isSeedCompressed() {
+        return seedCompressed;
     }
 
     public static class Builder implements org.apache.commons.lang3.builder.Builder<TrustDealConfig> {
+        /**
+         * seed-compressed mode
+         */
+        private boolean seedCompressed;
 
         public Builder() {
-            // empty
+            seedCompressed = true;
+        }
+
+        public Builder setSeedCompressed(boolean seedCompressed) {
+            this.seedCompressed = seedCompressed;
+            return this;
         }
 
         @Override
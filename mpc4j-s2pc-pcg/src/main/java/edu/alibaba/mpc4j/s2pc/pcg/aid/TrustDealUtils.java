@@ -0,0 +1,168 @@
+package edu.alibaba.mpc4j.s2pc.pcg.aid;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
+import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory.PrgType;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
+import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * trust deal utilities. In the seed-compressed mode, the aider sends each party a seed once per task. For the request
+ * with extra info e, the (a, b, c) shares are expanded by PRG(H(seed || e)), so that one party gets all its shares
+ * from the seed, and the other party gets (a, b) from the seed and receives only the correction share c.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/28
+ */
+public class TrustDealUtils {
+    /**
+     * private constructor.
+     */
+    private TrustDealUtils() {
+        // empty
+    }
+
+    /**
+     * seed byte length
+     */
+    public static final int SEED_BYTE_LENGTH = CommonConstants.BLOCK_BYTE_LENGTH;
+
+    /**
+     * Gets the CTR-mode PRG type for the environment.
+     *
+     * @param envType environment.
+     * @return CTR-mode PRG type.
+     */
+    private static PrgType getCtrPrgType(EnvType envType) {
+        switch (envType) {
+            case STANDARD:
+            case STANDARD_JDK:
+                return PrgType.JDK_AES_CTR;
+            case INLAND:
+            case INLAND_JDK:
+                return PrgType.BC_SM4_CTR;
+            default:
+                throw new IllegalArgumentException("Invalid " + EnvType.class.getSimpleName() + ": " + envType.name());
+        }
+    }
+
+    /**
+     * Expands three byte arrays from the seed and the extra info.
+     *
+     * @param envType    environment.
+     * @param seed       seed.
+     * @param extraInfo  extra info.
+     * @param byteLength byte length of each array.
+     * @return three byte arrays.
+     */
+    private static byte[][] expand(EnvType envType, byte[] seed, long extraInfo, int byteLength) {
+        assert seed.length == SEED_BYTE_LENGTH;
+        Hash hash = HashFactory.createInstance(envType, SEED_BYTE_LENGTH);
+        byte[] requestSeed = hash.digestToBytes(
+            ByteBuffer.allocate(SEED_BYTE_LENGTH + Long.BYTES).put(seed).put(LongUtils.longToByteArray(extraInfo)).array()
+        );
+        // the output can be long, so we use the CTR-mode PRG, which does not create one PRP for each output block
+        Prg prg = PrgFactory.createInstance(getCtrPrgType(envType), byteLength * 3);
+        byte[] randomness = prg.extendToBytes(requestSeed);
+        return IntStream.range(0, 3)
+            .mapToObj(index -> Arrays.copyOfRange(randomness, index * byteLength, (index + 1) * byteLength))
+            .toArray(byte[][]::new);
+    }
+
+    /**
+     * Expands Z2 shares (a, b, c) from the seed and the extra info.
+     *
+     * @param envType   environment.
+     * @param seed      seed.
+     * @param extraInfo extra info.
+     * @param num       num.
+     * @return Z2 shares (a, b, c).
+     */
+    public static BitVector[] expandZ2Shares(EnvType envType, byte[] seed, long extraInfo, int num) {
+        int byteNum = CommonUtils.getByteLength(num);
+        byte[][] randomness = expand(envType, seed, extraInfo, byteNum);
+        return Arrays.stream(randomness)
+            .map(bytes -> {
+                BytesUtils.reduceByteArray(bytes, num);
+                return BitVectorFactory.create(num, bytes);
+            })
+            .toArray(BitVector[]::new);
+    }
+
+    /**
+     * Expands Zl shares (a, b, c) from the seed and the extra info.
+     *
+     * @param envType   environment.
+     * @param zl        Zl instance.
+     * @param seed      seed.
+     * @param extraInfo extra info.
+     * @param num       num.
+     * @return Zl shares (a, b, c).
+     */
+    public static ZlVector[] expandZlShares(EnvType envType, Zl zl, byte[] seed, long extraInfo, int num) {
+        int byteL = zl.getByteL();
+        byte[][] randomness = expand(envType, seed, extraInfo, num * byteL);
+        return Arrays.stream(randomness)
+            .map(bytes -> {
+                BigInteger[] elements = IntStream.range(0, num)
+                    .mapToObj(index -> zl.module(BigIntegerUtils.byteArrayToNonNegBigInteger(
+                        Arrays.copyOfRange(bytes, index * byteL, (index + 1) * byteL)
+                    )))
+                    .toArray(BigInteger[]::new);
+                return ZlVector.create(zl, elements);
+            })
+            .toArray(ZlVector[]::new);
+    }
+
+    /**
+     * Packs the Zl vector into one byte array, each element takes byteL bytes.
+     *
+     * @param zlVector Zl vector.
+     * @return packed byte array.
+     */
+    public static byte[] packZlVector(ZlVector zlVector) {
+        int byteL = zlVector.getZl().getByteL();
+        int num = zlVector.getNum();
+        ByteBuffer byteBuffer = ByteBuffer.allocate(num * byteL);
+        for (int index = 0; index < num; index++) {
+            byteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(zlVector.getElement(index), byteL));
+        }
+        return byteBuffer.array();
+    }
+
+    /**
+     * Unpacks the byte array into Zl elements, each element takes byteL bytes.
+     *
+     * @param zl   Zl instance.
+     * @param data packed byte array.
+     * @param num  num.
+     * @return Zl elements.
+     */
+    public static BigInteger[] unpackZlElements(Zl zl, byte[] data, int num) {
+        int byteL = zl.getByteL();
+        assert data.length == num * byteL;
+        ByteBuffer byteBuffer = ByteBuffer.wrap(data);
+        byte[] byteBufferArray = new byte[byteL];
+        BigInteger[] elements = new BigInteger[num];
+        for (int index = 0; index < num; index++) {
+            byteBuffer.get(byteBufferArray);
+            elements[index] = BigIntegerUtils.byteArrayToNonNegBigInteger(byteBufferArray);
+        }
+        return elements;
+    }
+}
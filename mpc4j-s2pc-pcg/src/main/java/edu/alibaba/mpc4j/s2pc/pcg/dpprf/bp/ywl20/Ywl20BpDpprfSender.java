@@ -6,8 +6,7 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.ggm.GgmTreeExpander;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.bp.AbstractBpDpprfSender;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.bp.BpDpprfSenderOutput;
@@ -19,7 +18,6 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.CoreCotSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotSender;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -47,9 +45,13 @@ public class Ywl20BpDpprfSender extends AbstractBpDpprfSender {
      */
     private CotSenderOutput cotSenderOutput;
     /**
-     * the GGM trees. Each tree contains (l + 1)-level keys. The i-th level contains 2^i keys.
+     * GGM tree expander
      */
-    private ArrayList<ArrayList<byte[][]>> ggmTree;
+    private GgmTreeExpander ggmTreeExpander;
+    /**
+     * leaves of all GGM trees
+     */
+    private byte[] ggmLeaves;
     /**
      * K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i
      */
@@ -142,58 +144,24 @@ public class Ywl20BpDpprfSender extends AbstractBpDpprfSender {
     }
 
     private void generatePprfKeys() {
+        ggmTreeExpander = new GgmTreeExpander(envType, h, parallel);
+        // S picks a random s_0^0 ∈ {0, 1}^κ for each tree
+        byte[] s0s = new byte[batchNum * CommonConstants.BLOCK_BYTE_LENGTH];
+        secureRandom.nextBytes(s0s);
+        // For each i ∈ {1,...,h}, j ∈ [2^{i − 1}], S computes (s_{2j}^i, s_{2j + 1}^i) = G(s_j^{i - 1}).
+        // S then computes K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i and K_1^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + 1}^i
+        byte[] flatK0s = new byte[batchNum * h * CommonConstants.BLOCK_BYTE_LENGTH];
+        byte[] flatK1s = new byte[batchNum * h * CommonConstants.BLOCK_BYTE_LENGTH];
+        ggmLeaves = ggmTreeExpander.expand(s0s, batchNum, flatK0s, flatK1s);
         k0sArray = new byte[batchNum][h][];
         k1sArray = new byte[batchNum][h][];
-        Prg prg = PrgFactory.createInstance(envType, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
-        IntStream batchIndexIntStream = IntStream.range(0, batchNum);
-        batchIndexIntStream = parallel ? batchIndexIntStream.parallel() : batchIndexIntStream;
-        ggmTree = batchIndexIntStream
-            .mapToObj(batchIndex -> {
-                ArrayList<byte[][]> treeKeys = new ArrayList<>(h + 1);
-                // S picks a random s_0^0 ∈ {0, 1}^κ
-                byte[][] s0 = new byte[1][CommonConstants.BLOCK_BYTE_LENGTH];
-                secureRandom.nextBytes(s0[0]);
-                // 把s0作为第0项，从而方便后续迭代
-                treeKeys.add(s0);
-                // For each i ∈ {1,...,h}, j ∈ [2^{i − 1}], S computes (s_{2j}^i, s_{2j + 1}^i) = G(s_j^{i - 1})
-                for (int i = 1; i <= h; i++) {
-                    byte[][] lowLevelSeeds = treeKeys.get(i - 1);
-                    byte[][] currentLevelSeeds = new byte[1 << i][];
-                    for (int j = 0; j < (1 << (i - 1)); j++) {
-                        byte[] extendSeeds = prg.extendToBytes(lowLevelSeeds[j]);
-                        currentLevelSeeds[2 * j] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                        System.arraycopy(
-                            extendSeeds, 0,
-                            currentLevelSeeds[2 * j], 0,
-                            CommonConstants.BLOCK_BYTE_LENGTH
-                        );
-                        currentLevelSeeds[2 * j + 1] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                        System.arraycopy(
-                            extendSeeds, CommonConstants.BLOCK_BYTE_LENGTH,
-                            currentLevelSeeds[2 * j + 1], 0,
-                            CommonConstants.BLOCK_BYTE_LENGTH
-                        );
-                    }
-                    treeKeys.add(currentLevelSeeds);
-                }
-                // For each i ∈ {1,..., h}
-                for (int i = 1; i <= h; i++) {
-                    int hIndex = i - 1;
-                    byte[][] currentLevelSeeds = treeKeys.get(i);
-                    // S then computes K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i
-                    k0sArray[batchIndex][hIndex] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                    for (int j = 0; j < (1 << (i - 1)); j++) {
-                        BytesUtils.xori(k0sArray[batchIndex][hIndex], currentLevelSeeds[2 * j]);
-                    }
-                    // and K_1^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + 1}^i
-                    k1sArray[batchIndex][hIndex] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                    for (int j = 0; j < (1 << (i - 1)); j++) {
-                        BytesUtils.xori(k1sArray[batchIndex][hIndex], currentLevelSeeds[2 * j + 1]);
-                    }
-                }
-                return treeKeys;
-            })
-            .collect(Collectors.toCollection(ArrayList::new));
+        for (int batchIndex = 0; batchIndex < batchNum; batchIndex++) {
+            for (int hIndex = 0; hIndex < h; hIndex++) {
+                int offset = (batchIndex * h + hIndex) * CommonConstants.BLOCK_BYTE_LENGTH;
+                k0sArray[batchIndex][hIndex] = Arrays.copyOfRange(flatK0s, offset, offset + CommonConstants.BLOCK_BYTE_LENGTH);
+                k1sArray[batchIndex][hIndex] = Arrays.copyOfRange(flatK1s, offset, offset + CommonConstants.BLOCK_BYTE_LENGTH);
+            }
+        }
     }
 
     private List<byte[]> generateMessagePayload() {
@@ -225,19 +193,17 @@ public class Ywl20BpDpprfSender extends AbstractBpDpprfSender {
     }
 
     private BpDpprfSenderOutput generateSenderOutput() {
-        SpDpprfSenderOutput[] senderOutputs = IntStream.range(0, batchNum)
+        IntStream batchIndexIntStream = IntStream.range(0, batchNum);
+        batchIndexIntStream = parallel ? batchIndexIntStream.parallel() : batchIndexIntStream;
+        SpDpprfSenderOutput[] senderOutputs = batchIndexIntStream
             .mapToObj(batchIndex -> {
                 // number of key is 2^h, reduce the key num to alphaBound
-                byte[][] prfkeys = ggmTree.get(batchIndex).get(h);
-                if (alphaBound < (1 << h)) {
-                    byte[][] reducePrfKeys = new byte[alphaBound][];
-                    System.arraycopy(prfkeys, 0, reducePrfKeys, 0, alphaBound);
-                    prfkeys = reducePrfKeys;
-                }
-                return new SpDpprfSenderOutput(alphaBound, prfkeys);
+                byte[][] prfKeys = ggmTreeExpander.getLeaves(ggmLeaves, batchIndex, alphaBound);
+                return new SpDpprfSenderOutput(alphaBound, prfKeys);
             })
             .toArray(SpDpprfSenderOutput[]::new);
-        ggmTree = null;
+        ggmTreeExpander = null;
+        ggmLeaves = null;
         return new BpDpprfSenderOutput(senderOutputs);
     }
 }
@@ -5,8 +5,7 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.ggm.GgmTreeExpander;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.sp.AbstractSpDpprfReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.sp.SpDpprfReceiverOutput;
@@ -17,7 +16,6 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.CoreCotReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotReceiver;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -41,9 +39,9 @@ public class Ywl20SpDpprfReceiver extends AbstractSpDpprfReceiver {
      */
     private CotReceiverOutput cotReceiverOutput;
     /**
-     * the GGM tree. It contains (l + 1)-level keys. The i-th level contains 2^i keys.
+     * PPRF keys, i.e., the leaves of the GGM tree, the α-th key is null
      */
-    private ArrayList<byte[][]> ggmTree;
+    private byte[][] pprfKeys;
 
     public Ywl20SpDpprfReceiver(Rpc receiverRpc, Party senderParty, Ywl20SpDpprfConfig config) {
         super(Ywl20SpDpprfPtoDesc.getInstance(), receiverRpc, senderParty, config);
@@ -122,79 +120,33 @@ public class Ywl20SpDpprfReceiver extends AbstractSpDpprfReceiver {
         MpcAbortPreconditions.checkArgument(messagePayload.size() == 2 * h);
         byte[][] messages = messagePayload.toArray(new byte[0][]);
         Crhf crhf = CrhfFactory.createInstance(envType, CrhfFactory.CrhfType.MMO);
-        Prg prg = PrgFactory.createInstance(envType, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
-        ggmTree = new ArrayList<>(h + 1);
-        // place the level-0 key with an empty key
-        ggmTree.add(new byte[0][]);
-        int alphaPrefix = 0;
+        byte[] puncturedKeys = new byte[h * CommonConstants.BLOCK_BYTE_LENGTH];
         // For each i ∈ {1,...,h}
-        for (int i = 1; i <= h; i++) {
-            int hIndex = i - 1;
-            byte[][] currentLevelSeeds = new byte[1 << i][];
+        for (int hIndex = 0; hIndex < h; hIndex++) {
             // R defines an i-bit string α_i^* = α_1 ... α_{i − 1} β_i
-            boolean alphai = binaryAlpha[hIndex];
-            int alphaiInt = alphai ? 1 : 0;
             boolean betai = notBinaryAlpha[hIndex];
-            int betaiInt = betai ? 1 : 0;
             // Compute K_{β_i}^i = M_{β_i}^i ⊕ H(t_i, i || l)
-            byte[] kiNot = BytesUtils.clone(cotReceiverOutput.getRb(hIndex));
-            kiNot = crhf.hash(kiNot);
+            byte[] kiNot = crhf.hash(cotReceiverOutput.getRb(hIndex));
             if (betai) {
                 BytesUtils.xori(kiNot, messages[2 * hIndex + 1]);
             } else {
                 BytesUtils.xori(kiNot, messages[2 * hIndex]);
             }
-            if (i == 1) {
-                // If i = 1, define s_{β_i}^i = K_{β_i}^i
-                currentLevelSeeds[alphaiInt] = null;
-                currentLevelSeeds[betaiInt] = kiNot;
-            } else {
-                // If i ≥ 2
-                byte[][] lowLevelSeeds = ggmTree.get(i - 1);
-                // for j ∈ [2^i − 1], j ≠ α_1...α_{i − 1}, compute (s_{2j}^i, s_{2j + 1}^i = G(s_ja^{i - 1}).
-                for (int j = 0; j < (1 << (i - 1)); j++) {
-                    if (j != alphaPrefix) {
-                        byte[] extendSeeds = prg.extendToBytes(lowLevelSeeds[j]);
-                        currentLevelSeeds[2 * j] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                        System.arraycopy(
-                            extendSeeds, 0,
-                            currentLevelSeeds[2 * j], 0,
-                            CommonConstants.BLOCK_BYTE_LENGTH
-                        );
-                        currentLevelSeeds[2 * j + 1] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                        System.arraycopy(
-                            extendSeeds, CommonConstants.BLOCK_BYTE_LENGTH,
-                            currentLevelSeeds[2 * j + 1], 0,
-                            CommonConstants.BLOCK_BYTE_LENGTH
-                        );
-                    }
-                }
-                // compute the remaining seeds
-                int alphaStar = (alphaPrefix << 1) + betaiInt;
-                currentLevelSeeds[alphaStar] = kiNot;
-                for (int j = 0; j < (1 << (i - 1)); j++) {
-                    if (j != alphaPrefix) {
-                        BytesUtils.xori(currentLevelSeeds[alphaStar], currentLevelSeeds[2 * j + betaiInt]);
-                    }
-                }
-            }
-            // update α_1...α_{i − 1}
-            alphaPrefix = (alphaPrefix << 1) + alphaiInt;
-            ggmTree.add(currentLevelSeeds);
+            System.arraycopy(kiNot, 0, puncturedKeys, hIndex * CommonConstants.BLOCK_BYTE_LENGTH, CommonConstants.BLOCK_BYTE_LENGTH);
         }
+        // If i = 1, define s_{β_i}^i = K_{β_i}^i. If i ≥ 2, for j ∈ [2^i − 1], j ≠ α_1...α_{i − 1},
+        // compute (s_{2j}^i, s_{2j + 1}^i = G(s_ja^{i - 1}), and s_{α_i^*}^i = K_{β_i}^i ⊕ (⊕_{j ≠ α_1...α_{i − 1}} s_{2j + β_i}^i)
+        GgmTreeExpander ggmTreeExpander = new GgmTreeExpander(envType, h, parallel);
+        byte[] leaves = ggmTreeExpander.puncturedExpand(new int[]{alpha}, puncturedKeys);
+        // R sets w[i] = s_i^h for i ∈ [n] \ {α}
+        pprfKeys = ggmTreeExpander.getLeaves(leaves, 0, alphaBound);
+        pprfKeys[alpha] = null;
         cotReceiverOutput = null;
     }
 
     private SpDpprfReceiverOutput generateReceiverOutput() {
-        // R sets w[i] = s_i^h for i ∈ [n] \ {α}
-        byte[][] pprfKeys = ggmTree.get(h);
-        // number of key is 2^h, reduce the key num to alphaBound
-        if (alphaBound < (1 << h)) {
-            byte[][] reducePprfKeys = new byte[alphaBound][];
-            System.arraycopy(pprfKeys, 0, reducePprfKeys, 0, alphaBound);
-            pprfKeys = reducePprfKeys;
-        }
-        ggmTree = null;
-        return new SpDpprfReceiverOutput(alphaBound, alpha, pprfKeys);
+        SpDpprfReceiverOutput receiverOutput = new SpDpprfReceiverOutput(alphaBound, alpha, pprfKeys);
+        pprfKeys = null;
+        return receiverOutput;
     }
 }
@@ -6,8 +6,7 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.ggm.GgmTreeExpander;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.sp.AbstractSpDpprfSender;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.sp.SpDpprfSenderOutput;
@@ -43,9 +42,9 @@ public class Ywl20SpDpprfSender extends AbstractSpDpprfSender {
      */
     private CotSenderOutput cotSenderOutput;
     /**
-     * the GGM tree. It contains (l + 1)-level keys. The i-th level contains 2^i keys.
+     * PRF keys, i.e., the leaves of the GGM tree
      */
-    private ArrayList<byte[][]> ggmTree;
+    private byte[][] prfKeys;
     /**
      * K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i
      */
@@ -137,51 +136,26 @@ public class Ywl20SpDpprfSender extends AbstractSpDpprfSender {
     }
 
     private void generatePprfKeys() {
-        k0s = new byte[h][];
-        k1s = new byte[h][];
-        Prg prg = PrgFactory.createInstance(envType, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
-        ggmTree = new ArrayList<>(h + 1);
+        GgmTreeExpander ggmTreeExpander = new GgmTreeExpander(envType, h, parallel);
         // S picks a random s_0^0 ∈ {0, 1}^κ
-        byte[][] s0 = new byte[1][CommonConstants.BLOCK_BYTE_LENGTH];
-        secureRandom.nextBytes(s0[0]);
-        // adds s0 into level-0 GGM tree
-        ggmTree.add(s0);
-        // For each i ∈ {1,...,h}, j ∈ [2^{i − 1}], S computes (s_{2j}^i, s_{2j + 1}^i) = G(s_j^{i - 1})
-        for (int i = 1; i <= h; i++) {
-            byte[][] lowLevelSeeds = ggmTree.get(i - 1);
-            byte[][] currentLevelSeeds = new byte[1 << i][];
-            for (int j = 0; j < (1 << (i - 1)); j++) {
-                byte[] extendSeeds = prg.extendToBytes(lowLevelSeeds[j]);
-                currentLevelSeeds[2 * j] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                System.arraycopy(
-                    extendSeeds, 0,
-                    currentLevelSeeds[2 * j], 0,
-                    CommonConstants.BLOCK_BYTE_LENGTH
-                );
-                currentLevelSeeds[2 * j + 1] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                System.arraycopy(
-                    extendSeeds, CommonConstants.BLOCK_BYTE_LENGTH,
-                    currentLevelSeeds[2 * j + 1], 0,
-                    CommonConstants.BLOCK_BYTE_LENGTH
-                );
-            }
-            ggmTree.add(currentLevelSeeds);
-        }
-        // For each i ∈ {1,..., h}
-        for (int i = 1; i <= h; i++) {
-            int hIndex = i - 1;
-            byte[][] currentLevelSeeds = ggmTree.get(i);
-            // S then computes K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i
-            k0s[hIndex] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-            for (int j = 0; j < (1 << (i - 1)); j++) {
-                BytesUtils.xori(k0s[hIndex], currentLevelSeeds[2 * j]);
-            }
-            // and K_1^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + 1}^i
-            k1s[hIndex] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-            for (int j = 0; j < (1 << (i - 1)); j++) {
-                BytesUtils.xori(k1s[hIndex], currentLevelSeeds[2 * j + 1]);
-            }
-        }
+        byte[] s0 = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        secureRandom.nextBytes(s0);
+        // For each i ∈ {1,...,h}, j ∈ [2^{i − 1}], S computes (s_{2j}^i, s_{2j + 1}^i) = G(s_j^{i - 1}).
+        // S then computes K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i and K_1^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + 1}^i
+        byte[] flatK0s = new byte[h * CommonConstants.BLOCK_BYTE_LENGTH];
+        byte[] flatK1s = new byte[h * CommonConstants.BLOCK_BYTE_LENGTH];
+        byte[] leaves = ggmTreeExpander.expand(s0, 1, flatK0s, flatK1s);
+        k0s = IntStream.range(0, h)
+            .mapToObj(hIndex -> Arrays.copyOfRange(
+                flatK0s, hIndex * CommonConstants.BLOCK_BYTE_LENGTH, (hIndex + 1) * CommonConstants.BLOCK_BYTE_LENGTH
+            ))
+            .toArray(byte[][]::new);
+        k1s = IntStream.range(0, h)
+            .mapToObj(hIndex -> Arrays.copyOfRange(
+                flatK1s, hIndex * CommonConstants.BLOCK_BYTE_LENGTH, (hIndex + 1) * CommonConstants.BLOCK_BYTE_LENGTH
+            ))
+            .toArray(byte[][]::new);
+        prfKeys = ggmTreeExpander.getLeaves(leaves, 0, alphaBound);
     }
 
     private List<byte[]> generateMessagePayload() {
@@ -209,13 +183,8 @@ public class Ywl20SpDpprfSender extends AbstractSpDpprfSender {
     }
 
     private SpDpprfSenderOutput generateSenderOutput() {
-        byte[][] prfkeys = ggmTree.get(h);
-        if (alphaBound < (1 << h)) {
-            byte[][] reducePrfKeys = new byte[alphaBound][];
-            System.arraycopy(prfkeys, 0, reducePrfKeys, 0, alphaBound);
-            prfkeys = reducePrfKeys;
-        }
-        ggmTree = null;
-        return new SpDpprfSenderOutput(alphaBound, prfkeys);
+        SpDpprfSenderOutput senderOutput = new SpDpprfSenderOutput(alphaBound, prfKeys);
+        prfKeys = null;
+        return senderOutput;
     }
 }
@@ -14,6 +14,9 @@ import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.hardcode.HardcodeZ2MtgSender;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.offline.OfflineZ2MtgConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.offline.OfflineZ2MtgReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.offline.OfflineZ2MtgSender;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgSender;
 
 /**
  * Zl multiplication triple generator factory.
@@ -45,6 +48,10 @@ public class Z2MtgFactory implements PtoFactory {
          * hardcode
          */
         HARDCODE,
+        /**
+         * store
+         */
+        STORE,
     }
 
     /**
@@ -64,6 +71,8 @@ public class Z2MtgFactory implements PtoFactory {
                 return new CacheZ2MtgSender(senderRpc, receiverParty, (CacheZ2MtgConfig) config);
             case HARDCODE:
                 return new HardcodeZ2MtgSender(senderRpc, receiverParty, (HardcodeZ2MtgConfig) config);
+            case STORE:
+                return new StoreZ2MtgSender(senderRpc, receiverParty, (StoreZ2MtgConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + Z2MtgType.class.getSimpleName() + ": " + type.name());
         }
@@ -87,6 +96,8 @@ public class Z2MtgFactory implements PtoFactory {
                 return new CacheZ2MtgSender(senderRpc, receiverParty, aiderParty, (CacheZ2MtgConfig) config);
             case HARDCODE:
                 return new HardcodeZ2MtgSender(senderRpc, receiverParty, aiderParty, (HardcodeZ2MtgConfig) config);
+            case STORE:
+                return new StoreZ2MtgSender(senderRpc, receiverParty, aiderParty, (StoreZ2MtgConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + Z2MtgType.class.getSimpleName() + ": " + type.name());
         }
@@ -109,6 +120,8 @@ public class Z2MtgFactory implements PtoFactory {
                 return new CacheZ2MtgReceiver(receiverRpc, senderParty, (CacheZ2MtgConfig) config);
             case HARDCODE:
                 return new HardcodeZ2MtgReceiver(receiverRpc, senderParty, (HardcodeZ2MtgConfig) config);
+            case STORE:
+                return new StoreZ2MtgReceiver(receiverRpc, senderParty, (StoreZ2MtgConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + Z2MtgType.class.getSimpleName() + ": " + type.name());
         }
@@ -131,6 +144,8 @@ public class Z2MtgFactory implements PtoFactory {
                 return new CacheZ2MtgReceiver(receiverRpc, senderParty, aiderParty, (CacheZ2MtgConfig) config);
             case HARDCODE:
                 return new HardcodeZ2MtgReceiver(receiverRpc, senderParty, aiderParty, (HardcodeZ2MtgConfig) config);
+            case STORE:
+                return new StoreZ2MtgReceiver(receiverRpc, senderParty, aiderParty, (StoreZ2MtgConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + Z2MtgType.class.getSimpleName() + ": " + type.name());
         }
@@ -5,9 +5,12 @@ import edu.alibaba.mpc4j.common.rpc.pto.AbstractThreePartyPto;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealPtoDesc;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealType;
+import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgParty;
 
@@ -30,6 +33,10 @@ public class AidZ2CoreMtgParty extends AbstractThreePartyPto implements Z2CoreMt
      * max num
      */
     private int maxNum;
+    /**
+     * seed sent by the aider in the seed-compressed mode, null in the full mode
+     */
+    private byte[] seed;
 
     public AidZ2CoreMtgParty(Rpc ownRpc, Party otherParty, Party aiderParty, AidZ2CoreMtgConfig config) {
         super(TrustDealPtoDesc.getInstance(), ownRpc, otherParty, aiderParty, config);
@@ -64,7 +71,13 @@ public class AidZ2CoreMtgParty extends AbstractThreePartyPto implements Z2CoreMt
 
         stopWatch.start();
         // handle init response
-        MpcAbortPreconditions.checkArgument(initResponsePayload.size() == 0);
+        MpcAbortPreconditions.checkArgument(initResponsePayload.size() <= 1);
+        if (initResponsePayload.size() == 1) {
+            seed = initResponsePayload.remove(0);
+            MpcAbortPreconditions.checkArgument(seed.length == TrustDealUtils.SEED_BYTE_LENGTH);
+        } else {
+            seed = null;
+        }
         stopWatch.stop();
         long initResponseTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -104,10 +117,27 @@ public class AidZ2CoreMtgParty extends AbstractThreePartyPto implements Z2CoreMt
         List<byte[]> requestResponsePayload = rpc.receive(requestResponseHeader).getPayload();
 
         stopWatch.start();
-        MpcAbortPreconditions.checkArgument(requestResponsePayload.size() == 3);
-        byte[] a0 = requestResponsePayload.remove(0);
-        byte[] b0 = requestResponsePayload.remove(0);
-        byte[] c0 = requestResponsePayload.remove(0);
+        byte[] a0;
+        byte[] b0;
+        byte[] c0;
+        if (seed == null) {
+            MpcAbortPreconditions.checkArgument(requestResponsePayload.size() == 3);
+            a0 = requestResponsePayload.remove(0);
+            b0 = requestResponsePayload.remove(0);
+            c0 = requestResponsePayload.remove(0);
+        } else {
+            // expand (a, b) from the seed, c is either expanded from the seed or the correction sent by the aider
+            MpcAbortPreconditions.checkArgument(requestResponsePayload.size() <= 1);
+            BitVector[] shares = TrustDealUtils.expandZ2Shares(envType, seed, extraInfo, num);
+            a0 = shares[0].getBytes();
+            b0 = shares[1].getBytes();
+            if (requestResponsePayload.size() == 1) {
+                c0 = requestResponsePayload.remove(0);
+                MpcAbortPreconditions.checkArgument(c0.length == CommonUtils.getByteLength(num));
+            } else {
+                c0 = shares[2].getBytes();
+            }
+        }
         stopWatch.stop();
         long requestResponseTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.cache;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgConfig;
@@ -18,16 +19,43 @@ public class CacheZ2MtgConfig extends AbstractMultiPartyPtoConfig implements Z2M
      * core multiplication triple generator config
      */
     private final Z2CoreMtgConfig coreMtgConfig;
+    /**
+     * asynchronous refill
+     */
+    private final boolean asyncRefill;
+    /**
+     * low watermark, in the unit of update num
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark, in the unit of update num
+     */
+    private final int highWatermark;
 
     private CacheZ2MtgConfig(Builder builder) {
         super(builder.coreMtgConfig);
         coreMtgConfig = builder.coreMtgConfig;
+        asyncRefill = builder.asyncRefill;
+        lowWatermark = builder.lowWatermark;
+        highWatermark = builder.highWatermark;
     }
 
     public Z2CoreMtgConfig getCoreMtgConfig() {
         return coreMtgConfig;
     }
 
+    public boolean isAsyncRefill() {
+        return asyncRefill;
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
     @Override
     public Z2MtgFactory.Z2MtgType getPtoType() {
         return Z2MtgFactory.Z2MtgType.CACHE;
@@ -38,9 +66,24 @@ public class CacheZ2MtgConfig extends AbstractMultiPartyPtoConfig implements Z2M
          * core multiplication triple generator config
          */
         private Z2CoreMtgConfig coreMtgConfig;
+        /**
+         * asynchronous refill
+         */
+        private boolean asyncRefill;
+        /**
+         * low watermark, in the unit of update num
+         */
+        private int lowWatermark;
+        /**
+         * high watermark, in the unit of update num
+         */
+        private int highWatermark;
 
         public Builder(SecurityModel securityModel) {
             coreMtgConfig = Z2CoreMtgFactory.createDefaultConfig(securityModel, true);
+            asyncRefill = false;
+            lowWatermark = 1;
+            highWatermark = 2;
         }
 
         public Builder setCoreMtgConfig(Z2CoreMtgConfig coreMtgConfig) {
@@ -48,6 +91,19 @@ public class CacheZ2MtgConfig extends AbstractMultiPartyPtoConfig implements Z2M
             return this;
         }
 
+        public Builder setAsyncRefill(boolean asyncRefill) {
+            this.asyncRefill = asyncRefill;
+            return this;
+        }
+
+        public Builder setWatermarks(int lowWatermark, int highWatermark) {
+            MathPreconditions.checkNonNegative("lowWatermark", lowWatermark);
+            MathPreconditions.checkGreater("highWatermark", highWatermark, lowWatermark);
+            this.lowWatermark = lowWatermark;
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
         @Override
         public CacheZ2MtgConfig build() {
             return new CacheZ2MtgConfig(this);
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.AsyncRefillBuffer;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.AbstractZ2MtgParty;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgConfig;
@@ -39,6 +40,22 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
      * triple buffer
      */
     private Z2Triple tripleBuffer;
+    /**
+     * asynchronous refill
+     */
+    private final boolean asyncRefill;
+    /**
+     * low watermark, in the unit of update num
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark, in the unit of update num
+     */
+    private final int highWatermark;
+    /**
+     * asynchronous refill buffer
+     */
+    private AsyncRefillBuffer<Z2Triple> refillBuffer;
 
     public CacheZ2MtgReceiver(Rpc receiverRpc, Party senderParty, CacheZ2MtgConfig config) {
         super(CacheZ2MtgPtoDesc.getInstance(), receiverRpc, senderParty, config);
@@ -46,6 +63,9 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
         coreMtgReceiver = Z2CoreMtgFactory.createReceiver(receiverRpc, senderParty, coreMtgConfig);
         addSubPtos(coreMtgReceiver);
         maxBaseNum = coreMtgConfig.maxNum();
+        asyncRefill = config.isAsyncRefill();
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
     }
 
     public CacheZ2MtgReceiver(Rpc receiverRpc, Party senderParty, Party aiderParty, CacheZ2MtgConfig config) {
@@ -54,6 +74,9 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
         coreMtgReceiver = Z2CoreMtgFactory.createReceiver(receiverRpc, senderParty, aiderParty, coreMtgConfig);
         addSubPtos(coreMtgReceiver);
         maxBaseNum = coreMtgConfig.maxNum();
+        asyncRefill = config.isAsyncRefill();
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
     }
 
     @Override
@@ -73,6 +96,19 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
         }
         coreMtgReceiver.init(updateRoundNum);
         tripleBuffer = Z2Triple.createEmpty();
+        if (refillBuffer != null) {
+            refillBuffer.close();
+            refillBuffer = null;
+        }
+        if (asyncRefill) {
+            // generate triples in the background
+            refillBuffer = new AsyncRefillBuffer<>(
+                getPtoName() + "_" + ownParty().getPartyName(), Z2Triple.createEmpty(), updateRoundNum,
+                (long) lowWatermark * updateNum, (long) highWatermark * updateNum,
+                () -> coreMtgReceiver.generate(updateRoundNum)
+            );
+            refillBuffer.refill();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -86,27 +122,67 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
         setPtoInput(num);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
-        while (num > tripleBuffer.getNum()) {
-            // generate if we do not have enough triples
-            for (int round = 1; round <= updateRound; round++) {
-                stopWatch.start();
-                Z2Triple triple = coreMtgReceiver.generate(updateRoundNum);
-                tripleBuffer.merge(triple);
-                stopWatch.stop();
-                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                stopWatch.reset();
-                logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+        Z2Triple receiverOutput;
+        if (asyncRefill) {
+            stopWatch.start();
+            receiverOutput = refillBuffer.take(num);
+            stopWatch.stop();
+            long takeTripleTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            stopWatch.reset();
+            logStepInfo(
+                PtoState.PTO_STEP, 1, 1, takeTripleTime,
+                "buffer num = " + refillBuffer.getBufferNum() + ", stall time = " + getStallTime() + "ms"
+            );
+        } else {
+            while (num > tripleBuffer.getNum()) {
+                // generate if we do not have enough triples
+                for (int round = 1; round <= updateRound; round++) {
+                    stopWatch.start();
+                    Z2Triple triple = coreMtgReceiver.generate(updateRoundNum);
+                    tripleBuffer.merge(triple);
+                    stopWatch.stop();
+                    long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                    stopWatch.reset();
+                    logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+                }
             }
-        }
 
-        stopWatch.start();
-        Z2Triple receiverOutput = tripleBuffer.split(num);
-        stopWatch.stop();
-        long splitTripleTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 1, 1, splitTripleTime);
+            stopWatch.start();
+            receiverOutput = tripleBuffer.split(num);
+            stopWatch.stop();
+            long splitTripleTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            stopWatch.reset();
+            logStepInfo(PtoState.PTO_STEP, 1, 1, splitTripleTime);
+        }
 
         logPhaseInfo(PtoState.PTO_END);
         return receiverOutput;
     }
+
+    /**
+     * Gets the num of buffered triples.
+     *
+     * @return the num of buffered triples.
+     */
+    public int getBufferNum() {
+        return refillBuffer == null ? tripleBuffer.getNum() : refillBuffer.getBufferNum();
+    }
+
+    /**
+     * Gets the total time in milliseconds that generations are blocked in the asynchronous refill mode.
+     *
+     * @return the total stall time in milliseconds.
+     */
+    public long getStallTime() {
+        return refillBuffer == null ? 0L : refillBuffer.getStallTime(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (refillBuffer != null) {
+            refillBuffer.close();
+            refillBuffer = null;
+        }
+        super.destroy();
+    }
 }
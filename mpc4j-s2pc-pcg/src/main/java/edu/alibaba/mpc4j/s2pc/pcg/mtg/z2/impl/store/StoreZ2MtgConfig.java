@@ -0,0 +1,70 @@
+package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgFactory;
+
+/**
+ * store Z2 multiplication triple generator config.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public class StoreZ2MtgConfig extends AbstractMultiPartyPtoConfig implements Z2MtgConfig {
+    /**
+     * core multiplication triple generator config
+     */
+    private final Z2CoreMtgConfig coreMtgConfig;
+    /**
+     * store directory
+     */
+    private final String storeDirectory;
+
+    private StoreZ2MtgConfig(Builder builder) {
+        super(builder.coreMtgConfig);
+        coreMtgConfig = builder.coreMtgConfig;
+        storeDirectory = builder.storeDirectory;
+    }
+
+    public Z2CoreMtgConfig getCoreMtgConfig() {
+        return coreMtgConfig;
+    }
+
+    public String getStoreDirectory() {
+        return storeDirectory;
+    }
+
+    @Override
+    public Z2MtgFactory.Z2MtgType getPtoType() {
+        return Z2MtgFactory.Z2MtgType.STORE;
+    }
+
+    public static class Builder implements org.apache.commons.lang3.builder.Builder<StoreZ2MtgConfig> {
+        /**
+         * core multiplication triple generator config
+         */
+        private Z2CoreMtgConfig coreMtgConfig;
+        /**
+         * store directory
+         */
+        private final String storeDirectory;
+
+        public Builder(SecurityModel securityModel, String storeDirectory) {
+            coreMtgConfig = Z2CoreMtgFactory.createDefaultConfig(securityModel, true);
+            this.storeDirectory = storeDirectory;
+        }
+
+        public Builder setCoreMtgConfig(Z2CoreMtgConfig coreMtgConfig) {
+            this.coreMtgConfig = coreMtgConfig;
+            return this;
+        }
+
+        @Override
+        public StoreZ2MtgConfig build() {
+            return new StoreZ2MtgConfig(this);
+        }
+    }
+}
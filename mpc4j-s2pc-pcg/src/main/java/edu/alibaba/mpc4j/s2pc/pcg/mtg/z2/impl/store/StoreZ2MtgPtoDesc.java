@@ -0,0 +1,65 @@
+package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * store Z2 multiplication triple generator protocol description.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+class StoreZ2MtgPtoDesc implements PtoDesc {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 2748035612487719385L);
+    /**
+     * protocol name
+     */
+    private static final String PTO_NAME = "STORE_Z2_MTG";
+
+    /**
+     * protocol step
+     */
+    enum PtoStep {
+        /**
+         * sender sends the store state
+         */
+        SENDER_SEND_STORE_STATE,
+        /**
+         * receiver sends the store state
+         */
+        RECEIVER_SEND_STORE_STATE,
+    }
+
+    /**
+     * singleton mode
+     */
+    private static final StoreZ2MtgPtoDesc INSTANCE = new StoreZ2MtgPtoDesc();
+
+    /**
+     * private constructor.
+     */
+    private StoreZ2MtgPtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(getInstance());
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
@@ -0,0 +1,157 @@
+package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.PtoState;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.AbstractZ2MtgParty;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgParty;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.s2pc.pcg.store.PcgOutputCodecFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.store.PcgOutputStore;
+import edu.alibaba.mpc4j.s2pc.pcg.store.PcgOutputStoreUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * store Z2 multiplication triple generator receiver.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public class StoreZ2MtgReceiver extends AbstractZ2MtgParty {
+    /**
+     * store directory
+     */
+    private final String storeDirectory;
+    /**
+     * core multiplication triple generator
+     */
+    private final Z2CoreMtgParty coreMtgReceiver;
+    /**
+     * max base num
+     */
+    private final int maxBaseNum;
+    /**
+     * num per round per update
+     */
+    private int updateRoundNum;
+    /**
+     * round per update
+     */
+    private int updateRound;
+    /**
+     * triple store
+     */
+    private PcgOutputStore<Z2Triple> store;
+
+    public StoreZ2MtgReceiver(Rpc receiverRpc, Party senderParty, StoreZ2MtgConfig config) {
+        super(StoreZ2MtgPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        Z2CoreMtgConfig coreMtgConfig = config.getCoreMtgConfig();
+        coreMtgReceiver = Z2CoreMtgFactory.createReceiver(receiverRpc, senderParty, coreMtgConfig);
+        addSubPtos(coreMtgReceiver);
+        maxBaseNum = coreMtgConfig.maxNum();
+        storeDirectory = config.getStoreDirectory();
+    }
+
+    public StoreZ2MtgReceiver(Rpc receiverRpc, Party senderParty, Party aiderParty, StoreZ2MtgConfig config) {
+        super(StoreZ2MtgPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        Z2CoreMtgConfig coreMtgConfig = config.getCoreMtgConfig();
+        coreMtgReceiver = Z2CoreMtgFactory.createReceiver(receiverRpc, senderParty, aiderParty, coreMtgConfig);
+        addSubPtos(coreMtgReceiver);
+        maxBaseNum = coreMtgConfig.maxNum();
+        storeDirectory = config.getStoreDirectory();
+    }
+
+    @Override
+    public void init(int updateNum) throws MpcAbortException {
+        setInitInput(updateNum);
+        logPhaseInfo(PtoState.INIT_BEGIN);
+
+        stopWatch.start();
+        if (updateNum <= maxBaseNum) {
+            // we only need to run one round
+            updateRoundNum = updateNum;
+            updateRound = 1;
+        } else {
+            // we need to run multiple rounds
+            updateRoundNum = maxBaseNum;
+            updateRound = (int) Math.ceil((double) updateNum / maxBaseNum);
+        }
+        coreMtgReceiver.init(updateRoundNum);
+        if (store != null) {
+            store.close();
+        }
+        store = PcgOutputStore.open(
+            PcgOutputStoreUtils.getStoreFile(storeDirectory, StoreZ2MtgSender.STORE_NAME, ownParty(), otherParty()),
+            PcgOutputCodecFactory.createZ2TripleCodec()
+        );
+        stopWatch.stop();
+        long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 1, 3, initTime);
+
+        stopWatch.start();
+        // synchronize the store state
+        List<byte[]> senderStatePayload = receivePayload(PtoStep.SENDER_SEND_STORE_STATE.ordinal(), otherParty());
+        PcgOutputStoreUtils.bindSession(store, senderStatePayload);
+        List<byte[]> receiverStatePayload = PcgOutputStoreUtils.createStatePayload(store);
+        sendPayload(PtoStep.RECEIVER_SEND_STORE_STATE.ordinal(), otherParty(), receiverStatePayload);
+        PcgOutputStoreUtils.syncState(store, senderStatePayload);
+        stopWatch.stop();
+        long syncTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 2, 3, syncTime, "available num = " + store.getAvailableNum());
+
+        // generate triples in offline phase
+        fill(PtoState.INIT_STEP, 3, updateNum);
+
+        logPhaseInfo(PtoState.INIT_END);
+    }
+
+    @Override
+    public Z2Triple generate(int num) throws MpcAbortException {
+        setPtoInput(num);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        fill(PtoState.PTO_STEP, 0, num);
+
+        stopWatch.start();
+        Z2Triple receiverOutput = store.take(num);
+        stopWatch.stop();
+        long takeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 1, takeTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+        return receiverOutput;
+    }
+
+    private void fill(PtoState ptoState, int stepIndex, long num) throws MpcAbortException {
+        while (num > store.getAvailableNum()) {
+            // generate if we do not have enough triples
+            for (int round = 1; round <= updateRound; round++) {
+                stopWatch.start();
+                Z2Triple triple = coreMtgReceiver.generate(updateRoundNum);
+                store.append(triple);
+                stopWatch.stop();
+                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                stopWatch.reset();
+                logSubStepInfo(ptoState, stepIndex, round, updateRound, roundTime);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (store != null) {
+            store.close();
+            store = null;
+        }
+        super.destroy();
+    }
+}
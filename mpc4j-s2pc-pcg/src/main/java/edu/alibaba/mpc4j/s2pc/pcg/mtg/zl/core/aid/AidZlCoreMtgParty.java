@@ -6,15 +6,15 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
-import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
+import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealPtoDesc;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealType;
+import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.core.ZlCoreMtgParty;
 
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -38,6 +38,10 @@ public class AidZlCoreMtgParty extends AbstractThreePartyPto implements ZlCoreMt
      * max num
      */
     private int maxNum;
+    /**
+     * seed sent by the aider in the seed-compressed mode, null in the full mode
+     */
+    private byte[] seed;
 
     public AidZlCoreMtgParty(Rpc ownRpc, Party otherParty, Party aiderParty, AidZlCoreMtgConfig config) {
         super(TrustDealPtoDesc.getInstance(), ownRpc, otherParty, aiderParty, config);
@@ -74,7 +78,13 @@ public class AidZlCoreMtgParty extends AbstractThreePartyPto implements ZlCoreMt
 
         stopWatch.start();
         // handle init response
-        MpcAbortPreconditions.checkArgument(initResponsePayload.size() == 0);
+        MpcAbortPreconditions.checkArgument(initResponsePayload.size() <= 1);
+        if (initResponsePayload.size() == 1) {
+            seed = initResponsePayload.remove(0);
+            MpcAbortPreconditions.checkArgument(seed.length == TrustDealUtils.SEED_BYTE_LENGTH);
+        } else {
+            seed = null;
+        }
         stopWatch.stop();
         long initResponseTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -114,27 +124,32 @@ public class AidZlCoreMtgParty extends AbstractThreePartyPto implements ZlCoreMt
         List<byte[]> requestResponsePayload = rpc.receive(requestResponseHeader).getPayload();
 
         stopWatch.start();
-        MpcAbortPreconditions.checkArgument(requestResponsePayload.size() == 3);
-        ByteBuffer aiBuffer = ByteBuffer.wrap(requestResponsePayload.remove(0));
-        ByteBuffer biBuffer = ByteBuffer.wrap(requestResponsePayload.remove(0));
-        ByteBuffer ciBuffer = ByteBuffer.wrap(requestResponsePayload.remove(0));
-        // convert to (ai, bi, ci)
         int byteL = zl.getByteL();
-        byte[] byteBufferArray = new byte[byteL];
-        BigInteger[] aiArray = new BigInteger[num];
-        for (int index = 0; index < num; index++) {
-            aiBuffer.get(byteBufferArray);
-            aiArray[index] = BigIntegerUtils.byteArrayToNonNegBigInteger(byteBufferArray);
-        }
-        BigInteger[] biArray = new BigInteger[num];
-        for (int index = 0; index < num; index++) {
-            biBuffer.get(byteBufferArray);
-            biArray[index] = BigIntegerUtils.byteArrayToNonNegBigInteger(byteBufferArray);
-        }
-        BigInteger[] ciArray = new BigInteger[num];
-        for (int index = 0; index < num; index++) {
-            ciBuffer.get(byteBufferArray);
-            ciArray[index] = BigIntegerUtils.byteArrayToNonNegBigInteger(byteBufferArray);
+        BigInteger[] aiArray;
+        BigInteger[] biArray;
+        BigInteger[] ciArray;
+        if (seed == null) {
+            MpcAbortPreconditions.checkArgument(requestResponsePayload.size() == 3);
+            for (byte[] share : requestResponsePayload) {
+                MpcAbortPreconditions.checkArgument(share.length == num * byteL);
+            }
+            // convert to (ai, bi, ci)
+            aiArray = TrustDealUtils.unpackZlElements(zl, requestResponsePayload.remove(0), num);
+            biArray = TrustDealUtils.unpackZlElements(zl, requestResponsePayload.remove(0), num);
+            ciArray = TrustDealUtils.unpackZlElements(zl, requestResponsePayload.remove(0), num);
+        } else {
+            // expand (ai, bi) from the seed, ci is either expanded from the seed or the correction sent by the aider
+            MpcAbortPreconditions.checkArgument(requestResponsePayload.size() <= 1);
+            ZlVector[] shares = TrustDealUtils.expandZlShares(envType, zl, seed, extraInfo, num);
+            aiArray = shares[0].getElements();
+            biArray = shares[1].getElements();
+            if (requestResponsePayload.size() == 1) {
+                byte[] ci = requestResponsePayload.remove(0);
+                MpcAbortPreconditions.checkArgument(ci.length == num * byteL);
+                ciArray = TrustDealUtils.unpackZlElements(zl, ci, num);
+            } else {
+                ciArray = shares[2].getElements();
+            }
         }
         stopWatch.stop();
         long requestResponseTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
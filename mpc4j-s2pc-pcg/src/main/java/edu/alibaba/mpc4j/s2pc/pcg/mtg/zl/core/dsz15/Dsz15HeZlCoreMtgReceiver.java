@@ -92,6 +92,9 @@ public class Dsz15HeZlCoreMtgReceiver extends AbstractZlCoreMtgParty {
         stopWatch.start();
         // the receiver parses the HE public key.
         pk = PheFactory.phasePhePublicKey(phePublicKeyPayload);
+        // fixed-base table for the DJN10 obfuscator h_s^a mod n^2, used in all Enc(r)
+        pai99PheEngine.precompute(pk);
+        pai99PheEngine.setParallel(parallel);
         stopWatch.stop();
         long pheKeyGenTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -181,23 +184,29 @@ public class Dsz15HeZlCoreMtgReceiver extends AbstractZlCoreMtgParty {
         BigInteger[] ciphertexts = senderCiphertextPayload.stream()
             .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
             .toArray(BigInteger[]::new);
+        // create random r and calculates Enc(r) in batch
+        BigInteger[][] rsArray = new BigInteger[ciphertextNum][packetNum];
+        BigInteger[] rMasks = new BigInteger[ciphertextNum];
+        for (int ciphertextIndex = 0; ciphertextIndex < ciphertextNum; ciphertextIndex++) {
+            BigInteger rMask = BigInteger.ZERO;
+            BigInteger[] rs = rsArray[ciphertextIndex];
+            for (int i = packetNum - 1; i >= 0; i--) {
+                rs[i] = new BigInteger(elementBitLength, secureRandom);
+                if (i != (packetNum - 1)) {
+                    rMask = rMask.shiftLeft(elementBitLength);
+                }
+                rMask = rMask.add(rs[i]);
+            }
+            rMasks[ciphertextIndex] = rMask;
+        }
+        BigInteger[] rMaskCiphertexts = pai99PheEngine.rawEncrypt(pk, rMasks);
         IntStream ciphertextIntStream = IntStream.range(0, ciphertextNum);
         ciphertextIntStream = parallel ? ciphertextIntStream.parallel() : ciphertextIntStream;
         return ciphertextIntStream
             .mapToObj(ciphertextIndex -> {
-                // create a random r and calculates Enc(r)
-                BigInteger rMask = BigInteger.ZERO;
-                BigInteger[] rs = new BigInteger[packetNum];
-                for (int i = packetNum - 1; i >= 0; i--) {
-                    rs[i] = new BigInteger(elementBitLength, secureRandom);
-                    if (i != (packetNum - 1)) {
-                        rMask = rMask.shiftLeft(elementBitLength);
-                    }
-                    rMask = rMask.add(rs[i]);
-                }
-                BigInteger rMaskCiphertext = pai99PheEngine.rawEncrypt(pk, rMask);
-                // Enc(d)
-                BigInteger dCiphertext = pai99PheEngine.rawEncrypt(pk, BigInteger.ZERO);
+                BigInteger[] rs = rsArray[ciphertextIndex];
+                // Enc(d), start from the trivial encryption of 0. Enc(r) is added at last to re-randomize Enc(d).
+                BigInteger dCiphertext = BigInteger.ONE;
                 for (int i = packetNum - 1; i >= 0; i--) {
                     int index = ciphertextIndex * packetNum + i;
                     // Enc(<a>_0)
@@ -218,7 +227,7 @@ public class Dsz15HeZlCoreMtgReceiver extends AbstractZlCoreMtgParty {
                     }
                     dCiphertext = pai99PheEngine.rawAdd(pk, dCiphertext, sum);
                 }
-                return pai99PheEngine.rawAdd(pk, dCiphertext, rMaskCiphertext);
+                return pai99PheEngine.rawAdd(pk, dCiphertext, rMaskCiphertexts[ciphertextIndex]);
             }).map(ciphertext -> BigIntegerUtils.nonNegBigIntegerToByteArray(ciphertext, ciphertextByteLength))
             .collect(Collectors.toList());
     }
@@ -84,6 +84,9 @@ public class Dsz15HeZlCoreMtgSender extends AbstractZlCoreMtgParty {
         PheKeyGenParams pheKeyGenParams = new PheKeyGenParams(Dsz15HeZlCoreMtgPtoDesc.PHE_SEC_LEVEL, false, precision);
         sk = pai99PheEngine.keyGen(pheKeyGenParams);
         PhePublicKey pk = sk.getPublicKey();
+        // fixed-base table for the DJN10 obfuscator h_s^a mod n^2, which is cheaper than CRT-based r^n mod n^2
+        pai99PheEngine.precompute(pk);
+        pai99PheEngine.setParallel(parallel);
         // the sender sends the HE public key to the receiver
         List<byte[]> phePublicKeyPayload = pk.toByteArrayList();
         DataPacketHeader phePublicKeyHeader = new DataPacketHeader(
@@ -157,20 +160,16 @@ public class Dsz15HeZlCoreMtgSender extends AbstractZlCoreMtgParty {
         // P_0 generates <a>_0, <b>_0
         a0 = new BigInteger[batchNum];
         b0 = new BigInteger[batchNum];
-        IntStream indexIntStream = IntStream.range(0, batchNum);
-        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
-        return indexIntStream
-            .mapToObj(arrayIndex -> {
-                // Let P_0 randomly generate <a>_0, <b>_0
-                a0[arrayIndex] = new BigInteger(l, secureRandom);
-                b0[arrayIndex] = new BigInteger(l, secureRandom);
-                // Enc(<a>_0), Enc(<b>_0)
-                BigInteger[] ciphertextPair = new BigInteger[2];
-                ciphertextPair[0] = pai99PheEngine.rawEncrypt(sk, a0[arrayIndex]);
-                ciphertextPair[1] = pai99PheEngine.rawEncrypt(sk, b0[arrayIndex]);
-                return ciphertextPair;
-            })
-            .flatMap(Arrays::stream)
+        BigInteger[] plaintexts = new BigInteger[batchNum * 2];
+        for (int index = 0; index < batchNum; index++) {
+            a0[index] = new BigInteger(l, secureRandom);
+            b0[index] = new BigInteger(l, secureRandom);
+            plaintexts[2 * index] = a0[index];
+            plaintexts[2 * index + 1] = b0[index];
+        }
+        // Enc(<a>_0), Enc(<b>_0)
+        BigInteger[] ciphertexts = pai99PheEngine.rawEncrypt(sk.getPublicKey(), plaintexts);
+        return Arrays.stream(ciphertexts)
             .map(ciphertext -> BigIntegerUtils.nonNegBigIntegerToByteArray(ciphertext, ciphertextByteLength))
             .collect(Collectors.toList());
     }
@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.impl.cache;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlMtgConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlMtgFactory;
@@ -19,16 +20,43 @@ public class CacheZlMtgConfig extends AbstractMultiPartyPtoConfig implements ZlM
      * core multiplication triple generator config
      */
     private final ZlCoreMtgConfig coreMtgConfig;
+    /**
+     * asynchronous refill
+     */
+    private final boolean asyncRefill;
+    /**
+     * low watermark, in the unit of update num
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark, in the unit of update num
+     */
+    private final int highWatermark;
 
     private CacheZlMtgConfig(Builder builder) {
         super(builder.coreMtgConfig);
         coreMtgConfig = builder.coreMtgConfig;
+        asyncRefill = builder.asyncRefill;
+        lowWatermark = builder.lowWatermark;
+        highWatermark = builder.highWatermark;
     }
 
     public ZlCoreMtgConfig getCoreMtgConfig() {
         return coreMtgConfig;
     }
 
+    public boolean isAsyncRefill() {
+        return asyncRefill;
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
     @Override
     public ZlMtgFactory.ZlMtgType getPtoType() {
         return ZlMtgFactory.ZlMtgType.CACHE;
@@ -44,9 +72,24 @@ public class CacheZlMtgConfig extends AbstractMultiPartyPtoConfig implements ZlM
          * core multiplication triple generator config
          */
         private ZlCoreMtgConfig coreMtgConfig;
+        /**
+         * asynchronous refill
+         */
+        private boolean asyncRefill;
+        /**
+         * low watermark, in the unit of update num
+         */
+        private int lowWatermark;
+        /**
+         * high watermark, in the unit of update num
+         */
+        private int highWatermark;
 
         public Builder(SecurityModel securityModel, Zl zl) {
             coreMtgConfig = ZlCoreMtgFactory.createDefaultConfig(securityModel, zl);
+            asyncRefill = false;
+            lowWatermark = 1;
+            highWatermark = 2;
         }
 
         public Builder setCoreMtgConfig(ZlCoreMtgConfig coreMtgConfig) {
@@ -54,6 +97,19 @@ public class CacheZlMtgConfig extends AbstractMultiPartyPtoConfig implements ZlM
             return this;
         }
 
+        public Builder setAsyncRefill(boolean asyncRefill) {
+            this.asyncRefill = asyncRefill;
+            return this;
+        }
+
+        public Builder setWatermarks(int lowWatermark, int highWatermark) {
+            MathPreconditions.checkNonNegative("lowWatermark", lowWatermark);
+            MathPreconditions.checkGreater("highWatermark", highWatermark, lowWatermark);
+            this.lowWatermark = lowWatermark;
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
         @Override
         public CacheZlMtgConfig build() {
             return new CacheZlMtgConfig(this);
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.AsyncRefillBuffer;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.AbstractZlMtgParty;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.core.ZlCoreMtgConfig;
@@ -39,6 +40,22 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
      * triple buffer
      */
     private ZlTriple tripleBuffer;
+    /**
+     * asynchronous refill
+     */
+    private final boolean asyncRefill;
+    /**
+     * low watermark, in the unit of update num
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark, in the unit of update num
+     */
+    private final int highWatermark;
+    /**
+     * asynchronous refill buffer
+     */
+    private AsyncRefillBuffer<ZlTriple> refillBuffer;
 
     public CacheZlMtgSender(Rpc senderRpc, Party receiverParty, CacheZlMtgConfig config) {
         super(CacheZlMtgPtoDesc.getInstance(), senderRpc, receiverParty, config);
@@ -46,6 +63,9 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
         coreMtgSender = ZlCoreMtgFactory.createSender(senderRpc, receiverParty, coreMtgConfig);
         addSubPtos(coreMtgSender);
         maxBaseNum = coreMtgConfig.maxNum();
+        asyncRefill = config.isAsyncRefill();
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
     }
 
     public CacheZlMtgSender(Rpc senderRpc, Party receiverParty, Party aiderParty, CacheZlMtgConfig config) {
@@ -54,6 +74,9 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
         coreMtgSender = ZlCoreMtgFactory.createSender(senderRpc, receiverParty, aiderParty, coreMtgConfig);
         addSubPtos(coreMtgSender);
         maxBaseNum = coreMtgConfig.maxNum();
+        asyncRefill = config.isAsyncRefill();
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
     }
 
     @Override
@@ -73,6 +96,19 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
         }
         coreMtgSender.init(updateRoundNum);
         tripleBuffer = ZlTriple.createEmpty(zl);
+        if (refillBuffer != null) {
+            refillBuffer.close();
+            refillBuffer = null;
+        }
+        if (asyncRefill) {
+            // generate triples in the background
+            refillBuffer = new AsyncRefillBuffer<>(
+                getPtoName() + "_" + ownParty().getPartyName(), ZlTriple.createEmpty(zl), updateRoundNum,
+                (long) lowWatermark * updateNum, (long) highWatermark * updateNum,
+                () -> coreMtgSender.generate(updateRoundNum)
+            );
+            refillBuffer.refill();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -86,27 +122,67 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
         setPtoInput(num);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
-        while (num > tripleBuffer.getNum()) {
-            // generate if we do not have enough triples
-            for (int round = 1; round <= updateRound; round++) {
-                stopWatch.start();
-                ZlTriple triple = coreMtgSender.generate(updateRoundNum);
-                tripleBuffer.merge(triple);
-                stopWatch.stop();
-                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                stopWatch.reset();
-                logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+        ZlTriple senderOutput;
+        if (asyncRefill) {
+            stopWatch.start();
+            senderOutput = refillBuffer.take(num);
+            stopWatch.stop();
+            long takeTripleTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            stopWatch.reset();
+            logStepInfo(
+                PtoState.PTO_STEP, 1, 1, takeTripleTime,
+                "buffer num = " + refillBuffer.getBufferNum() + ", stall time = " + getStallTime() + "ms"
+            );
+        } else {
+            while (num > tripleBuffer.getNum()) {
+                // generate if we do not have enough triples
+                for (int round = 1; round <= updateRound; round++) {
+                    stopWatch.start();
+                    ZlTriple triple = coreMtgSender.generate(updateRoundNum);
+                    tripleBuffer.merge(triple);
+                    stopWatch.stop();
+                    long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                    stopWatch.reset();
+                    logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+                }
             }
-        }
 
-        stopWatch.start();
-        ZlTriple senderOutput = tripleBuffer.split(num);
-        stopWatch.stop();
-        long splitTripleTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 1, 1, splitTripleTime);
+            stopWatch.start();
+            senderOutput = tripleBuffer.split(num);
+            stopWatch.stop();
+            long splitTripleTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            stopWatch.reset();
+            logStepInfo(PtoState.PTO_STEP, 1, 1, splitTripleTime);
+        }
 
         logPhaseInfo(PtoState.PTO_END);
         return senderOutput;
     }
+
+    /**
+     * Gets the num of buffered triples.
+     *
+     * @return the num of buffered triples.
+     */
+    public int getBufferNum() {
+        return refillBuffer == null ? tripleBuffer.getNum() : refillBuffer.getBufferNum();
+    }
+
+    /**
+     * Gets the total time in milliseconds that generations are blocked in the asynchronous refill mode.
+     *
+     * @return the total stall time in milliseconds.
+     */
+    public long getStallTime() {
+        return refillBuffer == null ? 0L : refillBuffer.getStallTime(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (refillBuffer != null) {
+            refillBuffer.close();
+            refillBuffer = null;
+        }
+        super.destroy();
+    }
 }
@@ -10,6 +10,9 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.cache.CacheCotSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.direct.DirectCotConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.direct.DirectCotReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.direct.DirectCotSender;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store.StoreCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store.StoreCotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store.StoreCotSender;
 
 /**
  * COT factory.
@@ -37,6 +40,10 @@ public class CotFactory implements PtoFactory {
          * Cache OT
          */
         CACHE,
+        /**
+         * Store OT
+         */
+        STORE,
     }
 
     /**
@@ -54,6 +61,8 @@ public class CotFactory implements PtoFactory {
                 return new DirectCotSender(senderRpc, receiverParty, (DirectCotConfig) config);
             case CACHE:
                 return new CacheCotSender(senderRpc, receiverParty, (CacheCotConfig) config);
+            case STORE:
+                return new StoreCotSender(senderRpc, receiverParty, (StoreCotConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + CotType.class.getSimpleName() + ": " + type.name());
         }
@@ -74,6 +83,8 @@ public class CotFactory implements PtoFactory {
                 return new DirectCotReceiver(receiverRpc, senderParty, (DirectCotConfig) config);
             case CACHE:
                 return new CacheCotReceiver(receiverRpc, senderParty, (CacheCotConfig) config);
+            case STORE:
+                return new StoreCotReceiver(receiverRpc, senderParty, (StoreCotConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + CotType.class.getSimpleName() + ": " + type.name());
         }
@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.cache;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
@@ -24,11 +25,26 @@ public class CacheCotConfig extends AbstractMultiPartyPtoConfig implements CotCo
      * pre-compute COT config
      */
     private final PreCotConfig preCotConfig;
+    /**
+     * asynchronous refill
+     */
+    private final boolean asyncRefill;
+    /**
+     * low watermark, in the unit of update num
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark, in the unit of update num
+     */
+    private final int highWatermark;
 
     private CacheCotConfig(Builder builder) {
         super(SecurityModel.MALICIOUS, builder.ncCotConfig, builder.preCotConfig);
         ncCotConfig = builder.ncCotConfig;
         preCotConfig = builder.preCotConfig;
+        asyncRefill = builder.asyncRefill;
+        lowWatermark = builder.lowWatermark;
+        highWatermark = builder.highWatermark;
     }
 
     public NcCotConfig getNcCotConfig() {
@@ -39,6 +55,18 @@ public class CacheCotConfig extends AbstractMultiPartyPtoConfig implements CotCo
         return preCotConfig;
     }
 
+    public boolean isAsyncRefill() {
+        return asyncRefill;
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
     @Override
     public CotFactory.CotType getPtoType() {
         return CotFactory.CotType.CACHE;
@@ -53,10 +81,25 @@ public class CacheCotConfig extends AbstractMultiPartyPtoConfig implements CotCo
          * precompute COT config
          */
         private PreCotConfig preCotConfig;
+        /**
+         * asynchronous refill
+         */
+        private boolean asyncRefill;
+        /**
+         * low watermark, in the unit of update num
+         */
+        private int lowWatermark;
+        /**
+         * high watermark, in the unit of update num
+         */
+        private int highWatermark;
 
         public Builder(SecurityModel securityModel) {
             ncCotConfig = NcCotFactory.createDefaultConfig(securityModel, true);
             preCotConfig = PreCotFactory.createDefaultConfig(securityModel);
+            asyncRefill = false;
+            lowWatermark = 1;
+            highWatermark = 2;
         }
 
         public Builder setNcCotConfig(NcCotConfig ncCotConfig) {
@@ -69,6 +112,19 @@ public class CacheCotConfig extends AbstractMultiPartyPtoConfig implements CotCo
             return this;
         }
 
+        public Builder setAsyncRefill(boolean asyncRefill) {
+            this.asyncRefill = asyncRefill;
+            return this;
+        }
+
+        public Builder setWatermarks(int lowWatermark, int highWatermark) {
+            MathPreconditions.checkNonNegative("lowWatermark", lowWatermark);
+            MathPreconditions.checkGreater("highWatermark", highWatermark, lowWatermark);
+            this.lowWatermark = lowWatermark;
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
         @Override
         public CacheCotConfig build() {
             return new CacheCotConfig(this);
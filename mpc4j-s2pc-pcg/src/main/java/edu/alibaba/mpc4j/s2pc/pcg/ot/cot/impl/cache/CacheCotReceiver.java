@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.AsyncRefillBuffer;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.AbstractCotReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
@@ -41,6 +42,22 @@ public class CacheCotReceiver extends AbstractCotReceiver {
      * buffer
      */
     private CotReceiverOutput buffer;
+    /**
+     * asynchronous refill
+     */
+    private final boolean asyncRefill;
+    /**
+     * low watermark, in the unit of update num
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark, in the unit of update num
+     */
+    private final int highWatermark;
+    /**
+     * asynchronous refill buffer
+     */
+    private AsyncRefillBuffer<CotReceiverOutput> refillBuffer;
 
     public CacheCotReceiver(Rpc receiverRpc, Party senderParty, CacheCotConfig config) {
         super(CacheCotPtoDesc.getInstance(), receiverRpc, senderParty, config);
@@ -48,6 +65,9 @@ public class CacheCotReceiver extends AbstractCotReceiver {
         ncCotReceiver = NcCotFactory.createReceiver(receiverRpc, senderParty, ncCotConfig);
         addSubPtos(ncCotReceiver);
         maxBaseNum = ncCotConfig.maxNum();
+        asyncRefill = config.isAsyncRefill();
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
         preCotReceiver = PreCotFactory.createReceiver(receiverRpc, senderParty, config.getPreCotConfig());
         addSubPtos(preCotReceiver);
     }
@@ -71,6 +91,18 @@ public class CacheCotReceiver extends AbstractCotReceiver {
         ncCotReceiver.init(perRoundNum);
         buffer = CotReceiverOutput.createEmpty();
         preCotReceiver.init();
+        if (refillBuffer != null) {
+            refillBuffer.close();
+            refillBuffer = null;
+        }
+        if (asyncRefill) {
+            // generate COTs in the background
+            refillBuffer = new AsyncRefillBuffer<>(
+                getPtoName() + "_" + ownParty().getPartyName(), CotReceiverOutput.createEmpty(), perRoundNum,
+                (long) lowWatermark * updateNum, (long) highWatermark * updateNum, () -> ncCotReceiver.receive()
+            );
+            refillBuffer.refill();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -84,25 +116,38 @@ public class CacheCotReceiver extends AbstractCotReceiver {
         setPtoInput(choices);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
-        while (num > buffer.getNum()) {
-            // generate COT when we do not have enough ones
-            for (int round = 1; round <= updateRound; round++) {
-                stopWatch.start();
-                CotReceiverOutput cotReceiverOutput = ncCotReceiver.receive();
-                buffer.merge(cotReceiverOutput);
-                stopWatch.stop();
-                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                stopWatch.reset();
-                logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+        CotReceiverOutput receiverOutput;
+        if (asyncRefill) {
+            stopWatch.start();
+            receiverOutput = refillBuffer.take(num);
+            stopWatch.stop();
+            long takeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            stopWatch.reset();
+            logStepInfo(
+                PtoState.PTO_STEP, 1, 2, takeTime,
+                "buffer num = " + refillBuffer.getBufferNum() + ", stall time = " + getStallTime() + "ms"
+            );
+        } else {
+            while (num > buffer.getNum()) {
+                // generate COT when we do not have enough ones
+                for (int round = 1; round <= updateRound; round++) {
+                    stopWatch.start();
+                    CotReceiverOutput cotReceiverOutput = ncCotReceiver.receive();
+                    buffer.merge(cotReceiverOutput);
+                    stopWatch.stop();
+                    long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                    stopWatch.reset();
+                    logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+                }
             }
-        }
 
-        stopWatch.start();
-        CotReceiverOutput receiverOutput = buffer.split(num);
-        stopWatch.stop();
-        long splitTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 1, 2, splitTime);
+            stopWatch.start();
+            receiverOutput = buffer.split(num);
+            stopWatch.stop();
+            long splitTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            stopWatch.reset();
+            logStepInfo(PtoState.PTO_STEP, 1, 2, splitTime);
+        }
 
         stopWatch.start();
         // correct choices using precompute COT
@@ -115,4 +160,31 @@ public class CacheCotReceiver extends AbstractCotReceiver {
         logPhaseInfo(PtoState.PTO_END);
         return receiverOutput;
     }
+
+    /**
+     * Gets the num of buffered COTs.
+     *
+     * @return the num of buffered COTs.
+     */
+    public int getBufferNum() {
+        return refillBuffer == null ? buffer.getNum() : refillBuffer.getBufferNum();
+    }
+
+    /**
+     * Gets the total time in milliseconds that generations are blocked in the asynchronous refill mode.
+     *
+     * @return the total stall time in milliseconds.
+     */
+    public long getStallTime() {
+        return refillBuffer == null ? 0L : refillBuffer.getStallTime(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (refillBuffer != null) {
+            refillBuffer.close();
+            refillBuffer = null;
+        }
+        super.destroy();
+    }
 }
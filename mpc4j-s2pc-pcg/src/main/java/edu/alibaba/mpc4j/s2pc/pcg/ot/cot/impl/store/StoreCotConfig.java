@@ -0,0 +1,91 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
+
+/**
+ * store COT config.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public class StoreCotConfig extends AbstractMultiPartyPtoConfig implements CotConfig {
+    /**
+     * no-choice COT config
+     */
+    private final NcCotConfig ncCotConfig;
+    /**
+     * pre-compute COT config
+     */
+    private final PreCotConfig preCotConfig;
+    /**
+     * store directory
+     */
+    private final String storeDirectory;
+
+    private StoreCotConfig(Builder builder) {
+        super(SecurityModel.MALICIOUS, builder.ncCotConfig, builder.preCotConfig);
+        ncCotConfig = builder.ncCotConfig;
+        preCotConfig = builder.preCotConfig;
+        storeDirectory = builder.storeDirectory;
+    }
+
+    public NcCotConfig getNcCotConfig() {
+        return ncCotConfig;
+    }
+
+    public PreCotConfig getPreCotConfig() {
+        return preCotConfig;
+    }
+
+    public String getStoreDirectory() {
+        return storeDirectory;
+    }
+
+    @Override
+    public CotFactory.CotType getPtoType() {
+        return CotFactory.CotType.STORE;
+    }
+
+    public static class Builder implements org.apache.commons.lang3.builder.Builder<StoreCotConfig> {
+        /**
+         * no-choice COT config
+         */
+        private NcCotConfig ncCotConfig;
+        /**
+         * precompute COT config
+         */
+        private PreCotConfig preCotConfig;
+        /**
+         * store directory
+         */
+        private final String storeDirectory;
+
+        public Builder(SecurityModel securityModel, String storeDirectory) {
+            ncCotConfig = NcCotFactory.createDefaultConfig(securityModel, true);
+            preCotConfig = PreCotFactory.createDefaultConfig(securityModel);
+            this.storeDirectory = storeDirectory;
+        }
+
+        public Builder setNcCotConfig(NcCotConfig ncCotConfig) {
+            this.ncCotConfig = ncCotConfig;
+            return this;
+        }
+
+        public Builder setPreCotConfig(PreCotConfig preCotConfig) {
+            this.preCotConfig = preCotConfig;
+            return this;
+        }
+
+        @Override
+        public StoreCotConfig build() {
+            return new StoreCotConfig(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * store COT protocol description.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+class StoreCotPtoDesc implements PtoDesc {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 8164430247702934853L);
+    /**
+     * protocol name
+     */
+    private static final String PTO_NAME = "STORE_COT";
+
+    /**
+     * protocol step
+     */
+    enum PtoStep {
+        /**
+         * sender sends the store state
+         */
+        SENDER_SEND_STORE_STATE,
+        /**
+         * receiver sends the store state
+         */
+        RECEIVER_SEND_STORE_STATE,
+    }
+    /**
+     * singleton mode
+     */
+    private static final StoreCotPtoDesc INSTANCE = new StoreCotPtoDesc();
+
+    /**
+     * private constructor.
+     */
+    private StoreCotPtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(getInstance());
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
@@ -0,0 +1,155 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.PtoState;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.AbstractCotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store.StoreCotPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.store.PcgOutputCodecFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.store.PcgOutputStore;
+import edu.alibaba.mpc4j.s2pc.pcg.store.PcgOutputStoreUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * store COT receiver.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public class StoreCotReceiver extends AbstractCotReceiver {
+    /**
+     * store directory
+     */
+    private final String storeDirectory;
+    /**
+     * no-choice COT receiver
+     */
+    private final NcCotReceiver ncCotReceiver;
+    /**
+     * precompute COT receiver
+     */
+    private final PreCotReceiver preCotReceiver;
+    /**
+     * max base num
+     */
+    private final int maxBaseNum;
+    /**
+     * update round
+     */
+    private int updateRound;
+    /**
+     * COT store
+     */
+    private PcgOutputStore<CotReceiverOutput> store;
+
+    public StoreCotReceiver(Rpc receiverRpc, Party senderParty, StoreCotConfig config) {
+        super(StoreCotPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        NcCotConfig ncCotConfig = config.getNcCotConfig();
+        ncCotReceiver = NcCotFactory.createReceiver(receiverRpc, senderParty, ncCotConfig);
+        addSubPtos(ncCotReceiver);
+        maxBaseNum = ncCotConfig.maxNum();
+        preCotReceiver = PreCotFactory.createReceiver(receiverRpc, senderParty, config.getPreCotConfig());
+        addSubPtos(preCotReceiver);
+        storeDirectory = config.getStoreDirectory();
+    }
+
+    @Override
+    public void init(int updateNum) throws MpcAbortException {
+        setInitInput(updateNum);
+        logPhaseInfo(PtoState.INIT_BEGIN);
+
+        stopWatch.start();
+        int perRoundNum;
+        if (updateNum <= maxBaseNum) {
+            // we only need to run single round
+            perRoundNum = updateNum;
+            updateRound = 1;
+        } else {
+            // we need to run multiple round
+            perRoundNum = maxBaseNum;
+            updateRound = (int) Math.ceil((double) updateNum / maxBaseNum);
+        }
+        ncCotReceiver.init(perRoundNum);
+        preCotReceiver.init();
+        if (store != null) {
+            store.close();
+        }
+        store = PcgOutputStore.open(
+            PcgOutputStoreUtils.getStoreFile(storeDirectory, StoreCotSender.STORE_NAME, ownParty(), otherParty()),
+            PcgOutputCodecFactory.createCotReceiverOutputCodec()
+        );
+        stopWatch.stop();
+        long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 1, 2, initTime);
+
+        stopWatch.start();
+        // synchronize the store state
+        List<byte[]> senderStatePayload = receivePayload(PtoStep.SENDER_SEND_STORE_STATE.ordinal(), otherParty());
+        PcgOutputStoreUtils.bindSession(store, senderStatePayload);
+        List<byte[]> receiverStatePayload = PcgOutputStoreUtils.createStatePayload(store);
+        sendPayload(PtoStep.RECEIVER_SEND_STORE_STATE.ordinal(), otherParty(), receiverStatePayload);
+        PcgOutputStoreUtils.syncState(store, senderStatePayload);
+        stopWatch.stop();
+        long syncTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 2, 2, syncTime, "available num = " + store.getAvailableNum());
+
+        logPhaseInfo(PtoState.INIT_END);
+    }
+
+    @Override
+    public CotReceiverOutput receive(boolean[] choices) throws MpcAbortException {
+        setPtoInput(choices);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        while (num > store.getAvailableNum()) {
+            // generate COT when we do not have enough ones
+            for (int round = 1; round <= updateRound; round++) {
+                stopWatch.start();
+                CotReceiverOutput cotReceiverOutput = ncCotReceiver.receive();
+                store.append(cotReceiverOutput);
+                stopWatch.stop();
+                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                stopWatch.reset();
+                logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+            }
+        }
+
+        stopWatch.start();
+        CotReceiverOutput receiverOutput = store.take(num);
+        stopWatch.stop();
+        long takeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 2, takeTime);
+
+        stopWatch.start();
+        // correct choices using precompute COT
+        receiverOutput = preCotReceiver.receive(receiverOutput, choices);
+        stopWatch.stop();
+        long preCotTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 2, preCotTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+        return receiverOutput;
+    }
+
+    @Override
+    public void destroy() {
+        if (store != null) {
+            store.close();
+            store = null;
+        }
+        super.destroy();
+    }
+}
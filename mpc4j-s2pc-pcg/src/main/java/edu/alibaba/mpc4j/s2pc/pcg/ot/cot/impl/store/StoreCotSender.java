@@ -0,0 +1,168 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortPreconditions;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.PtoState;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.AbstractCotSender;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store.StoreCotPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotSender;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotSender;
+import edu.alibaba.mpc4j.s2pc.pcg.store.PcgOutputCodecFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.store.PcgOutputStore;
+import edu.alibaba.mpc4j.s2pc.pcg.store.PcgOutputStoreUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * store COT sender. No-choice COTs are drawn from a disk-backed store and then corrected by precompute COT. Stored
+ * COTs are bound to Δ, so stored COTs are discarded if the sender initializes with another Δ.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public class StoreCotSender extends AbstractCotSender {
+    /**
+     * store name
+     */
+    static final String STORE_NAME = "cot";
+    /**
+     * store directory
+     */
+    private final String storeDirectory;
+    /**
+     * no-choice COT sender
+     */
+    private final NcCotSender ncCotSender;
+    /**
+     * precompute COT sender
+     */
+    private final PreCotSender preCotSender;
+    /**
+     * max base num
+     */
+    private final int maxBaseNum;
+    /**
+     * update round
+     */
+    private int updateRound;
+    /**
+     * COT store
+     */
+    private PcgOutputStore<CotSenderOutput> store;
+
+    public StoreCotSender(Rpc senderRpc, Party receiverParty, StoreCotConfig config) {
+        super(StoreCotPtoDesc.getInstance(), senderRpc, receiverParty, config);
+        NcCotConfig ncCotConfig = config.getNcCotConfig();
+        ncCotSender = NcCotFactory.createSender(senderRpc, receiverParty, ncCotConfig);
+        addSubPtos(ncCotSender);
+        maxBaseNum = ncCotConfig.maxNum();
+        preCotSender = PreCotFactory.createSender(senderRpc, receiverParty, config.getPreCotConfig());
+        addSubPtos(preCotSender);
+        storeDirectory = config.getStoreDirectory();
+    }
+
+    @Override
+    public void init(byte[] delta, int updateNum) throws MpcAbortException {
+        setInitInput(delta, updateNum);
+        logPhaseInfo(PtoState.INIT_BEGIN);
+
+        stopWatch.start();
+        int perRoundNum;
+        if (updateNum <= maxBaseNum) {
+            // we only need to run single round
+            perRoundNum = updateNum;
+            updateRound = 1;
+        } else {
+            // we need to run multiple round
+            perRoundNum = maxBaseNum;
+            updateRound = (int) Math.ceil((double) updateNum / maxBaseNum);
+        }
+        ncCotSender.init(delta, perRoundNum);
+        preCotSender.init();
+        if (store != null) {
+            store.close();
+        }
+        store = PcgOutputStore.open(
+            PcgOutputStoreUtils.getStoreFile(storeDirectory, STORE_NAME, ownParty(), otherParty()),
+            PcgOutputCodecFactory.createCotSenderOutputCodec()
+        );
+        stopWatch.stop();
+        long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 1, 2, initTime);
+
+        stopWatch.start();
+        // synchronize the store state
+        PcgOutputStoreUtils.bindFreshSession(store, secureRandom);
+        if (store.getAvailableNum() > 0 && !Arrays.equals(delta, store.peek().getDelta())) {
+            // stored COTs are generated under another Δ
+            PcgOutputStoreUtils.resetFreshSession(store, secureRandom);
+        }
+        List<byte[]> senderStatePayload = PcgOutputStoreUtils.createStatePayload(store);
+        sendPayload(PtoStep.SENDER_SEND_STORE_STATE.ordinal(), otherParty(), senderStatePayload);
+        List<byte[]> receiverStatePayload = receivePayload(PtoStep.RECEIVER_SEND_STORE_STATE.ordinal(), otherParty());
+        PcgOutputStoreUtils.syncState(store, receiverStatePayload);
+        stopWatch.stop();
+        long syncTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 2, 2, syncTime, "available num = " + store.getAvailableNum());
+
+        logPhaseInfo(PtoState.INIT_END);
+    }
+
+    @Override
+    public CotSenderOutput send(int num) throws MpcAbortException {
+        setPtoInput(num);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        while (num > store.getAvailableNum()) {
+            // generate COT when we do not have enough ones
+            for (int round = 1; round <= updateRound; round++) {
+                stopWatch.start();
+                CotSenderOutput cotSenderOutput = ncCotSender.send();
+                store.append(cotSenderOutput);
+                stopWatch.stop();
+                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                stopWatch.reset();
+                logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+            }
+        }
+
+        stopWatch.start();
+        CotSenderOutput senderOutput = store.take(num);
+        // stored COTs must be generated under the same Δ
+        MpcAbortPreconditions.checkArgument(Arrays.equals(delta, senderOutput.getDelta()));
+        stopWatch.stop();
+        long takeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 2, takeTime);
+
+        stopWatch.start();
+        // correct choices using precompute COT
+        senderOutput = preCotSender.send(senderOutput);
+        stopWatch.stop();
+        long preCotTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 2, preCotTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+        return senderOutput;
+    }
+
+    @Override
+    public void destroy() {
+        if (store != null) {
+            store.close();
+            store = null;
+        }
+        super.destroy();
+    }
+}
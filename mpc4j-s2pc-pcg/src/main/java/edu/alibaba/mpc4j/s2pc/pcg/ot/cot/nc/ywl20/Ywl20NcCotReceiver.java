@@ -121,6 +121,8 @@ public class Ywl20NcCotReceiver extends AbstractNcCotReceiver {
         );
         rpc.send(DataPacket.fromByteArrayList(matrixInitKeyHeader, matrixInitKeyPayload));
         LocalLinearCoder matrixInitA = new LocalLinearCoder(envType, initK, initN, matrixInitKey, parallel);
+        // matrix A used in setup encodes twice, precompute the sparse matrix
+        matrixInitA.precompute();
         stopWatch.stop();
         long keyInitTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -0,0 +1,45 @@
+package edu.alibaba.mpc4j.s2pc.pcg.store;
+
+import edu.alibaba.mpc4j.s2pc.pcg.MergedPcgPartyOutput;
+
+import java.nio.ByteBuffer;
+
+/**
+ * PCG output codec, encoding / decoding a merged PCG party output to / from a fixed-length byte record.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public interface PcgOutputCodec<T extends MergedPcgPartyOutput> {
+    /**
+     * Gets the codec name, which also includes parameters (e.g., l). Stores only accept records with the same name.
+     *
+     * @return the codec name.
+     */
+    String getName();
+
+    /**
+     * Gets the byte length of the encoded output with the given num.
+     *
+     * @param num num.
+     * @return byte length.
+     */
+    int getByteLength(int num);
+
+    /**
+     * Encodes the output into the buffer.
+     *
+     * @param output output.
+     * @param buffer buffer, with at least getByteLength(output.getNum()) remaining bytes.
+     */
+    void encode(T output, ByteBuffer buffer);
+
+    /**
+     * Decodes an output with the given num from the buffer.
+     *
+     * @param num    num.
+     * @param buffer buffer, with at least getByteLength(num) remaining bytes.
+     * @return output.
+     */
+    T decode(int num, ByteBuffer buffer);
+}
@@ -0,0 +1,277 @@
+package edu.alibaba.mpc4j.s2pc.pcg.store;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
+import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotSenderOutput;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * PCG output codec factory.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public class PcgOutputCodecFactory {
+    /**
+     * private constructor.
+     */
+    private PcgOutputCodecFactory() {
+        // empty
+    }
+
+    /**
+     * Creates a Z2 triple codec. The record is (a, b, c), each is represented by ⌈num / 8⌉ bytes.
+     *
+     * @return a Z2 triple codec.
+     */
+    public static PcgOutputCodec<Z2Triple> createZ2TripleCodec() {
+        return new PcgOutputCodec<Z2Triple>() {
+            @Override
+            public String getName() {
+                return "Z2_TRIPLE";
+            }
+
+            @Override
+            public int getByteLength(int num) {
+                return CommonUtils.getByteLength(num) * 3;
+            }
+
+            @Override
+            public void encode(Z2Triple output, ByteBuffer buffer) {
+                buffer.put(output.getA());
+                buffer.put(output.getB());
+                buffer.put(output.getC());
+            }
+
+            @Override
+            public Z2Triple decode(int num, ByteBuffer buffer) {
+                int byteNum = CommonUtils.getByteLength(num);
+                byte[] a = new byte[byteNum];
+                buffer.get(a);
+                byte[] b = new byte[byteNum];
+                buffer.get(b);
+                byte[] c = new byte[byteNum];
+                buffer.get(c);
+                return Z2Triple.create(num, a, b, c);
+            }
+        };
+    }
+
+    /**
+     * Creates a Zl triple codec. The record is (a, b, c), each element is represented by byteL bytes.
+     *
+     * @param zl Zl instance.
+     * @return a Zl triple codec.
+     */
+    public static PcgOutputCodec<ZlTriple> createZlTripleCodec(Zl zl) {
+        int byteL = zl.getByteL();
+        return new PcgOutputCodec<ZlTriple>() {
+            @Override
+            public String getName() {
+                return "ZL_TRIPLE (l = " + zl.getL() + ")";
+            }
+
+            @Override
+            public int getByteLength(int num) {
+                return num * byteL * 3;
+            }
+
+            @Override
+            public void encode(ZlTriple output, ByteBuffer buffer) {
+                for (BigInteger[] elements : new BigInteger[][]{output.getA(), output.getB(), output.getC()}) {
+                    for (BigInteger element : elements) {
+                        buffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL));
+                    }
+                }
+            }
+
+            @Override
+            public ZlTriple decode(int num, ByteBuffer buffer) {
+                BigInteger[][] elements = new BigInteger[3][num];
+                byte[] elementBytes = new byte[byteL];
+                for (int i = 0; i < 3; i++) {
+                    for (int index = 0; index < num; index++) {
+                        buffer.get(elementBytes);
+                        elements[i][index] = BigIntegerUtils.byteArrayToNonNegBigInteger(elementBytes);
+                    }
+                }
+                return ZlTriple.create(zl, num, elements[0], elements[1], elements[2]);
+            }
+        };
+    }
+
+    /**
+     * Creates a COT sender output codec. The record is (Δ, R0_1, ..., R0_num).
+     *
+     * @return a COT sender output codec.
+     */
+    public static PcgOutputCodec<CotSenderOutput> createCotSenderOutputCodec() {
+        return new PcgOutputCodec<CotSenderOutput>() {
+            @Override
+            public String getName() {
+                return "COT_SENDER_OUTPUT";
+            }
+
+            @Override
+            public int getByteLength(int num) {
+                return (num + 1) * CommonConstants.BLOCK_BYTE_LENGTH;
+            }
+
+            @Override
+            public void encode(CotSenderOutput output, ByteBuffer buffer) {
+                buffer.put(output.getDelta());
+                for (byte[] r0 : output.getR0Array()) {
+                    buffer.put(r0);
+                }
+            }
+
+            @Override
+            public CotSenderOutput decode(int num, ByteBuffer buffer) {
+                byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                buffer.get(delta);
+                byte[][] r0Array = new byte[num][CommonConstants.BLOCK_BYTE_LENGTH];
+                for (byte[] r0 : r0Array) {
+                    buffer.get(r0);
+                }
+                return CotSenderOutput.create(delta, r0Array);
+            }
+        };
+    }
+
+    /**
+     * Creates a COT receiver output codec. The record is (b_1, ..., b_num) packed in ⌈num / 8⌉ bytes, followed by
+     * (Rb_1, ..., Rb_num).
+     *
+     * @return a COT receiver output codec.
+     */
+    public static PcgOutputCodec<CotReceiverOutput> createCotReceiverOutputCodec() {
+        return new PcgOutputCodec<CotReceiverOutput>() {
+            @Override
+            public String getName() {
+                return "COT_RECEIVER_OUTPUT";
+            }
+
+            @Override
+            public int getByteLength(int num) {
+                return CommonUtils.getByteLength(num) + num * CommonConstants.BLOCK_BYTE_LENGTH;
+            }
+
+            @Override
+            public void encode(CotReceiverOutput output, ByteBuffer buffer) {
+                buffer.put(BinaryUtils.binaryToRoundByteArray(output.getChoices()));
+                for (byte[] rb : output.getRbArray()) {
+                    buffer.put(rb);
+                }
+            }
+
+            @Override
+            public CotReceiverOutput decode(int num, ByteBuffer buffer) {
+                byte[] choiceBytes = new byte[CommonUtils.getByteLength(num)];
+                buffer.get(choiceBytes);
+                boolean[] choices = BinaryUtils.byteArrayToBinary(choiceBytes, num);
+                byte[][] rbArray = new byte[num][CommonConstants.BLOCK_BYTE_LENGTH];
+                for (byte[] rb : rbArray) {
+                    buffer.get(rb);
+                }
+                return CotReceiverOutput.create(choices, rbArray);
+            }
+        };
+    }
+
+    /**
+     * Creates a 1-out-of-n (with n = 2^l) OT sender output codec. The record is (R_{1, 0}, ..., R_{num, n - 1}).
+     *
+     * @param l choice bit length.
+     * @return a 1-out-of-n OT sender output codec.
+     */
+    public static PcgOutputCodec<LnotSenderOutput> createLnotSenderOutputCodec(int l) {
+        int n = 1 << l;
+        return new PcgOutputCodec<LnotSenderOutput>() {
+            @Override
+            public String getName() {
+                return "LNOT_SENDER_OUTPUT (l = " + l + ")";
+            }
+
+            @Override
+            public int getByteLength(int num) {
+                return num * n * CommonConstants.BLOCK_BYTE_LENGTH;
+            }
+
+            @Override
+            public void encode(LnotSenderOutput output, ByteBuffer buffer) {
+                int num = output.getNum();
+                for (int index = 0; index < num; index++) {
+                    for (byte[] r : output.getRs(index)) {
+                        buffer.put(r);
+                    }
+                }
+            }
+
+            @Override
+            public LnotSenderOutput decode(int num, ByteBuffer buffer) {
+                byte[][][] rsArray = new byte[num][n][CommonConstants.BLOCK_BYTE_LENGTH];
+                for (byte[][] rs : rsArray) {
+                    for (byte[] r : rs) {
+                        buffer.get(r);
+                    }
+                }
+                return LnotSenderOutput.create(l, rsArray);
+            }
+        };
+    }
+
+    /**
+     * Creates a 1-out-of-n (with n = 2^l) OT receiver output codec. The record is (c_1, ..., c_num), each is an int,
+     * followed by (Rc_1, ..., Rc_num).
+     *
+     * @param l choice bit length.
+     * @return a 1-out-of-n OT receiver output codec.
+     */
+    public static PcgOutputCodec<LnotReceiverOutput> createLnotReceiverOutputCodec(int l) {
+        return new PcgOutputCodec<LnotReceiverOutput>() {
+            @Override
+            public String getName() {
+                return "LNOT_RECEIVER_OUTPUT (l = " + l + ")";
+            }
+
+            @Override
+            public int getByteLength(int num) {
+                return num * (Integer.BYTES + CommonConstants.BLOCK_BYTE_LENGTH);
+            }
+
+            @Override
+            public void encode(LnotReceiverOutput output, ByteBuffer buffer) {
+                int num = output.getNum();
+                for (int index = 0; index < num; index++) {
+                    buffer.putInt(output.getChoice(index));
+                }
+                for (int index = 0; index < num; index++) {
+                    buffer.put(output.getRb(index));
+                }
+            }
+
+            @Override
+            public LnotReceiverOutput decode(int num, ByteBuffer buffer) {
+                int[] choiceArray = new int[num];
+                for (int index = 0; index < num; index++) {
+                    choiceArray[index] = buffer.getInt();
+                }
+                byte[][] rbArray = new byte[num][CommonConstants.BLOCK_BYTE_LENGTH];
+                for (byte[] rb : rbArray) {
+                    buffer.get(rb);
+                }
+                return LnotReceiverOutput.create(l, choiceArray, rbArray);
+            }
+        };
+    }
+}
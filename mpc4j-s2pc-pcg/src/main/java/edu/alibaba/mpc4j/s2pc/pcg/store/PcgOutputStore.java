@@ -0,0 +1,502 @@
+package edu.alibaba.mpc4j.s2pc.pcg.store;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.s2pc.pcg.MergedPcgPartyOutput;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Disk-backed PCG output store. Outputs are appended as records to a segment file and consumed sequentially in the
+ * order they are appended. The file format is:
+ * <ul>
+ * <li>header: magic (int), version (int), bound flag (int), session ID (16 bytes), codec name length (int), codec
+ * name (UTF-8 bytes).</li>
+ * <li>records: num (int), byte length (int), encoded output (byte length bytes).</li>
+ * </ul>
+ * The consumption cursor (record offset, consumed num in the record, total consumed num) is checkpointed to a separate
+ * file "{file}.cursor" after each take by atomic renaming, so that the store can be reopened after restart. A partial
+ * tail record left by a crash during appending is truncated on open.
+ * <p>
+ * The session ID binds the stores of the two parties: both parties must hold stores with the same session ID and the
+ * same consumed num, so that they consume matching slices. Stores that cannot be matched are reset, i.e., all outputs
+ * are discarded and the store is bound to a new session. The store is not thread-safe.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public class PcgOutputStore<T extends MergedPcgPartyOutput> implements Closeable {
+    /**
+     * magic number
+     */
+    private static final int MAGIC = 0x50434753;
+    /**
+     * version
+     */
+    private static final int VERSION = 1;
+    /**
+     * session ID byte length
+     */
+    public static final int SESSION_ID_BYTE_LENGTH = 16;
+    /**
+     * bound flag offset
+     */
+    private static final int BOUND_FLAG_OFFSET = Integer.BYTES * 2;
+    /**
+     * record header byte length
+     */
+    private static final int RECORD_HEADER_BYTE_LENGTH = Integer.BYTES * 2;
+    /**
+     * cursor file byte length
+     */
+    private static final int CURSOR_BYTE_LENGTH = Long.BYTES * 2 + Integer.BYTES;
+    /**
+     * codec
+     */
+    private final PcgOutputCodec<T> codec;
+    /**
+     * store file path
+     */
+    private final Path path;
+    /**
+     * cursor file path
+     */
+    private final Path cursorPath;
+    /**
+     * header byte length
+     */
+    private final long headerByteLength;
+    /**
+     * file channel
+     */
+    private final FileChannel channel;
+    /**
+     * record offsets
+     */
+    private final List<Long> recordOffsets;
+    /**
+     * record nums
+     */
+    private final List<Integer> recordNums;
+    /**
+     * session ID, null if the store is not bound
+     */
+    private byte[] sessionId;
+    /**
+     * end offset of the appended records
+     */
+    private long endOffset;
+    /**
+     * appended num
+     */
+    private long appendedNum;
+    /**
+     * consumed num
+     */
+    private long consumedNum;
+    /**
+     * index of the record that the cursor points to
+     */
+    private int cursorRecordIndex;
+    /**
+     * consumed num in the record that the cursor points to
+     */
+    private int cursorRecordConsumedNum;
+    /**
+     * the decoded remaining part of the record that the cursor points to, null if not yet decoded
+     */
+    private T head;
+
+    /**
+     * Opens a store. If the file does not exist, creates an empty unbound store.
+     *
+     * @param file  file.
+     * @param codec codec.
+     * @return store.
+     */
+    public static <T extends MergedPcgPartyOutput> PcgOutputStore<T> open(File file, PcgOutputCodec<T> codec) {
+        try {
+            return new PcgOutputStore<>(file.toPath(), codec);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open " + PcgOutputStore.class.getSimpleName() + ": " + file, e);
+        }
+    }
+
+    private PcgOutputStore(Path path, PcgOutputCodec<T> codec) throws IOException {
+        this.codec = codec;
+        this.path = path;
+        cursorPath = path.resolveSibling(path.getFileName() + ".cursor");
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        recordOffsets = new ArrayList<>();
+        recordNums = new ArrayList<>();
+        byte[] nameBytes = codec.getName().getBytes(StandardCharsets.UTF_8);
+        headerByteLength = BOUND_FLAG_OFFSET + Integer.BYTES + SESSION_ID_BYTE_LENGTH + Integer.BYTES + nameBytes.length;
+        if (channel.size() == 0) {
+            // create the header
+            ByteBuffer header = ByteBuffer.allocate((int) headerByteLength);
+            header.putInt(MAGIC).putInt(VERSION).putInt(0).put(new byte[SESSION_ID_BYTE_LENGTH])
+                .putInt(nameBytes.length).put(nameBytes);
+            header.flip();
+            writeFully(header, 0);
+            channel.force(true);
+            sessionId = null;
+        } else {
+            // read and verify the header
+            ByteBuffer header = readFully(0, (int) Math.min(channel.size(), headerByteLength));
+            checkState(header.remaining() == headerByteLength, "incomplete header");
+            checkState(header.getInt() == MAGIC, "invalid magic number");
+            checkState(header.getInt() == VERSION, "invalid version");
+            boolean bound = header.getInt() != 0;
+            byte[] storedSessionId = new byte[SESSION_ID_BYTE_LENGTH];
+            header.get(storedSessionId);
+            sessionId = bound ? storedSessionId : null;
+            checkState(header.getInt() == nameBytes.length, "codec mismatch");
+            byte[] storedNameBytes = new byte[nameBytes.length];
+            header.get(storedNameBytes);
+            checkState(Arrays.equals(nameBytes, storedNameBytes), "codec mismatch");
+        }
+        // scan records
+        long fileSize = channel.size();
+        long offset = headerByteLength;
+        appendedNum = 0;
+        while (offset + RECORD_HEADER_BYTE_LENGTH <= fileSize) {
+            ByteBuffer recordHeader = readFully(offset, RECORD_HEADER_BYTE_LENGTH);
+            int num = recordHeader.getInt();
+            int byteLength = recordHeader.getInt();
+            if (num <= 0 || byteLength != codec.getByteLength(num)
+                || offset + RECORD_HEADER_BYTE_LENGTH + byteLength > fileSize) {
+                break;
+            }
+            recordOffsets.add(offset);
+            recordNums.add(num);
+            appendedNum += num;
+            offset += RECORD_HEADER_BYTE_LENGTH + byteLength;
+        }
+        endOffset = offset;
+        if (endOffset < fileSize) {
+            // truncate the partial tail record
+            channel.truncate(endOffset);
+            channel.force(true);
+        }
+        // read the cursor
+        consumedNum = 0;
+        cursorRecordIndex = 0;
+        cursorRecordConsumedNum = 0;
+        if (Files.exists(cursorPath)) {
+            ByteBuffer cursor = ByteBuffer.wrap(Files.readAllBytes(cursorPath));
+            checkState(cursor.remaining() == CURSOR_BYTE_LENGTH, "invalid cursor file");
+            long cursorRecordOffset = cursor.getLong();
+            cursorRecordConsumedNum = cursor.getInt();
+            consumedNum = cursor.getLong();
+            cursorRecordIndex = cursorRecordOffset == endOffset
+                ? recordOffsets.size() : recordOffsets.indexOf(cursorRecordOffset);
+            checkState(cursorRecordIndex >= 0, "cursor does not point to a record");
+            long expectConsumedNum = cursorRecordConsumedNum;
+            for (int index = 0; index < cursorRecordIndex; index++) {
+                expectConsumedNum += recordNums.get(index);
+            }
+            checkState(expectConsumedNum == consumedNum, "inconsistent cursor");
+            checkState(cursorRecordIndex == recordOffsets.size()
+                ? cursorRecordConsumedNum == 0 : cursorRecordConsumedNum < recordNums.get(cursorRecordIndex),
+                "inconsistent cursor"
+            );
+        }
+        head = null;
+    }
+
+    /**
+     * Returns if the store is bound to a session.
+     *
+     * @return true if the store is bound to a session.
+     */
+    public boolean isBound() {
+        return sessionId != null;
+    }
+
+    /**
+     * Gets the session ID.
+     *
+     * @return the session ID, null if the store is not bound.
+     */
+    public byte[] getSessionId() {
+        return sessionId == null ? null : Arrays.copyOf(sessionId, sessionId.length);
+    }
+
+    /**
+     * Binds the store to a session. Only an empty unbound store can be bound.
+     *
+     * @param sessionId session ID.
+     */
+    public void bind(byte[] sessionId) {
+        MathPreconditions.checkEqual("sessionId.length", "λ in bytes", sessionId.length, SESSION_ID_BYTE_LENGTH);
+        if (isBound() || appendedNum != 0) {
+            throw new IllegalStateException("Only an empty unbound store can be bound: " + path);
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + SESSION_ID_BYTE_LENGTH);
+            buffer.putInt(1).put(sessionId);
+            buffer.flip();
+            writeFully(buffer, BOUND_FLAG_OFFSET);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind " + PcgOutputStore.class.getSimpleName() + ": " + path, e);
+        }
+        this.sessionId = Arrays.copyOf(sessionId, sessionId.length);
+    }
+
+    /**
+     * Resets the store, i.e., discards all outputs and the cursor, and binds the store to the session.
+     *
+     * @param sessionId session ID.
+     */
+    public void reset(byte[] sessionId) {
+        MathPreconditions.checkEqual("sessionId.length", "λ in bytes", sessionId.length, SESSION_ID_BYTE_LENGTH);
+        try {
+            channel.truncate(headerByteLength);
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + SESSION_ID_BYTE_LENGTH);
+            buffer.putInt(1).put(sessionId);
+            buffer.flip();
+            writeFully(buffer, BOUND_FLAG_OFFSET);
+            channel.force(true);
+            recordOffsets.clear();
+            recordNums.clear();
+            endOffset = headerByteLength;
+            appendedNum = 0;
+            consumedNum = 0;
+            cursorRecordIndex = 0;
+            cursorRecordConsumedNum = 0;
+            head = null;
+            checkpoint();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to reset " + PcgOutputStore.class.getSimpleName() + ": " + path, e);
+        }
+        this.sessionId = Arrays.copyOf(sessionId, sessionId.length);
+    }
+
+    /**
+     * Gets the total num of appended outputs.
+     *
+     * @return the total num of appended outputs.
+     */
+    public long getAppendedNum() {
+        return appendedNum;
+    }
+
+    /**
+     * Gets the total num of consumed outputs.
+     *
+     * @return the total num of consumed outputs.
+     */
+    public long getConsumedNum() {
+        return consumedNum;
+    }
+
+    /**
+     * Gets the num of available outputs.
+     *
+     * @return the num of available outputs.
+     */
+    public long getAvailableNum() {
+        return appendedNum - consumedNum;
+    }
+
+    /**
+     * Appends an output to the end of the store.
+     *
+     * @param output output.
+     */
+    public void append(T output) {
+        int num = output.getNum();
+        MathPreconditions.checkPositive("num", num);
+        int byteLength = codec.getByteLength(num);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_BYTE_LENGTH + byteLength);
+        buffer.putInt(num).putInt(byteLength);
+        codec.encode(output, buffer);
+        MathPreconditions.checkEqual("encoded length", "byte length", buffer.position(), buffer.capacity());
+        buffer.flip();
+        try {
+            writeFully(buffer, endOffset);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append " + PcgOutputStore.class.getSimpleName() + ": " + path, e);
+        }
+        recordOffsets.add(endOffset);
+        recordNums.add(num);
+        endOffset += RECORD_HEADER_BYTE_LENGTH + byteLength;
+        appendedNum += num;
+    }
+
+    /**
+     * Takes the next num outputs, and checkpoints the cursor.
+     *
+     * @param num num.
+     * @return outputs.
+     */
+    public T take(int num) {
+        MathPreconditions.checkPositiveInRangeClosed("num", num, getAvailableNum());
+        T output = null;
+        int remainNum = num;
+        try {
+            while (remainNum > 0) {
+                if (head == null) {
+                    head = readRecord(cursorRecordIndex);
+                    if (cursorRecordConsumedNum > 0) {
+                        // drop the consumed part
+                        head.split(cursorRecordConsumedNum);
+                    }
+                }
+                int headNum = head.getNum();
+                T part;
+                if (remainNum >= headNum) {
+                    part = head;
+                    head = null;
+                    cursorRecordIndex++;
+                    cursorRecordConsumedNum = 0;
+                    remainNum -= headNum;
+                } else {
+                    @SuppressWarnings("unchecked")
+                    T splitPart = (T) head.split(remainNum);
+                    part = splitPart;
+                    cursorRecordConsumedNum += remainNum;
+                    remainNum = 0;
+                }
+                if (output == null) {
+                    output = part;
+                } else {
+                    output.merge(part);
+                }
+            }
+            consumedNum += num;
+            checkpoint();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to take from " + PcgOutputStore.class.getSimpleName() + ": " + path, e);
+        }
+        return output;
+    }
+
+    /**
+     * Reads the remaining outputs in the record that the cursor points to, without consuming them.
+     *
+     * @return the remaining outputs in the record.
+     */
+    public T peek() {
+        MathPreconditions.checkPositive("available num", getAvailableNum());
+        try {
+            T record = readRecord(cursorRecordIndex);
+            if (cursorRecordConsumedNum > 0) {
+                record.split(cursorRecordConsumedNum);
+            }
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to peek " + PcgOutputStore.class.getSimpleName() + ": " + path, e);
+        }
+    }
+
+    /**
+     * Truncates the store so that only the first appendedNum outputs are kept. The appendedNum must be at a record
+     * boundary and must not be less than the consumed num.
+     *
+     * @param appendedNum the appended num after truncation.
+     */
+    public void truncate(long appendedNum) {
+        MathPreconditions.checkNonNegativeInRange("appendedNum", appendedNum, this.appendedNum + 1);
+        MathPreconditions.checkGreaterOrEqual("appendedNum", appendedNum, consumedNum);
+        if (appendedNum == this.appendedNum) {
+            return;
+        }
+        int recordNum = 0;
+        long num = 0;
+        while (num < appendedNum) {
+            num += recordNums.get(recordNum);
+            recordNum++;
+        }
+        if (num != appendedNum) {
+            throw new IllegalArgumentException("appendedNum (" + appendedNum + ") is not at a record boundary");
+        }
+        long truncateOffset = recordOffsets.get(recordNum);
+        try {
+            channel.truncate(truncateOffset);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to truncate " + PcgOutputStore.class.getSimpleName() + ": " + path, e);
+        }
+        recordOffsets.subList(recordNum, recordOffsets.size()).clear();
+        recordNums.subList(recordNum, recordNums.size()).clear();
+        endOffset = truncateOffset;
+        this.appendedNum = appendedNum;
+    }
+
+    @Override
+    public void close() {
+        head = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close " + PcgOutputStore.class.getSimpleName() + ": " + path, e);
+        }
+    }
+
+    private T readRecord(int recordIndex) throws IOException {
+        long offset = recordOffsets.get(recordIndex);
+        int num = recordNums.get(recordIndex);
+        int byteLength = codec.getByteLength(num);
+        // records are consumed sequentially, map the record instead of copying it into the heap
+        MappedByteBuffer buffer = channel.map(
+            FileChannel.MapMode.READ_ONLY, offset + RECORD_HEADER_BYTE_LENGTH, byteLength
+        );
+        return codec.decode(num, buffer);
+    }
+
+    private void checkpoint() throws IOException {
+        long cursorRecordOffset = cursorRecordIndex == recordOffsets.size()
+            ? endOffset : recordOffsets.get(cursorRecordIndex);
+        ByteBuffer cursor = ByteBuffer.allocate(CURSOR_BYTE_LENGTH);
+        cursor.putLong(cursorRecordOffset).putInt(cursorRecordConsumedNum).putLong(consumedNum);
+        Path tempPath = cursorPath.resolveSibling(cursorPath.getFileName() + ".tmp");
+        Files.write(tempPath, cursor.array());
+        Files.move(tempPath, cursorPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private void checkState(boolean expression, String message) {
+        if (!expression) {
+            throw new IllegalStateException("Invalid " + PcgOutputStore.class.getSimpleName() + " (" + message + "): " + path);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package edu.alibaba.mpc4j.s2pc.pcg.store;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortPreconditions;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+
+import java.io.File;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * PCG output store utilities, used by protocols that draw outputs from stores. Before consuming, the two parties
+ * exchange their store states (session ID, consumed num, appended num). The party with more appended outputs truncates
+ * its store to the common appended num, so that both parties consume matching slices. Stores that cannot be matched are
+ * reset by both parties.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public class PcgOutputStoreUtils {
+    /**
+     * private constructor.
+     */
+    private PcgOutputStoreUtils() {
+        // empty
+    }
+
+    /**
+     * Gets the store file for the party.
+     *
+     * @param directory  the store directory.
+     * @param name       the store name.
+     * @param ownParty   own party.
+     * @param otherParty other party.
+     * @return the store file.
+     */
+    public static File getStoreFile(String directory, String name, Party ownParty, Party otherParty) {
+        return new File(directory, name + "_" + ownParty.getPartyName() + "_" + otherParty.getPartyName() + ".store");
+    }
+
+    /**
+     * Binds the store to a fresh session if it is not bound. This is invoked by the sender, who decides the session.
+     *
+     * @param store        the store.
+     * @param secureRandom the random state.
+     */
+    public static void bindFreshSession(PcgOutputStore<?> store, SecureRandom secureRandom) {
+        if (!store.isBound()) {
+            resetFreshSession(store, secureRandom);
+        }
+    }
+
+    /**
+     * Resets the store and binds it to a fresh session. This is invoked by the sender when its stored outputs cannot be
+     * used anymore, so that the receiver also resets its store after receiving the new session.
+     *
+     * @param store        the store.
+     * @param secureRandom the random state.
+     */
+    public static void resetFreshSession(PcgOutputStore<?> store, SecureRandom secureRandom) {
+        byte[] sessionId = new byte[PcgOutputStore.SESSION_ID_BYTE_LENGTH];
+        secureRandom.nextBytes(sessionId);
+        store.reset(sessionId);
+    }
+
+    /**
+     * Binds the store to the session in the state payload sent by the sender. This is invoked by the receiver. If the
+     * store is bound to another session or consumed a different num of outputs, the store is reset.
+     *
+     * @param store              the store.
+     * @param senderStatePayload the state payload sent by the sender.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public static void bindSession(PcgOutputStore<?> store, List<byte[]> senderStatePayload) throws MpcAbortException {
+        MpcAbortPreconditions.checkArgument(senderStatePayload.size() == 3);
+        byte[] sessionId = senderStatePayload.get(0);
+        MpcAbortPreconditions.checkArgument(sessionId.length == PcgOutputStore.SESSION_ID_BYTE_LENGTH);
+        long senderConsumedNum = LongUtils.byteArrayToLong(senderStatePayload.get(1));
+        if (!store.isBound() || !Arrays.equals(store.getSessionId(), sessionId)
+            || store.getConsumedNum() != senderConsumedNum) {
+            store.reset(sessionId);
+        }
+    }
+
+    /**
+     * Creates the state payload of the store.
+     *
+     * @param store the store.
+     * @return the state payload.
+     */
+    public static List<byte[]> createStatePayload(PcgOutputStore<?> store) {
+        List<byte[]> statePayload = new LinkedList<>();
+        statePayload.add(store.getSessionId());
+        statePayload.add(LongUtils.longToByteArray(store.getConsumedNum()));
+        statePayload.add(LongUtils.longToByteArray(store.getAppendedNum()));
+        return statePayload;
+    }
+
+    /**
+     * Synchronizes the store with the state payload sent by the other party. If the other party has reset its store,
+     * the store is also reset. Otherwise, the store is truncated to the common appended num.
+     *
+     * @param store            the store.
+     * @param thatStatePayload the state payload sent by the other party.
+     * @throws MpcAbortException if the stores are bound to different sessions or cannot be synchronized.
+     */
+    public static void syncState(PcgOutputStore<?> store, List<byte[]> thatStatePayload) throws MpcAbortException {
+        MpcAbortPreconditions.checkArgument(thatStatePayload.size() == 3);
+        MpcAbortPreconditions.checkArgument(store.isBound());
+        byte[] sessionId = store.getSessionId();
+        MpcAbortPreconditions.checkArgument(Arrays.equals(sessionId, thatStatePayload.get(0)));
+        long thatConsumedNum = LongUtils.byteArrayToLong(thatStatePayload.get(1));
+        long thatAppendedNum = LongUtils.byteArrayToLong(thatStatePayload.get(2));
+        if (store.getConsumedNum() != thatConsumedNum) {
+            // the other party reset its store
+            MpcAbortPreconditions.checkArgument(thatConsumedNum == 0 && thatAppendedNum == 0);
+            store.reset(sessionId);
+        }
+        long commonAppendedNum = Math.min(store.getAppendedNum(), thatAppendedNum);
+        try {
+            store.truncate(commonAppendedNum);
+        } catch (IllegalArgumentException e) {
+            throw new MpcAbortException("Failed to synchronize stores: " + e.getMessage());
+        }
+    }
+}
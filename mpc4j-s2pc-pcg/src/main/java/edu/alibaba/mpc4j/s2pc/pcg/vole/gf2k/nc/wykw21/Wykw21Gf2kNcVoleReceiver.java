@@ -118,6 +118,8 @@ public class Wykw21Gf2kNcVoleReceiver extends AbstractGf2kNcVoleReceiver {
         );
         rpc.send(DataPacket.fromByteArrayList(matrixInitKeyHeader, matrixInitKeyPayload));
         LocalLinearCoder matrixInitA = new LocalLinearCoder(envType, initK, initN, matrixInitKey, parallel);
+        // matrix A used in setup encodes twice, precompute the sparse matrix
+        matrixInitA.precompute();
         stopWatch.stop();
         long keyInitTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -114,6 +114,8 @@ public class Wykw21Gf2kNcVoleSender extends AbstractGf2kNcVoleSender {
         MpcAbortPreconditions.checkArgument(matrixInitKeyPayload.size() == 1);
         byte[] initKey = matrixInitKeyPayload.get(0);
         LocalLinearCoder matrixInitA = new LocalLinearCoder(envType, initK, initN, initKey, parallel);
+        // matrix A used in setup encodes twice, precompute the sparse matrix
+        matrixInitA.precompute();
         stopWatch.stop();
         long keyInitTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -0,0 +1,82 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * asynchronous refill buffer test.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/30
+ */
+public class AsyncRefillBufferTest {
+    /**
+     * the random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    /**
+     * num per round
+     */
+    private static final int ROUND_NUM = 100;
+
+    @Test
+    public void testWatermark() throws MpcAbortException {
+        AtomicInteger roundCount = new AtomicInteger();
+        AsyncRefillBuffer<Z2Triple> refillBuffer = new AsyncRefillBuffer<>(
+            "test", Z2Triple.createEmpty(), ROUND_NUM, ROUND_NUM, 3 * ROUND_NUM, () -> {
+            roundCount.incrementAndGet();
+            return Z2Triple.createRandom(ROUND_NUM, SECURE_RANDOM);
+        });
+        // refill to the high watermark
+        refillBuffer.refill();
+        Assert.assertEquals(3 * ROUND_NUM, refillBuffer.getScheduledNum());
+        // take above the low watermark, no refill
+        Assert.assertEquals(150, refillBuffer.take(150).getNum());
+        Assert.assertEquals(150, refillBuffer.getScheduledNum());
+        // take below the low watermark, refill to the high watermark
+        Assert.assertEquals(100, refillBuffer.take(100).getNum());
+        Assert.assertEquals(350, refillBuffer.getScheduledNum());
+        // take more than scheduled
+        Assert.assertEquals(500, refillBuffer.take(500).getNum());
+        Assert.assertEquals(350, refillBuffer.getScheduledNum());
+        refillBuffer.close();
+        Assert.assertEquals(11, roundCount.get());
+        Assert.assertTrue(refillBuffer.getStallNum() > 0);
+    }
+
+    @Test
+    public void testStall() throws MpcAbortException {
+        AsyncRefillBuffer<Z2Triple> refillBuffer = new AsyncRefillBuffer<>(
+            "test", Z2Triple.createEmpty(), ROUND_NUM, 0, ROUND_NUM, () -> {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Z2Triple.createRandom(ROUND_NUM, SECURE_RANDOM);
+        });
+        // nothing is scheduled, so the take is blocked until the round finishes
+        Assert.assertEquals(ROUND_NUM, refillBuffer.take(ROUND_NUM).getNum());
+        Assert.assertEquals(1, refillBuffer.getStallNum());
+        Assert.assertTrue(refillBuffer.getStallTime(TimeUnit.MILLISECONDS) >= 5);
+        refillBuffer.close();
+    }
+
+    @Test
+    public void testAbort() {
+        AsyncRefillBuffer<Z2Triple> refillBuffer = new AsyncRefillBuffer<>(
+            "test", Z2Triple.createEmpty(), ROUND_NUM, ROUND_NUM, 2 * ROUND_NUM, () -> {
+            throw new MpcAbortException("abort");
+        });
+        refillBuffer.refill();
+        // the failure in the background thread is thrown when taking
+        Assert.assertThrows(MpcAbortException.class, () -> refillBuffer.take(1));
+        refillBuffer.close();
+    }
+}
@@ -5,13 +5,17 @@ import edu.alibaba.mpc4j.common.rpc.test.AbstractThreePartyPtoTest;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.AiderThread;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealAider;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgFactory.Z2MtgType;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.cache.CacheZ2MtgConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.offline.OfflineZ2MtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgConfig;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
@@ -33,6 +37,12 @@ public class Z2MtgAidTest extends AbstractThreePartyPtoTest {
      * large num
      */
     private static final int LARGE_NUM = (1 << 18) + 1;
+    /**
+     * store directory
+     */
+    private static final String STORE_DIRECTORY = new File(
+        System.getProperty("java.io.tmpdir"), Z2MtgAidTest.class.getSimpleName()
+    ).getAbsolutePath();
 
     @Parameterized.Parameters(name = "{0}")
     public static Collection<Object[]> configurations() {
@@ -48,10 +58,32 @@ public class Z2MtgAidTest extends AbstractThreePartyPtoTest {
             Z2MtgType.CACHE.name() + " (" + SecurityModel.TRUSTED_DEALER + ")",
             new OfflineZ2MtgConfig.Builder(SecurityModel.TRUSTED_DEALER).build(),
         });
+        // CACHE (async)
+        configurations.add(new Object[]{
+            Z2MtgType.CACHE.name() + " (async, " + SecurityModel.TRUSTED_DEALER + ")",
+            new CacheZ2MtgConfig.Builder(SecurityModel.TRUSTED_DEALER).setAsyncRefill(true).build(),
+        });
+        // STORE
+        configurations.add(new Object[]{
+            Z2MtgType.STORE.name() + " (" + SecurityModel.TRUSTED_DEALER + ")",
+            new StoreZ2MtgConfig.Builder(SecurityModel.TRUSTED_DEALER, STORE_DIRECTORY).build(),
+        });
 
         return configurations;
     }
 
+    @BeforeClass
+    public static void cleanStoreDirectory() {
+        // stores are kept across tests in this class, but not across test runs
+        File[] storeFiles = new File(STORE_DIRECTORY).listFiles();
+        if (storeFiles != null) {
+            for (File storeFile : storeFiles) {
+                //noinspection ResultOfMethodCallIgnored
+                storeFile.delete();
+            }
+        }
+    }
+
     /**
      * config
      */
@@ -3,10 +3,10 @@ package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core;
 import edu.alibaba.mpc4j.common.rpc.test.AbstractThreePartyPtoTest;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.AiderThread;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealAider;
+import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgTestUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.aid.AidZ2CoreMtgConfig;
-import org.apache.commons.lang3.time.StopWatch;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,10 +64,34 @@ public class Z2CoreMtgAidTest extends AbstractThreePartyPtoTest {
         testPto(LARGE_NUM, true);
     }
 
+    @Test
+    public void testFullDefault() {
+        testPto(DEFAULT_NUM, false, new TrustDealConfig.Builder().setSeedCompressed(false).build());
+    }
+
+    @Test
+    public void testFullParallelLargeNum() {
+        testPto(LARGE_NUM, true, new TrustDealConfig.Builder().setSeedCompressed(false).build());
+    }
+
+    @Test
+    public void testConcurrentTasks() {
+        testConcurrentTasks(false);
+    }
+
+    @Test
+    public void testParallelConcurrentTasks() {
+        testConcurrentTasks(true);
+    }
+
     private void testPto(int num, boolean parallel) {
+        testPto(num, parallel, new TrustDealConfig.Builder().build());
+    }
+
+    private void testPto(int num, boolean parallel, TrustDealConfig aiderConfig) {
         Z2CoreMtgParty sender = Z2CoreMtgFactory.createSender(firstRpc, secondRpc.ownParty(), thirdRpc.ownParty(), config);
         Z2CoreMtgParty receiver = Z2CoreMtgFactory.createReceiver(secondRpc, firstRpc.ownParty(), thirdRpc.ownParty(), config);
-        TrustDealAider aider = new TrustDealAider(thirdRpc, firstRpc.ownParty(), secondRpc.ownParty());
+        TrustDealAider aider = new TrustDealAider(thirdRpc, firstRpc.ownParty(), secondRpc.ownParty(), aiderConfig);
         sender.setParallel(parallel);
         receiver.setParallel(parallel);
         aider.setParallel(parallel);
@@ -105,4 +129,61 @@ public class Z2CoreMtgAidTest extends AbstractThreePartyPtoTest {
             e.printStackTrace();
         }
     }
+
+    private void testConcurrentTasks(boolean parallel) {
+        int taskNum = 4;
+        Z2CoreMtgParty[] senders = new Z2CoreMtgParty[taskNum];
+        Z2CoreMtgParty[] receivers = new Z2CoreMtgParty[taskNum];
+        TrustDealAider aider = new TrustDealAider(thirdRpc, firstRpc.ownParty(), secondRpc.ownParty());
+        aider.setParallel(parallel);
+        int randomTaskId = Math.abs(SECURE_RANDOM.nextInt(Integer.MAX_VALUE - taskNum));
+        aider.setTaskId(randomTaskId);
+        for (int taskIndex = 0; taskIndex < taskNum; taskIndex++) {
+            senders[taskIndex] = Z2CoreMtgFactory.createSender(firstRpc, secondRpc.ownParty(), thirdRpc.ownParty(), config);
+            receivers[taskIndex] = Z2CoreMtgFactory.createReceiver(secondRpc, firstRpc.ownParty(), thirdRpc.ownParty(), config);
+            senders[taskIndex].setParallel(parallel);
+            receivers[taskIndex].setParallel(parallel);
+            senders[taskIndex].setTaskId(randomTaskId + taskIndex);
+            receivers[taskIndex].setTaskId(randomTaskId + taskIndex);
+        }
+        try {
+            LOGGER.info("-----test {} (concurrent tasks) start-----", aider.getPtoDesc().getPtoName());
+            Z2CoreMtgPartyThread[] senderThreads = new Z2CoreMtgPartyThread[taskNum];
+            Z2CoreMtgPartyThread[] receiverThreads = new Z2CoreMtgPartyThread[taskNum];
+            AiderThread aiderThread = new AiderThread(aider);
+            STOP_WATCH.start();
+            // start
+            aiderThread.start();
+            for (int taskIndex = 0; taskIndex < taskNum; taskIndex++) {
+                senderThreads[taskIndex] = new Z2CoreMtgPartyThread(senders[taskIndex], DEFAULT_NUM);
+                receiverThreads[taskIndex] = new Z2CoreMtgPartyThread(receivers[taskIndex], DEFAULT_NUM);
+                senderThreads[taskIndex].start();
+                receiverThreads[taskIndex].start();
+            }
+            // stop
+            for (int taskIndex = 0; taskIndex < taskNum; taskIndex++) {
+                senderThreads[taskIndex].join();
+                receiverThreads[taskIndex].join();
+            }
+            STOP_WATCH.stop();
+            long time = STOP_WATCH.getTime(TimeUnit.MILLISECONDS);
+            STOP_WATCH.reset();
+            // verify
+            for (int taskIndex = 0; taskIndex < taskNum; taskIndex++) {
+                Z2MtgTestUtils.assertOutput(
+                    DEFAULT_NUM, senderThreads[taskIndex].getOutput(), receiverThreads[taskIndex].getOutput()
+                );
+            }
+            printAndResetRpc(time);
+            // destroy
+            for (int taskIndex = 0; taskIndex < taskNum; taskIndex++) {
+                new Thread(senders[taskIndex]::destroy).start();
+                new Thread(receivers[taskIndex]::destroy).start();
+            }
+            aiderThread.join();
+            new Thread(aider::destroy).start();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
 }
@@ -10,6 +10,7 @@ import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.AiderThread;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealAider;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlMtgFactory.ZlMtgType;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.impl.cache.CacheZlMtgConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.impl.offline.OfflineZlMtgConfig;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -63,6 +64,11 @@ public class ZlMtgAidTest extends AbstractThreePartyPtoTest {
                 ZlMtgType.CACHE.name() + " (l = " + l + ", " + SecurityModel.TRUSTED_DEALER + ")",
                 new OfflineZlMtgConfig.Builder(SecurityModel.TRUSTED_DEALER, zl).build(),
             });
+            // CACHE (async)
+            configurations.add(new Object[]{
+                ZlMtgType.CACHE.name() + " (async, l = " + l + ", " + SecurityModel.TRUSTED_DEALER + ")",
+                new CacheZlMtgConfig.Builder(SecurityModel.TRUSTED_DEALER, zl).setAsyncRefill(true).build(),
+            });
         }
 
         return configurations;
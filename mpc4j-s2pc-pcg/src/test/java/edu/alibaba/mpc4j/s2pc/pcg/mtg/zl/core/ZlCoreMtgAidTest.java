@@ -8,6 +8,7 @@ import edu.alibaba.mpc4j.common.tool.galoisfield.zl.ZlFactory;
 import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.AiderThread;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealAider;
+import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlMtgTestUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.core.aid.AidZlCoreMtgConfig;
@@ -101,10 +102,24 @@ public class ZlCoreMtgAidTest extends AbstractThreePartyPtoTest {
         testPto(LARGE_NUM, true);
     }
 
+    @Test
+    public void testFullDefault() {
+        testPto(DEFAULT_NUM, false, new TrustDealConfig.Builder().setSeedCompressed(false).build());
+    }
+
+    @Test
+    public void testFullParallelLargeNum() {
+        testPto(LARGE_NUM, true, new TrustDealConfig.Builder().setSeedCompressed(false).build());
+    }
+
     private void testPto(int num, boolean parallel) {
+        testPto(num, parallel, new TrustDealConfig.Builder().build());
+    }
+
+    private void testPto(int num, boolean parallel, TrustDealConfig aiderConfig) {
         ZlCoreMtgParty sender = ZlCoreMtgFactory.createSender(firstRpc, secondRpc.ownParty(), thirdRpc.ownParty(), config);
         ZlCoreMtgParty receiver = ZlCoreMtgFactory.createReceiver(secondRpc, firstRpc.ownParty(), thirdRpc.ownParty(), config);
-        TrustDealAider aider = new TrustDealAider(thirdRpc, firstRpc.ownParty(), secondRpc.ownParty());
+        TrustDealAider aider = new TrustDealAider(thirdRpc, firstRpc.ownParty(), secondRpc.ownParty(), aiderConfig);
         sender.setParallel(parallel);
         receiver.setParallel(parallel);
         aider.setParallel(parallel);
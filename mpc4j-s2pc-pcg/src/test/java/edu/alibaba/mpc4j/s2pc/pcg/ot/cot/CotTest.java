@@ -5,13 +5,16 @@ import edu.alibaba.mpc4j.common.rpc.test.AbstractTwoPartyPtoTest;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.cache.CacheCotConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.direct.DirectCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store.StoreCotConfig;
 import org.junit.Assert;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -31,6 +34,12 @@ public class CotTest extends AbstractTwoPartyPtoTest {
      * default num
      */
     private static final int DEFAULT_NUM = 1000;
+    /**
+     * store directory
+     */
+    private static final String STORE_DIRECTORY = new File(
+        System.getProperty("java.io.tmpdir"), CotTest.class.getSimpleName()
+    ).getAbsolutePath();
 
     @Parameterized.Parameters(name = "{0}")
     public static Collection<Object[]> configurations() {
@@ -54,9 +63,30 @@ public class CotTest extends AbstractTwoPartyPtoTest {
             CotFactory.CotType.CACHE.name() + " (" + SecurityModel.MALICIOUS + ")",
             new CacheCotConfig.Builder(SecurityModel.MALICIOUS).build(),
         });
+        configurations.add(new Object[] {
+            CotFactory.CotType.CACHE.name() + " (async, " + SecurityModel.SEMI_HONEST + ")",
+            new CacheCotConfig.Builder(SecurityModel.SEMI_HONEST).setAsyncRefill(true).build(),
+        });
+        // STORE
+        configurations.add(new Object[] {
+            CotFactory.CotType.STORE.name() + " (" + SecurityModel.SEMI_HONEST + ")",
+            new StoreCotConfig.Builder(SecurityModel.SEMI_HONEST, STORE_DIRECTORY).build(),
+        });
 
         return configurations;
     }
+
+    @BeforeClass
+    public static void cleanStoreDirectory() {
+        // stores are kept across tests in this class, but not across test runs
+        File[] storeFiles = new File(STORE_DIRECTORY).listFiles();
+        if (storeFiles != null) {
+            for (File storeFile : storeFiles) {
+                //noinspection ResultOfMethodCallIgnored
+                storeFile.delete();
+            }
+        }
+    }
     /**
      * 协议类型
      */
@@ -0,0 +1,269 @@
+package edu.alibaba.mpc4j.s2pc.pcg.store;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zl.ZlFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.MergedPcgPartyOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotTestUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotSenderOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotTestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.security.SecureRandom;
+import java.util.stream.IntStream;
+
+/**
+ * PCG output store test.
+ *
+ * @author Weiran Liu
+ * @date 2023/11/29
+ */
+public class PcgOutputStoreTest {
+    /**
+     * the random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    /**
+     * tested nums
+     */
+    private static final int[] NUMS = new int[]{1, 7, 8, 9, 1000};
+    /**
+     * store directory
+     */
+    private File storeDirectory;
+
+    @Before
+    public void createStoreDirectory() throws IOException {
+        storeDirectory = Files.createTempDirectory(PcgOutputStoreTest.class.getSimpleName()).toFile();
+    }
+
+    @After
+    public void deleteStoreDirectory() {
+        File[] storeFiles = storeDirectory.listFiles();
+        if (storeFiles != null) {
+            for (File storeFile : storeFiles) {
+                //noinspection ResultOfMethodCallIgnored
+                storeFile.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        storeDirectory.delete();
+    }
+
+    @Test
+    public void testZ2TripleCodec() {
+        PcgOutputCodec<Z2Triple> codec = PcgOutputCodecFactory.createZ2TripleCodec();
+        for (int num : NUMS) {
+            Z2Triple output = Z2Triple.createRandom(num, SECURE_RANDOM);
+            Z2Triple decodeOutput = codec.decode(num, encode(codec, output));
+            Assert.assertEquals(num, decodeOutput.getNum());
+            Assert.assertArrayEquals(output.getA(), decodeOutput.getA());
+            Assert.assertArrayEquals(output.getB(), decodeOutput.getB());
+            Assert.assertArrayEquals(output.getC(), decodeOutput.getC());
+        }
+    }
+
+    @Test
+    public void testZlTripleCodec() {
+        for (int l : new int[]{1, 7, 64, 65}) {
+            Zl zl = ZlFactory.createInstance(EnvType.STANDARD, l);
+            PcgOutputCodec<ZlTriple> codec = PcgOutputCodecFactory.createZlTripleCodec(zl);
+            for (int num : NUMS) {
+                BigInteger[] as = IntStream.range(0, num).mapToObj(i -> zl.createRandom(SECURE_RANDOM)).toArray(BigInteger[]::new);
+                BigInteger[] bs = IntStream.range(0, num).mapToObj(i -> zl.createRandom(SECURE_RANDOM)).toArray(BigInteger[]::new);
+                BigInteger[] cs = IntStream.range(0, num).mapToObj(i -> zl.createRandom(SECURE_RANDOM)).toArray(BigInteger[]::new);
+                ZlTriple output = ZlTriple.create(zl, num, as, bs, cs);
+                ZlTriple decodeOutput = codec.decode(num, encode(codec, output));
+                Assert.assertEquals(num, decodeOutput.getNum());
+                Assert.assertArrayEquals(as, decodeOutput.getA());
+                Assert.assertArrayEquals(bs, decodeOutput.getB());
+                Assert.assertArrayEquals(cs, decodeOutput.getC());
+            }
+        }
+    }
+
+    @Test
+    public void testCotCodec() {
+        PcgOutputCodec<CotSenderOutput> senderCodec = PcgOutputCodecFactory.createCotSenderOutputCodec();
+        PcgOutputCodec<CotReceiverOutput> receiverCodec = PcgOutputCodecFactory.createCotReceiverOutputCodec();
+        byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(delta);
+        for (int num : NUMS) {
+            CotSenderOutput senderOutput = CotTestUtils.genSenderOutput(num, delta, SECURE_RANDOM);
+            CotReceiverOutput receiverOutput = CotTestUtils.genReceiverOutput(senderOutput, SECURE_RANDOM);
+            CotSenderOutput decodeSenderOutput = senderCodec.decode(num, encode(senderCodec, senderOutput));
+            CotReceiverOutput decodeReceiverOutput = receiverCodec.decode(num, encode(receiverCodec, receiverOutput));
+            Assert.assertArrayEquals(delta, decodeSenderOutput.getDelta());
+            Assert.assertArrayEquals(senderOutput.getR0Array(), decodeSenderOutput.getR0Array());
+            Assert.assertArrayEquals(receiverOutput.getChoices(), decodeReceiverOutput.getChoices());
+            Assert.assertArrayEquals(receiverOutput.getRbArray(), decodeReceiverOutput.getRbArray());
+            CotTestUtils.assertOutput(num, decodeSenderOutput, decodeReceiverOutput);
+        }
+    }
+
+    @Test
+    public void testLnotCodec() {
+        for (int l : new int[]{1, 5, 8}) {
+            PcgOutputCodec<LnotSenderOutput> senderCodec = PcgOutputCodecFactory.createLnotSenderOutputCodec(l);
+            PcgOutputCodec<LnotReceiverOutput> receiverCodec = PcgOutputCodecFactory.createLnotReceiverOutputCodec(l);
+            for (int num : NUMS) {
+                LnotSenderOutput senderOutput = LnotTestUtils.genSenderOutput(l, num, SECURE_RANDOM);
+                LnotReceiverOutput receiverOutput = LnotTestUtils.genReceiverOutput(senderOutput, SECURE_RANDOM);
+                LnotSenderOutput decodeSenderOutput = senderCodec.decode(num, encode(senderCodec, senderOutput));
+                LnotReceiverOutput decodeReceiverOutput = receiverCodec.decode(num, encode(receiverCodec, receiverOutput));
+                for (int index = 0; index < num; index++) {
+                    Assert.assertArrayEquals(senderOutput.getRs(index), decodeSenderOutput.getRs(index));
+                    Assert.assertEquals(receiverOutput.getChoice(index), decodeReceiverOutput.getChoice(index));
+                    Assert.assertArrayEquals(receiverOutput.getRb(index), decodeReceiverOutput.getRb(index));
+                }
+                LnotTestUtils.assertOutput(l, num, decodeSenderOutput, decodeReceiverOutput);
+            }
+        }
+    }
+
+    private static <T extends MergedPcgPartyOutput> ByteBuffer encode(
+        PcgOutputCodec<T> codec, T output) {
+        ByteBuffer buffer = ByteBuffer.allocate(codec.getByteLength(output.getNum()));
+        codec.encode(output, buffer);
+        Assert.assertEquals(buffer.capacity(), buffer.position());
+        buffer.flip();
+        return buffer;
+    }
+
+    @Test
+    public void testAppendTake() {
+        File file = new File(storeDirectory, "append_take.store");
+        PcgOutputCodec<Z2Triple> codec = PcgOutputCodecFactory.createZ2TripleCodec();
+        Z2Triple expect = Z2Triple.createEmpty();
+        try (PcgOutputStore<Z2Triple> store = PcgOutputStore.open(file, codec)) {
+            for (int num : NUMS) {
+                Z2Triple output = Z2Triple.createRandom(num, SECURE_RANDOM);
+                store.append(output);
+                expect.merge(Z2Triple.create(num, output.getA(), output.getB(), output.getC()));
+            }
+            int totalNum = expect.getNum();
+            Assert.assertEquals(totalNum, store.getAppendedNum());
+            Assert.assertEquals(totalNum, store.getAvailableNum());
+            // take crossing record boundaries
+            for (int takeNum : new int[]{3, 5, 10, 100}) {
+                assertEquals(expect.split(takeNum), store.take(takeNum));
+            }
+            // cannot take more than available
+            Assert.assertThrows(IllegalArgumentException.class, () -> store.take((int) store.getAvailableNum() + 1));
+            assertEquals(expect.split(expect.getNum()), store.take((int) store.getAvailableNum()));
+            Assert.assertEquals(totalNum, store.getConsumedNum());
+            Assert.assertEquals(0, store.getAvailableNum());
+        }
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        File file = new File(storeDirectory, "reopen.store");
+        PcgOutputCodec<Z2Triple> codec = PcgOutputCodecFactory.createZ2TripleCodec();
+        Z2Triple expect = Z2Triple.createEmpty();
+        byte[] sessionId = new byte[PcgOutputStore.SESSION_ID_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(sessionId);
+        try (PcgOutputStore<Z2Triple> store = PcgOutputStore.open(file, codec)) {
+            Assert.assertFalse(store.isBound());
+            store.bind(sessionId);
+            for (int num : NUMS) {
+                Z2Triple output = Z2Triple.createRandom(num, SECURE_RANDOM);
+                store.append(output);
+                expect.merge(Z2Triple.create(num, output.getA(), output.getB(), output.getC()));
+            }
+            assertEquals(expect.split(20), store.take(20));
+        }
+        // append a partial record, which is dropped when reopening
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(randomAccessFile.length());
+            randomAccessFile.writeInt(100);
+            randomAccessFile.writeInt(100);
+            randomAccessFile.write(new byte[10]);
+        }
+        try (PcgOutputStore<Z2Triple> store = PcgOutputStore.open(file, codec)) {
+            Assert.assertTrue(store.isBound());
+            Assert.assertArrayEquals(sessionId, store.getSessionId());
+            Assert.assertEquals(20, store.getConsumedNum());
+            Assert.assertEquals(expect.getNum(), store.getAvailableNum());
+            // an empty bound store cannot be bound again
+            Assert.assertThrows(IllegalStateException.class, () -> store.bind(sessionId));
+            assertEquals(expect.split(expect.getNum()), store.take((int) store.getAvailableNum()));
+        }
+    }
+
+    @Test
+    public void testTruncate() {
+        File file = new File(storeDirectory, "truncate.store");
+        PcgOutputCodec<Z2Triple> codec = PcgOutputCodecFactory.createZ2TripleCodec();
+        try (PcgOutputStore<Z2Triple> store = PcgOutputStore.open(file, codec)) {
+            // a non-empty unbound store cannot be bound
+            store.append(Z2Triple.createRandom(10, SECURE_RANDOM));
+            Assert.assertThrows(IllegalStateException.class, () -> store.bind(new byte[PcgOutputStore.SESSION_ID_BYTE_LENGTH]));
+            store.append(Z2Triple.createRandom(10, SECURE_RANDOM));
+            store.append(Z2Triple.createRandom(10, SECURE_RANDOM));
+            store.take(15);
+            // not at a record boundary
+            Assert.assertThrows(IllegalArgumentException.class, () -> store.truncate(25));
+            // less than the consumed num
+            Assert.assertThrows(IllegalArgumentException.class, () -> store.truncate(10));
+            store.truncate(20);
+            Assert.assertEquals(20, store.getAppendedNum());
+            Assert.assertEquals(5, store.getAvailableNum());
+        }
+        try (PcgOutputStore<Z2Triple> store = PcgOutputStore.open(file, codec)) {
+            Assert.assertEquals(20, store.getAppendedNum());
+            Assert.assertEquals(15, store.getConsumedNum());
+        }
+    }
+
+    @Test
+    public void testPeekReset() {
+        File file = new File(storeDirectory, "peek_reset.store");
+        PcgOutputCodec<Z2Triple> codec = PcgOutputCodecFactory.createZ2TripleCodec();
+        byte[] sessionId = new byte[PcgOutputStore.SESSION_ID_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(sessionId);
+        try (PcgOutputStore<Z2Triple> store = PcgOutputStore.open(file, codec)) {
+            store.append(Z2Triple.createRandom(10, SECURE_RANDOM));
+            store.take(3);
+            // peek does not consume outputs
+            Z2Triple peekOutput = store.peek();
+            Assert.assertEquals(7, peekOutput.getNum());
+            Assert.assertEquals(7, store.getAvailableNum());
+            assertEquals(peekOutput, store.take(7));
+            // reset discards all outputs
+            store.append(Z2Triple.createRandom(10, SECURE_RANDOM));
+            store.reset(sessionId);
+            Assert.assertArrayEquals(sessionId, store.getSessionId());
+            Assert.assertEquals(0, store.getAppendedNum());
+            Assert.assertEquals(0, store.getConsumedNum());
+            store.append(Z2Triple.createRandom(10, SECURE_RANDOM));
+        }
+        try (PcgOutputStore<Z2Triple> store = PcgOutputStore.open(file, codec)) {
+            Assert.assertArrayEquals(sessionId, store.getSessionId());
+            Assert.assertEquals(10, store.getAppendedNum());
+            Assert.assertEquals(0, store.getConsumedNum());
+        }
+    }
+
+    private static void assertEquals(Z2Triple expect, Z2Triple actual) {
+        Assert.assertEquals(expect.getNum(), actual.getNum());
+        Assert.assertArrayEquals(expect.getA(), actual.getA());
+        Assert.assertArrayEquals(expect.getB(), actual.getB());
+        Assert.assertArrayEquals(expect.getC(), actual.getC());
+    }
+}
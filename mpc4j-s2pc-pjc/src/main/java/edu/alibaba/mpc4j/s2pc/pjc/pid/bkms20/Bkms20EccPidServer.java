@@ -199,10 +199,10 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
         // For each c_i ∈ C, compute u_c^i = H(c_i)^{k_c}
         Stream<T> cStream = ownElementArrayList.stream();
         cStream = parallel ? cStream.parallel() : cStream;
-        ECPoint[] uc = cStream
+        ECPoint[] hcs = cStream
             .map(ciElement -> ecc.hashToCurve(ObjectUtils.objectToByteArray(ciElement)))
-            .map(ci -> ecc.multiply(ci, kc))
             .toArray(ECPoint[]::new);
+        ECPoint[] uc = ecc.multiply(hcs, kc, parallel);
         // Randomly shuffle the elements in U_c using a permutation π_c
         ArrayList<Integer> shuffleMap = IntStream.range(0, ownElementSetSize)
             .boxed()
@@ -218,9 +218,7 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
             .boxed()
             .collect(Collectors.toMap(shuffleMap::get, Function.identity()));
         // send to P
-        return Arrays.stream(shuffleUc)
-            .map(uci -> ecc.encode(uci, compressEncode))
-            .collect(Collectors.toList());
+        return Arrays.stream(ecc.encode(shuffleUc, compressEncode, parallel)).collect(Collectors.toList());
     }
 
     private List<byte[]> handleUpPayload(List<byte[]> upPayload) throws MpcAbortException {
@@ -228,18 +226,14 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
         // For each u_p^i ∈ U_p, Compute e_p^i = (u_p^i)^{k_c}
         Stream<byte[]> upStream = upPayload.stream();
         upStream = parallel ? upStream.parallel() : upStream;
-        List<ECPoint> epList = upStream
+        ECPoint[] up = upStream
             .map(ecc::decode)
-            .map(upi -> ecc.multiply(upi, kc))
-            .collect(Collectors.toList());
+            .toArray(ECPoint[]::new);
+        ECPoint[] ep = ecc.multiply(up, kc, parallel);
         // Compute v_p^i = (e_p^i)^{r_c}
-        Stream<ECPoint> epStream = epList.stream();
-        epStream = parallel ? epStream.parallel() : epStream;
-        List<byte[]> vpPayload = epStream
-            .map(epi -> ecc.multiply(epi, rc))
-            .map(vpi -> ecc.encode(vpi, compressEncode))
-            .collect(Collectors.toList());
-        epSet = new HashSet<>(epList);
+        ECPoint[] vp = ecc.multiply(ep, rc, parallel);
+        List<byte[]> vpPayload = Arrays.stream(ecc.encode(vp, compressEncode, parallel)).collect(Collectors.toList());
+        epSet = new HashSet<>(Arrays.asList(ep));
 
         return vpPayload;
     }
@@ -256,11 +250,9 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
         }
         reShuffleMap = null;
         // For every v_c^i ∈ V_c, let w_c^i = (v_c^i)^{r_c} and M_c[(v_c^i)^{r_c}] = c_i
-        Stream<ECPoint> vcStream = Arrays.stream(vc);
-        vcStream = parallel ? vcStream.parallel() : vcStream;
-        ByteBuffer[] wc = vcStream
-            .map(vci -> ecc.multiply(vci, rc))
-            .map(wci -> ecc.encode(wci, false))
+        Stream<byte[]> wcStream = Arrays.stream(ecc.encode(ecc.multiply(vc, rc, parallel), false, parallel));
+        wcStream = parallel ? wcStream.parallel() : wcStream;
+        ByteBuffer[] wc = wcStream
             .map(pidMap::digestToBytes)
             .map(ByteBuffer::wrap)
             .toArray(ByteBuffer[]::new);
@@ -290,12 +282,8 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
 
     private List<byte[]> generateScpPayload() {
         // For each s_c^i ∈ S_c, s_c^i' = (s_c^i)^{r_c}
-        Stream<ECPoint> scStream = scSet.stream();
-        scStream = parallel ? scStream.parallel() : scStream;
-        return scStream
-            .map(sci -> ecc.multiply(sci, rc))
-            .map(scpi -> ecc.encode(scpi, compressEncode))
-            .collect(Collectors.toList());
+        ECPoint[] scp = ecc.multiply(scSet.toArray(new ECPoint[0]), rc, parallel);
+        return Arrays.stream(ecc.encode(scp, compressEncode, parallel)).collect(Collectors.toList());
     }
 
     private void handleSppPayload(List<byte[]> sppPayload) throws MpcAbortException {
@@ -303,10 +291,12 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
         // For every s_p^i ∈ S_p', let s_p^i'' = s_p^i^{r_c} and M_c[(s_p^i)^{r_c}] = ⊥
         Stream<byte[]> sppStream = sppPayload.stream();
         sppStream = parallel ? sppStream.parallel() : sppStream;
-        List<ByteBuffer> dp = sppStream
+        ECPoint[] spp = sppStream
             .map(ecc::decode)
-            .map(sppi -> ecc.multiply(sppi, rc))
-            .map(wpi -> ecc.encode(wpi, false))
+            .toArray(ECPoint[]::new);
+        Stream<byte[]> wpStream = Arrays.stream(ecc.encode(ecc.multiply(spp, rc, parallel), false, parallel));
+        wpStream = parallel ? wpStream.parallel() : wpStream;
+        List<ByteBuffer> dp = wpStream
             .map(pidMap::digestToBytes)
             .map(ByteBuffer::wrap)
             .collect(Collectors.toList());
@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pjc.pid.gmr21;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.crypto.matrix.okve.dokvs.gf2e.Gf2eDokvsFactory.Gf2eDokvsType;
 import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfConfig;
@@ -41,6 +42,7 @@ public class Gmr21SloppyPidConfig extends AbstractMultiPartyPtoConfig implements
         oprfConfig = builder.oprfConfig;
         sloppyOkvsType = builder.sloppyOkvsType;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
     }
 
     @Override
@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pjc.pmid.zcl22;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.crypto.matrix.okve.dokvs.gf2e.Gf2eDokvsFactory.Gf2eDokvsType;
 import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfConfig;
@@ -46,6 +47,7 @@ public class Zcl22SloppyPmidConfig extends AbstractMultiPartyPtoConfig implement
         sloppyOkvsType = builder.sloppyOkvsType;
         sigmaOkvsType = builder.sigmaOkvsType;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
     }
 
     @Override
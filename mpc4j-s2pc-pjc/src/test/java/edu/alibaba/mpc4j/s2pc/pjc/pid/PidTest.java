@@ -91,6 +91,8 @@ public class PidTest extends AbstractTwoPartyPtoTest {
             new Bkms20EccPidConfig.Builder().setCompressEncode(false).build(),
         });
 
+        configurations.stream().filter(c -> c[1] instanceof edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig)
+            .forEach(c -> ((edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig) c[1]).setEnvType(edu.alibaba.mpc4j.common.tool.EnvType.STANDARD_JDK));
         return configurations;
     }
 
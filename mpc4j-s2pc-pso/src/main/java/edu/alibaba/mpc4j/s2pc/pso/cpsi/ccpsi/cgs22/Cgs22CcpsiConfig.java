@@ -36,6 +36,7 @@ public class Cgs22CcpsiConfig extends AbstractMultiPartyPtoConfig implements Ccp
         rbopprfConfig = builder.rbopprfConfig;
         pdsmConfig = builder.pdsmConfig;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
     }
 
     @Override
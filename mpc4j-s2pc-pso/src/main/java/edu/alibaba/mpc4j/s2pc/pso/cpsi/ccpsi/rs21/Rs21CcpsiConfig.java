@@ -38,6 +38,7 @@ public class Rs21CcpsiConfig extends AbstractMultiPartyPtoConfig implements Bopp
         bopprfConfig = builder.bopprfConfig;
         peqtConfig = builder.peqtConfig;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
     }
 
     @Override
@@ -36,6 +36,7 @@ public class Psty19PlpsiConfig extends AbstractMultiPartyPtoConfig implements Bo
         bopprfConfig = builder.bopprfConfig;
         peqtConfig = builder.peqtConfig;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
     }
 
     @Override
@@ -36,6 +36,7 @@ public class Cgs22ScpsiConfig extends AbstractMultiPartyPtoConfig implements Scp
         rbopprfConfig = builder.rbopprfConfig;
         pdsmConfig = builder.pdsmConfig;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
     }
 
     @Override
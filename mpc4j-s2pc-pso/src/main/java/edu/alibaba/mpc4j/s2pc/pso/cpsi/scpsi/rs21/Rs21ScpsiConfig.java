@@ -37,6 +37,7 @@ public class Rs21ScpsiConfig extends AbstractMultiPartyPtoConfig implements Bopp
         bopprfConfig = builder.bopprfConfig;
         peqtConfig = builder.peqtConfig;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
     }
 
     @Override
@@ -37,6 +37,7 @@ public class Zlp23PayablePsiConfig extends AbstractMultiPartyPtoConfig implement
         this.osnConfig = builder.osnConfig;
         this.sqOprfConfig = builder.sqOprfConfig;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
     }
 
     @Override
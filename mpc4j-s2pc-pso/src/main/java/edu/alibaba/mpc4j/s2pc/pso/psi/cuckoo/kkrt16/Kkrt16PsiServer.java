@@ -12,6 +12,7 @@ import edu.alibaba.mpc4j.common.tool.filter.FilterFactory;
 import edu.alibaba.mpc4j.common.tool.filter.FilterFactory.FilterType;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.MultiIndexCuckooHash;
 import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfFactory;
 import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfSender;
@@ -26,6 +27,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -51,6 +53,10 @@ public class Kkrt16PsiServer<T> extends AbstractPsiServer<T> {
      * The number of hash functions
      */
     private final int cuckooHashNum;
+    /**
+     * The number of hash keys
+     */
+    private final int cuckooHashKeyNum;
     /**
      * The type of filter
      */
@@ -63,6 +69,10 @@ public class Kkrt16PsiServer<T> extends AbstractPsiServer<T> {
      * The hash functions used in cuckoo hash
      */
     private Prf[] binHashes;
+    /**
+     * The bin indexes of server elements, used for multi-index cuckoo hash
+     */
+    private int[] multiIndexBinIndexes;
     /**
      * The bin number of cuckoo hash
      */
@@ -74,6 +84,7 @@ public class Kkrt16PsiServer<T> extends AbstractPsiServer<T> {
         addSubPtos(oprfSender);
         cuckooHashBinType = config.getCuckooHashBinType();
         cuckooHashNum = CuckooHashBinFactory.getHashNum(cuckooHashBinType);
+        cuckooHashKeyNum = CuckooHashBinFactory.getHashKeyNum(cuckooHashBinType);
         filterType = config.getFilterType();
     }
 
@@ -148,6 +159,8 @@ public class Kkrt16PsiServer<T> extends AbstractPsiServer<T> {
             extraInfo++;
         }
         oprfSenderOutput = null;
+        binHashes = null;
+        multiIndexBinIndexes = null;
         stopWatch.stop();
         long serverPrfTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -157,7 +170,18 @@ public class Kkrt16PsiServer<T> extends AbstractPsiServer<T> {
     }
 
     private void handleCuckooHashKeyPayload(List<byte[]> cuckooHashKeyPayload) throws MpcAbortException {
-        MpcAbortPreconditions.checkArgument(cuckooHashKeyPayload.size() == cuckooHashNum);
+        MpcAbortPreconditions.checkArgument(cuckooHashKeyPayload.size() == cuckooHashKeyNum);
+        if (cuckooHashKeyNum != cuckooHashNum) {
+            // multi-index cuckoo hash derives all bin indexes from one key, compute them once for all hash indexes
+            MultiIndexCuckooHash multiIndexCuckooHash = CuckooHashBinFactory.createMultiIndexCuckooHash(
+                envType, cuckooHashBinType, binNum, cuckooHashKeyPayload.get(0)
+            );
+            byte[][] serverElementByteArrays = serverElementArrayList.stream()
+                .map(ObjectUtils::objectToByteArray)
+                .toArray(byte[][]::new);
+            multiIndexBinIndexes = multiIndexCuckooHash.getBinIndexes(serverElementByteArrays, parallel);
+            return;
+        }
         binHashes = cuckooHashKeyPayload.stream()
             .map(key -> {
                 Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
@@ -168,12 +192,14 @@ public class Kkrt16PsiServer<T> extends AbstractPsiServer<T> {
     }
 
     private List<byte[]> generateBinPrfPayload(int hashIndex) {
-        Stream<T> serverElementStream = serverElementArrayList.stream();
-        serverElementStream = parallel ? serverElementStream.parallel() : serverElementStream;
-        List<byte[]> binPrfList = serverElementStream
-            .map(element -> {
-                byte[] elementByteArray = ObjectUtils.objectToByteArray(element);
-                int keyIndex = binHashes[hashIndex].getInteger(elementByteArray, binNum);
+        IntStream serverElementIndexStream = IntStream.range(0, serverElementSize);
+        serverElementIndexStream = parallel ? serverElementIndexStream.parallel() : serverElementIndexStream;
+        List<byte[]> binPrfList = serverElementIndexStream
+            .mapToObj(elementIndex -> {
+                byte[] elementByteArray = ObjectUtils.objectToByteArray(serverElementArrayList.get(elementIndex));
+                int keyIndex = multiIndexBinIndexes == null
+                    ? binHashes[hashIndex].getInteger(elementByteArray, binNum)
+                    : multiIndexBinIndexes[elementIndex * cuckooHashNum + hashIndex];
                 // OPRF(x || hashIndex)
                 byte[] extendElementByteArray = ByteBuffer.allocate(elementByteArray.length + Integer.BYTES)
                     .put(elementByteArray)
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.s2pc.pso.psi.cuckoo.psz14;
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
 import edu.alibaba.mpc4j.common.tool.filter.FilterFactory.FilterType;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.lcot.LcotConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.lcot.kk13.Kk13OptLcotConfig;
@@ -33,6 +34,7 @@ public class Psz14PsiConfig extends AbstractMultiPartyPtoConfig implements Filte
         super(SecurityModel.SEMI_HONEST, builder.lcotConfig);
         lcotConfig = builder.lcotConfig;
         cuckooHashBinType = builder.cuckooHashBinType;
+        CuckooHashBinFactory.checkPerHashKeyType(cuckooHashBinType);
         filterType = builder.filterType;
     }
 
@@ -6,8 +6,6 @@ import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
-import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
-import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
 import edu.alibaba.mpc4j.common.tool.filter.Filter;
@@ -21,6 +19,7 @@ import edu.alibaba.mpc4j.s2pc.pso.psi.AbstractPsiServer;
 import edu.alibaba.mpc4j.s2pc.pso.psi.PsiUtils;
 import edu.alibaba.mpc4j.s2pc.pso.psi.mpoprf.MpOprfPsiPtoDesc.PtoStep;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -100,23 +99,23 @@ public abstract class AbstractMpOprfPsiServer<T> extends AbstractPsiServer<T> {
         stopWatch.start();
         Stream<T> serverElementStream = serverElementArrayList.stream();
         serverElementStream = parallel ? serverElementStream.parallel() : serverElementStream;
-        List<byte[]> serverPrfs = serverElementStream
-            .map(element -> {
-                byte[] elementByteArray = ObjectUtils.objectToByteArray(element);
-                byte[] prf = mpOprfSenderOutput.getPrf(elementByteArray);
-                return peqtHash.digestToBytes(prf);
-            })
+        byte[][] serverElementByteArrays = serverElementStream
+            .map(ObjectUtils::objectToByteArray)
+            .toArray(byte[][]::new);
+        // compute PRFs in one batch, so that the OKVS storage is decoded once for all elements
+        byte[][] prfs = mpOprfSenderOutput.getPrfs(serverElementByteArrays, parallel);
+        Stream<byte[]> prfStream = Arrays.stream(prfs);
+        prfStream = parallel ? prfStream.parallel() : prfStream;
+        List<byte[]> serverPrfs = prfStream
+            .map(peqtHash::digestToBytes)
             .collect(Collectors.toList());
         Collections.shuffle(serverPrfs, secureRandom);
         // construct the filter
         Filter<byte[]> serverPrfFilter = FilterFactory.createFilter(envType, filterType, serverElementSize, secureRandom);
         serverPrfs.forEach(serverPrfFilter::put);
         List<byte[]> serverPrfFilterPayload = serverPrfFilter.toByteArrayList();
-        DataPacketHeader serverPrfFilterHeader = new DataPacketHeader(
-            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SERVER_SEND_PRFS.ordinal(), extraInfo,
-            ownParty().getPartyId(), otherParty().getPartyId()
-        );
-        rpc.send(DataPacket.fromByteArrayList(serverPrfFilterHeader, serverPrfFilterPayload));
+        // send the filter in chunks, so that a large filter is not sent as a single huge data packet
+        sendOtherPartyChunkedPayload(PtoStep.SERVER_SEND_PRFS.ordinal(), serverPrfFilterPayload);
         stopWatch.stop();
         long serverPrfTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -14,6 +14,7 @@ import edu.alibaba.mpc4j.s2pc.pso.psi.PsiUtils;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -112,19 +113,19 @@ public class Hfh99ByteEccPsiClient<T> extends AbstractPsiClient<T> {
     private List<byte[]> generateHyBetaPayload() {
         Stream<T> clientElementStream = clientElementArrayList.stream();
         clientElementStream = parallel ? clientElementStream.parallel() : clientElementStream;
-        return clientElementStream
+        byte[][] hs = clientElementStream
             .map(ObjectUtils::objectToByteArray)
             .map(byteMulEcc::hashToCurve)
-            .map(p -> byteMulEcc.mul(p, beta))
-            .collect(Collectors.toList());
+            .toArray(byte[][]::new);
+        return Arrays.stream(byteMulEcc.mul(hs, beta, parallel)).collect(Collectors.toList());
     }
 
     private Set<ByteBuffer> handleHxAlphaPayload(List<byte[]> hxAlphaPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(hxAlphaPayload.size() == serverElementSize);
-        Stream<byte[]> hxAlphaStream = hxAlphaPayload.stream();
-        hxAlphaStream = parallel ? hxAlphaStream.parallel() : hxAlphaStream;
-        return hxAlphaStream
-            .map(p -> byteMulEcc.mul(p, beta))
+        byte[][] hxAlphas = hxAlphaPayload.toArray(new byte[0][]);
+        Stream<byte[]> hxAlphaBetaStream = Arrays.stream(byteMulEcc.mul(hxAlphas, beta, parallel));
+        hxAlphaBetaStream = parallel ? hxAlphaBetaStream.parallel() : hxAlphaBetaStream;
+        return hxAlphaBetaStream
             .map(p -> peqtHash.digestToBytes(p))
             .map(ByteBuffer::wrap)
             .collect(Collectors.toSet());
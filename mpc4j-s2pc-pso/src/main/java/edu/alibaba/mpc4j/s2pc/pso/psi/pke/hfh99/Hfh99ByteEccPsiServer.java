@@ -12,6 +12,7 @@ import edu.alibaba.mpc4j.s2pc.pso.psi.AbstractPsiServer;
 import edu.alibaba.mpc4j.s2pc.pso.psi.pke.hfh99.Hfh99ByteEccPsiPtoDesc.PtoStep;
 import edu.alibaba.mpc4j.s2pc.pso.psi.PsiUtils;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -105,19 +106,19 @@ public class Hfh99ByteEccPsiServer<T> extends AbstractPsiServer<T> {
     private List<byte[]> generateHxAlphaPayload() {
         Stream<T> serverElementStream = serverElementArrayList.stream();
         serverElementStream = parallel ? serverElementStream.parallel() : serverElementStream;
-        return serverElementStream
+        byte[][] hs = serverElementStream
             .map(ObjectUtils::objectToByteArray)
             .map(byteMulEcc::hashToCurve)
-            .map(p -> byteMulEcc.mul(p, alpha))
-            .collect(Collectors.toList());
+            .toArray(byte[][]::new);
+        return Arrays.stream(byteMulEcc.mul(hs, alpha, parallel)).collect(Collectors.toList());
     }
 
     private List<byte[]> handleHyBetaPayload(List<byte[]> hyBetaPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(hyBetaPayload.size() == clientElementSize);
-        Stream<byte[]> hyBetaStream = hyBetaPayload.stream();
-        hyBetaStream = parallel ? hyBetaStream.parallel() : hyBetaStream;
-        return hyBetaStream
-            .map(p -> byteMulEcc.mul(p, alpha))
+        byte[][] hyBetas = hyBetaPayload.toArray(new byte[0][]);
+        Stream<byte[]> hyBetaAlphaStream = Arrays.stream(byteMulEcc.mul(hyBetas, alpha, parallel));
+        hyBetaAlphaStream = parallel ? hyBetaAlphaStream.parallel() : hyBetaAlphaStream;
+        return hyBetaAlphaStream
             .map(p -> peqtHash.digestToBytes(p))
             .collect(Collectors.toList());
     }
@@ -11,10 +11,12 @@ import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 import edu.alibaba.mpc4j.s2pc.pso.psi.AbstractPsiClient;
 import edu.alibaba.mpc4j.s2pc.pso.psi.pke.hfh99.Hfh99EccPsiPtoDesc.PtoStep;
 import edu.alibaba.mpc4j.s2pc.pso.psi.PsiUtils;
+import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -118,22 +120,23 @@ public class Hfh99EccPsiClient<T> extends AbstractPsiClient<T> {
     private List<byte[]> generateHyBetaPayload() {
         Stream<T> clientElementStream = clientElementArrayList.stream();
         clientElementStream = parallel ? clientElementStream.parallel() : clientElementStream;
-        return clientElementStream
+        ECPoint[] hs = clientElementStream
             .map(ObjectUtils::objectToByteArray)
             .map(ecc::hashToCurve)
-            .map(p -> ecc.multiply(p, beta))
-            .map(p -> ecc.encode(p, compressEncode))
-            .collect(Collectors.toList());
+            .toArray(ECPoint[]::new);
+        ECPoint[] hks = ecc.multiply(hs, beta, parallel);
+        return Arrays.stream(ecc.encode(hks, compressEncode, parallel)).collect(Collectors.toList());
     }
 
     private Set<ByteBuffer> handleHxAlphaPayload(List<byte[]> hxAlphaPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(hxAlphaPayload.size() == serverElementSize);
         Stream<byte[]> hxAlphaStream = hxAlphaPayload.stream();
         hxAlphaStream = parallel ? hxAlphaStream.parallel() : hxAlphaStream;
-        return hxAlphaStream
-            .map(ecc::decode)
-            .map(p -> ecc.multiply(p, beta))
-            .map(p -> ecc.encode(p, false))
+        ECPoint[] hxAlphas = hxAlphaStream.map(ecc::decode).toArray(ECPoint[]::new);
+        ECPoint[] hxAlphaBetas = ecc.multiply(hxAlphas, beta, parallel);
+        Stream<byte[]> hxAlphaBetaStream = Arrays.stream(ecc.encode(hxAlphaBetas, false, parallel));
+        hxAlphaBetaStream = parallel ? hxAlphaBetaStream.parallel() : hxAlphaBetaStream;
+        return hxAlphaBetaStream
             .map(p -> peqtHash.digestToBytes(p))
             .map(ByteBuffer::wrap)
             .collect(Collectors.toSet());
@@ -11,8 +11,10 @@ import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 import edu.alibaba.mpc4j.s2pc.pso.psi.AbstractPsiServer;
 import edu.alibaba.mpc4j.s2pc.pso.psi.pke.hfh99.Hfh99EccPsiPtoDesc.PtoStep;
 import edu.alibaba.mpc4j.s2pc.pso.psi.PsiUtils;
+import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -111,22 +113,23 @@ public class Hfh99EccPsiServer<T> extends AbstractPsiServer<T> {
     private List<byte[]> generateHxAlphaPayload() {
         Stream<T> serverElementStream = serverElementArrayList.stream();
         serverElementStream = parallel ? serverElementStream.parallel() : serverElementStream;
-        return serverElementStream
+        ECPoint[] hs = serverElementStream
             .map(ObjectUtils::objectToByteArray)
             .map(ecc::hashToCurve)
-            .map(p -> ecc.multiply(p, alpha))
-            .map(p -> ecc.encode(p, compressEncode))
-            .collect(Collectors.toList());
+            .toArray(ECPoint[]::new);
+        ECPoint[] hks = ecc.multiply(hs, alpha, parallel);
+        return Arrays.stream(ecc.encode(hks, compressEncode, parallel)).collect(Collectors.toList());
     }
 
     private List<byte[]> handleHyBetaPayload(List<byte[]> hyBetaPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(hyBetaPayload.size() == clientElementSize);
         Stream<byte[]> hyBetaStream = hyBetaPayload.stream();
         hyBetaStream = parallel ? hyBetaStream.parallel() : hyBetaStream;
-        return hyBetaStream
-            .map(ecc::decode)
-            .map(p -> ecc.multiply(p, alpha))
-            .map(p -> ecc.encode(p, false))
+        ECPoint[] hyBetas = hyBetaStream.map(ecc::decode).toArray(ECPoint[]::new);
+        ECPoint[] hyBetaAlphas = ecc.multiply(hyBetas, alpha, parallel);
+        Stream<byte[]> hyBetaAlphaStream = Arrays.stream(ecc.encode(hyBetaAlphas, false, parallel));
+        hyBetaAlphaStream = parallel ? hyBetaAlphaStream.parallel() : hyBetaAlphaStream;
+        return hyBetaAlphaStream
             .map(p -> peqtHash.digestToBytes(p))
             .collect(Collectors.toList());
     }
@@ -11,6 +11,7 @@ import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 import edu.alibaba.mpc4j.s2pc.pso.psi.PsiUtils;
 import edu.alibaba.mpc4j.s2pc.pso.psica.AbstractPsiCaClient;
 import edu.alibaba.mpc4j.s2pc.pso.psica.hfh99.Hfh99EccPsiCaPtoDesc.PtoStep;
+import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -122,12 +123,12 @@ public class Hfh99EccPsiCaClient<T> extends AbstractPsiCaClient<T> {
     private List<byte[]> generateRandomlyPermuteHyBetaPayload() {
         Stream<T> clientElementStream = clientElementArrayList.stream();
         clientElementStream = parallel ? clientElementStream.parallel() : clientElementStream;
-        List<byte[]> result = clientElementStream
+        ECPoint[] hs = clientElementStream
             .map(ObjectUtils::objectToByteArray)
             .map(ecc::hashToCurve)
-            .map(p -> ecc.multiply(p, beta))
-            .map(p -> ecc.encode(p, compressEncode))
-            .collect(Collectors.toList());
+            .toArray(ECPoint[]::new);
+        ECPoint[] hks = ecc.multiply(hs, beta, parallel);
+        List<byte[]> result = Arrays.stream(ecc.encode(hks, compressEncode, parallel)).collect(Collectors.toList());
         // randomly permute
         Collections.shuffle(result, secureRandom);
 
@@ -138,10 +139,11 @@ public class Hfh99EccPsiCaClient<T> extends AbstractPsiCaClient<T> {
         MpcAbortPreconditions.checkArgument(hxAlphaPayload.size() == serverElementSize);
         Stream<byte[]> hxAlphaStream = hxAlphaPayload.stream();
         hxAlphaStream = parallel ? hxAlphaStream.parallel() : hxAlphaStream;
-        return hxAlphaStream
-            .map(ecc::decode)
-            .map(p -> ecc.multiply(p, beta))
-            .map(p -> ecc.encode(p, false))
+        ECPoint[] hxAlphas = hxAlphaStream.map(ecc::decode).toArray(ECPoint[]::new);
+        ECPoint[] hxAlphaBetas = ecc.multiply(hxAlphas, beta, parallel);
+        Stream<byte[]> hxAlphaBetaStream = Arrays.stream(ecc.encode(hxAlphaBetas, false, parallel));
+        hxAlphaBetaStream = parallel ? hxAlphaBetaStream.parallel() : hxAlphaBetaStream;
+        return hxAlphaBetaStream
             .map(p -> peqtHash.digestToBytes(p))
             .map(ByteBuffer::wrap)
             .collect(Collectors.toSet());
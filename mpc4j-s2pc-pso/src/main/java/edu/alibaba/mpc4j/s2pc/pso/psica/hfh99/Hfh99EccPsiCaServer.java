@@ -11,8 +11,10 @@ import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 import edu.alibaba.mpc4j.s2pc.pso.psi.PsiUtils;
 import edu.alibaba.mpc4j.s2pc.pso.psica.AbstractPsiCaServer;
 import edu.alibaba.mpc4j.s2pc.pso.psica.hfh99.Hfh99EccPsiCaPtoDesc.PtoStep;
+import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -113,12 +115,12 @@ public class Hfh99EccPsiCaServer<T> extends AbstractPsiCaServer<T> {
         Stream<T> serverElementStream = serverElementArrayList.stream();
         serverElementStream = parallel ? serverElementStream.parallel() : serverElementStream;
 
-        List<byte[]> result = serverElementStream
+        ECPoint[] hs = serverElementStream
             .map(ObjectUtils::objectToByteArray)
             .map(ecc::hashToCurve)
-            .map(p -> ecc.multiply(p, alpha))
-            .map(p -> ecc.encode(p, compressEncode))
-            .collect(Collectors.toList());
+            .toArray(ECPoint[]::new);
+        ECPoint[] hks = ecc.multiply(hs, alpha, parallel);
+        List<byte[]> result = Arrays.stream(ecc.encode(hks, compressEncode, parallel)).collect(Collectors.toList());
         // randomly permute
         Collections.shuffle(result, secureRandom);
         return result;
@@ -129,10 +131,11 @@ public class Hfh99EccPsiCaServer<T> extends AbstractPsiCaServer<T> {
         Stream<byte[]> hyBetaStream = hyBetaPayload.stream();
         hyBetaStream = parallel ? hyBetaStream.parallel() : hyBetaStream;
 
-        List<byte[]> result = hyBetaStream
-            .map(ecc::decode)
-            .map(p -> ecc.multiply(p, alpha))
-            .map(p -> ecc.encode(p, false))
+        ECPoint[] hyBetas = hyBetaStream.map(ecc::decode).toArray(ECPoint[]::new);
+        ECPoint[] hyBetaAlphas = ecc.multiply(hyBetas, alpha, parallel);
+        Stream<byte[]> hyBetaAlphaStream = Arrays.stream(ecc.encode(hyBetaAlphas, false, parallel));
+        hyBetaAlphaStream = parallel ? hyBetaAlphaStream.parallel() : hyBetaAlphaStream;
+        List<byte[]> result = hyBetaAlphaStream
             .map(p -> peqtHash.digestToBytes(p))
             .collect(Collectors.toList());
         // randomly permute
@@ -78,6 +78,10 @@ public class PsiTest extends AbstractTwoPartyPtoTest {
             PsiType.RR22.name() + "(" + SecurityModel.SEMI_HONEST + ", " + Gf2kDokvsType.H3_CLUSTER_BINARY_BLAZE_GCT + ")",
             new Rr22PsiConfig.Builder(SecurityModel.SEMI_HONEST, Gf2kDokvsType.H3_CLUSTER_BINARY_BLAZE_GCT).build(),
         });
+        configurations.add(new Object[]{
+            PsiType.RR22.name() + "(" + SecurityModel.SEMI_HONEST + ", " + Gf2kDokvsType.BINARY_RANDOM_BAND + ")",
+            new Rr22PsiConfig.Builder(SecurityModel.SEMI_HONEST, Gf2kDokvsType.BINARY_RANDOM_BAND).build(),
+        });
         configurations.add(new Object[]{
             PsiType.RR22.name() + "(" + SecurityModel.MALICIOUS + ")",
             new Rr22PsiConfig.Builder(SecurityModel.MALICIOUS).build(),
@@ -86,6 +90,10 @@ public class PsiTest extends AbstractTwoPartyPtoTest {
             PsiType.RR22.name() + "(" + SecurityModel.MALICIOUS + ", " + Gf2kDokvsType.H3_CLUSTER_BINARY_BLAZE_GCT + ")",
             new Rr22PsiConfig.Builder(SecurityModel.MALICIOUS, Gf2kDokvsType.H3_CLUSTER_BINARY_BLAZE_GCT).build(),
         });
+        configurations.add(new Object[]{
+            PsiType.RR22.name() + "(" + SecurityModel.MALICIOUS + ", " + Gf2kDokvsType.BINARY_RANDOM_BAND + ")",
+            new Rr22PsiConfig.Builder(SecurityModel.MALICIOUS, Gf2kDokvsType.BINARY_RANDOM_BAND).build(),
+        });
         // RS21
         configurations.add(new Object[]{
             PsiType.RS21.name() + "(" + SecurityModel.SEMI_HONEST + ")",
@@ -157,6 +165,11 @@ public class PsiTest extends AbstractTwoPartyPtoTest {
         configurations.add(new Object[]{
             PsiType.PRTY19_LOW.name(), new Prty19LowPsiConfig.Builder().build(),
         });
+        // KKRT16 (multi-index)
+        configurations.add(new Object[]{
+            PsiFactory.PsiType.KKRT16.name() + " (multi-index)",
+            new Kkrt16PsiConfig.Builder().setCuckooHashBinType(CuckooHashBinType.NO_STASH_MULTI_INDEX_3_HASH).build(),
+        });
         // KKRT16 (no-stash)
         configurations.add(new Object[]{
             PsiFactory.PsiType.KKRT16.name() + " (no-stash)",
@@ -206,6 +219,8 @@ public class PsiTest extends AbstractTwoPartyPtoTest {
             PsiFactory.PsiType.RR16.name(), new Rr16PsiConfig.Builder().build(),
         });
 
+        configurations.stream().filter(c -> c[1] instanceof edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig)
+            .forEach(c -> ((edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig) c[1]).setEnvType(edu.alibaba.mpc4j.common.tool.EnvType.STANDARD_JDK));
         return configurations;
     }
 
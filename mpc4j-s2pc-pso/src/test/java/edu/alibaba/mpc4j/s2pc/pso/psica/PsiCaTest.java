@@ -82,6 +82,8 @@ public class PsiCaTest extends AbstractTwoPartyPtoTest {
             PsiCaFactory.PsiCaType.GMR21.name() + " (silent)",
             new Gmr21PsiCaConfig.Builder(false).build(),
         });
+        configurations.stream().filter(c -> c[1] instanceof edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig)
+            .forEach(c -> ((edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig) c[1]).setEnvType(edu.alibaba.mpc4j.common.tool.EnvType.STANDARD_JDK));
         return configurations;
     }
 